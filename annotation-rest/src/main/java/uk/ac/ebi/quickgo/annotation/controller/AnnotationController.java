@@ -1,9 +1,14 @@
 package uk.ac.ebi.quickgo.annotation.controller;
 
+import uk.ac.ebi.quickgo.annotation.download.DownloadAdmissionController;
 import uk.ac.ebi.quickgo.annotation.download.header.HeaderContent;
 import uk.ac.ebi.quickgo.annotation.download.header.HeaderCreator;
 import uk.ac.ebi.quickgo.annotation.download.header.HeaderCreatorFactory;
 import uk.ac.ebi.quickgo.annotation.download.header.HeaderUri;
+import uk.ac.ebi.quickgo.annotation.download.job.ByteRange;
+import uk.ac.ebi.quickgo.annotation.download.job.DownloadJob;
+import uk.ac.ebi.quickgo.annotation.download.job.DownloadJobRequest;
+import uk.ac.ebi.quickgo.annotation.download.job.DownloadJobService;
 import uk.ac.ebi.quickgo.annotation.download.model.DownloadContent;
 import uk.ac.ebi.quickgo.annotation.model.About;
 import uk.ac.ebi.quickgo.annotation.model.Annotation;
@@ -13,6 +18,7 @@ import uk.ac.ebi.quickgo.annotation.service.search.NameService;
 import uk.ac.ebi.quickgo.annotation.service.search.SearchServiceConfig;
 import uk.ac.ebi.quickgo.annotation.service.statistics.StatisticsService;
 import uk.ac.ebi.quickgo.rest.ParameterBindingException;
+import uk.ac.ebi.quickgo.rest.ResourceNotFoundException;
 import uk.ac.ebi.quickgo.rest.ResponseExceptionHandler;
 import uk.ac.ebi.quickgo.rest.comm.FilterContext;
 import uk.ac.ebi.quickgo.rest.metadata.MetaData;
@@ -34,16 +40,22 @@ import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Stream;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.task.TaskExecutor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -68,6 +80,7 @@ import static uk.ac.ebi.quickgo.common.array.ArrayPopulation.ensureArrayContains
 import static uk.ac.ebi.quickgo.common.array.ArrayPopulation.ensureArrayContainsCommonValue;
 import static uk.ac.ebi.quickgo.rest.search.SearchDispatcher.searchAndTransform;
 import static uk.ac.ebi.quickgo.rest.search.SearchDispatcher.streamSearchResults;
+import static uk.ac.ebi.quickgo.rest.search.query.CursorPage.createCursorPage;
 import static uk.ac.ebi.quickgo.rest.search.query.CursorPage.createFirstCursorPage;
 
 /**
@@ -128,6 +141,9 @@ public class AnnotationController {
             DateTimeFormatter.ofPattern("-N-yyyyMMdd");
     private static final String DOWNLOAD_FILE_NAME_PREFIX = "QuickGO-annotations";
     private static final String GO_USAGE_SLIM = "goUsage=slim";
+    private static final String EXPORT_NOTES = "When downloads are exported from Solr, the annotations are ordered " +
+            "by their identifiers rather than by the requested sort, and the values of multi-valued columns, e.g., " +
+            "with/from, are sorted and without duplicates.";
     private static final String DOWNLOAD_STATISTICS_FILE_NAME = "annotation_statistics";
     private static final Function<MediaType, String> TO_DOWNLOAD_STATISTICS_FILENAME = mt -> String.format("%s.%s",
             DOWNLOAD_STATISTICS_FILE_NAME,
@@ -139,6 +155,10 @@ public class AnnotationController {
     private static final String GO_NAME = "goName";
     private static final String TAXON_NAME = "taxonName";
     private static final String EVIDENCE_NAME = "evidenceName";
+    private static final int FIRST_PAGE = 1;
+    private static final int NO_RESULTS = 0;
+    private static final String DOWNLOAD_JOB_FILE_CONTENT_TYPE = "application/gzip";
+    private static final String BYTES_RANGE_UNIT = "bytes";
     private final MetaDataProvider metaDataProvider;
     private final SearchService<Annotation> annotationSearchService;
     private final SearchServiceConfig.AnnotationCompositeRetrievalConfig annotationRetrievalConfig;
@@ -147,9 +167,10 @@ public class AnnotationController {
     private final FilterConverterFactory converterFactory;
     private final ResultTransformerChain<QueryResult<Annotation>> resultTransformerChain;
     private final StatisticsService statsService;
-    private final TaskExecutor taskExecutor;
     private final HeaderCreatorFactory headerCreatorFactory;
     private final NameService nameService;
+    private final DownloadAdmissionController downloadAdmissionController;
+    private final DownloadJobService downloadJobService;
 
     @Autowired
     public AnnotationController(SearchService<Annotation> annotationSearchService,
@@ -157,10 +178,11 @@ public class AnnotationController {
             FilterConverterFactory converterFactory,
             ResultTransformerChain<QueryResult<Annotation>> resultTransformerChain,
             StatisticsService statsService,
-            TaskExecutor taskExecutor,
             HeaderCreatorFactory headerCreatorFactory,
             MetaDataProvider metaDataProvider,
-            NameService nameService) {
+            NameService nameService,
+            DownloadAdmissionController downloadAdmissionController,
+            DownloadJobService downloadJobService) {
         checkArgument(annotationSearchService != null, "The SearchService<Annotation> instance passed " +
                 "to the constructor of AnnotationController should not be null.");
         checkArgument(annotationRetrievalConfig != null, "The SearchServiceConfig" +
@@ -170,9 +192,10 @@ public class AnnotationController {
         checkArgument(resultTransformerChain != null,
                 "The ResultTransformerChain<QueryResult<Annotation>> cannot be null.");
         checkArgument(statsService != null, "Annotation stats service cannot be null.");
-        checkArgument(taskExecutor != null, "TaskExecutor cannot be null.");
         checkArgument(headerCreatorFactory != null, "HeaderCreatorFactory cannot be null.");
         checkArgument(metaDataProvider != null, "Metadata provider cannot be null.");
+        checkArgument(downloadAdmissionController != null, "DownloadAdmissionController cannot be null.");
+        checkArgument(downloadJobService != null, "DownloadJobService cannot be null.");
 
         this.annotationSearchService = annotationSearchService;
         this.converterFactory = converterFactory;
@@ -184,12 +207,14 @@ public class AnnotationController {
         this.queryTemplate = createSearchQueryTemplate(annotationRetrievalConfig);
         this.downloadQueryTemplate = createDownloadSearchQueryTemplate(annotationRetrievalConfig);
 
-        this.taskExecutor = taskExecutor;
         this.headerCreatorFactory = headerCreatorFactory;
 
         this.metaDataProvider = metaDataProvider;
 
         this.nameService = nameService;
+
+        this.downloadAdmissionController = downloadAdmissionController;
+        this.downloadJobService = downloadJobService;
     }
 
     /**
@@ -246,7 +271,13 @@ public class AnnotationController {
     }
 
     @ApiOperation(value = "Download all annotations that match the supplied filter criteria.",
-            response = File.class)
+            response = File.class,
+            notes = "Downloads are queued when the service is busy, smaller downloads first. If the client already " +
+                    "has too many downloads in progress, or the queue is full, the request is rejected with status " +
+                    "429 and a Retry-After header. " + EXPORT_NOTES)
+    @ApiResponses(value = {
+            @ApiResponse(code = 429, message = "Too many downloads are in progress; retry after the number of " +
+                    "seconds in the Retry-After header", response = ResponseExceptionHandler.ErrorInfo.class)})
     @RequestMapping(value = "/downloadSearch",
             method = {RequestMethod.GET},
             produces = {GPAD_MEDIA_TYPE_STRING, GAF_MEDIA_TYPE_STRING, TSV_MEDIA_TYPE_STRING})
@@ -256,31 +287,21 @@ public class AnnotationController {
             @RequestHeader(ACCEPT) MediaType mediaTypeAcceptHeader, HttpServletRequest servletRequest) {
         LOGGER.info("Download Request:: " + request + ", " + mediaTypeAcceptHeader);
         checkBindingErrors(bindingResult);
-
-        if (mediaTypeAcceptHeader.getSubtype().equals("gaf")) {
-            //For gaf, gene product name and synonyms must be present, so make sure it appears in the list of  include
-            // fields.
-            request.setIncludeFields(ensureArrayContains(request.getIncludeFields(), "name"));
-            request.setIncludeFields(ensureArrayContains(request.getIncludeFields(), "synonyms"));
-        } else if (mediaTypeAcceptHeader.getSubtype().equals("tsv")) {
-            //If synonyms are requested, ensure synonyms is in the list of include fields.
-            request.setIncludeFields(
-                    ensureArrayContainsCommonValue(request.getSelectedFields(), request.getIncludeFields(),
-                            "synonyms"));
-            //If gene product name is requested, ensure name is in the list of include fields.
-            request.setIncludeFields(
-                    ensureArrayContainsCommonValue(request.getSelectedFields(), request.getIncludeFields(), "name"));
-        }
+        includeFieldsRequiredByFormat(request, mediaTypeAcceptHeader.getSubtype());
 
         FilterQueryInfo filterQueryInfo = extractFilterQueryInfo(request);
         final int pageLimit = getPageLimit(request);
 
         QueryRequest queryRequest = createQueryRequest(filterQueryInfo, pageLimit);
+        String client = downloadAdmissionController.clientOf(servletRequest);
+        downloadAdmissionController.checkClient(client);
+        long estimatedRows = Math.min(countAnnotations(filterQueryInfo), request.getDownloadLimit());
         ResponseBodyEmitter emitter = new ResponseBodyEmitter();
 
         final List<String> selectedFields = selectedFieldList(request);
         writeHeader(mediaTypeAcceptHeader, servletRequest, emitter, selectedFields);
-        writeBody(request, mediaTypeAcceptHeader, filterQueryInfo, queryRequest, emitter, selectedFields);
+        writeBody(request, mediaTypeAcceptHeader, filterQueryInfo, queryRequest, emitter, selectedFields, client,
+                estimatedRows);
 
         return ResponseEntity.ok().headers(createHttpDownloadHeader(mediaTypeAcceptHeader, TO_DOWNLOAD_FILENAME)).body(emitter);
     }
@@ -290,13 +311,176 @@ public class AnnotationController {
                            FilterQueryInfo filterQueryInfo,
                            QueryRequest queryRequest,
                            ResponseBodyEmitter emitter,
-                           List<String> selectedFields) {
-        taskExecutor.execute(() -> {
+                           List<String> selectedFields,
+                           String client,
+                           long estimatedRows) {
+        downloadAdmissionController.submit(client, estimatedRows, () -> {
             final Stream<QueryResult<Annotation>> annotationResultStream =
-                    getQueryResultStream(request, filterQueryInfo, queryRequest);
+                    getQueryResultStream(filterQueryInfo, queryRequest, request.getDownloadLimit());
             DownloadContent downloadContent = new DownloadContent(annotationResultStream, selectedFields);
             emitDownloadWithMediaType(emitter, downloadContent, mediaTypeAcceptHeader);
+        }, emitter::completeWithError);
+    }
+
+    @ApiOperation(value = "Create a job that writes all annotations that match the supplied filter criteria to a " +
+            "compressed file, which can be downloaded when the job has completed.",
+            response = DownloadJob.class,
+            notes = "Identical requests share a job, until the annotation data is next released. The job's status " +
+                    "is at the URI in the Location header; when its state is COMPLETED, its file can be downloaded, " +
+                    "in whole or in ranges, from that URI followed by /file. Submitting the request of a job that " +
+                    "failed, or was interrupted, resumes it. " + EXPORT_NOTES)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "An identical job has already completed"),
+            @ApiResponse(code = 202, message = "The job has been queued, or an identical job is in progress"),
+            @ApiResponse(code = 400, message = "Bad request due to a validation issue encountered in one of the " +
+                    "filters, or an unsupported format", response = ResponseExceptionHandler.ErrorInfo.class),
+            @ApiResponse(code = 429, message = "Too many download jobs are queued; retry after the number of " +
+                    "seconds in the Retry-After header", response = ResponseExceptionHandler.ErrorInfo.class)})
+    @RequestMapping(value = "/downloadJobs", method = {RequestMethod.POST},
+            produces = {MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<DownloadJob> createDownloadJob(
+            @Valid @ModelAttribute AnnotationRequest request,
+            BindingResult bindingResult,
+            @RequestParam(value = "format") String format,
+            HttpServletRequest servletRequest) {
+        LOGGER.info("Download Job Request:: " + request + ", " + format);
+        checkBindingErrors(bindingResult);
+        includeFieldsRequiredByFormat(request, format);
+
+        FilterQueryInfo filterQueryInfo = extractFilterQueryInfo(request);
+        long totalAnnotations = Math.min(countAnnotations(filterQueryInfo), request.getDownloadLimit());
+        List<String> selectedFields = selectedFieldList(request);
+
+        DownloadJobRequest.PageSource pageSource = (cursor, limit) -> {
+            int pageSize = Math.min(limit, annotationRetrievalConfig.getDownloadPageSize());
+            QueryRequest queryRequest = downloadQueryTemplate.newBuilder()
+                    .setQuery(QuickGOQuery.createAllQuery())
+                    .addFilters(filterQueryInfo.getFilterQueries())
+                    .setPage(cursor == null ? createFirstCursorPage(pageSize) : createCursorPage(cursor, pageSize))
+                    .build();
+            return getQueryResultStream(filterQueryInfo, queryRequest, limit);
+        };
+
+        DownloadJob job = downloadJobService.submit(new DownloadJobRequest(requestKey(servletRequest), format,
+                totalAnnotations, buildHeaderContent(servletRequest, selectedFields), selectedFields, pageSource));
+
+        HttpStatus status = job.getState() == DownloadJob.State.COMPLETED ? HttpStatus.OK : HttpStatus.ACCEPTED;
+        return ResponseEntity.status(status)
+                .location(URI.create(servletRequest.getContextPath() + "/annotation/downloadJobs/" + job.getId()))
+                .body(job);
+    }
+
+    @ApiOperation(value = "Get the status of a download job.", response = DownloadJob.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 404, message = "The download job does not exist, or has expired",
+                    response = ResponseExceptionHandler.ErrorInfo.class)})
+    @RequestMapping(value = "/downloadJobs/{id}", method = {RequestMethod.GET},
+            produces = {MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<DownloadJob> findDownloadJob(@PathVariable(value = "id") String id) {
+        return new ResponseEntity<>(findJob(id), HttpStatus.OK);
+    }
+
+    @ApiOperation(value = "Download the compressed file of a completed download job.",
+            response = File.class,
+            notes = "A single byte range can be requested with a Range header, e.g., to resume an interrupted " +
+                    "download, or to download the file over several connections.")
+    @ApiResponses(value = {
+            @ApiResponse(code = 206, message = "The requested range of the file"),
+            @ApiResponse(code = 404, message = "The download job does not exist, has expired, or has not completed",
+                    response = ResponseExceptionHandler.ErrorInfo.class),
+            @ApiResponse(code = 416, message = "The requested range is outside the file")})
+    @RequestMapping(value = "/downloadJobs/{id}/file", method = {RequestMethod.GET})
+    public void downloadJobFile(@PathVariable(value = "id") String id,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String rangeHeader,
+            HttpServletResponse response) throws IOException {
+        DownloadJob job = findJob(id);
+        if (job.getState() != DownloadJob.State.COMPLETED) {
+            throw new ResourceNotFoundException("Download job has not completed: " + id + " is " + job.getState());
+        }
+
+        Path file = downloadJobService.spoolFile(job);
+        try (FileChannel channel = FileChannel.open(file)) {
+            long length = channel.size();
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, BYTES_RANGE_UNIT);
+            response.setHeader(HttpHeaders.ETAG, "\"" + job.getId() + "\"");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" +
+                    DOWNLOAD_FILE_NAME_PREFIX + "-" + job.getId() + "." + job.getFormat() + ".gz\"");
+            response.setContentType(DOWNLOAD_JOB_FILE_CONTENT_TYPE);
+
+            Optional<ByteRange> range = ByteRange.parse(rangeHeader, length);
+            if (range.isPresent() && !range.get().isSatisfiable()) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, BYTES_RANGE_UNIT + " */" + length);
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+
+            long first = range.map(ByteRange::getFirst).orElse(0L);
+            long count = range.map(ByteRange::getLength).orElse(length);
+            if (range.isPresent()) {
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, range.get().toContentRange(length));
+            }
+            response.setHeader(HttpHeaders.CONTENT_LENGTH, Long.toString(count));
+
+            OutputStream out = response.getOutputStream();
+            WritableByteChannel target = Channels.newChannel(out);
+            for (long position = first, end = first + count; position < end; ) {
+                position += channel.transferTo(position, end - position, target);
+            }
+            out.flush();
+        }
+    }
+
+    private DownloadJob findJob(String id) {
+        return downloadJobService.find(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Download job does not exist, or has expired: " + id));
+    }
+
+    /**
+     * Identifies a download job request by its parameters, in a canonical order, so that identical requests share
+     * a job.
+     */
+    private static String requestKey(HttpServletRequest servletRequest) {
+        StringBuilder key = new StringBuilder();
+        new TreeMap<>(servletRequest.getParameterMap()).forEach((name, values) -> {
+            String[] sortedValues = values.clone();
+            Arrays.sort(sortedValues);
+            key.append(name).append('=').append(String.join(",", sortedValues)).append('&');
         });
+        return key.toString();
+    }
+
+    /**
+     * Ensures the fields that a download format writes are retrieved.
+     */
+    private static void includeFieldsRequiredByFormat(AnnotationRequest request, String format) {
+        if (GAF_SUB_TYPE.equals(format)) {
+            //For gaf, gene product name and synonyms must be present, so make sure it appears in the list of  include
+            // fields.
+            request.setIncludeFields(ensureArrayContains(request.getIncludeFields(), "name"));
+            request.setIncludeFields(ensureArrayContains(request.getIncludeFields(), "synonyms"));
+        } else if (TSV_SUB_TYPE.equals(format)) {
+            //If synonyms are requested, ensure synonyms is in the list of include fields.
+            request.setIncludeFields(
+                    ensureArrayContainsCommonValue(request.getSelectedFields(), request.getIncludeFields(),
+                            "synonyms"));
+            //If gene product name is requested, ensure name is in the list of include fields.
+            request.setIncludeFields(
+                    ensureArrayContainsCommonValue(request.getSelectedFields(), request.getIncludeFields(), "name"));
+        }
+    }
+
+    /**
+     * Counts the annotations matching the filters, without retrieving any, so that a download can be queued by its
+     * size.
+     */
+    private long countAnnotations(FilterQueryInfo filterQueryInfo) {
+        QueryRequest countRequest = queryTemplate.newBuilder()
+                .setQuery(QuickGOQuery.createAllQuery())
+                .addFilters(filterQueryInfo.getFilterQueries())
+                .setPage(new RegularPage(FIRST_PAGE, NO_RESULTS))
+                .build();
+        return annotationSearchService.findByQuery(countRequest).getNumberOfHits();
     }
 
     private QueryRequest createQueryRequest(FilterQueryInfo filterQueryInfo, int pageLimit) {
@@ -335,19 +519,25 @@ public class AnnotationController {
     }
 
     @ApiOperation(value = "Download statistics for all annotations that match the supplied filter criteria.",
-            response = File.class)
+            response = File.class,
+            notes = "Statistics downloads are admitted, queued and rejected in the same way as annotation downloads.")
+    @ApiResponses(value = {
+            @ApiResponse(code = 429, message = "Too many downloads are in progress; retry after the number of " +
+                    "seconds in the Retry-After header", response = ResponseExceptionHandler.ErrorInfo.class)})
     @RequestMapping(value = "/downloadStats", method = {RequestMethod.GET},
             produces = {EXCEL_MEDIA_TYPE_STRING, JSON_MEDIA_TYPE_STRING})
     public ResponseEntity<ResponseBodyEmitter> downloadStats(@Valid @ModelAttribute AnnotationRequest request,
-            BindingResult bindingResult, @RequestHeader(ACCEPT) MediaType mediaTypeAcceptHeader) {
+            BindingResult bindingResult, @RequestHeader(ACCEPT) MediaType mediaTypeAcceptHeader,
+            HttpServletRequest servletRequest) {
         checkBindingErrors(bindingResult);
         ResponseBodyEmitter emitter = new ResponseBodyEmitter();
 
-        taskExecutor.execute(() -> {
+        // statistics are small, however many annotations they summarise, so are not delayed behind larger downloads
+        downloadAdmissionController.submit(downloadAdmissionController.clientOf(servletRequest), 0, () -> {
             QueryResult<StatisticsGroup> stats = statsService.calculateForDownloadUsage(request);
             addAllNamesToStatisticsValues(stats);
             emitDownloadWithMediaType(emitter, stats, mediaTypeAcceptHeader);
-        });
+        }, emitter::completeWithError);
 
         return ResponseEntity.ok()
                 .headers(createHttpDownloadHeader(mediaTypeAcceptHeader,
@@ -441,15 +631,15 @@ public class AnnotationController {
                 .build();
     }
 
-    private Stream<QueryResult<Annotation>> getQueryResultStream(@Valid @ModelAttribute AnnotationRequest request,
-            FilterQueryInfo filterQueryInfo, QueryRequest queryRequest) {
-        LOGGER.info("Creating stream of search results. With limit " + request.getDownloadLimit());
+    private Stream<QueryResult<Annotation>> getQueryResultStream(FilterQueryInfo filterQueryInfo,
+            QueryRequest queryRequest, int limit) {
+        LOGGER.info("Creating stream of search results. With limit " + limit);
         Stream<QueryResult<Annotation>> resultStream = streamSearchResults(queryRequest,
                 queryTemplate,
                 annotationSearchService,
                 resultTransformerChain,
                 filterQueryInfo.getFilterContext(),
-                request.getDownloadLimit());
+                limit);
         LOGGER.info("Finished creating stream of search results.");
         return resultStream;
     }
@@ -10,7 +10,6 @@ import uk.ac.ebi.quickgo.rest.search.results.QueryResult;
 import io.swagger.annotations.*;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
@@ -86,10 +85,30 @@ public class CoTermController {
 
         validateGoTerm(id);
         final List<CoTerm> coTerms = coTermRepository.findCoTerms(id, toCoTermSource(source));
-        return getResultsResponse(coTerms.size(), coTerms.stream()
-                                                         .filter(ct -> ct.getSimilarityRatio() >= similarityThreshold)
-                                                         .limit(workoutLimit(limit))
-                                                         .collect(Collectors.toList()));
+        int end = Math.min(workoutLimit(limit), countAtOrAboveThreshold(coTerms, similarityThreshold));
+        return getResultsResponse(coTerms.size(), coTerms.subList(0, end));
+    }
+
+    /**
+     * Since co-occurring terms are held in descending order of similarity, those at or above the threshold are a
+     * prefix of them, whose length is found by binary search.
+     *
+     * @param coTerms co-occurring terms, in descending order of similarity
+     * @param similarityThreshold the lowest similarity of the co-occurring terms to count
+     * @return the number of co-occurring terms whose similarity is at least the threshold
+     */
+    private int countAtOrAboveThreshold(List<CoTerm> coTerms, float similarityThreshold) {
+        int low = 0;
+        int high = coTerms.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (coTerms.get(middle).getSimilarityRatio() >= similarityThreshold) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
     }
 
     private int workoutLimit(String limit) {
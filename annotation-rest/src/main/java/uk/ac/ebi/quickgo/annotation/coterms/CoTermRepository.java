@@ -17,7 +17,7 @@ public interface CoTermRepository {
      * a GO Term that is used to annotate the same gene.
      * @param id is the target GO term, for which the method will retrieve co-occurring terms.
      * @param source is the method from which the annotation that uses the GO term was generated.
-     * @return a list of CoTerms.
+     * @return a list of CoTerms, in descending order of similarity ratio, and then of probability ratio.
      */
     List<CoTerm> findCoTerms(String id, CoTermSource source);
 }
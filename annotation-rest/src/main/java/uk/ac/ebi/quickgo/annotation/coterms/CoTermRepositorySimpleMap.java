@@ -74,7 +74,8 @@ public class CoTermRepositorySimpleMap implements CoTermRepository {
      * @param id the GO Term for which we will lookup co-occurring terms.
      * @param source the data to search, based on how the CoTerms were created.
      * @return a list of CoTerms, each one of which represent a GO Term that is used to annotate the same gene
-     * product as the id. Each CoTerm holds statistics related to that co-occurrence.
+     * product as the id. Each CoTerm holds statistics related to that co-occurrence. The CoTerms are in the order
+     * they were written by indexing, which is descending order of similarity ratio, and then of probability ratio.
      * @throws IllegalArgumentException if the id is null.
      * @throws IllegalArgumentException if the requested CoTermSource is null.
      */
@@ -87,7 +88,7 @@ public class CoTermRepositorySimpleMap implements CoTermRepository {
 
     /**
      * Get all co-occurring terms for the requested term up to the supplied limit. The data within the source is
-     * ordered by GOTerm and then probability score. Apply the predicate passed to this class for filtering the results.
+     * ordered by GOTerm, then by descending similarity ratio and then by descending probability ratio.
      * @param id the GO Term for which we will lookup co-occurring terms.
      * @return a list of CoTerms, each one of which represent a GO Term that is used to annotate the same gene
      * product as the id. Each CoTerm holds statistics related to that co-occurrence.
@@ -0,0 +1,268 @@
+package uk.ac.ebi.quickgo.annotation.download;
+
+import uk.ac.ebi.quickgo.rest.TooManyRequestsException;
+import uk.ac.ebi.quickgo.rest.metrics.HotPathMetrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import javax.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * <p>Admits downloads to the download {@link TaskExecutor}, so that a few clients requesting many large downloads
+ * cannot fill the executor's queue and delay everyone else's downloads.
+ *
+ * <p>At most {@link DownloadAdmissionProperties#getMaxActive()} downloads are run at once. Further downloads wait in
+ * a queue, ordered by their arrival time plus a delay proportional to their estimated number of rows, so that small
+ * downloads overtake large ones, but a large download is not overtaken indefinitely. A download is rejected
+ * immediately, with a {@link TooManyRequestsException} whose retry time estimates when a slot will be free, if:
+ * <ul>
+ *     <li>its client already has {@link DownloadAdmissionProperties#getMaxPerClient()} downloads running or
+ *     queued</li>
+ *     <li>the queue holds {@link DownloadAdmissionProperties#getMaxQueued()} downloads</li>
+ * </ul>
+ * A queued download that cannot be handed to the executor when its turn comes is rejected through the callback
+ * submitted with it, since its request has already been answered. A client can be {@link #checkClient(String)
+ * checked} before its download is submitted, so that one with too many downloads is rejected before the download's
+ * size is estimated.
+ *
+ * <p>The number of running and queued downloads are published as the gauges {@code quickgo.download.active} and
+ * {@code quickgo.download.queued}, the time downloads wait in the queue as the timer
+ * {@code quickgo.stage.download.queue}, and rejections as the meter {@code quickgo.download.rejected}.
+ *
+ * Created 19/10/26
+ */
+public class DownloadAdmissionController {
+    static final String QUEUE_STAGE = "download.queue";
+    static final String ACTIVE_GAUGE = "download.active";
+    static final String QUEUED_GAUGE = "download.queued";
+    static final String REJECTED_METER = "download.rejected";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DownloadAdmissionController.class);
+    private static final double MEAN_DURATION_WEIGHT = 0.2;
+    private static final long ROWS_PER_DELAY_UNIT = 1000;
+
+    private final TaskExecutor taskExecutor;
+    private final int maxActive;
+    private final int maxQueued;
+    private final int maxPerClient;
+    private final long delayNanosPerThousandRows;
+    private final String clientHeader;
+    private final long maxRetryAfterSeconds;
+
+    private final PriorityQueue<QueuedDownload> queue;
+    private final Map<String, Integer> clientDownloads;
+    private int active;
+    private long arrivals;
+    private double meanDurationSeconds;
+
+    public DownloadAdmissionController(TaskExecutor taskExecutor, DownloadAdmissionProperties properties) {
+        checkArgument(taskExecutor != null, "TaskExecutor cannot be null.");
+        checkArgument(properties != null, "DownloadAdmissionProperties cannot be null.");
+        checkArgument(properties.getMaxActive() > 0, "Maximum active downloads must be greater than 0: %s",
+                properties.getMaxActive());
+        checkArgument(properties.getMaxQueued() >= 0, "Maximum queued downloads cannot be negative: %s",
+                properties.getMaxQueued());
+        checkArgument(properties.getMaxPerClient() > 0, "Maximum downloads per client must be greater than 0: %s",
+                properties.getMaxPerClient());
+        checkArgument(properties.getDelayMillisPerThousandRows() >= 0,
+                "Delay per thousand rows cannot be negative: %s", properties.getDelayMillisPerThousandRows());
+        checkArgument(properties.getInitialDurationSeconds() > 0,
+                "Initial download duration must be greater than 0: %s", properties.getInitialDurationSeconds());
+        checkArgument(properties.getMaxRetryAfterSeconds() > 0, "Maximum retry after must be greater than 0: %s",
+                properties.getMaxRetryAfterSeconds());
+
+        this.taskExecutor = taskExecutor;
+        this.maxActive = properties.getMaxActive();
+        this.maxQueued = properties.getMaxQueued();
+        this.maxPerClient = properties.getMaxPerClient();
+        this.delayNanosPerThousandRows = TimeUnit.MILLISECONDS.toNanos(properties.getDelayMillisPerThousandRows());
+        this.clientHeader = properties.getClientHeader();
+        this.maxRetryAfterSeconds = properties.getMaxRetryAfterSeconds();
+        this.meanDurationSeconds = properties.getInitialDurationSeconds();
+
+        this.queue = new PriorityQueue<>(Comparator.comparingLong((QueuedDownload download) -> download.priority)
+                .thenComparingLong(download -> download.sequence));
+        this.clientDownloads = new HashMap<>();
+
+        HotPathMetrics.gauge(ACTIVE_GAUGE, this::active);
+        HotPathMetrics.gauge(QUEUED_GAUGE, this::queued);
+    }
+
+    /**
+     * Identifies the client making a request, by the configured client header, e.g., an API token, if the request
+     * has one; otherwise by its remote address.
+     *
+     * @param request the request
+     * @return the identity of the client
+     */
+    public String clientOf(HttpServletRequest request) {
+        if (clientHeader != null && !clientHeader.isEmpty()) {
+            String client = request.getHeader(clientHeader);
+            if (client != null && !client.trim().isEmpty()) {
+                return client.trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    /**
+     * Checks whether a client may submit another download, so that a client with too many downloads in progress can
+     * be rejected without the cost of estimating the size of its download. The check is repeated on submission.
+     *
+     * @param client the identity of the client requesting a download
+     * @throws TooManyRequestsException if the client has too many downloads running or queued
+     */
+    public synchronized void checkClient(String client) {
+        checkArgument(client != null, "Client cannot be null.");
+
+        downloadsOf(client);
+    }
+
+    /**
+     * Runs a download now, if fewer than the maximum number of downloads are running; otherwise queues it to run
+     * when one finishes.
+     *
+     * @param client the identity of the client requesting the download
+     * @param estimatedRows the estimated number of rows the download will write
+     * @param download the download
+     * @param rejected called with the reason if the download is queued, but cannot be run when its turn comes
+     * @throws TooManyRequestsException if the client has too many downloads running or queued, or the queue is full
+     */
+    public void submit(String client, long estimatedRows, Runnable download,
+            Consumer<TooManyRequestsException> rejected) {
+        checkArgument(client != null, "Client cannot be null.");
+        checkArgument(estimatedRows >= 0, "Estimated rows cannot be negative: %s", estimatedRows);
+        checkArgument(download != null, "Download cannot be null.");
+        checkArgument(rejected != null, "Rejection callback cannot be null.");
+
+        synchronized (this) {
+            int downloads = downloadsOf(client);
+
+            long now = System.nanoTime();
+            long delay = estimatedRows * delayNanosPerThousandRows / ROWS_PER_DELAY_UNIT;
+            QueuedDownload queuedDownload = new QueuedDownload(client, download, rejected, now, now + delay,
+                    arrivals++);
+
+            if (active < maxActive) {
+                clientDownloads.put(client, downloads + 1);
+                run(queuedDownload);
+            } else if (queue.size() < maxQueued) {
+                clientDownloads.put(client, downloads + 1);
+                queue.add(queuedDownload);
+            } else {
+                throw reject("Too many downloads are in progress. Please retry later.",
+                        retryAfterSeconds(meanDurationSeconds * (queue.size() + 1) / maxActive));
+            }
+        }
+    }
+
+    synchronized int active() {
+        return active;
+    }
+
+    synchronized int queued() {
+        return queue.size();
+    }
+
+    /**
+     * @return the number of downloads a client has running or queued
+     * @throws TooManyRequestsException if the client already has the maximum number of downloads running or queued
+     */
+    private int downloadsOf(String client) {
+        int downloads = clientDownloads.getOrDefault(client, 0);
+        if (downloads >= maxPerClient) {
+            throw reject("Client already has " + downloads + " downloads in progress, the maximum allowed. " +
+                    "Please retry when one has finished.", retryAfterSeconds(meanDurationSeconds));
+        }
+        return downloads;
+    }
+
+    private void run(QueuedDownload queuedDownload) {
+        active++;
+        try {
+            taskExecutor.execute(() -> runAndRelease(queuedDownload));
+        } catch (TaskRejectedException e) {
+            release(queuedDownload.client);
+            throw reject("The download executor is full. Please retry later.",
+                    retryAfterSeconds(meanDurationSeconds / maxActive));
+        }
+    }
+
+    private void runAndRelease(QueuedDownload queuedDownload) {
+        long start = System.nanoTime();
+        HotPathMetrics.record(QUEUE_STAGE, start - queuedDownload.arrival);
+        try {
+            queuedDownload.download.run();
+        } finally {
+            finished(queuedDownload.client, System.nanoTime() - start).forEach(Runnable::run);
+        }
+    }
+
+    /**
+     * Releases a finished download's slot, and runs the queued downloads that can now be run.
+     *
+     * @return the rejections of the queued downloads that could not be run, to be notified once the lock is released
+     */
+    private synchronized List<Runnable> finished(String client, long durationNanos) {
+        double durationSeconds = durationNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        meanDurationSeconds += MEAN_DURATION_WEIGHT * (durationSeconds - meanDurationSeconds);
+        release(client);
+
+        List<Runnable> rejections = new ArrayList<>();
+        while (active < maxActive && !queue.isEmpty()) {
+            QueuedDownload next = queue.poll();
+            try {
+                run(next);
+            } catch (TooManyRequestsException e) {
+                LOGGER.error("Download queued for client {} could not be run: {}", next.client, e.getMessage());
+                rejections.add(() -> next.rejected.accept(e));
+            }
+        }
+        return rejections;
+    }
+
+    private void release(String client) {
+        active--;
+        clientDownloads.computeIfPresent(client, (key, downloads) -> downloads > 1 ? downloads - 1 : null);
+    }
+
+    private long retryAfterSeconds(double estimatedSeconds) {
+        return Math.max(1, Math.min(maxRetryAfterSeconds, (long) Math.ceil(estimatedSeconds)));
+    }
+
+    private static TooManyRequestsException reject(String message, long retryAfterSeconds) {
+        HotPathMetrics.mark(REJECTED_METER);
+        return new TooManyRequestsException(message, retryAfterSeconds);
+    }
+
+    private static class QueuedDownload {
+        private final String client;
+        private final Runnable download;
+        private final Consumer<TooManyRequestsException> rejected;
+        private final long arrival;
+        private final long priority;
+        private final long sequence;
+
+        private QueuedDownload(String client, Runnable download, Consumer<TooManyRequestsException> rejected,
+                long arrival, long priority, long sequence) {
+            this.client = client;
+            this.download = download;
+            this.rejected = rejected;
+            this.arrival = arrival;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package uk.ac.ebi.quickgo.annotation.download;
+
+/**
+ * Records properties that can be used to configure the {@link DownloadAdmissionController}.
+ *
+ * Created 19/10/26
+ */
+public class DownloadAdmissionProperties {
+    static final int DEFAULT_MAX_ACTIVE = TaskExecutorProperties.DEFAULT_CORE_POOL_SIZE;
+    static final int DEFAULT_MAX_QUEUED = TaskExecutorProperties.QUEUE_CAPACITY;
+    static final int DEFAULT_MAX_PER_CLIENT = 2;
+    static final int DEFAULT_DELAY_MILLIS_PER_THOUSAND_ROWS = 1000;
+    static final int DEFAULT_INITIAL_DURATION_SECONDS = 60;
+    static final int DEFAULT_MAX_RETRY_AFTER_SECONDS = 10 * 60;
+
+    private int maxActive = DEFAULT_MAX_ACTIVE;
+    private int maxQueued = DEFAULT_MAX_QUEUED;
+    private int maxPerClient = DEFAULT_MAX_PER_CLIENT;
+    private int delayMillisPerThousandRows = DEFAULT_DELAY_MILLIS_PER_THOUSAND_ROWS;
+    private int initialDurationSeconds = DEFAULT_INITIAL_DURATION_SECONDS;
+    private int maxRetryAfterSeconds = DEFAULT_MAX_RETRY_AFTER_SECONDS;
+    private String clientHeader;
+
+    /**
+     * @return the maximum number of downloads run at once; at most the download executor's core pool size, since
+     * the executor only starts more threads than that once its queue is full
+     */
+    public int getMaxActive() {
+        return maxActive;
+    }
+
+    public void setMaxActive(int maxActive) {
+        this.maxActive = maxActive;
+    }
+
+    public int getMaxQueued() {
+        return maxQueued;
+    }
+
+    public void setMaxQueued(int maxQueued) {
+        this.maxQueued = maxQueued;
+    }
+
+    /**
+     * @return the maximum number of downloads a single client may have running or queued
+     */
+    public int getMaxPerClient() {
+        return maxPerClient;
+    }
+
+    public void setMaxPerClient(int maxPerClient) {
+        this.maxPerClient = maxPerClient;
+    }
+
+    /**
+     * @return how long a queued download gives way to smaller downloads, per thousand rows it is estimated to write
+     */
+    public int getDelayMillisPerThousandRows() {
+        return delayMillisPerThousandRows;
+    }
+
+    public void setDelayMillisPerThousandRows(int delayMillisPerThousandRows) {
+        this.delayMillisPerThousandRows = delayMillisPerThousandRows;
+    }
+
+    /**
+     * @return the duration of a download assumed when estimating retry times, until downloads have been measured
+     */
+    public int getInitialDurationSeconds() {
+        return initialDurationSeconds;
+    }
+
+    public void setInitialDurationSeconds(int initialDurationSeconds) {
+        this.initialDurationSeconds = initialDurationSeconds;
+    }
+
+    public int getMaxRetryAfterSeconds() {
+        return maxRetryAfterSeconds;
+    }
+
+    public void setMaxRetryAfterSeconds(int maxRetryAfterSeconds) {
+        this.maxRetryAfterSeconds = maxRetryAfterSeconds;
+    }
+
+    /**
+     * @return the request header identifying a client, e.g., one holding an API token; if not set, or a request
+     * does not have the header, clients are identified by their remote address
+     */
+    public String getClientHeader() {
+        return clientHeader;
+    }
+
+    public void setClientHeader(String clientHeader) {
+        this.clientHeader = clientHeader;
+    }
+}
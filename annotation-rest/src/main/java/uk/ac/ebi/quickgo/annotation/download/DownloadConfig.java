@@ -1,21 +1,43 @@
 package uk.ac.ebi.quickgo.annotation.download;
 
+import uk.ac.ebi.quickgo.annotation.download.converter.AnnotationToGAF;
+import uk.ac.ebi.quickgo.annotation.download.converter.AnnotationToGPAD;
+import uk.ac.ebi.quickgo.annotation.download.converter.AnnotationToTSV;
 import uk.ac.ebi.quickgo.annotation.download.header.*;
+import uk.ac.ebi.quickgo.annotation.download.job.DownloadJobService;
+import uk.ac.ebi.quickgo.annotation.model.Annotation;
+import uk.ac.ebi.quickgo.rest.metadata.MetaData;
+import uk.ac.ebi.quickgo.rest.metadata.MetaDataMarker;
+import uk.ac.ebi.quickgo.rest.metadata.MetaDataProvider;
+import uk.ac.ebi.quickgo.rest.metadata.MetaDataStringOnly;
+import uk.ac.ebi.quickgo.rest.service.ServiceConfigException;
 
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.Resource;
 import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurerAdapter;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static uk.ac.ebi.quickgo.annotation.download.http.MediaTypeFactory.GAF_SUB_TYPE;
 import static uk.ac.ebi.quickgo.annotation.download.http.MediaTypeFactory.GPAD_SUB_TYPE;
 import static uk.ac.ebi.quickgo.annotation.download.http.MediaTypeFactory.TSV_SUB_TYPE;
@@ -30,10 +52,15 @@ import static uk.ac.ebi.quickgo.annotation.download.http.MediaTypeFactory.TSV_SU
 @EnableScheduling
 @ConfigurationProperties(prefix = "annotation.download")
 public class DownloadConfig {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DownloadConfig.class);
     private static final int DEFAULT_DOWNLOAD_EMITTER_TIMEOUT_MILLIS = 40 * 60 * 1000;
     private static final Path DEFAULT_ONTOLOGY_PATH = Paths.get("ONTOLOGY_IRI.dat.gz");
+    private static final String ANNOTATION_METADATA = "annotation";
+    private static final String UNKNOWN_RELEASE = "unknown";
 
     private TaskExecutorProperties taskExecutor = new TaskExecutorProperties();
+    private DownloadAdmissionProperties admission = new DownloadAdmissionProperties();
+    private DownloadJobProperties job = new DownloadJobProperties();
     private int defaultEmitterTimeout = DEFAULT_DOWNLOAD_EMITTER_TIMEOUT_MILLIS;
     private Resource ontologySource;
 
@@ -64,6 +91,35 @@ public class DownloadConfig {
         return new ThreadPoolTaskExecutor();
     }
 
+    /**
+     * Admits downloads to the download executor. At most as many downloads as the executor has core threads may be run
+     * at once, since further downloads would wait in the executor's queue, rather than in the admission queue.
+     */
+    @Bean
+    public DownloadAdmissionController downloadAdmissionController(ThreadPoolTaskExecutor taskExecutor) {
+        checkArgument(admission.getMaxActive() <= taskExecutor.getCorePoolSize(),
+                "Maximum active downloads, %s, cannot be greater than the download executor's core pool size, %s",
+                admission.getMaxActive(), taskExecutor.getCorePoolSize());
+        return new DownloadAdmissionController(taskExecutor, admission);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public DownloadJobService downloadJobService(HeaderCreatorFactory headerCreatorFactory,
+            MetaDataProvider metaDataProvider) {
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(job.getWorkers(), job.getWorkers(), 0,
+                TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(job.getQueueCapacity()),
+                new CustomizableThreadFactory("download-job-"));
+
+        Map<String, BiFunction<Annotation, List<String>, List<String>>> converters = new HashMap<>();
+        converters.put(GAF_SUB_TYPE, new AnnotationToGAF());
+        converters.put(GPAD_SUB_TYPE, new AnnotationToGPAD());
+        converters.put(TSV_SUB_TYPE, new AnnotationToTSV());
+
+        return new DownloadJobService(Paths.get(job.getSpoolDirectory()), workers, headerCreatorFactory, converters,
+                annotationRelease(metaDataProvider), job.getMaxAttempts(), Duration.ofHours(job.getRetentionHours()),
+                Clock.systemUTC());
+    }
+
     @Bean
     public HeaderCreatorFactory headerCreatorFactory(OntologyHeaderInfo ontology) throws IOException {
         Map<String, HeaderCreator> headerCreatorMap = new HashMap<>();
@@ -79,6 +135,26 @@ public class DownloadConfig {
         return new OntologyHeaderInfo(osPath);
     }
 
+    /**
+     * Supplies the timestamp of the annotation data the service is serving, which changes with each release.
+     */
+    private static Supplier<String> annotationRelease(MetaDataProvider metaDataProvider) {
+        return () -> {
+            try {
+                MetaDataMarker annotation = metaDataProvider.lookupMetaData().getProperties().get(ANNOTATION_METADATA);
+                if (annotation instanceof MetaDataStringOnly) {
+                    String timestamp = ((MetaDataStringOnly) annotation).getProperties().get(MetaData.TIMESTAMP);
+                    if (timestamp != null) {
+                        return timestamp;
+                    }
+                }
+            } catch (ServiceConfigException e) {
+                LOGGER.warn("Could not look up the annotation release; jobs of identical requests are shared across releases", e);
+            }
+            return UNKNOWN_RELEASE;
+        };
+    }
+
     public TaskExecutorProperties getTaskExecutor() {
         return taskExecutor;
     }
@@ -87,6 +163,22 @@ public class DownloadConfig {
         this.taskExecutor = taskExecutor;
     }
 
+    public DownloadAdmissionProperties getAdmission() {
+        return admission;
+    }
+
+    public void setAdmission(DownloadAdmissionProperties admission) {
+        this.admission = admission;
+    }
+
+    public DownloadJobProperties getJob() {
+        return job;
+    }
+
+    public void setJob(DownloadJobProperties job) {
+        this.job = job;
+    }
+
     public void setDefaultEmitterTimeout(int defaultEmitterTimeout) {
         this.defaultEmitterTimeout = defaultEmitterTimeout;
     }
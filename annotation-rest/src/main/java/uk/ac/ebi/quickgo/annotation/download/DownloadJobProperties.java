@@ -0,0 +1,71 @@
+package uk.ac.ebi.quickgo.annotation.download;
+
+import uk.ac.ebi.quickgo.annotation.download.job.DownloadJobService;
+
+import java.nio.file.Paths;
+
+/**
+ * Records properties that can be used to configure the {@link DownloadJobService}.
+ *
+ * Created 19/10/26
+ */
+public class DownloadJobProperties {
+    static final String DEFAULT_SPOOL_DIRECTORY =
+            Paths.get(System.getProperty("java.io.tmpdir"), "quickgo-download-jobs").toString();
+    static final int DEFAULT_WORKERS = 2;
+    static final int DEFAULT_QUEUE_CAPACITY = 20;
+    static final int DEFAULT_MAX_ATTEMPTS = 3;
+    static final int DEFAULT_RETENTION_HOURS = 24;
+
+    private String spoolDirectory = DEFAULT_SPOOL_DIRECTORY;
+    private int workers = DEFAULT_WORKERS;
+    private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+    private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+    private int retentionHours = DEFAULT_RETENTION_HOURS;
+
+    /**
+     * @return the directory in which jobs' files are written; it should have room for the largest downloads
+     */
+    public String getSpoolDirectory() {
+        return spoolDirectory;
+    }
+
+    public void setSpoolDirectory(String spoolDirectory) {
+        this.spoolDirectory = spoolDirectory;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public void setWorkers(int workers) {
+        this.workers = workers;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * @return how long, in hours, a finished job and its file are kept
+     */
+    public int getRetentionHours() {
+        return retentionHours;
+    }
+
+    public void setRetentionHours(int retentionHours) {
+        this.retentionHours = retentionHours;
+    }
+}
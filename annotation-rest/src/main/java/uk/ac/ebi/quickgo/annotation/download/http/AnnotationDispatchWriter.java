@@ -3,6 +3,7 @@ package uk.ac.ebi.quickgo.annotation.download.http;
 import uk.ac.ebi.quickgo.annotation.download.model.DownloadContent;
 import uk.ac.ebi.quickgo.annotation.model.Annotation;
 import uk.ac.ebi.quickgo.rest.ResponseExceptionHandler;
+import uk.ac.ebi.quickgo.rest.metrics.HotPathMetrics;
 import uk.ac.ebi.quickgo.rest.search.results.QueryResult;
 
 import java.io.IOException;
@@ -28,6 +29,9 @@ public class AnnotationDispatchWriter implements OutputStreamWriter {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AnnotationDispatchWriter.class);
     private static final int FLUSH_INTERVAL = 500;
+    private static final String DOWNLOAD_WRITE_STAGE = "download-write";
+    private static final String DOWNLOAD_ABORTS = "download.aborts";
+    private static final String DOWNLOAD_SIZE = "download.annotations";
     private final BiFunction<Annotation, List<String>, List<String>> converter;
     private final MediaType type;
 
@@ -57,16 +61,19 @@ public class AnnotationDispatchWriter implements OutputStreamWriter {
     private void writeAnnotations(OutputStream out, DownloadContent downloadContent) {
         AtomicInteger counter = new AtomicInteger(0);
         AtomicInteger batchCount = new AtomicInteger(0);
-        try {
+        try (HotPathMetrics.Timing timing = HotPathMetrics.start(DOWNLOAD_WRITE_STAGE)) {
             downloadContent.annotationStream.forEach(annotationResult ->
                     annotationResult.getResults()
                             .forEach(annotation -> converter.apply(annotation, downloadContent.selectedFields)
                                     .forEach(content ->
                                             writeContent(content, out, counter, batchCount))));
         } catch (StopStreamException e) {
+            HotPathMetrics.mark(DOWNLOAD_ABORTS);
             LOGGER.error("Client aborted streaming: closing stream.", e);
+        } finally {
             downloadContent.annotationStream.close();
         }
+        HotPathMetrics.update(DOWNLOAD_SIZE, counter.get());
         LOGGER.debug("Written {} {} annotations", counter.get(), type.getType());
     }
 
@@ -0,0 +1,92 @@
+package uk.ac.ebi.quickgo.annotation.download.job;
+
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A single range of bytes of a file, requested by an HTTP {@code Range} header, e.g., {@code bytes=0-499},
+ * {@code bytes=500-} or {@code bytes=-500}.
+ *
+ * Created 19/10/26
+ */
+public final class ByteRange {
+    private static final Pattern SINGLE_BYTE_RANGE = Pattern.compile("bytes=(\\d*)-(\\d*)");
+
+    private final long first;
+    private final long last;
+
+    private ByteRange(long first, long last) {
+        this.first = first;
+        this.last = last;
+    }
+
+    /**
+     * Parses the range requested from a file of the given length. A header that is absent, is not a single byte
+     * range, or is malformed, is ignored, as RFC 7233 allows, so the whole file is sent.
+     *
+     * @param header the value of the {@code Range} header, or null
+     * @param length the length of the file
+     * @return the range, which may not be satisfiable, or empty if the whole file should be sent
+     */
+    public static Optional<ByteRange> parse(String header, long length) {
+        if (header == null) {
+            return Optional.empty();
+        }
+        Matcher matcher = SINGLE_BYTE_RANGE.matcher(header.trim());
+        if (!matcher.matches() || (matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+            return Optional.empty();
+        }
+
+        try {
+            if (matcher.group(1).isEmpty()) {
+                long suffixLength = Long.parseLong(matcher.group(2));
+                return Optional.of(new ByteRange(Math.max(0, length - suffixLength), length - 1));
+            }
+
+            long first = Long.parseLong(matcher.group(1));
+            long last = matcher.group(2).isEmpty() ? length - 1 : Math.min(Long.parseLong(matcher.group(2)),
+                    length - 1);
+            if (!matcher.group(2).isEmpty() && Long.parseLong(matcher.group(2)) < first) {
+                return Optional.empty();
+            }
+            return Optional.of(new ByteRange(first, last));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    public long getFirst() {
+        return first;
+    }
+
+    public long getLast() {
+        return last;
+    }
+
+    public long getLength() {
+        return last - first + 1;
+    }
+
+    /**
+     * @return true if the range includes at least one byte of the file
+     */
+    public boolean isSatisfiable() {
+        return first <= last;
+    }
+
+    /**
+     * @param length the length of the file
+     * @return the value of the {@code Content-Range} header of a response holding this range
+     */
+    public String toContentRange(long length) {
+        return "bytes " + first + "-" + last + "/" + length;
+    }
+
+    @Override public String toString() {
+        return "ByteRange{" +
+                "first=" + first +
+                ", last=" + last +
+                '}';
+    }
+}
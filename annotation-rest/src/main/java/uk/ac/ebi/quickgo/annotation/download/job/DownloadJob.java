@@ -0,0 +1,208 @@
+package uk.ac.ebi.quickgo.annotation.download.job;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.util.Properties;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * The state of an asynchronous download job, which writes the annotations matching a download request to a
+ * compressed spool file. The job records a checkpoint after each page of results it writes, i.e., the cursor of
+ * the next page, the number of annotations written and the length of the spool file, from which a job that was
+ * interrupted can resume.
+ *
+ * Instances are immutable; each change of state creates a new instance.
+ *
+ * Created 19/10/26
+ */
+public class DownloadJob {
+    public enum State {
+        /** Waiting for a worker. */
+        QUEUED,
+        /** Being written by a worker. */
+        RUNNING,
+        /** Written; its file can be downloaded. */
+        COMPLETED,
+        /** Failed repeatedly; submitting the same request again resumes it from its last checkpoint. */
+        FAILED,
+        /** Stopped by a restart of the service; submitting the same request again resumes it. */
+        INTERRUPTED
+    }
+
+    private static final String ID = "id";
+    private static final String FORMAT = "format";
+    private static final String STATE = "state";
+    private static final String TOTAL_ANNOTATIONS = "totalAnnotations";
+    private static final String ANNOTATIONS = "annotations";
+    private static final String CURSOR = "cursor";
+    private static final String SPOOLED_BYTES = "spooledBytes";
+    private static final String CREATED = "created";
+    private static final String UPDATED = "updated";
+    private static final String MESSAGE = "message";
+
+    private final String id;
+    private final String format;
+    private final State state;
+    private final long totalAnnotations;
+    private final long annotations;
+    private final String cursor;
+    private final long spooledBytes;
+    private final long created;
+    private final long updated;
+    private final String message;
+
+    private DownloadJob(String id, String format, State state, long totalAnnotations, long annotations,
+            String cursor, long spooledBytes, long created, long updated, String message) {
+        this.id = id;
+        this.format = format;
+        this.state = state;
+        this.totalAnnotations = totalAnnotations;
+        this.annotations = annotations;
+        this.cursor = cursor;
+        this.spooledBytes = spooledBytes;
+        this.created = created;
+        this.updated = updated;
+        this.message = message;
+    }
+
+    /**
+     * Creates a queued job that has not written anything.
+     *
+     * @param id the identity of the job
+     * @param format the download format, e.g., {@code gpad}
+     * @param totalAnnotations the number of annotations the job will write
+     * @param now the current time, in milliseconds since the epoch
+     * @return the job
+     */
+    static DownloadJob queued(String id, String format, long totalAnnotations, long now) {
+        checkArgument(id != null && !id.isEmpty(), "Job id cannot be null or empty");
+        checkArgument(format != null && !format.isEmpty(), "Job format cannot be null or empty");
+        checkArgument(totalAnnotations >= 0, "Total annotations cannot be negative: %s", totalAnnotations);
+        return new DownloadJob(id, format, State.QUEUED, totalAnnotations, 0, null, 0, now, now, null);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public long getTotalAnnotations() {
+        return totalAnnotations;
+    }
+
+    /**
+     * @return the number of annotations written up to the last checkpoint
+     */
+    public long getAnnotations() {
+        return annotations;
+    }
+
+    /**
+     * @return the cursor of the next page of results to write, or null if the job has not written a page
+     */
+    @JsonIgnore
+    public String getCursor() {
+        return cursor;
+    }
+
+    /**
+     * @return the length of the spool file at the last checkpoint, or 0 if nothing has been written
+     */
+    public long getSpooledBytes() {
+        return spooledBytes;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public long getUpdated() {
+        return updated;
+    }
+
+    /**
+     * @return why the job failed or was interrupted, or null
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * @return true if the job is waiting for, or being written by, a worker
+     */
+    @JsonIgnore
+    public boolean isInProgress() {
+        return state == State.QUEUED || state == State.RUNNING;
+    }
+
+    DownloadJob withState(State newState, String newMessage, long now) {
+        return new DownloadJob(id, format, newState, totalAnnotations, annotations, cursor, spooledBytes, created,
+                now, newMessage);
+    }
+
+    DownloadJob withCheckpoint(String newCursor, long newAnnotations, long newSpooledBytes, long now) {
+        return new DownloadJob(id, format, state, totalAnnotations, newAnnotations, newCursor, newSpooledBytes,
+                created, now, message);
+    }
+
+    Properties toProperties() {
+        Properties properties = new Properties();
+        properties.setProperty(ID, id);
+        properties.setProperty(FORMAT, format);
+        properties.setProperty(STATE, state.name());
+        properties.setProperty(TOTAL_ANNOTATIONS, Long.toString(totalAnnotations));
+        properties.setProperty(ANNOTATIONS, Long.toString(annotations));
+        properties.setProperty(SPOOLED_BYTES, Long.toString(spooledBytes));
+        properties.setProperty(CREATED, Long.toString(created));
+        properties.setProperty(UPDATED, Long.toString(updated));
+        if (cursor != null) {
+            properties.setProperty(CURSOR, cursor);
+        }
+        if (message != null) {
+            properties.setProperty(MESSAGE, message);
+        }
+        return properties;
+    }
+
+    static DownloadJob fromProperties(Properties properties) {
+        return new DownloadJob(
+                required(properties, ID),
+                required(properties, FORMAT),
+                State.valueOf(required(properties, STATE)),
+                Long.parseLong(required(properties, TOTAL_ANNOTATIONS)),
+                Long.parseLong(required(properties, ANNOTATIONS)),
+                properties.getProperty(CURSOR),
+                Long.parseLong(required(properties, SPOOLED_BYTES)),
+                Long.parseLong(required(properties, CREATED)),
+                Long.parseLong(required(properties, UPDATED)),
+                properties.getProperty(MESSAGE));
+    }
+
+    private static String required(Properties properties, String name) {
+        String value = properties.getProperty(name);
+        checkArgument(value != null, "Download job property missing: %s", name);
+        return value;
+    }
+
+    @Override public String toString() {
+        return "DownloadJob{" +
+                "id='" + id + '\'' +
+                ", format='" + format + '\'' +
+                ", state=" + state +
+                ", totalAnnotations=" + totalAnnotations +
+                ", annotations=" + annotations +
+                ", cursor='" + cursor + '\'' +
+                ", spooledBytes=" + spooledBytes +
+                ", created=" + created +
+                ", updated=" + updated +
+                ", message='" + message + '\'' +
+                '}';
+    }
+}
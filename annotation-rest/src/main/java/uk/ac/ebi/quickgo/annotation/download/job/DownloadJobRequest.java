@@ -0,0 +1,87 @@
+package uk.ac.ebi.quickgo.annotation.download.job;
+
+import uk.ac.ebi.quickgo.annotation.download.header.HeaderContent;
+import uk.ac.ebi.quickgo.annotation.model.Annotation;
+import uk.ac.ebi.quickgo.rest.search.results.QueryResult;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * What a download job writes: the header and the pages of annotations of a download request, in one of the
+ * download formats.
+ *
+ * Created 19/10/26
+ */
+public class DownloadJobRequest {
+    /**
+     * Retrieves the pages of annotations of a download request, from a given cursor.
+     */
+    @FunctionalInterface
+    public interface PageSource {
+        /**
+         * @param cursor the cursor of the first page to retrieve, or null to retrieve from the first result
+         * @param limit the number of annotations to retrieve
+         * @return the pages of annotations, each of which records the cursor of the page after it
+         */
+        Stream<QueryResult<Annotation>> pagesFrom(String cursor, int limit);
+    }
+
+    private final String requestKey;
+    private final String format;
+    private final long totalAnnotations;
+    private final HeaderContent headerContent;
+    private final List<String> selectedFields;
+    private final PageSource pageSource;
+
+    /**
+     * @param requestKey identifies the request's parameters; requests with the same key share a job
+     * @param format the download format, e.g., {@code gpad}
+     * @param totalAnnotations the number of annotations to write
+     * @param headerContent the content of the file's header
+     * @param selectedFields the fields selected for the download, if any
+     * @param pageSource retrieves the pages of annotations
+     */
+    public DownloadJobRequest(String requestKey, String format, long totalAnnotations, HeaderContent headerContent,
+            List<String> selectedFields, PageSource pageSource) {
+        checkArgument(requestKey != null, "Request key cannot be null");
+        checkArgument(format != null && !format.isEmpty(), "Format cannot be null or empty");
+        checkArgument(totalAnnotations >= 0, "Total annotations cannot be negative: %s", totalAnnotations);
+        checkArgument(headerContent != null, "Header content cannot be null");
+        checkArgument(selectedFields != null, "Selected fields cannot be null");
+        checkArgument(pageSource != null, "Page source cannot be null");
+
+        this.requestKey = requestKey;
+        this.format = format;
+        this.totalAnnotations = totalAnnotations;
+        this.headerContent = headerContent;
+        this.selectedFields = selectedFields;
+        this.pageSource = pageSource;
+    }
+
+    public String getRequestKey() {
+        return requestKey;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public long getTotalAnnotations() {
+        return totalAnnotations;
+    }
+
+    public HeaderContent getHeaderContent() {
+        return headerContent;
+    }
+
+    public List<String> getSelectedFields() {
+        return selectedFields;
+    }
+
+    public PageSource getPageSource() {
+        return pageSource;
+    }
+}
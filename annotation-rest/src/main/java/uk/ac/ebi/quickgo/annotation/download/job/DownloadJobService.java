@@ -0,0 +1,334 @@
+package uk.ac.ebi.quickgo.annotation.download.job;
+
+import uk.ac.ebi.quickgo.annotation.download.header.HeaderCreatorFactory;
+import uk.ac.ebi.quickgo.annotation.model.Annotation;
+import uk.ac.ebi.quickgo.rest.TooManyRequestsException;
+import uk.ac.ebi.quickgo.rest.metrics.HotPathMetrics;
+import uk.ac.ebi.quickgo.rest.search.results.QueryResult;
+
+import com.google.common.hash.Hashing;
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static uk.ac.ebi.quickgo.annotation.download.job.DownloadJob.State.COMPLETED;
+import static uk.ac.ebi.quickgo.annotation.download.job.DownloadJob.State.FAILED;
+import static uk.ac.ebi.quickgo.annotation.download.job.DownloadJob.State.INTERRUPTED;
+import static uk.ac.ebi.quickgo.annotation.download.job.DownloadJob.State.QUEUED;
+import static uk.ac.ebi.quickgo.annotation.download.job.DownloadJob.State.RUNNING;
+
+/**
+ * <p>Runs asynchronous download jobs, each of which writes the annotations of a download request to a compressed
+ * spool file, from which clients can then download them, in whole or in ranges, over as many connections as they
+ * need.
+ *
+ * <p>Jobs run on a bounded pool of workers; a job is rejected, with a {@link TooManyRequestsException}, when the
+ * pool's queue is full. A job writes its header and then each page of annotations as a separate gzip member, and
+ * records a checkpoint after each: the cursor of the next page, the number of annotations written and the length
+ * of the file. A job that fails resumes from its last checkpoint, by truncating its file to the checkpoint's length
+ * and continuing from its cursor, up to a maximum number of attempts. Jobs left in progress by a restart of the
+ * service, or that failed, resume in the same way when the same request is submitted again.
+ *
+ * <p>A job is identified by its request and the current release of the annotation data, so identical requests of
+ * the same release share a job and its file. Finished jobs are deleted after a retention period.
+ *
+ * Created 19/10/26
+ */
+public class DownloadJobService {
+    static final String JOB_STAGE = "download.job";
+    static final String JOB_FAILURES = "download.job.failures";
+    static final String JOB_REUSES = "download.job.reuses";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DownloadJobService.class);
+    private static final int SPOOL_BUFFER_SIZE = 64 * 1024;
+    private static final long REJECTED_RETRY_AFTER_SECONDS = 60;
+
+    private final DownloadJobStore store;
+    private final ExecutorService workers;
+    private final HeaderCreatorFactory headerCreatorFactory;
+    private final Map<String, BiFunction<Annotation, List<String>, List<String>>> converters;
+    private final Supplier<String> release;
+    private final int maxAttempts;
+    private final long retentionMillis;
+    private final Clock clock;
+    private final ConcurrentMap<String, DownloadJob> jobs;
+
+    /**
+     * Creates the service, and records that any job the store holds in progress was interrupted.
+     *
+     * @param spoolDirectory the directory in which the jobs' files and states are stored
+     * @param workers the bounded pool of workers that run jobs
+     * @param headerCreatorFactory creates the header of each download format
+     * @param converters converts an annotation to the lines of each download format, keyed by format
+     * @param release supplies the current release of the annotation data
+     * @param maxAttempts the number of times a job is attempted before it fails
+     * @param retention how long a finished job is kept
+     * @param clock the clock
+     */
+    public DownloadJobService(Path spoolDirectory, ExecutorService workers, HeaderCreatorFactory headerCreatorFactory,
+            Map<String, BiFunction<Annotation, List<String>, List<String>>> converters, Supplier<String> release,
+            int maxAttempts, Duration retention, Clock clock) {
+        checkArgument(workers != null, "Download job workers cannot be null");
+        checkArgument(headerCreatorFactory != null, "HeaderCreatorFactory cannot be null");
+        checkArgument(converters != null && !converters.isEmpty(), "Download converters cannot be null or empty");
+        checkArgument(release != null, "Release supplier cannot be null");
+        checkArgument(maxAttempts > 0, "Maximum attempts must be greater than 0: %s", maxAttempts);
+        checkArgument(retention != null && !retention.isNegative(), "Retention cannot be null or negative");
+        checkArgument(clock != null, "Clock cannot be null");
+
+        this.store = new DownloadJobStore(spoolDirectory);
+        this.workers = workers;
+        this.headerCreatorFactory = headerCreatorFactory;
+        this.converters = converters;
+        this.release = release;
+        this.maxAttempts = maxAttempts;
+        this.retentionMillis = retention.toMillis();
+        this.clock = clock;
+        this.jobs = new ConcurrentHashMap<>();
+
+        for (DownloadJob job : store.loadAll()) {
+            if (job.isInProgress()) {
+                job = job.withState(INTERRUPTED, "Interrupted by a restart of the service", clock.millis());
+                store.save(job);
+            }
+            jobs.put(job.getId(), job);
+        }
+    }
+
+    /**
+     * Submits a download request. If a job for an identical request of the current release is in progress, or has
+     * completed, that job is returned; if one failed or was interrupted, it is resumed; otherwise a new job is
+     * queued.
+     *
+     * @param request the download request
+     * @return the job writing the request's annotations
+     * @throws TooManyRequestsException if the workers' queue is full
+     */
+    public DownloadJob submit(DownloadJobRequest request) {
+        checkArgument(request != null, "Download job request cannot be null");
+        checkArgument(converters.containsKey(request.getFormat()), "Unsupported download format: %s",
+                request.getFormat());
+
+        String id = idOf(request);
+        synchronized (this) {
+            DownloadJob existing = jobs.get(id);
+            if (existing != null && (existing.isInProgress() || existing.getState() == COMPLETED)) {
+                HotPathMetrics.mark(JOB_REUSES);
+                return existing;
+            }
+
+            DownloadJob job = existing == null ?
+                    DownloadJob.queued(id, request.getFormat(), request.getTotalAnnotations(), clock.millis()) :
+                    existing.withState(QUEUED, null, clock.millis());
+            update(job);
+            try {
+                workers.execute(() -> run(id, request));
+            } catch (RejectedExecutionException e) {
+                if (existing == null) {
+                    jobs.remove(id);
+                    store.delete(id);
+                } else {
+                    update(existing);
+                }
+                throw new TooManyRequestsException("Too many download jobs are queued. Please retry later.",
+                        REJECTED_RETRY_AFTER_SECONDS);
+            }
+            return job;
+        }
+    }
+
+    /**
+     * @param id the identity of a job
+     * @return the job, if it exists
+     */
+    public Optional<DownloadJob> find(String id) {
+        return DownloadJobStore.isValidId(id) ? Optional.ofNullable(jobs.get(id)) : Optional.empty();
+    }
+
+    /**
+     * @param job a job
+     * @return the file the job writes
+     */
+    public Path spoolFile(DownloadJob job) {
+        return store.spoolFile(job.getId());
+    }
+
+    /**
+     * Deletes the jobs that finished longer ago than the retention period, and their files.
+     */
+    @Scheduled(fixedDelayString = "${annotation.download.job.cleanupIntervalMillis:3600000}")
+    public synchronized void removeExpired() {
+        long expiredBefore = clock.millis() - retentionMillis;
+        jobs.values().stream()
+                .filter(job -> !job.isInProgress() && job.getUpdated() < expiredBefore)
+                .forEach(job -> {
+                    LOGGER.info("Deleting expired download job: {}", job.getId());
+                    jobs.remove(job.getId());
+                    store.delete(job.getId());
+                });
+    }
+
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private String idOf(DownloadJobRequest request) {
+        return Hashing.sha256()
+                .hashString(release.get() + "\n" + request.getFormat() + "\n" + request.getRequestKey(),
+                        StandardCharsets.UTF_8)
+                .toString();
+    }
+
+    private void run(String id, DownloadJobRequest request) {
+        DownloadJob job = update(jobs.get(id).withState(RUNNING, null, clock.millis()));
+        for (int attempt = 1; ; attempt++) {
+            try (HotPathMetrics.Timing timing = HotPathMetrics.start(JOB_STAGE)) {
+                job = spool(job, request);
+                update(job.withState(COMPLETED, null, clock.millis()));
+                LOGGER.info("Download job {} wrote {} annotations", id, job.getAnnotations());
+                return;
+            } catch (IOException | RuntimeException e) {
+                job = jobs.get(id);
+                if (attempt >= maxAttempts) {
+                    HotPathMetrics.mark(JOB_FAILURES);
+                    LOGGER.error("Download job " + id + " failed after " + attempt + " attempts", e);
+                    update(job.withState(FAILED, "Failed after " + attempt + " attempts: " + e.getMessage(),
+                            clock.millis()));
+                    return;
+                }
+                LOGGER.warn("Download job " + id + " failed; resuming from its last checkpoint", e);
+            }
+        }
+    }
+
+    private DownloadJob spool(DownloadJob job, DownloadJobRequest request) throws IOException {
+        try (FileChannel channel = FileChannel.open(store.spoolFile(job.getId()), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE)) {
+            if (job.getSpooledBytes() == 0) {
+                job = writeHeader(job, request, channel);
+            } else {
+                channel.truncate(job.getSpooledBytes());
+                channel.position(job.getSpooledBytes());
+            }
+
+            Stream<QueryResult<Annotation>> pages;
+            try {
+                pages = pagesFrom(job, request);
+            } catch (RuntimeException e) {
+                if (job.getCursor() == null) {
+                    throw e;
+                }
+                LOGGER.warn("Download job " + job.getId() + " cannot resume from its cursor; restarting it", e);
+                job = writeHeader(job.withCheckpoint(null, 0, 0, clock.millis()), request, channel);
+                pages = pagesFrom(job, request);
+            }
+
+            try {
+                Iterator<QueryResult<Annotation>> iterator = pages.iterator();
+                while (iterator.hasNext()) {
+                    job = writePage(job, request, iterator.next(), channel);
+                }
+            } finally {
+                pages.close();
+            }
+            return job;
+        }
+    }
+
+    private Stream<QueryResult<Annotation>> pagesFrom(DownloadJob job, DownloadJobRequest request) {
+        long remaining = job.getTotalAnnotations() - job.getAnnotations();
+        return remaining > 0 ?
+                request.getPageSource().pagesFrom(job.getCursor(), (int) remaining) :
+                Stream.empty();
+    }
+
+    private DownloadJob writeHeader(DownloadJob job, DownloadJobRequest request, FileChannel channel)
+            throws IOException {
+        channel.truncate(0);
+        channel.position(0);
+        writeMember(channel, out -> headerCreatorFactory.provide(job.getFormat())
+                .write(new OutputStreamEmitter(out), request.getHeaderContent()));
+        return update(job.withCheckpoint(null, 0, channel.size(), clock.millis()));
+    }
+
+    private DownloadJob writePage(DownloadJob job, DownloadJobRequest request, QueryResult<Annotation> page,
+            FileChannel channel) throws IOException {
+        BiFunction<Annotation, List<String>, List<String>> converter = converters.get(job.getFormat());
+        List<Annotation> annotations = page.getResults();
+        writeMember(channel, out -> {
+            for (Annotation annotation : annotations) {
+                for (String line : converter.apply(annotation, request.getSelectedFields())) {
+                    out.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        });
+
+        String nextCursor = page.getPageInfo() == null ? job.getCursor() : page.getPageInfo().getNextCursor();
+        return update(job.withCheckpoint(nextCursor, job.getAnnotations() + annotations.size(), channel.size(),
+                clock.millis()));
+    }
+
+    private DownloadJob update(DownloadJob job) {
+        store.save(job);
+        jobs.put(job.getId(), job);
+        return job;
+    }
+
+    /**
+     * Writes a complete gzip member to the end of the file, and forces it to disk, so that the file is a valid
+     * gzip file up to the member's end.
+     */
+    private static void writeMember(FileChannel channel, MemberWriter writer) throws IOException {
+        try (GZIPOutputStream member = new GZIPOutputStream(new BufferedOutputStream(
+                new UnclosedOutputStream(Channels.newOutputStream(channel)), SPOOL_BUFFER_SIZE))) {
+            writer.write(member);
+        }
+        channel.force(false);
+    }
+
+    @FunctionalInterface
+    private interface MemberWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Leaves the file channel open when a member's streams are closed, so that the next member can be appended.
+     */
+    private static class UnclosedOutputStream extends FilterOutputStream {
+        UnclosedOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+        }
+
+        @Override public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package uk.ac.ebi.quickgo.annotation.download.job;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Stores download jobs in a spool directory: the compressed file each job writes, {@code <id>.gz}, and the job's
+ * last recorded state, {@code <id>.properties}. The state is replaced atomically, so that a job read after a crash
+ * is always one that was recorded.
+ *
+ * Created 19/10/26
+ */
+class DownloadJobStore {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DownloadJobStore.class);
+    private static final Pattern VALID_ID = Pattern.compile("[0-9a-f]{1,128}");
+    private static final String SPOOL_EXTENSION = ".gz";
+    private static final String STATE_EXTENSION = ".properties";
+    private static final String TEMPORARY_EXTENSION = ".tmp";
+
+    private final Path directory;
+
+    DownloadJobStore(Path directory) {
+        checkArgument(directory != null, "Spool directory cannot be null");
+        try {
+            this.directory = Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create download job spool directory: " + directory, e);
+        }
+    }
+
+    static boolean isValidId(String id) {
+        return id != null && VALID_ID.matcher(id).matches();
+    }
+
+    Path spoolFile(String id) {
+        return directory.resolve(checkedId(id) + SPOOL_EXTENSION);
+    }
+
+    void save(DownloadJob job) {
+        Path state = stateFile(job.getId());
+        Path temporary = state.resolveSibling(state.getFileName() + TEMPORARY_EXTENSION);
+        try {
+            try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+                job.toProperties().store(writer, null);
+            }
+            Files.move(temporary, state, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not save download job: " + job.getId(), e);
+        }
+    }
+
+    Optional<DownloadJob> load(String id) {
+        Path state = stateFile(id);
+        if (!Files.exists(state)) {
+            return Optional.empty();
+        }
+
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(state, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+            return Optional.of(DownloadJob.fromProperties(properties));
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.warn("Ignoring unreadable download job state: " + state, e);
+            return Optional.empty();
+        }
+    }
+
+    List<DownloadJob> loadAll() {
+        List<DownloadJob> jobs = new ArrayList<>();
+        try (DirectoryStream<Path> states = Files.newDirectoryStream(directory, "*" + STATE_EXTENSION)) {
+            for (Path state : states) {
+                String fileName = state.getFileName().toString();
+                String id = fileName.substring(0, fileName.length() - STATE_EXTENSION.length());
+                if (isValidId(id)) {
+                    load(id).ifPresent(jobs::add);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list download jobs in: " + directory, e);
+        }
+        return jobs;
+    }
+
+    void delete(String id) {
+        try {
+            Files.deleteIfExists(stateFile(id));
+            Files.deleteIfExists(spoolFile(id));
+        } catch (IOException e) {
+            LOGGER.warn("Could not delete download job: " + id, e);
+        }
+    }
+
+    private Path stateFile(String id) {
+        return directory.resolve(checkedId(id) + STATE_EXTENSION);
+    }
+
+    private static String checkedId(String id) {
+        checkArgument(isValidId(id), "Invalid download job id: %s", id);
+        return id;
+    }
+}
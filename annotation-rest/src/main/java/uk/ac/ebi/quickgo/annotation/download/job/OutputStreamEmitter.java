@@ -0,0 +1,25 @@
+package uk.ac.ebi.quickgo.annotation.download.job;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+/**
+ * Writes the text sent to it to an output stream, rather than to a response, so that the download
+ * {@link uk.ac.ebi.quickgo.annotation.download.header.HeaderCreator}s can write a header to a spool file.
+ *
+ * Created 19/10/26
+ */
+class OutputStreamEmitter extends ResponseBodyEmitter {
+    private final OutputStream out;
+
+    OutputStreamEmitter(OutputStream out) {
+        this.out = out;
+    }
+
+    @Override public void send(Object object, MediaType mediaType) throws IOException {
+        out.write(String.valueOf(object).getBytes(StandardCharsets.UTF_8));
+    }
+}
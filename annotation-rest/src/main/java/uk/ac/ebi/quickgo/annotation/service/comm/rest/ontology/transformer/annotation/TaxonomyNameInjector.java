@@ -2,13 +2,18 @@ package uk.ac.ebi.quickgo.annotation.service.comm.rest.ontology.transformer.anno
 
 import uk.ac.ebi.quickgo.annotation.model.Annotation;
 import uk.ac.ebi.quickgo.annotation.service.comm.rest.ontology.model.BasicTaxonomyNode;
+import uk.ac.ebi.quickgo.annotation.taxonomy.TaxonomyStore;
 import uk.ac.ebi.quickgo.rest.search.request.FilterRequest;
 import uk.ac.ebi.quickgo.rest.search.request.converter.ConvertedFilter;
+import uk.ac.ebi.quickgo.rest.search.request.converter.RESTFilterConverterFactory;
 import uk.ac.ebi.quickgo.rest.search.results.transformer.AbstractValueInjector;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 /**
  * This class is responsible for supplementing an {@link Annotation} instance, which contains
- * a taxonomy identifier, with a taxonomy name, through the use of a RESTful service.
+ * a taxonomy identifier, with a taxonomy name, through the use of a RESTful service. If the taxon is in the local
+ * {@link TaxonomyStore}, its name is taken from there instead.
  *
  * Created 07/04/17
  * @author Edd
@@ -18,11 +23,32 @@ public class TaxonomyNameInjector extends AbstractValueInjector<BasicTaxonomyNod
     static final String TAXON_NAME = "taxonName";
     static final String TAXON_ID = "taxonId";
 
+    private final TaxonomyStore taxonomyStore;
+
+    public TaxonomyNameInjector() {
+        this(TaxonomyStore.createEmptyStore());
+    }
+
+    public TaxonomyNameInjector(TaxonomyStore taxonomyStore) {
+        checkArgument(taxonomyStore != null, "Taxonomy store cannot be null");
+        this.taxonomyStore = taxonomyStore;
+    }
+
     @Override
     public String getId() {
         return TAXON_NAME;
     }
 
+    @Override
+    public void inject(RESTFilterConverterFactory restFetcher, Annotation annotation) {
+        String taxonName = taxonomyStore.scientificNameOf(annotation.taxonId);
+        if (taxonName == null) {
+            super.inject(restFetcher, annotation);
+        } else {
+            annotation.taxonName = taxonName;
+        }
+    }
+
     @Override
     public FilterRequest buildFilterRequest(Annotation annotation) {
         return FilterRequest.newBuilder()
@@ -1,14 +1,19 @@
 package uk.ac.ebi.quickgo.annotation.service.comm.rest.ontology.transformer.completablevalue;
 
 import uk.ac.ebi.quickgo.annotation.service.comm.rest.ontology.model.BasicTaxonomyNode;
+import uk.ac.ebi.quickgo.annotation.taxonomy.TaxonomyStore;
 import uk.ac.ebi.quickgo.rest.model.CompletableValue;
 import uk.ac.ebi.quickgo.rest.search.request.FilterRequest;
 import uk.ac.ebi.quickgo.rest.search.request.converter.ConvertedFilter;
+import uk.ac.ebi.quickgo.rest.search.request.converter.RESTFilterConverterFactory;
 import uk.ac.ebi.quickgo.rest.search.results.transformer.AbstractValueInjector;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 /**
  * This class is responsible for supplementing an {@link CompletableValue} instance, which contains
- * a taxonomy identifier (in the key field), with a taxonomy name, through the use of a RESTful service.
+ * a taxonomy identifier (in the key field), with a taxonomy name, through the use of a RESTful service. If the taxon
+ * is in the local {@link TaxonomyStore}, its name is taken from there instead.
  *
  * Created 04/10/17
  * @author Tony Wardell
@@ -18,11 +23,32 @@ public class TaxonomyNameInjector extends AbstractValueInjector<BasicTaxonomyNod
     public static final String TAXON_ID = "taxonId";
     static final String TAXON_NAME = "taxonName";
 
+    private final TaxonomyStore taxonomyStore;
+
+    public TaxonomyNameInjector() {
+        this(TaxonomyStore.createEmptyStore());
+    }
+
+    public TaxonomyNameInjector(TaxonomyStore taxonomyStore) {
+        checkArgument(taxonomyStore != null, "Taxonomy store cannot be null");
+        this.taxonomyStore = taxonomyStore;
+    }
+
     @Override
     public String getId() {
         return TAXON_NAME;
     }
 
+    @Override
+    public void inject(RESTFilterConverterFactory restFetcher, CompletableValue completableValue) {
+        String taxonName = localTaxonName(completableValue.getKey());
+        if (taxonName == null) {
+            super.inject(restFetcher, completableValue);
+        } else {
+            completableValue.setValue(taxonName);
+        }
+    }
+
     @Override
     public FilterRequest buildFilterRequest(CompletableValue completableValue) {
         return FilterRequest.newBuilder()
@@ -36,4 +62,12 @@ public class TaxonomyNameInjector extends AbstractValueInjector<BasicTaxonomyNod
             completableValue) {
         completableValue.setValue(convertedRequest.getConvertedValue().getScientificName());
     }
+
+    private String localTaxonName(String taxonId) {
+        try {
+            return taxonomyStore.scientificNameOf(Integer.parseInt(taxonId));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
 }
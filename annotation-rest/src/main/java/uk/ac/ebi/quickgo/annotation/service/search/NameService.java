@@ -1,6 +1,7 @@
 package uk.ac.ebi.quickgo.annotation.service.search;
 
 import uk.ac.ebi.quickgo.rest.comm.FilterContext;
+import uk.ac.ebi.quickgo.rest.metrics.HotPathMetrics;
 import uk.ac.ebi.quickgo.rest.model.CompletableValue;
 import uk.ac.ebi.quickgo.rest.search.results.transformer.ResultTransformationRequest;
 import uk.ac.ebi.quickgo.rest.search.results.transformer.ResultTransformationRequests;
@@ -24,6 +25,7 @@ import org.springframework.stereotype.Service;
 @CacheConfig(cacheNames = {"names"})
 public class NameService {
 
+    static final String NAME_LOOKUP_STAGE = "name-lookup";
     private static final Logger LOGGER = LoggerFactory.getLogger(NameService.class);
     private final ResultTransformerChain<CompletableValue> completableValueTransformerChain;
 
@@ -31,13 +33,20 @@ public class NameService {
         this.completableValueTransformerChain = completableValueTransformerChain;
     }
 
+    /**
+     * Looks up a name, which is only invoked when the name is not already cached; the cache's hit ratio is
+     * published by the actuator's metrics endpoint, and the duration of the look-ups on cache misses are recorded
+     * as the {@value #NAME_LOOKUP_STAGE} stage of {@link HotPathMetrics}.
+     */
     @Cacheable(unless="#result == null")
     public String findName(String targetName, String targetKey) {
-        FilterContext filterContext = createFilterContextForName(targetName);
-        CompletableValue completableValue = new CompletableValue(targetKey);
-        LOGGER.debug("Getting " + filterContext + " : " + targetKey);
-        completableValueTransformerChain.applyTransformations(completableValue, filterContext);
-        return completableValue.value;
+        try (HotPathMetrics.Timing timing = HotPathMetrics.start(NAME_LOOKUP_STAGE)) {
+            FilterContext filterContext = createFilterContextForName(targetName);
+            CompletableValue completableValue = new CompletableValue(targetKey);
+            LOGGER.debug("Getting " + filterContext + " : " + targetKey);
+            completableValueTransformerChain.applyTransformations(completableValue, filterContext);
+            return completableValue.value;
+        }
     }
 
     private static FilterContext createFilterContextForName(String targetName) {
@@ -10,6 +10,8 @@ import uk.ac.ebi.quickgo.annotation.service.comm.rest.ontology.transformer.annot
 import uk.ac.ebi.quickgo.annotation.service.comm.rest.ontology.transformer.annotation.TaxonomyNameInjector;
 import uk.ac.ebi.quickgo.annotation.service.comm.rest.ontology.transformer.completablevalue.EvidenceNameInjector;
 import uk.ac.ebi.quickgo.annotation.service.converter.AnnotationDocConverterImpl;
+import uk.ac.ebi.quickgo.annotation.taxonomy.TaxonomyConfig;
+import uk.ac.ebi.quickgo.annotation.taxonomy.TaxonomyStore;
 import uk.ac.ebi.quickgo.common.SearchableField;
 import uk.ac.ebi.quickgo.common.loader.DbXRefLoader;
 import uk.ac.ebi.quickgo.common.validator.DbXRefEntityValidation;
@@ -24,6 +26,8 @@ import uk.ac.ebi.quickgo.rest.search.request.converter.RESTFilterConverterFactor
 import uk.ac.ebi.quickgo.rest.search.results.QueryResult;
 import uk.ac.ebi.quickgo.rest.search.results.config.FieldNameTransformer;
 import uk.ac.ebi.quickgo.rest.search.results.transformer.*;
+import uk.ac.ebi.quickgo.rest.search.solr.HttpSolrExportSource;
+import uk.ac.ebi.quickgo.rest.search.solr.SolrExportRequestRetrieval;
 import uk.ac.ebi.quickgo.rest.search.solr.SolrQueryConverter;
 import uk.ac.ebi.quickgo.rest.search.solr.SolrRequestRetrieval;
 import uk.ac.ebi.quickgo.rest.search.solr.SolrRetrievalConfig;
@@ -52,6 +56,7 @@ import org.springframework.core.io.FileSystemResource;
 import org.springframework.data.solr.core.SolrTemplate;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 
 /**
@@ -63,7 +68,7 @@ import static java.util.Collections.singletonList;
  *         Created with IntelliJ IDEA.
  */
 @Configuration
-@Import({AnnotationRepoConfig.class})
+@Import({AnnotationRepoConfig.class, TaxonomyConfig.class})
 @ComponentScan({"uk.ac.ebi.quickgo.annotation.service.search"})
 @PropertySource("classpath:search.properties")
 @EnableCaching
@@ -84,7 +89,16 @@ public class SearchServiceConfig {
     private static final String SOLR_ANNOTATION_QUERY_REQUEST_HANDLER = "/query";
     private static final String DEFAULT_DOWNLOAD_SORT_FIELDS = "rowNumber,id";
     private static final int DEFAULT_DOWNLOAD_PAGE_SIZE = 500;
+    private static final String SOLR_ANNOTATION_EXPORT_REQUEST_HANDLER = "/export";
+    private static final String DEFAULT_DOWNLOAD_EXPORT_FIELDS =
+            "id,assignedBy,symbol,date,evidenceCode,extension,geneProductId,geneProductType,goEvidence,goAspect," +
+                    "goId,interactingTaxonId,qualifier,reference,targetSet,taxonId,withFrom";
+    private static final String DEFAULT_DOWNLOAD_EXPORT_SORT = "id asc";
+    private static final long DEFAULT_DOWNLOAD_EXPORT_IDLE_TIMEOUT_SECONDS = 300;
+    private static final String ANNOTATION_DATE_FIELD = "date";
     private static final String CACHE_CONFIG_FILE = "ehcache.xml";
+    private static final int DEFAULT_MAX_CACHED_FILTER_LENGTH = 4096;
+    private static final int DEFAULT_UNCACHED_FILTER_COST = 100;
 
     @Value("${geneproduct.db.xref.valid.regexes}")
     String xrefValidationRegexFile;
@@ -100,12 +114,30 @@ public class SearchServiceConfig {
     @Value("${annotation.download.pageSize:" + DEFAULT_DOWNLOAD_PAGE_SIZE + "}")
     private int downloadPageSize;
 
+    @Value("${annotation.download.export.enabled:false}")
+    private boolean downloadExportEnabled;
+
+    @Value("${annotation.download.export.fields:" + DEFAULT_DOWNLOAD_EXPORT_FIELDS + "}")
+    private String downloadExportFields;
+
+    @Value("${annotation.download.export.sort:" + DEFAULT_DOWNLOAD_EXPORT_SORT + "}")
+    private String downloadExportSort;
+
+    @Value("${annotation.download.export.idleTimeoutSeconds:" + DEFAULT_DOWNLOAD_EXPORT_IDLE_TIMEOUT_SECONDS + "}")
+    private long downloadExportIdleTimeoutSeconds;
+
     @Value("${search.wildcard.fields:}")
     private String fieldsThatCanBeSearchedByWildCard;
 
     @Value("${cache.config.path:" + CACHE_CONFIG_FILE + "}")
     private String cacheConfigPath;
 
+    @Value("${search.filter.cache.max.length:" + DEFAULT_MAX_CACHED_FILTER_LENGTH + "}")
+    private int maxCachedFilterLength;
+
+    @Value("${search.filter.uncached.cost:" + DEFAULT_UNCACHED_FILTER_COST + "}")
+    private int uncachedFilterCost;
+
     @Bean
     public static PropertySourcesPlaceholderConfigurer propertySourcesPlaceholderConfigurer() {
         return new PropertySourcesPlaceholderConfigurer();
@@ -117,6 +149,11 @@ public class SearchServiceConfig {
         return new SearchServiceImpl(annotationSolrRequestRetrieval);
     }
 
+    /**
+     * Annotation retrieval. If download exports are enabled, the cursor paged requests of downloads are read from a
+     * single stream of Solr's export handler, rather than by a cursor query per page; all other requests, and
+     * downloads that cannot be exported, are retrieved by Solr queries.
+     */
     @Bean
     public RequestRetrieval<Annotation> annotationSolrRequestRetrieval(
             SolrTemplate annotationTemplate,
@@ -128,11 +165,25 @@ public class SearchServiceConfig {
                 new AnnotationDocConverterImpl(),
                 annotationRetrievalConfig);
 
-        return new SolrRequestRetrieval<>(
+        SolrRequestRetrieval<Annotation> solrRequestRetrieval = new SolrRequestRetrieval<>(
                 annotationTemplate.getSolrClient(),
                 queryRequestConverter,
                 resultConverter,
                 annotationRetrievalConfig);
+
+        if (!downloadExportEnabled) {
+            return solrRequestRetrieval;
+        }
+
+        return new SolrExportRequestRetrieval<>(
+                new HttpSolrExportSource(annotationTemplate.getSolrClient(), SOLR_ANNOTATION_EXPORT_REQUEST_HANDLER,
+                        singleton(ANNOTATION_DATE_FIELD)),
+                queryRequestConverter,
+                resultConverter,
+                solrRequestRetrieval,
+                Stream.of(downloadExportFields.split(COMMA)).collect(Collectors.toSet()),
+                downloadExportSort,
+                downloadExportIdleTimeoutSeconds);
     }
 
     @Bean
@@ -148,7 +199,9 @@ public class SearchServiceConfig {
                 Stream.of(fieldsThatCanBeSearchedByWildCard.split(COMMA)).collect(Collectors.toSet());
         return new SolrQueryConverter(
                 SOLR_ANNOTATION_QUERY_REQUEST_HANDLER,
-                new UnsortedSolrQuerySerializer(unsortedFields, wildCardFields));
+                new UnsortedSolrQuerySerializer(unsortedFields, wildCardFields),
+                maxCachedFilterLength,
+                uncachedFilterCost);
     }
 
     /**
@@ -214,10 +267,10 @@ public class SearchServiceConfig {
 
     @Bean
     public ExternalServiceResultsTransformer<QueryResult<Annotation>, Annotation> ontologyResultsTransformer
-            (RESTFilterConverterFactory converterFactory) {
+            (RESTFilterConverterFactory converterFactory, TaxonomyStore taxonomyStore) {
         List<ResponseValueInjector<Annotation>> responseValueInjectors = asList(
                 new OntologyNameInjector(),
-                new TaxonomyNameInjector());
+                new TaxonomyNameInjector(taxonomyStore));
         return new ExternalServiceResultsTransformer<>(responseValueInjectors, queryResultMutator(converterFactory));
     }
 
@@ -309,10 +362,10 @@ public class SearchServiceConfig {
 
     @Bean
     public ExternalServiceResultsTransformer<CompletableValue, CompletableValue> taxonNameTransformer
-            (RESTFilterConverterFactory converterFactory) {
+            (RESTFilterConverterFactory converterFactory, TaxonomyStore taxonomyStore) {
         List<ResponseValueInjector<CompletableValue>> responseValueInjectors = singletonList(
                 new uk.ac.ebi.quickgo.annotation.service.comm.rest.ontology.transformer.completablevalue
-                        .TaxonomyNameInjector());
+                        .TaxonomyNameInjector(taxonomyStore));
         return new ExternalServiceResultsTransformer<>(responseValueInjectors,
                 completableValueResultMutator(converterFactory));
     }
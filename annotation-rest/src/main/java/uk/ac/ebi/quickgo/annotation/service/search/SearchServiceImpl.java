@@ -28,4 +28,9 @@ class SearchServiceImpl implements SearchService<Annotation> {
     public QueryResult<Annotation> findByQuery(QueryRequest request) {
         return this.requestRetrieval.findByQuery(request);
     }
+
+    @Override
+    public void release(String cursor) {
+        this.requestRetrieval.release(cursor);
+    }
 }
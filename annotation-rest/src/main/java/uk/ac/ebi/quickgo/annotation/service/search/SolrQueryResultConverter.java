@@ -4,26 +4,32 @@ import uk.ac.ebi.quickgo.annotation.common.AnnotationDocument;
 import uk.ac.ebi.quickgo.annotation.model.Annotation;
 import uk.ac.ebi.quickgo.annotation.service.converter.AnnotationDocConverter;
 import uk.ac.ebi.quickgo.rest.search.solr.AbstractSolrQueryResultConverter;
+import uk.ac.ebi.quickgo.rest.search.solr.SolrDocumentBinder;
 import uk.ac.ebi.quickgo.rest.search.solr.SolrResponseAggregationConverter;
+import uk.ac.ebi.quickgo.rest.search.solr.StreamingSolrQueryResultConverter;
 
 import com.google.common.base.Preconditions;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.apache.solr.client.solrj.beans.DocumentObjectBinder;
+import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrDocumentList;
 
 /**
- * Turns SolrDocuments into instances of the Annotation DTO.
+ * Turns SolrDocuments into instances of the Annotation DTO. Streamed documents are bound to
+ * {@link AnnotationDocument}s by a {@link SolrDocumentBinder}.
  *
  * @author Tony Wardell
  * Date: 26/04/2016
  * Time: 16:44
  * Created with IntelliJ IDEA.
  */
-class SolrQueryResultConverter extends AbstractSolrQueryResultConverter<Annotation> {
+class SolrQueryResultConverter extends AbstractSolrQueryResultConverter<Annotation>
+        implements StreamingSolrQueryResultConverter<Annotation> {
 
     private final DocumentObjectBinder documentObjectBinder;
     private final AnnotationDocConverter annotationDocConverter;
+    private final SolrDocumentBinder<AnnotationDocument> annotationDocumentBinder;
 
     public SolrQueryResultConverter(DocumentObjectBinder documentObjectBinder,
             AnnotationDocConverter annotationDocConverter,
@@ -37,6 +43,7 @@ class SolrQueryResultConverter extends AbstractSolrQueryResultConverter<Annotati
 
         this.documentObjectBinder = documentObjectBinder;
         this.annotationDocConverter = annotationDocConverter;
+        this.annotationDocumentBinder = new SolrDocumentBinder<>(AnnotationDocument.class, AnnotationDocument::new);
 
         this.setAggregationConverter(new SolrResponseAggregationConverter(annotationRetrievalConfig));
     }
@@ -58,4 +65,8 @@ class SolrQueryResultConverter extends AbstractSolrQueryResultConverter<Annotati
         assert domainObjs.size() == results.size();
         return domainObjs;
     }
+
+    @Override public Annotation convertDocument(SolrDocument document) {
+        return annotationDocConverter.convert(annotationDocumentBinder.bind(document));
+    }
 }
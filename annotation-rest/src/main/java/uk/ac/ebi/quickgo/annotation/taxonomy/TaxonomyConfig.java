@@ -0,0 +1,53 @@
+package uk.ac.ebi.quickgo.annotation.taxonomy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+
+/**
+ * Configures the {@link TaxonomyStore} from which taxon names are resolved locally. The store is read at start up
+ * from the NCBI taxonomy dump files named by the properties {@code taxonomy.store.names} and
+ * {@code taxonomy.store.nodes}; if these are not set, the store is empty, and taxon names are resolved through the
+ * RESTful taxonomy service instead.
+ *
+ * Created 19/10/26
+ */
+@Configuration
+public class TaxonomyConfig {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaxonomyConfig.class);
+
+    @Value("${taxonomy.store.names:}")
+    private Resource namesSource;
+
+    @Value("${taxonomy.store.nodes:}")
+    private Resource nodesSource;
+
+    /**
+     * If the taxonomy could not be read, do not propagate the exception, since this would stop the service from
+     * starting. Instead, return an empty store, so that taxon names are resolved through the RESTful taxonomy service.
+     *
+     * @return the taxonomy store
+     */
+    @Bean
+    public TaxonomyStore taxonomyStore() {
+        if (namesSource == null || nodesSource == null) {
+            LOGGER.info("No local taxonomy configured; taxon names will be resolved through the taxonomy service");
+            return TaxonomyStore.createEmptyStore();
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            TaxonomyStore taxonomyStore = TaxonomyStore.load(namesSource, nodesSource);
+            LOGGER.info("Loaded local taxonomy from {} and {} in {} ms", namesSource.getDescription(),
+                    nodesSource.getDescription(), System.currentTimeMillis() - start);
+            return taxonomyStore;
+        } catch (Exception e) {
+            LOGGER.error("Failed to load local taxonomy from " + namesSource.getDescription() + " and " +
+                    nodesSource.getDescription() + "; taxon names will be resolved through the taxonomy service", e);
+            return TaxonomyStore.createEmptyStore();
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package uk.ac.ebi.quickgo.annotation.taxonomy;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import org.springframework.core.io.Resource;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * <p>Holds the scientific name and parent of every taxon in the NCBI taxonomy, so that taxon names and lineages can
+ * be resolved locally, rather than through a RESTful service.
+ *
+ * <p>The store is read from the {@code names.dmp} and {@code nodes.dmp} files of the NCBI taxonomy dump, which may be
+ * gzipped. So that the few million taxa can be held compactly, both are held in primitive arrays indexed by taxon id:
+ * the parent of each taxon in one array, and the scientific names as UTF-8 bytes in another, with the offset of each
+ * taxon's name in a third.
+ *
+ * Created 19/10/26
+ */
+public class TaxonomyStore {
+    static final String SCIENTIFIC_NAME_CLASS = "scientific name";
+    static final int NO_PARENT = 0;
+
+    private static final Pattern FIELD_SEPARATOR = Pattern.compile("\t\\|\t?");
+    private static final String GZIP_SUFFIX = ".gz";
+    private static final int[] NO_LINEAGE = new int[0];
+    private static final int INITIAL_CAPACITY = 1 << 16;
+
+    private final int[] parentIds;
+    private final int[] nameOffsets;
+    private final byte[] names;
+
+    private TaxonomyStore(int[] parentIds, int[] nameOffsets, byte[] names) {
+        this.parentIds = parentIds;
+        this.nameOffsets = nameOffsets;
+        this.names = names;
+    }
+
+    /**
+     * Creates a store that contains no taxa, for use when no taxonomy is configured, or it could not be read.
+     *
+     * @return an empty store
+     */
+    public static TaxonomyStore createEmptyStore() {
+        return new TaxonomyStore(new int[0], new int[1], new byte[0]);
+    }
+
+    /**
+     * Reads a store from the NCBI taxonomy dump files.
+     *
+     * @param namesSource the {@code names.dmp} file, from which the scientific name of each taxon is read
+     * @param nodesSource the {@code nodes.dmp} file, from which the parent of each taxon is read
+     * @return the store
+     * @throws IOException if either file could not be read, or is invalid
+     */
+    public static TaxonomyStore load(Resource namesSource, Resource nodesSource) throws IOException {
+        checkArgument(namesSource != null, "Resource namesSource is null.");
+        checkArgument(nodesSource != null, "Resource nodesSource is null.");
+        checkState(namesSource.exists(), "Resource namesSource does not exist.");
+        checkState(nodesSource.exists(), "Resource nodesSource does not exist.");
+
+        int[] parentIds = readParentIds(nodesSource);
+        byte[][] scientificNames = readScientificNames(namesSource, parentIds.length);
+        return new TaxonomyStore(parentIds, nameOffsets(scientificNames), nameBytes(scientificNames));
+    }
+
+    /**
+     * @param taxonId the id of a taxon
+     * @return the scientific name of the taxon, or null if it is not in this store
+     */
+    public String scientificNameOf(int taxonId) {
+        if (taxonId < 0 || taxonId >= nameOffsets.length - 1) {
+            return null;
+        }
+
+        int start = nameOffsets[taxonId];
+        int end = nameOffsets[taxonId + 1];
+        return start == end ? null : new String(names, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param taxonId the id of a taxon
+     * @return the id of the taxon's parent, or {@value #NO_PARENT} if the taxon is the root of the taxonomy, or is
+     * not in this store
+     */
+    public int parentOf(int taxonId) {
+        if (taxonId <= 0 || taxonId >= parentIds.length || parentIds[taxonId] == taxonId) {
+            return NO_PARENT;
+        }
+        return parentIds[taxonId];
+    }
+
+    /**
+     * Finds the lineage of a taxon, i.e., the taxon and its ancestors up to the root of the taxonomy.
+     *
+     * @param taxonId the id of a taxon
+     * @return the ids of the taxon and each of its ancestors, nearest first, or an empty array if the taxon is not in
+     * this store
+     */
+    public int[] lineageOf(int taxonId) {
+        if (!contains(taxonId)) {
+            return NO_LINEAGE;
+        }
+
+        int[] lineage = new int[16];
+        int length = 0;
+        for (int id = taxonId; id != NO_PARENT && length <= parentIds.length; id = parentOf(id)) {
+            if (length == lineage.length) {
+                lineage = Arrays.copyOf(lineage, length * 2);
+            }
+            lineage[length++] = id;
+        }
+        return Arrays.copyOf(lineage, length);
+    }
+
+    /**
+     * @param taxonId the id of a taxon
+     * @return true if the taxon is in this store, otherwise false
+     */
+    public boolean contains(int taxonId) {
+        return taxonId > 0 && taxonId < parentIds.length && parentIds[taxonId] != NO_PARENT;
+    }
+
+    /**
+     * @return true if this store contains no taxa, otherwise false
+     */
+    public boolean isEmpty() {
+        return parentIds.length == 0;
+    }
+
+    private static int[] readParentIds(Resource nodesSource) throws IOException {
+        int[] parentIds = new int[INITIAL_CAPACITY];
+        int maxTaxonId = 0;
+        try (BufferedReader reader = reader(nodesSource)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isEmpty()) {
+                    continue;
+                }
+
+                String[] fields = fields(nodesSource, line, lineNumber, 2);
+                int taxonId = taxonId(nodesSource, fields[0], lineNumber);
+                if (taxonId >= parentIds.length) {
+                    parentIds = Arrays.copyOf(parentIds, newCapacity(parentIds.length, taxonId));
+                }
+                parentIds[taxonId] = taxonId(nodesSource, fields[1], lineNumber);
+                maxTaxonId = Math.max(maxTaxonId, taxonId);
+            }
+        }
+        return maxTaxonId == 0 ? new int[0] : Arrays.copyOf(parentIds, maxTaxonId + 1);
+    }
+
+    /**
+     * Reads the scientific names, as UTF-8 bytes, of the taxa whose ids are less than the specified size, i.e., of
+     * those that are nodes of the taxonomy.
+     */
+    private static byte[][] readScientificNames(Resource namesSource, int size) throws IOException {
+        byte[][] scientificNames = new byte[size][];
+        try (BufferedReader reader = reader(namesSource)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isEmpty()) {
+                    continue;
+                }
+
+                String[] fields = fields(namesSource, line, lineNumber, 4);
+                if (SCIENTIFIC_NAME_CLASS.equals(fields[3])) {
+                    int taxonId = taxonId(namesSource, fields[0], lineNumber);
+                    if (taxonId < size) {
+                        scientificNames[taxonId] = fields[1].getBytes(StandardCharsets.UTF_8);
+                    }
+                }
+            }
+        }
+        return scientificNames;
+    }
+
+    private static int[] nameOffsets(byte[][] scientificNames) {
+        int[] offsets = new int[scientificNames.length + 1];
+        int offset = 0;
+        for (int taxonId = 0; taxonId < scientificNames.length; taxonId++) {
+            offsets[taxonId] = offset;
+            if (scientificNames[taxonId] != null) {
+                offset += scientificNames[taxonId].length;
+            }
+        }
+        offsets[scientificNames.length] = offset;
+        return offsets;
+    }
+
+    private static byte[] nameBytes(byte[][] scientificNames) {
+        int length = 0;
+        for (byte[] name : scientificNames) {
+            length += name == null ? 0 : name.length;
+        }
+
+        byte[] names = new byte[length];
+        int offset = 0;
+        for (byte[] name : scientificNames) {
+            if (name != null) {
+                System.arraycopy(name, 0, names, offset, name.length);
+                offset += name.length;
+            }
+        }
+        return names;
+    }
+
+    private static BufferedReader reader(Resource source) throws IOException {
+        InputStream inputStream = source.getInputStream();
+        String filename = source.getFilename();
+        if (filename != null && filename.endsWith(GZIP_SUFFIX)) {
+            inputStream = new GZIPInputStream(inputStream);
+        }
+        return new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    }
+
+    private static String[] fields(Resource source, String line, int lineNumber, int requiredFields)
+            throws IOException {
+        String[] fields = FIELD_SEPARATOR.split(line, requiredFields + 1);
+        if (fields.length < requiredFields) {
+            throw new IOException("Invalid taxonomy entry at line " + lineNumber + " of " + source.getDescription() +
+                    ": " + line);
+        }
+        return fields;
+    }
+
+    private static int taxonId(Resource source, String field, int lineNumber) throws IOException {
+        try {
+            int taxonId = Integer.parseInt(field.trim());
+            if (taxonId > 0) {
+                return taxonId;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new IOException("Invalid taxon id at line " + lineNumber + " of " + source.getDescription() + ": " +
+                field);
+    }
+
+    private static int newCapacity(int capacity, int index) {
+        int newCapacity = capacity;
+        while (newCapacity <= index) {
+            newCapacity *= 2;
+        }
+        return newCapacity;
+    }
+}
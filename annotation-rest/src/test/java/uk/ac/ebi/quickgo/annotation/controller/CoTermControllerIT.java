@@ -167,10 +167,10 @@ public class CoTermControllerIT {
                 .andExpect(jsonPath("$.results[0].target").value(GO_0000001))
                 .andExpect(jsonPath("$.results[0].comparedTerm").value(GO_0000001))
                 .andExpect(jsonPath("$.results[0].probabilityRatio").value(16526.18))
-                .andExpect(jsonPath("$.results[1].comparedTerm").value("GO:0034643"))
-                .andExpect(jsonPath("$.results[1].probabilityRatio").value(16446.73))
-                .andExpect(jsonPath("$.results[2].comparedTerm").value("GO:0090149"))
-                .andExpect(jsonPath("$.results[2].probabilityRatio").value(12394.64))
+                .andExpect(jsonPath("$.results[1].comparedTerm").value("GO:0007005"))
+                .andExpect(jsonPath("$.results[1].probabilityRatio").value(2179.98))
+                .andExpect(jsonPath("$.results[2].comparedTerm").value("GO:0045861"))
+                .andExpect(jsonPath("$.results[2].probabilityRatio").value(6429.98))
                 .andExpect(status().isOk());
     }
 
@@ -249,6 +249,24 @@ public class CoTermControllerIT {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    public void coTermsOfHighestSimilarityAtOrAboveThresholdAreRetrievedUpToLimit() throws Exception {
+        ResultActions response = mockMvc.perform(get(buildPathToResource(GO_0000001, "similarityThreshold=7.1",
+                "limit=5")));
+        expectFieldsInResults(response, Collections.singletonList(GO_0000001))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(jsonPath("$.results.*", hasSize(5)))
+                .andExpect(jsonPath("$.results[4].comparedTerm").value("GO:0090149"))
+                .andExpect(jsonPath("$.numberOfHits", is(equalTo(12))))
+                .andExpect(status().isOk());
+
+        response = mockMvc.perform(get(buildPathToResource(GO_0000001, "similarityThreshold=7.1", "limit=ALL")));
+        response.andExpect(jsonPath("$.results.*", hasSize(6)))
+                .andExpect(jsonPath("$.results[5].comparedTerm").value("GO:1990456"))
+                .andExpect(jsonPath("$.results[5].similarityRatio").value(7.1))
+                .andExpect(status().isOk());
+    }
+
     @Test
     public void returnsAllCoTermsWhenSimilarityNotFilledIn() throws Exception {
         ResultActions response = mockMvc.perform(get(buildPathToResource(GO_0000001, "similarityThreshold=")));
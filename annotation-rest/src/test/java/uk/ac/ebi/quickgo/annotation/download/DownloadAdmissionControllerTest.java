@@ -0,0 +1,350 @@
+package uk.ac.ebi.quickgo.annotation.download;
+
+import uk.ac.ebi.quickgo.rest.TooManyRequestsException;
+import uk.ac.ebi.quickgo.rest.metrics.HotPathMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.servlet.http.HttpServletRequest;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the behaviour of the {@link DownloadAdmissionController}.
+ *
+ * Created 19/10/26
+ */
+public class DownloadAdmissionControllerTest {
+    private static final String CLIENT = "client";
+    private static final String OTHER_CLIENT = "otherClient";
+    private static final int MAX_RETRY_AFTER_SECONDS = 100;
+
+    private List<Runnable> executorTasks;
+    private List<String> completedDownloads;
+    private List<TooManyRequestsException> rejections;
+    private DownloadAdmissionProperties properties;
+
+    @Before
+    public void setUp() {
+        executorTasks = new ArrayList<>();
+        completedDownloads = new ArrayList<>();
+        rejections = new ArrayList<>();
+
+        properties = new DownloadAdmissionProperties();
+        properties.setMaxActive(1);
+        properties.setMaxQueued(2);
+        properties.setMaxPerClient(2);
+        properties.setInitialDurationSeconds(10);
+        properties.setMaxRetryAfterSeconds(MAX_RETRY_AFTER_SECONDS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullTaskExecutorThrowsException() {
+        new DownloadAdmissionController(null, properties);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullPropertiesThrowsException() {
+        new DownloadAdmissionController(executorTasks::add, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroMaxActiveThrowsException() {
+        properties.setMaxActive(0);
+        new DownloadAdmissionController(executorTasks::add, properties);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeEstimatedRowsThrowsException() {
+        controller().submit(CLIENT, -1, () -> {}, rejections::add);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullRejectionCallbackThrowsException() {
+        controller().submit(CLIENT, 10, download("first"), null);
+    }
+
+    @Test
+    public void downloadRunsImmediatelyWhenBelowMaxActive() {
+        DownloadAdmissionController controller = controller();
+
+        controller.submit(CLIENT, 10, download("first"), rejections::add);
+
+        assertThat(executorTasks.size(), is(1));
+        assertThat(controller.active(), is(1));
+        assertThat(controller.queued(), is(0));
+    }
+
+    @Test
+    public void downloadIsQueuedWhenAtMaxActive() {
+        DownloadAdmissionController controller = controller();
+
+        controller.submit(CLIENT, 10, download("first"), rejections::add);
+        controller.submit(OTHER_CLIENT, 10, download("second"), rejections::add);
+
+        assertThat(executorTasks.size(), is(1));
+        assertThat(controller.queued(), is(1));
+    }
+
+    @Test
+    public void queuedDownloadRunsWhenActiveDownloadFinishes() {
+        DownloadAdmissionController controller = controller();
+        controller.submit(CLIENT, 10, download("first"), rejections::add);
+        controller.submit(OTHER_CLIENT, 10, download("second"), rejections::add);
+
+        runNextTask();
+        runNextTask();
+
+        assertThat(completedDownloads, contains("first", "second"));
+        assertThat(controller.active(), is(0));
+        assertThat(controller.queued(), is(0));
+    }
+
+    @Test
+    public void smallerQueuedDownloadRunsBeforeLargerQueuedDownload() {
+        properties.setDelayMillisPerThousandRows(1000);
+        DownloadAdmissionController controller = controller();
+        controller.submit(CLIENT, 10, download("running"), rejections::add);
+        controller.submit(CLIENT, 50_000, download("large"), rejections::add);
+        controller.submit(OTHER_CLIENT, 10, download("small"), rejections::add);
+
+        runNextTask();
+        runNextTask();
+        runNextTask();
+
+        assertThat(completedDownloads, contains("running", "small", "large"));
+    }
+
+    @Test
+    public void queuedDownloadsOfSameSizeRunInArrivalOrder() {
+        DownloadAdmissionController controller = controller();
+        controller.submit(CLIENT, 10, download("running"), rejections::add);
+        controller.submit(CLIENT, 10, download("first"), rejections::add);
+        controller.submit(OTHER_CLIENT, 10, download("second"), rejections::add);
+
+        runNextTask();
+        runNextTask();
+        runNextTask();
+
+        assertThat(completedDownloads, contains("running", "first", "second"));
+    }
+
+    @Test
+    public void clientWithMaxDownloadsInProgressIsRejected() {
+        properties.setMaxQueued(10);
+        DownloadAdmissionController controller = controller();
+        controller.submit(CLIENT, 10, download("first"), rejections::add);
+        controller.submit(CLIENT, 10, download("second"), rejections::add);
+
+        TooManyRequestsException rejection = rejectionOf(controller, CLIENT);
+
+        assertThat(rejection.getRetryAfterSeconds(), is(10L));
+        assertThat(controller.queued(), is(1));
+    }
+
+    @Test
+    public void checkOfClientWithMaxDownloadsInProgressIsRejected() {
+        DownloadAdmissionController controller = controller();
+        controller.submit(CLIENT, 10, download("first"), rejections::add);
+        controller.submit(CLIENT, 10, download("second"), rejections::add);
+
+        try {
+            controller.checkClient(CLIENT);
+            fail("Expected the client to be rejected");
+        } catch (TooManyRequestsException e) {
+            assertThat(e.getRetryAfterSeconds(), is(10L));
+        }
+    }
+
+    @Test
+    public void checkOfClientBelowMaxDownloadsAdmitsNothing() {
+        DownloadAdmissionController controller = controller();
+        controller.submit(CLIENT, 10, download("first"), rejections::add);
+
+        controller.checkClient(CLIENT);
+        controller.checkClient(OTHER_CLIENT);
+
+        assertThat(controller.active(), is(1));
+        assertThat(controller.queued(), is(0));
+    }
+
+    @Test
+    public void otherClientIsAdmittedWhenOneClientHasMaxDownloadsInProgress() {
+        properties.setMaxQueued(10);
+        DownloadAdmissionController controller = controller();
+        controller.submit(CLIENT, 10, download("first"), rejections::add);
+        controller.submit(CLIENT, 10, download("second"), rejections::add);
+
+        controller.submit(OTHER_CLIENT, 10, download("third"), rejections::add);
+
+        assertThat(controller.queued(), is(2));
+    }
+
+    @Test
+    public void clientIsAdmittedAgainWhenItsDownloadFinishes() {
+        DownloadAdmissionController controller = controller();
+        controller.submit(CLIENT, 10, download("first"), rejections::add);
+        controller.submit(CLIENT, 10, download("second"), rejections::add);
+
+        runNextTask();
+        controller.submit(CLIENT, 10, download("third"), rejections::add);
+
+        assertThat(controller.queued(), is(1));
+    }
+
+    @Test
+    public void downloadIsRejectedWhenQueueIsFull() {
+        DownloadAdmissionController controller = controller();
+        controller.submit("a", 10, download("running"), rejections::add);
+        controller.submit("b", 10, download("first queued"), rejections::add);
+        controller.submit("c", 10, download("second queued"), rejections::add);
+
+        TooManyRequestsException rejection = rejectionOf(controller, "d");
+
+        assertThat(rejection.getRetryAfterSeconds(), is(30L));
+        assertThat(controller.queued(), is(2));
+    }
+
+    @Test
+    public void retryAfterIsAtMostTheMaximum() {
+        properties.setInitialDurationSeconds(MAX_RETRY_AFTER_SECONDS * 10);
+        properties.setMaxQueued(0);
+        DownloadAdmissionController controller = controller();
+        controller.submit(CLIENT, 10, download("running"), rejections::add);
+
+        assertThat(rejectionOf(controller, OTHER_CLIENT).getRetryAfterSeconds(),
+                is((long) MAX_RETRY_AFTER_SECONDS));
+    }
+
+    @Test
+    public void retryAfterIsAtLeastOneSecond() {
+        properties.setMaxQueued(0);
+        DownloadAdmissionController controller = controller();
+        controller.submit(CLIENT, 10, download("first"), rejections::add);
+        runNextTask();
+        for (int i = 0; i < 50; i++) {
+            controller.submit(CLIENT, 10, download("quick"), rejections::add);
+            runNextTask();
+        }
+        controller.submit(CLIENT, 10, download("running"), rejections::add);
+
+        long retryAfterSeconds = rejectionOf(controller, OTHER_CLIENT).getRetryAfterSeconds();
+
+        assertThat(retryAfterSeconds, is(greaterThanOrEqualTo(1L)));
+        assertThat(retryAfterSeconds, is(lessThanOrEqualTo(2L)));
+    }
+
+    @Test
+    public void downloadRejectedByExecutorIsRejectedAndReleased() {
+        TaskExecutor rejectingExecutor = task -> {
+            throw new TaskRejectedException("full");
+        };
+        DownloadAdmissionController controller = new DownloadAdmissionController(rejectingExecutor, properties);
+
+        rejectionOf(controller, CLIENT);
+
+        assertThat(controller.active(), is(0));
+        rejectionOf(controller, CLIENT);
+    }
+
+    @Test
+    public void queuedDownloadRejectedByExecutorIsRejectedThroughItsCallback() {
+        boolean[] executorFull = {false};
+        TaskExecutor fillingExecutor = task -> {
+            if (executorFull[0]) {
+                throw new TaskRejectedException("full");
+            }
+            executorTasks.add(task);
+        };
+        DownloadAdmissionController controller = new DownloadAdmissionController(fillingExecutor, properties);
+        controller.submit(CLIENT, 10, download("running"), rejections::add);
+        controller.submit(OTHER_CLIENT, 10, download("queued"), rejections::add);
+        executorFull[0] = true;
+
+        runNextTask();
+
+        assertThat(rejections.size(), is(1));
+        assertThat(completedDownloads, contains("running"));
+        assertThat(controller.active(), is(0));
+        assertThat(controller.queued(), is(0));
+    }
+
+    @Test
+    public void failedDownloadIsReleased() {
+        DownloadAdmissionController controller = controller();
+        controller.submit(CLIENT, 10, () -> {
+            throw new IllegalStateException("failed");
+        }, rejections::add);
+
+        try {
+            runNextTask();
+            fail("Expected the download to fail");
+        } catch (IllegalStateException e) {
+            assertThat(controller.active(), is(0));
+        }
+    }
+
+    @Test
+    public void queueWaitIsRecorded() {
+        long waits = HotPathMetrics.registry().timer("quickgo.stage." + DownloadAdmissionController.QUEUE_STAGE)
+                .getCount();
+        DownloadAdmissionController controller = controller();
+        controller.submit(CLIENT, 10, download("first"), rejections::add);
+
+        runNextTask();
+
+        assertThat(HotPathMetrics.registry().timer("quickgo.stage." + DownloadAdmissionController.QUEUE_STAGE)
+                .getCount(), is(waits + 1));
+    }
+
+    @Test
+    public void clientIsIdentifiedByHeaderWhenPresent() {
+        properties.setClientHeader("X-Client");
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getHeader("X-Client")).thenReturn(" token ");
+        when(request.getRemoteAddr()).thenReturn("127.0.0.1");
+
+        assertThat(controller().clientOf(request), is("token"));
+    }
+
+    @Test
+    public void clientIsIdentifiedByRemoteAddressWhenHeaderAbsent() {
+        properties.setClientHeader("X-Client");
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getRemoteAddr()).thenReturn("127.0.0.1");
+
+        assertThat(controller().clientOf(request), is("127.0.0.1"));
+    }
+
+    private DownloadAdmissionController controller() {
+        return new DownloadAdmissionController(executorTasks::add, properties);
+    }
+
+    private Runnable download(String name) {
+        return () -> completedDownloads.add(name);
+    }
+
+    private void runNextTask() {
+        executorTasks.remove(0).run();
+    }
+
+    private TooManyRequestsException rejectionOf(DownloadAdmissionController controller, String client) {
+        try {
+            controller.submit(client, 10, download("rejected"), rejections::add);
+        } catch (TooManyRequestsException e) {
+            return e;
+        }
+        throw new AssertionError("Expected the download to be rejected");
+    }
+}
@@ -0,0 +1,89 @@
+package uk.ac.ebi.quickgo.annotation.download.job;
+
+import java.util.Optional;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Tests the behaviour of the {@link ByteRange} class.
+ *
+ * Created 19/10/26
+ */
+public class ByteRangeTest {
+    private static final long LENGTH = 1000;
+
+    @Test
+    public void absentHeaderIsWholeFile() {
+        assertThat(ByteRange.parse(null, LENGTH).isPresent(), is(false));
+    }
+
+    @Test
+    public void boundedRangeIsParsed() {
+        ByteRange range = parse("bytes=0-499");
+
+        assertThat(range.getFirst(), is(0L));
+        assertThat(range.getLast(), is(499L));
+        assertThat(range.getLength(), is(500L));
+        assertThat(range.toContentRange(LENGTH), is("bytes 0-499/1000"));
+    }
+
+    @Test
+    public void openRangeEndsAtEndOfFile() {
+        ByteRange range = parse("bytes=900-");
+
+        assertThat(range.getFirst(), is(900L));
+        assertThat(range.getLast(), is(999L));
+    }
+
+    @Test
+    public void suffixRangeIsLastBytesOfFile() {
+        ByteRange range = parse("bytes=-100");
+
+        assertThat(range.getFirst(), is(900L));
+        assertThat(range.getLast(), is(999L));
+    }
+
+    @Test
+    public void suffixRangeLongerThanFileIsWholeFile() {
+        ByteRange range = parse("bytes=-5000");
+
+        assertThat(range.getFirst(), is(0L));
+        assertThat(range.getLast(), is(999L));
+    }
+
+    @Test
+    public void rangeBeyondEndOfFileIsTruncated() {
+        assertThat(parse("bytes=500-5000").getLast(), is(999L));
+    }
+
+    @Test
+    public void rangeStartingAfterEndOfFileIsNotSatisfiable() {
+        assertThat(parse("bytes=1000-").isSatisfiable(), is(false));
+    }
+
+    @Test
+    public void rangeWithinFileIsSatisfiable() {
+        assertThat(parse("bytes=999-").isSatisfiable(), is(true));
+    }
+
+    @Test
+    public void multipleRangesAreIgnored() {
+        assertThat(ByteRange.parse("bytes=0-1,5-6", LENGTH).isPresent(), is(false));
+    }
+
+    @Test
+    public void malformedRangesAreIgnored() {
+        assertThat(ByteRange.parse("bytes=-", LENGTH).isPresent(), is(false));
+        assertThat(ByteRange.parse("bytes=5-1", LENGTH).isPresent(), is(false));
+        assertThat(ByteRange.parse("items=0-1", LENGTH).isPresent(), is(false));
+        assertThat(ByteRange.parse("bytes=99999999999999999999-", LENGTH).isPresent(), is(false));
+    }
+
+    private static ByteRange parse(String header) {
+        Optional<ByteRange> range = ByteRange.parse(header, LENGTH);
+        assertThat(range.isPresent(), is(true));
+        return range.get();
+    }
+}
@@ -0,0 +1,414 @@
+package uk.ac.ebi.quickgo.annotation.download.job;
+
+import uk.ac.ebi.quickgo.annotation.download.header.HeaderContent;
+import uk.ac.ebi.quickgo.annotation.download.header.HeaderCreator;
+import uk.ac.ebi.quickgo.annotation.download.header.HeaderCreatorFactory;
+import uk.ac.ebi.quickgo.annotation.model.Annotation;
+import uk.ac.ebi.quickgo.rest.TooManyRequestsException;
+import uk.ac.ebi.quickgo.rest.search.results.PageInfo;
+import uk.ac.ebi.quickgo.rest.search.results.QueryResult;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.http.MediaType;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.fail;
+import static uk.ac.ebi.quickgo.annotation.download.job.DownloadJob.State.COMPLETED;
+import static uk.ac.ebi.quickgo.annotation.download.job.DownloadJob.State.FAILED;
+import static uk.ac.ebi.quickgo.annotation.download.job.DownloadJob.State.INTERRUPTED;
+import static uk.ac.ebi.quickgo.annotation.download.job.DownloadJob.State.QUEUED;
+
+/**
+ * Tests the behaviour of the {@link DownloadJobService}.
+ *
+ * Created 19/10/26
+ */
+public class DownloadJobServiceTest {
+    private static final String FORMAT = "tsv";
+    private static final String HEADER = "HEADER";
+    private static final int PAGE_SIZE = 2;
+    private static final int TOTAL_ANNOTATIONS = 5;
+    private static final int MAX_ATTEMPTS = 2;
+    private static final Duration RETENTION = Duration.ofHours(24);
+    private static final Instant NOW = Instant.parse("2026-10-19T12:00:00Z");
+
+    @Rule
+    public TemporaryFolder spoolFolder = new TemporaryFolder();
+
+    private Path spoolDirectory;
+    private CapturingExecutor workers;
+    private FakePageSource pageSource;
+    private String release;
+
+    @Before
+    public void setUp() {
+        spoolDirectory = spoolFolder.getRoot().toPath();
+        workers = new CapturingExecutor();
+        pageSource = new FakePageSource();
+        release = "2026-10-01";
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unsupportedFormatThrowsException() {
+        service(NOW).submit(new DownloadJobRequest("key", "xml", TOTAL_ANNOTATIONS, headerContent(),
+                Collections.emptyList(), pageSource));
+    }
+
+    @Test
+    public void submittedJobIsQueued() {
+        DownloadJob job = service(NOW).submit(request("key"));
+
+        assertThat(job.getState(), is(QUEUED));
+        assertThat(workers.tasks.size(), is(1));
+    }
+
+    @Test
+    public void completedJobHasWrittenHeaderAndAllAnnotations() throws IOException {
+        DownloadJobService service = service(NOW);
+        DownloadJob job = service.submit(request("key"));
+
+        workers.runAll();
+
+        DownloadJob completed = service.find(job.getId()).orElseThrow(AssertionError::new);
+        assertThat(completed.getState(), is(COMPLETED));
+        assertThat(completed.getAnnotations(), is((long) TOTAL_ANNOTATIONS));
+        assertThat(linesOf(service.spoolFile(completed)), is(expectedLines(TOTAL_ANNOTATIONS)));
+    }
+
+    @Test
+    public void identicalRequestSharesJob() {
+        DownloadJobService service = service(NOW);
+        DownloadJob first = service.submit(request("key"));
+
+        DownloadJob second = service.submit(request("key"));
+
+        assertThat(second.getId(), is(first.getId()));
+        assertThat(workers.tasks.size(), is(1));
+    }
+
+    @Test
+    public void identicalRequestOfCompletedJobSharesJob() {
+        DownloadJobService service = service(NOW);
+        service.submit(request("key"));
+        workers.runAll();
+
+        DownloadJob job = service.submit(request("key"));
+
+        assertThat(job.getState(), is(COMPLETED));
+        assertThat(workers.tasks.size(), is(0));
+    }
+
+    @Test
+    public void differentRequestCreatesNewJob() {
+        DownloadJobService service = service(NOW);
+        DownloadJob first = service.submit(request("key"));
+
+        DownloadJob second = service.submit(request("otherKey"));
+
+        assertThat(second.getId(), is(not(first.getId())));
+    }
+
+    @Test
+    public void identicalRequestOfNewReleaseCreatesNewJob() {
+        DownloadJobService service = service(NOW);
+        DownloadJob first = service.submit(request("key"));
+
+        release = "2026-11-01";
+        DownloadJob second = service.submit(request("key"));
+
+        assertThat(second.getId(), is(not(first.getId())));
+    }
+
+    @Test
+    public void failedPageIsResumedFromLastCheckpoint() throws IOException {
+        pageSource.failures = 1;
+        pageSource.failAtAnnotation = PAGE_SIZE;
+        DownloadJobService service = service(NOW);
+        DownloadJob job = service.submit(request("key"));
+
+        workers.runAll();
+
+        DownloadJob completed = service.find(job.getId()).orElseThrow(AssertionError::new);
+        assertThat(completed.getState(), is(COMPLETED));
+        assertThat(pageSource.cursors, contains(null, String.valueOf(PAGE_SIZE)));
+        assertThat(linesOf(service.spoolFile(completed)), is(expectedLines(TOTAL_ANNOTATIONS)));
+    }
+
+    @Test
+    public void jobFailingEveryAttemptIsFailed() {
+        pageSource.failures = MAX_ATTEMPTS;
+        pageSource.failAtAnnotation = PAGE_SIZE;
+        DownloadJobService service = service(NOW);
+        DownloadJob job = service.submit(request("key"));
+
+        workers.runAll();
+
+        DownloadJob failed = service.find(job.getId()).orElseThrow(AssertionError::new);
+        assertThat(failed.getState(), is(FAILED));
+        assertThat(failed.getAnnotations(), is((long) PAGE_SIZE));
+    }
+
+    @Test
+    public void resubmittingFailedJobResumesIt() throws IOException {
+        pageSource.failures = MAX_ATTEMPTS;
+        pageSource.failAtAnnotation = PAGE_SIZE;
+        DownloadJobService service = service(NOW);
+        service.submit(request("key"));
+        workers.runAll();
+
+        DownloadJob resumed = service.submit(request("key"));
+        workers.runAll();
+
+        DownloadJob completed = service.find(resumed.getId()).orElseThrow(AssertionError::new);
+        assertThat(resumed.getState(), is(QUEUED));
+        assertThat(completed.getState(), is(COMPLETED));
+        assertThat(linesOf(service.spoolFile(completed)), is(expectedLines(TOTAL_ANNOTATIONS)));
+    }
+
+    @Test
+    public void jobWhoseCursorCannotBeResumedIsRestarted() throws IOException {
+        pageSource.failures = 1;
+        pageSource.failAtAnnotation = PAGE_SIZE;
+        pageSource.cursorsExpire = true;
+        DownloadJobService service = service(NOW);
+        DownloadJob job = service.submit(request("key"));
+
+        workers.runAll();
+
+        DownloadJob completed = service.find(job.getId()).orElseThrow(AssertionError::new);
+        assertThat(completed.getState(), is(COMPLETED));
+        assertThat(linesOf(service.spoolFile(completed)), is(expectedLines(TOTAL_ANNOTATIONS)));
+    }
+
+    @Test
+    public void jobInProgressWhenServiceRestartsIsInterrupted() {
+        DownloadJob job = service(NOW).submit(request("key"));
+
+        DownloadJobService restarted = service(NOW);
+
+        assertThat(restarted.find(job.getId()).map(DownloadJob::getState).orElse(null), is(INTERRUPTED));
+    }
+
+    @Test
+    public void resubmittingInterruptedJobResumesIt() throws IOException {
+        DownloadJob job = service(NOW).submit(request("key"));
+        workers.tasks.clear();
+        DownloadJobService restarted = service(NOW);
+
+        restarted.submit(request("key"));
+        workers.runAll();
+
+        DownloadJob completed = restarted.find(job.getId()).orElseThrow(AssertionError::new);
+        assertThat(completed.getState(), is(COMPLETED));
+        assertThat(linesOf(restarted.spoolFile(completed)), is(expectedLines(TOTAL_ANNOTATIONS)));
+    }
+
+    @Test
+    public void rejectedJobThrowsTooManyRequestsException() {
+        workers.rejecting = true;
+        DownloadJobService service = service(NOW);
+
+        try {
+            service.submit(request("key"));
+            fail("Expected the job to be rejected");
+        } catch (TooManyRequestsException e) {
+            assertThat(workers.tasks.size(), is(0));
+        }
+
+        workers.rejecting = false;
+        assertThat(service.submit(request("key")).getState(), is(QUEUED));
+    }
+
+    @Test
+    public void jobFinishedLongerAgoThanRetentionIsRemoved() {
+        DownloadJobService service = service(NOW);
+        DownloadJob job = service.submit(request("key"));
+        workers.runAll();
+        Path spoolFile = service.spoolFile(job);
+
+        DownloadJobService later = service(NOW.plus(RETENTION).plusSeconds(1));
+        later.removeExpired();
+
+        assertThat(later.find(job.getId()).isPresent(), is(false));
+        assertThat(Files.exists(spoolFile), is(false));
+    }
+
+    @Test
+    public void jobFinishedWithinRetentionIsKept() {
+        DownloadJobService service = service(NOW);
+        DownloadJob job = service.submit(request("key"));
+        workers.runAll();
+
+        DownloadJobService later = service(NOW.plus(RETENTION).minusSeconds(1));
+        later.removeExpired();
+
+        assertThat(later.find(job.getId()).isPresent(), is(true));
+    }
+
+    @Test
+    public void invalidIdIsNotFound() {
+        assertThat(service(NOW).find("../secret").isPresent(), is(false));
+    }
+
+    private DownloadJobService service(Instant now) {
+        Map<String, HeaderCreator> headerCreators = new HashMap<>();
+        headerCreators.put(FORMAT, (emitter, content) -> {
+            try {
+                emitter.send(HEADER + "\n", MediaType.TEXT_PLAIN);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        Map<String, BiFunction<Annotation, List<String>, List<String>>> converters = new HashMap<>();
+        converters.put(FORMAT, (annotation, selectedFields) -> Collections.singletonList(annotation.id));
+
+        return new DownloadJobService(spoolDirectory, workers, new HeaderCreatorFactory(headerCreators), converters,
+                () -> release, MAX_ATTEMPTS, RETENTION, Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private DownloadJobRequest request(String key) {
+        return new DownloadJobRequest(key, FORMAT, TOTAL_ANNOTATIONS, headerContent(), Collections.emptyList(),
+                pageSource);
+    }
+
+    private static HeaderContent headerContent() {
+        return new HeaderContent.Builder().setUri("uri").setDate("date").build();
+    }
+
+    private static List<String> expectedLines(int annotations) {
+        List<String> lines = new ArrayList<>();
+        lines.add(HEADER);
+        IntStream.range(0, annotations).mapToObj(DownloadJobServiceTest::annotationId).forEach(lines::add);
+        return lines;
+    }
+
+    private static String annotationId(int index) {
+        return "annotation" + index;
+    }
+
+    private static List<String> linesOf(Path spoolFile) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(spoolFile))) {
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1024];
+            for (int read; (read = in.read(buffer)) != -1; ) {
+                content.write(buffer, 0, read);
+            }
+            return Stream.of(new String(content.toByteArray(), StandardCharsets.UTF_8).split("\n")).collect(toList());
+        }
+    }
+
+    /**
+     * Pages through {@link #TOTAL_ANNOTATIONS} annotations, whose cursors are the index of the next annotation, and
+     * can fail at a given annotation a given number of times.
+     */
+    private static class FakePageSource implements DownloadJobRequest.PageSource {
+        private final List<String> cursors = new ArrayList<>();
+        private int failures;
+        private int failAtAnnotation;
+        private boolean cursorsExpire;
+
+        @Override public Stream<QueryResult<Annotation>> pagesFrom(String cursor, int limit) {
+            cursors.add(cursor);
+            if (cursorsExpire && cursor != null) {
+                throw new IllegalStateException("Cursor has expired: " + cursor);
+            }
+
+            int first = cursor == null ? 0 : Integer.parseInt(cursor);
+            int end = Math.min(TOTAL_ANNOTATIONS, first + limit);
+            return IntStream.iterate(first, start -> start + PAGE_SIZE)
+                    .limit((end - first + PAGE_SIZE - 1) / PAGE_SIZE)
+                    .mapToObj(start -> page(start, Math.min(end, start + PAGE_SIZE)));
+        }
+
+        private QueryResult<Annotation> page(int start, int end) {
+            if (start == failAtAnnotation && failures > 0) {
+                failures--;
+                throw new IllegalStateException("Page failed at annotation: " + start);
+            }
+
+            List<Annotation> annotations = IntStream.range(start, end)
+                    .mapToObj(index -> {
+                        Annotation annotation = new Annotation();
+                        annotation.id = annotationId(index);
+                        return annotation;
+                    })
+                    .collect(toList());
+            return new QueryResult.Builder<>(TOTAL_ANNOTATIONS, annotations)
+                    .withPageInfo(new PageInfo.Builder().withNextCursor(String.valueOf(end)).build())
+                    .build();
+        }
+    }
+
+    /**
+     * Captures the jobs submitted to it, to run them when a test chooses, or rejects them.
+     */
+    private static class CapturingExecutor extends AbstractExecutorService {
+        private final List<Runnable> tasks = new ArrayList<>();
+        private boolean rejecting;
+
+        void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.remove(0).run();
+            }
+        }
+
+        @Override public void execute(Runnable task) {
+            if (rejecting) {
+                throw new RejectedExecutionException("Queue is full");
+            }
+            tasks.add(task);
+        }
+
+        @Override public void shutdown() {
+            tasks.clear();
+        }
+
+        @Override public List<Runnable> shutdownNow() {
+            List<Runnable> remaining = new ArrayList<>(tasks);
+            tasks.clear();
+            return remaining;
+        }
+
+        @Override public boolean isShutdown() {
+            return false;
+        }
+
+        @Override public boolean isTerminated() {
+            return false;
+        }
+
+        @Override public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+}
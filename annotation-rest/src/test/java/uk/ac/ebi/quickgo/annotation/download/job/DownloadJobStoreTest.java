@@ -0,0 +1,106 @@
+package uk.ac.ebi.quickgo.annotation.download.job;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Tests the behaviour of the {@link DownloadJobStore}.
+ *
+ * Created 19/10/26
+ */
+public class DownloadJobStoreTest {
+    private static final String ID = "0123abcd";
+    private static final long NOW = 1_000L;
+
+    @Rule
+    public TemporaryFolder spoolFolder = new TemporaryFolder();
+
+    private DownloadJobStore store;
+
+    @Before
+    public void setUp() {
+        store = new DownloadJobStore(spoolFolder.getRoot().toPath().resolve("jobs"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullDirectoryThrowsException() {
+        new DownloadJobStore(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void idThatIsNotHexadecimalThrowsException() {
+        store.spoolFile("../" + ID);
+    }
+
+    @Test
+    public void savedJobIsLoaded() {
+        DownloadJob job = DownloadJob.queued(ID, "gaf", 10, NOW)
+                .withCheckpoint("cursor", 4, 512, NOW + 1)
+                .withState(DownloadJob.State.FAILED, "Failed after 3 attempts", NOW + 2);
+
+        store.save(job);
+        DownloadJob loaded = store.load(ID).orElseThrow(AssertionError::new);
+
+        assertThat(loaded.getFormat(), is("gaf"));
+        assertThat(loaded.getState(), is(DownloadJob.State.FAILED));
+        assertThat(loaded.getTotalAnnotations(), is(10L));
+        assertThat(loaded.getAnnotations(), is(4L));
+        assertThat(loaded.getCursor(), is("cursor"));
+        assertThat(loaded.getSpooledBytes(), is(512L));
+        assertThat(loaded.getCreated(), is(NOW));
+        assertThat(loaded.getUpdated(), is(NOW + 2));
+        assertThat(loaded.getMessage(), is("Failed after 3 attempts"));
+    }
+
+    @Test
+    public void savedJobWithoutCursorIsLoadedWithoutCursor() {
+        store.save(DownloadJob.queued(ID, "gaf", 10, NOW));
+
+        assertThat(store.load(ID).orElseThrow(AssertionError::new).getCursor(), is(nullValue()));
+    }
+
+    @Test
+    public void unsavedJobIsNotLoaded() {
+        assertThat(store.load(ID).isPresent(), is(false));
+    }
+
+    @Test
+    public void unreadableJobIsNotLoaded() throws IOException {
+        store.save(DownloadJob.queued(ID, "gaf", 10, NOW));
+        Path state = store.spoolFile(ID).resolveSibling(ID + ".properties");
+        Files.write(state, "state=UNKNOWN".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(store.load(ID).isPresent(), is(false));
+    }
+
+    @Test
+    public void allSavedJobsAreLoaded() {
+        store.save(DownloadJob.queued(ID, "gaf", 10, NOW));
+
+        assertThat(store.loadAll().stream().map(DownloadJob::getId).collect(toList()), contains(ID));
+    }
+
+    @Test
+    public void deletedJobAndItsFileAreRemoved() throws IOException {
+        store.save(DownloadJob.queued(ID, "gaf", 10, NOW));
+        Files.write(store.spoolFile(ID), new byte[]{1, 2, 3});
+
+        store.delete(ID);
+
+        assertThat(store.loadAll(), is(empty()));
+        assertThat(Files.exists(store.spoolFile(ID)), is(false));
+    }
+}
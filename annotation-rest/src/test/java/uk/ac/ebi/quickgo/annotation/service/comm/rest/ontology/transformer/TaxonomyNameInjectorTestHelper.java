@@ -1,9 +1,14 @@
 package uk.ac.ebi.quickgo.annotation.service.comm.rest.ontology.transformer;
 
 import uk.ac.ebi.quickgo.annotation.service.comm.rest.ontology.model.BasicTaxonomyNode;
+import uk.ac.ebi.quickgo.annotation.taxonomy.TaxonomyStore;
 import uk.ac.ebi.quickgo.rest.search.request.FilterRequest;
 import uk.ac.ebi.quickgo.rest.search.results.transformer.AbstractValueInjector;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.springframework.core.io.ByteArrayResource;
+
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -21,6 +26,19 @@ import static org.hamcrest.core.IsNull.nullValue;
 public class TaxonomyNameInjectorTestHelper {
     public static final BasicTaxonomyNode basicTaxonomyNode = createBasicTaxonomyNode();
     public static final int TEST_TAXON_ID = 100;
+    public static final String LOCAL_TAXON_NAME = "a local scientific name";
+
+    /**
+     * @return a taxonomy store containing the test taxon, whose name is {@link #LOCAL_TAXON_NAME}
+     */
+    public static TaxonomyStore taxonomyStore() throws IOException {
+        String names = "1\t|\troot\t|\t\t|\tscientific name\t|\n" +
+                TEST_TAXON_ID + "\t|\t" + LOCAL_TAXON_NAME + "\t|\t\t|\tscientific name\t|\n";
+        String nodes = "1\t|\t1\t|\tno rank\t|\n" +
+                TEST_TAXON_ID + "\t|\t1\t|\tspecies\t|\n";
+        return TaxonomyStore.load(new ByteArrayResource(names.getBytes(StandardCharsets.UTF_8)),
+                new ByteArrayResource(nodes.getBytes(StandardCharsets.UTF_8)));
+    }
 
     private static BasicTaxonomyNode createBasicTaxonomyNode() {
         BasicTaxonomyNode node = new BasicTaxonomyNode();
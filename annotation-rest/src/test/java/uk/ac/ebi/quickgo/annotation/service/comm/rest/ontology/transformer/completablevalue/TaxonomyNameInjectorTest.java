@@ -4,6 +4,7 @@ import uk.ac.ebi.quickgo.annotation.service.comm.rest.ontology.model.BasicTaxono
 import uk.ac.ebi.quickgo.rest.model.CompletableValue;
 import uk.ac.ebi.quickgo.rest.search.request.FilterRequest;
 import uk.ac.ebi.quickgo.rest.search.request.converter.ConvertedFilter;
+import uk.ac.ebi.quickgo.rest.search.request.converter.RESTFilterConverterFactory;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -11,6 +12,10 @@ import org.junit.Test;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsNull.nullValue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static uk.ac.ebi.quickgo.annotation.service.comm.rest.ontology.transformer.TaxonomyNameInjectorTestHelper
+        .LOCAL_TAXON_NAME;
 import static uk.ac.ebi.quickgo.annotation.service.comm.rest.ontology.transformer.TaxonomyNameInjectorTestHelper
         .TEST_TAXON_ID;
 import static uk.ac.ebi.quickgo.annotation.service.comm.rest.ontology.transformer.TaxonomyNameInjectorTestHelper
@@ -19,6 +24,8 @@ import static uk.ac.ebi.quickgo.annotation.service.comm.rest.ontology.transforme
         .buildFilterRequestSuccessfully;
 import static uk.ac.ebi.quickgo.annotation.service.comm.rest.ontology.transformer.TaxonomyNameInjectorTestHelper
         .injectValueSuccessfully;
+import static uk.ac.ebi.quickgo.annotation.service.comm.rest.ontology.transformer.TaxonomyNameInjectorTestHelper
+        .taxonomyStore;
 
 
 /**
@@ -50,6 +57,22 @@ public class TaxonomyNameInjectorTest {
         injectValueSuccessfully(completableValue.value);
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void nullTaxonomyStoreThrowsException() {
+        new TaxonomyNameInjector(null);
+    }
+
+    @Test
+    public void nameInLocalTaxonomyStoreIsInjectedWithoutRESTRequest() throws Exception {
+        RESTFilterConverterFactory restFetcher = mock(RESTFilterConverterFactory.class);
+        nameInjector = new TaxonomyNameInjector(taxonomyStore());
+
+        nameInjector.inject(restFetcher, completableValue);
+
+        assertThat(completableValue.value, is(LOCAL_TAXON_NAME));
+        verifyZeroInteractions(restFetcher);
+    }
+
     @Test
     public void correctFilterRequestIsBuilt() {
         FilterRequest filterRequest = nameInjector.buildFilterRequest(completableValue);
@@ -0,0 +1,241 @@
+package uk.ac.ebi.quickgo.annotation.service.search;
+
+import uk.ac.ebi.quickgo.annotation.AnnotationREST;
+import uk.ac.ebi.quickgo.annotation.common.AnnotationDocument;
+import uk.ac.ebi.quickgo.annotation.common.AnnotationRepository;
+import uk.ac.ebi.quickgo.annotation.model.Annotation;
+import uk.ac.ebi.quickgo.annotation.service.converter.AnnotationDocConverterImpl;
+import uk.ac.ebi.quickgo.common.store.TemporarySolrDataStore;
+import uk.ac.ebi.quickgo.rest.search.RequestRetrieval;
+import uk.ac.ebi.quickgo.rest.search.query.QueryRequest;
+import uk.ac.ebi.quickgo.rest.search.query.QueryRequestConverter;
+import uk.ac.ebi.quickgo.rest.search.query.QuickGOQuery;
+import uk.ac.ebi.quickgo.rest.search.query.SortCriterion;
+import uk.ac.ebi.quickgo.rest.search.results.QueryResult;
+import uk.ac.ebi.quickgo.rest.search.solr.SolrExportReader;
+import uk.ac.ebi.quickgo.rest.search.solr.SolrExportRequestRetrieval;
+import uk.ac.ebi.quickgo.rest.search.solr.SolrExportSource;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.beans.DocumentObjectBinder;
+import org.apache.solr.common.params.SolrParams;
+import org.apache.solr.core.CoreContainer;
+import org.apache.solr.core.SolrCore;
+import org.apache.solr.request.LocalSolrQueryRequest;
+import org.apache.solr.request.SolrQueryRequest;
+import org.apache.solr.request.SolrRequestInfo;
+import org.apache.solr.response.SolrQueryResponse;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.SpringApplicationConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.context.web.WebAppConfiguration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static uk.ac.ebi.quickgo.annotation.common.document.AnnotationDocMocker.createGenericDocs;
+import static uk.ac.ebi.quickgo.rest.search.query.CursorPage.FIRST_CURSOR;
+import static uk.ac.ebi.quickgo.rest.search.query.CursorPage.createCursorPage;
+
+/**
+ * Tests that annotation downloads read from Solr's export handler contain the same annotations as downloads
+ * read by cursor queries.
+ *
+ * <p>An {@code EmbeddedSolrServer} decodes every response, and so cannot stream exports; here, the export handler of
+ * the embedded annotation core is therefore invoked directly, and its response written by the core's export
+ * response writer, exactly as it would be over HTTP.
+ *
+ * Created 19/10/26
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringApplicationConfiguration(classes = {AnnotationREST.class})
+@WebAppConfiguration
+public class AnnotationExportRetrievalIT {
+    // temporary data store for solr's data, which is automatically cleaned on exit
+    @ClassRule
+    public static final TemporarySolrDataStore solrDataStore = new TemporarySolrDataStore();
+
+    private static final String ANNOTATION_CORE = "annotation";
+    private static final String EXPORT_HANDLER = "/export";
+    private static final int NUMBER_OF_DOCS = 23;
+    private static final int PAGE_SIZE = 5;
+
+    @Autowired
+    private AnnotationRepository repository;
+
+    @Autowired
+    private CoreContainer coreContainer;
+
+    @Autowired
+    private RequestRetrieval<Annotation> annotationSolrRequestRetrieval;
+
+    @Autowired
+    private QueryRequestConverter<SolrQuery> annotationSolrQueryRequestConverter;
+
+    @Autowired
+    private SearchServiceConfig.AnnotationCompositeRetrievalConfig annotationRetrievalConfig;
+
+    private SolrExportRequestRetrieval<Annotation> exportRetrieval;
+    private List<AnnotationDocument> docs;
+
+    @Before
+    public void setUp() {
+        repository.deleteAll();
+        docs = createGenericDocs(NUMBER_OF_DOCS);
+        repository.save(docs);
+
+        SolrQueryResultConverter resultConverter = new SolrQueryResultConverter(
+                new DocumentObjectBinder(),
+                new AnnotationDocConverterImpl(),
+                annotationRetrievalConfig);
+
+        exportRetrieval = new SolrExportRequestRetrieval<>(
+                new EmbeddedSolrExportSource(coreContainer, Collections.singleton("date")),
+                annotationSolrQueryRequestConverter,
+                resultConverter,
+                annotationSolrRequestRetrieval,
+                new HashSet<>(annotationRetrievalConfig.getSearchReturnedFields()),
+                "id asc",
+                60);
+    }
+
+    @Test
+    public void exportedDownloadContainsSameAnnotationsAsCursorDownload() {
+        List<Annotation> exported = retrieveAll(exportRetrieval, this::downloadRequest);
+        List<Annotation> retrievedByCursor = retrieveAll(annotationSolrRequestRetrieval, this::downloadRequest);
+
+        assertThat(exported, hasSize(NUMBER_OF_DOCS));
+        assertThat(normalise(exported), is(normalise(retrievedByCursor)));
+    }
+
+    @Test
+    public void exportedDownloadIsSortedByExportSort() {
+        List<Annotation> exported = retrieveAll(exportRetrieval, this::downloadRequest);
+
+        List<String> ids = exported.stream().map(annotation -> annotation.id).collect(Collectors.toList());
+        assertThat(ids, is(ids.stream().sorted().collect(Collectors.toList())));
+    }
+
+    @Test
+    public void exportedFilteredDownloadContainsSameAnnotationsAsCursorDownload() {
+        String geneProductId = docs.get(3).geneProductId;
+        Function<String, QueryRequest> filteredRequest = cursor -> downloadRequestBuilder(cursor)
+                .addQueryFilter(QuickGOQuery.createQuery("geneProductId", geneProductId))
+                .build();
+
+        List<Annotation> exported = retrieveAll(exportRetrieval, filteredRequest);
+        List<Annotation> retrievedByCursor = retrieveAll(annotationSolrRequestRetrieval, filteredRequest);
+
+        assertThat(exported, hasSize(1));
+        assertThat(exported.get(0).geneProductId, is(geneProductId));
+        assertThat(normalise(exported), is(normalise(retrievedByCursor)));
+    }
+
+    @Test
+    public void downloadOfFieldWithoutDocValuesIsRetrievedByCursor() {
+        Function<String, QueryRequest> rowNumberRequest = cursor -> downloadRequestBuilder(cursor)
+                .addProjectedField("rowNumber")
+                .build();
+
+        List<Annotation> retrieved = retrieveAll(exportRetrieval, rowNumberRequest);
+
+        assertThat(normalise(retrieved), is(normalise(retrieveAll(annotationSolrRequestRetrieval,
+                rowNumberRequest))));
+        assertThat(retrieved, hasSize(NUMBER_OF_DOCS));
+    }
+
+    private QueryRequest downloadRequest(String cursor) {
+        return downloadRequestBuilder(cursor).build();
+    }
+
+    private QueryRequest.Builder downloadRequestBuilder(String cursor) {
+        QueryRequest.Builder builder = new QueryRequest.Builder(QuickGOQuery.createAllQuery())
+                .setPage(createCursorPage(cursor, PAGE_SIZE))
+                .addSortCriterion("rowNumber", SortCriterion.SortOrder.ASC)
+                .addSortCriterion("id", SortCriterion.SortOrder.ASC);
+        annotationRetrievalConfig.getSearchReturnedFields().forEach(builder::addProjectedField);
+        return builder;
+    }
+
+    private static List<Annotation> retrieveAll(RequestRetrieval<Annotation> retrieval,
+            Function<String, QueryRequest> requestForCursor) {
+        List<Annotation> annotations = new ArrayList<>();
+        String cursor = FIRST_CURSOR;
+
+        while (true) {
+            QueryResult<Annotation> result = retrieval.findByQuery(requestForCursor.apply(cursor));
+            annotations.addAll(result.getResults());
+
+            String nextCursor = result.getPageInfo().getNextCursor();
+            if (nextCursor.equals(cursor)) {
+                return annotations;
+            }
+            cursor = nextCursor;
+        }
+    }
+
+    /**
+     * Orders annotations by identifier, and the values of their multi-valued fields, since exports are sorted
+     * by the export sort, and read multi-valued fields from their sorted docValues.
+     */
+    private static List<Annotation> normalise(List<Annotation> annotations) {
+        annotations.forEach(annotation -> {
+            if (annotation.targetSets != null) {
+                annotation.targetSets = annotation.targetSets.stream().sorted().collect(Collectors.toList());
+            }
+        });
+        annotations.sort(Comparator.comparing(annotation -> annotation.id));
+        return annotations;
+    }
+
+    /**
+     * Exports the documents of the embedded annotation core, by executing its export handler and writing the response
+     * with the response writer named by the handler.
+     */
+    private static class EmbeddedSolrExportSource implements SolrExportSource {
+        private final CoreContainer coreContainer;
+        private final Set<String> dateFields;
+
+        private EmbeddedSolrExportSource(CoreContainer coreContainer, Set<String> dateFields) {
+            this.coreContainer = coreContainer;
+            this.dateFields = dateFields;
+        }
+
+        @Override public SolrExportReader open(SolrParams params) throws IOException {
+            StringWriter export = new StringWriter();
+
+            try (SolrCore core = coreContainer.getCore(ANNOTATION_CORE)) {
+                SolrQueryRequest request = new LocalSolrQueryRequest(core, params);
+                SolrQueryResponse response = new SolrQueryResponse();
+                SolrRequestInfo.setRequestInfo(new SolrRequestInfo(request, response));
+                try {
+                    core.execute(core.getRequestHandler(EXPORT_HANDLER), request, response);
+                    if (response.getException() != null) {
+                        throw new IOException(response.getException());
+                    }
+                    core.getQueryResponseWriter(request).write(export, request, response);
+                } finally {
+                    SolrRequestInfo.clearRequestInfo();
+                    request.close();
+                }
+            }
+
+            return new SolrExportReader(new StringReader(export.toString()), dateFields);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package uk.ac.ebi.quickgo.annotation.taxonomy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+
+/**
+ * Created 19/10/26
+ */
+public class TaxonomyStoreTest {
+    private static final String NAMES =
+            "1\t|\troot\t|\t\t|\tscientific name\t|\n" +
+            "2\t|\tBacteria\t|\tBacteria <bacteria>\t|\tscientific name\t|\n" +
+            "2\t|\teubacteria\t|\t\t|\tgenbank common name\t|\n" +
+            "9606\t|\tHomo sapiens\t|\t\t|\tscientific name\t|\n" +
+            "9606\t|\thuman\t|\t\t|\tgenbank common name\t|\n" +
+            "9605\t|\tHomo\t|\t\t|\tscientific name\t|\n" +
+            "131567\t|\tcellular organisms\t|\t\t|\tscientific name\t|\n" +
+            "1000\t|\tMicrobacterium sp. M\u00fcller\t|\t\t|\tscientific name\t|\n";
+    private static final String NODES =
+            "1\t|\t1\t|\tno rank\t|\t\t|\n" +
+            "131567\t|\t1\t|\tno rank\t|\t\t|\n" +
+            "2\t|\t131567\t|\tsuperkingdom\t|\t\t|\n" +
+            "9605\t|\t131567\t|\tgenus\t|\t\t|\n" +
+            "9606\t|\t9605\t|\tspecies\t|\t\t|\n" +
+            "1000\t|\t2\t|\tspecies\t|\t\t|\n";
+
+    private TaxonomyStore taxonomyStore;
+
+    @Before
+    public void setUp() throws IOException {
+        taxonomyStore = TaxonomyStore.load(resource(NAMES), resource(NODES));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullNamesSourceThrowsException() throws IOException {
+        TaxonomyStore.load(null, resource(NODES));
+    }
+
+    @Test(expected = IOException.class)
+    public void invalidTaxonIdThrowsException() throws IOException {
+        TaxonomyStore.load(resource(NAMES), resource("human\t|\t1\t|\tno rank\t|\n"));
+    }
+
+    @Test
+    public void scientificNameIsFound() {
+        assertThat(taxonomyStore.scientificNameOf(9606), is("Homo sapiens"));
+        assertThat(taxonomyStore.scientificNameOf(2), is("Bacteria"));
+        assertThat(taxonomyStore.scientificNameOf(1000), is("Microbacterium sp. M\u00fcller"));
+    }
+
+    @Test
+    public void nameOfUnknownTaxonIsNull() {
+        assertThat(taxonomyStore.scientificNameOf(3), is(nullValue()));
+        assertThat(taxonomyStore.scientificNameOf(-1), is(nullValue()));
+        assertThat(taxonomyStore.scientificNameOf(Integer.MAX_VALUE), is(nullValue()));
+    }
+
+    @Test
+    public void parentIsFound() {
+        assertThat(taxonomyStore.parentOf(9606), is(9605));
+        assertThat(taxonomyStore.parentOf(1), is(TaxonomyStore.NO_PARENT));
+        assertThat(taxonomyStore.parentOf(3), is(TaxonomyStore.NO_PARENT));
+    }
+
+    @Test
+    public void lineageIsFoundUpToRoot() {
+        assertThat(taxonomyStore.lineageOf(9606), is(new int[]{9606, 9605, 131567, 1}));
+        assertThat(taxonomyStore.lineageOf(1), is(new int[]{1}));
+        assertThat(taxonomyStore.lineageOf(3), is(new int[0]));
+    }
+
+    @Test
+    public void gzippedSourcesAreRead() throws IOException {
+        TaxonomyStore gzippedStore = TaxonomyStore.load(gzippedResource(NAMES), gzippedResource(NODES));
+
+        assertThat(gzippedStore.scientificNameOf(9606), is("Homo sapiens"));
+        assertThat(gzippedStore.parentOf(9606), is(9605));
+    }
+
+    @Test
+    public void emptyStoreContainsNoTaxa() {
+        TaxonomyStore emptyStore = TaxonomyStore.createEmptyStore();
+
+        assertThat(emptyStore.isEmpty(), is(true));
+        assertThat(emptyStore.contains(1), is(false));
+        assertThat(emptyStore.scientificNameOf(1), is(nullValue()));
+        assertThat(taxonomyStore.isEmpty(), is(false));
+    }
+
+    private static Resource resource(String content) {
+        return new ByteArrayResource(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Resource gzippedResource(String content) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return new ByteArrayResource(bytes.toByteArray()) {
+            @Override public String getFilename() {
+                return "names.dmp.gz";
+            }
+        };
+    }
+}
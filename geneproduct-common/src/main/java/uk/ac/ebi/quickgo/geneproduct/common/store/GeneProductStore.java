@@ -0,0 +1,132 @@
+package uk.ac.ebi.quickgo.geneproduct.common.store;
+
+import uk.ac.ebi.quickgo.geneproduct.common.GeneProductDocument;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static uk.ac.ebi.quickgo.geneproduct.common.store.GeneProductStoreFormat.*;
+
+/**
+ * <p>A read-only store of gene products, written by a {@link GeneProductStoreWriter}, from which gene products can be
+ * looked up by id without querying Solr.
+ *
+ * <p>The store file is memory mapped, and its records are sorted by id, so that a look up is a binary search of the
+ * mapped file: it neither reads the file into the heap, nor takes longer as more look ups are made. A store is safe
+ * for use by concurrent threads.
+ *
+ * Created 19/10/26
+ */
+public class GeneProductStore implements Closeable {
+    private final FileChannel channel;
+    private final long count;
+    private final ByteBuffer[] offsets;
+    private final ByteBuffer[] records;
+
+    private GeneProductStore(FileChannel channel, long count, ByteBuffer[] offsets, ByteBuffer[] records) {
+        this.channel = channel;
+        this.count = count;
+        this.offsets = offsets;
+        this.records = records;
+    }
+
+    /**
+     * Opens a gene product store file.
+     *
+     * @param path the store file
+     * @return the store
+     * @throws IOException if the file could not be read, or is not a gene product store
+     */
+    public static GeneProductStore open(Path path) throws IOException {
+        checkArgument(path != null, "Gene product store path cannot be null");
+
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(HEADER_SIZE, channel.size()));
+            if (header.limit() < HEADER_SIZE || header.getInt() != MAGIC) {
+                throw new IOException("Not a gene product store: " + path);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported gene product store version " + version + ": " + path);
+            }
+            long count = header.getLong();
+            long dataStart = header.getLong();
+            if (count < 0 || dataStart != dataStart(count) || dataStart > channel.size()) {
+                throw new IOException("Invalid gene product store header: " + path);
+            }
+
+            return new GeneProductStore(channel, count, map(channel, HEADER_SIZE, count * Long.BYTES),
+                    map(channel, dataStart, channel.size() - dataStart));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the number of gene products in this store
+     */
+    public long size() {
+        return count;
+    }
+
+    /**
+     * Finds a gene product by its id.
+     *
+     * @param id the gene product id
+     * @return the gene product, or an empty optional if there is none with that id
+     */
+    public Optional<GeneProductDocument> findById(String id) {
+        checkArgument(id != null, "Gene product id cannot be null");
+
+        byte[] key = id.getBytes(StandardCharsets.UTF_8);
+        long low = 0;
+        long high = count - 1;
+        while (low <= high) {
+            long middle = (low + high) >>> 1;
+            long offset = offsetOf(middle);
+            int comparison = compareId(segmentOf(records, offset), positionOf(offset), key);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return Optional.of(decode(segmentOf(records, offset), positionOf(offset)));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Finds the gene products with the specified ids.
+     *
+     * @param ids the gene product ids
+     * @return the gene products that were found, in the order of their ids
+     */
+    public List<GeneProductDocument> findById(List<String> ids) {
+        checkArgument(ids != null, "List of gene product ids cannot be null");
+
+        List<GeneProductDocument> documents = new ArrayList<>(ids.size());
+        ids.forEach(id -> findById(id).ifPresent(documents::add));
+        return documents;
+    }
+
+    @Override public void close() throws IOException {
+        channel.close();
+    }
+
+    private long offsetOf(long index) {
+        long position = index * Long.BYTES;
+        return segmentOf(offsets, position).getLong(positionOf(position));
+    }
+}
@@ -0,0 +1,232 @@
+package uk.ac.ebi.quickgo.geneproduct.common.store;
+
+import uk.ac.ebi.quickgo.geneproduct.common.GeneProductDocument;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * <p>The layout of a gene product store file, which is shared by {@link GeneProductStoreWriter} and
+ * {@link GeneProductStore}.
+ *
+ * <p>The file starts with a header of {@value #HEADER_SIZE} bytes: a magic number, the format version, the number
+ * of records and the position of the first record. Then come the positions of the records, relative to the first,
+ * as longs in the order of the records' gene product ids, followed by the records themselves. Each record is its
+ * length, as an int, followed by the fields of a gene product that are returned by id lookups: its id first, and
+ * then its database, symbol, name, synonyms, type, taxon id, database subset, parent id and proteome. Strings are
+ * written as an unsigned short length followed by their UTF-8 bytes, and lists of strings as an unsigned short size
+ * followed by their strings; a length or size of {@value #NULL_LENGTH} denotes a null.
+ *
+ * <p>So that the records can be memory mapped in segments of {@value #SEGMENT_SIZE} bytes, which is the most a
+ * single {@link ByteBuffer} can address, no record spans two segments.
+ *
+ * Created 19/10/26
+ */
+final class GeneProductStoreFormat {
+    static final int MAGIC = 0x51474750;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 24;
+    static final int SEGMENT_BITS = 30;
+    static final int SEGMENT_SIZE = 1 << SEGMENT_BITS;
+    static final int NULL_LENGTH = 0xFFFF;
+    static final int MAX_LENGTH = NULL_LENGTH - 1;
+
+    private static final int RECORD_LENGTH_SIZE = Integer.BYTES;
+
+    private GeneProductStoreFormat() {}
+
+    /**
+     * @param count the number of records in a store
+     * @return the position in the store file of its first record, which is aligned to 8 bytes
+     */
+    static long dataStart(long count) {
+        long end = HEADER_SIZE + count * Long.BYTES;
+        return (end + Long.BYTES - 1) & -Long.BYTES;
+    }
+
+    /**
+     * @param document a gene product
+     * @return the record of the gene product, including its length
+     * @throws IllegalArgumentException if a field is too long to be written
+     */
+    static byte[] encode(GeneProductDocument document) {
+        checkArgument(document != null && document.id != null, "Gene product and its id cannot be null");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream record = new DataOutputStream(bytes)) {
+            record.writeInt(0);
+            writeString(record, document.id);
+            writeString(record, document.database);
+            writeString(record, document.symbol);
+            writeString(record, document.name);
+            writeStrings(record, document.synonyms);
+            writeString(record, document.type);
+            record.writeInt(document.taxonId);
+            writeString(record, document.databaseSubset);
+            writeString(record, document.parentId);
+            writeString(record, document.proteome);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        byte[] record = bytes.toByteArray();
+        checkArgument(record.length <= SEGMENT_SIZE, "Gene product %s is too large to store", document.id);
+        ByteBuffer.wrap(record).putInt(0, record.length - RECORD_LENGTH_SIZE);
+        return record;
+    }
+
+    /**
+     * @param segment the segment containing a record
+     * @param position the position of the record in the segment
+     * @return the gene product of the record
+     */
+    static GeneProductDocument decode(ByteBuffer segment, int position) {
+        ByteBuffer record = segment.duplicate();
+        record.position(position + RECORD_LENGTH_SIZE);
+
+        GeneProductDocument document = new GeneProductDocument();
+        document.id = readString(record);
+        document.database = readString(record);
+        document.symbol = readString(record);
+        document.name = readString(record);
+        document.synonyms = readStrings(record);
+        document.type = readString(record);
+        document.taxonId = record.getInt();
+        document.databaseSubset = readString(record);
+        document.parentId = readString(record);
+        document.proteome = readString(record);
+        return document;
+    }
+
+    /**
+     * Compares the id of a record with an id, by the unsigned values of their UTF-8 bytes.
+     *
+     * @return a negative number, zero or a positive number as the id of the record is less than, equal to or greater
+     * than the id
+     */
+    static int compareId(ByteBuffer segment, int position, byte[] id) {
+        int idPosition = position + RECORD_LENGTH_SIZE;
+        int length = Short.toUnsignedInt(segment.getShort(idPosition));
+        int start = idPosition + Short.BYTES;
+
+        int common = Math.min(length, id.length);
+        for (int i = 0; i < common; i++) {
+            int difference = Byte.toUnsignedInt(segment.get(start + i)) - Byte.toUnsignedInt(id[i]);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return length - id.length;
+    }
+
+    /**
+     * Compares the ids of two records, in the same way as {@link #compareId(ByteBuffer, int, byte[])}.
+     *
+     * @return a negative number, zero or a positive number as the id of the first record is less than, equal to or
+     * greater than the id of the second
+     */
+    static int compareIds(ByteBuffer firstSegment, int firstPosition, ByteBuffer secondSegment, int secondPosition) {
+        int firstIdPosition = firstPosition + RECORD_LENGTH_SIZE;
+        int secondIdPosition = secondPosition + RECORD_LENGTH_SIZE;
+        int firstLength = Short.toUnsignedInt(firstSegment.getShort(firstIdPosition));
+        int secondLength = Short.toUnsignedInt(secondSegment.getShort(secondIdPosition));
+        int firstStart = firstIdPosition + Short.BYTES;
+        int secondStart = secondIdPosition + Short.BYTES;
+
+        int common = Math.min(firstLength, secondLength);
+        for (int i = 0; i < common; i++) {
+            int difference = Byte.toUnsignedInt(firstSegment.get(firstStart + i)) -
+                    Byte.toUnsignedInt(secondSegment.get(secondStart + i));
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return firstLength - secondLength;
+    }
+
+    /**
+     * Maps a region of a file into segments of {@value #SEGMENT_SIZE} bytes.
+     *
+     * @param channel the file
+     * @param start the position in the file at which the region starts
+     * @param length the length of the region
+     * @return the segments, in order
+     * @throws IOException if the file could not be mapped
+     */
+    static ByteBuffer[] map(FileChannel channel, long start, long length) throws IOException {
+        int segmentCount = (int) ((length + SEGMENT_SIZE - 1) >>> SEGMENT_BITS);
+        ByteBuffer[] segments = new ByteBuffer[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            long segmentStart = (long) i << SEGMENT_BITS;
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start + segmentStart,
+                    Math.min(SEGMENT_SIZE, length - segmentStart));
+        }
+        return segments;
+    }
+
+    static ByteBuffer segmentOf(ByteBuffer[] segments, long offset) {
+        return segments[(int) (offset >>> SEGMENT_BITS)];
+    }
+
+    static int positionOf(long offset) {
+        return (int) (offset & (SEGMENT_SIZE - 1));
+    }
+
+    private static void writeString(DataOutputStream record, String value) throws IOException {
+        if (value == null) {
+            record.writeShort(NULL_LENGTH);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        checkArgument(bytes.length <= MAX_LENGTH, "Value is too long to store: %s", value);
+        record.writeShort(bytes.length);
+        record.write(bytes);
+    }
+
+    private static void writeStrings(DataOutputStream record, List<String> values) throws IOException {
+        if (values == null) {
+            record.writeShort(NULL_LENGTH);
+            return;
+        }
+
+        checkArgument(values.size() <= MAX_LENGTH, "Too many values to store: %s", values.size());
+        record.writeShort(values.size());
+        for (String value : values) {
+            writeString(record, value);
+        }
+    }
+
+    private static String readString(ByteBuffer record) {
+        int length = Short.toUnsignedInt(record.getShort());
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+
+        byte[] bytes = new byte[length];
+        record.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static List<String> readStrings(ByteBuffer record) {
+        int size = Short.toUnsignedInt(record.getShort());
+        if (size == NULL_LENGTH) {
+            return null;
+        }
+
+        List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(readString(record));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,225 @@
+package uk.ac.ebi.quickgo.geneproduct.common.store;
+
+import uk.ac.ebi.quickgo.geneproduct.common.GeneProductDocument;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static uk.ac.ebi.quickgo.geneproduct.common.store.GeneProductStoreFormat.*;
+
+/**
+ * <p>Writes a store of gene products that can be read by a {@link GeneProductStore}.
+ *
+ * <p>Gene products can be written in any order. Their records are appended to a temporary file as they are written,
+ * and only the position of each record is held in memory; when the writer is finished, the positions are sorted by
+ * the records' gene product ids, and the store file is written from them and the temporary file. If a gene product
+ * id is written more than once, the gene product written last is stored. The store file is replaced atomically, so
+ * that a store being read is never partially written.
+ *
+ * Created 19/10/26
+ */
+public class GeneProductStoreWriter implements Closeable {
+    private static final String RECORDS_SUFFIX = ".records.tmp";
+    private static final String STORE_SUFFIX = ".tmp";
+    private static final int INITIAL_CAPACITY = 1 << 16;
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private final Path path;
+    private final Path recordsPath;
+    private final OutputStream recordsOutput;
+
+    private long[] offsets = new long[INITIAL_CAPACITY];
+    private long count;
+    private long position;
+    private boolean finished;
+
+    /**
+     * Creates a writer of a store.
+     *
+     * @param path the store file to write, which is replaced if it exists
+     * @throws IOException if the temporary file of records could not be created
+     */
+    public GeneProductStoreWriter(Path path) throws IOException {
+        checkArgument(path != null, "Gene product store path cannot be null");
+
+        this.path = path;
+        this.recordsPath = path.resolveSibling(path.getFileName() + RECORDS_SUFFIX);
+        this.recordsOutput = new BufferedOutputStream(Files.newOutputStream(recordsPath));
+    }
+
+    /**
+     * Writes a gene product to the store.
+     *
+     * @param document the gene product
+     * @throws IOException if the gene product could not be written
+     */
+    public synchronized void write(GeneProductDocument document) throws IOException {
+        checkState(!finished, "Gene product store has already been finished");
+        byte[] record = encode(document);
+
+        // a record cannot span two segments, so start it in the next segment if it does not fit in this one
+        long segmentRemaining = SEGMENT_SIZE - positionOf(position);
+        if (record.length > segmentRemaining) {
+            recordsOutput.write(new byte[(int) segmentRemaining]);
+            position += segmentRemaining;
+        }
+
+        if (count == offsets.length) {
+            checkState(count < Integer.MAX_VALUE - 8, "Too many gene products to store");
+            offsets = Arrays.copyOf(offsets, (int) Math.min(count * 2, Integer.MAX_VALUE - 8));
+        }
+        offsets[(int) count++] = position;
+
+        recordsOutput.write(record);
+        position += record.length;
+    }
+
+    /**
+     * Writes the store file from the gene products that have been written.
+     *
+     * @return the number of gene products stored
+     * @throws IOException if the store file could not be written
+     */
+    public synchronized long finish() throws IOException {
+        checkState(!finished, "Gene product store has already been finished");
+        finished = true;
+        recordsOutput.close();
+
+        Path storePath = path.resolveSibling(path.getFileName() + STORE_SUFFIX);
+        long storedCount;
+        try (FileChannel records = FileChannel.open(recordsPath, StandardOpenOption.READ)) {
+            ByteBuffer[] segments = map(records, 0, records.size());
+            sort(segments, offsets, 0, (int) count - 1);
+            storedCount = removeDuplicates(segments);
+            writeStore(storePath, records, storedCount);
+        } finally {
+            Files.deleteIfExists(recordsPath);
+        }
+
+        Files.move(storePath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return storedCount;
+    }
+
+    /**
+     * Discards the gene products written, if the writer has not been finished.
+     */
+    @Override public synchronized void close() throws IOException {
+        if (!finished) {
+            finished = true;
+            recordsOutput.close();
+            Files.deleteIfExists(recordsPath);
+        }
+    }
+
+    private void writeStore(Path storePath, FileChannel records, long storedCount) throws IOException {
+        long dataStart = dataStart(storedCount);
+        try (FileChannel store = FileChannel.open(storePath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            try (DataOutputStream header = new DataOutputStream(new BufferedOutputStream(
+                    Channels.newOutputStream(store)))) {
+                header.writeInt(MAGIC);
+                header.writeInt(VERSION);
+                header.writeLong(storedCount);
+                header.writeLong(dataStart);
+                for (int i = 0; i < storedCount; i++) {
+                    header.writeLong(offsets[i]);
+                }
+                for (long padding = HEADER_SIZE + storedCount * Long.BYTES; padding < dataStart; padding++) {
+                    header.writeByte(0);
+                }
+                header.flush();
+
+                long transferred = 0;
+                long size = records.size();
+                while (transferred < size) {
+                    transferred += records.transferTo(transferred, size - transferred, store);
+                }
+                store.force(true);
+            }
+        }
+    }
+
+    /**
+     * Removes all but the last written record of each id from the sorted offsets, in which records of the same id
+     * are adjacent, and in the order they were written.
+     */
+    private long removeDuplicates(ByteBuffer[] segments) {
+        int stored = 0;
+        for (int i = 0; i < count; i++) {
+            if (i == count - 1 || compareIds(segments, offsets[i], offsets[i + 1]) != 0) {
+                offsets[stored++] = offsets[i];
+            }
+        }
+        return stored;
+    }
+
+    /**
+     * Orders records by their ids, and records of the same id by the order in which they were written.
+     */
+    private static int compare(ByteBuffer[] segments, long first, long second) {
+        int comparison = compareIds(segments, first, second);
+        return comparison != 0 ? comparison : Long.compare(first, second);
+    }
+
+    private static int compareIds(ByteBuffer[] segments, long first, long second) {
+        return GeneProductStoreFormat.compareIds(segmentOf(segments, first), positionOf(first),
+                segmentOf(segments, second), positionOf(second));
+    }
+
+    /**
+     * Sorts offsets by the records they refer to, using a quicksort that recurses on the smaller partition, so that
+     * it needs little stack, and finishes small partitions with an insertion sort.
+     */
+    private static void sort(ByteBuffer[] segments, long[] offsets, int low, int high) {
+        while (high - low > INSERTION_SORT_THRESHOLD) {
+            int middle = (low + high) >>> 1;
+            long pivot = offsets[middle];
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (compare(segments, offsets[i], pivot) < 0) {
+                    i++;
+                }
+                while (compare(segments, offsets[j], pivot) > 0) {
+                    j--;
+                }
+                if (i <= j) {
+                    long swap = offsets[i];
+                    offsets[i++] = offsets[j];
+                    offsets[j--] = swap;
+                }
+            }
+
+            if (j - low < high - i) {
+                sort(segments, offsets, low, j);
+                low = i;
+            } else {
+                sort(segments, offsets, i, high);
+                high = j;
+            }
+        }
+
+        for (int i = low + 1; i <= high; i++) {
+            long offset = offsets[i];
+            int j = i - 1;
+            while (j >= low && compare(segments, offsets[j], offset) > 0) {
+                offsets[j + 1] = offsets[j];
+                j--;
+            }
+            offsets[j + 1] = offset;
+        }
+    }
+}
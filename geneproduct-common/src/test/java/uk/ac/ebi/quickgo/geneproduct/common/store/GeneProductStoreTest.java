@@ -0,0 +1,168 @@
+package uk.ac.ebi.quickgo.geneproduct.common.store;
+
+import uk.ac.ebi.quickgo.geneproduct.common.GeneProductDocument;
+import uk.ac.ebi.quickgo.geneproduct.common.common.GeneProductDocMocker;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Created 19/10/26
+ */
+public class GeneProductStoreTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path storePath;
+
+    @Before
+    public void setUp() {
+        storePath = temporaryFolder.getRoot().toPath().resolve("geneproducts.store");
+    }
+
+    @Test
+    public void storedGeneProductIsFoundById() throws IOException {
+        GeneProductDocument document = storedFields(GeneProductDocMocker.createDocWithId("A0A000"));
+        write(document);
+
+        try (GeneProductStore store = GeneProductStore.open(storePath)) {
+            assertThat(store.size(), is(1L));
+            assertThat(store.findById("A0A000"), is(Optional.of(document)));
+        }
+    }
+
+    @Test
+    public void geneProductsWrittenInAnyOrderAreFound() throws IOException {
+        List<String> ids = IntStream.range(0, 1000)
+                .mapToObj(i -> String.format("A%05d", (i * 7919) % 1000))
+                .collect(Collectors.toList());
+        write(ids.stream().map(GeneProductDocMocker::createDocWithId).toArray(GeneProductDocument[]::new));
+
+        try (GeneProductStore store = GeneProductStore.open(storePath)) {
+            assertThat(store.size(), is(1000L));
+            for (String id : ids) {
+                assertThat(store.findById(id).map(document -> document.id), is(Optional.of(id)));
+            }
+        }
+    }
+
+    @Test
+    public void missingIdIsNotFound() throws IOException {
+        write(GeneProductDocMocker.createDocWithId("A0A001"), GeneProductDocMocker.createDocWithId("A0A003"));
+
+        try (GeneProductStore store = GeneProductStore.open(storePath)) {
+            assertThat(store.findById("A0A000").isPresent(), is(false));
+            assertThat(store.findById("A0A002").isPresent(), is(false));
+            assertThat(store.findById("A0A0010").isPresent(), is(false));
+            assertThat(store.findById("a0a001").isPresent(), is(false));
+        }
+    }
+
+    @Test
+    public void geneProductsAreFoundInOrderOfIds() throws IOException {
+        write(GeneProductDocMocker.createDocWithId("A0A001"), GeneProductDocMocker.createDocWithId("A0A002"));
+
+        try (GeneProductStore store = GeneProductStore.open(storePath)) {
+            List<String> foundIds = store.findById(Arrays.asList("A0A002", "MISSING", "A0A001")).stream()
+                    .map(document -> document.id)
+                    .collect(Collectors.toList());
+            assertThat(foundIds, contains("A0A002", "A0A001"));
+        }
+    }
+
+    @Test
+    public void lastWrittenGeneProductOfAnIdIsStored() throws IOException {
+        GeneProductDocument first = GeneProductDocMocker.createDocWithId("A0A001");
+        GeneProductDocument second = GeneProductDocMocker.createDocWithId("A0A001");
+        second.name = "second name";
+        write(first, GeneProductDocMocker.createDocWithId("A0A000"), second);
+
+        try (GeneProductStore store = GeneProductStore.open(storePath)) {
+            assertThat(store.size(), is(2L));
+            assertThat(store.findById("A0A001").get().name, is("second name"));
+        }
+    }
+
+    @Test
+    public void nullAndNonAsciiFieldsAreStored() throws IOException {
+        GeneProductDocument document = new GeneProductDocument();
+        document.id = "URS0000\u00e9";
+        document.name = "\u03b1-actinin \u2013 \u4e2d\u6587";
+        document.synonyms = Collections.emptyList();
+        write(document);
+
+        try (GeneProductStore store = GeneProductStore.open(storePath)) {
+            GeneProductDocument found = store.findById("URS0000\u00e9").get();
+            assertThat(found.name, is(document.name));
+            assertThat(found.symbol, is(nullValue()));
+            assertThat(found.synonyms, is(Collections.emptyList()));
+            assertThat(found.taxonId, is(0));
+        }
+    }
+
+    @Test
+    public void emptyStoreFindsNothing() throws IOException {
+        write();
+
+        try (GeneProductStore store = GeneProductStore.open(storePath)) {
+            assertThat(store.size(), is(0L));
+            assertThat(store.findById("A0A000").isPresent(), is(false));
+        }
+    }
+
+    @Test
+    public void closingUnfinishedWriterDiscardsGeneProducts() throws IOException {
+        try (GeneProductStoreWriter writer = new GeneProductStoreWriter(storePath)) {
+            writer.write(GeneProductDocMocker.createDocWithId("A0A000"));
+        }
+
+        assertThat(Files.exists(storePath), is(false));
+        assertThat(Files.list(storePath.getParent()).count(), is(0L));
+    }
+
+    @Test(expected = IOException.class)
+    public void fileThatIsNotAStoreCannotBeOpened() throws IOException {
+        Files.write(storePath, "not a gene product store".getBytes());
+
+        GeneProductStore.open(storePath);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void geneProductWithoutIdCannotBeWritten() throws IOException {
+        write(new GeneProductDocument());
+    }
+
+    private void write(GeneProductDocument... documents) throws IOException {
+        try (GeneProductStoreWriter writer = new GeneProductStoreWriter(storePath)) {
+            for (GeneProductDocument document : documents) {
+                writer.write(document);
+            }
+            writer.finish();
+        }
+    }
+
+    /**
+     * Clears the fields that are not stored, since they are not returned by id look ups.
+     */
+    private static GeneProductDocument storedFields(GeneProductDocument document) {
+        document.taxonName = null;
+        document.targetSet = null;
+        return document;
+    }
+}
@@ -2,6 +2,7 @@ package uk.ac.ebi.quickgo.geneproduct.service;
 
 import uk.ac.ebi.quickgo.geneproduct.common.GeneProductDocument;
 import uk.ac.ebi.quickgo.geneproduct.common.GeneProductRepository;
+import uk.ac.ebi.quickgo.geneproduct.common.store.GeneProductStore;
 import uk.ac.ebi.quickgo.geneproduct.model.GeneProduct;
 import uk.ac.ebi.quickgo.geneproduct.service.converter.GeneProductDocConverter;
 import uk.ac.ebi.quickgo.rest.service.ServiceHelper;
@@ -20,9 +21,22 @@ public class GeneProductServiceImpl implements GeneProductService {
     private final ServiceHelper serviceHelper;
     private final GeneProductRepository geneProductRepository;
     private final GeneProductDocConverter converter;
+    private final GeneProductStore geneProductStore;
 
     public GeneProductServiceImpl(ServiceHelper serviceHelper, GeneProductRepository geneProductRepository,
             GeneProductDocConverter converter) {
+        this(serviceHelper, geneProductRepository, converter, null);
+    }
+
+    /**
+     * Creates a service that finds gene products by id in a {@link GeneProductStore}, if one is provided, rather
+     * than in the repository.
+     *
+     * @param geneProductStore the store in which to find gene products by id, or null if they are found in the
+     * repository
+     */
+    public GeneProductServiceImpl(ServiceHelper serviceHelper, GeneProductRepository geneProductRepository,
+            GeneProductDocConverter converter, GeneProductStore geneProductStore) {
 
         java.util.Objects.requireNonNull(serviceHelper, "The ServiceHelper instance passed to the constructor of " +
                 "GeneProductServiceImpl should not be null.");
@@ -36,6 +50,7 @@ public class GeneProductServiceImpl implements GeneProductService {
         this.serviceHelper = serviceHelper;
         this.geneProductRepository = geneProductRepository;
         this.converter = converter;
+        this.geneProductStore = geneProductStore;
     }
 
     /**
@@ -46,6 +61,9 @@ public class GeneProductServiceImpl implements GeneProductService {
      */
     @Override
     public List<GeneProduct> findById(List<String> ids) {
+        if (geneProductStore != null) {
+            return convertDocs(geneProductStore.findById(ids));
+        }
         return convertDocs(geneProductRepository.findById(serviceHelper.buildIdList(ids)));
     }
 
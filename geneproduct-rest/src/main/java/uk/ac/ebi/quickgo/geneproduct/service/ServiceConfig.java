@@ -5,6 +5,7 @@ import uk.ac.ebi.quickgo.common.validator.DbXRefEntity;
 import uk.ac.ebi.quickgo.common.validator.DbXRefEntityValidation;
 import uk.ac.ebi.quickgo.geneproduct.common.GeneProductRepoConfig;
 import uk.ac.ebi.quickgo.geneproduct.common.GeneProductRepository;
+import uk.ac.ebi.quickgo.geneproduct.common.store.GeneProductStore;
 import uk.ac.ebi.quickgo.geneproduct.service.converter.GeneProductDocConverter;
 import uk.ac.ebi.quickgo.geneproduct.service.converter.GeneProductDocConverterImpl;
 import uk.ac.ebi.quickgo.rest.controller.ControllerValidationHelper;
@@ -14,6 +15,8 @@ import uk.ac.ebi.quickgo.rest.search.SolrQueryStringSanitizer;
 import uk.ac.ebi.quickgo.rest.service.ServiceHelper;
 import uk.ac.ebi.quickgo.rest.service.ServiceHelperImpl;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,13 +50,16 @@ public class ServiceConfig {
     boolean xrefValidationCaseSensitive;
     @Value("${geneproduct.db.xref.valid.regexes}")
     private String xrefValidationRegexFile;
+    @Value("${geneproduct.store.path:}")
+    private String geneProductStorePath;
 
     @Bean
     public GeneProductService goGeneProductService(GeneProductRepository geneProductRepository) {
         return new GeneProductServiceImpl(
                 serviceHelper(),
                 geneProductRepository,
-                geneProductDocConverter());
+                geneProductDocConverter(),
+                geneProductStore());
     }
 
     @Bean
@@ -77,6 +83,30 @@ public class ServiceConfig {
         return DbXRefEntityValidation.createWithData(geneProductLoader().load());
     }
 
+    /**
+     * Opens the gene product store written by the gene product indexing job, if one is configured, so that gene
+     * products are found by id in the store rather than by querying Solr. If the store cannot be opened, gene
+     * products are found in Solr.
+     *
+     * @return the gene product store, or null if there is none
+     */
+    private GeneProductStore geneProductStore() {
+        if (geneProductStorePath == null || geneProductStorePath.isEmpty()) {
+            return null;
+        }
+
+        try {
+            GeneProductStore store = GeneProductStore.open(Paths.get(geneProductStorePath));
+            LOGGER.info("Finding gene products by id in gene product store {}, of {} gene products",
+                    geneProductStorePath, store.size());
+            return store;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error("Failed to open gene product store " + geneProductStorePath +
+                    "; gene products will be found in Solr", e);
+            return null;
+        }
+    }
+
     private DbXRefLoader geneProductLoader() {
         return new DbXRefLoader(this.xrefValidationRegexFile, xrefValidationCaseSensitive);
     }
@@ -4,28 +4,34 @@ import uk.ac.ebi.quickgo.geneproduct.common.GeneProductDocument;
 import uk.ac.ebi.quickgo.geneproduct.model.GeneProduct;
 import uk.ac.ebi.quickgo.geneproduct.service.converter.GeneProductDocConverter;
 import uk.ac.ebi.quickgo.rest.search.solr.AbstractSolrQueryResultConverter;
+import uk.ac.ebi.quickgo.rest.search.solr.SolrDocumentBinder;
 import uk.ac.ebi.quickgo.rest.search.solr.SolrQueryResultHighlightingConverter;
+import uk.ac.ebi.quickgo.rest.search.solr.StreamingSolrQueryResultConverter;
 
 import com.google.common.base.Preconditions;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import org.apache.solr.client.solrj.beans.DocumentObjectBinder;
+import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrDocumentList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Converts the Solr results into {@link GeneProduct} instances.
+ * Converts the Solr results into {@link GeneProduct} instances. Streamed documents are bound to
+ * {@link GeneProductDocument}s by a {@link SolrDocumentBinder}.
  *
  * Created 06/04/16
  * @author Edd
  */
-public class GeneProductSolrQueryResultConverter extends AbstractSolrQueryResultConverter<GeneProduct> {
+public class GeneProductSolrQueryResultConverter extends AbstractSolrQueryResultConverter<GeneProduct>
+        implements StreamingSolrQueryResultConverter<GeneProduct> {
     private static final Logger LOGGER = LoggerFactory.getLogger(GeneProductSolrQueryResultConverter.class);
 
     private final DocumentObjectBinder documentObjectBinder;
     private final GeneProductDocConverter geneProductDocConverter;
+    private final SolrDocumentBinder<GeneProductDocument> geneProductDocumentBinder;
 
     public GeneProductSolrQueryResultConverter(DocumentObjectBinder documentObjectBinder,
             GeneProductDocConverter geneProductDocConverter,
@@ -36,6 +42,7 @@ public class GeneProductSolrQueryResultConverter extends AbstractSolrQueryResult
 
         this.documentObjectBinder = documentObjectBinder;
         this.geneProductDocConverter = geneProductDocConverter;
+        this.geneProductDocumentBinder = new SolrDocumentBinder<>(GeneProductDocument.class, GeneProductDocument::new);
 
         this.setQueryResultHighlightingConverter(new SolrQueryResultHighlightingConverter(fieldNameMap));
     }
@@ -49,4 +56,8 @@ public class GeneProductSolrQueryResultConverter extends AbstractSolrQueryResult
                 .map(geneProductDocConverter::convert)
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    @Override public GeneProduct convertDocument(SolrDocument document) {
+        return geneProductDocConverter.convert(geneProductDocumentBinder.bind(document));
+    }
+}
@@ -3,6 +3,7 @@ package uk.ac.ebi.quickgo.geneproduct.service;
 import uk.ac.ebi.quickgo.geneproduct.common.GeneProductDocument;
 import uk.ac.ebi.quickgo.geneproduct.common.GeneProductRepository;
 import uk.ac.ebi.quickgo.geneproduct.common.common.GeneProductDocMocker;
+import uk.ac.ebi.quickgo.geneproduct.common.store.GeneProductStore;
 import uk.ac.ebi.quickgo.geneproduct.model.GeneProduct;
 import uk.ac.ebi.quickgo.geneproduct.service.converter.GeneProductDocConverter;
 import uk.ac.ebi.quickgo.rest.service.ServiceHelper;
@@ -20,6 +21,9 @@ import org.mockito.runners.MockitoJUnitRunner;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -44,6 +48,9 @@ public class GeneProductServiceImplTest {
     @Mock
     private GeneProductDocConverter geneProductDocConverter;
 
+    @Mock
+    private GeneProductStore geneProductStore;
+
     private GeneProductDocument geneProductDocument;
 
     private GeneProduct geneProduct;
@@ -115,6 +122,18 @@ public class GeneProductServiceImplTest {
         assertThat(geneProducts, hasSize(0));
     }
 
+    @Test
+    public void findByIdUsesStoreInsteadOfRepository() {
+        GeneProductService storeService = new GeneProductServiceImpl(serviceHelper, geneProductRepository,
+                geneProductDocConverter, geneProductStore);
+        when(geneProductStore.findById(id)).thenReturn(Collections.singletonList(geneProductDocument));
+
+        List<GeneProduct> geneProducts = storeService.findById(id);
+
+        assertThat(geneProducts, contains(geneProduct));
+        verify(geneProductRepository, never()).findById(anyListOf(String.class));
+    }
+
     @Test
     public void findTargetSet() {
         List<GeneProduct> geneProducts = geneProductService.findByTargetSet(targetSet);
@@ -0,0 +1,165 @@
+package uk.ac.ebi.quickgo.index.annotation;
+
+/**
+ * <p>Single-pass validators for the annotation columns whose formats are lists of values separated by commas and
+ * pipes. Each validator accepts exactly the same values as the corresponding regular expression in
+ * {@link AnnotationParsingHelper}, but runs in time linear to the length of the value; whereas the nested
+ * repetition within the regular expressions causes them to backtrack heavily on long, invalid values.
+ *
+ * <ul>
+ *     <li>{@link #isValidWith(String)}: {@link AnnotationParsingHelper#WITH_REGEX}</li>
+ *     <li>{@link #isValidExtension(String)}: {@link AnnotationParsingHelper#ANNOTATION_EXTENSION_REGEX}</li>
+ *     <li>{@link #isValidProperties(String)}: {@link AnnotationParsingHelper#ANNOTATION_PROPERTIES_REGEX}</li>
+ * </ul>
+ *
+ * Created 19/10/26
+ */
+final class AnnotationColumnValidators {
+    private static final char COMMA = ',';
+    private static final char PIPE = '|';
+    private static final char COLON = ':';
+    private static final char EQUALS = '=';
+    private static final char LEFT_BRACE = '(';
+    private static final char RIGHT_BRACE = ')';
+
+    private static final int EXPECTING_WORD = 0;
+    private static final int IN_WORD = 1;
+    private static final int IN_BRACES = 2;
+    private static final int AFTER_BRACES = 3;
+
+    private AnnotationColumnValidators() {}
+
+    /**
+     * Checks a with/from value: a comma or pipe separated list of references, each of which consists of two or more
+     * non-empty words separated by colons, e.g., {@code UniProtKB:P12345,InterPro:IPR000001|GO:0005515}.
+     *
+     * @param value the value to check
+     * @return whether {@code value} matches {@link AnnotationParsingHelper#WITH_REGEX}
+     */
+    static boolean isValidWith(String value) {
+        int wordLength = 0;
+        int wordsInReference = 1;
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (isReferenceWordCharacter(c)) {
+                wordLength++;
+            } else if (c == COLON) {
+                if (wordLength == 0) {
+                    return false;
+                }
+                wordsInReference++;
+                wordLength = 0;
+            } else if (isSeparator(c)) {
+                if (wordLength == 0 || wordsInReference < 2) {
+                    return false;
+                }
+                wordsInReference = 1;
+                wordLength = 0;
+            } else {
+                return false;
+            }
+        }
+
+        return wordLength > 0 && wordsInReference >= 2;
+    }
+
+    /**
+     * Checks an annotation extension value: a comma or pipe separated list of words, each of which is optionally
+     * followed by a non-empty word within braces, e.g., {@code occurs_in(CL:0000001),part_of(GO:0005634)}.
+     *
+     * @param value the value to check
+     * @return whether {@code value} matches {@link AnnotationParsingHelper#ANNOTATION_EXTENSION_REGEX}
+     */
+    static boolean isValidExtension(String value) {
+        int state = EXPECTING_WORD;
+        int bracedWordLength = 0;
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (state) {
+                case EXPECTING_WORD:
+                    if (!isExtensionWordCharacter(c)) {
+                        return false;
+                    }
+                    state = IN_WORD;
+                    break;
+                case IN_WORD:
+                    if (c == LEFT_BRACE) {
+                        state = IN_BRACES;
+                        bracedWordLength = 0;
+                    } else if (isSeparator(c)) {
+                        state = EXPECTING_WORD;
+                    } else if (!isExtensionWordCharacter(c)) {
+                        return false;
+                    }
+                    break;
+                case IN_BRACES:
+                    if (c == RIGHT_BRACE && bracedWordLength > 0) {
+                        state = AFTER_BRACES;
+                    } else if (isExtensionWordCharacter(c)) {
+                        bracedWordLength++;
+                    } else {
+                        return false;
+                    }
+                    break;
+                default:
+                    if (!isSeparator(c)) {
+                        return false;
+                    }
+                    state = EXPECTING_WORD;
+            }
+        }
+
+        return state == IN_WORD || state == AFTER_BRACES;
+    }
+
+    /**
+     * Checks an annotation properties value: a comma or pipe separated list of key/value pairs. Since the format
+     * of each pair, {@code .*=.*}, may itself contain separators, the value need only be a single line that contains
+     * an equals sign.
+     *
+     * @param value the value to check
+     * @return whether {@code value} matches {@link AnnotationParsingHelper#ANNOTATION_PROPERTIES_REGEX}
+     */
+    static boolean isValidProperties(String value) {
+        boolean containsEquals = false;
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == EQUALS) {
+                containsEquals = true;
+            } else if (isLineTerminator(c)) {
+                return false;
+            }
+        }
+
+        return containsEquals;
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == COMMA || c == PIPE;
+    }
+
+    /**
+     * Characters matched by {@code [A-Za-z0-9_\.-]}.
+     */
+    private static boolean isReferenceWordCharacter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') ||
+                c == '_' || c == '.' || c == '-';
+    }
+
+    /**
+     * Characters matched by {@code [a-zA-Z0-9_:\.-]}.
+     */
+    private static boolean isExtensionWordCharacter(char c) {
+        return isReferenceWordCharacter(c) || c == COLON;
+    }
+
+    /**
+     * Characters not matched by {@code .}, when no flags are set.
+     */
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+}
@@ -3,6 +3,7 @@ package uk.ac.ebi.quickgo.index.annotation;
 import uk.ac.ebi.quickgo.annotation.common.AnnotationDocument;
 import uk.ac.ebi.quickgo.annotation.common.AnnotationRepoConfig;
 import uk.ac.ebi.quickgo.index.common.GZipBufferedReaderFactory;
+import uk.ac.ebi.quickgo.index.common.ParallelSolrServerWriter;
 import uk.ac.ebi.quickgo.index.common.SolrServerWriter;
 
 import java.util.function.Function;
@@ -45,6 +46,12 @@ public class AnnotationConfig {
     private Resource[] resources;
     @Value("${indexing.annotation.header.lines:21}")
     private int headerLines;
+    @Value("${indexing.annotation.writer.threads:0}")
+    private int writerThreads;
+    @Value("${indexing.annotation.writer.chunks.in.flight:0}")
+    private int writerChunksInFlight;
+    @Value("${indexing.annotation.low.allocation:false}")
+    private boolean lowAllocation;
 
     @Autowired
     private SolrTemplate annotationTemplate;
@@ -68,6 +75,10 @@ public class AnnotationConfig {
 
     @Bean
     LineMapper<Annotation> annotationLineMapper() {
+        if (lowAllocation) {
+            return new LowAllocationAnnotationLineMapper();
+        }
+
         DefaultLineMapper<Annotation> lineMapper = new DefaultLineMapper<>();
         lineMapper.setLineTokenizer(annotationLineTokenizer());
         lineMapper.setFieldSetMapper(annotationFieldSetMapper());
@@ -86,6 +97,9 @@ public class AnnotationConfig {
 
     @Bean
     ItemProcessor<Annotation, AnnotationDocument> annotationDocConverter() {
+        if (lowAllocation) {
+            return new LowAllocationAnnotationDocumentConverter();
+        }
         return new AnnotationDocumentConverter();
     }
 
@@ -106,8 +120,19 @@ public class AnnotationConfig {
         return (AnnotationDocument doc) -> doc.geneProductId;
     }
 
+    /**
+     * Creates the writer of annotation documents to Solr. If writer threads are configured, each chunk of documents is
+     * split between them and sent in parallel by a {@link ParallelSolrServerWriter}, so that the next chunk is
+     * read while up to the configured number of chunks in flight are being sent.
+     *
+     * @return the annotation Solr writer
+     */
     @Bean
     ItemWriter<AnnotationDocument> annotationSolrServerWriter() {
+        if (writerThreads > 0) {
+            return new ParallelSolrServerWriter<>(annotationTemplate.getSolrClient(), writerThreads,
+                    writerChunksInFlight);
+        }
         return new SolrServerWriter<>(annotationTemplate.getSolrClient());
     }
 }
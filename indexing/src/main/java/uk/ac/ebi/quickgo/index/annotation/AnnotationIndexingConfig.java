@@ -5,11 +5,14 @@ import uk.ac.ebi.quickgo.annotation.common.AnnotationRepoConfig;
 import uk.ac.ebi.quickgo.common.QuickGODocument;
 import uk.ac.ebi.quickgo.index.annotation.coterms.CoTermsAggregationWriter;
 import uk.ac.ebi.quickgo.index.annotation.coterms.CoTermsConfig;
+import uk.ac.ebi.quickgo.index.annotation.delta.AnnotationChangeDetector;
+import uk.ac.ebi.quickgo.index.annotation.delta.ChangedGeneProductWriter;
 import uk.ac.ebi.quickgo.index.common.listener.ItemRateWriterListener;
 import uk.ac.ebi.quickgo.index.common.listener.LogJobListener;
 import uk.ac.ebi.quickgo.index.common.listener.LogStepListener;
 import uk.ac.ebi.quickgo.index.common.listener.SkipLoggerListener;
 
+import java.nio.file.Paths;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
@@ -18,6 +21,8 @@ import org.springframework.batch.core.*;
 import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
 import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
 import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.job.builder.SimpleJobBuilder;
+import org.springframework.batch.core.listener.StepExecutionListenerSupport;
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.batch.item.ItemWriter;
 import org.springframework.batch.item.file.FlatFileParseException;
@@ -47,6 +52,7 @@ import org.springframework.retry.backoff.ExponentialBackOffPolicy;
 public class AnnotationIndexingConfig {
     private static final String ANNOTATION_INDEXING_JOB_NAME = "annotationIndexingJob";
     private static final String ANNOTATION_INDEXING_STEP_NAME = "annotationIndexStep";
+    private static final String ANNOTATION_CHANGE_DETECTION_STEP_NAME = "annotationChangeDetectionStep";
 
     @Value("${indexing.annotation.source}")
     private Resource[] resources;
@@ -66,6 +72,8 @@ public class AnnotationIndexingConfig {
     private int maxBackOffInterval;
     @Value("${indexing.annotation.retries.retryLimit:20}")
     private int retryLimit;
+    @Value("${indexing.annotation.delta.fingerprints:}")
+    private String fingerprintsFile;
 
     @Autowired
     private SolrTemplate annotationTemplate;
@@ -92,25 +100,52 @@ public class AnnotationIndexingConfig {
     @Autowired
     private ItemProcessor<AnnotationDocument, AnnotationDocument> annotationShardGenerator;
 
+    /**
+     * Creates the annotation indexing job. If a fingerprints file is configured, only the documents of gene products
+     * whose annotations have changed since the last job are sent to Solr; see {@link AnnotationChangeDetector}. The
+     * co-term steps always aggregate all annotations.
+     *
+     * @return the annotation indexing job
+     */
     @Bean
     public Job annotationJob() {
-        return jobBuilders.get(ANNOTATION_INDEXING_JOB_NAME)
-                          .start(annotationIndexingStep())
-                          .next(coTermManualSummarizationStep)
-                          .next(coTermAllSummarizationStep)
-                          .listener(logJobListener())
-                          // commit the documents to the solr server
-                          .listener(new JobExecutionListener() {
-                              @Override public void beforeJob(JobExecution jobExecution) {}
-
-                              @Override public void afterJob(JobExecution jobExecution) {
-                                  annotationTemplate.commit();
-                              }
-                          })
-                          .build();
+        SimpleJobBuilder jobBuilder;
+        if (fingerprintsFile.isEmpty()) {
+            jobBuilder = jobBuilders.get(ANNOTATION_INDEXING_JOB_NAME)
+                    .start(annotationIndexingStep(annotationSolrServerWriter));
+        } else {
+            AnnotationChangeDetector changeDetector = new AnnotationChangeDetector(resources, headerLines,
+                    Paths.get(fingerprintsFile), annotationTemplate.getSolrClient());
+            jobBuilder = jobBuilders.get(ANNOTATION_INDEXING_JOB_NAME)
+                    // registered first, so that fingerprints are recorded after the documents are committed
+                    .listener(changeDetector)
+                    .start(annotationChangeDetectionStep(changeDetector))
+                    .next(annotationIndexingStep(
+                            new ChangedGeneProductWriter(changeDetector, annotationSolrServerWriter)));
+        }
+
+        return jobBuilder.next(coTermManualSummarizationStep)
+                .next(coTermAllSummarizationStep)
+                .listener(logJobListener())
+                // commit the documents to the solr server
+                .listener(new JobExecutionListener() {
+                    @Override public void beforeJob(JobExecution jobExecution) {}
+
+                    @Override public void afterJob(JobExecution jobExecution) {
+                        annotationTemplate.commit();
+                    }
+                })
+                .build();
     }
 
-    private Step annotationIndexingStep() {
+    private Step annotationChangeDetectionStep(AnnotationChangeDetector changeDetector) {
+        return stepBuilders.get(ANNOTATION_CHANGE_DETECTION_STEP_NAME)
+                .tasklet(changeDetector)
+                .listener(logStepListener())
+                .build();
+    }
+
+    private Step annotationIndexingStep(ItemWriter<AnnotationDocument> solrServerWriter) {
         return stepBuilders.get(ANNOTATION_INDEXING_STEP_NAME)
                 .<Annotation, AnnotationDocument>chunk(chunkSize)
                 .faultTolerant()
@@ -122,10 +157,11 @@ public class AnnotationIndexingConfig {
                 .backOffPolicy(backOffPolicy())
                 .<Annotation>reader(annotationMultiFileReader)
                 .processor(annotationCompositeProcessor())
-                .<AnnotationDocument>writer(compositeAnnotationWriter())
+                .<AnnotationDocument>writer(compositeAnnotationWriter(solrServerWriter))
                 .listener(logWriteRateListener())
                 .listener(logStepListener())
                 .listener(skipLogListener())
+                .listener(solrServerWriterListener())
                 .build();
     }
 
@@ -136,10 +172,10 @@ public class AnnotationIndexingConfig {
         return backOffPolicy;
     }
 
-    private ItemWriter<AnnotationDocument> compositeAnnotationWriter() {
+    private ItemWriter<AnnotationDocument> compositeAnnotationWriter(ItemWriter<AnnotationDocument> solrServerWriter) {
         CompositeItemWriter<AnnotationDocument> compositeItemWriter = new CompositeItemWriter<>();
         List<ItemWriter<? super AnnotationDocument>> writerList = new ArrayList<>();
-        writerList.add(annotationSolrServerWriter);
+        writerList.add(solrServerWriter);
         writerList.add(coTermsManualAggregationWriter);
         writerList.add(coTermsAllAggregationWriter);
         compositeItemWriter.setDelegates(writerList);
@@ -169,6 +205,15 @@ public class AnnotationIndexingConfig {
         return new LogStepListener();
     }
 
+    /**
+     * A parallel Solr writer must be notified when the step finishes, so that it can wait for the chunks in flight
+     * and fail the step if any of them could not be indexed.
+     */
+    private StepExecutionListener solrServerWriterListener() {
+        return annotationSolrServerWriter instanceof StepExecutionListener ?
+                (StepExecutionListener) annotationSolrServerWriter : new StepExecutionListenerSupport();
+    }
+
     private SkipLoggerListener<Annotation, AnnotationDocument> skipLogListener() {
         return new SkipLoggerListener<>();
     }
@@ -5,6 +5,9 @@ import org.springframework.batch.item.validator.ValidationException;
 import org.springframework.batch.item.validator.Validator;
 import uk.ac.ebi.quickgo.index.common.DocumentReaderException;
 
+import static uk.ac.ebi.quickgo.index.annotation.AnnotationColumnValidators.isValidExtension;
+import static uk.ac.ebi.quickgo.index.annotation.AnnotationColumnValidators.isValidProperties;
+import static uk.ac.ebi.quickgo.index.annotation.AnnotationColumnValidators.isValidWith;
 import static uk.ac.ebi.quickgo.index.annotation.AnnotationParsingHelper.*;
 import static uk.ac.ebi.quickgo.index.annotation.Columns.*;
 import static uk.ac.ebi.quickgo.index.common.validation.ValidationHelper.checkIsNullOrEmpty;
@@ -15,6 +18,9 @@ import static uk.ac.ebi.quickgo.index.common.validation.ValidationHelper.handleF
  * step takes place before allowing an {@link Annotation} object to be
  * indexed -- as part of a Spring Batch job.
  *
+ * <p>The with, extension and properties columns are checked by the linear-time {@link AnnotationColumnValidators},
+ * rather than by their corresponding regular expressions, which are still reported in validation errors.
+ *
  * Created 20/04/16
  * @author Edd
  */
@@ -66,7 +72,7 @@ class AnnotationValidator implements Validator<Annotation> {
 
     private void checkProperties(Annotation annotation) {
         if (!Strings.isNullOrEmpty(annotation.annotationProperties)) {
-            if (!ANNOTATION_PROPERTIES_REGEX.matcher(annotation.annotationProperties).matches()) {
+            if (!isValidProperties(annotation.annotationProperties)) {
                 handleFieldPatternMismatchError(
                         "Annotation Properties",
                         annotation.annotationProperties,
@@ -95,7 +101,7 @@ class AnnotationValidator implements Validator<Annotation> {
 
     private void checkExtensions(Annotation annotation) {
         if (!Strings.isNullOrEmpty(annotation.annotationExtension) &&
-                !ANNOTATION_EXTENSION_REGEX.matcher(annotation.annotationExtension).matches()) {
+                !isValidExtension(annotation.annotationExtension)) {
             handleFieldPatternMismatchError(
                     "Annotation Extension",
                     annotation.annotationExtension,
@@ -116,7 +122,7 @@ class AnnotationValidator implements Validator<Annotation> {
     }
 
     private void checkWith(Annotation annotation) {
-        if (!Strings.isNullOrEmpty(annotation.with) && !WITH_REGEX.matcher(annotation.with).matches()) {
+        if (!Strings.isNullOrEmpty(annotation.with) && !isValidWith(annotation.with)) {
             handleFieldPatternMismatchError(
                     "With",
                     annotation.with,
@@ -0,0 +1,356 @@
+package uk.ac.ebi.quickgo.index.annotation;
+
+import uk.ac.ebi.quickgo.annotation.common.AnnotationDocument;
+import uk.ac.ebi.quickgo.index.common.DocumentReaderException;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.springframework.batch.item.ItemProcessor;
+
+import static java.util.Collections.singletonList;
+import static org.slf4j.LoggerFactory.getLogger;
+import static uk.ac.ebi.quickgo.index.annotation.AnnotationDocumentConverter.DEFAULT_TAXON;
+import static uk.ac.ebi.quickgo.index.annotation.AnnotationParsingHelper.*;
+
+/**
+ * <p>Converts an {@link Annotation} object into an {@link AnnotationDocument} object, producing the same documents
+ * as an {@link AnnotationDocumentConverter}, whilst allocating far fewer intermediate objects.
+ *
+ * <p>The annotation properties are scanned once, and the positions of the values of interest are recorded in a
+ * buffer that is re-used by each thread, rather than in a map of every property. Taxon identifiers and dates are
+ * parsed directly from the characters of the annotation, rather than by regular expressions and date formatters;
+ * only invalid dates are handed to a date formatter, so that they are reported in the same way.
+ *
+ * <p>The only intended difference in behaviour concerns a property that is empty (other than at the end of the
+ * properties), or consists solely of equals signs, which is ignored, whereas {@link AnnotationDocumentConverter}
+ * fails to convert the annotation.
+ *
+ * Created 19/10/26
+ */
+class LowAllocationAnnotationDocumentConverter implements ItemProcessor<Annotation, AnnotationDocument> {
+    private static final Logger LOGGER = getLogger(LowAllocationAnnotationDocumentConverter.class);
+    private static final String ANNOTATION_DATE_FORMAT = "yyyyMMdd";
+    private static final int ANNOTATION_DATE_LENGTH = ANNOTATION_DATE_FORMAT.length();
+    private static final String INTERACTING_TAXON_PREFIX = "taxon:";
+    private static final char PIPE = '|';
+    private static final char COMMA = ',';
+    private static final char EQUALS = '=';
+    private static final String COLON = ":";
+    private static final int NOT_FOUND = -1;
+
+    /**
+     * The property keys whose values are copied into each document; the index of each key identifies the position
+     * of its value within the buffer of property value positions.
+     */
+    private static final String[] PROPERTY_KEYS =
+            {GO_EVIDENCE, DB_OBJECT_SUBSET, DB_OBJECT_SYMBOL, DB_OBJECT_TYPE, TAXON_ID, TARGET_SET, GO_ASPECT,
+                    TAXON_ANCESTORS, PROTEOME};
+    private static final int GO_EVIDENCE_KEY = 0;
+    private static final int DB_OBJECT_SUBSET_KEY = 1;
+    private static final int DB_OBJECT_SYMBOL_KEY = 2;
+    private static final int DB_OBJECT_TYPE_KEY = 3;
+    private static final int TAXON_ID_KEY = 4;
+    private static final int TARGET_SET_KEY = 5;
+    private static final int GO_ASPECT_KEY = 6;
+    private static final int TAXON_ANCESTORS_KEY = 7;
+    private static final int PROTEOME_KEY = 8;
+
+    private static final ThreadLocal<int[]> PROPERTY_VALUE_POSITIONS =
+            ThreadLocal.withInitial(() -> new int[PROPERTY_KEYS.length * 2]);
+
+    private static final int[] DAYS_IN_MONTH = {31, 29, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    private final DateTimeFormatter dateTimeFormatter;
+    private final AtomicLong documentCounter;
+
+    LowAllocationAnnotationDocumentConverter() {
+        this.documentCounter = new AtomicLong(0L);
+        this.dateTimeFormatter = DateTimeFormatter.ofPattern(ANNOTATION_DATE_FORMAT);
+    }
+
+    @Override
+    public AnnotationDocument process(Annotation annotation) {
+        if (annotation == null) {
+            throw new DocumentReaderException("Annotation object is null");
+        }
+
+        String properties = annotation.annotationProperties;
+        int[] propertyValuePositions = PROPERTY_VALUE_POSITIONS.get();
+        findPropertyValues(properties, propertyValuePositions);
+
+        AnnotationDocument doc = new AnnotationDocument();
+
+        doc.id = Long.toString(documentCounter.getAndIncrement());
+        doc.geneProductId = annotation.db + COLON + annotation.dbObjectId;
+        doc.qualifier = annotation.qualifier;
+        doc.goId = annotation.goId;
+        doc.reference = annotation.dbReferences;
+        doc.assignedBy = annotation.assignedBy;
+        doc.evidenceCode = annotation.evidenceCode;
+        doc.extensions = annotation.annotationExtension;
+        doc.withFrom = annotation.with == null ? null : split(annotation.with, 0, annotation.with.length(), PIPE);
+        doc.interactingTaxonId = extractInteractingTaxonId(annotation.interactingTaxonId);
+        doc.goEvidence = propertyValue(properties, propertyValuePositions, GO_EVIDENCE_KEY);
+        doc.geneProductSubset = propertyValue(properties, propertyValuePositions, DB_OBJECT_SUBSET_KEY);
+        doc.symbol = propertyValue(properties, propertyValuePositions, DB_OBJECT_SYMBOL_KEY);
+        doc.geneProductType = propertyValue(properties, propertyValuePositions, DB_OBJECT_TYPE_KEY);
+        doc.taxonId = extractTaxonId(properties, propertyValuePositions);
+        doc.targetSets = constructTargetSets(properties, propertyValuePositions);
+        doc.goAspect = propertyValue(properties, propertyValuePositions, GO_ASPECT_KEY);
+        doc.date = createDateFromString(annotation.date);
+        doc.taxonAncestors = constructTaxonAncestors(properties, propertyValuePositions);
+        doc.proteome = propertyValue(properties, propertyValuePositions, PROTEOME_KEY);
+
+        return doc;
+    }
+
+    /**
+     * Records the start and end of the value of each of the {@link #PROPERTY_KEYS} within a pipe separated list of
+     * key/value pairs. Values are interpreted as by
+     * {@link uk.ac.ebi.quickgo.index.common.datafile.GOADataFileParsingHelper#convertLinePropertiesToMap}: the
+     * value of a pair is the text between its first and second equals signs, unless it is followed by further
+     * text, in which case it is empty; the last value of a repeated key is used.
+     */
+    private static void findPropertyValues(String properties, int[] positions) {
+        Arrays.fill(positions, NOT_FOUND);
+        if (properties == null) {
+            return;
+        }
+
+        int pairStart = 0;
+        while (pairStart <= properties.length()) {
+            int pairEnd = properties.indexOf(PIPE, pairStart);
+            if (pairEnd == NOT_FOUND) {
+                pairEnd = properties.length();
+            }
+
+            // trailing equals signs are ignored, as they are by String#split
+            int end = pairEnd;
+            while (end > pairStart && properties.charAt(end - 1) == EQUALS) {
+                end--;
+            }
+
+            boolean onlyEqualsSigns = end == pairStart && pairEnd > pairStart;
+            if (!onlyEqualsSigns) {
+                int keyEnd = indexOf(properties, EQUALS, pairStart, end);
+                if (keyEnd == NOT_FOUND) {
+                    recordPropertyValue(properties, pairStart, end, end, end, positions);
+                } else if (indexOf(properties, EQUALS, keyEnd + 1, end) == NOT_FOUND) {
+                    recordPropertyValue(properties, pairStart, keyEnd, keyEnd + 1, end, positions);
+                } else {
+                    recordPropertyValue(properties, pairStart, keyEnd, keyEnd, keyEnd, positions);
+                }
+            }
+
+            pairStart = pairEnd + 1;
+        }
+    }
+
+    private static int indexOf(String value, char c, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (value.charAt(i) == c) {
+                return i;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    private static void recordPropertyValue(String properties, int keyStart, int keyEnd, int valueStart,
+            int valueEnd, int[] positions) {
+        int keyLength = keyEnd - keyStart;
+        for (int key = 0; key < PROPERTY_KEYS.length; key++) {
+            String propertyKey = PROPERTY_KEYS[key];
+            if (propertyKey.length() == keyLength && properties.regionMatches(keyStart, propertyKey, 0, keyLength)) {
+                positions[key * 2] = valueStart;
+                positions[key * 2 + 1] = valueEnd;
+                return;
+            }
+        }
+    }
+
+    private static String propertyValue(String properties, int[] positions, int key) {
+        int start = positions[key * 2];
+        return start == NOT_FOUND ? null : properties.substring(start, positions[key * 2 + 1]);
+    }
+
+    private static int extractInteractingTaxonId(String interactingTaxonId) {
+        if (interactingTaxonId != null && interactingTaxonId.startsWith(INTERACTING_TAXON_PREFIX) &&
+                isTaxonId(interactingTaxonId, INTERACTING_TAXON_PREFIX.length(), interactingTaxonId.length())) {
+            return parseInt(interactingTaxonId, INTERACTING_TAXON_PREFIX.length(), interactingTaxonId.length());
+        }
+        return DEFAULT_TAXON;
+    }
+
+    private static int extractTaxonId(String properties, int[] positions) {
+        int start = positions[TAXON_ID_KEY * 2];
+        int end = positions[TAXON_ID_KEY * 2 + 1];
+        if (start != NOT_FOUND && isTaxonId(properties, start, end)) {
+            return parseInt(properties, start, end);
+        }
+        return DEFAULT_TAXON;
+    }
+
+    private static List<Integer> constructTaxonAncestors(String properties, int[] positions) {
+        int start = positions[TAXON_ANCESTORS_KEY * 2];
+        int end = positions[TAXON_ANCESTORS_KEY * 2 + 1];
+        if (start == NOT_FOUND || start == end) {
+            return singletonList(DEFAULT_TAXON);
+        }
+
+        // every ancestor is checked before any is parsed, so that invalid lineages are never parsed
+        for (int ancestorStart = start; ancestorStart <= end; ) {
+            int ancestorEnd = ancestorEnd(properties, ancestorStart, end);
+            if (!isTaxonId(properties, ancestorStart, ancestorEnd)) {
+                return singletonList(DEFAULT_TAXON);
+            }
+            ancestorStart = ancestorEnd + 1;
+        }
+
+        List<Integer> ancestors = new ArrayList<>();
+        for (int ancestorStart = start; ancestorStart <= end; ) {
+            int ancestorEnd = ancestorEnd(properties, ancestorStart, end);
+            ancestors.add(parseInt(properties, ancestorStart, ancestorEnd));
+            ancestorStart = ancestorEnd + 1;
+        }
+        return ancestors;
+    }
+
+    private static int ancestorEnd(String properties, int ancestorStart, int end) {
+        int ancestorEnd = indexOf(properties, COMMA, ancestorStart, end);
+        return ancestorEnd == NOT_FOUND ? end : ancestorEnd;
+    }
+
+    private static List<String> constructTargetSets(String properties, int[] positions) {
+        int start = positions[TARGET_SET_KEY * 2];
+        return start == NOT_FOUND ? null : split(properties, start, positions[TARGET_SET_KEY * 2 + 1], COMMA);
+    }
+
+    /**
+     * Splits a region of a value as {@link String#split(String)} would, i.e., trailing empty values are removed.
+     */
+    private static List<String> split(String value, int start, int end, char delimiter) {
+        List<String> values = new ArrayList<>();
+        int valueStart = start;
+        int lastNonEmptyValue = 0;
+        while (valueStart <= end && start < end) {
+            int valueEnd = value.indexOf(delimiter, valueStart);
+            if (valueEnd == NOT_FOUND || valueEnd > end) {
+                valueEnd = end;
+            }
+            values.add(value.substring(valueStart, valueEnd));
+            if (valueEnd > valueStart) {
+                lastNonEmptyValue = values.size();
+            }
+            valueStart = valueEnd + 1;
+        }
+        while (values.size() > lastNonEmptyValue) {
+            values.remove(values.size() - 1);
+        }
+        return values;
+    }
+
+    /**
+     * Checks a region of a value matches {@code [1-9]+[0-9]*}.
+     */
+    private static boolean isTaxonId(String value, int start, int end) {
+        if (start >= end || value.charAt(start) < '1' || value.charAt(start) > '9') {
+            return false;
+        }
+        for (int i = start + 1; i < end; i++) {
+            if (!isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses a region of digits, as {@link Integer#parseInt(String)} would.
+     *
+     * @throws NumberFormatException if the number is too large to be an int
+     */
+    private static int parseInt(String value, int start, int end) {
+        int result = 0;
+        for (int i = start; i < end; i++) {
+            int digit = value.charAt(i) - '0';
+            if (result > (Integer.MAX_VALUE - digit) / 10) {
+                throw new NumberFormatException("For input string: \"" + value.substring(start, end) + "\"");
+            }
+            result = result * 10 + digit;
+        }
+        return result;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Creates a UTC {@link Date} from a date string of the form YYYYMMDD. Dates that cannot be parsed directly
+     * are handed to the same date formatter as {@link AnnotationDocumentConverter}, which either resolves them,
+     * or logs the error, in which case null is returned.
+     */
+    private Date createDateFromString(String date) {
+        if (date == null || date.isEmpty()) {
+            return null;
+        }
+
+        if (date.length() == ANNOTATION_DATE_LENGTH && isDigits(date)) {
+            int year = parseInt(date, 0, 4);
+            int month = parseInt(date, 4, 6);
+            int day = parseInt(date, 6, 8);
+            if (year > 0 && month >= 1 && month <= 12 && day >= 1 && day <= daysInMonth(year, month)) {
+                return new Date(TimeUnit.DAYS.toMillis(epochDay(year, month, day)));
+            }
+        }
+
+        try {
+            LocalDate localDate = LocalDate.parse(date, dateTimeFormatter);
+            return Date.from(localDate.atStartOfDay(ZoneOffset.UTC).toInstant());
+        } catch (IllegalArgumentException | DateTimeParseException iae) {
+            LOGGER.error("Could not parse annotation date: " + date, iae);
+        }
+        return null;
+    }
+
+    private static boolean isDigits(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (!isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        if (month == 2 && !isLeapYear(year)) {
+            return 28;
+        }
+        return DAYS_IN_MONTH[month - 1];
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year % 4 == 0) && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    /**
+     * The number of days between 1970-01-01 and the given date of the proleptic Gregorian calendar.
+     */
+    private static long epochDay(int year, int month, int day) {
+        long adjustedYear = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(adjustedYear, 400);
+        long yearOfEra = adjustedYear - era * 400;
+        long dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+}
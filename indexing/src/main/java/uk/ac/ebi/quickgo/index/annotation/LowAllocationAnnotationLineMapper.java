@@ -0,0 +1,93 @@
+package uk.ac.ebi.quickgo.index.annotation;
+
+import org.springframework.batch.item.file.LineMapper;
+import org.springframework.batch.item.file.transform.IncorrectTokenCountException;
+
+import static uk.ac.ebi.quickgo.index.annotation.Columns.*;
+
+/**
+ * <p>Converts a line of an annotation file into an {@link Annotation} object, in a single pass over the line.
+ *
+ * <p>This mapper produces the same {@link Annotation}s as a tab delimited
+ * {@link org.springframework.batch.item.file.transform.DelimitedLineTokenizer} combined with a
+ * {@link StringToAnnotationMapper}, but without creating an intermediate
+ * {@link org.springframework.batch.item.file.transform.FieldSet}, nor an untrimmed copy of each column: the
+ * positions of the tabs are recorded in a buffer that is re-used by each thread, and each column is then trimmed
+ * and copied once. Unlike the tokenizer, quote characters are treated like any other character, since GPAD
+ * columns are never quoted.
+ *
+ * Created 19/10/26
+ */
+class LowAllocationAnnotationLineMapper implements LineMapper<Annotation> {
+    private static final char TAB = '\t';
+
+    private static final ThreadLocal<int[]> COLUMN_BOUNDARIES =
+            ThreadLocal.withInitial(() -> new int[numColumns() + 1]);
+
+    @Override public Annotation mapLine(String line, int lineNumber) {
+        int[] columnBoundaries = COLUMN_BOUNDARIES.get();
+        int columnCount = findColumnBoundaries(line, columnBoundaries);
+
+        if (columnCount < numColumns()) {
+            throw new IncorrectTokenCountException("Incorrect number of columns, expected: " + numColumns() + "; " +
+                    "found: " + columnCount, numColumns(), columnCount);
+        }
+
+        Annotation annotation = new Annotation();
+
+        annotation.db = column(line, columnBoundaries, COLUMN_DB);
+        annotation.dbObjectId = column(line, columnBoundaries, COLUMN_DB_OBJECT_ID);
+        annotation.qualifier = column(line, columnBoundaries, COLUMN_QUALIFIER);
+        annotation.goId = column(line, columnBoundaries, COLUMN_GO_ID);
+        annotation.dbReferences = column(line, columnBoundaries, COLUMN_DB_REFERENCES);
+        annotation.evidenceCode = column(line, columnBoundaries, COLUMN_EVIDENCE_CODE);
+        annotation.with = column(line, columnBoundaries, COLUMN_WITH);
+        annotation.interactingTaxonId = column(line, columnBoundaries, COLUMN_INTERACTING_TAXON_ID);
+        annotation.assignedBy = column(line, columnBoundaries, COLUMN_ASSIGNED_BY);
+        annotation.annotationExtension = column(line, columnBoundaries, COLUMN_ANNOTATION_EXTENSION);
+        annotation.annotationProperties = column(line, columnBoundaries, COLUMN_ANNOTATION_PROPERTIES);
+        annotation.date = column(line, columnBoundaries, COLUMN_DATE);
+
+        return annotation;
+    }
+
+    /**
+     * Records the start of each column in {@code columnBoundaries}, such that column {@code i} spans
+     * {@code columnBoundaries[i]} to {@code columnBoundaries[i + 1] - 1}. Only the boundaries of the expected
+     * columns are recorded.
+     *
+     * @return the number of columns in the line
+     */
+    private static int findColumnBoundaries(String line, int[] columnBoundaries) {
+        int maxRecordedColumns = columnBoundaries.length - 1;
+        int columnCount = 1;
+        columnBoundaries[0] = 0;
+
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == TAB) {
+                if (columnCount <= maxRecordedColumns) {
+                    columnBoundaries[columnCount] = i + 1;
+                }
+                columnCount++;
+            }
+        }
+
+        if (columnCount <= maxRecordedColumns) {
+            columnBoundaries[columnCount] = line.length() + 1;
+        }
+        return columnCount;
+    }
+
+    private static String column(String line, int[] columnBoundaries, Columns column) {
+        int start = columnBoundaries[column.getPosition()];
+        int end = columnBoundaries[column.getPosition() + 1] - 1;
+
+        while (start < end && line.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && line.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return line.substring(start, end);
+    }
+}
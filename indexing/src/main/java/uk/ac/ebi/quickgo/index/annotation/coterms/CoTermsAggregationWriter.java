@@ -88,6 +88,17 @@ public class CoTermsAggregationWriter extends AbstractItemStreamItemWriter<Annot
      * co-occurring term.
      */
     CoTermsForSelectedTerm createCoTermsForSelectedTerm(String goTerm) {
+        return createCoTermsForSelectedTerm(goTerm, CoTermsForSelectedTerm.NO_LIMIT);
+    }
+
+    /**
+     * Create a CoTermsForSelectedTerm instance that keeps the highest ranked of the compared terms.
+     * @param goTerm The GO Term for which the co-occurrence statistics will be calculated.
+     * @param limit The maximum number of co-occurring terms to keep.
+     * @return CoTermsForSelectedTerm instance with co-occurring statistics calculated for every
+     * co-occurring term, holding the {@code limit} co-occurring terms of highest similarity.
+     */
+    CoTermsForSelectedTerm createCoTermsForSelectedTerm(String goTerm, int limit) {
 
         Preconditions
                 .checkArgument(null != goTerm, "Target GO term id passed to createCoTermsForSelectedTerm should not " +
@@ -98,20 +109,23 @@ public class CoTermsAggregationWriter extends AbstractItemStreamItemWriter<Annot
             return CoTermsForSelectedTerm.Builder.empty();
         }
 
+        final long all = getGeneProductTotal();
         CoTermsForSelectedTerm.Builder coTermsBuilder = new CoTermsForSelectedTerm.Builder()
-                .setTotalNumberOfGeneProducts(getGeneProductTotal())
-                .setSelected(selected);
+                .setTotalNumberOfGeneProducts(all)
+                .setSelected(selected)
+                .setLimit(limit);
 
-        for (String comparedTerm : getCoTermsAndCounts(goTerm).keySet()) {
-            long together = getTogether(goTerm, comparedTerm);
+        for (Map.Entry<String, AtomicLong> coTermAndCount : getCoTermsAndCounts(goTerm).entrySet()) {
+            String comparedTerm = coTermAndCount.getKey();
+            long together = coTermAndCount.getValue().get();
             long compared = getCountOfGeneProductsForTerm(comparedTerm);
 
             coTermsBuilder.addCoTerm(new CoTerm.Builder()
                     .setTarget(goTerm)
                     .setComparedTerm(comparedTerm)
-                    .setCompared(getCountOfGeneProductsForTerm(comparedTerm))
-                    .setTogether(getTogether(goTerm, comparedTerm))
-                    .setProbabilityRatio(calculateProbabilityRatio(selected, together, getGeneProductTotal(), compared))
+                    .setCompared(compared)
+                    .setTogether(together)
+                    .setProbabilityRatio(calculateProbabilityRatio(selected, together, all, compared))
                     .setSimilarityRatio(calculateSimilarityRatio(selected, together, compared))
                     .setGpCount(selected)
                     .build());
@@ -146,10 +160,6 @@ public class CoTermsAggregationWriter extends AbstractItemStreamItemWriter<Annot
         return coTerms.coTermMatrix.get(termId);
     }
 
-    private long getTogether(String targetTerm, String comparedTerm) {
-        return coTerms.coTermMatrix.get(targetTerm).get(comparedTerm).get();
-    }
-
     /**
      * Add the data in an AnnotationDocument instance to the aggregation.
      * The documents are processed by this class in the gene product order.
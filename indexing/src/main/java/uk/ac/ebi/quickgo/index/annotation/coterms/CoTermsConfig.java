@@ -86,7 +86,7 @@ public class CoTermsConfig {
         return stepBuilders.get(CO_TERM_MANUAL_SUMMARIZATION_STEP)
                 .<String, List<CoTerm>>chunk(coTermsConfigProperties.getChunkSize())
                 .reader(coTermsManualReader(coTermsManualAggregationWriter()))
-                .processor(coTermsManualCalculator(coTermsManualAggregationWriter()))
+                .processor(coTermsManualCalculator(coTermsManualAggregationWriter(), coTermsConfigProperties))
                 .writer(coTermsManualStatsWriter(
                         new FileSystemResource(coTermsConfigProperties.getManual())))
                 .listener(logStepListener())
@@ -104,7 +104,7 @@ public class CoTermsConfig {
         return stepBuilders.get(CO_TERM_ALL_SUMMARIZATION_STEP)
                 .<String, List<CoTerm>>chunk(coTermsConfigProperties.getChunkSize())
                 .reader(coTermsAllReader(coTermsAllAggregationWriter()))
-                .processor(coTermsAllCalculator(coTermsAllAggregationWriter()))
+                .processor(coTermsAllCalculator(coTermsAllAggregationWriter(), coTermsConfigProperties))
                 .writer(coTermsAllStatsWriter(new FileSystemResource(coTermsConfigProperties.getAll())))
                 .listener(logStepListener())
                 .listener(logWriteRateListener(coTermsConfigProperties.getLoginterval()))
@@ -123,14 +123,15 @@ public class CoTermsConfig {
     }
 
     @Bean
-    public CoTermsProcessor coTermsManualCalculator(CoTermsAggregationWriter coTermsManualAggregationWriter) {
-        return new CoTermsProcessor(coTermsManualAggregationWriter);
+    public CoTermsProcessor coTermsManualCalculator(CoTermsAggregationWriter coTermsManualAggregationWriter,
+            CoTermsConfigProperties coTermsConfigProperties) {
+        return new CoTermsProcessor(coTermsManualAggregationWriter, coTermsConfigProperties.getLimit());
     }
 
     @Bean
     public CoTermsProcessor coTermsAllCalculator(
-            CoTermsAggregationWriter coTermsAllAggregationWriter) {
-        return new CoTermsProcessor(coTermsAllAggregationWriter);
+            CoTermsAggregationWriter coTermsAllAggregationWriter, CoTermsConfigProperties coTermsConfigProperties) {
+        return new CoTermsProcessor(coTermsAllAggregationWriter, coTermsConfigProperties.getLimit());
     }
 
     private ItemReader<String> coTermsManualReader(
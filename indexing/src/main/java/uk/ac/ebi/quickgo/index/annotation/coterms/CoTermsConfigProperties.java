@@ -13,6 +13,7 @@ import com.google.common.base.Preconditions;
 public class CoTermsConfigProperties {
     private static final int DEFAULT_CHUNK_SIZE = 1;
     private static final int DEFAULT_LOG_INTERVAL = 1000;
+    private static final int DEFAULT_LIMIT = 500;
     private static final String DEFAULT_MANUAL_PATH = System.getProperty("user.home") + "/QuickGO/CoTermsManual";
     private static final String DEFAULT_ALL_PATH = System.getProperty("user.home") + "/QuickGO/CoTermsAll";
 
@@ -20,6 +21,7 @@ public class CoTermsConfigProperties {
     private int loginterval = DEFAULT_LOG_INTERVAL;
     private String manual = DEFAULT_MANUAL_PATH;
     private String all = DEFAULT_ALL_PATH;
+    private int limit = DEFAULT_LIMIT;
 
     public int getChunkSize() {
         return chunkSize;
@@ -64,4 +66,17 @@ public class CoTermsConfigProperties {
     public void setAll(String all) {
         this.all = all;
     }
+
+    /**
+     * @return the maximum number of co-occurring terms written for each term, to each of the manual and all files
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        Preconditions.checkArgument(limit > 0, "The co-occurring terms limit should be greater than zero, but was %s",
+                limit);
+        this.limit = limit;
+    }
 }
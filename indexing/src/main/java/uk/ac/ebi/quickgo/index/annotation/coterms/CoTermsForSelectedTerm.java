@@ -3,8 +3,8 @@ package uk.ac.ebi.quickgo.index.annotation.coterms;
 import com.google.common.base.Preconditions;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import static java.util.Comparator.comparing;
 
@@ -19,6 +19,16 @@ import static java.util.Comparator.comparing;
  */
 class CoTermsForSelectedTerm {
 
+    /**
+     * Orders co-occurring terms by descending similarity ratio, and those of equal similarity by descending
+     * probability ratio. Since this is the order in which they are written, the co-occurring terms at or above a
+     * similarity threshold are always a prefix of those written for a term.
+     */
+    static final Comparator<CoTerm> HIGHEST_SIMILARITY_FIRST = comparing(CoTerm::getSimilarityRatio).reversed()
+            .thenComparing(comparing(CoTerm::getProbabilityRatio).reversed());
+
+    static final int NO_LIMIT = Integer.MAX_VALUE;
+
     private final List<CoTerm> sortedView;
 
     /**
@@ -30,7 +40,7 @@ class CoTermsForSelectedTerm {
     }
 
     /**
-     * @return an immutable list of co-occurring terms, in descending order of similarity.
+     * @return an immutable list of co-occurring terms, in descending order of similarity, and then of probability.
      */
     List<CoTerm> highestSimilarity() {
         return sortedView;
@@ -40,6 +50,7 @@ class CoTermsForSelectedTerm {
         private final List<CoTerm> coTerms = new ArrayList<>();
         private long totalNumberGeneProducts;
         private long selected;
+        private int limit = NO_LIMIT;
 
         /**
          * @return an empty instance.
@@ -71,6 +82,18 @@ class CoTermsForSelectedTerm {
             return this;
         }
 
+        /**
+         * Only the co-occurring terms ranked highest by {@link #HIGHEST_SIMILARITY_FIRST} are kept, so that the
+         * co-occurring terms held while adding those of a term, and those written for it, are bounded by the limit.
+         * @param limit The maximum number of co-occurring terms to keep.
+         */
+        Builder setLimit(int limit) {
+            Preconditions.checkArgument(limit > 0, "The co-occurring terms limit should be greater than zero, but " +
+                    "was %s", limit);
+            this.limit = limit;
+            return this;
+        }
+
         /**
          * Add this term to the list of terms that annotate the same gene products as the target term.
          * In this method the probability and similarity ratios are calculated on the passed in CoTerm, using
@@ -81,6 +104,9 @@ class CoTermsForSelectedTerm {
         Builder addCoTerm(CoTerm coTerm) {
             Preconditions.checkArgument(coTerm != null, "addCoTerm was passed a coTerm which was null");
             coTerms.add(coTerm);
+            if (limit != NO_LIMIT && coTerms.size() >= 2 * limit) {
+                keepHighestSimilarity();
+            }
             return this;
         }
 
@@ -93,16 +119,20 @@ class CoTermsForSelectedTerm {
                     .checkState(totalNumberGeneProducts != 0, "totalNumberGeneProducts" +
                             " should not be zero");
             Preconditions.checkArgument(selected != 0, "selected should not be zero");
-            return new CoTermsForSelectedTerm(Collections.unmodifiableList(sortCoTermsBySimilarityDescending()));
+            keepHighestSimilarity();
+            return new CoTermsForSelectedTerm(Collections.unmodifiableList(new ArrayList<>(coTerms)));
         }
 
         /**
-         * @return an immutable list of co-occurring terms, in descending order of similarity.
+         * Sorts the co-occurring terms by {@link #HIGHEST_SIMILARITY_FIRST}, and drops those beyond the limit. Since
+         * this is done whenever twice the limit have been added, the cost of keeping the highest is proportional to
+         * the logarithm of the limit, rather than of the number of co-occurring terms, for each one added.
          */
-        private List<CoTerm> sortCoTermsBySimilarityDescending() {
-            return coTerms.stream()
-                          .sorted(comparing(CoTerm::getSimilarityRatio).reversed())
-                          .collect(Collectors.toList());
+        private void keepHighestSimilarity() {
+            coTerms.sort(HIGHEST_SIMILARITY_FIRST);
+            if (coTerms.size() > limit) {
+                coTerms.subList(limit, coTerms.size()).clear();
+            }
         }
     }
 }
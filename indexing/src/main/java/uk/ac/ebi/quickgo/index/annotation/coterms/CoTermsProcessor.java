@@ -19,30 +19,36 @@ import org.springframework.batch.item.ItemProcessor;
 public class CoTermsProcessor implements ItemProcessor<String, List<CoTerm>> {
 
     private final CoTermsAggregationWriter aggregator;
+    private final int limit;
 
     /**
      *
      * @param aggregator holds the data for co-occurring terms.
+     * @param limit the maximum number of co-occurring terms returned for a GO Term.
      */
-    public CoTermsProcessor(CoTermsAggregationWriter aggregator) {
+    public CoTermsProcessor(CoTermsAggregationWriter aggregator, int limit) {
         Preconditions.checkArgument(aggregator != null, "The aggregator instance passed to the Statistics Calculator " +
                 "constructor cannot be null");
+        Preconditions.checkArgument(limit > 0, "The co-occurring terms limit passed to the Statistics Calculator " +
+                "constructor should be greater than zero, but was %s", limit);
         this.aggregator = aggregator;
+        this.limit = limit;
     }
 
     /**
      * For the passed in GO Term id, find the list of co-occurring terms and calculate CoTerm instances.
      * @param goTerm the GO Term id for which co-occurring statistics will be calculated, co-occurring term list of
      * objects will be returned containing data and statistics.
-     * @return a list of CoTerm objects. Each object represents a single permutation of two GO Terms that are
-     * used to annotate the same gene product, and the statistics about that permutation.
+     * @return a list of at most {@code limit} CoTerm objects, of the highest similarity. Each object represents a
+     * single permutation of two GO Terms that are used to annotate the same gene product, and the statistics about
+     * that permutation.
      */
     @Override
     public List<CoTerm> process(String goTerm) {
         Preconditions
                 .checkArgument(null != goTerm, "Target GO term id passed to createCoTermsForSelectedTerm should not " +
                         "be null");
-        return aggregator.createCoTermsForSelectedTerm(goTerm).highestSimilarity();
+        return aggregator.createCoTermsForSelectedTerm(goTerm, limit).highestSimilarity();
     }
 
 }
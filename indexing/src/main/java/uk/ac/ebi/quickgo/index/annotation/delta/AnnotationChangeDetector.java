@@ -0,0 +1,174 @@
+package uk.ac.ebi.quickgo.index.annotation.delta;
+
+import uk.ac.ebi.quickgo.index.common.GZipBufferedReaderFactory;
+
+import com.google.common.collect.Iterables;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.util.ClientUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.core.io.Resource;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * <p>Finds the gene products whose annotations have changed since the last successful indexing job, so that only
+ * their documents need be sent to Solr. The annotation sources are fingerprinted, per gene product, and the
+ * fingerprints compared with those recorded by the last successful job; see {@link GeneProductFingerprints}.
+ *
+ * <p>As a {@link Tasklet}, this detects the changes, and deletes the documents of changed and removed gene products
+ * from Solr; document ids are not stable between jobs, so the documents of a changed gene product are replaced
+ * rather than updated. If no fingerprints were recorded, all documents are deleted, and every gene product is
+ * changed, i.e., the whole index is rebuilt.
+ *
+ * <p>As a {@link JobExecutionListener}, this records the new fingerprints when the job completes; if the job fails,
+ * the next job detects the same changes again.
+ *
+ * Created 19/10/26
+ */
+public class AnnotationChangeDetector implements Tasklet, JobExecutionListener {
+    static final String GENE_PRODUCT_ID_FIELD = "geneProductId";
+    static final String ALL_DOCUMENTS_QUERY = "*:*";
+    static final int MAX_IDS_PER_DELETE = 500;
+    private static final Logger LOGGER = LoggerFactory.getLogger(AnnotationChangeDetector.class);
+    private static final String COMMENT_PREFIX = "!";
+    private static final String TAB = "\t";
+    private static final String COLON = ":";
+    private static final String PENDING_SUFFIX = ".pending";
+
+    private final Resource[] resources;
+    private final int headerLines;
+    private final Path fingerprintsFile;
+    private final Path pendingFingerprintsFile;
+    private final SolrClient solrClient;
+
+    private volatile GeneProductChanges changes;
+
+    public AnnotationChangeDetector(Resource[] resources, int headerLines, Path fingerprintsFile,
+            SolrClient solrClient) {
+        checkArgument(resources != null, "Annotation resources cannot be null");
+        checkArgument(headerLines >= 0, "Number of header lines cannot be negative");
+        checkArgument(fingerprintsFile != null, "Fingerprints file cannot be null");
+        checkArgument(solrClient != null, "Solr client cannot be null");
+
+        this.resources = resources;
+        this.headerLines = headerLines;
+        this.fingerprintsFile = fingerprintsFile;
+        this.pendingFingerprintsFile = fingerprintsFile.resolveSibling(fingerprintsFile.getFileName() +
+                PENDING_SUFFIX);
+        this.solrClient = solrClient;
+    }
+
+    /**
+     * Determines whether the documents of a gene product must be sent to Solr. Until changes have been detected,
+     * every gene product is considered changed.
+     *
+     * @param geneProductId the id of the gene product
+     * @return true if the annotations of the gene product have changed
+     */
+    public boolean isChanged(String geneProductId) {
+        GeneProductChanges detectedChanges = changes;
+        return detectedChanges == null || detectedChanges.isChanged(geneProductId);
+    }
+
+    @Override public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
+        GeneProductFingerprints fingerprints = fingerprintResources();
+
+        GeneProductChanges detectedChanges;
+        if (Files.exists(fingerprintsFile)) {
+            detectedChanges = fingerprints.compareWith(fingerprintsFile);
+            LOGGER.info("{} of {} gene products have changed annotations; {} have been removed",
+                    detectedChanges.getChanged().size(), fingerprints.size(), detectedChanges.getRemoved().size());
+            deleteDocumentsOf(detectedChanges.getChanged());
+            deleteDocumentsOf(detectedChanges.getRemoved());
+        } else {
+            LOGGER.warn("No annotation fingerprints found at {}; re-indexing all {} gene products",
+                    fingerprintsFile, fingerprints.size());
+            detectedChanges = GeneProductChanges.all();
+            solrClient.deleteByQuery(ALL_DOCUMENTS_QUERY);
+        }
+
+        fingerprints.writeTo(pendingFingerprintsFile);
+        changes = detectedChanges;
+        return RepeatStatus.FINISHED;
+    }
+
+    @Override public void beforeJob(JobExecution jobExecution) {}
+
+    @Override public void afterJob(JobExecution jobExecution) {
+        if (jobExecution.getStatus() != BatchStatus.COMPLETED || !Files.exists(pendingFingerprintsFile)) {
+            return;
+        }
+
+        try {
+            Files.move(pendingFingerprintsFile, fingerprintsFile, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            LOGGER.info("Recorded annotation fingerprints in {}", fingerprintsFile);
+        } catch (IOException e) {
+            LOGGER.error("Could not record annotation fingerprints in " + fingerprintsFile + "; the next job will " +
+                    "re-send the gene products changed by this one", e);
+        }
+    }
+
+    private GeneProductFingerprints fingerprintResources() throws IOException {
+        GeneProductFingerprints fingerprints = new GeneProductFingerprints();
+        GZipBufferedReaderFactory readerFactory = new GZipBufferedReaderFactory();
+
+        for (Resource resource : resources) {
+            try (BufferedReader reader = readerFactory.create(resource, StandardCharsets.UTF_8.name())) {
+                String line;
+                long lineNumber = 0;
+                while ((line = reader.readLine()) != null) {
+                    if (++lineNumber > headerLines && !line.isEmpty() && !line.startsWith(COMMENT_PREFIX)) {
+                        String geneProductId = geneProductIdOf(line);
+                        if (geneProductId != null) {
+                            fingerprints.add(geneProductId, line);
+                        }
+                    }
+                }
+            }
+        }
+
+        return fingerprints;
+    }
+
+    /**
+     * The id of the gene product an annotation line annotates, as the document converters build it: its database
+     * and its identifier within that database, i.e., the first two columns of the line.
+     */
+    private static String geneProductIdOf(String line) {
+        int firstTab = line.indexOf(TAB);
+        if (firstTab <= 0) {
+            return null;
+        }
+        int secondTab = line.indexOf(TAB, firstTab + 1);
+        if (secondTab < 0) {
+            return null;
+        }
+        return line.substring(0, firstTab) + COLON + line.substring(firstTab + 1, secondTab);
+    }
+
+    private void deleteDocumentsOf(Set<String> geneProductIds) throws Exception {
+        for (List<String> batch : Iterables.partition(geneProductIds, MAX_IDS_PER_DELETE)) {
+            solrClient.deleteByQuery(GENE_PRODUCT_ID_FIELD + COLON + batch.stream()
+                    .map(ClientUtils::escapeQueryChars)
+                    .collect(Collectors.joining(" OR ", "(", ")")));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package uk.ac.ebi.quickgo.index.annotation.delta;
+
+import uk.ac.ebi.quickgo.annotation.common.AnnotationDocument;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import org.springframework.batch.item.ItemWriter;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Writes to a delegate only the annotation documents of gene products whose annotations have changed, as detected
+ * by an {@link AnnotationChangeDetector}.
+ *
+ * Created 19/10/26
+ */
+public class ChangedGeneProductWriter implements ItemWriter<AnnotationDocument> {
+    private final AnnotationChangeDetector changeDetector;
+    private final ItemWriter<AnnotationDocument> delegate;
+
+    public ChangedGeneProductWriter(AnnotationChangeDetector changeDetector, ItemWriter<AnnotationDocument> delegate) {
+        checkArgument(changeDetector != null, "Change detector cannot be null");
+        checkArgument(delegate != null, "Delegate writer cannot be null");
+
+        this.changeDetector = changeDetector;
+        this.delegate = delegate;
+    }
+
+    @Override public void write(List<? extends AnnotationDocument> items) throws Exception {
+        List<AnnotationDocument> changedItems = items.stream()
+                .filter(item -> changeDetector.isChanged(item.geneProductId))
+                .collect(Collectors.toList());
+
+        if (!changedItems.isEmpty()) {
+            delegate.write(changedItems);
+        }
+    }
+}
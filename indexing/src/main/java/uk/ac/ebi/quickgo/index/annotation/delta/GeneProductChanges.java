@@ -0,0 +1,55 @@
+package uk.ac.ebi.quickgo.index.annotation.delta;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The gene products whose annotations have changed between two annotation sources: those whose annotations differ,
+ * or that are new, are changed; those that are no longer annotated are removed.
+ *
+ * Created 19/10/26
+ */
+public class GeneProductChanges {
+    private final boolean allChanged;
+    private final Set<String> changed = new HashSet<>();
+    private final Set<String> removed = new HashSet<>();
+
+    GeneProductChanges() {
+        this(false);
+    }
+
+    private GeneProductChanges(boolean allChanged) {
+        this.allChanged = allChanged;
+    }
+
+    /**
+     * @return the changes when there is nothing to compare with, i.e., every gene product has changed
+     */
+    static GeneProductChanges all() {
+        return new GeneProductChanges(true);
+    }
+
+    void changed(String geneProductId) {
+        changed.add(geneProductId);
+    }
+
+    void removed(String geneProductId) {
+        removed.add(geneProductId);
+    }
+
+    public boolean isChanged(String geneProductId) {
+        return allChanged || changed.contains(geneProductId);
+    }
+
+    /**
+     * @return the gene products known to have changed; empty if every gene product has changed
+     */
+    public Set<String> getChanged() {
+        return Collections.unmodifiableSet(changed);
+    }
+
+    public Set<String> getRemoved() {
+        return Collections.unmodifiableSet(removed);
+    }
+}
@@ -0,0 +1,123 @@
+package uk.ac.ebi.quickgo.index.annotation.delta;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * The fingerprints of the annotations of each gene product in an annotation source. The fingerprint of a gene
+ * product is the sum of the 64-bit hashes of its annotation lines, so it does not depend on the order of the lines,
+ * nor on whether they are contiguous in the source.
+ *
+ * Fingerprints are stored in a compact file, sorted by gene product id, so that they can be compared with those
+ * of a later source without reading them into memory; see {@link #compareWith(Path)}.
+ *
+ * Created 19/10/26
+ */
+public class GeneProductFingerprints {
+    private static final int FORMAT_VERSION = 1;
+    private static final HashFunction LINE_HASH = Hashing.murmur3_128();
+
+    private final Map<String, Long> fingerprints = new HashMap<>();
+
+    /**
+     * Adds an annotation line to the fingerprint of its gene product.
+     *
+     * @param geneProductId the id of the gene product that the line annotates
+     * @param line the annotation line
+     */
+    public void add(String geneProductId, String line) {
+        checkArgument(geneProductId != null && !geneProductId.isEmpty(), "Gene product id cannot be null or empty");
+        checkArgument(line != null, "Annotation line cannot be null");
+
+        fingerprints.merge(geneProductId, LINE_HASH.hashString(line, StandardCharsets.UTF_8).asLong(), Long::sum);
+    }
+
+    public int size() {
+        return fingerprints.size();
+    }
+
+    /**
+     * Writes these fingerprints to a file, sorted by gene product id.
+     *
+     * @param file the file to write
+     * @throws IOException if the file could not be written
+     */
+    public void writeTo(Path file) throws IOException {
+        try (DataOutputStream output = new DataOutputStream(
+                new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(file))))) {
+            output.writeInt(FORMAT_VERSION);
+            output.writeInt(fingerprints.size());
+            for (String geneProductId : sortedGeneProductIds()) {
+                output.writeUTF(geneProductId);
+                output.writeLong(fingerprints.get(geneProductId));
+            }
+        }
+    }
+
+    /**
+     * Compares these fingerprints with those previously written to a file, to find the gene products whose
+     * annotations have changed since: those whose fingerprint differs, those that are new, and those that have been
+     * removed.
+     *
+     * @param previousFile the file of the previous fingerprints
+     * @return the changes
+     * @throws IOException if the file could not be read, or is not a file of fingerprints
+     */
+    public GeneProductChanges compareWith(Path previousFile) throws IOException {
+        GeneProductChanges changes = new GeneProductChanges();
+
+        try (DataInputStream input = new DataInputStream(
+                new GZIPInputStream(new BufferedInputStream(Files.newInputStream(previousFile))))) {
+            int version = input.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported gene product fingerprints format: " + version);
+            }
+
+            String[] currentIds = sortedGeneProductIds();
+            int current = 0;
+            int previousCount = input.readInt();
+            for (int i = 0; i < previousCount; i++) {
+                String previousId = input.readUTF();
+                long previousFingerprint = input.readLong();
+
+                while (current < currentIds.length && currentIds[current].compareTo(previousId) < 0) {
+                    changes.changed(currentIds[current++]);
+                }
+
+                if (current < currentIds.length && currentIds[current].equals(previousId)) {
+                    if (fingerprints.get(previousId) != previousFingerprint) {
+                        changes.changed(previousId);
+                    }
+                    current++;
+                } else {
+                    changes.removed(previousId);
+                }
+            }
+
+            while (current < currentIds.length) {
+                changes.changed(currentIds[current++]);
+            }
+        } catch (EOFException e) {
+            throw new IOException("Truncated gene product fingerprints: " + previousFile, e);
+        }
+
+        return changes;
+    }
+
+    private String[] sortedGeneProductIds() {
+        String[] geneProductIds = fingerprints.keySet().toArray(new String[fingerprints.size()]);
+        Arrays.sort(geneProductIds);
+        return geneProductIds;
+    }
+}
@@ -0,0 +1,223 @@
+package uk.ac.ebi.quickgo.index.common;
+
+import uk.ac.ebi.quickgo.common.QuickGODocument;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.solr.client.solrj.SolrClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.WriteFailedException;
+import org.springframework.beans.factory.DisposableBean;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * <p>An {@link ItemWriter} implementation used for indexing documents to a {@link SolrClient} instance, which
+ * splits each chunk of documents into parts that are sent to Solr in parallel, each by a separate sender thread, as a
+ * separate update stream; the conversion of documents to Solr input documents is also performed by these threads.
+ *
+ * <p>If {@code maxChunksInFlight} is 0, {@link #write(List)} returns only once every part of its chunk has been
+ * sent, and throws the failure of any part that could not be sent, so that the chunk is retried or skipped by the
+ * step's fault tolerance policies. Otherwise, {@link #write(List)} returns as soon as its chunk has been handed to the
+ * sender threads, so that reading and processing the next chunk overlaps with sending this one. At most
+ * {@code maxChunksInFlight} chunks are being sent at once; further writes block until one has been sent, so that the
+ * step is slowed down to the rate at which Solr indexes documents.
+ *
+ * <p>A chunk in flight that cannot be sent has already been committed by the step, so it cannot be retried or
+ * skipped. Instead, its failure is reported at the step boundary: this writer, which must be registered as a
+ * listener of the step, waits for every chunk in flight to be sent once the step finishes, and fails the step with
+ * the failures of the chunks that could not be sent, each naming its chunk's number and documents. So that the step
+ * stops soon after such a failure, the next write also fails, with a {@link WriteFailedException} naming the earlier
+ * chunk, and without sending its own chunk. Since documents are indexed by their unique keys, re-running the step
+ * re-sends the documents of failed chunks harmlessly.
+ *
+ * Created 19/10/26
+ */
+public class ParallelSolrServerWriter<D extends QuickGODocument>
+        implements ItemWriter<D>, StepExecutionListener, DisposableBean {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelSolrServerWriter.class);
+    private static final String SENDER_THREAD_PREFIX = "solr-writer-";
+
+    private final SolrClient server;
+    private final int senderThreads;
+    private final int maxChunksInFlight;
+    private final ExecutorService senders;
+    private final Semaphore chunksInFlight;
+    private final Queue<Exception> failedChunks;
+    private final AtomicInteger chunkCount;
+
+    public ParallelSolrServerWriter(SolrClient server, int senderThreads, int maxChunksInFlight) {
+        checkArgument(server != null, "Solr client cannot be null");
+        checkArgument(senderThreads > 0, "Number of sender threads must be greater than 0");
+        checkArgument(maxChunksInFlight >= 0, "Maximum number of chunks in flight cannot be negative");
+
+        this.server = server;
+        this.senderThreads = senderThreads;
+        this.maxChunksInFlight = maxChunksInFlight;
+        this.chunksInFlight = new Semaphore(maxChunksInFlight);
+        this.failedChunks = new ConcurrentLinkedQueue<>();
+        this.chunkCount = new AtomicInteger();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, SENDER_THREAD_PREFIX + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override public void write(List<? extends D> list) throws Exception {
+        Exception earlierFailure = failedChunks.peek();
+        if (earlierFailure != null) {
+            throw new WriteFailedException("Not writing chunk, since an earlier chunk could not be indexed: " +
+                    earlierFailure.getMessage(), earlierFailure);
+        }
+
+        if (list.isEmpty()) {
+            return;
+        }
+
+        List<List<D>> parts = split(list);
+        if (maxChunksInFlight == 0) {
+            List<Future<?>> sends = new ArrayList<>();
+            parts.forEach(part -> sends.add(senders.submit(() -> server.addBeans(part))));
+            awaitSends(sends);
+            return;
+        }
+
+        String chunk = describeChunk(chunkCount.incrementAndGet(), list);
+        Queue<Exception> partFailures = new ConcurrentLinkedQueue<>();
+        AtomicInteger unsentParts = new AtomicInteger(parts.size());
+        chunksInFlight.acquire();
+        for (List<D> part : parts) {
+            senders.execute(() -> {
+                try {
+                    server.addBeans(part);
+                } catch (Exception e) {
+                    partFailures.add(e);
+                } finally {
+                    if (unsentParts.decrementAndGet() == 0) {
+                        completeChunk(chunk, partFailures);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Waits for every chunk in flight to be sent to Solr.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void flush() throws InterruptedException {
+        chunksInFlight.acquire(maxChunksInFlight);
+        chunksInFlight.release(maxChunksInFlight);
+    }
+
+    @Override public void beforeStep(StepExecution stepExecution) {
+        failedChunks.clear();
+        chunkCount.set(0);
+    }
+
+    @Override public ExitStatus afterStep(StepExecution stepExecution) {
+        try {
+            flush();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failedChunks.add(e);
+        }
+
+        if (failedChunks.isEmpty()) {
+            return stepExecution.getExitStatus();
+        }
+
+        ExitStatus exitStatus = ExitStatus.FAILED;
+        Exception failure;
+        while ((failure = failedChunks.poll()) != null) {
+            LOGGER.error("Failed to index documents written by step " + stepExecution.getStepName(), failure);
+            stepExecution.addFailureException(failure);
+            exitStatus = exitStatus.addExitDescription(failure);
+        }
+        stepExecution.setStatus(BatchStatus.FAILED);
+        return exitStatus;
+    }
+
+    @Override public void destroy() {
+        senders.shutdownNow();
+    }
+
+    private List<List<D>> split(List<? extends D> list) {
+        int partSize = (list.size() + senderThreads - 1) / senderThreads;
+        List<List<D>> parts = new ArrayList<>();
+        for (int start = 0; start < list.size(); start += partSize) {
+            parts.add(new ArrayList<>(list.subList(start, Math.min(start + partSize, list.size()))));
+        }
+        return parts;
+    }
+
+    /**
+     * Records the failure of a chunk in flight, if any of its parts could not be sent, to be reported at the step
+     * boundary, and makes room in the window for another chunk.
+     */
+    private void completeChunk(String chunk, Queue<Exception> partFailures) {
+        try {
+            Exception failure = partFailures.poll();
+            if (failure != null) {
+                WriteFailedException chunkFailure = new WriteFailedException("Could not index " + chunk, failure);
+                partFailures.forEach(chunkFailure::addSuppressed);
+                LOGGER.error("Failed to index " + chunk, chunkFailure);
+                failedChunks.add(chunkFailure);
+            }
+        } finally {
+            chunksInFlight.release();
+        }
+    }
+
+    /**
+     * Waits for every part of a chunk to be sent.
+     *
+     * @throws Exception the failure of the first part that could not be sent, to which the failures of any other
+     * parts are added as suppressed exceptions
+     */
+    private void awaitSends(List<Future<?>> sends) throws Exception {
+        Exception failure = null;
+        for (Future<?> send : sends) {
+            try {
+                send.get();
+            } catch (ExecutionException e) {
+                Exception cause = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                if (failure == null) {
+                    failure = cause;
+                } else if (cause != failure) {
+                    failure.addSuppressed(cause);
+                }
+            } catch (InterruptedException e) {
+                sends.forEach(unfinished -> unfinished.cancel(true));
+                throw e;
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static String describeChunk(int number, List<? extends QuickGODocument> list) {
+        return "chunk " + number + " of " + list.size() + " documents, from " + list.get(0).getUniqueName() + " to " +
+                list.get(list.size() - 1).getUniqueName();
+    }
+}
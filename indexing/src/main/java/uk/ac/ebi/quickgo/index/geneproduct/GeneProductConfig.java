@@ -4,20 +4,24 @@ import uk.ac.ebi.quickgo.common.QuickGODocument;
 import uk.ac.ebi.quickgo.geneproduct.common.GeneProductDocument;
 import uk.ac.ebi.quickgo.geneproduct.common.GeneProductRepoConfig;
 import uk.ac.ebi.quickgo.index.common.GZipBufferedReaderFactory;
+import uk.ac.ebi.quickgo.index.common.ParallelSolrServerWriter;
 import uk.ac.ebi.quickgo.index.common.SolrServerWriter;
 import uk.ac.ebi.quickgo.index.common.listener.ItemRateWriterListener;
 import uk.ac.ebi.quickgo.index.common.listener.LogJobListener;
 import uk.ac.ebi.quickgo.index.common.listener.LogStepListener;
 import uk.ac.ebi.quickgo.index.common.listener.SkipLoggerListener;
 
+import java.nio.file.Paths;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import org.apache.solr.client.solrj.impl.HttpSolrClient;
 import org.springframework.batch.core.*;
 import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
 import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
 import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.listener.StepExecutionListenerSupport;
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.batch.item.ItemWriter;
 import org.springframework.batch.item.file.FlatFileItemReader;
@@ -29,6 +33,7 @@ import org.springframework.batch.item.file.mapping.FieldSetMapper;
 import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
 import org.springframework.batch.item.file.transform.LineTokenizer;
 import org.springframework.batch.item.support.CompositeItemProcessor;
+import org.springframework.batch.item.support.CompositeItemWriter;
 import org.springframework.batch.item.validator.ValidatingItemProcessor;
 import org.springframework.batch.item.validator.ValidationException;
 import org.springframework.batch.item.validator.Validator;
@@ -37,6 +42,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.core.io.Resource;
 import org.springframework.data.solr.core.SolrTemplate;
 import org.springframework.retry.backoff.BackOffPolicy;
@@ -84,6 +90,15 @@ public class GeneProductConfig {
     @Value("${indexing.geneproduct.retries.retryLimit:20}")
     private int retryLimit;
 
+    @Value("${indexing.geneproduct.writer.threads:0}")
+    private int writerThreads;
+
+    @Value("${indexing.geneproduct.writer.chunks.in.flight:0}")
+    private int writerChunksInFlight;
+
+    @Value("${indexing.geneproduct.store.path:}")
+    private String storePath;
+
     @Autowired
     private SolrTemplate geneProductTemplate;
 
@@ -117,9 +132,11 @@ public class GeneProductConfig {
                 .backOffPolicy(backOffPolicy())
                 .<GeneProduct>reader(geneProductMultiFileReader())
                 .processor(geneProductCompositeProcessor())
-                .writer(geneProductRepositoryWriter())
+                .writer(geneProductWriter())
                 .listener(logWriteRateListener())
                 .listener(logStepListener())
+                .listener(solrServerWriterListener())
+                .listener(geneProductStoreListener())
                 .build();
     }
 
@@ -195,11 +212,45 @@ public class GeneProductConfig {
         return compositeProcessor;
     }
 
+    /**
+     * Creates the writer of gene product documents to Solr. If writer threads are configured, each chunk of
+     * documents is split between them and sent in parallel by a {@link ParallelSolrServerWriter}, so that the next
+     * chunk is read while up to the configured number of chunks in flight are being sent.
+     *
+     * @return the gene product Solr writer
+     */
     @Bean
     ItemWriter<GeneProductDocument> geneProductRepositoryWriter() {
+        if (writerThreads > 0) {
+            return new ParallelSolrServerWriter<>(geneProductTemplate.getSolrClient(), writerThreads,
+                    writerChunksInFlight);
+        }
         return new SolrServerWriter<>(geneProductTemplate.getSolrClient());
     }
 
+    /**
+     * Creates the writer of gene product documents, which writes them to Solr, and, if a store path is configured,
+     * to a gene product store from which the gene product service looks gene products up by id.
+     *
+     * @return the gene product writer
+     */
+    @Bean
+    ItemWriter<GeneProductDocument> geneProductWriter() {
+        if (storePath.isEmpty()) {
+            return geneProductRepositoryWriter();
+        }
+
+        CompositeItemWriter<GeneProductDocument> writer = new CompositeItemWriter<>();
+        writer.setDelegates(Arrays.asList(geneProductRepositoryWriter(), geneProductStoreWriter()));
+        return writer;
+    }
+
+    @Bean
+    @Lazy
+    GeneProductStoreItemWriter geneProductStoreWriter() {
+        return new GeneProductStoreItemWriter(Paths.get(storePath));
+    }
+
     private JobExecutionListener logJobListener() {
         return new LogJobListener();
     }
@@ -222,4 +273,22 @@ public class GeneProductConfig {
     private StepExecutionListener logStepListener() {
         return new LogStepListener();
     }
+
+    /**
+     * A parallel Solr writer must be notified when the step finishes, so that it can wait for the chunks in flight
+     * and fail the step if any of them could not be indexed.
+     */
+    private StepExecutionListener solrServerWriterListener() {
+        ItemWriter<GeneProductDocument> writer = geneProductRepositoryWriter();
+        return writer instanceof StepExecutionListener ?
+                (StepExecutionListener) writer : new StepExecutionListenerSupport();
+    }
+
+    /**
+     * The gene product store writer must be notified when the step starts and finishes, so that it can start and
+     * write the store.
+     */
+    private StepExecutionListener geneProductStoreListener() {
+        return storePath.isEmpty() ? new StepExecutionListenerSupport() : geneProductStoreWriter();
+    }
 }
@@ -0,0 +1,89 @@
+package uk.ac.ebi.quickgo.index.geneproduct;
+
+import uk.ac.ebi.quickgo.geneproduct.common.GeneProductDocument;
+import uk.ac.ebi.quickgo.geneproduct.common.store.GeneProductStore;
+import uk.ac.ebi.quickgo.geneproduct.common.store.GeneProductStoreWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.ItemWriter;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * <p>An {@link ItemWriter} that writes gene product documents to a {@link GeneProductStore} file, from which the
+ * gene product service can look gene products up by id without querying Solr.
+ *
+ * <p>This writer must be registered as a listener of the step: the store is started when the step starts, and is
+ * only written to its file if the step completes, so that the store file in use is never replaced by one that is
+ * missing gene products.
+ *
+ * Created 19/10/26
+ */
+public class GeneProductStoreItemWriter implements ItemWriter<GeneProductDocument>, StepExecutionListener {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GeneProductStoreItemWriter.class);
+
+    private final Path path;
+    private GeneProductStoreWriter storeWriter;
+
+    public GeneProductStoreItemWriter(Path path) {
+        checkArgument(path != null, "Gene product store path cannot be null");
+        this.path = path;
+    }
+
+    @Override public void write(List<? extends GeneProductDocument> documents) throws IOException {
+        checkState(storeWriter != null, "Gene product store writer must be registered as a listener of the step");
+        for (GeneProductDocument document : documents) {
+            storeWriter.write(document);
+        }
+    }
+
+    @Override public void beforeStep(StepExecution stepExecution) {
+        try {
+            closeStoreWriter();
+            storeWriter = new GeneProductStoreWriter(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to start gene product store: " + path, e);
+        }
+    }
+
+    @Override public ExitStatus afterStep(StepExecution stepExecution) {
+        try {
+            if (stepExecution.getStatus() == BatchStatus.COMPLETED) {
+                long stored = storeWriter.finish();
+                LOGGER.info("Wrote {} gene products to gene product store: {}", stored, path);
+            } else {
+                LOGGER.warn("Gene product store not written, since step {} did not complete",
+                        stepExecution.getStepName());
+            }
+            return stepExecution.getExitStatus();
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error("Failed to write gene product store: " + path, e);
+            stepExecution.addFailureException(e);
+            stepExecution.setStatus(BatchStatus.FAILED);
+            return ExitStatus.FAILED.addExitDescription(e);
+        } finally {
+            try {
+                closeStoreWriter();
+            } catch (IOException e) {
+                LOGGER.warn("Failed to remove temporary files of gene product store: " + path, e);
+            }
+        }
+    }
+
+    private void closeStoreWriter() throws IOException {
+        if (storeWriter != null) {
+            storeWriter.close();
+            storeWriter = null;
+        }
+    }
+}
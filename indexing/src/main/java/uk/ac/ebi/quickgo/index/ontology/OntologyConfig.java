@@ -4,18 +4,26 @@ import uk.ac.ebi.quickgo.index.common.DocumentReaderException;
 import uk.ac.ebi.quickgo.index.common.SolrCrudRepoWriter;
 import uk.ac.ebi.quickgo.index.common.listener.LogJobListener;
 import uk.ac.ebi.quickgo.index.common.listener.LogStepListener;
+import uk.ac.ebi.quickgo.index.ontology.counts.AnnotationCounter;
+import uk.ac.ebi.quickgo.model.ontology.generic.GenericTerm;
+import uk.ac.ebi.quickgo.model.ontology.generic.TermRelation;
 import uk.ac.ebi.quickgo.ontology.common.OntologyDocument;
 import uk.ac.ebi.quickgo.ontology.common.OntologyRepoConfig;
 import uk.ac.ebi.quickgo.ontology.common.OntologyRepository;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
 import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
 import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
 import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.job.builder.SimpleJobBuilder;
+import org.springframework.batch.item.ItemProcessor;
 import org.springframework.batch.item.ItemWriter;
 import org.springframework.batch.item.support.CompositeItemWriter;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,6 +31,8 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.io.support.ResourcePatternResolver;
 
 /**
  * Created 02/12/15
@@ -34,6 +44,7 @@ import org.springframework.context.annotation.Import;
 public class OntologyConfig {
     static final String ONTOLOGY_INDEXING_JOB_NAME = "ontologyIndexingJob";
     static final String ONTOLOGY_INDEXING_STEP_NAME = "ontologyIndexStep";
+    static final String ANNOTATION_COUNTING_STEP_NAME = "annotationCountingStep";
 
     @Autowired
     private JobBuilderFactory jobBuilders;
@@ -50,6 +61,9 @@ public class OntologyConfig {
     @Autowired
     private SiteMapStepListener siteMapStepListener;
 
+    @Autowired
+    private ResourcePatternResolver resourceResolver;
+
     @Value("${indexing.ontology.chunk.size:500}")
     private int chunkSize;
 
@@ -59,10 +73,33 @@ public class OntologyConfig {
     @Value("${indexing.ontology.source}")
     private String sourceFile;
 
+    // the annotation source files from which the annotations to each GO term are counted; if not set, they are not
+    @Value("${indexing.ontology.annotation.source:}")
+    private String annotationSource;
+
+    @Value("${indexing.annotation.header.lines:21}")
+    private int annotationHeaderLines;
+
+    /**
+     * Creates the ontology indexing job. If annotation source files are configured, the annotations to each GO term
+     * are counted first, so that the counts can be added to the terms' documents; see {@link AnnotationCounter}.
+     *
+     * @param ontologyStep the step that indexes the ontology documents
+     * @return the ontology indexing job
+     */
     @Bean
     public Job ontologyJob(Step ontologyStep) {
-        return jobBuilders.get(ONTOLOGY_INDEXING_JOB_NAME)
-                .start(ontologyStep)
+        SimpleJobBuilder jobBuilder;
+        if (annotationSource.isEmpty()) {
+            jobBuilder = jobBuilders.get(ONTOLOGY_INDEXING_JOB_NAME)
+                    .start(ontologyStep);
+        } else {
+            jobBuilder = jobBuilders.get(ONTOLOGY_INDEXING_JOB_NAME)
+                    .start(annotationCountingStep())
+                    .next(ontologyStep);
+        }
+
+        return jobBuilder
                 .listener(logJobListener())
                 .build();
     }
@@ -74,6 +111,7 @@ public class OntologyConfig {
                 // read and process items in chunks of the following size
                 .<OntologyDocument, OntologyDocument>chunk(chunkSize)
                 .reader(ontologyReader())
+                .processor(ontologyDocumentProcessor())
                 .faultTolerant()
                 .skip(DocumentReaderException.class)
                 .skipLimit(skipLimit)
@@ -92,6 +130,44 @@ public class OntologyConfig {
         }
     }
 
+    /**
+     * Creates the counter of the annotations to each GO term, over the relationships that annotations are inferred
+     * over by default.
+     *
+     * @return the annotation counter
+     */
+    @Bean
+    @Lazy
+    AnnotationCounter annotationCounter() {
+        Map<String, List<String>> ancestors = new HashMap<>();
+        for (GenericTerm term : ontologyReader().getGeneOntology().getTerms()) {
+            ancestors.put(term.getId(), term.getAncestorIDs(TermRelation.defaultRelationTypes()));
+        }
+
+        try {
+            return new AnnotationCounter(resourceResolver.getResources(annotationSource), annotationHeaderLines,
+                    ancestors);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to find annotation files from " + annotationSource, e);
+        }
+    }
+
+    private Step annotationCountingStep() {
+        return stepBuilders.get(ANNOTATION_COUNTING_STEP_NAME)
+                .tasklet(annotationCounter())
+                // the counts are held in memory, so they must be made again if the job is restarted
+                .allowStartIfComplete(true)
+                .listener(logStepListener())
+                .build();
+    }
+
+    private ItemProcessor<OntologyDocument, OntologyDocument> ontologyDocumentProcessor() {
+        if (annotationSource.isEmpty()) {
+            return document -> document;
+        }
+        return annotationCounter();
+    }
+
     private ItemWriter<OntologyDocument> compositeOntologyWriter() {
         List<ItemWriter<? super OntologyDocument>> writers = new ArrayList<>();
         writers.add(new SolrCrudRepoWriter<>(ontologyRepository));
@@ -75,6 +75,13 @@ public class OntologyReader extends AbstractItemStreamItemReader<OntologyDocumen
         return new OntologyReader(geneOntology, evidenceCodeOntology);
     }
 
+    /**
+     * @return the Gene Ontology whose terms are read, which is empty if it could not be loaded
+     */
+    GeneOntology getGeneOntology() {
+        return go;
+    }
+
     /**
      * Creates and returns {@link OntologyDocument} instances corresponding to
      * each known GO / ECO term.
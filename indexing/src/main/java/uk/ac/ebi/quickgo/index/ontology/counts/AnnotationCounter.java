@@ -0,0 +1,228 @@
+package uk.ac.ebi.quickgo.index.ontology.counts;
+
+import uk.ac.ebi.quickgo.index.common.GZipBufferedReaderFactory;
+import uk.ac.ebi.quickgo.ontology.common.OntologyDocument;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.core.io.Resource;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * <p>Counts the annotations to each GO term, in one pass over the annotation source files, so that the counts can be
+ * stored in the ontology core, and looked up with a term rather than computed by querying the annotation core.
+ *
+ * <p>For each term, four counts are made: the number of annotations to the term, and the number of distinct gene
+ * products those annotate; and the same two counts over the term and all of its descendants, which are found from
+ * the ancestors of each annotated term. An annotation to a term is counted once for each of its ancestors, and a
+ * gene product once for each term to which it is directly or indirectly annotated.
+ *
+ * <p>The gene products are counted without holding their ids: the annotations of a gene product are expected to be
+ * listed together, as they are in the annotation source files, and each term records the last gene product that was
+ * counted for it. A gene product whose annotations are not listed together is counted more than once.
+ *
+ * <p>As a {@link Tasklet}, this makes the counts; as an {@link ItemProcessor}, it adds them to the ontology
+ * documents of the terms that were counted. Until the counts are made, documents are left unchanged.
+ *
+ * Created 19/10/26
+ */
+public class AnnotationCounter implements Tasklet, ItemProcessor<OntologyDocument, OntologyDocument> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AnnotationCounter.class);
+    private static final String COMMENT_PREFIX = "!";
+    private static final char TAB = '\t';
+    private static final int GO_ID_COLUMN = 3;
+
+    private final Resource[] resources;
+    private final int headerLines;
+    private final Map<String, Integer> termIndices;
+    private final int[][] ancestorIndices;
+
+    private volatile Counts counts;
+
+    /**
+     * Creates a counter of the annotations to the specified terms.
+     *
+     * @param resources the annotation source files
+     * @param headerLines the number of header lines at the start of each source file
+     * @param ancestors the ids of the ancestors of each GO term, over the relationships that annotations are
+     *                  inferred over. A term need not be included in its own ancestors.
+     */
+    public AnnotationCounter(Resource[] resources, int headerLines, Map<String, ? extends Collection<String>>
+            ancestors) {
+        checkArgument(resources != null, "Annotation resources cannot be null");
+        checkArgument(headerLines >= 0, "Number of header lines cannot be negative");
+        checkArgument(ancestors != null, "Term ancestors cannot be null");
+
+        this.resources = resources;
+        this.headerLines = headerLines;
+
+        this.termIndices = new HashMap<>();
+        ancestors.keySet().forEach(termId -> termIndices.put(termId, termIndices.size()));
+
+        this.ancestorIndices = new int[termIndices.size()][];
+        ancestors.forEach((termId, termAncestors) -> {
+            int termIndex = termIndices.get(termId);
+            ancestorIndices[termIndex] = termAncestors.stream()
+                    .map(termIndices::get)
+                    .filter(ancestorIndex -> ancestorIndex != null && ancestorIndex != termIndex)
+                    .mapToInt(Integer::intValue)
+                    .distinct()
+                    .toArray();
+        });
+    }
+
+    @Override public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
+        Counts newCounts = countResources();
+        LOGGER.info("Counted annotations to {} GO terms; {} annotations to unknown terms were not counted",
+                termIndices.size(), newCounts.unknownTermAnnotations);
+        counts = newCounts;
+        return RepeatStatus.FINISHED;
+    }
+
+    /**
+     * Adds the counts of a term to its document, if it was counted.
+     *
+     * @param document the ontology document of a term
+     * @return the document
+     */
+    @Override public OntologyDocument process(OntologyDocument document) {
+        Counts madeCounts = counts;
+        Integer termIndex = document.id == null ? null : termIndices.get(document.id);
+        if (madeCounts != null && termIndex != null) {
+            document.annotationCount = madeCounts.annotations[termIndex];
+            document.inferredAnnotationCount = madeCounts.inferredAnnotations[termIndex];
+            document.geneProductCount = madeCounts.geneProducts[termIndex];
+            document.inferredGeneProductCount = madeCounts.inferredGeneProducts[termIndex];
+        }
+        return document;
+    }
+
+    private Counts countResources() throws IOException {
+        Counts newCounts = new Counts(termIndices.size());
+        GZipBufferedReaderFactory readerFactory = new GZipBufferedReaderFactory();
+
+        for (Resource resource : resources) {
+            try (BufferedReader reader = readerFactory.create(resource, StandardCharsets.UTF_8.name())) {
+                String line;
+                long lineNumber = 0;
+                while ((line = reader.readLine()) != null) {
+                    if (++lineNumber > headerLines && !line.isEmpty() && !line.startsWith(COMMENT_PREFIX)) {
+                        newCounts.count(line);
+                    }
+                }
+            }
+        }
+
+        newCounts.inferAnnotations();
+        return newCounts;
+    }
+
+    /**
+     * The counts of each term, held in arrays indexed by the terms' indices.
+     */
+    private class Counts {
+        private final long[] annotations;
+        private final long[] inferredAnnotations;
+        private final long[] geneProducts;
+        private final long[] inferredGeneProducts;
+        // the number of the gene product last counted for each term, directly and indirectly
+        private final int[] lastGeneProducts;
+        private final int[] lastInferredGeneProducts;
+
+        private String geneProductLine;
+        private int geneProductIdEnd;
+        private int geneProductNumber;
+        private long unknownTermAnnotations;
+
+        private Counts(int termCount) {
+            annotations = new long[termCount];
+            inferredAnnotations = new long[termCount];
+            geneProducts = new long[termCount];
+            inferredGeneProducts = new long[termCount];
+            lastGeneProducts = new int[termCount];
+            lastInferredGeneProducts = new int[termCount];
+        }
+
+        /**
+         * Counts the annotation of a line, whose gene product id is its first two columns, and whose GO id is its
+         * fourth.
+         */
+        private void count(String line) {
+            int databaseEnd = line.indexOf(TAB);
+            int geneProductIdEnd = databaseEnd < 0 ? -1 : line.indexOf(TAB, databaseEnd + 1);
+            int goIdStart = columnStart(line, GO_ID_COLUMN);
+            if (geneProductIdEnd < 0 || goIdStart < 0) {
+                return;
+            }
+            int goIdEnd = line.indexOf(TAB, goIdStart);
+            Integer termIndex = termIndices.get(line.substring(goIdStart, goIdEnd < 0 ? line.length() : goIdEnd));
+            if (termIndex == null) {
+                unknownTermAnnotations++;
+                return;
+            }
+
+            if (geneProductLine == null || geneProductIdEnd != this.geneProductIdEnd ||
+                    !line.regionMatches(0, geneProductLine, 0, geneProductIdEnd)) {
+                geneProductLine = line;
+                this.geneProductIdEnd = geneProductIdEnd;
+                geneProductNumber++;
+            }
+
+            annotations[termIndex]++;
+            if (lastGeneProducts[termIndex] != geneProductNumber) {
+                lastGeneProducts[termIndex] = geneProductNumber;
+                geneProducts[termIndex]++;
+                countInferredGeneProduct(termIndex);
+                for (int ancestorIndex : ancestorIndices[termIndex]) {
+                    countInferredGeneProduct(ancestorIndex);
+                }
+            }
+        }
+
+        private void countInferredGeneProduct(int termIndex) {
+            if (lastInferredGeneProducts[termIndex] != geneProductNumber) {
+                lastInferredGeneProducts[termIndex] = geneProductNumber;
+                inferredGeneProducts[termIndex]++;
+            }
+        }
+
+        /**
+         * Adds the annotations to each term to the inferred annotations of the term and its ancestors.
+         */
+        private void inferAnnotations() {
+            for (int termIndex = 0; termIndex < annotations.length; termIndex++) {
+                long termAnnotations = annotations[termIndex];
+                if (termAnnotations > 0) {
+                    inferredAnnotations[termIndex] += termAnnotations;
+                    for (int ancestorIndex : ancestorIndices[termIndex]) {
+                        inferredAnnotations[ancestorIndex] += termAnnotations;
+                    }
+                }
+            }
+        }
+
+        private int columnStart(String line, int column) {
+            int start = 0;
+            for (int i = 0; i < column; i++) {
+                int tab = line.indexOf(TAB, start);
+                if (tab < 0) {
+                    return -1;
+                }
+                start = tab + 1;
+            }
+            return start;
+        }
+    }
+}
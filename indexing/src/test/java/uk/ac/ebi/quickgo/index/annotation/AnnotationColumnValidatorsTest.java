@@ -0,0 +1,116 @@
+package uk.ac.ebi.quickgo.index.annotation;
+
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static uk.ac.ebi.quickgo.index.annotation.AnnotationParsingHelper.ANNOTATION_EXTENSION_REGEX;
+import static uk.ac.ebi.quickgo.index.annotation.AnnotationParsingHelper.ANNOTATION_PROPERTIES_REGEX;
+import static uk.ac.ebi.quickgo.index.annotation.AnnotationParsingHelper.WITH_REGEX;
+
+/**
+ * Checks that each of the {@link AnnotationColumnValidators} accepts exactly the values matched by the regular
+ * expression it replaces. Besides a set of examples, each validator is checked against many randomly generated
+ * values, which are built from the fragments of the column's format, and then randomly corrupted.
+ *
+ * Created 19/10/26
+ */
+public class AnnotationColumnValidatorsTest {
+    private static final long SEED = 20161019L;
+    private static final int GENERATED_VALUES = 100_000;
+    private static final int MAX_FRAGMENTS = 8;
+
+    private static final String[] WITH_FRAGMENTS = {
+            "UniProtKB", "P12345", "GO", "0005515", "InterPro", "IPR000001", "With", "Not_Supplied", "a.b-c_d",
+            ":", ":", ",", "|", "", " ", "(", "=", "\t"};
+    private static final String[] EXTENSION_FRAGMENTS = {
+            "occurs_in", "part_of", "GO:0005634", "CL:0000001", "x.y-z_1", "(", ")", "(", ")", ",", "|", ":",
+            "", " ", "=", "()"};
+    private static final String[] PROPERTIES_FRAGMENTS = {
+            "go_evidence", "taxon_id", "IPI", "35758", "=", "=", ",", "|", "", " ", "\n", "\r", "\u0085",
+            "\u2028", "\u2029", "(", ":"};
+
+    private final Random random = new Random(SEED);
+
+    @Test
+    public void withValidatorMatchesExamplesLikeRegex() {
+        assertEquivalent(WITH_REGEX, AnnotationColumnValidators::isValidWith,
+                "UniProtKB:P12345", "With:Not_Supplied", "A:B:C", "A:B,C:D|E:F", "A:B|C:D,E:F",
+                "", "A", "A:", ":A", "A::B", "A:B,", "A:B|", ",A:B", "A:B,C", "A:B,,C:D", "A:B C:D", "A:B\n");
+    }
+
+    @Test
+    public void extensionValidatorMatchesExamplesLikeRegex() {
+        assertEquivalent(ANNOTATION_EXTENSION_REGEX, AnnotationColumnValidators::isValidExtension,
+                "occurs_in(CL:0000001)", "part_of", "a(b),c|d(e:f)", "GO:1", "a,b|c",
+                "", "a(", "a()", "a(b)c", "a(b)(c)", "(a)", "a(b,c)", "a,", "|a", "a((b))", "a(b) ", "a b");
+    }
+
+    @Test
+    public void propertiesValidatorMatchesExamplesLikeRegex() {
+        assertEquivalent(ANNOTATION_PROPERTIES_REGEX, AnnotationColumnValidators::isValidProperties,
+                "go_evidence=IPI|taxon_id=35758", "=", "a=b,c", ",=|", "a|b=", "a=b|c",
+                "", "a", "a,b|c", "a=b\n", "\r=", "a=\u2028b", "a=\u0085");
+    }
+
+    @Test
+    public void withValidatorMatchesGeneratedValuesLikeRegex() {
+        assertEquivalentForGeneratedValues(WITH_REGEX, AnnotationColumnValidators::isValidWith, WITH_FRAGMENTS);
+    }
+
+    @Test
+    public void extensionValidatorMatchesGeneratedValuesLikeRegex() {
+        assertEquivalentForGeneratedValues(ANNOTATION_EXTENSION_REGEX, AnnotationColumnValidators::isValidExtension,
+                EXTENSION_FRAGMENTS);
+    }
+
+    @Test
+    public void propertiesValidatorMatchesGeneratedValuesLikeRegex() {
+        assertEquivalentForGeneratedValues(ANNOTATION_PROPERTIES_REGEX, AnnotationColumnValidators::isValidProperties,
+                PROPERTIES_FRAGMENTS);
+    }
+
+    private void assertEquivalentForGeneratedValues(Pattern regex, Predicate<String> validator,
+            String[] fragments) {
+        for (int i = 0; i < GENERATED_VALUES; i++) {
+            assertEquivalent(regex, validator, generateValue(fragments));
+        }
+    }
+
+    private static void assertEquivalent(Pattern regex, Predicate<String> validator, String... values) {
+        for (String value : values) {
+            assertThat("Unexpected validation of <" + value + ">", validator.test(value),
+                    is(regex.matcher(value).matches()));
+        }
+    }
+
+    private String generateValue(String[] fragments) {
+        StringBuilder value = new StringBuilder();
+        int fragmentCount = random.nextInt(MAX_FRAGMENTS) + 1;
+        for (int i = 0; i < fragmentCount; i++) {
+            value.append(fragments[random.nextInt(fragments.length)]);
+        }
+
+        if (value.length() > 0 && random.nextInt(4) == 0) {
+            corrupt(value);
+        }
+        return value.toString();
+    }
+
+    private void corrupt(StringBuilder value) {
+        int position = random.nextInt(value.length());
+        switch (random.nextInt(3)) {
+            case 0:
+                value.deleteCharAt(position);
+                break;
+            case 1:
+                value.insert(position, (char) random.nextInt(128));
+                break;
+            default:
+                value.setCharAt(position, (char) random.nextInt(128));
+        }
+    }
+}
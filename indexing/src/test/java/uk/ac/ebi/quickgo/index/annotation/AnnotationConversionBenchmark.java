@@ -0,0 +1,105 @@
+package uk.ac.ebi.quickgo.index.annotation;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.batch.item.file.mapping.DefaultLineMapper;
+import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
+
+import static uk.ac.ebi.quickgo.index.common.datafile.GOADataFileParsingHelper.TAB;
+
+/**
+ * <p>Measures the throughput of mapping every line of a GPAD file to an {@link Annotation}, and converting it to an
+ * {@link uk.ac.ebi.quickgo.annotation.common.AnnotationDocument}, using the {@link LowAllocationAnnotationLineMapper}
+ * and {@link LowAllocationAnnotationDocumentConverter}, compared to the mapper and converter they replace. Run with
+ * {@code -prof gc} to compare the allocation rates.
+ *
+ * <p>The GPAD file, which may be gzipped, is given by the system property {@code benchmark.gpad.file}; by default,
+ * the small file used by the indexing tests is read. Run, e.g., with:
+ * <pre>
+ *     java -cp [test classpath] -Dbenchmark.gpad.file=/path/to/goa_uniprot.gpa.gz \
+ *         uk.ac.ebi.quickgo.index.annotation.AnnotationConversionBenchmark
+ * </pre>
+ *
+ * Created 19/10/26
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AnnotationConversionBenchmark {
+    private static final String GPAD_FILE_PROPERTY = "benchmark.gpad.file";
+    private static final String DEFAULT_GPAD_FILE = "src/test/resources/goa_uniprot.gpa.gz";
+    private static final String COMMENT_PREFIX = "!";
+
+    private List<String> lines;
+
+    private DefaultLineMapper<Annotation> lineMapper;
+    private AnnotationDocumentConverter docConverter;
+    private LowAllocationAnnotationLineMapper lowAllocationLineMapper;
+    private LowAllocationAnnotationDocumentConverter lowAllocationDocConverter;
+
+    @Setup
+    public void loadLines() throws IOException {
+        String gpadFile = System.getProperty(GPAD_FILE_PROPERTY, DEFAULT_GPAD_FILE);
+
+        lines = new ArrayList<>();
+        try (BufferedReader reader = open(gpadFile)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.startsWith(COMMENT_PREFIX)) {
+                    lines.add(line);
+                }
+            }
+        }
+
+        lineMapper = new DefaultLineMapper<>();
+        lineMapper.setLineTokenizer(new DelimitedLineTokenizer(TAB));
+        lineMapper.setFieldSetMapper(new StringToAnnotationMapper());
+        docConverter = new AnnotationDocumentConverter();
+
+        lowAllocationLineMapper = new LowAllocationAnnotationLineMapper();
+        lowAllocationDocConverter = new LowAllocationAnnotationDocumentConverter();
+    }
+
+    @Benchmark
+    public void lowAllocationConversion(Blackhole blackhole) {
+        for (int i = 0; i < lines.size(); i++) {
+            blackhole.consume(lowAllocationDocConverter.process(lowAllocationLineMapper.mapLine(lines.get(i), i)));
+        }
+    }
+
+    @Benchmark
+    public void tokenizerAndMapConversion(Blackhole blackhole) throws Exception {
+        for (int i = 0; i < lines.size(); i++) {
+            blackhole.consume(docConverter.process(lineMapper.mapLine(lines.get(i), i)));
+        }
+    }
+
+    private static BufferedReader open(String file) throws IOException {
+        FileInputStream fileStream = new FileInputStream(file);
+        return new BufferedReader(new InputStreamReader(
+                file.endsWith(".gz") ? new GZIPInputStream(fileStream) : fileStream, StandardCharsets.UTF_8));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AnnotationConversionBenchmark.class.getSimpleName())
+                .jvmArgsAppend("-D" + GPAD_FILE_PROPERTY + "=" +
+                        System.getProperty(GPAD_FILE_PROPERTY, DEFAULT_GPAD_FILE))
+                .build()).run();
+    }
+}
@@ -0,0 +1,108 @@
+package uk.ac.ebi.quickgo.index.annotation;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
+import org.springframework.validation.BindException;
+
+import static uk.ac.ebi.quickgo.index.annotation.AnnotationParsingHelper.ANNOTATION_EXTENSION_REGEX;
+import static uk.ac.ebi.quickgo.index.annotation.AnnotationParsingHelper.ANNOTATION_PROPERTIES_REGEX;
+import static uk.ac.ebi.quickgo.index.annotation.AnnotationParsingHelper.WITH_REGEX;
+import static uk.ac.ebi.quickgo.index.common.datafile.GOADataFileParsingHelper.TAB;
+
+/**
+ * <p>Measures the throughput of validating the with, extension and properties columns of every annotation within a
+ * GPAD file, using the {@link AnnotationColumnValidators}, compared to the regular expressions they replace.
+ *
+ * <p>The GPAD file, which may be gzipped, is given by the system property {@code benchmark.gpad.file}; by default,
+ * the small file used by the indexing tests is read. Run, e.g., with:
+ * <pre>
+ *     java -cp [test classpath] -Dbenchmark.gpad.file=/path/to/goa_uniprot.gpa.gz \
+ *         uk.ac.ebi.quickgo.index.annotation.AnnotationValidatorBenchmark
+ * </pre>
+ *
+ * Created 19/10/26
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AnnotationValidatorBenchmark {
+    private static final String GPAD_FILE_PROPERTY = "benchmark.gpad.file";
+    private static final String DEFAULT_GPAD_FILE = "src/test/resources/goa_uniprot.gpa.gz";
+    private static final String COMMENT_PREFIX = "!";
+
+    private List<Annotation> annotations;
+
+    @Setup
+    public void loadAnnotations() throws IOException, BindException {
+        String gpadFile = System.getProperty(GPAD_FILE_PROPERTY, DEFAULT_GPAD_FILE);
+        DelimitedLineTokenizer tokenizer = new DelimitedLineTokenizer(TAB);
+        StringToAnnotationMapper mapper = new StringToAnnotationMapper();
+
+        annotations = new ArrayList<>();
+        try (BufferedReader reader = open(gpadFile)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.startsWith(COMMENT_PREFIX)) {
+                    annotations.add(mapper.mapFieldSet(tokenizer.tokenize(line)));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void linearValidators(Blackhole blackhole) {
+        for (Annotation annotation : annotations) {
+            blackhole.consume(isNullOrEmpty(annotation.with) ||
+                    AnnotationColumnValidators.isValidWith(annotation.with));
+            blackhole.consume(isNullOrEmpty(annotation.annotationExtension) ||
+                    AnnotationColumnValidators.isValidExtension(annotation.annotationExtension));
+            blackhole.consume(isNullOrEmpty(annotation.annotationProperties) ||
+                    AnnotationColumnValidators.isValidProperties(annotation.annotationProperties));
+        }
+    }
+
+    @Benchmark
+    public void regularExpressions(Blackhole blackhole) {
+        for (Annotation annotation : annotations) {
+            blackhole.consume(isNullOrEmpty(annotation.with) || WITH_REGEX.matcher(annotation.with).matches());
+            blackhole.consume(isNullOrEmpty(annotation.annotationExtension) ||
+                    ANNOTATION_EXTENSION_REGEX.matcher(annotation.annotationExtension).matches());
+            blackhole.consume(isNullOrEmpty(annotation.annotationProperties) ||
+                    ANNOTATION_PROPERTIES_REGEX.matcher(annotation.annotationProperties).matches());
+        }
+    }
+
+    private static boolean isNullOrEmpty(String value) {
+        return value == null || value.isEmpty();
+    }
+
+    private static BufferedReader open(String file) throws IOException {
+        FileInputStream fileStream = new FileInputStream(file);
+        return new BufferedReader(new InputStreamReader(
+                file.endsWith(".gz") ? new GZIPInputStream(fileStream) : fileStream, StandardCharsets.UTF_8));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AnnotationValidatorBenchmark.class.getSimpleName())
+                .jvmArgsAppend("-D" + GPAD_FILE_PROPERTY + "=" +
+                        System.getProperty(GPAD_FILE_PROPERTY, DEFAULT_GPAD_FILE))
+                .build()).run();
+    }
+}
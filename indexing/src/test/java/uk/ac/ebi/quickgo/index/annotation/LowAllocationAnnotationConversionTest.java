@@ -0,0 +1,172 @@
+package uk.ac.ebi.quickgo.index.annotation;
+
+import uk.ac.ebi.quickgo.annotation.common.AnnotationDocument;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.batch.item.file.LineMapper;
+import org.springframework.batch.item.file.mapping.DefaultLineMapper;
+import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
+import org.springframework.batch.item.file.transform.IncorrectTokenCountException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static uk.ac.ebi.quickgo.index.annotation.AnnotationMocker.createValidAnnotation;
+import static uk.ac.ebi.quickgo.index.common.datafile.GOADataFileParsingHelper.TAB;
+
+/**
+ * Checks that the {@link LowAllocationAnnotationLineMapper} and {@link LowAllocationAnnotationDocumentConverter}
+ * produce the same annotations and documents as the mapper and converter they replace, for every line of the sample
+ * GPAD file, and for annotations whose values are awkward to parse.
+ *
+ * Created 19/10/26
+ */
+public class LowAllocationAnnotationConversionTest {
+    private static final String GPAD_FILE = "src/test/resources/goa_uniprot.gpa.gz";
+    private static final String COMMENT_PREFIX = "!";
+
+    private LineMapper<Annotation> originalMapper;
+    private LowAllocationAnnotationLineMapper lowAllocationMapper;
+    private AnnotationDocumentConverter originalConverter;
+    private LowAllocationAnnotationDocumentConverter lowAllocationConverter;
+
+    @Before
+    public void setUp() {
+        DefaultLineMapper<Annotation> lineMapper = new DefaultLineMapper<>();
+        lineMapper.setLineTokenizer(new DelimitedLineTokenizer(TAB));
+        lineMapper.setFieldSetMapper(new StringToAnnotationMapper());
+        originalMapper = lineMapper;
+        lowAllocationMapper = new LowAllocationAnnotationLineMapper();
+
+        originalConverter = new AnnotationDocumentConverter();
+        lowAllocationConverter = new LowAllocationAnnotationDocumentConverter();
+    }
+
+    @Test
+    public void mapsAndConvertsEveryLineOfSampleFileIdentically() throws Exception {
+        int lineNumber = 0;
+        int annotations = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new FileInputStream(GPAD_FILE)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (!line.startsWith(COMMENT_PREFIX)) {
+                    assertMapsAndConvertsIdentically(line, lineNumber);
+                    annotations++;
+                }
+            }
+        }
+
+        assertThat(annotations, is(greaterThan(0)));
+    }
+
+    @Test
+    public void mapsLinesWithPaddedAndEmptyColumnsIdentically() throws Exception {
+        assertMapsAndConvertsIdentically(" UniProtKB\tA0A000 \t\tGO:0003824\tGO_REF:0000002\tECO:0000256\t\t\t" +
+                "InterPro\t\tgo_evidence=IEA|taxon_id=35758\t20150610", 1);
+        assertMapsAndConvertsIdentically("UniProtKB\tA0A000\tenables\tGO:0003824\tGO_REF:0000002\tECO:0000256\t" +
+                "InterPro:IPR000001|\ttaxon:1\tInterPro\tpart_of(GO:1)\tgo_evidence=IEA\t20150610\t", 2);
+    }
+
+    @Test(expected = IncorrectTokenCountException.class)
+    public void lineWithTooFewColumnsIsRejected() {
+        lowAllocationMapper.mapLine("UniProtKB\tA0A000\tenables", 1);
+    }
+
+    @Test
+    public void convertsAwkwardPropertiesIdentically() throws Exception {
+        assertConvertsPropertiesIdentically("");
+        assertConvertsPropertiesIdentically("go_evidence=IEA|go_evidence=IDA");
+        assertConvertsPropertiesIdentically("go_evidence|taxon_id=");
+        assertConvertsPropertiesIdentically("go_evidence=a=b|taxon_id=1==");
+        assertConvertsPropertiesIdentically("taxon_id=0|taxon_lineage=1,0");
+        assertConvertsPropertiesIdentically("taxon_id=2147483647|taxon_lineage=1,2,,3");
+        assertConvertsPropertiesIdentically("taxon_lineage=1,2,|target_set=a,,b,,|db_object_symbol=x y");
+        assertConvertsPropertiesIdentically("target_set=|proteome=|go_aspect=F||");
+        assertConvertsPropertiesIdentically("db_subset=Swiss-Prot|db_object_type=protein|");
+    }
+
+    @Test
+    public void emptyAndEqualsOnlyPropertiesAreIgnored() {
+        Annotation annotation = createValidAnnotation();
+        annotation.annotationProperties = "|go_evidence=IEA||==|taxon_id=35758";
+
+        AnnotationDocument document = lowAllocationConverter.process(annotation);
+
+        assertThat(document.goEvidence, is("IEA"));
+        assertThat(document.taxonId, is(35758));
+    }
+
+    @Test
+    public void convertsAwkwardDatesIdentically() throws Exception {
+        String[] dates = {"20150610", "20160229", "20150229", "20150230", "20150431", "20151301", "20150000",
+                "00000101", "99991231", "2015061", "201506100", "2015O610", "", null};
+
+        for (String date : dates) {
+            Annotation annotation = createValidAnnotation();
+            annotation.date = date;
+            assertConvertsIdentically(annotation);
+        }
+    }
+
+    @Test
+    public void convertsAwkwardTaxaAndWithIdentically() throws Exception {
+        String[] values = {null, "", "taxon:", "taxon:0", "taxon:12", "taxon:12a", "taxon:2147483647", "12",
+                "|", "a||b|", "|a"};
+
+        for (String value : values) {
+            Annotation annotation = createValidAnnotation();
+            annotation.interactingTaxonId = value;
+            annotation.with = value;
+            assertConvertsIdentically(annotation);
+        }
+    }
+
+    private void assertConvertsPropertiesIdentically(String properties) throws Exception {
+        Annotation annotation = createValidAnnotation();
+        annotation.annotationProperties = properties;
+        assertConvertsIdentically(annotation);
+    }
+
+    private void assertMapsAndConvertsIdentically(String line, int lineNumber) throws Exception {
+        Annotation expected = originalMapper.mapLine(line, lineNumber);
+        Annotation actual = lowAllocationMapper.mapLine(line, lineNumber);
+        assertThat("Line " + lineNumber + " mapped differently", actual, is(expected));
+
+        assertConvertsIdentically(actual);
+    }
+
+    private void assertConvertsIdentically(Annotation annotation) throws Exception {
+        AnnotationDocument expected = originalConverter.process(annotation);
+        AnnotationDocument actual = lowAllocationConverter.process(annotation);
+
+        String description = annotation.toString();
+        assertThat(description, actual.id, is(expected.id));
+        assertThat(description, actual.geneProductId, is(expected.geneProductId));
+        assertThat(description, actual.qualifier, is(expected.qualifier));
+        assertThat(description, actual.goId, is(expected.goId));
+        assertThat(description, actual.reference, is(expected.reference));
+        assertThat(description, actual.assignedBy, is(expected.assignedBy));
+        assertThat(description, actual.evidenceCode, is(expected.evidenceCode));
+        assertThat(description, actual.extensions, is(expected.extensions));
+        assertThat(description, actual.withFrom, is(expected.withFrom));
+        assertThat(description, actual.interactingTaxonId, is(expected.interactingTaxonId));
+        assertThat(description, actual.goEvidence, is(expected.goEvidence));
+        assertThat(description, actual.geneProductSubset, is(expected.geneProductSubset));
+        assertThat(description, actual.symbol, is(expected.symbol));
+        assertThat(description, actual.geneProductType, is(expected.geneProductType));
+        assertThat(description, actual.taxonId, is(expected.taxonId));
+        assertThat(description, actual.targetSets, is(expected.targetSets));
+        assertThat(description, actual.goAspect, is(expected.goAspect));
+        assertThat(description, actual.date, is(expected.date));
+        assertThat(description, actual.taxonAncestors, is(expected.taxonAncestors));
+        assertThat(description, actual.proteome, is(expected.proteome));
+    }
+}
@@ -66,6 +66,18 @@ public class CoTermsAggregationWriterTest {
         assertThat(coTermsForSelectedTerm.highestSimilarity().size(), is(2));
     }
 
+    @Test
+    public void buildCoTermsForSelectedTermKeepsOnlyCoTermOfHighestSimilarityUpToLimit() throws Exception {
+        List<AnnotationDocument> docs = createDocs(TWO_SAME_GENE_PRODUCTS);
+        docs.add(createDocs(TWO_DIFFERENT_GENE_PRODUCTS).get(1));
+        docs.get(1).goId = REPLACEMENT_GO_ID;
+        completeAggregation(docs);
+
+        List<CoTerm> coTerms = aggregator.createCoTermsForSelectedTerm(REPLACEMENT_GO_ID, 1).highestSimilarity();
+        assertThat(coTerms.size(), is(1));
+        assertThat(coTerms.get(0).getComparedTerm(), is(REPLACEMENT_GO_ID));
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void exceptionThrownIfNullAnnotationPassedToAddRowToMatrix() throws Exception {
         aggregator.write(null);
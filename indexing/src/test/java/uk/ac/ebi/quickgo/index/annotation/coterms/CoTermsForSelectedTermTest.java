@@ -1,12 +1,15 @@
 package uk.ac.ebi.quickgo.index.annotation.coterms;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
@@ -86,6 +89,54 @@ public class CoTermsForSelectedTermTest {
 
 
 
+    @Test
+    public void coTermsOfEqualSimilarityAreSortedByProbabilityRatio() {
+        CoTermsForSelectedTerm.Builder builder = new CoTermsForSelectedTerm.Builder()
+                .setTotalNumberOfGeneProducts(10).setSelected(2);
+
+        CoTerm lowerProbability = coTerm("GO:0000001", 5f, 1f);
+        CoTerm higherSimilarity = coTerm("GO:0000002", 6f, 0.5f);
+        CoTerm higherProbability = coTerm("GO:0000003", 5f, 2f);
+        builder.addCoTerm(lowerProbability).addCoTerm(higherSimilarity).addCoTerm(higherProbability);
+
+        assertThat(builder.build().highestSimilarity(), contains(higherSimilarity, higherProbability,
+                lowerProbability));
+    }
+
+    @Test
+    public void onlyCoTermsOfHighestSimilarityUpToLimitAreKept() {
+        CoTermsForSelectedTerm.Builder builder = new CoTermsForSelectedTerm.Builder()
+                .setTotalNumberOfGeneProducts(100).setSelected(2).setLimit(3);
+
+        List<CoTerm> added = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            CoTerm coTerm = coTerm(String.format("GO:%07d", i), (i * 7) % 20, 1f);
+            added.add(coTerm);
+            builder.addCoTerm(coTerm);
+        }
+
+        List<CoTerm> terms = builder.build().highestSimilarity();
+        assertThat(terms, hasSize(3));
+        assertThat(terms.stream().map(CoTerm::getSimilarityRatio).collect(Collectors.toList()),
+                contains(19f, 18f, 17f));
+        assertThat(added.containsAll(terms), is(true));
+    }
+
+    @Test
+    public void fewerCoTermsThanLimitAreAllKept() {
+        CoTermsForSelectedTerm.Builder builder = new CoTermsForSelectedTerm.Builder()
+                .setTotalNumberOfGeneProducts(10).setSelected(2).setLimit(5);
+
+        builder.addCoTerm(coTerm("GO:0000001", 1f, 1f)).addCoTerm(coTerm("GO:0000002", 2f, 1f));
+
+        assertThat(builder.build().highestSimilarity(), hasSize(2));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void settingLimitOfZeroCausesException(){
+        new CoTermsForSelectedTerm.Builder().setLimit(0);
+    }
+
     @Test(expected=IllegalArgumentException.class)
     public void passingNullToAddAndCalculateCausesException(){
         new CoTermsForSelectedTerm.Builder().addCoTerm(null);
@@ -119,4 +170,13 @@ public class CoTermsForSelectedTermTest {
                 .addCoTerm( mock(CoTerm.class, "One"));
         builder.build();
     }
+
+    private static CoTerm coTerm(String comparedTerm, float similarityRatio, float probabilityRatio) {
+        return new CoTerm.Builder()
+                .setTarget("GO:9999999")
+                .setComparedTerm(comparedTerm)
+                .setSimilarityRatio(similarityRatio)
+                .setProbabilityRatio(probabilityRatio)
+                .build();
+    }
 }
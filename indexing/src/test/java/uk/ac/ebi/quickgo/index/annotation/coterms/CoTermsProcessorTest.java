@@ -28,6 +28,7 @@ import static org.mockito.Mockito.when;
 public class CoTermsProcessorTest {
 
     private static final String GO_TERM = "GO:0003824";
+    private static final int LIMIT = 3;
     @Mock
     private CoTermsForSelectedTerm coTermsForSelectedTerm;
     @Mock
@@ -42,21 +43,26 @@ public class CoTermsProcessorTest {
 
         List<CoTerm> returnList = Arrays.asList(mockTermA, mockTermB, mockTermC);
 
-        when(aggregator.createCoTermsForSelectedTerm(GO_TERM)).thenReturn(coTermsForSelectedTerm);
+        when(aggregator.createCoTermsForSelectedTerm(GO_TERM, LIMIT)).thenReturn(coTermsForSelectedTerm);
         when(coTermsForSelectedTerm.highestSimilarity()).thenReturn(returnList);
-        CoTermsProcessor coTermsCalculator = new CoTermsProcessor(aggregator);
+        CoTermsProcessor coTermsCalculator = new CoTermsProcessor(aggregator, LIMIT);
         assertThat(coTermsCalculator.process(GO_TERM), is(returnList));
     }
 
     @Test(expected = IllegalArgumentException.class)
     public void processNullCausesException() {
-        CoTermsProcessor calculator = new CoTermsProcessor(aggregator);
+        CoTermsProcessor calculator = new CoTermsProcessor(aggregator, LIMIT);
         calculator.process(null);
     }
 
     @Test(expected = IllegalArgumentException.class)
     public void aggregatorIsNullCausesException() {
-        new CoTermsProcessor(null);
+        new CoTermsProcessor(null, LIMIT);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void limitOfZeroCausesException() {
+        new CoTermsProcessor(aggregator, 0);
     }
 
 }
@@ -0,0 +1,171 @@
+package uk.ac.ebi.quickgo.index.annotation.delta;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.apache.solr.client.solrj.SolrClient;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Created 19/10/26
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class AnnotationChangeDetectorTest {
+    private static final String HEADER = "!gpa-version: 1.1";
+    private static final String GP_1_LINE = "UniProtKB\tA0A000\tenables\tGO:0003824\tPMID:1\tECO:0000269";
+    private static final String GP_2_LINE = "UniProtKB\tA0A001\tpart_of\tGO:0005737\tPMID:2\tECO:0000269";
+    private static final String GP_1 = "UniProtKB:A0A000";
+    private static final String GP_2 = "UniProtKB:A0A001";
+    private static final String GP_3 = "UniProtKB:A0A002";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Mock
+    private SolrClient solrClient;
+
+    private Path source;
+    private Path fingerprintsFile;
+
+    @Before
+    public void setUp() throws IOException {
+        source = temporaryFolder.getRoot().toPath().resolve("annotations.gpa");
+        fingerprintsFile = temporaryFolder.getRoot().toPath().resolve("annotations.fingerprints");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullResourcesThrowsException() {
+        new AnnotationChangeDetector(null, 1, fingerprintsFile, solrClient);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullFingerprintsFileThrowsException() {
+        new AnnotationChangeDetector(resources(), 1, null, solrClient);
+    }
+
+    @Test
+    public void everyGeneProductIsChangedBeforeChangesAreDetected() {
+        assertThat(detector().isChanged(GP_1), is(true));
+    }
+
+    @Test
+    public void firstJobDeletesAllDocumentsAndChangesEveryGeneProduct() throws Exception {
+        writeSource(GP_1_LINE, GP_2_LINE);
+        AnnotationChangeDetector detector = detector();
+
+        detector.execute(null, null);
+
+        verify(solrClient).deleteByQuery(AnnotationChangeDetector.ALL_DOCUMENTS_QUERY);
+        assertThat(detector.isChanged(GP_1), is(true));
+        assertThat(detector.isChanged(GP_3), is(true));
+    }
+
+    @Test
+    public void completedJobRecordsFingerprints() throws Exception {
+        writeSource(GP_1_LINE);
+        AnnotationChangeDetector detector = detector();
+
+        detector.execute(null, null);
+        detector.afterJob(jobExecution(BatchStatus.COMPLETED));
+
+        assertThat(Files.exists(fingerprintsFile), is(true));
+    }
+
+    @Test
+    public void failedJobDoesNotRecordFingerprints() throws Exception {
+        writeSource(GP_1_LINE);
+        AnnotationChangeDetector detector = detector();
+
+        detector.execute(null, null);
+        detector.afterJob(jobExecution(BatchStatus.FAILED));
+
+        assertThat(Files.exists(fingerprintsFile), is(false));
+    }
+
+    @Test
+    public void unchangedSourceDeletesNothingAndChangesNoGeneProduct() throws Exception {
+        writeSource(GP_1_LINE, GP_2_LINE);
+        completeJob();
+
+        AnnotationChangeDetector detector = detector();
+        detector.execute(null, null);
+
+        verify(solrClient, never()).deleteByQuery(anyString());
+        assertThat(detector.isChanged(GP_1), is(false));
+        assertThat(detector.isChanged(GP_2), is(false));
+    }
+
+    @Test
+    public void changedAndRemovedGeneProductsAreDeleted() throws Exception {
+        writeSource(GP_1_LINE, GP_2_LINE);
+        completeJob();
+        writeSource(GP_1_LINE.replace("PMID:1", "PMID:3"));
+
+        AnnotationChangeDetector detector = detector();
+        detector.execute(null, null);
+
+        verify(solrClient).deleteByQuery("geneProductId:(UniProtKB\\:A0A000)");
+        verify(solrClient).deleteByQuery("geneProductId:(UniProtKB\\:A0A001)");
+        assertThat(detector.isChanged(GP_1), is(true));
+        assertThat(detector.isChanged(GP_2), is(false));
+    }
+
+    @Test
+    public void headerAndCommentLinesAreNotFingerprinted() throws Exception {
+        writeSource(GP_1_LINE);
+        completeJob();
+        Files.write(source, asList(HEADER, "!a changed comment", GP_1_LINE));
+
+        AnnotationChangeDetector detector = detector();
+        detector.execute(null, null);
+
+        assertThat(detector.isChanged(GP_1), is(false));
+    }
+
+    private void completeJob() throws Exception {
+        AnnotationChangeDetector detector = detector();
+        detector.execute(null, null);
+        detector.afterJob(jobExecution(BatchStatus.COMPLETED));
+        reset(solrClient);
+    }
+
+    private AnnotationChangeDetector detector() {
+        return new AnnotationChangeDetector(resources(), 1, fingerprintsFile, solrClient);
+    }
+
+    private Resource[] resources() {
+        return new Resource[]{new FileSystemResource(source.toFile())};
+    }
+
+    private void writeSource(String... lines) throws IOException {
+        StringBuilder content = new StringBuilder(HEADER).append('\n');
+        for (String line : lines) {
+            content.append(line).append('\n');
+        }
+        Files.write(source, content.toString().getBytes());
+    }
+
+    private static JobExecution jobExecution(BatchStatus status) {
+        JobExecution jobExecution = new JobExecution(1L);
+        jobExecution.setStatus(status);
+        return jobExecution;
+    }
+}
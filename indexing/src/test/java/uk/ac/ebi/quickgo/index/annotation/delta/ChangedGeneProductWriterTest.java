@@ -0,0 +1,76 @@
+package uk.ac.ebi.quickgo.index.annotation.delta;
+
+import uk.ac.ebi.quickgo.annotation.common.AnnotationDocument;
+
+import java.util.Collections;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.batch.item.ItemWriter;
+
+import static java.util.Arrays.asList;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Created 19/10/26
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ChangedGeneProductWriterTest {
+    private static final String CHANGED_GP = "UniProtKB:A0A000";
+    private static final String UNCHANGED_GP = "UniProtKB:A0A001";
+
+    @Mock
+    private AnnotationChangeDetector changeDetector;
+    @Mock
+    private ItemWriter<AnnotationDocument> delegate;
+
+    private ChangedGeneProductWriter writer;
+
+    @Before
+    public void setUp() {
+        when(changeDetector.isChanged(CHANGED_GP)).thenReturn(true);
+        writer = new ChangedGeneProductWriter(changeDetector, delegate);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullChangeDetectorThrowsException() {
+        new ChangedGeneProductWriter(null, delegate);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullDelegateThrowsException() {
+        new ChangedGeneProductWriter(changeDetector, null);
+    }
+
+    @Test
+    public void onlyDocumentsOfChangedGeneProductsAreWritten() throws Exception {
+        AnnotationDocument changed1 = document(CHANGED_GP);
+        AnnotationDocument unchanged = document(UNCHANGED_GP);
+        AnnotationDocument changed2 = document(CHANGED_GP);
+
+        writer.write(asList(changed1, unchanged, changed2));
+
+        verify(delegate).write(asList(changed1, changed2));
+    }
+
+    @Test
+    public void nothingIsWrittenWhenNoGeneProductHasChanged() throws Exception {
+        List<AnnotationDocument> unchanged = Collections.singletonList(document(UNCHANGED_GP));
+
+        writer.write(unchanged);
+
+        verify(delegate, never()).write(anyListOf(AnnotationDocument.class));
+    }
+
+    private static AnnotationDocument document(String geneProductId) {
+        AnnotationDocument document = new AnnotationDocument();
+        document.geneProductId = geneProductId;
+        return document;
+    }
+}
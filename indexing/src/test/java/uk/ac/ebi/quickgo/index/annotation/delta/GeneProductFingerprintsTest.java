@@ -0,0 +1,121 @@
+package uk.ac.ebi.quickgo.index.annotation.delta;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Created 19/10/26
+ */
+public class GeneProductFingerprintsTest {
+    private static final String GP_1 = "UniProtKB:A0A000";
+    private static final String GP_2 = "UniProtKB:A0A001";
+    private static final String GP_3 = "UniProtKB:A0A002";
+    private static final String LINE_1 = "UniProtKB\tA0A000\tenables\tGO:0003824";
+    private static final String LINE_2 = "UniProtKB\tA0A000\tenables\tGO:0016740";
+    private static final String LINE_3 = "UniProtKB\tA0A001\tpart_of\tGO:0005737";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path previousFile;
+
+    @Before
+    public void setUp() throws IOException {
+        previousFile = temporaryFolder.getRoot().toPath().resolve("fingerprints");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullGeneProductIdThrowsException() {
+        new GeneProductFingerprints().add(null, LINE_1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullLineThrowsException() {
+        new GeneProductFingerprints().add(GP_1, null);
+    }
+
+    @Test
+    public void identicalAnnotationsHaveNoChanges() throws IOException {
+        fingerprints(GP_1, LINE_1, GP_1, LINE_2, GP_2, LINE_3).writeTo(previousFile);
+
+        GeneProductChanges changes = fingerprints(GP_1, LINE_1, GP_1, LINE_2, GP_2, LINE_3).compareWith(previousFile);
+
+        assertThat(changes.getChanged(), is(empty()));
+        assertThat(changes.getRemoved(), is(empty()));
+    }
+
+    @Test
+    public void reorderedAnnotationsHaveNoChanges() throws IOException {
+        fingerprints(GP_1, LINE_1, GP_2, LINE_3, GP_1, LINE_2).writeTo(previousFile);
+
+        GeneProductChanges changes = fingerprints(GP_2, LINE_3, GP_1, LINE_2, GP_1, LINE_1).compareWith(previousFile);
+
+        assertThat(changes.getChanged(), is(empty()));
+    }
+
+    @Test
+    public void geneProductWithAddedAnnotationIsChanged() throws IOException {
+        fingerprints(GP_1, LINE_1, GP_2, LINE_3).writeTo(previousFile);
+
+        GeneProductChanges changes = fingerprints(GP_1, LINE_1, GP_1, LINE_2, GP_2, LINE_3).compareWith(previousFile);
+
+        assertThat(changes.getChanged(), containsInAnyOrder(GP_1));
+        assertThat(changes.isChanged(GP_1), is(true));
+        assertThat(changes.isChanged(GP_2), is(false));
+    }
+
+    @Test
+    public void geneProductWithDuplicatedAnnotationIsChanged() throws IOException {
+        fingerprints(GP_1, LINE_1).writeTo(previousFile);
+
+        GeneProductChanges changes = fingerprints(GP_1, LINE_1, GP_1, LINE_1).compareWith(previousFile);
+
+        assertThat(changes.getChanged(), containsInAnyOrder(GP_1));
+    }
+
+    @Test
+    public void newGeneProductsAreChanged() throws IOException {
+        fingerprints(GP_2, LINE_3).writeTo(previousFile);
+
+        GeneProductChanges changes = fingerprints(GP_1, LINE_1, GP_2, LINE_3, GP_3, "UniProtKB\tA0A002\tenables")
+                .compareWith(previousFile);
+
+        assertThat(changes.getChanged(), containsInAnyOrder(GP_1, GP_3));
+        assertThat(changes.getRemoved(), is(empty()));
+    }
+
+    @Test
+    public void geneProductsNoLongerAnnotatedAreRemoved() throws IOException {
+        fingerprints(GP_1, LINE_1, GP_2, LINE_3, GP_3, "UniProtKB\tA0A002\tenables").writeTo(previousFile);
+
+        GeneProductChanges changes = fingerprints(GP_2, LINE_3).compareWith(previousFile);
+
+        assertThat(changes.getChanged(), is(empty()));
+        assertThat(changes.getRemoved(), containsInAnyOrder(GP_1, GP_3));
+    }
+
+    @Test(expected = IOException.class)
+    public void comparingWithFileThatIsNotFingerprintsThrowsException() throws IOException {
+        Files.write(previousFile, "not fingerprints".getBytes());
+
+        fingerprints(GP_1, LINE_1).compareWith(previousFile);
+    }
+
+    private static GeneProductFingerprints fingerprints(String... geneProductIdsAndLines) {
+        GeneProductFingerprints fingerprints = new GeneProductFingerprints();
+        for (int i = 0; i < geneProductIdsAndLines.length; i += 2) {
+            fingerprints.add(geneProductIdsAndLines[i], geneProductIdsAndLines[i + 1]);
+        }
+        return fingerprints;
+    }
+}
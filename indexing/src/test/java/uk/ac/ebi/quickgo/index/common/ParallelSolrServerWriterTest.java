@@ -0,0 +1,285 @@
+package uk.ac.ebi.quickgo.index.common;
+
+import uk.ac.ebi.quickgo.common.QuickGODocument;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.WriteFailedException;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Created 19/10/26
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ParallelSolrServerWriterTest {
+    private static final int SENDER_THREADS = 2;
+    private static final int CHUNKS_IN_FLIGHT = 1;
+
+    @Mock
+    private SolrClient solrClient;
+    private ParallelSolrServerWriter<QuickGODocument> writer;
+    private ParallelSolrServerWriter<QuickGODocument> windowedWriter;
+    private StepExecution stepExecution;
+
+    @Before
+    public void setUp() {
+        writer = new ParallelSolrServerWriter<>(solrClient, SENDER_THREADS, 0);
+        windowedWriter = new ParallelSolrServerWriter<>(solrClient, SENDER_THREADS, CHUNKS_IN_FLIGHT);
+
+        stepExecution = new StepExecution("indexingStep", new JobExecution(1L));
+        windowedWriter.beforeStep(stepExecution);
+    }
+
+    @After
+    public void tearDown() {
+        writer.destroy();
+        windowedWriter.destroy();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullSolrClientCausesException() {
+        new ParallelSolrServerWriter<>(null, SENDER_THREADS, CHUNKS_IN_FLIGHT);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void noSenderThreadsCausesException() {
+        new ParallelSolrServerWriter<>(solrClient, 0, CHUNKS_IN_FLIGHT);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeNumberOfChunksInFlightCausesException() {
+        new ParallelSolrServerWriter<>(solrClient, SENDER_THREADS, -1);
+    }
+
+    @Test
+    public void chunkSmallerThanNumberOfSenderThreadsIsSentWhole() throws Exception {
+        List<FakeDocument> documents = singletonList(new FakeDocument());
+
+        writer.write(documents);
+
+        verify(solrClient).addBeans(documents);
+    }
+
+    @Test
+    public void chunkIsSplitBetweenSenderThreads() throws Exception {
+        FakeDocument doc1 = new FakeDocument();
+        FakeDocument doc2 = new FakeDocument();
+        FakeDocument doc3 = new FakeDocument();
+
+        writer.write(asList(doc1, doc2, doc3));
+
+        verify(solrClient).addBeans(asList(doc1, doc2));
+        verify(solrClient).addBeans(singletonList(doc3));
+    }
+
+    @Test
+    public void emptyChunkIsNotSentToSolr() throws Exception {
+        writer.write(Collections.<FakeDocument>emptyList());
+
+        verify(solrClient, never()).addBeans(any(Collection.class));
+    }
+
+    @Test
+    public void writeWaitsUntilChunkHasBeenSent() throws Exception {
+        CountDownLatch solrBusy = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            solrBusy.await();
+            return null;
+        }).when(solrClient).addBeans(any(Collection.class));
+
+        ExecutorService chunkThread = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> write = chunkThread.submit(() -> {
+                writer.write(singletonList(new FakeDocument()));
+                return null;
+            });
+            assertThat(isBlocked(write), is(true));
+
+            solrBusy.countDown();
+            write.get(5, TimeUnit.SECONDS);
+        } finally {
+            chunkThread.shutdownNow();
+        }
+    }
+
+    @Test(expected = SolrServerException.class)
+    public void failureToSendChunkIsThrownByItsWrite() throws Exception {
+        doThrow(new SolrServerException("Solr is unavailable")).when(solrClient).addBeans(any(Collection.class));
+
+        writer.write(singletonList(new FakeDocument()));
+    }
+
+    @Test
+    public void failureToSendEachPartOfChunkIsReported() throws Exception {
+        doThrow(new SolrServerException("Solr is unavailable"))
+                .doThrow(new SolrServerException("Solr is still unavailable"))
+                .when(solrClient).addBeans(any(Collection.class));
+
+        try {
+            writer.write(asList(new FakeDocument(), new FakeDocument()));
+        } catch (SolrServerException e) {
+            assertThat(e.getSuppressed().length, is(1));
+            return;
+        }
+        throw new AssertionError("Expected write to fail");
+    }
+
+    @Test
+    public void writeWithRoomForChunkInFlightReturnsBeforeChunkHasBeenSent() throws Exception {
+        CountDownLatch solrBusy = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            solrBusy.await();
+            return null;
+        }).when(solrClient).addBeans(any(Collection.class));
+
+        ExecutorService chunkThread = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> write = chunkThread.submit(() -> {
+                windowedWriter.write(singletonList(new FakeDocument()));
+                return null;
+            });
+            write.get(5, TimeUnit.SECONDS);
+        } finally {
+            solrBusy.countDown();
+            chunkThread.shutdownNow();
+        }
+        windowedWriter.flush();
+
+        verify(solrClient).addBeans(any(Collection.class));
+    }
+
+    @Test
+    public void writeWithNoRoomForChunkInFlightWaitsUntilEarlierChunkHasBeenSent() throws Exception {
+        CountDownLatch solrBusy = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            solrBusy.await();
+            return null;
+        }).when(solrClient).addBeans(any(Collection.class));
+
+        ExecutorService chunkThread = Executors.newSingleThreadExecutor();
+        try {
+            windowedWriter.write(singletonList(new FakeDocument()));
+            Future<?> write = chunkThread.submit(() -> {
+                windowedWriter.write(singletonList(new FakeDocument()));
+                return null;
+            });
+            assertThat(isBlocked(write), is(true));
+
+            solrBusy.countDown();
+            write.get(5, TimeUnit.SECONDS);
+        } finally {
+            solrBusy.countDown();
+            chunkThread.shutdownNow();
+        }
+    }
+
+    @Test
+    public void failureToSendChunkInFlightFailsNextWriteNamingThatChunk() throws Exception {
+        doThrow(new SolrServerException("Solr is unavailable")).when(solrClient).addBeans(any(Collection.class));
+
+        windowedWriter.write(asList(new FakeDocument("A"), new FakeDocument("B")));
+        windowedWriter.flush();
+
+        try {
+            windowedWriter.write(singletonList(new FakeDocument("C")));
+        } catch (WriteFailedException e) {
+            assertThat(e.getMessage(), containsString("chunk 1 of 2 documents, from A to B"));
+            verify(solrClient, times(SENDER_THREADS)).addBeans(any(Collection.class));
+            return;
+        }
+        throw new AssertionError("Expected write to fail");
+    }
+
+    @Test
+    public void stepFinishesOnceChunksInFlightHaveBeenSent() throws Exception {
+        CountDownLatch solrBusy = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            solrBusy.await();
+            return null;
+        }).when(solrClient).addBeans(any(Collection.class));
+
+        ExecutorService stepThread = Executors.newSingleThreadExecutor();
+        try {
+            windowedWriter.write(singletonList(new FakeDocument()));
+            Future<ExitStatus> afterStep = stepThread.submit(() -> windowedWriter.afterStep(stepExecution));
+            assertThat(isBlocked(afterStep), is(true));
+
+            solrBusy.countDown();
+            assertThat(afterStep.get(5, TimeUnit.SECONDS).getExitCode(), is(not(ExitStatus.FAILED.getExitCode())));
+            assertThat(stepExecution.getStatus(), is(not(BatchStatus.FAILED)));
+        } finally {
+            solrBusy.countDown();
+            stepThread.shutdownNow();
+        }
+    }
+
+    @Test
+    public void failureToSendChunkInFlightFailsStepNamingThatChunk() throws Exception {
+        doThrow(new SolrServerException("Solr is unavailable")).when(solrClient).addBeans(any(Collection.class));
+
+        windowedWriter.write(asList(new FakeDocument("A"), new FakeDocument("B")));
+        ExitStatus exitStatus = windowedWriter.afterStep(stepExecution);
+
+        assertThat(exitStatus.getExitCode(), is(ExitStatus.FAILED.getExitCode()));
+        assertThat(exitStatus.getExitDescription(), containsString("chunk 1 of 2 documents, from A to B"));
+        assertThat(stepExecution.getStatus(), is(BatchStatus.FAILED));
+        assertThat(stepExecution.getFailureExceptions(), hasSize(1));
+    }
+
+    private static boolean isBlocked(Future<?> future) throws Exception {
+        try {
+            future.get(200, TimeUnit.MILLISECONDS);
+            return false;
+        } catch (TimeoutException e) {
+            return true;
+        }
+    }
+
+    private static class FakeDocument implements QuickGODocument {
+        private final String uniqueName;
+
+        FakeDocument() {
+            this("I'm fake");
+        }
+
+        FakeDocument(String uniqueName) {
+            this.uniqueName = uniqueName;
+        }
+
+        @Override public String getUniqueName() {
+            return uniqueName;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package uk.ac.ebi.quickgo.index.ontology.counts;
+
+import uk.ac.ebi.quickgo.ontology.common.OntologyDocument;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Created 19/10/26
+ */
+public class AnnotationCounterTest {
+    private static final String HEADER = "!gpa-version: 1.1";
+    private static final String ROOT = "GO:0008150";
+    private static final String PARENT = "GO:0009987";
+    private static final String CHILD_1 = "GO:0006259";
+    private static final String CHILD_2 = "GO:0006260";
+    private static final String UNANNOTATED = "GO:0006261";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path source;
+    private Map<String, List<String>> ancestors;
+
+    @Before
+    public void setUp() {
+        source = temporaryFolder.getRoot().toPath().resolve("annotations.gpa");
+
+        // ROOT <- PARENT <- CHILD_1, CHILD_2; UNANNOTATED is related to no other term
+        ancestors = new HashMap<>();
+        ancestors.put(ROOT, Collections.singletonList(ROOT));
+        ancestors.put(PARENT, asList(PARENT, ROOT));
+        ancestors.put(CHILD_1, asList(CHILD_1, PARENT, ROOT));
+        ancestors.put(CHILD_2, asList(PARENT, ROOT));
+        ancestors.put(UNANNOTATED, Collections.emptyList());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullResourcesThrowsException() {
+        new AnnotationCounter(null, 1, ancestors);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullAncestorsThrowsException() {
+        new AnnotationCounter(resources(), 1, null);
+    }
+
+    @Test
+    public void documentIsUnchangedBeforeAnnotationsAreCounted() {
+        OntologyDocument document = counter().process(document(CHILD_1));
+
+        assertThat(document.annotationCount, is(nullValue()));
+        assertThat(document.inferredGeneProductCount, is(nullValue()));
+    }
+
+    @Test
+    public void annotationsToTermAreCounted() throws Exception {
+        writeSource(line("A0A000", CHILD_1), line("A0A000", CHILD_1), line("A0A001", CHILD_1));
+        AnnotationCounter counter = counter();
+
+        counter.execute(null, null);
+
+        OntologyDocument document = counter.process(document(CHILD_1));
+        assertThat(document.annotationCount, is(3L));
+        assertThat(document.inferredAnnotationCount, is(3L));
+        assertThat(document.geneProductCount, is(2L));
+        assertThat(document.inferredGeneProductCount, is(2L));
+    }
+
+    @Test
+    public void annotationsToDescendantsAreInferredForAncestors() throws Exception {
+        writeSource(line("A0A000", CHILD_1), line("A0A000", CHILD_2), line("A0A001", CHILD_2),
+                line("A0A002", PARENT));
+        AnnotationCounter counter = counter();
+
+        counter.execute(null, null);
+
+        OntologyDocument parent = counter.process(document(PARENT));
+        assertThat(parent.annotationCount, is(1L));
+        assertThat(parent.inferredAnnotationCount, is(4L));
+        assertThat(parent.geneProductCount, is(1L));
+        assertThat(parent.inferredGeneProductCount, is(3L));
+
+        OntologyDocument root = counter.process(document(ROOT));
+        assertThat(root.annotationCount, is(0L));
+        assertThat(root.inferredAnnotationCount, is(4L));
+        assertThat(root.geneProductCount, is(0L));
+        assertThat(root.inferredGeneProductCount, is(3L));
+    }
+
+    @Test
+    public void geneProductsOfDifferentDatabasesAreDistinct() throws Exception {
+        writeSource(line("A0A000", CHILD_1), "IntAct\tA0A000\tinvolved_in\t" + CHILD_1 + "\tPMID:1\tECO:0000269");
+        AnnotationCounter counter = counter();
+
+        counter.execute(null, null);
+
+        assertThat(counter.process(document(CHILD_1)).geneProductCount, is(2L));
+    }
+
+    @Test
+    public void countedTermWithoutAnnotationsHasZeroCounts() throws Exception {
+        writeSource(line("A0A000", CHILD_1));
+        AnnotationCounter counter = counter();
+
+        counter.execute(null, null);
+
+        OntologyDocument document = counter.process(document(UNANNOTATED));
+        assertThat(document.annotationCount, is(0L));
+        assertThat(document.inferredGeneProductCount, is(0L));
+    }
+
+    @Test
+    public void annotationsToUnknownTermsAndInvalidLinesAreIgnored() throws Exception {
+        writeSource(line("A0A000", "GO:0000001"), "UniProtKB\tA0A001", line("A0A002", CHILD_2));
+        AnnotationCounter counter = counter();
+
+        counter.execute(null, null);
+
+        assertThat(counter.process(document(ROOT)).inferredAnnotationCount, is(1L));
+    }
+
+    @Test
+    public void documentOfUncountedTermIsUnchanged() throws Exception {
+        writeSource(line("A0A000", CHILD_1));
+        AnnotationCounter counter = counter();
+
+        counter.execute(null, null);
+
+        assertThat(counter.process(document("ECO:0000269")).annotationCount, is(nullValue()));
+    }
+
+    private AnnotationCounter counter() {
+        return new AnnotationCounter(resources(), 1, ancestors);
+    }
+
+    private Resource[] resources() {
+        return new Resource[]{new FileSystemResource(source.toFile())};
+    }
+
+    private void writeSource(String... lines) throws IOException {
+        List<String> content = new ArrayList<>();
+        content.add(HEADER);
+        content.addAll(asList(lines));
+        Files.write(source, content);
+    }
+
+    private static String line(String geneProductId, String goId) {
+        return "UniProtKB\t" + geneProductId + "\tinvolved_in\t" + goId + "\tPMID:1\tECO:0000269";
+    }
+
+    private static OntologyDocument document(String id) {
+        OntologyDocument document = new OntologyDocument();
+        document.id = id;
+        return document;
+    }
+}
@@ -0,0 +1,151 @@
+package uk.ac.ebi.quickgo.loadtest;
+
+import uk.ac.ebi.quickgo.loadtest.data.DataScale;
+import uk.ac.ebi.quickgo.loadtest.data.SyntheticDataGenerator;
+import uk.ac.ebi.quickgo.loadtest.scenario.Scenario;
+import uk.ac.ebi.quickgo.loadtest.scenario.ScenarioResult;
+import uk.ac.ebi.quickgo.loadtest.scenario.ScenarioRunner;
+import uk.ac.ebi.quickgo.loadtest.scenario.Scenarios;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>Entry point of the load-test harness, which has two commands:
+ * <ul>
+ *     <li>{@code generate <data-dir> [annotations=N] [geneProducts=N] [goTerms=N] [ecoTerms=N] [taxa=N] [seed=N]}:
+ *     writes a synthetic data set, see {@link SyntheticDataGenerator}</li>
+ *     <li>{@code run <data-dir> <annotation|ontology> <base-url> [threads=N] [warmupSeconds=N] [durationSeconds=N]
+ *     [scenarios=a,b] [report=FILE]}: runs a group of {@link Scenarios}, one after another, against a service
+ *     serving the data set, and prints the latency and throughput of each; appending them to the report, if given</li>
+ * </ul>
+ *
+ * <p>See {@code bin/run-load-test}, which generates and indexes the data, starts the services and runs every
+ * scenario against them.
+ *
+ * Created 19/10/26
+ */
+public class LoadTestMain {
+    static final String GENERATE = "generate";
+    static final String RUN = "run";
+
+    private static final String THREADS = "threads";
+    private static final String WARMUP_SECONDS = "warmupSeconds";
+    private static final String DURATION_SECONDS = "durationSeconds";
+    private static final String SCENARIOS = "scenarios";
+    private static final String REPORT = "report";
+    private static final String SEED = "seed";
+    private static final String DEFAULT_THREADS = "16";
+    private static final String DEFAULT_WARMUP_SECONDS = "30";
+    private static final String DEFAULT_DURATION_SECONDS = "120";
+    private static final String DEFAULT_SEED = "1";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length >= 2 && GENERATE.equals(args[0])) {
+            generate(Paths.get(args[1]), options(args, 2));
+        } else if (args.length >= 4 && RUN.equals(args[0])) {
+            run(Paths.get(args[1]), args[2], args[3], options(args, 4));
+        } else {
+            System.err.println("Usage:\n" +
+                    "  " + GENERATE + " <data-dir> [annotations=N] [geneProducts=N] [goTerms=N] [ecoTerms=N] " +
+                    "[taxa=N] [seed=N]\n" +
+                    "  " + RUN + " <data-dir> <" + Scenarios.ANNOTATION + "|" + Scenarios.ONTOLOGY + "> <base-url> " +
+                    "[threads=N] [warmupSeconds=N] [durationSeconds=N] [scenarios=a,b] [report=FILE]");
+            System.exit(1);
+        }
+    }
+
+    private static void generate(Path dataDirectory, Map<String, String> options) throws IOException {
+        new SyntheticDataGenerator(DataScale.from(options)).generate(dataDirectory);
+    }
+
+    private static void run(Path dataDirectory, String group, String baseUrl, Map<String, String> options)
+            throws IOException, InterruptedException {
+        int threads = Integer.parseInt(options.getOrDefault(THREADS, DEFAULT_THREADS));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault(WARMUP_SECONDS,
+                DEFAULT_WARMUP_SECONDS)));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault(DURATION_SECONDS,
+                DEFAULT_DURATION_SECONDS)));
+        long seed = Long.parseLong(options.getOrDefault(SEED, DEFAULT_SEED));
+
+        // by default, HttpURLConnection keeps only 5 connections alive per host
+        System.setProperty("http.maxConnections", Integer.toString(threads));
+
+        List<Scenario> scenarios = selectScenarios(new Scenarios(DataScale.load(dataDirectory)).group(group),
+                options.get(SCENARIOS));
+        ScenarioRunner runner = new ScenarioRunner(baseUrl, threads, warmup, duration, seed);
+
+        List<String> rows = new ArrayList<>();
+        for (Scenario scenario : scenarios) {
+            ScenarioResult result = runner.run(scenario);
+            rows.add(result.toRow());
+            System.out.println(result.toRow());
+        }
+
+        report(System.out, rows);
+        String reportFile = options.get(REPORT);
+        if (reportFile != null) {
+            Path reportPath = Paths.get(reportFile);
+            boolean newReport = !Files.exists(reportPath);
+            try (PrintStream out = new PrintStream(Files.newOutputStream(reportPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND), false, StandardCharsets.UTF_8.name())) {
+                if (newReport) {
+                    out.println(ScenarioResult.header());
+                }
+                rows.forEach(out::println);
+            }
+        }
+    }
+
+    private static List<Scenario> selectScenarios(List<Scenario> scenarios, String selected) {
+        if (selected == null || selected.trim().isEmpty()) {
+            return scenarios;
+        }
+
+        Set<String> names = new HashSet<>(Arrays.asList(selected.split(",")));
+        List<Scenario> selectedScenarios = new ArrayList<>();
+        for (Scenario scenario : scenarios) {
+            if (names.remove(scenario.getName())) {
+                selectedScenarios.add(scenario);
+            }
+        }
+        if (!names.isEmpty()) {
+            throw new IllegalArgumentException("Unknown scenarios: " + names);
+        }
+        return selectedScenarios;
+    }
+
+    private static void report(PrintStream out, List<String> rows) {
+        out.println();
+        out.println(ScenarioResult.header());
+        rows.forEach(out::println);
+    }
+
+    /**
+     * Reads the {@code name=value} options following the positional arguments of a command.
+     */
+    static Map<String, String> options(String[] args, int from) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = from; i < args.length; i++) {
+            int equals = args[i].indexOf('=');
+            if (equals <= 0) {
+                throw new IllegalArgumentException("Option is not of the form name=value: " + args[i]);
+            }
+            options.put(args[i].substring(0, equals), args[i].substring(equals + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,130 @@
+package uk.ac.ebi.quickgo.loadtest.data;
+
+import com.google.common.collect.Maps;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * The size of a synthetic data set, and the seed it is generated from. A data set generated from the same scale is
+ * always identical. The scale is stored alongside the data, in {@link #MANIFEST_FILE}, so that load-test scenarios
+ * can pick identifiers that exist in it.
+ *
+ * Unless given, the number of gene products, GO terms and taxa are derived from the number of annotations, in
+ * roughly the proportions of the real data; capped at the size of the real ontology.
+ *
+ * Created 19/10/26
+ */
+public class DataScale {
+    public static final String MANIFEST_FILE = "manifest.properties";
+
+    static final String ANNOTATIONS = "annotations";
+    static final String GENE_PRODUCTS = "geneProducts";
+    static final String GO_TERMS = "goTerms";
+    static final String ECO_TERMS = "ecoTerms";
+    static final String TAXA = "taxa";
+    static final String SEED = "seed";
+
+    private static final long DEFAULT_ANNOTATIONS = 1_000_000;
+    private static final int MAX_DEFAULT_GO_TERMS = 45_000;
+    private static final int MIN_GO_TERMS = 30;
+    private static final int DEFAULT_ECO_TERMS = 200;
+    private static final int MAX_DEFAULT_TAXA = 5_000;
+    private static final long DEFAULT_SEED = 1;
+
+    public final long annotations;
+    public final int geneProducts;
+    public final int goTerms;
+    public final int ecoTerms;
+    public final int taxa;
+    public final long seed;
+
+    DataScale(long annotations, int geneProducts, int goTerms, int ecoTerms, int taxa, long seed) {
+        checkArgument(annotations > 0, "Number of annotations must be greater than 0: %s", annotations);
+        checkArgument(geneProducts > 0 && geneProducts < SyntheticIds.MAX_ACCESSIONS,
+                "Number of gene products must be between 1 and %s: %s", SyntheticIds.MAX_ACCESSIONS, geneProducts);
+        checkArgument(goTerms >= MIN_GO_TERMS, "Number of GO terms must be at least %s: %s", MIN_GO_TERMS, goTerms);
+        checkArgument(ecoTerms >= 0, "Number of ECO terms cannot be negative: %s", ecoTerms);
+        checkArgument(taxa > 0, "Number of taxa must be greater than 0: %s", taxa);
+
+        this.annotations = annotations;
+        this.geneProducts = geneProducts;
+        this.goTerms = goTerms;
+        this.ecoTerms = ecoTerms;
+        this.taxa = taxa;
+        this.seed = seed;
+    }
+
+    /**
+     * Creates a scale from named values, any of which may be absent.
+     *
+     * @param values the values, keyed by {@code annotations}, {@code geneProducts}, {@code goTerms},
+     *               {@code ecoTerms}, {@code taxa} and {@code seed}
+     * @return the scale
+     */
+    public static DataScale from(Map<String, String> values) {
+        long annotations = parseLong(values, ANNOTATIONS, DEFAULT_ANNOTATIONS);
+        int geneProducts = (int) parseLong(values, GENE_PRODUCTS, Math.max(1, annotations / 20));
+        int goTerms = (int) parseLong(values, GO_TERMS,
+                Math.max(MIN_GO_TERMS, Math.min(MAX_DEFAULT_GO_TERMS, annotations / 20)));
+        int ecoTerms = (int) parseLong(values, ECO_TERMS, DEFAULT_ECO_TERMS);
+        int taxa = (int) parseLong(values, TAXA, Math.max(1, Math.min(MAX_DEFAULT_TAXA, geneProducts / 100)));
+        long seed = parseLong(values, SEED, DEFAULT_SEED);
+
+        return new DataScale(annotations, geneProducts, goTerms, ecoTerms, taxa, seed);
+    }
+
+    public static DataScale load(Path dataDirectory) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(dataDirectory.resolve(MANIFEST_FILE), StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+
+        return from(Maps.fromProperties(properties));
+    }
+
+    public void store(Path dataDirectory) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(ANNOTATIONS, Long.toString(annotations));
+        properties.setProperty(GENE_PRODUCTS, Integer.toString(geneProducts));
+        properties.setProperty(GO_TERMS, Integer.toString(goTerms));
+        properties.setProperty(ECO_TERMS, Integer.toString(ecoTerms));
+        properties.setProperty(TAXA, Integer.toString(taxa));
+        properties.setProperty(SEED, Long.toString(seed));
+
+        try (Writer writer = Files.newBufferedWriter(dataDirectory.resolve(MANIFEST_FILE), StandardCharsets.UTF_8)) {
+            properties.store(writer, "Scale of the synthetic QuickGO data set in this directory");
+        }
+    }
+
+    private static long parseLong(Map<String, String> values, String name, long defaultValue) {
+        String value = values.get(name);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+
+        try {
+            return Long.parseLong(value.trim().replace("_", ""));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Value of " + name + " is not a number: " + value, e);
+        }
+    }
+
+    @Override public String toString() {
+        return "DataScale{" +
+                "annotations=" + annotations +
+                ", geneProducts=" + geneProducts +
+                ", goTerms=" + goTerms +
+                ", ecoTerms=" + ecoTerms +
+                ", taxa=" + taxa +
+                ", seed=" + seed +
+                '}';
+    }
+}
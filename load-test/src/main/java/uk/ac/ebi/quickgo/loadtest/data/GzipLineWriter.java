@@ -0,0 +1,93 @@
+package uk.ac.ebi.quickgo.loadtest.data;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the tab separated lines of a gzipped data file. Values are written as given, except when the file is one of
+ * the ontology's postgres exports, in which case tabs, new lines and backslashes within values are escaped, as
+ * {@link uk.ac.ebi.quickgo.ff.reader.TSVRowReader} expects.
+ *
+ * Created 19/10/26
+ */
+class GzipLineWriter implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Writer writer;
+    private final boolean escape;
+    private long lines;
+
+    private GzipLineWriter(Path file, boolean escape) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(file), BUFFER_SIZE), StandardCharsets.UTF_8), BUFFER_SIZE);
+        this.escape = escape;
+    }
+
+    /**
+     * Opens a postgres-style export, and writes its header: the names of its columns.
+     */
+    static <E extends Enum<E>> GzipLineWriter openExport(Path file, Class<E> columns) throws IOException {
+        GzipLineWriter writer = new GzipLineWriter(file, true);
+        E[] constants = columns.getEnumConstants();
+        String[] names = new String[constants.length];
+        for (int i = 0; i < constants.length; i++) {
+            names[i] = constants[i].name();
+        }
+        writer.writeLine(names);
+        return writer;
+    }
+
+    static GzipLineWriter open(Path file) throws IOException {
+        return new GzipLineWriter(file, false);
+    }
+
+    void writeLine(String... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write('\t');
+            }
+            write(values[i]);
+        }
+        writer.write('\n');
+        lines++;
+    }
+
+    long lines() {
+        return lines;
+    }
+
+    private void write(String value) throws IOException {
+        if (!escape) {
+            writer.write(value);
+            return;
+        }
+
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            switch (ch) {
+                case '\t':
+                    writer.write("\\t");
+                    break;
+                case '\n':
+                    writer.write("\\n");
+                    break;
+                case '\\':
+                    writer.write("\\\\");
+                    break;
+                default:
+                    writer.write(ch);
+            }
+        }
+    }
+
+    @Override public void close() throws IOException {
+        writer.close();
+    }
+}
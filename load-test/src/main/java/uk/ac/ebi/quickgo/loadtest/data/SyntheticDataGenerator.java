@@ -0,0 +1,350 @@
+package uk.ac.ebi.quickgo.loadtest.data;
+
+import uk.ac.ebi.quickgo.ff.files.SourceFiles;
+import uk.ac.ebi.quickgo.ff.files.ontology.ECOSourceFiles;
+import uk.ac.ebi.quickgo.ff.files.ontology.GOSourceFiles;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.SplittableRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static uk.ac.ebi.quickgo.ff.files.ontology.GOSourceFiles.*;
+import static uk.ac.ebi.quickgo.ff.files.ontology.OntologySourceFiles.*;
+import static uk.ac.ebi.quickgo.loadtest.data.GzipLineWriter.openExport;
+
+/**
+ * <p>Generates a synthetic, but realistically shaped, QuickGO data set of a given {@link DataScale}, comprising
+ * every file the indexing jobs and REST services read:
+ * <ul>
+ *     <li>{@link #ONTOLOGY_DIRECTORY}: the GO and ECO postgres exports, including the relations the ontology graph
+ *     is built from, and the ontology's IRI and version</li>
+ *     <li>{@link #GENE_PRODUCT_FILE}: gene products, in GPI format</li>
+ *     <li>{@link #ANNOTATION_FILE}: annotations, in GPAD format</li>
+ *     <li>the annotation metadata and the database cross-reference ID syntaxes used to validate requests</li>
+ * </ul>
+ *
+ * <p>The GO terms form a DAG per aspect, in which each term has one to three parents of the same aspect, chosen
+ * from the terms preceding it. Annotations favour a few popular terms and gene products, see
+ * {@link SyntheticPopularity}, and mostly use electronic evidence, as real annotations do. Every file is written as
+ * a stream, so the size of the data set is limited only by disk space.
+ *
+ * Created 19/10/26
+ */
+public class SyntheticDataGenerator {
+    public static final String ONTOLOGY_DIRECTORY = "ontology";
+    public static final String GENE_PRODUCT_FILE = "gene_products.gpi.gz";
+    public static final String ANNOTATION_FILE = "annotations.gpa.gz";
+    public static final String ANNOTATION_METADATA_FILE = "goa_uniprot.gpa-version";
+    public static final String DB_XREFS_FILE = "DB_XREFS_ENTITIES.dat.gz";
+    public static final String ONTOLOGY_IRI_FILE = "ONTOLOGY_IRI.dat.gz";
+
+    static final String GPI_HEADER = "!gpi-version: 1.2";
+    static final String GPAD_HEADER = "!gpa-version: 1.1";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final String UNIPROT_DB = "UniProtKB";
+    private static final String UNIPROT_ID_SYNTAX =
+            "([OPQ][0-9][A-Z0-9]{3}[0-9]|[A-NR-Z]([0-9][A-Z][A-Z0-9]{2}){1,2}[0-9])" +
+                    "((-[0-9]+)|:PRO_[0-9]{10}|:VAR_[0-9]{6}){0,1}";
+    private static final String IS_A = "I";
+    private static final String[] PROCESS_RELATIONS = {"I", "P", "R", "+", "-"};
+    private static final String[] FUNCTION_COMPONENT_RELATIONS = {"I", "P"};
+    private static final String[] ASSIGNERS = {"UniProt", "MGI", "FlyBase", "IntAct", "BHF-UCL", "WB"};
+    private static final String[] ELECTRONIC_ASSIGNERS = {"InterPro", "UniProt", "Ensembl"};
+    private static final int IEA_INDEX = 0;
+    private static final int IPI_INDEX = 1;
+    private static final long FIRST_ANNOTATION_DAY = LocalDate.of(2000, 1, 1).toEpochDay();
+    private static final int ANNOTATION_DAYS = 6_000;
+    private static final long LOG_INTERVAL = 1_000_000;
+
+    private final DataScale scale;
+    private final SyntheticPopularity popularity;
+
+    public SyntheticDataGenerator(DataScale scale) {
+        this.scale = scale;
+        this.popularity = new SyntheticPopularity(scale);
+    }
+
+    public void generate(Path directory) throws IOException {
+        Path ontologyDirectory = directory.resolve(ONTOLOGY_DIRECTORY);
+        Files.createDirectories(ontologyDirectory);
+        LOGGER.info("Generating synthetic data set of {} in {}", scale, directory);
+
+        writeGeneOntology(new GOSourceFiles(ontologyDirectory.toFile()));
+        writeEvidenceCodeOntology(new ECOSourceFiles(ontologyDirectory.toFile()));
+        writeOntologyIri(ontologyDirectory.resolve(ONTOLOGY_IRI_FILE));
+        writeGeneProducts(directory.resolve(GENE_PRODUCT_FILE));
+        writeAnnotations(directory.resolve(ANNOTATION_FILE));
+        writeAnnotationMetadata(directory.resolve(ANNOTATION_METADATA_FILE));
+        writeDbXrefs(directory.resolve(DB_XREFS_FILE));
+        scale.store(directory);
+
+        LOGGER.info("Generated synthetic data set in {}", directory);
+    }
+
+    private void writeGeneOntology(GOSourceFiles files) throws IOException {
+        SplittableRandom random = new SplittableRandom(scale.seed);
+
+        try (GzipLineWriter terms = openExport(path(files.goTerms), EGOTerm.class);
+             GzipLineWriter definitions = openExport(path(files.definitions), ETermDefinition.class);
+             GzipLineWriter synonyms = openExport(path(files.synonyms), ETermSynonym.class);
+             GzipLineWriter relations = openExport(path(files.relations), ETermRelation.class)) {
+            for (int index = 0; index < scale.goTerms; index++) {
+                String id = SyntheticIds.goId(index);
+                boolean obsolete = SyntheticIds.isObsoleteGoTerm(index);
+                String aspectName = SyntheticIds.goAspectName(index);
+                String name = index < SyntheticIds.GO_ROOTS.length ?
+                        aspectName : "synthetic " + aspectName + " " + index;
+
+                terms.writeLine(id, SyntheticIds.goAspect(index), name, obsolete ? "Y" : "N");
+                definitions.writeLine(id, "The synthetic " + aspectName + " numbered " + index + ".");
+                synonyms.writeLine(id, name.replace(' ', '_'), "exact");
+
+                if (index >= SyntheticIds.GO_ROOTS.length && !obsolete) {
+                    String[] types = "P".equals(SyntheticIds.goAspect(index)) ?
+                            PROCESS_RELATIONS : FUNCTION_COMPONENT_RELATIONS;
+                    writeParents(relations, random, index, types);
+                }
+            }
+        }
+
+        writeEmpty(files.xrefs, ETermXref.class);
+        writeEmpty(files.definitionXrefs, ETermDefinitionXref.class);
+        writeEmpty(files.crossOntologyRelations, ECrossOntologyRelation.class);
+        writeEmpty(files.comments, ETermComment.class);
+        writeEmpty(files.subsets, ETermSubset.class);
+        writeEmpty(files.history, ETermHistory.class);
+        writeEmpty(files.credits, ETermCredit.class);
+        writeEmpty(files.fundingBodies, EFundingBody.class);
+        writeEmpty(files.proteinComplexes, EProteinComplex.class);
+        writeEmpty(files.taxonUnions, ETaxonUnion.class);
+        writeEmpty(files.taxonConstraints, ETaxonConstraint.class);
+        writeEmpty(files.termTaxonConstraints, ETermTaxonConstraint.class);
+        writeEmpty(files.annotationGuidelines, EAnnotationGuidelineInfo.class);
+        writeEmpty(files.plannedGOChanges, EPlannedGOChangeInfo.class);
+        writeEmpty(files.annExtRelations, EAnnExtRelation.class);
+        writeEmpty(files.aerRelations, EAnnExtRelRelation.class);
+        writeEmpty(files.aerSecondaries, EAnnExtRelSecondary.class);
+        writeEmpty(files.aerSubsets, EAnnExtRelSubset.class);
+        writeEmpty(files.aerDomains, EAnnExtRelDomain.class);
+        writeEmpty(files.aerRanges, EAnnExtRelRange.class);
+        writeEmpty(files.aerRangeDefaults, EAnnExtRelRangeDefault.class);
+        writeEmpty(files.aerEntitySyntax, EAnnExtRelEntitySyntax.class);
+        writeEmpty(files.blacklistForGoTerm, EAnnBlacklistEntry.class);
+    }
+
+    /**
+     * Writes the parents of a GO term: one to three distinct, non-obsolete terms of the same aspect, which precede it.
+     * The first is always an is_a parent.
+     */
+    private void writeParents(GzipLineWriter relations, SplittableRandom random, int index, String[] types)
+            throws IOException {
+        int aspectOffset = index % SyntheticIds.GO_ASPECTS.length;
+        int precedingOfAspect = index / SyntheticIds.GO_ASPECTS.length;
+        double extraParents = random.nextDouble();
+        int parentCount = 1 + (extraParents < 0.35 ? 1 : 0) + (extraParents < 0.08 ? 1 : 0);
+
+        int[] parents = new int[parentCount];
+        int written = 0;
+        for (int attempt = 0; attempt < parentCount; attempt++) {
+            int parent = aspectOffset + SyntheticIds.GO_ASPECTS.length * random.nextInt(precedingOfAspect);
+            if (SyntheticIds.isObsoleteGoTerm(parent)) {
+                parent -= SyntheticIds.GO_ASPECTS.length;
+            }
+            if (contains(parents, written, parent)) {
+                continue;
+            }
+
+            parents[written] = parent;
+            String type = written == 0 ? IS_A : types[random.nextInt(types.length)];
+            relations.writeLine(SyntheticIds.goId(index), SyntheticIds.goId(parent), type);
+            written++;
+        }
+    }
+
+    private void writeEvidenceCodeOntology(ECOSourceFiles files) throws IOException {
+        SplittableRandom random = new SplittableRandom(scale.seed);
+
+        try (GzipLineWriter terms = openExport(path(files.terms), ETerm.class);
+             GzipLineWriter definitions = openExport(path(files.definitions), ETermDefinition.class);
+             GzipLineWriter relations = openExport(path(files.relations), ETermRelation.class)) {
+            terms.writeLine(SyntheticIds.ECO_ROOT, "evidence", "N");
+            definitions.writeLine(SyntheticIds.ECO_ROOT, "A type of information that is used to support an assertion.");
+
+            for (String[] evidence : SyntheticIds.ECO_EVIDENCE) {
+                terms.writeLine(evidence[0], "evidence used as " + evidence[1], "N");
+                definitions.writeLine(evidence[0], "The synthetic evidence behind " + evidence[1] + " annotations.");
+                relations.writeLine(evidence[0], SyntheticIds.ECO_ROOT, IS_A);
+            }
+
+            for (int index = 0; index < scale.ecoTerms; index++) {
+                String id = SyntheticIds.ecoId(index);
+                int evidenceCodes = SyntheticIds.evidenceCodeCount();
+                int parent = random.nextInt(index + evidenceCodes);
+                String parentId = parent < evidenceCodes ?
+                        SyntheticIds.evidenceCode(parent) : SyntheticIds.ecoId(parent - evidenceCodes);
+
+                terms.writeLine(id, "synthetic evidence " + index, "N");
+                definitions.writeLine(id, "The synthetic evidence numbered " + index + ".");
+                relations.writeLine(id, parentId, IS_A);
+            }
+        }
+
+        writeEmpty(files.synonyms, ETermSynonym.class);
+        writeEmpty(files.comments, ETermComment.class);
+        writeEmpty(files.xrefs, ETermXref.class);
+        writeEmpty(files.history, ETermHistory.class);
+        writeEmpty(files.credits, ETermCredit.class);
+    }
+
+    private void writeOntologyIri(Path file) throws IOException {
+        try (GzipLineWriter writer = GzipLineWriter.open(file)) {
+            writer.writeLine("ONTOLOGY", "TIMESTAMP", "IRI");
+            writer.writeLine("GO", "2026-10-19 00:00", "http://purl.obolibrary.org/obo/go/releases/synthetic/go.owl");
+        }
+    }
+
+    private void writeGeneProducts(Path file) throws IOException {
+        try (GzipLineWriter writer = GzipLineWriter.open(file)) {
+            writer.writeLine(GPI_HEADER);
+            for (int index = 0; index < scale.geneProducts; index++) {
+                String accession = SyntheticIds.geneProductAccession(index);
+                int taxonId = SyntheticIds.taxonId(popularity.taxonIndex(index));
+
+                writer.writeLine(UNIPROT_DB,
+                        accession,
+                        symbol(index),
+                        "Synthetic protein " + index,
+                        accession + "_SYNTH|" + symbol(index),
+                        "protein",
+                        "taxon:" + taxonId,
+                        "",
+                        "EMBL:SYN" + index,
+                        "db_subset=" + dbSubset(index) + "|taxon_name=Synthetic taxon " + taxonId + "|proteome=Y");
+            }
+        }
+        LOGGER.info("Wrote {} gene products", scale.geneProducts);
+    }
+
+    private void writeAnnotations(Path file) throws IOException {
+        SplittableRandom random = new SplittableRandom(scale.seed);
+        DateTimeFormatter dateFormat = DateTimeFormatter.BASIC_ISO_DATE;
+
+        try (GzipLineWriter writer = GzipLineWriter.open(file)) {
+            writer.writeLine(GPAD_HEADER);
+            for (long count = 1; count <= scale.annotations; count++) {
+                int geneProduct = popularity.geneProductIndex(random);
+                int term = popularity.goTermIndex(random);
+                int evidence = popularity.evidenceIndex(random);
+                int taxonId = SyntheticIds.taxonId(popularity.taxonIndex(geneProduct));
+                boolean electronic = evidence == IEA_INDEX;
+
+                writer.writeLine(UNIPROT_DB,
+                        SyntheticIds.geneProductAccession(geneProduct),
+                        qualifier(random, term),
+                        SyntheticIds.goId(term),
+                        electronic ? "GO_REF:0000002" : "PMID:" + (1_000_000 + random.nextInt(30_000_000)),
+                        SyntheticIds.evidenceCode(evidence),
+                        with(random, evidence),
+                        "",
+                        LocalDate.ofEpochDay(FIRST_ANNOTATION_DAY + random.nextInt(ANNOTATION_DAYS)).format(dateFormat),
+                        electronic ? pick(random, ELECTRONIC_ASSIGNERS) : pick(random, ASSIGNERS),
+                        extension(random),
+                        "go_evidence=" + SyntheticIds.ECO_EVIDENCE[evidence][1] +
+                                "|taxon_id=" + taxonId +
+                                "|db_subset=" + dbSubset(geneProduct) +
+                                "|db_object_symbol=" + symbol(geneProduct) +
+                                "|db_object_type=protein" +
+                                "|go_aspect=" + SyntheticIds.goAspectName(term) +
+                                "|taxon_lineage=" + taxonId + "," + SyntheticIds.TAXON_LINEAGE_SUFFIX);
+
+                if (count % LOG_INTERVAL == 0) {
+                    LOGGER.info("Wrote {} of {} annotations", count, scale.annotations);
+                }
+            }
+        }
+        LOGGER.info("Wrote {} annotations", scale.annotations);
+    }
+
+    private void writeAnnotationMetadata(Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("!Generated: 2026-10-19 00:00");
+            writer.newLine();
+        }
+    }
+
+    private void writeDbXrefs(Path file) throws IOException {
+        try (GzipLineWriter writer = GzipLineWriter.open(file)) {
+            writer.writeLine("DATABASE", "ENTITY_TYPE_ID", "ENTITY_TYPE_NAME", "LOCAL_ID_SYNTAX", "URL_SYNTAX");
+            writer.writeLine(UNIPROT_DB, "PR:000000001", "protein", UNIPROT_ID_SYNTAX,
+                    "http://www.uniprot.org/uniprot/[example_id]");
+        }
+    }
+
+    private static String qualifier(SplittableRandom random, int term) {
+        String qualifier;
+        int choice = random.nextInt(100);
+        switch (SyntheticIds.goAspect(term)) {
+            case "F":
+                qualifier = choice < 95 ? "enables" : "contributes_to";
+                break;
+            case "P":
+                qualifier = choice < 90 ? "involved_in" : "acts_upstream_of_or_within";
+                break;
+            default:
+                qualifier = choice < 70 ? "part_of" : choice < 90 ? "is_active_in" : "colocalizes_with";
+        }
+        return random.nextInt(100) == 0 ? "NOT|" + qualifier : qualifier;
+    }
+
+    private static String extension(SplittableRandom random) {
+        return random.nextInt(20) == 0 ? String.format("occurs_in(CL:%07d)", random.nextInt(1000)) : "";
+    }
+
+    private String with(SplittableRandom random, int evidence) {
+        if (evidence == IPI_INDEX) {
+            return SyntheticIds.geneProductId(random.nextInt(scale.geneProducts));
+        } else if (evidence == IEA_INDEX) {
+            return "InterPro:IPR" + String.format("%06d", random.nextInt(50_000));
+        }
+        return "";
+    }
+
+    private static String symbol(int geneProduct) {
+        return "syn" + geneProduct;
+    }
+
+    private static String dbSubset(int geneProduct) {
+        return geneProduct % 10 == 0 ? "Swiss-Prot" : "TrEMBL";
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static <E extends Enum<E>> void writeEmpty(SourceFiles.TSVDataFile<E> file, Class<E> columns)
+            throws IOException {
+        openExport(path(file), columns).close();
+    }
+
+    private static Path path(SourceFiles.NamedFile file) {
+        return file.file().toPath();
+    }
+}
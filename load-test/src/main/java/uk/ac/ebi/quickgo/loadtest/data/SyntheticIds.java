@@ -0,0 +1,125 @@
+package uk.ac.ebi.quickgo.loadtest.data;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Deterministic identifiers of the synthetic terms, gene products and taxa, derived from their index. Both the
+ * generator and the load-test scenarios use these, so that scenarios request entities that exist in the indexed data,
+ * without needing to read it.
+ *
+ * Created 19/10/26
+ */
+public final class SyntheticIds {
+    /**
+     * The real GO roots: molecular function, biological process and cellular component, which occupy the first
+     * three term indices. The aspect of every other term is that of the root whose index is congruent to its own,
+     * modulo 3.
+     */
+    static final String[] GO_ROOTS = {"GO:0003674", "GO:0008150", "GO:0005575"};
+    static final String[] GO_ASPECTS = {"F", "P", "C"};
+    static final String[] GO_ASPECT_NAMES = {"molecular_function", "biological_process", "cellular_component"};
+
+    static final String ECO_ROOT = "ECO:0000000";
+    /**
+     * The real evidence codes annotations are made with, each paired with its GO evidence code.
+     */
+    static final String[][] ECO_EVIDENCE = {
+            {"ECO:0000501", "IEA"},
+            {"ECO:0000353", "IPI"},
+            {"ECO:0000314", "IDA"},
+            {"ECO:0000315", "IMP"},
+            {"ECO:0000250", "ISS"},
+            {"ECO:0000305", "IC"}
+    };
+
+    private static final int GENERATED_ID_OFFSET = 1_000_000;
+    private static final int MAX_GENERATED_INDEX = 9_999_999 - GENERATED_ID_OFFSET;
+
+    // a UniProtKB accession: [A-NR-Z][0-9][A-Z][A-Z0-9]{2}[0-9]
+    private static final String ACCESSION_FIRST = "ABCDEFGHIJKLMNRSTUVWXYZ";
+    private static final String DIGITS = "0123456789";
+    private static final String LETTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    private static final String ALPHANUMERICS = LETTERS + DIGITS;
+    private static final String[] ACCESSION_RADICES =
+            {ACCESSION_FIRST, DIGITS, LETTERS, ALPHANUMERICS, ALPHANUMERICS, DIGITS};
+    static final long MAX_ACCESSIONS = maxAccessions();
+
+    private static final int TAXON_ID_OFFSET = 100_000;
+    static final String TAXON_LINEAGE_SUFFIX = "2759,131567,1";
+
+    private SyntheticIds() {}
+
+    public static String goId(int index) {
+        checkArgument(index >= 0 && index <= MAX_GENERATED_INDEX, "Invalid GO term index: %s", index);
+        return index < GO_ROOTS.length ? GO_ROOTS[index] : prefixedId("GO", GENERATED_ID_OFFSET + index);
+    }
+
+    /**
+     * @return the root of the aspect of the term with the given index
+     */
+    public static String goRootOf(int index) {
+        return GO_ROOTS[index % GO_ROOTS.length];
+    }
+
+    public static String goAspect(int index) {
+        return GO_ASPECTS[index % GO_ASPECTS.length];
+    }
+
+    static String goAspectName(int index) {
+        return GO_ASPECT_NAMES[index % GO_ASPECT_NAMES.length];
+    }
+
+    /**
+     * Obsolete terms are spread evenly through the ontology, and are never roots.
+     */
+    public static boolean isObsoleteGoTerm(int index) {
+        return index >= GO_ROOTS.length && index % 50 == 49;
+    }
+
+    public static String ecoId(int index) {
+        checkArgument(index >= 0 && index <= MAX_GENERATED_INDEX, "Invalid ECO term index: %s", index);
+        return prefixedId("ECO", GENERATED_ID_OFFSET + index);
+    }
+
+    public static String evidenceCode(int index) {
+        return ECO_EVIDENCE[index][0];
+    }
+
+    public static int evidenceCodeCount() {
+        return ECO_EVIDENCE.length;
+    }
+
+    public static String geneProductAccession(int index) {
+        checkArgument(index >= 0 && index < MAX_ACCESSIONS, "Invalid gene product index: %s", index);
+
+        char[] accession = new char[ACCESSION_RADICES.length];
+        long remainder = index;
+        for (int i = accession.length - 1; i >= 0; i--) {
+            String radix = ACCESSION_RADICES[i];
+            accession[i] = radix.charAt((int) (remainder % radix.length()));
+            remainder /= radix.length();
+        }
+        return new String(accession);
+    }
+
+    public static String geneProductId(int index) {
+        return "UniProtKB:" + geneProductAccession(index);
+    }
+
+    public static int taxonId(int index) {
+        checkArgument(index >= 0, "Invalid taxon index: %s", index);
+        return TAXON_ID_OFFSET + index;
+    }
+
+    private static String prefixedId(String prefix, int number) {
+        return String.format("%s:%07d", prefix, number);
+    }
+
+    private static long maxAccessions() {
+        long max = 1;
+        for (String radix : ACCESSION_RADICES) {
+            max *= radix.length();
+        }
+        return max;
+    }
+}
@@ -0,0 +1,67 @@
+package uk.ac.ebi.quickgo.loadtest.data;
+
+import java.util.SplittableRandom;
+
+/**
+ * How often each GO term, gene product and evidence code of a synthetic data set is annotated. The generator uses it
+ * to write annotations, and load-test scenarios use it to request entities as often as they are annotated, so that a
+ * few popular terms dominate, as they do in production.
+ *
+ * Created 19/10/26
+ */
+public class SyntheticPopularity {
+    private static final double TERM_EXPONENT = 1.0;
+    private static final double GENE_PRODUCT_EXPONENT = 0.8;
+    /**
+     * The share of annotations made with each of {@link SyntheticIds#ECO_EVIDENCE}; most are electronic.
+     */
+    private static final double[] EVIDENCE_WEIGHTS = {0.70, 0.08, 0.10, 0.06, 0.04, 0.02};
+
+    private final DataScale scale;
+    private final ZipfSampler termSampler;
+    private final ZipfSampler geneProductSampler;
+
+    public SyntheticPopularity(DataScale scale) {
+        this.scale = scale;
+        this.termSampler = new ZipfSampler(scale.goTerms - SyntheticIds.GO_ROOTS.length, TERM_EXPONENT);
+        this.geneProductSampler = new ZipfSampler(scale.geneProducts, GENE_PRODUCT_EXPONENT);
+    }
+
+    /**
+     * Samples an annotated GO term. The most specific terms, those with the highest indices, are the most popular.
+     * Roots and obsolete terms are never annotated.
+     *
+     * @param random the source of randomness
+     * @return the index of the term
+     */
+    public int goTermIndex(SplittableRandom random) {
+        int index = scale.goTerms - 1 - termSampler.sample(random);
+        return SyntheticIds.isObsoleteGoTerm(index) ? index - 1 : index;
+    }
+
+    public int geneProductIndex(SplittableRandom random) {
+        return geneProductSampler.sample(random);
+    }
+
+    /**
+     * @param random the source of randomness
+     * @return the index of an evidence code, see {@link SyntheticIds#evidenceCode(int)}
+     */
+    public int evidenceIndex(SplittableRandom random) {
+        double value = random.nextDouble();
+        for (int i = 0; i < EVIDENCE_WEIGHTS.length - 1; i++) {
+            value -= EVIDENCE_WEIGHTS[i];
+            if (value < 0) {
+                return i;
+            }
+        }
+        return EVIDENCE_WEIGHTS.length - 1;
+    }
+
+    /**
+     * Every gene product belongs to a single taxon; the taxa of the most popular gene products differ.
+     */
+    public int taxonIndex(int geneProductIndex) {
+        return geneProductIndex % scale.taxa;
+    }
+}
@@ -0,0 +1,46 @@
+package uk.ac.ebi.quickgo.loadtest.data;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Samples ranks in {@code [0, size)} from a Zipf distribution, so that a few popular GO terms and gene products
+ * account for most annotations, as they do in the real data. The cumulative distribution is computed once, after
+ * which each sample is a binary search.
+ *
+ * Created 19/10/26
+ */
+public class ZipfSampler {
+    private final double[] cumulative;
+
+    public ZipfSampler(int size, double exponent) {
+        checkArgument(size > 0, "Size must be greater than 0: %s", size);
+        checkArgument(exponent >= 0, "Exponent cannot be negative: %s", exponent);
+
+        cumulative = new double[size];
+        double total = 0;
+        for (int rank = 0; rank < size; rank++) {
+            total += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = total;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulative[rank] /= total;
+        }
+    }
+
+    public int size() {
+        return cumulative.length;
+    }
+
+    /**
+     * @param random the source of randomness
+     * @return a rank, where rank 0 is the most likely
+     */
+    public int sample(SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+}
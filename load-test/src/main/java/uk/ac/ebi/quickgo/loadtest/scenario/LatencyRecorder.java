@@ -0,0 +1,84 @@
+package uk.ac.ebi.quickgo.loadtest.scenario;
+
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Records the latency of every request made by a single load-test thread. Percentiles are exact: recorders of all
+ * threads are merged once a scenario completes, and the merged latencies sorted.
+ *
+ * Created 19/10/26
+ */
+class LatencyRecorder {
+    private static final int INITIAL_CAPACITY = 1 << 12;
+
+    private long[] latencies;
+    private int count;
+    private long errors;
+    private long bytes;
+    private boolean sorted;
+
+    LatencyRecorder() {
+        latencies = new long[INITIAL_CAPACITY];
+    }
+
+    /**
+     * @param latencyNanos the latency of a successful request, in nanoseconds
+     * @param responseBytes the size of the body of its response
+     */
+    void record(long latencyNanos, long responseBytes) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        bytes += responseBytes;
+        sorted = false;
+    }
+
+    void recordError() {
+        errors++;
+    }
+
+    void merge(LatencyRecorder other) {
+        if (count + other.count > latencies.length) {
+            latencies = Arrays.copyOf(latencies, Math.max(latencies.length * 2, count + other.count));
+        }
+        System.arraycopy(other.latencies, 0, latencies, count, other.count);
+        count += other.count;
+        errors += other.errors;
+        bytes += other.bytes;
+        sorted = false;
+    }
+
+    int count() {
+        return count;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    long bytes() {
+        return bytes;
+    }
+
+    /**
+     * @param percentile the percentile, in {@code (0, 100]}
+     * @return the latency, in nanoseconds, within which the given percentage of requests completed; or 0 if no
+     * request has been recorded
+     */
+    long percentile(double percentile) {
+        checkArgument(percentile > 0 && percentile <= 100, "Percentile must be in (0, 100]: %s", percentile);
+        if (count == 0) {
+            return 0;
+        }
+
+        if (!sorted) {
+            Arrays.sort(latencies, 0, count);
+            sorted = true;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * count);
+        return latencies[Math.max(rank, 1) - 1];
+    }
+}
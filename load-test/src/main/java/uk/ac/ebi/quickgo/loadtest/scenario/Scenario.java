@@ -0,0 +1,56 @@
+package uk.ac.ebi.quickgo.loadtest.scenario;
+
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A kind of request made repeatedly during a load-test, e.g., searching annotations by GO term. Each request made
+ * is to a path created afresh by the scenario, so that requests are spread over the data as real ones are.
+ *
+ * Created 19/10/26
+ */
+public class Scenario {
+    static final String JSON = "application/json";
+
+    private final String name;
+    private final String accept;
+    private final Function<SplittableRandom, String> paths;
+
+    public Scenario(String name, String accept, Function<SplittableRandom, String> paths) {
+        checkArgument(name != null && !name.trim().isEmpty(), "Scenario name cannot be null or empty");
+        checkArgument(accept != null && !accept.trim().isEmpty(), "Accepted media type cannot be null or empty");
+        checkArgument(paths != null, "Scenario paths cannot be null");
+
+        this.name = name;
+        this.accept = accept;
+        this.paths = paths;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the media type to request responses in, sent as the {@code Accept} header
+     */
+    public String getAccept() {
+        return accept;
+    }
+
+    /**
+     * @param random the source of randomness of the calling thread
+     * @return the path and query of the next request, relative to the service's base URL
+     */
+    public String nextPath(SplittableRandom random) {
+        return paths.apply(random);
+    }
+
+    @Override public String toString() {
+        return "Scenario{" +
+                "name='" + name + '\'' +
+                ", accept='" + accept + '\'' +
+                '}';
+    }
+}
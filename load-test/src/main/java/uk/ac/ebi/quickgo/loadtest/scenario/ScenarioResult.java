@@ -0,0 +1,108 @@
+package uk.ac.ebi.quickgo.loadtest.scenario;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The throughput and latency of the requests of a scenario, measured after its warm-up.
+ *
+ * Created 19/10/26
+ */
+public class ScenarioResult {
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final String ROW_FORMAT = "%-34s %8s %10s %7s %10s %10s %10s %10s %10s %8s";
+
+    private final String scenario;
+    private final int threads;
+    private final long requests;
+    private final long errors;
+    private final long bytes;
+    private final long durationNanos;
+    private final long p50Nanos;
+    private final long p90Nanos;
+    private final long p99Nanos;
+    private final long maxNanos;
+
+    ScenarioResult(String scenario, int threads, LatencyRecorder recorder, long durationNanos) {
+        this.scenario = scenario;
+        this.threads = threads;
+        this.requests = recorder.count();
+        this.errors = recorder.errors();
+        this.bytes = recorder.bytes();
+        this.durationNanos = durationNanos;
+        this.p50Nanos = recorder.percentile(50);
+        this.p90Nanos = recorder.percentile(90);
+        this.p99Nanos = recorder.percentile(99);
+        this.maxNanos = recorder.percentile(100);
+    }
+
+    public String getScenario() {
+        return scenario;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * @return the number of successful requests per second
+     */
+    public double getThroughput() {
+        return durationNanos == 0 ? 0 : requests * NANOS_PER_SECOND / durationNanos;
+    }
+
+    public double getP50Millis() {
+        return p50Nanos / NANOS_PER_MILLI;
+    }
+
+    public double getP99Millis() {
+        return p99Nanos / NANOS_PER_MILLI;
+    }
+
+    public static String header() {
+        return String.format(Locale.ROOT, ROW_FORMAT,
+                "scenario", "threads", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "MB/s");
+    }
+
+    /**
+     * @return the result, formatted as a row of the table headed by {@link #header()}
+     */
+    public String toRow() {
+        double seconds = durationNanos / NANOS_PER_SECOND;
+        return String.format(Locale.ROOT, ROW_FORMAT,
+                scenario,
+                threads,
+                requests,
+                errors,
+                String.format(Locale.ROOT, "%.1f", getThroughput()),
+                millis(p50Nanos),
+                millis(p90Nanos),
+                millis(p99Nanos),
+                millis(maxNanos),
+                String.format(Locale.ROOT, "%.2f", seconds == 0 ? 0 : bytes / seconds / (1 << 20)));
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / NANOS_PER_MILLI);
+    }
+
+    @Override public String toString() {
+        return "ScenarioResult{" +
+                "scenario='" + scenario + '\'' +
+                ", threads=" + threads +
+                ", requests=" + requests +
+                ", errors=" + errors +
+                ", bytes=" + bytes +
+                ", durationNanos=" + durationNanos +
+                ", p50Nanos=" + p50Nanos +
+                ", p90Nanos=" + p90Nanos +
+                ", p99Nanos=" + p99Nanos +
+                ", maxNanos=" + maxNanos +
+                '}';
+    }
+}
@@ -0,0 +1,150 @@
+package uk.ac.ebi.quickgo.loadtest.scenario;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Runs a {@link Scenario} against a REST service from a number of concurrent threads, each of which makes one
+ * request after another, reading every response in full. Requests made during the warm-up, whilst caches fill and
+ * code is compiled, are not measured. Each thread's requests are seeded differently, but reproducibly.
+ *
+ * Created 19/10/26
+ */
+public class ScenarioRunner {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScenarioRunner.class);
+    private static final int TIMEOUT_MILLIS = (int) Duration.ofMinutes(5).toMillis();
+    private static final int MAX_LOGGED_ERRORS = 10;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final String baseUrl;
+    private final int threads;
+    private final long warmupNanos;
+    private final long durationNanos;
+    private final long seed;
+    private final AtomicInteger loggedErrors;
+
+    public ScenarioRunner(String baseUrl, int threads, Duration warmup, Duration duration, long seed) {
+        checkArgument(baseUrl != null && !baseUrl.trim().isEmpty(), "Base URL cannot be null or empty");
+        checkArgument(threads > 0, "Number of threads must be greater than 0: %s", threads);
+        checkArgument(warmup != null && !warmup.isNegative(), "Warm-up cannot be null or negative: %s", warmup);
+        checkArgument(duration != null && !duration.isNegative() && !duration.isZero(),
+                "Duration must be positive: %s", duration);
+
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.threads = threads;
+        this.warmupNanos = warmup.toNanos();
+        this.durationNanos = duration.toNanos();
+        this.seed = seed;
+        this.loggedErrors = new AtomicInteger();
+    }
+
+    public ScenarioResult run(Scenario scenario) throws InterruptedException {
+        LOGGER.info("Running scenario {} with {} threads", scenario.getName(), threads);
+
+        long measureFrom = System.nanoTime() + warmupNanos;
+        long measureUntil = measureFrom + durationNanos;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<LatencyRecorder>> recorders = new ArrayList<>(threads);
+            for (int thread = 0; thread < threads; thread++) {
+                SplittableRandom random = new SplittableRandom(seed + thread);
+                recorders.add(executor.submit(() -> makeRequests(scenario, random, measureFrom, measureUntil)));
+            }
+
+            LatencyRecorder merged = new LatencyRecorder();
+            for (Future<LatencyRecorder> recorder : recorders) {
+                merged.merge(recorder.get());
+            }
+            return new ScenarioResult(scenario.getName(), threads, merged, durationNanos);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Scenario " + scenario.getName() + " failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private LatencyRecorder makeRequests(Scenario scenario, SplittableRandom random, long measureFrom,
+            long measureUntil) {
+        LatencyRecorder recorder = new LatencyRecorder();
+        byte[] buffer = new byte[BUFFER_SIZE];
+
+        long start;
+        while ((start = System.nanoTime()) < measureUntil && !Thread.currentThread().isInterrupted()) {
+            String path = scenario.nextPath(random);
+            long bytes = request(scenario, path, buffer);
+            long latency = System.nanoTime() - start;
+
+            if (start >= measureFrom) {
+                if (bytes < 0) {
+                    recorder.recordError();
+                } else {
+                    recorder.record(latency, bytes);
+                }
+            }
+        }
+        return recorder;
+    }
+
+    /**
+     * @return the number of bytes in the response body, or -1 if the request failed
+     */
+    private long request(Scenario scenario, String path, byte[] buffer) {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+            connection.setRequestProperty("Accept", scenario.getAccept());
+            connection.setConnectTimeout(TIMEOUT_MILLIS);
+            connection.setReadTimeout(TIMEOUT_MILLIS);
+
+            int status = connection.getResponseCode();
+            boolean successful = status < HttpURLConnection.HTTP_BAD_REQUEST;
+            long bytes;
+            try (InputStream body = successful ? connection.getInputStream() : connection.getErrorStream()) {
+                bytes = readFully(body, buffer);
+            }
+
+            if (!successful) {
+                logError(path, "status " + status);
+                return -1;
+            }
+            return bytes;
+        } catch (IOException e) {
+            logError(path, e.toString());
+            return -1;
+        }
+    }
+
+    private void logError(String path, String cause) {
+        if (loggedErrors.incrementAndGet() <= MAX_LOGGED_ERRORS) {
+            LOGGER.warn("Request to {} failed: {}", path, cause);
+        }
+    }
+
+    private static long readFully(InputStream body, byte[] buffer) throws IOException {
+        if (body == null) {
+            return 0;
+        }
+
+        long bytes = 0;
+        int read;
+        while ((read = body.read(buffer)) != -1) {
+            bytes += read;
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,126 @@
+package uk.ac.ebi.quickgo.loadtest.scenario;
+
+import uk.ac.ebi.quickgo.loadtest.data.DataScale;
+import uk.ac.ebi.quickgo.loadtest.data.SyntheticIds;
+import uk.ac.ebi.quickgo.loadtest.data.SyntheticPopularity;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.StringJoiner;
+
+import static uk.ac.ebi.quickgo.loadtest.scenario.Scenario.JSON;
+
+/**
+ * The catalogue of load-test scenarios, grouped by the REST service they exercise. Scenarios request the entities of
+ * a synthetic data set of a given {@link DataScale}, in proportion to their popularity within it.
+ *
+ * Created 19/10/26
+ */
+public class Scenarios {
+    public static final String ANNOTATION = "annotation";
+    public static final String ONTOLOGY = "ontology";
+
+    private static final String GO_RELATIONS = "is_a,part_of,occurs_in,regulates";
+    private static final int DOWNLOAD_LIMIT = 10_000;
+    /**
+     * The number of the most general terms, whose descendants are numerous.
+     */
+    private static final int GENERAL_TERMS = 1_000;
+
+    private final DataScale scale;
+    private final SyntheticPopularity popularity;
+
+    public Scenarios(DataScale scale) {
+        this.scale = scale;
+        this.popularity = new SyntheticPopularity(scale);
+    }
+
+    /**
+     * @param group the name of a group of scenarios, {@link #ANNOTATION} or {@link #ONTOLOGY}
+     * @return the scenarios of the group
+     */
+    public List<Scenario> group(String group) {
+        switch (group) {
+            case ANNOTATION:
+                return annotationScenarios();
+            case ONTOLOGY:
+                return ontologyScenarios();
+            default:
+                throw new IllegalArgumentException("Unknown scenario group: " + group + ". Allowable values: " +
+                        ANNOTATION + ", " + ONTOLOGY);
+        }
+    }
+
+    /**
+     * Scenarios run against the annotation service. The search of annotations by descendants of GO terms requires
+     * the annotation service to be configured to use a running ontology service.
+     */
+    List<Scenario> annotationScenarios() {
+        return Arrays.asList(
+                new Scenario("annotation-search-go-term", JSON, random ->
+                        "/annotation/search?goId=" + goTerm(random) + "&limit=25"),
+                new Scenario("annotation-search-go-descendants", JSON, random ->
+                        "/annotation/search?goId=" + goTerm(random) +
+                                "&goUsage=descendants&goUsageRelationships=is_a,part_of&limit=25"),
+                new Scenario("annotation-search-gene-product", JSON, random ->
+                        "/annotation/search?geneProductId=" + geneProduct(random)),
+                new Scenario("annotation-search-taxon-evidence", JSON, random ->
+                        "/annotation/search?taxonId=" + taxon(random) + "&evidenceCode=" + evidenceCode(random) +
+                                "&limit=100&page=" + (1 + random.nextInt(5))),
+                new Scenario("annotation-stats", JSON, random ->
+                        "/annotation/stats?goId=" + goTerm(random)),
+                new Scenario("annotation-download-gpad", "text/gpad", random ->
+                        "/annotation/downloadSearch?taxonId=" + taxon(random) + "&downloadLimit=" + DOWNLOAD_LIMIT),
+                new Scenario("annotation-download-tsv", "text/tsv", random ->
+                        "/annotation/downloadSearch?goId=" + goTerm(random) + "&downloadLimit=" + DOWNLOAD_LIMIT),
+                new Scenario("annotation-coterms", JSON, random ->
+                        "/annotation/coterms/" + goTerm(random)));
+    }
+
+    List<Scenario> ontologyScenarios() {
+        return Arrays.asList(
+                new Scenario("ontology-terms", JSON, random ->
+                        "/ontology/go/terms/" + goTerms(random, 5)),
+                new Scenario("ontology-ancestors", JSON, random ->
+                        "/ontology/go/terms/" + goTerm(random) + "/ancestors?relations=" + GO_RELATIONS),
+                new Scenario("ontology-descendants", JSON, random ->
+                        "/ontology/go/terms/" + generalGoTerm(random) + "/descendants?relations=" + GO_RELATIONS),
+                new Scenario("ontology-paths", JSON, random -> {
+                    int term = popularity.goTermIndex(random);
+                    return "/ontology/go/terms/" + SyntheticIds.goId(term) + "/paths/" +
+                            SyntheticIds.goRootOf(term) + "?relations=" + GO_RELATIONS;
+                }),
+                new Scenario("ontology-chart", "image/png", random ->
+                        "/ontology/go/terms/" + goTerms(random, 2) + "/chart"));
+    }
+
+    private String goTerm(SplittableRandom random) {
+        return SyntheticIds.goId(popularity.goTermIndex(random));
+    }
+
+    private String goTerms(SplittableRandom random, int count) {
+        StringJoiner terms = new StringJoiner(",");
+        for (int i = 0; i < count; i++) {
+            terms.add(goTerm(random));
+        }
+        return terms.toString();
+    }
+
+    private String generalGoTerm(SplittableRandom random) {
+        int term = random.nextInt(Math.min(scale.goTerms, GENERAL_TERMS));
+        return SyntheticIds.goId(SyntheticIds.isObsoleteGoTerm(term) ? term - 1 : term);
+    }
+
+    private String geneProduct(SplittableRandom random) {
+        return SyntheticIds.geneProductId(popularity.geneProductIndex(random));
+    }
+
+    private String taxon(SplittableRandom random) {
+        return Integer.toString(SyntheticIds.taxonId(popularity.taxonIndex(popularity.geneProductIndex(random))));
+    }
+
+    private String evidenceCode(SplittableRandom random) {
+        return SyntheticIds.evidenceCode(popularity.evidenceIndex(random));
+    }
+}
@@ -0,0 +1,128 @@
+package uk.ac.ebi.quickgo.loadtest.data;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+
+/**
+ * Tests the behaviour of the {@link SyntheticDataGenerator}.
+ *
+ * Created 19/10/26
+ */
+public class SyntheticDataGeneratorTest {
+    private static final int ANNOTATIONS = 2000;
+    private static final int GPAD_COLUMNS = 12;
+    private static final int GPI_COLUMNS = 10;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private DataScale scale;
+
+    @Before
+    public void setUp() {
+        Map<String, String> values = new HashMap<>();
+        values.put("annotations", Integer.toString(ANNOTATIONS));
+        values.put("seed", "42");
+        scale = DataScale.from(values);
+    }
+
+    @Test
+    public void generatesRequestedNumberOfAnnotations() throws IOException {
+        Path directory = generate();
+
+        List<String> annotations = lines(directory.resolve(SyntheticDataGenerator.ANNOTATION_FILE));
+
+        assertThat(annotations, hasSize(ANNOTATIONS + 1));
+        for (String annotation : annotations.subList(1, annotations.size())) {
+            assertThat(annotation, annotation.split("\t", -1).length, is(GPAD_COLUMNS));
+            assertThat(annotation, startsWith("UniProtKB\t"));
+        }
+    }
+
+    @Test
+    public void generatesRequestedNumberOfGeneProducts() throws IOException {
+        Path directory = generate();
+
+        List<String> geneProducts = lines(directory.resolve(SyntheticDataGenerator.GENE_PRODUCT_FILE));
+
+        assertThat(geneProducts, hasSize(scale.geneProducts + 1));
+        for (String geneProduct : geneProducts.subList(1, geneProducts.size())) {
+            assertThat(geneProduct, geneProduct.split("\t", -1).length, is(GPI_COLUMNS));
+        }
+    }
+
+    @Test
+    public void generatesOntologyFilesWithHeaders() throws IOException {
+        Path ontology = generate().resolve(SyntheticDataGenerator.ONTOLOGY_DIRECTORY);
+
+        File[] files = ontology.toFile().listFiles();
+        assertThat(files != null && files.length > 0, is(true));
+        for (File file : files) {
+            assertThat(file.getName(), lines(file.toPath()).isEmpty(), is(false));
+        }
+    }
+
+    @Test
+    public void storedScaleIsLoadedFromDataDirectory() throws IOException {
+        Path directory = generate();
+
+        DataScale loaded = DataScale.load(directory);
+
+        assertThat(loaded.annotations, is(scale.annotations));
+        assertThat(loaded.geneProducts, is(scale.geneProducts));
+        assertThat(loaded.goTerms, is(scale.goTerms));
+        assertThat(loaded.ecoTerms, is(scale.ecoTerms));
+        assertThat(loaded.taxa, is(scale.taxa));
+        assertThat(loaded.seed, is(scale.seed));
+    }
+
+    @Test
+    public void sameScaleGeneratesSameData() throws IOException {
+        Path directory = generate();
+        Path sameDirectory = generate();
+
+        assertThat(Arrays.equals(read(directory, SyntheticDataGenerator.ANNOTATION_FILE),
+                read(sameDirectory, SyntheticDataGenerator.ANNOTATION_FILE)), is(true));
+        assertThat(Arrays.equals(read(directory, SyntheticDataGenerator.GENE_PRODUCT_FILE),
+                read(sameDirectory, SyntheticDataGenerator.GENE_PRODUCT_FILE)), is(true));
+    }
+
+    private Path generate() throws IOException {
+        Path directory = folder.newFolder().toPath();
+        new SyntheticDataGenerator(scale).generate(directory);
+        return directory;
+    }
+
+    private static byte[] read(Path directory, String file) throws IOException {
+        return Files.readAllBytes(directory.resolve(file));
+    }
+
+    private static List<String> lines(Path file) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,79 @@
+package uk.ac.ebi.quickgo.loadtest.data;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Tests the behaviour of the {@link SyntheticIds}.
+ *
+ * Created 19/10/26
+ */
+public class SyntheticIdsTest {
+    private static final String UNIPROT_ACCESSION_REGEX =
+            "([OPQ][0-9][A-Z0-9]{3}[0-9]|[A-NR-Z][0-9]([A-Z][A-Z0-9]{2}[0-9]){1,2})";
+    private static final String GO_ID_REGEX = "GO:[0-9]{7}";
+
+    @Test
+    public void firstGoTermsAreTheAspectRoots() {
+        assertThat(SyntheticIds.goId(0), is("GO:0003674"));
+        assertThat(SyntheticIds.goId(1), is("GO:0008150"));
+        assertThat(SyntheticIds.goId(2), is("GO:0005575"));
+    }
+
+    @Test
+    public void goTermsAreValidAndUnique() {
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 50_000; i++) {
+            String id = SyntheticIds.goId(i);
+            assertThat(id, id.matches(GO_ID_REGEX), is(true));
+            assertThat(id, ids.add(id), is(true));
+        }
+    }
+
+    @Test
+    public void goTermsShareTheAspectOfTheirRoot() {
+        for (int i = 0; i < 100; i++) {
+            int root = i % 3;
+            assertThat(SyntheticIds.goRootOf(i), is(SyntheticIds.goId(root)));
+            assertThat(SyntheticIds.goAspect(i), is(SyntheticIds.goAspect(root)));
+        }
+    }
+
+    @Test
+    public void rootsAreNeverObsolete() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(SyntheticIds.isObsoleteGoTerm(i), is(false));
+        }
+    }
+
+    @Test
+    public void geneProductAccessionsAreValidUniProtAccessionsAndUnique() {
+        Set<String> accessions = new HashSet<>();
+        for (int i = 0; i < 200_000; i++) {
+            String accession = SyntheticIds.geneProductAccession(i);
+            assertThat(accession, accession.matches(UNIPROT_ACCESSION_REGEX), is(true));
+            assertThat(accession, accessions.add(accession), is(true));
+        }
+    }
+
+    @Test
+    public void lastGeneProductAccessionIsValid() {
+        String accession = SyntheticIds.geneProductAccession((int) SyntheticIds.MAX_ACCESSIONS - 1);
+
+        assertThat(accession, accession.matches(UNIPROT_ACCESSION_REGEX), is(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void geneProductAccessionBeyondTheLastThrowsException() {
+        SyntheticIds.geneProductAccession((int) SyntheticIds.MAX_ACCESSIONS);
+    }
+
+    @Test
+    public void geneProductIdsAreUniProtKBIds() {
+        assertThat(SyntheticIds.geneProductId(0), is("UniProtKB:" + SyntheticIds.geneProductAccession(0)));
+    }
+}
@@ -0,0 +1,80 @@
+package uk.ac.ebi.quickgo.loadtest.data;
+
+import java.util.SplittableRandom;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.both;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+/**
+ * Tests the behaviour of the {@link ZipfSampler}.
+ *
+ * Created 19/10/26
+ */
+public class ZipfSamplerTest {
+    private static final int SAMPLES = 100_000;
+
+    @Test(expected = IllegalArgumentException.class)
+    public void emptySamplerThrowsException() {
+        new ZipfSampler(0, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeExponentThrowsException() {
+        new ZipfSampler(10, -1);
+    }
+
+    @Test
+    public void samplesAreWithinRange() {
+        ZipfSampler sampler = new ZipfSampler(10, 1);
+        SplittableRandom random = new SplittableRandom(1);
+
+        for (int i = 0; i < SAMPLES; i++) {
+            assertThat(sampler.sample(random), is(both(greaterThanOrEqualTo(0)).and(lessThan(10))));
+        }
+    }
+
+    @Test
+    public void lowerRanksAreSampledMoreOften() {
+        int[] counts = sample(new ZipfSampler(100, 1));
+
+        assertThat(counts[0], is(greaterThan(counts[1])));
+        assertThat(counts[1], is(greaterThan(counts[10])));
+        assertThat(counts[10], is(greaterThan(counts[99])));
+    }
+
+    @Test
+    public void zeroExponentSamplesUniformly() {
+        int[] counts = sample(new ZipfSampler(4, 0));
+
+        int expected = SAMPLES / counts.length;
+        int tolerance = SAMPLES / 50;
+        for (int count : counts) {
+            assertThat(count, is(both(greaterThan(expected - tolerance)).and(lessThan(expected + tolerance))));
+        }
+    }
+
+    @Test
+    public void sameSeedSamplesSameRanks() {
+        ZipfSampler sampler = new ZipfSampler(1000, 1);
+        SplittableRandom random = new SplittableRandom(7);
+        SplittableRandom sameRandom = new SplittableRandom(7);
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(sampler.sample(random), is(sampler.sample(sameRandom)));
+        }
+    }
+
+    private static int[] sample(ZipfSampler sampler) {
+        SplittableRandom random = new SplittableRandom(1);
+        int[] counts = new int[sampler.size()];
+        for (int i = 0; i < SAMPLES; i++) {
+            counts[sampler.sample(random)]++;
+        }
+        return counts;
+    }
+}
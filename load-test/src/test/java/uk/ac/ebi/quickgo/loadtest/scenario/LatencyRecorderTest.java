@@ -0,0 +1,84 @@
+package uk.ac.ebi.quickgo.loadtest.scenario;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Tests the behaviour of the {@link LatencyRecorder}.
+ *
+ * Created 19/10/26
+ */
+public class LatencyRecorderTest {
+    private LatencyRecorder recorder;
+
+    @Before
+    public void setUp() {
+        recorder = new LatencyRecorder();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroPercentileThrowsException() {
+        recorder.percentile(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void percentileAbove100ThrowsException() {
+        recorder.percentile(101);
+    }
+
+    @Test
+    public void percentileOfNoLatenciesIsZero() {
+        assertThat(recorder.percentile(50), is(0L));
+    }
+
+    @Test
+    public void percentilesAreExact() {
+        for (int latency = 100; latency >= 1; latency--) {
+            recorder.record(latency, 0);
+        }
+
+        assertThat(recorder.percentile(50), is(50L));
+        assertThat(recorder.percentile(99), is(99L));
+        assertThat(recorder.percentile(100), is(100L));
+        assertThat(recorder.percentile(0.1), is(1L));
+    }
+
+    @Test
+    public void recordingMoreLatenciesThanInitialCapacityKeepsThemAll() {
+        for (int latency = 1; latency <= 10_000; latency++) {
+            recorder.record(latency, 1);
+        }
+
+        assertThat(recorder.count(), is(10_000));
+        assertThat(recorder.bytes(), is(10_000L));
+        assertThat(recorder.percentile(100), is(10_000L));
+    }
+
+    @Test
+    public void errorsAreCountedSeparately() {
+        recorder.record(1, 10);
+        recorder.recordError();
+
+        assertThat(recorder.count(), is(1));
+        assertThat(recorder.errors(), is(1L));
+    }
+
+    @Test
+    public void mergingCombinesLatenciesErrorsAndBytes() {
+        recorder.record(3, 10);
+        LatencyRecorder other = new LatencyRecorder();
+        other.record(1, 20);
+        other.record(2, 30);
+        other.recordError();
+
+        recorder.merge(other);
+
+        assertThat(recorder.count(), is(3));
+        assertThat(recorder.errors(), is(1L));
+        assertThat(recorder.bytes(), is(60L));
+        assertThat(recorder.percentile(50), is(2L));
+    }
+}
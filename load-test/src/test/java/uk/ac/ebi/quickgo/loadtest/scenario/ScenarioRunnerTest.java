@@ -0,0 +1,89 @@
+package uk.ac.ebi.quickgo.loadtest.scenario;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Tests the behaviour of the {@link ScenarioRunner} against a local HTTP server.
+ *
+ * Created 19/10/26
+ */
+public class ScenarioRunnerTest {
+    private static final byte[] BODY = "{\"results\":[]}".getBytes(StandardCharsets.UTF_8);
+    private static final Duration NO_WARMUP = Duration.ZERO;
+    private static final Duration DURATION = Duration.ofMillis(500);
+
+    private HttpServer server;
+    private String baseUrl;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/ok", exchange -> {
+            exchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, BODY.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(BODY);
+            }
+        });
+        server.createContext("/missing", exchange -> {
+            exchange.sendResponseHeaders(HttpURLConnection.HTTP_NOT_FOUND, -1);
+            exchange.close();
+        });
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort() + "/";
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void emptyBaseUrlThrowsException() {
+        new ScenarioRunner("", 1, NO_WARMUP, DURATION, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroThreadsThrowsException() {
+        new ScenarioRunner(baseUrl, 0, NO_WARMUP, DURATION, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroDurationThrowsException() {
+        new ScenarioRunner(baseUrl, 1, NO_WARMUP, Duration.ZERO, 1);
+    }
+
+    @Test
+    public void successfulRequestsAreMeasured() throws InterruptedException {
+        ScenarioRunner runner = new ScenarioRunner(baseUrl, 2, NO_WARMUP, DURATION, 1);
+
+        ScenarioResult result = runner.run(new Scenario("ok", Scenario.JSON, random -> "/ok"));
+
+        assertThat(result.getScenario(), is("ok"));
+        assertThat(result.getRequests(), is(greaterThan(0L)));
+        assertThat(result.getErrors(), is(0L));
+        assertThat(result.getThroughput(), is(greaterThan(0d)));
+    }
+
+    @Test
+    public void failedRequestsAreCountedAsErrors() throws InterruptedException {
+        ScenarioRunner runner = new ScenarioRunner(baseUrl, 2, NO_WARMUP, DURATION, 1);
+
+        ScenarioResult result = runner.run(new Scenario("missing", Scenario.JSON, random -> "/missing"));
+
+        assertThat(result.getRequests(), is(0L));
+        assertThat(result.getErrors(), is(greaterThan(0L)));
+    }
+}
@@ -85,6 +85,20 @@ public class OntologyDocument implements QuickGODocument {
     @Field(OntologyFields.PROTEIN_COMPLEXES)
     public List<String> proteinComplexes;
 
+    // the number of annotations to this term, and to this term or any of its descendants
+    @Field(OntologyFields.ANNOTATION_COUNT)
+    public Long annotationCount;
+
+    @Field(OntologyFields.INFERRED_ANNOTATION_COUNT)
+    public Long inferredAnnotationCount;
+
+    // the number of gene products annotated to this term, and to this term or any of its descendants
+    @Field(OntologyFields.GENE_PRODUCT_COUNT)
+    public Long geneProductCount;
+
+    @Field(OntologyFields.INFERRED_GENE_PRODUCT_COUNT)
+    public Long inferredGeneProductCount;
+
     @Override
     public String getUniqueName() {
         return this.id;
@@ -172,6 +186,22 @@ public class OntologyDocument implements QuickGODocument {
             return false;
         }
 
+        if (annotationCount != null ? !annotationCount.equals(that.annotationCount) : that.annotationCount != null) {
+            return false;
+        }
+        if (inferredAnnotationCount != null ? !inferredAnnotationCount.equals(that.inferredAnnotationCount) :
+                that.inferredAnnotationCount != null) {
+            return false;
+        }
+        if (geneProductCount != null ? !geneProductCount.equals(that.geneProductCount) :
+                that.geneProductCount != null) {
+            return false;
+        }
+        if (inferredGeneProductCount != null ? !inferredGeneProductCount.equals(that.inferredGeneProductCount) :
+                that.inferredGeneProductCount != null) {
+            return false;
+        }
+
         return !(xRelations != null ? !xRelations.equals(that.xRelations) : that.xRelations != null);
     }
 
@@ -199,6 +229,10 @@ public class OntologyDocument implements QuickGODocument {
         result = 31 * result + (goDiscussions != null ? goDiscussions.hashCode() : 0);
         result = 31 * result + (credits != null ? credits.hashCode() : 0);
         result = 31 * result + (proteinComplexes != null ? proteinComplexes.hashCode() : 0);
+        result = 31 * result + (annotationCount != null ? annotationCount.hashCode() : 0);
+        result = 31 * result + (inferredAnnotationCount != null ? inferredAnnotationCount.hashCode() : 0);
+        result = 31 * result + (geneProductCount != null ? geneProductCount.hashCode() : 0);
+        result = 31 * result + (inferredGeneProductCount != null ? inferredGeneProductCount.hashCode() : 0);
 
         return result;
     }
@@ -228,6 +262,10 @@ public class OntologyDocument implements QuickGODocument {
                 ", goDiscussions=" + goDiscussions +
                 ", credits=" + credits +
                 ", proteinComplexes=" + proteinComplexes +
+                ", annotationCount=" + annotationCount +
+                ", inferredAnnotationCount=" + inferredAnnotationCount +
+                ", geneProductCount=" + geneProductCount +
+                ", inferredGeneProductCount=" + inferredGeneProductCount +
                 '}';
     }
 }
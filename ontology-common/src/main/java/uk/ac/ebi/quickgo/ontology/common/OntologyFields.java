@@ -40,6 +40,10 @@ public class OntologyFields {
     static final String GO_DISCUSSIONS = "goDiscussions";
     static final String CREDITS = "credits";
     static final String PROTEIN_COMPLEXES = "proteinComplexes";
+    static final String ANNOTATION_COUNT = "annotationCount";
+    static final String INFERRED_ANNOTATION_COUNT = "inferredAnnotationCount";
+    static final String GENE_PRODUCT_COUNT = "geneProductCount";
+    static final String INFERRED_GENE_PRODUCT_COUNT = "inferredGeneProductCount";
 
     /*
      * The following fields are declared solely for use by the OntologyRepository queries. These are necessary given
@@ -69,6 +73,50 @@ public class OntologyFields {
         }
     }
 
+    /**
+     * Ontology fields that are stored, and can therefore be retrieved, e.g., by projecting a document onto them.
+     */
+    public static final class Retrievable {
+        private static final Set<String> VALUES = new HashSet<>();
+
+        public static final String ID = storeAndGet(VALUES, OntologyFields.ID);
+        public static final String NAME = storeAndGet(VALUES, OntologyFields.NAME);
+        public static final String SECONDARY_ID = storeAndGet(VALUES, OntologyFields.SECONDARY_ID);
+        public static final String IS_OBSOLETE = storeAndGet(VALUES, OntologyFields.IS_OBSOLETE);
+        public static final String REPLACEMENTS = storeAndGet(VALUES, OntologyFields.REPLACEMENTS);
+        public static final String REPLACES = storeAndGet(VALUES, OntologyFields.REPLACES);
+        public static final String DEFINITION = storeAndGet(VALUES, OntologyFields.DEFINITION);
+        public static final String DEFINITION_XREFS = storeAndGet(VALUES, OntologyFields.DEFINITION_XREFS);
+        public static final String COMMENT = storeAndGet(VALUES, OntologyFields.COMMENT);
+        public static final String ASPECT = storeAndGet(VALUES, OntologyFields.ASPECT);
+        public static final String USAGE = storeAndGet(VALUES, OntologyFields.USAGE);
+        public static final String SUBSET = storeAndGet(VALUES, OntologyFields.SUBSET);
+        public static final String SYNONYM = storeAndGet(VALUES, OntologyFields.SYNONYM);
+        public static final String HISTORY = storeAndGet(VALUES, OntologyFields.HISTORY);
+        public static final String XREF = storeAndGet(VALUES, OntologyFields.XREF);
+        public static final String ANNOTATION_GUIDELINE = storeAndGet(VALUES, OntologyFields.ANNOTATION_GUIDELINE);
+        public static final String XRELATION = storeAndGet(VALUES, OntologyFields.XRELATION);
+        public static final String TAXON_CONSTRAINT = storeAndGet(VALUES, OntologyFields.TAXON_CONSTRAINT);
+        public static final String BLACKLIST = storeAndGet(VALUES, OntologyFields.BLACKLIST);
+        public static final String GO_DISCUSSIONS = storeAndGet(VALUES, OntologyFields.GO_DISCUSSIONS);
+        public static final String CREDITS = storeAndGet(VALUES, OntologyFields.CREDITS);
+        public static final String PROTEIN_COMPLEXES = storeAndGet(VALUES, OntologyFields.PROTEIN_COMPLEXES);
+        public static final String ANNOTATION_COUNT = storeAndGet(VALUES, OntologyFields.ANNOTATION_COUNT);
+        public static final String INFERRED_ANNOTATION_COUNT =
+                storeAndGet(VALUES, OntologyFields.INFERRED_ANNOTATION_COUNT);
+        public static final String GENE_PRODUCT_COUNT = storeAndGet(VALUES, OntologyFields.GENE_PRODUCT_COUNT);
+        public static final String INFERRED_GENE_PRODUCT_COUNT =
+                storeAndGet(VALUES, OntologyFields.INFERRED_GENE_PRODUCT_COUNT);
+
+        public static boolean isRetrievable(String field) {
+            return VALUES.contains(field);
+        }
+
+        public static Set<String> retrievableFields() {
+            return Collections.unmodifiableSet(VALUES);
+        }
+    }
+
     public static class Facetable {
         private static final Set<String> VALUES = new HashSet<>();
 
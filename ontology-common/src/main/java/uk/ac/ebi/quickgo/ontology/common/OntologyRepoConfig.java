@@ -75,6 +75,6 @@ public class OntologyRepoConfig {
         LOGGER.info("Returning ontology repo {}", ontologyTemplate.toString());
 
         return new SolrRepositoryFactory(ontologyTemplate)
-                .getRepository(OntologyRepository.class);
+                .getRepository(OntologyRepository.class, new OntologyRepositoryImpl(ontologyTemplate.getSolrClient()));
     }
 }
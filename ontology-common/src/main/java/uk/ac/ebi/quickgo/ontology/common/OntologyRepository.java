@@ -15,7 +15,7 @@ import org.springframework.data.solr.repository.SolrCrudRepository;
  * Created 11/11/15
  * @author Edd
  */
-public interface OntologyRepository extends SolrCrudRepository<OntologyDocument, String> {
+public interface OntologyRepository extends SolrCrudRepository<OntologyDocument, String>, OntologyRepositoryCustom {
     String QUERY_ONTOLOGY_TYPE_AND_ID = OntologyFields.ONTOLOGY_TYPE_LOWERCASE + ":?0 " +
             "AND (" + OntologyFields.ID_LOWERCASE + ":(?1) OR " + OntologyFields.SECONDARY_ID_LOWERCASE + ":(?1))";
 
@@ -27,7 +27,9 @@ public interface OntologyRepository extends SolrCrudRepository<OntologyDocument,
             fields = {OntologyFields.ID, OntologyFields.NAME, OntologyFields.IS_OBSOLETE, OntologyFields.COMMENT,
                     OntologyFields.ASPECT, OntologyFields.ANCESTOR,
                     OntologyFields.USAGE, OntologyFields.SYNONYM, OntologyFields.DEFINITION,
-                    OntologyFields.DEFINITION_XREFS})
+                    OntologyFields.DEFINITION_XREFS, OntologyFields.ANNOTATION_COUNT,
+                    OntologyFields.INFERRED_ANNOTATION_COUNT, OntologyFields.GENE_PRODUCT_COUNT,
+                    OntologyFields.INFERRED_GENE_PRODUCT_COUNT})
     List<OntologyDocument> findCoreAttrByTermId(String idType, List<String> ids);
 
     // history
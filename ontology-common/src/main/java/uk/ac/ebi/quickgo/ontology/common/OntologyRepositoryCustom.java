@@ -0,0 +1,22 @@
+package uk.ac.ebi.quickgo.ontology.common;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Ontology repository queries whose projections are chosen when they are made, rather than fixed by
+ * {@link org.springframework.data.solr.repository.Query} annotations.
+ *
+ * Created 19/10/26
+ */
+public interface OntologyRepositoryCustom {
+    /**
+     * Finds the documents of the specified ids, of which only the specified fields are retrieved.
+     *
+     * @param idType the ontology type of the ids
+     * @param ids the ids, or secondary ids, of the documents to find
+     * @param fields the fields of the documents to retrieve; see {@link OntologyFields.Retrievable}
+     * @return the documents found, whose other fields are not populated
+     */
+    List<OntologyDocument> findFieldsByTermId(String idType, List<String> ids, Collection<String> fields);
+}
@@ -0,0 +1,68 @@
+package uk.ac.ebi.quickgo.ontology.common;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.springframework.data.solr.UncategorizedSolrException;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Implements the {@link OntologyRepositoryCustom} queries of the {@link OntologyRepository}, by querying Solr with
+ * the same query as the repository's fixed projections, but with a field list that is chosen per query.
+ *
+ * Created 19/10/26
+ */
+public class OntologyRepositoryImpl implements OntologyRepositoryCustom {
+    private static final String ID_SEPARATOR = " ";
+
+    private final SolrClient solrClient;
+
+    public OntologyRepositoryImpl(SolrClient solrClient) {
+        checkArgument(solrClient != null, "Solr client cannot be null");
+
+        this.solrClient = solrClient;
+    }
+
+    @Override
+    public List<OntologyDocument> findFieldsByTermId(String idType, List<String> ids, Collection<String> fields) {
+        checkArgument(idType != null, "Ontology type cannot be null");
+        checkArgument(ids != null, "List of IDs cannot be null");
+        checkArgument(fields != null && !fields.isEmpty(), "Fields to retrieve cannot be null or empty");
+        fields.forEach(field -> checkArgument(OntologyFields.Retrievable.isRetrievable(field),
+                "Field cannot be retrieved: %s", field));
+
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        SolrQuery query = new SolrQuery(OntologyRepository.QUERY_ONTOLOGY_TYPE_AND_ID
+                .replace("?0", idType)
+                .replace("?1", String.join(ID_SEPARATOR, ids)));
+        query.setFields(fields.toArray(new String[fields.size()]));
+
+        // an id usually matches one document, but can also be the secondary id of others
+        query.setRows(ids.size());
+        QueryResponse response = query(query);
+        long found = response.getResults().getNumFound();
+        if (found > ids.size()) {
+            query.setRows((int) found);
+            response = query(query);
+        }
+
+        return response.getBeans(OntologyDocument.class);
+    }
+
+    private QueryResponse query(SolrQuery query) {
+        try {
+            return solrClient.query(query);
+        } catch (SolrServerException | IOException e) {
+            throw new UncategorizedSolrException("Unable to find ontology documents: " + query.getQuery(), e);
+        }
+    }
+}
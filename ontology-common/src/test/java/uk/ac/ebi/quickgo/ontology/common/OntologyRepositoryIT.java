@@ -96,6 +96,33 @@ public class OntologyRepositoryIT {
         results.forEach(doc -> assertThat(copyAsCoreDoc(doc), is(equalTo(doc))));
     }
 
+    @Test
+    public void retrievesOnlyRequestedFields() {
+        String id1 = "GO:0000001";
+        String id2 = "GO:0000002";
+        ontologyRepository.save(OntologyDocMocker.createGODoc(id1, "GO name 1"));
+        ontologyRepository.save(OntologyDocMocker.createGODoc(id2, "GO name 2"));
+        ontologyRepository.save(OntologyDocMocker.createGODoc("GO:0000003", "GO name 3"));
+
+        List<OntologyDocument> results = ontologyRepository.findFieldsByTermId(OntologyType.GO.name(),
+                buildIdList(id1, id2), Arrays.asList(OntologyFields.Retrievable.ID, OntologyFields.Retrievable.NAME));
+        assertThat(results.size(), is(2));
+
+        results.forEach(doc -> {
+            OntologyDocument expectedDoc = new OntologyDocument();
+            expectedDoc.id = doc.id;
+            expectedDoc.name = doc.name;
+            assertThat(doc, is(equalTo(expectedDoc)));
+            assertThat(doc.name, is(notNullValue()));
+        });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void retrievingUnstoredFieldCausesException() {
+        ontologyRepository.findFieldsByTermId(OntologyType.GO.name(), buildIdList("GO:0000001"),
+                Arrays.asList(OntologyFields.Retrievable.ID, OntologyFields.ID_LOWERCASE));
+    }
+
     @Test
     public void retrievesReplacesField() {
         String id = "GO:0000001";
@@ -25,6 +25,10 @@ public final class OntologyDocMocker {
         od.ontologyType = OntologyType.GO.name();
         od.usage = "Unrestricted";
         od.aspect = "Process";
+        od.annotationCount = 3L;
+        od.inferredAnnotationCount = 10L;
+        od.geneProductCount = 2L;
+        od.inferredGeneProductCount = 7L;
 
         // example blacklist
         // format: goId|category|entityType|entityId|taxonId|ancestorGoId|reason|methodId
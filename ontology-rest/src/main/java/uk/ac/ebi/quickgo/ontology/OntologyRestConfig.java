@@ -2,6 +2,7 @@ package uk.ac.ebi.quickgo.ontology;
 
 import uk.ac.ebi.quickgo.ontology.controller.validation.OBOControllerValidationHelper;
 import uk.ac.ebi.quickgo.ontology.controller.validation.OBOControllerValidationHelperImpl;
+import uk.ac.ebi.quickgo.ontology.traversal.ReloadableOntologyGraph;
 import uk.ac.ebi.quickgo.rest.headers.HttpHeader;
 import uk.ac.ebi.quickgo.rest.headers.HttpHeadersProvider;
 import uk.ac.ebi.quickgo.rest.period.PeriodParserDayTime;
@@ -21,6 +22,7 @@ import org.springframework.http.HttpHeaders;
 import static java.util.stream.Collectors.toList;
 import static uk.ac.ebi.quickgo.common.validator.OntologyIdPredicate.isValidECOTermId;
 import static uk.ac.ebi.quickgo.common.validator.OntologyIdPredicate.isValidGOTermId;
+import static uk.ac.ebi.quickgo.ontology.controller.validation.OBOControllerValidationHelperImpl.DEFAULT_MAX_BULK_IDS;
 
 /**
  * Configure the beans related to the operation of the restful service - id validation helpers and configuration
@@ -38,6 +40,8 @@ public class OntologyRestConfig {
 
     private Logger LOGGER = LoggerFactory.getLogger(OntologyRestConfig.class);
     public static final String CACHE_CONTROL_HEADER = "public, max-age";
+    public static final String ONTOLOGY_RELEASE_HEADER = "X-Ontology-Release";
+    public static final String ONTOLOGY_RELEASE_KEY = "release";
     private static final String PERIOD_DELIMITER = ",";
 
     @Bean
@@ -47,24 +51,30 @@ public class OntologyRestConfig {
     }
 
     @Bean
-    public OBOControllerValidationHelper goValidationHelper(@Value("${ontology.max_page_size:600}") int maxPageSize) {
-        return new OBOControllerValidationHelperImpl(maxPageSize, isValidGOTermId());
+    public OBOControllerValidationHelper goValidationHelper(@Value("${ontology.max_page_size:600}") int maxPageSize,
+            @Value("${ontology.max_bulk_ids:" + DEFAULT_MAX_BULK_IDS + "}") int maxBulkIds) {
+        return new OBOControllerValidationHelperImpl(maxPageSize, maxBulkIds, isValidGOTermId());
     }
 
     @Bean
-    public OBOControllerValidationHelper ecoValidationHelper(@Value("${ontology.max_page_size:600}") int maxPageSize) {
-        return new OBOControllerValidationHelperImpl(maxPageSize, isValidECOTermId());
+    public OBOControllerValidationHelper ecoValidationHelper(@Value("${ontology.max_page_size:600}") int maxPageSize,
+            @Value("${ontology.max_bulk_ids:" + DEFAULT_MAX_BULK_IDS + "}") int maxBulkIds) {
+        return new OBOControllerValidationHelperImpl(maxPageSize, maxBulkIds, isValidECOTermId());
     }
 
     /**
-     * Configure a HttpHeadersProvider instance to write required response HTTP headers.
+     * Configure a HttpHeadersProvider instance to write required response HTTP headers, which include the release of
+     * the ontology that answered the request.
      * @return HttpHeadersProvider instance
      */
     @Bean
-    public HttpHeadersProvider httpHeadersProvider(RemainingTimeSupplier maxAgeProvider) {
+    public HttpHeadersProvider httpHeadersProvider(RemainingTimeSupplier maxAgeProvider,
+            ReloadableOntologyGraph ontologyGraph) {
         HttpHeader headerSource = new HttpHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL_HEADER,
                                                  () -> Long.toString(maxAgeProvider.getDuration().getSeconds()));
-        return new HttpHeadersProvider(Collections.singletonList(headerSource));
+        HttpHeader releaseSource = new HttpHeader(ONTOLOGY_RELEASE_HEADER, ONTOLOGY_RELEASE_KEY,
+                                                  ontologyGraph::getRelease);
+        return new HttpHeadersProvider(Arrays.asList(headerSource, releaseSource));
     }
 
     @Bean
@@ -20,15 +20,21 @@ import com.google.common.base.Preconditions;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import static com.google.common.collect.Sets.newHashSet;
 import static uk.ac.ebi.quickgo.ontology.model.OntologyRelationType.DEFAULT_SLIM_TRAVERSAL_TYPES;
@@ -52,6 +58,11 @@ public class GOController extends OBOController<GOTerm> {
 
     static final String MISSING_SLIM_SET_ERROR_MESSAGE =
             "Please enter slim-set request parameter: 'slimsToIds=<GO_TERM>'";
+    static final String COUNTS_SUB_RESOURCE = "counts";
+    private static final Set<TermField> ANNOTATION_COUNTS_FIELDS = EnumSet.of(TermField.ANNOTATION_COUNTS);
+    private static final String ANNOTATION_COUNTS_NOTES = "The counts are those of the annotations when the " +
+            "ontology was indexed: the number of annotations to each term, and of the gene products they annotate; " +
+            "and the same numbers including the annotations to the term's descendants.";
     private final MetaDataProvider metaDataProvider;
     private static final OntologySpecifier GO_SPECIFIER = new OntologySpecifier(OntologyType.GO,
                                                                                 GO_GRAPH_TRAVERSAL_TYPES);
@@ -85,6 +96,45 @@ public class GOController extends OBOController<GOTerm> {
         return new ResponseEntity<>(this.metaDataProvider.lookupMetaData(), HttpStatus.OK);
     }
 
+    /**
+     * Get the annotation counts of a list of GO terms in comma-separated-value (CSV) format. The counts are stored
+     * with each term, so no annotations are queried.
+     *
+     * @param ids GO term identifiers in CSV format
+     * @return
+     * <ul>
+     *     <li>all ids are valid: response consists of a 200 with the id and annotation counts of each term</li>
+     *     <li>any id is not found: response returns 200 with an empty result set.</li>
+     *     <li>any id is of the an invalid format: response returns 400</li>
+     * </ul>
+     */
+    @ApiOperation(value = "Get the annotation counts of a (CSV) list of terms based on their ids",
+            notes = ANNOTATION_COUNTS_NOTES)
+    @RequestMapping(value = TERMS_RESOURCE + "/{ids}/" + COUNTS_SUB_RESOURCE, method = RequestMethod.GET,
+            produces = {MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<QueryResult<GOTerm>> findTermsAnnotationCounts(
+            @ApiParam(value = "Comma-separated term IDs", required = true) @PathVariable(value = "ids") String ids) {
+        return getResultsResponse(ontologyService.findFieldsInfoByOntologyId(validationHelper.validateCSVIds(ids),
+                ANNOTATION_COUNTS_FIELDS));
+    }
+
+    /**
+     * Get the annotation counts of a list of GO terms, given in the request body
+     *
+     * @param ids GO term identifiers, as a JSON array in the request body
+     * @return a streamed result containing the id and annotation counts of each term that was found, or a 400
+     * response if the list is too long or any id is of an invalid format
+     */
+    @ApiOperation(value = "Get the annotation counts of a list of terms, given in the request body",
+            notes = "For lists of IDs too long for a URL. Duplicate IDs are ignored. " + ANNOTATION_COUNTS_NOTES)
+    @RequestMapping(value = TERMS_RESOURCE + "/" + COUNTS_SUB_RESOURCE, method = RequestMethod.POST,
+            consumes = {MediaType.APPLICATION_JSON_VALUE}, produces = {MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> findBulkTermsAnnotationCounts(
+            @ApiParam(value = "Term IDs, as a JSON array", required = true) @RequestBody List<String> ids) {
+        return getStreamedResultsResponse(ids,
+                batch -> ontologyService.findFieldsInfoByOntologyId(batch, ANNOTATION_COUNTS_FIELDS));
+    }
+
     /**
      * Gets slimming information for the provided slim-set, where the slims can be reached only via the
      * provided relationships.
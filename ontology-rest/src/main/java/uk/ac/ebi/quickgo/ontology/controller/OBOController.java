@@ -2,9 +2,12 @@ package uk.ac.ebi.quickgo.ontology.controller;
 
 import uk.ac.ebi.quickgo.common.SearchableField;
 import uk.ac.ebi.quickgo.graphics.model.GraphImageLayout;
+import uk.ac.ebi.quickgo.ontology.model.CompactIds;
 import uk.ac.ebi.quickgo.ontology.model.GraphRequest;
+import uk.ac.ebi.quickgo.graphics.ontology.GraphImageResult;
 import uk.ac.ebi.quickgo.graphics.ontology.GraphPresentation;
 import uk.ac.ebi.quickgo.graphics.ontology.RenderingGraphException;
+import uk.ac.ebi.quickgo.graphics.ontology.SvgCanvas;
 import uk.ac.ebi.quickgo.graphics.service.GraphImageService;
 import uk.ac.ebi.quickgo.ontology.OntologyRestConfig;
 import uk.ac.ebi.quickgo.ontology.common.OntologyFields;
@@ -13,6 +16,8 @@ import uk.ac.ebi.quickgo.ontology.model.OBOTerm;
 import uk.ac.ebi.quickgo.ontology.model.OntologyRelationType;
 import uk.ac.ebi.quickgo.ontology.model.OntologyRelationship;
 import uk.ac.ebi.quickgo.ontology.model.OntologySpecifier;
+import uk.ac.ebi.quickgo.ontology.model.RelativesCount;
+import uk.ac.ebi.quickgo.ontology.model.TermField;
 import uk.ac.ebi.quickgo.ontology.model.graph.AncestorGraph;
 import uk.ac.ebi.quickgo.ontology.model.graph.AncestorVertex;
 import uk.ac.ebi.quickgo.ontology.service.OntologyService;
@@ -20,6 +25,7 @@ import uk.ac.ebi.quickgo.ontology.service.search.SearchServiceConfig;
 import uk.ac.ebi.quickgo.rest.ParameterBindingException;
 import uk.ac.ebi.quickgo.rest.ResponseExceptionHandler;
 import uk.ac.ebi.quickgo.rest.headers.HttpHeadersProvider;
+import uk.ac.ebi.quickgo.rest.metrics.HotPathMetrics;
 import uk.ac.ebi.quickgo.rest.search.RetrievalException;
 import uk.ac.ebi.quickgo.rest.search.SearchDispatcher;
 import uk.ac.ebi.quickgo.rest.search.SearchService;
@@ -29,23 +35,31 @@ import uk.ac.ebi.quickgo.rest.search.query.QuickGOQuery;
 import uk.ac.ebi.quickgo.rest.search.query.RegularPage;
 import uk.ac.ebi.quickgo.rest.search.results.QueryResult;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Lists;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import java.awt.image.RenderedImage;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.function.Function;
 import javax.imageio.ImageIO;
 import javax.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static org.apache.http.HttpHeaders.CONTENT_ENCODING;
@@ -76,12 +90,36 @@ public abstract class OBOController<T extends OBOTerm> {
     static final String CHART_SUB_RESOURCE = "chart";
     static final String CHART_COORDINATES_SUB_RESOURCE = CHART_SUB_RESOURCE + "/coords";
     static final String BASE_64_CONTENT_ENCODING = "base64";
+    static final String VIEW_PARAM = "view";
+    static final String FIELDS_PARAM = "fields";
+    static final String FULL_VIEW = "full";
+    static final String IDS_ONLY_VIEW = "idsOnly";
+    static final String COUNT_VIEW = "count";
+    static final String COMPACT_VIEW = "compact";
+    static final String VIEWS_CSV = FULL_VIEW + "," + IDS_ONLY_VIEW + "," + COUNT_VIEW + "," + COMPACT_VIEW;
+    static final String VIEW_NOTES = "The view 'full' provides each term's core information and relatives; " +
+            "'idsOnly' provides only the ids of the relatives of all terms, as one list without duplicates; " +
+            "'count' provides only the number of relatives of each term; and 'compact' provides the ids of 'idsOnly' " +
+            "as sorted, delta encoded, variable length integers, in Base64, with the prefix and number of digits " +
+            "shared by the ids.";
+    static final String FIELDS_NOTES = "Only the requested fields of each term are retrieved, in addition to its " +
+            "id; children are only looked up if requested. Valid fields are: " + TermField.NAMES_CSV;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(OBOController.class);
     private static final String COLON = ":";
     private static final String DEFAULT_ENTRIES_PER_PAGE = "25";
     private static final String DEFAULT_PAGE_NUMBER = "1";
     private static final String PNG = "png";
+    private static final MediaType IMAGE_SVG = MediaType.parseMediaType(SvgCanvas.SVG_MEDIA_TYPE);
+    private static final String CHART_LAYOUT_STAGE = "chart-layout";
+    private static final String CHART_RENDER_STAGE = "chart-render";
+    private static final String CHART_ENCODE_STAGE = "chart-encode";
+    private static final String CHART_SIZE = "chart.bytes";
+    private static final int BULK_BATCH_SIZE = 500;
+    private static final String RESULTS_FIELD = "results";
+    private static final String NUMBER_OF_HITS_FIELD = "numberOfHits";
+    private static final String PAGE_INFO_FIELD = "pageInfo";
+    private static final ObjectMapper BULK_RESULTS_MAPPER = ResponseConfig.objectMapper();
 
     final OntologyService<T> ontologyService;
     final OBOControllerValidationHelper validationHelper;
@@ -168,11 +206,17 @@ public abstract class OBOController<T extends OBOTerm> {
      */
     @ApiOperation(value = "Get core information about a (CSV) list of terms based on their ids",
             notes = "If possible, response fields include: id, isObsolete, name, definition, ancestors, synonyms, " +
-                    "comment, aspect (for GO) and usage.")
+                    "comment, aspect (for GO), usage and annotationCounts (for GO).")
     @RequestMapping(value = TERMS_RESOURCE + "/{ids}", method = RequestMethod.GET,
             produces = {MediaType.APPLICATION_JSON_VALUE})
     public ResponseEntity<QueryResult<T>> findTermsCoreAttr(
-            @ApiParam(value = "Comma-separated term IDs", required = true) @PathVariable(value = "ids") String ids) {
+            @ApiParam(value = "Comma-separated term IDs", required = true) @PathVariable(value = "ids") String ids,
+            @ApiParam(value = "Comma-separated fields of each term to provide, instead of its core information. " +
+                    FIELDS_NOTES)
+            @RequestParam(value = FIELDS_PARAM, required = false) String fields) {
+        if (fields != null) {
+            return findTermsFields(ids, fields);
+        }
         return getResultsResponse(ontologyService.findCoreInfoByOntologyId(validationHelper.validateCSVIds(ids)));
     }
 
@@ -192,7 +236,13 @@ public abstract class OBOController<T extends OBOTerm> {
     @RequestMapping(value = TERMS_RESOURCE + "/{ids}/" + COMPLETE_SUB_RESOURCE, method = RequestMethod.GET,
             produces = {MediaType.APPLICATION_JSON_VALUE})
     public ResponseEntity<QueryResult<T>> findTermsComplete(
-            @ApiParam(value = "Comma-separated term IDs", required = true) @PathVariable(value = "ids") String ids) {
+            @ApiParam(value = "Comma-separated term IDs", required = true) @PathVariable(value = "ids") String ids,
+            @ApiParam(value = "Comma-separated fields of each term to provide, instead of its complete information. " +
+                    FIELDS_NOTES)
+            @RequestParam(value = FIELDS_PARAM, required = false) String fields) {
+        if (fields != null) {
+            return findTermsFields(ids, fields);
+        }
         return getResultsResponse(
                 ontologyService.findCompleteInfoByOntologyId(validationHelper.validateCSVIds(ids)));
     }
@@ -340,15 +390,20 @@ public abstract class OBOController<T extends OBOTerm> {
      * Retrieves the ancestors of ontology terms
      * @param ids the term ids in CSV format
      * @param relations the ontology relationships over which ancestors will be found
+     * @param view the view of the ancestors; the other views are retrieved by their own end-points
      * @return a result instance containing the ancestors
      */
-    @ApiOperation(value = "Retrieves the ancestors of specified ontology terms")
+    @ApiOperation(value = "Retrieves the ancestors of specified ontology terms",
+            notes = VIEW_NOTES)
     @RequestMapping(value = TERMS_RESOURCE + "/{ids}/" + ANCESTORS_SUB_RESOURCE, method = RequestMethod.GET,
             produces = {MediaType.APPLICATION_JSON_VALUE})
     public ResponseEntity<QueryResult<T>> findAncestors(
             @ApiParam(value = "Comma-separated term IDs", required = true) @PathVariable(value = "ids") String ids,
             @ApiParam(value = "Comma-separated ontology relationships")
-            @RequestParam(value = "relations", defaultValue = DEFAULT_TRAVERSAL_TYPES_CSV) String relations) {
+            @RequestParam(value = "relations", defaultValue = DEFAULT_TRAVERSAL_TYPES_CSV) String relations,
+            @ApiParam(value = "The view of the ancestors", allowableValues = VIEWS_CSV)
+            @RequestParam(value = VIEW_PARAM, defaultValue = FULL_VIEW) String view) {
+        checkFullView(view);
         return getResultsResponse(
                 ontologyService.findAncestorsInfoByOntologyId(
                         validationHelper.validateCSVIds(ids),
@@ -356,19 +411,77 @@ public abstract class OBOController<T extends OBOTerm> {
                                 DEFAULT_TRAVERSAL_TYPES))));
     }
 
+    /**
+     * Retrieves the ids of the ancestors of ontology terms, without duplicates, or any other information
+     * @param ids the term ids in CSV format
+     * @param relations the ontology relationships over which ancestors will be found
+     * @return a result containing the ids of the ancestors of all of the terms
+     */
+    @ApiOperation(value = "Retrieves the ids of the ancestors of specified ontology terms, as one list without " +
+            "duplicates", hidden = true)
+    @RequestMapping(value = TERMS_RESOURCE + "/{ids}/" + ANCESTORS_SUB_RESOURCE, method = RequestMethod.GET,
+            params = VIEW_PARAM + "=" + IDS_ONLY_VIEW, produces = {MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<QueryResult<String>> findAncestorIds(
+            @PathVariable(value = "ids") String ids,
+            @RequestParam(value = "relations", defaultValue = DEFAULT_TRAVERSAL_TYPES_CSV) String relations) {
+        return getResultsResponse(
+                ontologyService.findAncestorIdsByOntologyId(
+                        validationHelper.validateCSVIds(ids), traversalRelations(relations)));
+    }
+
+    /**
+     * Retrieves the number of ancestors of each ontology term
+     * @param ids the term ids in CSV format
+     * @param relations the ontology relationships over which ancestors will be found
+     * @return a result containing the number of ancestors of each term
+     */
+    @ApiOperation(value = "Retrieves the number of ancestors of each specified ontology term", hidden = true)
+    @RequestMapping(value = TERMS_RESOURCE + "/{ids}/" + ANCESTORS_SUB_RESOURCE, method = RequestMethod.GET,
+            params = VIEW_PARAM + "=" + COUNT_VIEW, produces = {MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<QueryResult<RelativesCount>> countAncestors(
+            @PathVariable(value = "ids") String ids,
+            @RequestParam(value = "relations", defaultValue = DEFAULT_TRAVERSAL_TYPES_CSV) String relations) {
+        return getResultsResponse(
+                ontologyService.countAncestorsByOntologyId(
+                        validationHelper.validateCSVIds(ids), traversalRelations(relations)));
+    }
+
+    /**
+     * Retrieves the ids of the ancestors of ontology terms, in the compact form described by {@link CompactIds}
+     * @param ids the term ids in CSV format
+     * @param relations the ontology relationships over which ancestors will be found
+     * @return a result containing the compacted ids of the ancestors of all of the terms
+     */
+    @ApiOperation(value = "Retrieves the ids of the ancestors of specified ontology terms, in a compact, " +
+            "delta encoded, form", hidden = true)
+    @RequestMapping(value = TERMS_RESOURCE + "/{ids}/" + ANCESTORS_SUB_RESOURCE, method = RequestMethod.GET,
+            params = VIEW_PARAM + "=" + COMPACT_VIEW, produces = {MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<QueryResult<CompactIds>> findCompactAncestorIds(
+            @PathVariable(value = "ids") String ids,
+            @RequestParam(value = "relations", defaultValue = DEFAULT_TRAVERSAL_TYPES_CSV) String relations) {
+        return getResultsResponse(Collections.singletonList(CompactIds.of(
+                ontologyService.findAncestorIdsByOntologyId(
+                        validationHelper.validateCSVIds(ids), traversalRelations(relations)))));
+    }
+
     /**
      * Retrieves the descendants of ontology terms
      * @param ids the term ids in CSV format
      * @param relations the ontology relationships over which descendants will be found
+     * @param view the view of the descendants; the other views are retrieved by their own end-points
      * @return a result containing the descendants
      */
-    @ApiOperation(value = "Retrieves the descendants of specified ontology terms")
+    @ApiOperation(value = "Retrieves the descendants of specified ontology terms",
+            notes = VIEW_NOTES)
     @RequestMapping(value = TERMS_RESOURCE + "/{ids}/" + DESCENDANTS_SUB_RESOURCE, method = RequestMethod.GET,
             produces = {MediaType.APPLICATION_JSON_VALUE})
     public ResponseEntity<QueryResult<T>> findDescendants(
             @ApiParam(value = "Comma-separated term IDs", required = true) @PathVariable(value = "ids") String ids,
             @ApiParam(value = "Comma-separated ontology relationships")
-            @RequestParam(value = "relations", defaultValue = DEFAULT_TRAVERSAL_TYPES_CSV) String relations) {
+            @RequestParam(value = "relations", defaultValue = DEFAULT_TRAVERSAL_TYPES_CSV) String relations,
+            @ApiParam(value = "The view of the descendants", allowableValues = VIEWS_CSV)
+            @RequestParam(value = VIEW_PARAM, defaultValue = FULL_VIEW) String view) {
+        checkFullView(view);
         return getResultsResponse(
                 ontologyService.findDescendantsInfoByOntologyId(
                         validationHelper.validateCSVIds(ids),
@@ -376,11 +489,217 @@ public abstract class OBOController<T extends OBOTerm> {
                                 DEFAULT_TRAVERSAL_TYPES))));
     }
 
+    /**
+     * Retrieves the ids of the descendants of ontology terms, without duplicates, or any other information
+     * @param ids the term ids in CSV format
+     * @param relations the ontology relationships over which descendants will be found
+     * @return a result containing the ids of the descendants of all of the terms
+     */
+    @ApiOperation(value = "Retrieves the ids of the descendants of specified ontology terms, as one list without " +
+            "duplicates", hidden = true)
+    @RequestMapping(value = TERMS_RESOURCE + "/{ids}/" + DESCENDANTS_SUB_RESOURCE, method = RequestMethod.GET,
+            params = VIEW_PARAM + "=" + IDS_ONLY_VIEW, produces = {MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<QueryResult<String>> findDescendantIds(
+            @PathVariable(value = "ids") String ids,
+            @RequestParam(value = "relations", defaultValue = DEFAULT_TRAVERSAL_TYPES_CSV) String relations) {
+        return getResultsResponse(
+                ontologyService.findDescendantIdsByOntologyId(
+                        validationHelper.validateCSVIds(ids), traversalRelations(relations)));
+    }
+
+    /**
+     * Retrieves the number of descendants of each ontology term
+     * @param ids the term ids in CSV format
+     * @param relations the ontology relationships over which descendants will be found
+     * @return a result containing the number of descendants of each term
+     */
+    @ApiOperation(value = "Retrieves the number of descendants of each specified ontology term", hidden = true)
+    @RequestMapping(value = TERMS_RESOURCE + "/{ids}/" + DESCENDANTS_SUB_RESOURCE, method = RequestMethod.GET,
+            params = VIEW_PARAM + "=" + COUNT_VIEW, produces = {MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<QueryResult<RelativesCount>> countDescendants(
+            @PathVariable(value = "ids") String ids,
+            @RequestParam(value = "relations", defaultValue = DEFAULT_TRAVERSAL_TYPES_CSV) String relations) {
+        return getResultsResponse(
+                ontologyService.countDescendantsByOntologyId(
+                        validationHelper.validateCSVIds(ids), traversalRelations(relations)));
+    }
+
+    /**
+     * Retrieves the ids of the descendants of ontology terms, in the compact form described by {@link CompactIds}
+     * @param ids the term ids in CSV format
+     * @param relations the ontology relationships over which descendants will be found
+     * @return a result containing the compacted ids of the descendants of all of the terms
+     */
+    @ApiOperation(value = "Retrieves the ids of the descendants of specified ontology terms, in a compact, " +
+            "delta encoded, form", hidden = true)
+    @RequestMapping(value = TERMS_RESOURCE + "/{ids}/" + DESCENDANTS_SUB_RESOURCE, method = RequestMethod.GET,
+            params = VIEW_PARAM + "=" + COMPACT_VIEW, produces = {MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<QueryResult<CompactIds>> findCompactDescendantIds(
+            @PathVariable(value = "ids") String ids,
+            @RequestParam(value = "relations", defaultValue = DEFAULT_TRAVERSAL_TYPES_CSV) String relations) {
+        return getResultsResponse(Collections.singletonList(CompactIds.of(
+                ontologyService.findDescendantIdsByOntologyId(
+                        validationHelper.validateCSVIds(ids), traversalRelations(relations)))));
+    }
+
+    /**
+     * Get core information about a list of terms, given in the request body
+     *
+     * @param ids ontology identifiers, as a JSON array in the request body
+     * @return a streamed result containing the chosen information about the ontology terms that were found, or a
+     * 400 response if the list is too long or any id is of an invalid format
+     */
+    @ApiOperation(value = "Get core information about a list of terms, given in the request body",
+            notes = "For lists of IDs too long for a URL. Duplicate IDs are ignored.")
+    @RequestMapping(value = TERMS_RESOURCE, method = RequestMethod.POST,
+            consumes = {MediaType.APPLICATION_JSON_VALUE}, produces = {MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> findBulkTermsCoreAttr(
+            @ApiParam(value = "Term IDs, as a JSON array", required = true) @RequestBody List<String> ids) {
+        return getStreamedResultsResponse(ids, ontologyService::findCoreInfoByOntologyId);
+    }
+
+    /**
+     * Get complete information about a list of terms, given in the request body
+     *
+     * @param ids ontology identifiers, as a JSON array in the request body
+     * @return a streamed result containing the chosen information about the ontology terms that were found, or a
+     * 400 response if the list is too long or any id is of an invalid format
+     */
+    @ApiOperation(value = "Get complete information about a list of terms, given in the request body",
+            notes = "For lists of IDs too long for a URL. Duplicate IDs are ignored.")
+    @RequestMapping(value = TERMS_RESOURCE + "/" + COMPLETE_SUB_RESOURCE, method = RequestMethod.POST,
+            consumes = {MediaType.APPLICATION_JSON_VALUE}, produces = {MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> findBulkTermsComplete(
+            @ApiParam(value = "Term IDs, as a JSON array", required = true) @RequestBody List<String> ids) {
+        return getStreamedResultsResponse(ids, ontologyService::findCompleteInfoByOntologyId);
+    }
+
+    /**
+     * Get history information about a list of terms, given in the request body
+     *
+     * @param ids ontology identifiers, as a JSON array in the request body
+     * @return a streamed result containing the chosen information about the ontology terms that were found, or a
+     * 400 response if the list is too long or any id is of an invalid format
+     */
+    @ApiOperation(value = "Get history information about a list of terms, given in the request body",
+            notes = "For lists of IDs too long for a URL. Duplicate IDs are ignored.")
+    @RequestMapping(value = TERMS_RESOURCE + "/" + HISTORY_SUB_RESOURCE, method = RequestMethod.POST,
+            consumes = {MediaType.APPLICATION_JSON_VALUE}, produces = {MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> findBulkTermsHistory(
+            @ApiParam(value = "Term IDs, as a JSON array", required = true) @RequestBody List<String> ids) {
+        return getStreamedResultsResponse(ids, ontologyService::findHistoryInfoByOntologyId);
+    }
+
+    /**
+     * Get cross-references about a list of terms, given in the request body
+     *
+     * @param ids ontology identifiers, as a JSON array in the request body
+     * @return a streamed result containing the chosen information about the ontology terms that were found, or a
+     * 400 response if the list is too long or any id is of an invalid format
+     */
+    @ApiOperation(value = "Get cross-references about a list of terms, given in the request body",
+            notes = "For lists of IDs too long for a URL. Duplicate IDs are ignored.")
+    @RequestMapping(value = TERMS_RESOURCE + "/" + XREFS_SUB_RESOURCE, method = RequestMethod.POST,
+            consumes = {MediaType.APPLICATION_JSON_VALUE}, produces = {MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> findBulkTermsXRefs(
+            @ApiParam(value = "Term IDs, as a JSON array", required = true) @RequestBody List<String> ids) {
+        return getStreamedResultsResponse(ids, ontologyService::findXRefsInfoByOntologyId);
+    }
+
+    /**
+     * Get taxonomy constraint information about a list of terms, given in the request body
+     *
+     * @param ids ontology identifiers, as a JSON array in the request body
+     * @return a streamed result containing the chosen information about the ontology terms that were found, or a
+     * 400 response if the list is too long or any id is of an invalid format
+     */
+    @ApiOperation(value = "Get taxonomy constraint information about a list of terms, given in the request body",
+            notes = "For lists of IDs too long for a URL. Duplicate IDs are ignored.")
+    @RequestMapping(value = TERMS_RESOURCE + "/" + CONSTRAINTS_SUB_RESOURCE, method = RequestMethod.POST,
+            consumes = {MediaType.APPLICATION_JSON_VALUE}, produces = {MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> findBulkTermsTaxonConstraints(
+            @ApiParam(value = "Term IDs, as a JSON array", required = true) @RequestBody List<String> ids) {
+        return getStreamedResultsResponse(ids, ontologyService::findTaxonConstraintsInfoByOntologyId);
+    }
+
+    /**
+     * Get cross-ontology relationship information about a list of terms, given in the request body
+     *
+     * @param ids ontology identifiers, as a JSON array in the request body
+     * @return a streamed result containing the chosen information about the ontology terms that were found, or a
+     * 400 response if the list is too long or any id is of an invalid format
+     */
+    @ApiOperation(value = "Get cross ontology relations about a list of terms, given in the request body",
+            notes = "For lists of IDs too long for a URL. Duplicate IDs are ignored.")
+    @RequestMapping(value = TERMS_RESOURCE + "/" + XRELATIONS_SUB_RESOURCE, method = RequestMethod.POST,
+            consumes = {MediaType.APPLICATION_JSON_VALUE}, produces = {MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> findBulkTermsXOntologyRelations(
+            @ApiParam(value = "Term IDs, as a JSON array", required = true) @RequestBody List<String> ids) {
+        return getStreamedResultsResponse(ids, ontologyService::findXORelationsInfoByOntologyId);
+    }
+
+    /**
+     * Get annotation guideline information about a list of terms, given in the request body
+     *
+     * @param ids ontology identifiers, as a JSON array in the request body
+     * @return a streamed result containing the chosen information about the ontology terms that were found, or a
+     * 400 response if the list is too long or any id is of an invalid format
+     */
+    @ApiOperation(value = "Get annotation guidelines about a list of terms, given in the request body",
+            notes = "For lists of IDs too long for a URL. Duplicate IDs are ignored.")
+    @RequestMapping(value = TERMS_RESOURCE + "/" + GUIDELINES_SUB_RESOURCE, method = RequestMethod.POST,
+            consumes = {MediaType.APPLICATION_JSON_VALUE}, produces = {MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> findBulkTermsAnnotationGuideLines(
+            @ApiParam(value = "Term IDs, as a JSON array", required = true) @RequestBody List<String> ids) {
+        return getStreamedResultsResponse(ids, ontologyService::findAnnotationGuideLinesInfoByOntologyId);
+    }
+
+    /**
+     * Retrieves the ancestors of a list of ontology terms, given in the request body
+     * @param ids the term ids, as a JSON array in the request body
+     * @param relations the ontology relationships over which ancestors will be found
+     * @return a streamed result containing the ancestors
+     */
+    @ApiOperation(value = "Retrieves the ancestors of a list of ontology terms, given in the request body",
+            notes = "For lists of IDs too long for a URL. Duplicate IDs are ignored.")
+    @RequestMapping(value = TERMS_RESOURCE + "/" + ANCESTORS_SUB_RESOURCE, method = RequestMethod.POST,
+            consumes = {MediaType.APPLICATION_JSON_VALUE}, produces = {MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> findBulkAncestors(
+            @ApiParam(value = "Term IDs, as a JSON array", required = true) @RequestBody List<String> ids,
+            @ApiParam(value = "Comma-separated ontology relationships")
+            @RequestParam(value = "relations", defaultValue = DEFAULT_TRAVERSAL_TYPES_CSV) String relations) {
+        OntologyRelationType[] relationTypes = asOntologyRelationTypeArray(
+                validationHelper.validateRelationTypes(relations, DEFAULT_TRAVERSAL_TYPES));
+        return getStreamedResultsResponse(ids,
+                batch -> ontologyService.findBulkAncestorsInfoByOntologyId(batch, relationTypes));
+    }
+
+    /**
+     * Retrieves the descendants of a list of ontology terms, given in the request body
+     * @param ids the term ids, as a JSON array in the request body
+     * @param relations the ontology relationships over which descendants will be found
+     * @return a streamed result containing the descendants
+     */
+    @ApiOperation(value = "Retrieves the descendants of a list of ontology terms, given in the request body",
+            notes = "For lists of IDs too long for a URL. Duplicate IDs are ignored.")
+    @RequestMapping(value = TERMS_RESOURCE + "/" + DESCENDANTS_SUB_RESOURCE, method = RequestMethod.POST,
+            consumes = {MediaType.APPLICATION_JSON_VALUE}, produces = {MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> findBulkDescendants(
+            @ApiParam(value = "Term IDs, as a JSON array", required = true) @RequestBody List<String> ids,
+            @ApiParam(value = "Comma-separated ontology relationships")
+            @RequestParam(value = "relations", defaultValue = DEFAULT_TRAVERSAL_TYPES_CSV) String relations) {
+        OntologyRelationType[] relationTypes = asOntologyRelationTypeArray(
+                validationHelper.validateRelationTypes(relations, DEFAULT_TRAVERSAL_TYPES));
+        return getStreamedResultsResponse(ids,
+                batch -> ontologyService.findBulkDescendantsInfoByOntologyId(batch, relationTypes));
+    }
+
     /**
      * Retrieves the paths between ontology terms
      * @param ids the term ids in CSV format, from which paths begin
      * @param toIds the term ids in CSV format, to which the paths lead
      * @param relations the ontology relationships over which descendants will be found
+     * @param limit the maximum number of paths to retrieve; all paths are retrieved if it is omitted
      * @return a result containing a list of paths between the {@code ids} terms, and {@code toIds} terms
      */
     @ApiOperation(value = "Retrieves the paths between two specified sets of ontology terms. Each path is " +
@@ -391,33 +710,38 @@ public abstract class OBOController<T extends OBOTerm> {
             @ApiParam(value = "Comma-separated source term IDs") @PathVariable(value = "ids") String ids,
             @ApiParam(value = "Comma-separated target term IDs") @PathVariable(value = "toIds") String toIds,
             @ApiParam(value = "Comma-separated ontology relationships")
-            @RequestParam(value = "relations", defaultValue = DEFAULT_TRAVERSAL_TYPES_CSV) String relations) {
+            @RequestParam(value = "relations", defaultValue = DEFAULT_TRAVERSAL_TYPES_CSV) String relations,
+            @ApiParam(value = "The maximum number of paths to retrieve; by default, all paths are retrieved")
+            @RequestParam(value = "limit", required = false) Integer limit) {
         return getResultsResponse(
                 ontologyService.paths(
                         asSet(validationHelper.validateCSVIds(ids)),
                         asSet(validationHelper.validateCSVIds(toIds)),
+                        limit == null ? Integer.MAX_VALUE : limit,
                         asOntologyRelationTypeArray(validationHelper.validateRelationTypes(relations,
                                 DEFAULT_TRAVERSAL_TYPES))
                 ));
     }
 
     /**
-     * Retrieves the graphical image corresponding to ontology terms.
+     * Retrieves the graphical image corresponding to ontology terms, as a PNG, or as an SVG if that is preferred by
+     * the request's {@code Accept} header. Since the image depends on that header, the response varies by it.
      *
      * @return the image corresponding to the requested term ids
      */
-    @ApiOperation(value = "Retrieves the PNG image corresponding to the specified ontology terms")
+    @ApiOperation(value = "Retrieves the PNG image corresponding to the specified ontology terms, or the SVG image " +
+            "if " + SvgCanvas.SVG_MEDIA_TYPE + " is preferred by the Accept header")
     @RequestMapping(value = TERMS_RESOURCE + "/{ids}/" + CHART_SUB_RESOURCE, method = RequestMethod.GET,
-            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.IMAGE_PNG_VALUE})
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.IMAGE_PNG_VALUE, SvgCanvas.SVG_MEDIA_TYPE})
     public ResponseEntity<InputStreamResource> getChart(@Valid @ModelAttribute GraphRequest request, BindingResult
-            bindingResult) {
+            bindingResult, @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         checkBindingErrors(bindingResult);
         final GraphPresentation graphPresentation = buildGraphPresentation(request);
 
         try {
 
             return createChartResponseEntity(validationHelper.validateCSVIds(request.getIds()), request.isBase64(),
-                    graphPresentation);
+                    prefersSvg(accept), graphPresentation);
         } catch (IOException | RenderingGraphException e) {
             throw createChartGraphicsException(e);
         }
@@ -443,9 +767,7 @@ public abstract class OBOController<T extends OBOTerm> {
                     .createChart(validationHelper.validateCSVIds(request.getIds()), ontologySpecifier.ontologyType
                             .name(), graphPresentation)
                     .getLayout();
-            return ResponseEntity
-                    .ok()
-                    .body(layout);
+            return new ResponseEntity<>(layout, httpHeadersProvider.provide(), HttpStatus.OK);
         } catch (RenderingGraphException e) {
             throw createChartGraphicsException(e);
         }
@@ -505,6 +827,31 @@ public abstract class OBOController<T extends OBOTerm> {
         return relations.toArray(new OntologyRelationType[relations.size()]);
     }
 
+    private ResponseEntity<QueryResult<T>> findTermsFields(String ids, String fields) {
+        return getResultsResponse(
+                ontologyService.findFieldsInfoByOntologyId(validationHelper.validateCSVIds(ids), termFields(fields)));
+    }
+
+    private static Set<TermField> termFields(String fields) {
+        Set<TermField> termFields = EnumSet.noneOf(TermField.class);
+        for (String field : fields.split(",")) {
+            if (!field.trim().isEmpty()) {
+                termFields.add(TermField.fromName(field.trim()));
+            }
+        }
+        checkArgument(!termFields.isEmpty(), "At least one field must be requested. Valid fields are: %s",
+                TermField.NAMES_CSV);
+        return termFields;
+    }
+
+    private static void checkFullView(String view) {
+        checkArgument(FULL_VIEW.equals(view), "Unknown view: %s. Valid views are: %s", view, VIEWS_CSV);
+    }
+
+    private OntologyRelationType[] traversalRelations(String relations) {
+        return asOntologyRelationTypeArray(validationHelper.validateRelationTypes(relations, DEFAULT_TRAVERSAL_TYPES));
+    }
+
     /**
      * Creates a {@link ResponseEntity} containing a {@link QueryResult} for a list of results.
      *
@@ -523,51 +870,152 @@ public abstract class OBOController<T extends OBOTerm> {
         return new ResponseEntity<>(queryResult, httpHeadersProvider.provide(), HttpStatus.OK);
     }
 
+    /**
+     * Creates a {@link ResponseEntity} that streams the results of looking up a potentially large list of ids. The ids
+     * are validated before the response begins; they are then looked up, and the results written, in batches, so
+     * that neither the ids of a query nor the results held in memory grow with the length of the list. A term
+     * found by more than one id, e.g., by its id and one of its secondary ids, is written once.
+     *
+     * @param ids the ids to look up
+     * @param lookup looks up the results of a batch of ids
+     * @return a {@link ResponseEntity} streaming a {@link QueryResult} of the results
+     */
+    ResponseEntity<StreamingResponseBody> getStreamedResultsResponse(List<String> ids,
+            Function<List<String>, List<T>> lookup) {
+        List<String> validIds = validationHelper.validateBulkIds(ids);
+
+        StreamingResponseBody body = outputStream -> {
+            JsonGenerator generator = BULK_RESULTS_MAPPER.getFactory().createGenerator(outputStream);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            Set<String> writtenIds = new HashSet<>();
+            generator.writeStartObject();
+            generator.writeArrayFieldStart(RESULTS_FIELD);
+            for (List<String> batch : Lists.partition(validIds, BULK_BATCH_SIZE)) {
+                for (T term : lookup.apply(batch)) {
+                    if (writtenIds.add(term.id)) {
+                        generator.writeObject(term);
+                    }
+                }
+                generator.flush();
+            }
+            generator.writeEndArray();
+            generator.writeNumberField(NUMBER_OF_HITS_FIELD, writtenIds.size());
+            generator.writeNullField(PAGE_INFO_FIELD);
+            generator.writeEndObject();
+            generator.close();
+        };
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(httpHeadersProvider.provide());
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
     private RetrievalException createChartGraphicsException(Throwable throwable) {
         String errorMessage = "Error encountered during creation of ontology chart graphics.";
         LOGGER.error(errorMessage, throwable);
         return new RetrievalException(errorMessage);
     }
 
+    /**
+     * Determines whether a request's {@code Accept} header prefers an SVG chart to a PNG one. A PNG is produced
+     * unless SVG is explicitly accepted, and is of a higher quality than any other accepted type that matches PNG.
+     *
+     * @param accept the {@code Accept} header of the request, if any
+     * @return whether an SVG chart should be produced
+     */
+    static boolean prefersSvg(String accept) {
+        if (accept == null || accept.trim().isEmpty()) {
+            return false;
+        }
+
+        List<MediaType> acceptedTypes = MediaType.parseMediaTypes(accept);
+        MediaType.sortBySpecificityAndQuality(acceptedTypes);
+        for (MediaType acceptedType : acceptedTypes) {
+            if (acceptedType.getQualityValue() == 0) {
+                continue;
+            }
+            if (IMAGE_SVG.includes(acceptedType)) {
+                return true;
+            }
+            if (acceptedType.includes(MediaType.IMAGE_PNG)) {
+                return false;
+            }
+        }
+        return false;
+    }
+
     /**
      * Delegates the creation of an graphical image, corresponding to the specified list
      * of {@code ids} and returns the appropriate {@link ResponseEntity}.
      *
      * @param ids the terms whose corresponding graphical image is required
      * @param base64 whether or not to encode the image as base64
+     * @param svg whether to draw the image as SVG, rather than as PNG
      * @param graphPresentation defines the look and attributes of the rendered graph
      * @return the image corresponding to the specified terms
      * @throws IOException if there is an error during creation of the image {@link InputStreamResource}
      * @throws RenderingGraphException if there was an error during the rendering of the image
      */
     private ResponseEntity<InputStreamResource> createChartResponseEntity(List<String> ids, boolean base64,
-            GraphPresentation graphPresentation)
+            boolean svg, GraphPresentation graphPresentation)
             throws IOException, RenderingGraphException {
 
-        RenderedImage renderedImage =
-                graphImageService
-                        .createChart(ids, ontologySpecifier.ontologyType.name(), graphPresentation)
-                        .getGraphImage()
-                        .render();
+        GraphImageResult chart;
+        try (HotPathMetrics.Timing timing = HotPathMetrics.start(CHART_LAYOUT_STAGE)) {
+            chart = graphImageService.createChart(ids, ontologySpecifier.ontologyType.name(), graphPresentation);
+        }
+
         ByteArrayOutputStream os = new ByteArrayOutputStream();
+        if (svg) {
+            writeSvgChart(chart, base64, os);
+        } else {
+            writePngChart(chart, base64, os);
+        }
+        HotPathMetrics.update(CHART_SIZE, os.size());
 
-        ResponseEntity.BodyBuilder bodyBuilder;
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(httpHeadersProvider.provide());
+        headers.setContentType(svg ? IMAGE_SVG : MediaType.IMAGE_PNG);
+        headers.setContentLength(os.size());
+        headers.set(HttpHeaders.VARY, HttpHeaders.ACCEPT);
         if (base64) {
-            ImageIO.write(renderedImage, PNG, Base64.getMimeEncoder().wrap(os));
-            bodyBuilder = buildChartResponseBodyBuilder(os).header(CONTENT_ENCODING, BASE_64_CONTENT_ENCODING);
-        } else {
-            ImageIO.write(renderedImage, PNG, os);
-            bodyBuilder = buildChartResponseBodyBuilder(os);
+            headers.set(CONTENT_ENCODING, BASE_64_CONTENT_ENCODING);
         }
 
-        return bodyBuilder.body(new InputStreamResource(new ByteArrayInputStream(os.toByteArray())));
+        return new ResponseEntity<>(new InputStreamResource(new ByteArrayInputStream(os.toByteArray())), headers,
+                HttpStatus.OK);
     }
 
-    private ResponseEntity.BodyBuilder buildChartResponseBodyBuilder(ByteArrayOutputStream os) {
-        return ResponseEntity
-                .ok()
-                .contentType(MediaType.IMAGE_PNG)
-                .contentLength(os.size());
+    private void writePngChart(GraphImageResult chart, boolean base64, ByteArrayOutputStream os) throws IOException {
+        RenderedImage renderedImage;
+        try (HotPathMetrics.Timing timing = HotPathMetrics.start(CHART_RENDER_STAGE)) {
+            renderedImage = chart.getGraphImage().render();
+        }
+
+        try (HotPathMetrics.Timing timing = HotPathMetrics.start(CHART_ENCODE_STAGE)) {
+            if (base64) {
+                ImageIO.write(renderedImage, PNG, Base64.getMimeEncoder().wrap(os));
+            } else {
+                ImageIO.write(renderedImage, PNG, os);
+            }
+        }
+    }
+
+    /**
+     * Writes the chart as an SVG document, which, unlike a PNG, needs neither a pixel buffer nor compressing.
+     */
+    private void writeSvgChart(GraphImageResult chart, boolean base64, ByteArrayOutputStream os) throws IOException {
+        String svg;
+        try (HotPathMetrics.Timing timing = HotPathMetrics.start(CHART_RENDER_STAGE)) {
+            svg = chart.getGraphImage().renderSvg();
+        }
+
+        try (HotPathMetrics.Timing timing = HotPathMetrics.start(CHART_ENCODE_STAGE);
+             OutputStream out = base64 ? Base64.getMimeEncoder().wrap(os) : os) {
+            out.write(svg.getBytes(StandardCharsets.UTF_8));
+        }
     }
 
     private QueryRequest buildRequest(String query,
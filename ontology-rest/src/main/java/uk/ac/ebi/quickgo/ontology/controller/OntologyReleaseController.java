@@ -0,0 +1,83 @@
+package uk.ac.ebi.quickgo.ontology.controller;
+
+import uk.ac.ebi.quickgo.ontology.traversal.ReloadableOntologyGraph;
+import uk.ac.ebi.quickgo.ontology.traversal.read.OntologyGraphReloader;
+
+import io.swagger.annotations.ApiOperation;
+import java.util.Collections;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Provides the release of the ontology currently served, and allows a new release to be loaded from the ontology
+ * source files without restarting the service. Since a reload is expensive, requesting one is disabled unless
+ * {@code ontology.traversal.reload.enabled} is true, and should then be restricted to administrators, e.g., by the
+ * proxy in front of the service.
+ *
+ * Created 19/10/26
+ */
+@RestController
+@RequestMapping(value = "/internal/ontology/release")
+public class OntologyReleaseController {
+    static final String RELOAD_SUB_RESOURCE = "reload";
+    static final String RELEASE_FIELD = "release";
+
+    private final ReloadableOntologyGraph ontologyGraph;
+    private final OntologyGraphReloader ontologyGraphReloader;
+    private final boolean reloadEnabled;
+
+    @Autowired
+    public OntologyReleaseController(ReloadableOntologyGraph ontologyGraph,
+            OntologyGraphReloader ontologyGraphReloader,
+            @Value("${ontology.traversal.reload.enabled:false}") boolean reloadEnabled) {
+        checkArgument(ontologyGraph != null, "Ontology graph cannot be null");
+        checkArgument(ontologyGraphReloader != null, "Ontology graph reloader cannot be null");
+
+        this.ontologyGraph = ontologyGraph;
+        this.ontologyGraphReloader = ontologyGraphReloader;
+        this.reloadEnabled = reloadEnabled;
+    }
+
+    /**
+     * Provides the release of the ontology currently served.
+     *
+     * @return the release
+     */
+    @ApiOperation(value = "Provides the release of the ontology currently served")
+    @RequestMapping(method = {RequestMethod.GET}, produces = {MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Map<String, String>> release() {
+        return new ResponseEntity<>(currentRelease(), HttpStatus.OK);
+    }
+
+    /**
+     * Requests that the ontology is reloaded from its source files in the background. The current release continues
+     * to be served until the new one has been loaded.
+     *
+     * @return the release currently served, or a 404 status if reloading on request is disabled
+     */
+    @ApiOperation(value = "Requests that the ontology is reloaded from its source files in the background; the " +
+            "current release continues to be served until the new one has been loaded")
+    @RequestMapping(value = "/" + RELOAD_SUB_RESOURCE, method = {RequestMethod.POST},
+            produces = {MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Map<String, String>> reload() {
+        if (!reloadEnabled) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+
+        ontologyGraphReloader.requestReload();
+        return new ResponseEntity<>(currentRelease(), HttpStatus.ACCEPTED);
+    }
+
+    private Map<String, String> currentRelease() {
+        return Collections.singletonMap(RELEASE_FIELD, ontologyGraph.getRelease());
+    }
+}
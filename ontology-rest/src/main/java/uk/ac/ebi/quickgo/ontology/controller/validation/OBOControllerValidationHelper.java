@@ -27,4 +27,16 @@ public interface OBOControllerValidationHelper extends ControllerValidationHelpe
      * to a valid {@link OntologyRelationType}
      */
     List<OntologyRelationType> validateRelationTypes(String relationTypesCSV, List<OntologyRelationType> validTypes);
+
+    /**
+     * Validates a large list of ontology IDs, e.g., the body of a bulk request, which is not limited to the
+     * maximum number of page results. Blank IDs are ignored, and duplicate IDs are removed.
+     *
+     * @param ids the IDs to validate
+     * @return the distinct IDs, in the order they were first given
+     *
+     * @throws ParameterException if there are more distinct IDs than the maximum allowed in a bulk request, or an ID
+     * is not valid
+     */
+    List<String> validateBulkIds(List<String> ids);
 }
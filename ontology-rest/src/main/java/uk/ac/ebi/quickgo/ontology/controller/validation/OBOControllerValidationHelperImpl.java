@@ -5,7 +5,9 @@ import uk.ac.ebi.quickgo.rest.ParameterException;
 import uk.ac.ebi.quickgo.rest.controller.ControllerValidationHelperImpl;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Predicate;
 import org.slf4j.Logger;
 
@@ -21,10 +23,19 @@ public class OBOControllerValidationHelperImpl
         extends ControllerValidationHelperImpl
         implements OBOControllerValidationHelper {
 
+    public static final int DEFAULT_MAX_BULK_IDS = 10_000;
+
     private static final Logger LOGGER = getLogger(OBOControllerValidationHelperImpl.class);
 
+    private final int maxBulkIds;
+
     public OBOControllerValidationHelperImpl(int maxPageResults, Predicate<String> validIDCondition) {
+        this(maxPageResults, DEFAULT_MAX_BULK_IDS, validIDCondition);
+    }
+
+    public OBOControllerValidationHelperImpl(int maxPageResults, int maxBulkIds, Predicate<String> validIDCondition) {
         super(maxPageResults, validIDCondition);
+        this.maxBulkIds = maxBulkIds;
     }
 
     @Override public List<OntologyRelationType> validateRelationTypes(String relationTypesCSV,
@@ -52,6 +63,29 @@ public class OBOControllerValidationHelperImpl
         return relationTypes;
     }
 
+    @Override public List<String> validateBulkIds(List<String> ids) {
+        if (ids == null) {
+            throw new ParameterException("A list of IDs must be provided");
+        }
+
+        Set<String> distinctIds = new LinkedHashSet<>();
+        for (String id : ids) {
+            if (id != null && !id.trim().isEmpty()) {
+                distinctIds.add(id.trim());
+            }
+        }
+
+        if (distinctIds.size() > maxBulkIds) {
+            String errorMessage = "Cannot look up " + distinctIds.size() + " IDs in one request. Upper limit is: " +
+                    maxBulkIds + ".";
+            LOGGER.error(errorMessage);
+            throw new ParameterException(errorMessage);
+        }
+        validateIdFormats(distinctIds);
+
+        return new ArrayList<>(distinctIds);
+    }
+
     void checkValidTraversalRelationType(OntologyRelationType relationType,List<OntologyRelationType> validTypes) {
         if (!validTypes.contains(relationType)) {
             String errorMessage = "Cannot traverse over relation type: " + relationType.getLongName() + ". " +
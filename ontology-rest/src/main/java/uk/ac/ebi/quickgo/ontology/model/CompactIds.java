@@ -0,0 +1,114 @@
+package uk.ac.ebi.quickgo.ontology.model;
+
+import java.io.ByteArrayOutputStream;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * <p>A compact representation of a set of term IDs, for clients that need only the IDs, and many of them, e.g., the
+ * descendants of a high level term.
+ *
+ * <p>The IDs of an ontology share a prefix and a number of digits, e.g., GO:0008150 has the prefix {@code GO:} and 7
+ * digits, so only the numbers of the IDs are encoded. The numbers are sorted, and each is replaced by its difference
+ * from the one before; the differences are written as variable length integers, 7 bits per byte, least significant
+ * first, with the top bit of every byte but the last set; and the bytes are then Base64 encoded. Since the IDs of
+ * related terms tend to be close together, most differences need only one or two bytes.
+ *
+ * Created 19/10/26
+ */
+public class CompactIds {
+    private static final Pattern ID_PATTERN = Pattern.compile("^(.*?)(\\d+)$");
+    private static final int VALUE_BITS = 7;
+    private static final int VALUE_MASK = 0x7F;
+    private static final int CONTINUATION_BIT = 0x80;
+
+    public final String prefix;
+    public final int digits;
+    public final int count;
+    public final String ids;
+
+    private CompactIds(String prefix, int digits, int count, String ids) {
+        this.prefix = prefix;
+        this.digits = digits;
+        this.count = count;
+        this.ids = ids;
+    }
+
+    /**
+     * Creates the compact representation of a set of IDs.
+     *
+     * @param ids the IDs, which must share a prefix and a number of digits; duplicates are ignored
+     * @return the compact representation of {@code ids}
+     * @throws IllegalArgumentException if the IDs do not share a prefix and a number of digits
+     */
+    public static CompactIds of(Collection<String> ids) {
+        checkArgument(ids != null, "IDs cannot be null");
+
+        String prefix = "";
+        int digits = 0;
+        int[] numbers = new int[ids.size()];
+        int index = 0;
+        for (String id : ids) {
+            Matcher matcher = ID_PATTERN.matcher(id);
+            checkArgument(matcher.matches(), "ID cannot be compacted: %s", id);
+            if (index == 0) {
+                prefix = matcher.group(1);
+                digits = matcher.group(2).length();
+            }
+            checkArgument(prefix.equals(matcher.group(1)) && digits == matcher.group(2).length(),
+                    "IDs must share a prefix and number of digits to be compacted: %s", id);
+            numbers[index++] = Integer.parseInt(matcher.group(2));
+        }
+
+        Arrays.sort(numbers);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        int count = 0;
+        int previous = 0;
+        for (int number : numbers) {
+            if (count == 0 || number != previous) {
+                writeVarInt(bytes, number - previous);
+                previous = number;
+                count++;
+            }
+        }
+
+        return new CompactIds(prefix, digits, count, Base64.getEncoder().encodeToString(bytes.toByteArray()));
+    }
+
+    /**
+     * @return the IDs this instance represents, in ascending order
+     */
+    public List<String> decode() {
+        byte[] bytes = Base64.getDecoder().decode(ids);
+        String format = "%s%0" + Math.max(digits, 1) + "d";
+
+        List<String> decoded = new ArrayList<>(count);
+        int number = 0;
+        int position = 0;
+        while (position < bytes.length) {
+            int delta = 0;
+            int shift = 0;
+            byte current;
+            do {
+                current = bytes[position++];
+                delta |= (current & VALUE_MASK) << shift;
+                shift += VALUE_BITS;
+            } while ((current & CONTINUATION_BIT) != 0);
+
+            number += delta;
+            decoded.add(String.format(format, prefix, number));
+        }
+        return decoded;
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream bytes, int value) {
+        while ((value & ~VALUE_MASK) != 0) {
+            bytes.write((value & VALUE_MASK) | CONTINUATION_BIT);
+            value >>>= VALUE_BITS;
+        }
+        bytes.write(value);
+    }
+}
@@ -24,6 +24,9 @@ public class GOTerm extends OBOTerm {
     public List<GODiscussion> goDiscussions;
     public List<ExtendedXRef> proteinComplexes;
 
+    // the numbers of annotations to this term, and of the gene products they annotate
+    public AnnotationCounts annotationCounts;
+
     public enum Usage {
         UNRESTRICTED("Unrestricted", "U"),
         ELECTRONIC("Electronic", "E"),
@@ -83,4 +86,15 @@ public class GOTerm extends OBOTerm {
     public static class ExtendedXRef extends XRef implements FieldType {
         public String symbol;
     }
+
+    /**
+     * The annotation counts of a term, as they were when the ontology was indexed. The inferred counts include the
+     * annotations to the term's descendants, over the is_a, part_of and occurs_in relationships.
+     */
+    public static class AnnotationCounts {
+        public long annotations;
+        public long inferredAnnotations;
+        public long geneProducts;
+        public long inferredGeneProducts;
+    }
 }
@@ -0,0 +1,17 @@
+package uk.ac.ebi.quickgo.ontology.model;
+
+/**
+ * A minimal class whose purpose is to represent only a term ID, and the number of its relatives, i.e., its ancestors
+ * or descendants, via a set of relationships.
+ *
+ * Created 19/10/26
+ */
+public class RelativesCount {
+    public RelativesCount(String id, int count) {
+        this.id = id;
+        this.count = count;
+    }
+
+    public final String id;
+    public final int count;
+}
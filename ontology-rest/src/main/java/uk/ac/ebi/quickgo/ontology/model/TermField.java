@@ -0,0 +1,93 @@
+package uk.ac.ebi.quickgo.ontology.model;
+
+import uk.ac.ebi.quickgo.ontology.common.OntologyFields.Retrievable;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * The fields of an {@link OBOTerm}, or of one of its subclasses, that can be requested of a term lookup, so that
+ * only the information a caller needs is retrieved, converted and returned. Each field is named as it is in the
+ * term's JSON, and knows the stored ontology fields from which it is converted.
+ *
+ * Created 19/10/26
+ */
+public enum TermField {
+    ID("id", Retrievable.ID),
+    IS_OBSOLETE("isObsolete", Retrievable.IS_OBSOLETE),
+    NAME("name", Retrievable.NAME),
+    DEFINITION("definition", Retrievable.DEFINITION, Retrievable.DEFINITION_XREFS),
+    COMMENT("comment", Retrievable.COMMENT),
+    SYNONYMS("synonyms", Retrievable.SYNONYM),
+    REPLACES("replaces", Retrievable.REPLACES),
+    REPLACEMENTS("replacements", Retrievable.REPLACEMENTS),
+    SUBSETS("subsets", Retrievable.SUBSET),
+    // children are found from the ontology graph, rather than from stored fields
+    CHILDREN("children"),
+    SECONDARY_IDS("secondaryIds", Retrievable.SECONDARY_ID),
+    HISTORY("history", Retrievable.HISTORY),
+    XREFS("xRefs", Retrievable.XREF),
+    XRELATIONS("xRelations", Retrievable.XRELATION),
+    ANNOTATION_GUIDELINES("annotationGuidelines", Retrievable.ANNOTATION_GUIDELINE),
+    TAXON_CONSTRAINTS("taxonConstraints", Retrievable.TAXON_CONSTRAINT),
+    CREDITS("credits", Retrievable.CREDITS),
+    // GO terms only
+    ASPECT("aspect", Retrievable.ASPECT),
+    USAGE("usage", Retrievable.USAGE),
+    BLACKLIST("blacklist", Retrievable.BLACKLIST),
+    GO_DISCUSSIONS("goDiscussions", Retrievable.GO_DISCUSSIONS),
+    PROTEIN_COMPLEXES("proteinComplexes", Retrievable.PROTEIN_COMPLEXES),
+    ANNOTATION_COUNTS("annotationCounts", Retrievable.ANNOTATION_COUNT, Retrievable.INFERRED_ANNOTATION_COUNT,
+            Retrievable.GENE_PRODUCT_COUNT, Retrievable.INFERRED_GENE_PRODUCT_COUNT);
+
+    public static final Set<TermField> ALL = Collections.unmodifiableSet(EnumSet.allOf(TermField.class));
+    public static final String NAMES_CSV = Stream.of(values()).map(TermField::getName)
+            .collect(Collectors.joining(","));
+
+    private static final Map<String, TermField> BY_NAME = new HashMap<>();
+
+    static {
+        for (TermField field : values()) {
+            BY_NAME.put(field.name, field);
+        }
+    }
+
+    private final String name;
+    private final List<String> storedFields;
+
+    TermField(String name, String... storedFields) {
+        this.name = name;
+        this.storedFields = Arrays.asList(storedFields);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @param name the name of a field, as in a term's JSON
+     * @return the field of that name
+     * @throws IllegalArgumentException if there is no field of that name
+     */
+    public static TermField fromName(String name) {
+        TermField field = BY_NAME.get(name);
+        checkArgument(field != null, "Unknown field: %s. Valid fields are: %s", name, NAMES_CSV);
+        return field;
+    }
+
+    /**
+     * Finds the stored ontology fields needed to convert the specified term fields. The id is always needed, since
+     * it identifies each term.
+     *
+     * @param fields the term fields required
+     * @return the stored fields needed to convert them
+     */
+    public static Set<String> storedFieldsOf(Collection<TermField> fields) {
+        Set<String> storedFields = new LinkedHashSet<>(ID.storedFields);
+        fields.forEach(field -> storedFields.addAll(field.storedFields));
+        return storedFields;
+    }
+}
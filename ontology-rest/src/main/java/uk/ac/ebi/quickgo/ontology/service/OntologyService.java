@@ -7,7 +7,9 @@ import uk.ac.ebi.quickgo.ontology.model.graph.AncestorVertex;
 import uk.ac.ebi.quickgo.ontology.model.OBOTerm;
 import uk.ac.ebi.quickgo.ontology.model.OntologyRelationType;
 import uk.ac.ebi.quickgo.ontology.model.OntologyRelationship;
+import uk.ac.ebi.quickgo.ontology.model.RelativesCount;
 import uk.ac.ebi.quickgo.ontology.model.SlimTerm;
+import uk.ac.ebi.quickgo.ontology.model.TermField;
 import uk.ac.ebi.quickgo.rest.search.query.RegularPage;
 import uk.ac.ebi.quickgo.rest.search.results.QueryResult;
 
@@ -39,6 +41,16 @@ public interface OntologyService<T extends OBOTerm> {
      */
     List<T> findCompleteInfoByOntologyId(List<String> ids);
 
+    /**
+     * Find only the specified fields of a specified list of ontology IDs. Only the stored data needed for these
+     * fields is retrieved and converted, and children are only looked up if they are requested.
+     * @param ids the ontology IDs
+     * @param fields the fields of each term required; its id is always provided
+     * @return a {@link List} of {@link OBOTerm} instances corresponding to the ontology term ids containing only the
+     * requested fields
+     */
+    List<T> findFieldsInfoByOntologyId(List<String> ids, Set<TermField> fields);
+
     /**
      * Find the core data set stored for a specified list of ontology IDs.
      * @param ids the ontology IDs
@@ -102,6 +114,24 @@ public interface OntologyService<T extends OBOTerm> {
             Set<String> endingIds,
             OntologyRelationType... relations);
 
+    /**
+     * Find at most {@code limit} of the paths between two sets of vertices in a graph, navigable via
+     * a specified set of relations.
+     *
+     * @param startingIds the starting ids from which returned paths must start
+     * @param endingIds the ending ids from which returned paths end
+     * @param limit the maximum number of paths to return
+     * @param relations a varargs value containing the relationships over which paths can only travel.
+     *                  By omitting a {@code relation} value, all paths will be returned.
+     * @return a list of at most {@code limit} paths from {@code startingIds} to {@code endingIds} via
+     * {@code relations}
+     */
+    List<List<OntologyRelationship>> paths(
+            Set<String> startingIds,
+            Set<String> endingIds,
+            int limit,
+            OntologyRelationType... relations);
+
     /**
      * Find the set of ancestor vertices reachable from a list of ids, {@code ids}, navigable via a specified
      * set of relations.
@@ -126,6 +156,78 @@ public interface OntologyService<T extends OBOTerm> {
      */
     List<T> findDescendantsInfoByOntologyId(List<String> ids, OntologyRelationType... relations);
 
+    /**
+     * Find the ancestors of each of a potentially large list of ids, {@code ids}, navigable via a specified set of
+     * relations. Unlike {@link #findAncestorsInfoByOntologyId(List, OntologyRelationType...)}, the ancestors of all
+     * ids are found in one traversal of the ontology graph.
+     *
+     * @param ids a {@link List} of ids whose ancestors one is interested in
+     * @param relations a varargs value containing the relationships over which paths can only travel.
+     *                  By omitting a {@code relation} value, all paths will be returned.
+     * @return a {@link List} of {@link OBOTerm} instances corresponding to the ontology term ids containing the
+     * chosen information
+     */
+    List<T> findBulkAncestorsInfoByOntologyId(List<String> ids, OntologyRelationType... relations);
+
+    /**
+     * Find the descendants of each of a potentially large list of ids, {@code ids}, navigable via a specified set of
+     * relations. Unlike {@link #findDescendantsInfoByOntologyId(List, OntologyRelationType...)}, the descendants of
+     * all ids are found in one traversal of the ontology graph.
+     *
+     * @param ids a {@link List} of ids whose descendants one is interested in
+     * @param relations a varargs value containing the relationships over which paths can only travel.
+     *                  By omitting a {@code relation} value, all paths will be returned.
+     * @return a {@link List} of {@link OBOTerm} instances corresponding to the ontology term ids containing the
+     * chosen information
+     */
+    List<T> findBulkDescendantsInfoByOntologyId(List<String> ids, OntologyRelationType... relations);
+
+    /**
+     * Find the ids of the ancestors of a list of ids, {@code ids}, navigable via a specified set of relations. Unlike
+     * {@link #findAncestorsInfoByOntologyId(List, OntologyRelationType...)}, only the ontology graph is consulted,
+     * and the ancestors of all ids are combined into one list, without duplicates.
+     *
+     * @param ids a {@link List} of ids whose ancestors one is interested in
+     * @param relations a varargs value containing the relationships over which paths can only travel.
+     *                  By omitting a {@code relation} value, all paths will be returned.
+     * @return the ids of the ancestors of all {@code ids}, each once
+     */
+    List<String> findAncestorIdsByOntologyId(List<String> ids, OntologyRelationType... relations);
+
+    /**
+     * Find the ids of the descendants of a list of ids, {@code ids}, navigable via a specified set of relations.
+     * Unlike {@link #findDescendantsInfoByOntologyId(List, OntologyRelationType...)}, only the ontology graph is
+     * consulted, and the descendants of all ids are combined into one list, without duplicates.
+     *
+     * @param ids a {@link List} of ids whose descendants one is interested in
+     * @param relations a varargs value containing the relationships over which paths can only travel.
+     *                  By omitting a {@code relation} value, all paths will be returned.
+     * @return the ids of the descendants of all {@code ids}, each once
+     */
+    List<String> findDescendantIdsByOntologyId(List<String> ids, OntologyRelationType... relations);
+
+    /**
+     * Count the ancestors of each of a list of ids, {@code ids}, navigable via a specified set of relations. Only the
+     * ontology graph is consulted; an id it does not contain has no ancestors.
+     *
+     * @param ids a {@link List} of ids whose ancestors one is interested in
+     * @param relations a varargs value containing the relationships over which paths can only travel.
+     *                  By omitting a {@code relation} value, all paths will be returned.
+     * @return a {@link List} of {@link RelativesCount} instances, one for each distinct id
+     */
+    List<RelativesCount> countAncestorsByOntologyId(List<String> ids, OntologyRelationType... relations);
+
+    /**
+     * Count the descendants of each of a list of ids, {@code ids}, navigable via a specified set of relations. Only
+     * the ontology graph is consulted; an id it does not contain has no descendants.
+     *
+     * @param ids a {@link List} of ids whose descendants one is interested in
+     * @param relations a varargs value containing the relationships over which paths can only travel.
+     *                  By omitting a {@code relation} value, all paths will be returned.
+     * @return a {@link List} of {@link RelativesCount} instances, one for each distinct id
+     */
+    List<RelativesCount> countDescendantsByOntologyId(List<String> ids, OntologyRelationType... relations);
+
     /**
      * Maps ids to their equivalent, slimmed ids. The results are presented as a list of {@link SlimTerm} instances,
      * each of which contains a term id, and which shows the ids to which this term slims to.
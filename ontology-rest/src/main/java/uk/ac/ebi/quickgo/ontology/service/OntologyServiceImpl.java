@@ -6,7 +6,9 @@ import uk.ac.ebi.quickgo.ontology.common.OntologyType;
 import uk.ac.ebi.quickgo.ontology.model.OBOTerm;
 import uk.ac.ebi.quickgo.ontology.model.OntologyRelationType;
 import uk.ac.ebi.quickgo.ontology.model.OntologyRelationship;
+import uk.ac.ebi.quickgo.ontology.model.RelativesCount;
 import uk.ac.ebi.quickgo.ontology.model.SlimTerm;
+import uk.ac.ebi.quickgo.ontology.model.TermField;
 import uk.ac.ebi.quickgo.ontology.model.graph.AncestorGraph;
 import uk.ac.ebi.quickgo.ontology.model.graph.AncestorVertex;
 import uk.ac.ebi.quickgo.ontology.service.converter.OntologyDocConverter;
@@ -18,6 +20,7 @@ import uk.ac.ebi.quickgo.rest.search.results.PageInfo;
 import uk.ac.ebi.quickgo.rest.search.results.QueryResult;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
 import java.util.*;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
@@ -38,6 +41,10 @@ import static org.slf4j.LoggerFactory.getLogger;
  * @author Edd
  */
 public class OntologyServiceImpl<T extends OBOTerm> implements OntologyService<T> {
+    /**
+     * Each id is matched against two fields, so this keeps queries within Solr's default maximum of 1024 clauses.
+     */
+    static final int MAX_IDS_PER_QUERY = 500;
     private static final Logger LOGGER = getLogger(OntologyServiceImpl.class);
     private final AncestorFetcher ancestorFetcher = new AncestorFetcher();
     private final DescendantFetcher descendantFetcher = new DescendantFetcher();
@@ -84,43 +91,56 @@ public class OntologyServiceImpl<T extends OBOTerm> implements OntologyService<T
 
     @Override
     public List<T> findCompleteInfoByOntologyId(List<String> ids) {
-        return convertDocs(ontologyRepository.findCompleteByTermId(ontologyType, buildIdList(ids)))
+        return convertDocs(findInBatches(ids, ontologyRepository::findCompleteByTermId))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<T> findFieldsInfoByOntologyId(List<String> ids, Set<TermField> fields) {
+        Preconditions.checkArgument(fields != null, "Fields cannot be null");
+
+        Set<String> storedFields = TermField.storedFieldsOf(fields);
+        Stream<T> terms = findInBatches(ids,
+                (idType, batch) -> ontologyRepository.findFieldsByTermId(idType, batch, storedFields)).stream()
+                .map(doc -> converter.convert(doc, fields));
+
+        return (fields.contains(TermField.CHILDREN) ? terms.map(this::insertChildren) : terms)
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<T> findCoreInfoByOntologyId(List<String> ids) {
-        return convertDocs(ontologyRepository.findCoreAttrByTermId(ontologyType, buildIdList(ids)))
+        return convertDocs(findInBatches(ids, ontologyRepository::findCoreAttrByTermId))
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<T> findHistoryInfoByOntologyId(List<String> ids) {
-        return convertDocs(ontologyRepository.findHistoryByTermId(ontologyType, buildIdList(ids)))
+        return convertDocs(findInBatches(ids, ontologyRepository::findHistoryByTermId))
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<T> findXRefsInfoByOntologyId(List<String> ids) {
-        return convertDocs(ontologyRepository.findXRefsByTermId(ontologyType, buildIdList(ids)))
+        return convertDocs(findInBatches(ids, ontologyRepository::findXRefsByTermId))
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<T> findTaxonConstraintsInfoByOntologyId(List<String> ids) {
-        return convertDocs(ontologyRepository.findTaxonConstraintsByTermId(ontologyType, buildIdList(ids)))
+        return convertDocs(findInBatches(ids, ontologyRepository::findTaxonConstraintsByTermId))
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<T> findXORelationsInfoByOntologyId(List<String> ids) {
-        return convertDocs(ontologyRepository.findXOntologyRelationsByTermId(ontologyType, buildIdList(ids)))
+        return convertDocs(findInBatches(ids, ontologyRepository::findXOntologyRelationsByTermId))
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<T> findAnnotationGuideLinesInfoByOntologyId(List<String> ids) {
-        return convertDocs(ontologyRepository.findAnnotationGuidelinesByTermId(ontologyType, buildIdList(ids)))
+        return convertDocs(findInBatches(ids, ontologyRepository::findAnnotationGuidelinesByTermId))
                 .collect(Collectors.toList());
     }
 
@@ -130,25 +150,70 @@ public class OntologyServiceImpl<T extends OBOTerm> implements OntologyService<T
         return ontologyTraversal.paths(startingIds, endingIds, relations);
     }
 
+    @Override
+    public List<List<OntologyRelationship>> paths(Set<String> startingIds, Set<String> endingIds, int limit,
+            OntologyRelationType... relations) {
+        return ontologyTraversal.paths(startingIds, endingIds, limit, relations);
+    }
+
     @Override
     public List<T> findAncestorsInfoByOntologyId(List<String> ids, OntologyRelationType... relations) {
-        return convertDocs(ontologyRepository.findCoreAttrByTermId(ontologyType, buildIdList(ids)))
+        return convertDocs(findInBatches(ids, ontologyRepository::findCoreAttrByTermId))
                 .map(term -> this.insertAncestors(term, relations))
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<T> findDescendantsInfoByOntologyId(List<String> ids, OntologyRelationType... relations) {
-        return convertDocs(ontologyRepository.findCoreAttrByTermId(ontologyType, buildIdList(ids)))
+        return convertDocs(findInBatches(ids, ontologyRepository::findCoreAttrByTermId))
                 .map(term -> this.insertDescendants(term, relations))
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<T> findBulkAncestorsInfoByOntologyId(List<String> ids, OntologyRelationType... relations) {
+        List<T> terms = convertDocs(findInBatches(ids, ontologyRepository::findCoreAttrByTermId))
+                .collect(Collectors.toList());
+        Map<String, List<String>> ancestorsOfEach = ontologyTraversal.ancestorsOfEach(termIds(terms), relations);
+        terms.forEach(term -> term.ancestors = ancestorsOfEach.get(term.id));
+        return terms;
+    }
+
+    @Override
+    public List<T> findBulkDescendantsInfoByOntologyId(List<String> ids, OntologyRelationType... relations) {
+        List<T> terms = convertDocs(findInBatches(ids, ontologyRepository::findCoreAttrByTermId))
+                .collect(Collectors.toList());
+        Map<String, List<String>> descendantsOfEach = ontologyTraversal.descendantsOfEach(termIds(terms), relations);
+        terms.forEach(term -> term.descendants = descendantsOfEach.get(term.id));
+        return terms;
+    }
+
+    @Override
+    public List<String> findAncestorIdsByOntologyId(List<String> ids, OntologyRelationType... relations) {
+        return combineRelatives(ontologyTraversal.ancestorsOfEach(distinctIds(ids), relations));
+    }
+
+    @Override
+    public List<String> findDescendantIdsByOntologyId(List<String> ids, OntologyRelationType... relations) {
+        return combineRelatives(ontologyTraversal.descendantsOfEach(distinctIds(ids), relations));
+    }
+
+    @Override
+    public List<RelativesCount> countAncestorsByOntologyId(List<String> ids, OntologyRelationType... relations) {
+        return countRelatives(ontologyTraversal.ancestorsOfEach(distinctIds(ids), relations));
+    }
+
+    @Override
+    public List<RelativesCount> countDescendantsByOntologyId(List<String> ids, OntologyRelationType... relations) {
+        return countRelatives(ontologyTraversal.descendantsOfEach(distinctIds(ids), relations));
+    }
+
     @Override
     public List<SlimTerm> findSlimmedInfoForSlimmedTerms(Set<String> slimsFromTerms, List<String> slimsToTerms,
             OntologyRelationType... relationTypes) {
         TermSlimmer slimmer = TermSlimmer
-                .createSlims(OntologyType.valueOf(ontologyType), ontologyTraversal, slimsToTerms, relationTypes);
+                .createSlims(OntologyType.valueOf(ontologyType), ontologyTraversal.snapshot(), slimsToTerms,
+                        relationTypes);
 
         return slimmer.getSlimmedTermsMap().entrySet().stream()
                 .map(Map.Entry::getKey)
@@ -171,6 +236,49 @@ public class OntologyServiceImpl<T extends OBOTerm> implements OntologyService<T
         return new AncestorGraph<>(ancestorGraph.edges, coreVertices);
     }
 
+    /**
+     * Looks up the documents of the specified {@code ids}, in batches of at most {@link #MAX_IDS_PER_QUERY} ids,
+     * so that no query exceeds the number of clauses Solr permits in a boolean query.
+     *
+     * @param ids the ids of the documents to look up
+     * @param lookup the repository query that looks up the documents of a batch of ids
+     * @return the documents found
+     */
+    private List<OntologyDocument> findInBatches(List<String> ids,
+            BiFunction<String, List<String>, List<OntologyDocument>> lookup) {
+        List<String> idList = buildIdList(ids);
+        if (idList.size() <= MAX_IDS_PER_QUERY) {
+            return lookup.apply(ontologyType, idList);
+        }
+
+        List<OntologyDocument> docs = new ArrayList<>();
+        Lists.partition(idList, MAX_IDS_PER_QUERY)
+                .forEach(batch -> docs.addAll(lookup.apply(ontologyType, batch)));
+        return docs;
+    }
+
+    private static Set<String> distinctIds(List<String> ids) {
+        Preconditions.checkArgument(ids != null, "List of IDs cannot be null");
+
+        return new LinkedHashSet<>(ids);
+    }
+
+    private static List<String> combineRelatives(Map<String, List<String>> relativesOfEach) {
+        Set<String> relatives = new LinkedHashSet<>();
+        relativesOfEach.values().forEach(relatives::addAll);
+        return new ArrayList<>(relatives);
+    }
+
+    private static List<RelativesCount> countRelatives(Map<String, List<String>> relativesOfEach) {
+        return relativesOfEach.entrySet().stream()
+                .map(entry -> new RelativesCount(entry.getKey(), entry.getValue().size()))
+                .collect(Collectors.toList());
+    }
+
+    private static Set<String> termIds(List<? extends OBOTerm> terms) {
+        return terms.stream().map(term -> term.id).collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
     List<String> buildIdList(Collection<String> ids) {
         Preconditions.checkArgument(ids != null, "List of IDs cannot be null");
 
@@ -13,6 +13,7 @@ import uk.ac.ebi.quickgo.ontology.service.converter.GODocConverter;
 import uk.ac.ebi.quickgo.ontology.service.search.SearchServiceConfig;
 import uk.ac.ebi.quickgo.ontology.traversal.OntologyGraphTraversal;
 import uk.ac.ebi.quickgo.ontology.traversal.read.OntologyGraphConfig;
+import uk.ac.ebi.quickgo.ontology.traversal.read.OntologyGraphReloader;
 import uk.ac.ebi.quickgo.rest.search.QueryStringSanitizer;
 import uk.ac.ebi.quickgo.rest.search.SolrQueryStringSanitizer;
 
@@ -65,9 +66,15 @@ public class ServiceConfig {
         return new GraphImageServiceImpl(ontologyGraphicsSourceLoader);
     }
 
+    /**
+     * The ontologies from which charts are drawn, which are reloaded with the ontology graph, so that charts are
+     * drawn from the release identified by the responses' release header.
+     */
     @Bean
-    public OntologyGraphicsSourceLoader ontologyGraphicsSourceLoader() {
-        return new OntologyGraphicsSourceLoader(new File(sourceFile));
+    public OntologyGraphicsSourceLoader ontologyGraphicsSourceLoader(OntologyGraphReloader ontologyGraphReloader) {
+        OntologyGraphicsSourceLoader sourceLoader = new OntologyGraphicsSourceLoader(new File(sourceFile));
+        ontologyGraphReloader.setGraphicsSourceLoader(sourceLoader);
+        return sourceLoader;
     }
 
     private GODocConverter goDocumentConverter() {
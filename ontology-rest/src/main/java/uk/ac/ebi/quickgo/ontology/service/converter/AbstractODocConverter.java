@@ -3,7 +3,9 @@ package uk.ac.ebi.quickgo.ontology.service.converter;
 import uk.ac.ebi.quickgo.common.converter.FieldConverter;
 import uk.ac.ebi.quickgo.ontology.common.OntologyDocument;
 import uk.ac.ebi.quickgo.ontology.model.OBOTerm;
+import uk.ac.ebi.quickgo.ontology.model.TermField;
 
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -33,24 +35,67 @@ abstract class AbstractODocConverter<T extends OBOTerm> implements OntologyDocCo
     private final static ReplaceConverter REPLACES_CONVERTER = new ReplaceConverter();
     private final static CreditsFieldConverter CREDITS_FIELD_CONVERTER = new CreditsFieldConverter();
 
-    public abstract T convert(OntologyDocument ontologyDocument);
+    @Override public T convert(OntologyDocument ontologyDocument) {
+        return convert(ontologyDocument, TermField.ALL);
+    }
+
+    public abstract T convert(OntologyDocument ontologyDocument, Set<TermField> fields);
 
     protected void addCommonFields(OntologyDocument ontologyDocument, T term) {
+        addCommonFields(ontologyDocument, term, TermField.ALL);
+    }
+
+    /**
+     * Populates the requested fields that are common to all terms, running only the {@link FieldConverter}s
+     * that they need.
+     */
+    protected void addCommonFields(OntologyDocument ontologyDocument, T term, Set<TermField> fields) {
         term.id = ontologyDocument.id;
-        term.name = ontologyDocument.name;
-        term.isObsolete = ontologyDocument.isObsolete;
-        term.comment = ontologyDocument.comment;
-        term.secondaryIds = ontologyDocument.secondaryIds;
-        term.subsets = ontologyDocument.subsets;
-        term.definition = DEFINITION_CONVERTER.apply(ontologyDocument);
-        term.synonyms = SYNONYMS_FIELD_CONVERTER.convertFieldList(ontologyDocument.synonyms);
-        term.history = HISTORY_FIELD_CONVERTER.convertFieldList(ontologyDocument.history);
-        term.xRefs = XREFS_FIELD_CONVERTER.convertFieldList(ontologyDocument.xrefs);
-        term.taxonConstraints = TAXON_CONSTRAINTS_FIELD_CONVERTER.convertFieldList(ontologyDocument.taxonConstraints);
-        term.xRelations = XORELATIONS_FIELD_CONVERTER.convertFieldList(ontologyDocument.xRelations);
-        term.annotationGuidelines = AG_FIELD_CONVERTER.convertFieldList(ontologyDocument.annotationGuidelines);
-        term.replaces = REPLACES_CONVERTER.convertFieldList(ontologyDocument.replaces);
-        term.replacements = REPLACES_CONVERTER.convertFieldList(ontologyDocument.replacements);
-        term.credits = CREDITS_FIELD_CONVERTER.convertFieldList(ontologyDocument.credits);
+        if (fields.contains(TermField.NAME)) {
+            term.name = ontologyDocument.name;
+        }
+        if (fields.contains(TermField.IS_OBSOLETE)) {
+            term.isObsolete = ontologyDocument.isObsolete;
+        }
+        if (fields.contains(TermField.COMMENT)) {
+            term.comment = ontologyDocument.comment;
+        }
+        if (fields.contains(TermField.SECONDARY_IDS)) {
+            term.secondaryIds = ontologyDocument.secondaryIds;
+        }
+        if (fields.contains(TermField.SUBSETS)) {
+            term.subsets = ontologyDocument.subsets;
+        }
+        if (fields.contains(TermField.DEFINITION)) {
+            term.definition = DEFINITION_CONVERTER.apply(ontologyDocument);
+        }
+        if (fields.contains(TermField.SYNONYMS)) {
+            term.synonyms = SYNONYMS_FIELD_CONVERTER.convertFieldList(ontologyDocument.synonyms);
+        }
+        if (fields.contains(TermField.HISTORY)) {
+            term.history = HISTORY_FIELD_CONVERTER.convertFieldList(ontologyDocument.history);
+        }
+        if (fields.contains(TermField.XREFS)) {
+            term.xRefs = XREFS_FIELD_CONVERTER.convertFieldList(ontologyDocument.xrefs);
+        }
+        if (fields.contains(TermField.TAXON_CONSTRAINTS)) {
+            term.taxonConstraints =
+                    TAXON_CONSTRAINTS_FIELD_CONVERTER.convertFieldList(ontologyDocument.taxonConstraints);
+        }
+        if (fields.contains(TermField.XRELATIONS)) {
+            term.xRelations = XORELATIONS_FIELD_CONVERTER.convertFieldList(ontologyDocument.xRelations);
+        }
+        if (fields.contains(TermField.ANNOTATION_GUIDELINES)) {
+            term.annotationGuidelines = AG_FIELD_CONVERTER.convertFieldList(ontologyDocument.annotationGuidelines);
+        }
+        if (fields.contains(TermField.REPLACES)) {
+            term.replaces = REPLACES_CONVERTER.convertFieldList(ontologyDocument.replaces);
+        }
+        if (fields.contains(TermField.REPLACEMENTS)) {
+            term.replacements = REPLACES_CONVERTER.convertFieldList(ontologyDocument.replacements);
+        }
+        if (fields.contains(TermField.CREDITS)) {
+            term.credits = CREDITS_FIELD_CONVERTER.convertFieldList(ontologyDocument.credits);
+        }
     }
 }
\ No newline at end of file
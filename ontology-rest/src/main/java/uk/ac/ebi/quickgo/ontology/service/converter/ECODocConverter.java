@@ -2,6 +2,9 @@ package uk.ac.ebi.quickgo.ontology.service.converter;
 
 import uk.ac.ebi.quickgo.ontology.common.OntologyDocument;
 import uk.ac.ebi.quickgo.ontology.model.ECOTerm;
+import uk.ac.ebi.quickgo.ontology.model.TermField;
+
+import java.util.Set;
 
 /**
  * Converts an {@link OntologyDocument} representing an ECO term,
@@ -11,9 +14,9 @@ import uk.ac.ebi.quickgo.ontology.model.ECOTerm;
  * @author Edd
  */
 public class ECODocConverter extends AbstractODocConverter<ECOTerm> {
-    @Override public ECOTerm convert(OntologyDocument ontologyDocument) {
+    @Override public ECOTerm convert(OntologyDocument ontologyDocument, Set<TermField> fields) {
         ECOTerm ecoTerm = new ECOTerm();
-        addCommonFields(ontologyDocument, ecoTerm);
+        addCommonFields(ontologyDocument, ecoTerm, fields);
         return ecoTerm;
     }
 }
@@ -2,6 +2,9 @@ package uk.ac.ebi.quickgo.ontology.service.converter;
 
 import uk.ac.ebi.quickgo.ontology.common.OntologyDocument;
 import uk.ac.ebi.quickgo.ontology.model.GOTerm;
+import uk.ac.ebi.quickgo.ontology.model.TermField;
+
+import java.util.Set;
 
 import static uk.ac.ebi.quickgo.common.model.Aspect.fromShortName;
 
@@ -22,18 +25,50 @@ public class GODocConverter extends AbstractODocConverter<GOTerm> {
     private final static ExtendedXRefsFieldConverter PROTEIN_COMPLEX_CONVERTER =
             new ExtendedXRefsFieldConverter();
 
-    @Override public GOTerm convert(OntologyDocument ontologyDocument) {
+    @Override public GOTerm convert(OntologyDocument ontologyDocument, Set<TermField> fields) {
         GOTerm goTerm = new GOTerm();
-        addCommonFields(ontologyDocument, goTerm);
-        goTerm.aspect = fromShortName(ontologyDocument.aspect).orElse(null);
-        goTerm.usage = ontologyDocument.usage != null ?
-                GOTerm.Usage.fromFullName(ontologyDocument.usage) : null;
-        goTerm.subsets = ontologyDocument.subsets;
+        addCommonFields(ontologyDocument, goTerm, fields);
+        if (fields.contains(TermField.ASPECT)) {
+            goTerm.aspect = fromShortName(ontologyDocument.aspect).orElse(null);
+        }
+        if (fields.contains(TermField.USAGE)) {
+            goTerm.usage = ontologyDocument.usage != null ?
+                    GOTerm.Usage.fromFullName(ontologyDocument.usage) : null;
+        }
 
-        goTerm.blacklist = BLACKLIST_FIELD_CONVERTER.convertFieldList(ontologyDocument.blacklist);
-        goTerm.goDiscussions = GO_DISCUSSION_CONVERTER.convertFieldList(ontologyDocument.goDiscussions);
-        goTerm.proteinComplexes = PROTEIN_COMPLEX_CONVERTER.convertFieldList(ontologyDocument.proteinComplexes);
+        if (fields.contains(TermField.BLACKLIST)) {
+            goTerm.blacklist = BLACKLIST_FIELD_CONVERTER.convertFieldList(ontologyDocument.blacklist);
+        }
+        if (fields.contains(TermField.GO_DISCUSSIONS)) {
+            goTerm.goDiscussions = GO_DISCUSSION_CONVERTER.convertFieldList(ontologyDocument.goDiscussions);
+        }
+        if (fields.contains(TermField.PROTEIN_COMPLEXES)) {
+            goTerm.proteinComplexes = PROTEIN_COMPLEX_CONVERTER.convertFieldList(ontologyDocument.proteinComplexes);
+        }
+        if (fields.contains(TermField.ANNOTATION_COUNTS)) {
+            goTerm.annotationCounts = annotationCountsOf(ontologyDocument);
+        }
 
         return goTerm;
     }
+
+    /**
+     * The annotation counts of a term are only stored if annotations were counted when the ontology was indexed.
+     */
+    private static GOTerm.AnnotationCounts annotationCountsOf(OntologyDocument ontologyDocument) {
+        if (ontologyDocument.annotationCount == null) {
+            return null;
+        }
+
+        GOTerm.AnnotationCounts annotationCounts = new GOTerm.AnnotationCounts();
+        annotationCounts.annotations = ontologyDocument.annotationCount;
+        annotationCounts.inferredAnnotations = valueOrZero(ontologyDocument.inferredAnnotationCount);
+        annotationCounts.geneProducts = valueOrZero(ontologyDocument.geneProductCount);
+        annotationCounts.inferredGeneProducts = valueOrZero(ontologyDocument.inferredGeneProductCount);
+        return annotationCounts;
+    }
+
+    private static long valueOrZero(Long count) {
+        return count == null ? 0 : count;
+    }
 }
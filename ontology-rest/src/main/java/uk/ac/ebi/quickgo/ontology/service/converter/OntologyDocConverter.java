@@ -2,6 +2,9 @@ package uk.ac.ebi.quickgo.ontology.service.converter;
 
 import uk.ac.ebi.quickgo.ontology.common.OntologyDocument;
 import uk.ac.ebi.quickgo.ontology.model.OBOTerm;
+import uk.ac.ebi.quickgo.ontology.model.TermField;
+
+import java.util.Set;
 
 /**
  * Converts an {@link OntologyDocument} into an instance of {@link OBOTerm}.
@@ -11,4 +14,13 @@ import uk.ac.ebi.quickgo.ontology.model.OBOTerm;
  */
 public interface OntologyDocConverter<T extends OBOTerm>  {
     T convert(OntologyDocument ontologyDocument);
+
+    /**
+     * Converts only the specified fields of an {@link OntologyDocument}; the term's id is always converted.
+     *
+     * @param ontologyDocument the document to convert
+     * @param fields the fields of the term to populate
+     * @return the term, whose other fields are not populated
+     */
+    T convert(OntologyDocument ontologyDocument, Set<TermField> fields);
 }
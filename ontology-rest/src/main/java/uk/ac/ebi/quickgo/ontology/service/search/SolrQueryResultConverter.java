@@ -5,26 +5,32 @@ import uk.ac.ebi.quickgo.ontology.model.OBOTerm;
 import uk.ac.ebi.quickgo.ontology.service.converter.ECODocConverter;
 import uk.ac.ebi.quickgo.ontology.service.converter.GODocConverter;
 import uk.ac.ebi.quickgo.rest.search.solr.AbstractSolrQueryResultConverter;
+import uk.ac.ebi.quickgo.rest.search.solr.SolrDocumentBinder;
 import uk.ac.ebi.quickgo.rest.search.solr.SolrQueryResultHighlightingConverter;
+import uk.ac.ebi.quickgo.rest.search.solr.StreamingSolrQueryResultConverter;
 
 import com.google.common.base.Preconditions;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import org.apache.solr.client.solrj.beans.DocumentObjectBinder;
+import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrDocumentList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Converts the Solr results into {@link OBOTerm} instances.
+ * Converts the Solr results into {@link OBOTerm} instances. Streamed documents are bound to
+ * {@link OntologyDocument}s by a {@link SolrDocumentBinder}.
  */
-public class SolrQueryResultConverter extends AbstractSolrQueryResultConverter<OBOTerm> {
+public class SolrQueryResultConverter extends AbstractSolrQueryResultConverter<OBOTerm>
+        implements StreamingSolrQueryResultConverter<OBOTerm> {
     private final Logger LOGGER = LoggerFactory.getLogger(this.getClass());
 
     private GODocConverter goDocConverter;
     private ECODocConverter ecoDocConverter;
     private DocumentObjectBinder documentObjectBinder;
+    private SolrDocumentBinder<OntologyDocument> ontologyDocumentBinder;
 
     public SolrQueryResultConverter(DocumentObjectBinder documentObjectBinder,
             GODocConverter goDocConverter,
@@ -38,6 +44,7 @@ public class SolrQueryResultConverter extends AbstractSolrQueryResultConverter<O
         this.documentObjectBinder = documentObjectBinder;
         this.goDocConverter = goDocConverter;
         this.ecoDocConverter = ecoDocConverter;
+        this.ontologyDocumentBinder = new SolrDocumentBinder<>(OntologyDocument.class, OntologyDocument::new);
 
         this.setQueryResultHighlightingConverter(new SolrQueryResultHighlightingConverter(fieldNameMap));
     }
@@ -50,16 +57,9 @@ public class SolrQueryResultConverter extends AbstractSolrQueryResultConverter<O
         List<OBOTerm> domainTerms = new ArrayList<>(solrTermDocs.size());
 
         for (OntologyDocument ontologyDoc : solrTermDocs) {
-            switch (ontologyDoc.ontologyType) {
-                case "GO":
-                    domainTerms.add(goDocConverter.convert(ontologyDoc));
-                    break;
-                case "ECO":
-                    domainTerms.add(ecoDocConverter.convert(ontologyDoc));
-                    break;
-                default:
-                    LOGGER.error("Unable to convert Solr document ({}) --> domain DTO {}",
-                            ontologyDoc.id, ontologyDoc.ontologyType);
+            OBOTerm domainTerm = convertOntologyDocument(ontologyDoc);
+            if (domainTerm != null) {
+                domainTerms.add(domainTerm);
             }
         }
 
@@ -67,4 +67,21 @@ public class SolrQueryResultConverter extends AbstractSolrQueryResultConverter<O
 
         return domainTerms;
     }
-}
\ No newline at end of file
+
+    @Override public OBOTerm convertDocument(SolrDocument document) {
+        return convertOntologyDocument(ontologyDocumentBinder.bind(document));
+    }
+
+    private OBOTerm convertOntologyDocument(OntologyDocument ontologyDoc) {
+        switch (ontologyDoc.ontologyType) {
+            case "GO":
+                return goDocConverter.convert(ontologyDoc);
+            case "ECO":
+                return ecoDocConverter.convert(ontologyDoc);
+            default:
+                LOGGER.error("Unable to convert Solr document ({}) --> domain DTO {}",
+                        ontologyDoc.id, ontologyDoc.ontologyType);
+                return null;
+        }
+    }
+}
@@ -6,16 +6,16 @@ import uk.ac.ebi.quickgo.ontology.model.OntologyRelationship;
 import uk.ac.ebi.quickgo.ontology.model.graph.AncestorEdge;
 import uk.ac.ebi.quickgo.ontology.model.graph.AncestorGraph;
 import uk.ac.ebi.quickgo.ontology.model.graph.AncestorGraphRequest;
+import uk.ac.ebi.quickgo.rest.metrics.HotPathMetrics;
 
 import com.google.common.base.Preconditions;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.jgrapht.DirectedGraph;
 import org.jgrapht.Graph;
-import org.jgrapht.GraphPath;
-import org.jgrapht.alg.AllDirectedPaths;
 import org.jgrapht.graph.ClassBasedEdgeFactory;
 import org.jgrapht.graph.DirectedMultigraph;
 import org.slf4j.Logger;
@@ -36,6 +36,10 @@ public class OntologyGraph implements OntologyGraphTraversal {
     static final String MOLECULAR_FUNCTION_STOP_NODE = "GO:0003674";
     static final String BIOLOGICAL_PROCESS_STOP_NODE = "GO:0008150";
     static final String CELLULAR_COMPONENT_STOP_NODE = "GO:0005575";
+    static final String PATHS_STAGE = "ontology-graph.paths";
+    static final String ANCESTORS_STAGE = "ontology-graph.ancestors";
+    static final String DESCENDANTS_STAGE = "ontology-graph.descendants";
+    static final String SUB_GRAPH_STAGE = "ontology-graph.sub-graph";
     private static final Logger LOGGER = LoggerFactory.getLogger(OntologyGraph.class);
     private static final EnumMap<OntologyType, Matcher> ONTOLOGY_TYPE_PATTERN_MAP = new EnumMap<>(OntologyType.class);
     private static final List<String> STOP_NODES =
@@ -91,6 +95,94 @@ public class OntologyGraph implements OntologyGraphTraversal {
             Set<String> startingVertices,
             Set<String> endingVertices,
             OntologyRelationType... relations) {
+        return paths(startingVertices, endingVertices, Integer.MAX_VALUE, relations);
+    }
+
+    @Override
+    public List<List<OntologyRelationship>> paths(
+            Set<String> startingVertices,
+            Set<String> endingVertices,
+            int limit,
+            OntologyRelationType... relations) {
+        Preconditions.checkArgument(limit > 0, "The maximum number of paths must be greater than 0: " + limit);
+
+        try (HotPathMetrics.Timing timing = HotPathMetrics.start(PATHS_STAGE)) {
+            Iterator<List<OntologyRelationship>> paths = pathIterator(startingVertices, endingVertices, relations);
+
+            List<List<OntologyRelationship>> foundPaths = new ArrayList<>();
+            while (foundPaths.size() < limit && paths.hasNext()) {
+                foundPaths.add(paths.next());
+            }
+            return foundPaths;
+        }
+    }
+
+    @Override
+    public Stream<List<OntologyRelationship>> pathStream(
+            Set<String> startingVertices,
+            Set<String> endingVertices,
+            OntologyRelationType... relations) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                pathIterator(startingVertices, endingVertices, relations),
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    @Override
+    public List<String> ancestors(Set<String> baseVertices, OntologyRelationType... relations) {
+        try (HotPathMetrics.Timing timing = HotPathMetrics.start(ANCESTORS_STAGE)) {
+            return findAncestors(baseVertices, relations);
+        }
+    }
+
+    @Override
+    public List<String> descendants(Set<String> topVertices, OntologyRelationType... relations) {
+        try (HotPathMetrics.Timing timing = HotPathMetrics.start(DESCENDANTS_STAGE)) {
+            return findDescendants(topVertices, relations);
+        }
+    }
+
+    @Override
+    public Map<String, List<String>> ancestorsOfEach(Collection<String> baseVertices,
+            OntologyRelationType... relations) {
+        Preconditions.checkArgument(baseVertices != null, "Base vertices cannot be null.");
+
+        try (HotPathMetrics.Timing timing = HotPathMetrics.start(ANCESTORS_STAGE)) {
+            Map<String, List<String>> ancestorsOfEach = new LinkedHashMap<>();
+            for (String base : baseVertices) {
+                ancestorsOfEach.put(base, ontology.containsVertex(base) ?
+                        new ArrayList<>(getFilteredAncestors(base, relations)) : Collections.emptyList());
+            }
+            return ancestorsOfEach;
+        }
+    }
+
+    @Override
+    public Map<String, List<String>> descendantsOfEach(Collection<String> topVertices,
+            OntologyRelationType... relations) {
+        Preconditions.checkArgument(topVertices != null, "Top vertices cannot be null.");
+
+        try (HotPathMetrics.Timing timing = HotPathMetrics.start(DESCENDANTS_STAGE)) {
+            Set<OntologyRelationType> relationsSet = createRelevantRelationsSet(relations);
+            Map<String, Set<String>> descendantsFound = new HashMap<>();
+
+            Map<String, List<String>> descendantsOfEach = new LinkedHashMap<>();
+            for (String top : topVertices) {
+                descendantsOfEach.put(top, ontology.containsVertex(top) ?
+                        new ArrayList<>(descendantsOf(top, descendantsFound, relationsSet)) :
+                        Collections.emptyList());
+            }
+            return descendantsOfEach;
+        }
+    }
+
+    /**
+     * Creates the iterator over the paths between two sets of vertices. Ontologies are acyclic, so the vertices from
+     * which an ending vertex can be reached are its descendants via the same relations; the search is confined to them.
+     */
+    private Iterator<List<OntologyRelationship>> pathIterator(
+            Set<String> startingVertices,
+            Set<String> endingVertices,
+            OntologyRelationType... relations) {
 
         Preconditions.checkArgument(notEmpty(startingVertices), "Starting vertices cannot be null/empty.");
         Preconditions.checkArgument(notEmpty(endingVertices), "Ending vertices cannot be null/empty.");
@@ -106,36 +198,16 @@ public class OntologyGraph implements OntologyGraphTraversal {
                     + "\tending vertices: " + endingVertices);
         }
 
-        List<List<OntologyRelationship>> interestingPaths = new ArrayList<>();
-
-        List<OntologyRelationship> immediateSuccessors = successorEdges(startingVertices, endingVertices, relationsSet);
-        if (!immediateSuccessors.isEmpty()) {
-            immediateSuccessors.stream()
-                    .map(Collections::singletonList)
-                    .forEach(interestingPaths::add);
-        }
-
-        AllDirectedPaths<String, OntologyRelationship> allPaths = new AllDirectedPaths<>(ontology);
-        List<GraphPath<String, OntologyRelationship>> v1v2Paths =
-                allPaths.getAllPaths(startingVertices, endingVertices, true, null);
-        List<GraphPath<String, OntologyRelationship>> invalidPaths = new ArrayList<>();
-
-        for (GraphPath<String, OntologyRelationship> path : v1v2Paths) {
-            if (!relationsSet
-                    .containsAll(path.getEdgeList().stream().map(e -> e.relationship).collect(Collectors.toList()))) {
-                invalidPaths.add(path);
-            }
+        Map<String, Set<String>> descendantsFound = new HashMap<>();
+        Set<String> verticesReachingEnd = new HashSet<>();
+        for (String end : endingVertices) {
+            verticesReachingEnd.addAll(descendantsOf(end, descendantsFound, relationsSet));
         }
 
-        v1v2Paths.removeAll(invalidPaths);
-
-        interestingPaths.addAll(v1v2Paths.stream().map(GraphPath::getEdgeList).collect(Collectors.toList()));
-
-        return interestingPaths;
+        return new OntologyPathIterator(ontology, startingVertices, endingVertices, relationsSet, verticesReachingEnd);
     }
 
-    @Override
-    public List<String> ancestors(Set<String> baseVertices, OntologyRelationType... relations) {
+    private List<String> findAncestors(Set<String> baseVertices, OntologyRelationType... relations) {
         Preconditions.checkArgument(notEmpty(baseVertices), "Base vertices cannot be null/empty.");
 
         Set<String> ancestorsFound = new HashSet<>();
@@ -166,8 +238,7 @@ public class OntologyGraph implements OntologyGraphTraversal {
                        .collect(toSet());
     }
 
-    @Override
-    public List<String> descendants(Set<String> topVertices, OntologyRelationType... relations) {
+    private List<String> findDescendants(Set<String> topVertices, OntologyRelationType... relations) {
         Preconditions.checkArgument(notEmpty(topVertices), "Top vertices cannot be null/empty.");
 
         Set<String> descendantsFound = new HashSet<>();
@@ -233,7 +304,14 @@ public class OntologyGraph implements OntologyGraphTraversal {
         stopVertices.addAll(STOP_NODES);
         OntologyRelationType[] targetRelations = OntologyRelationType.relevantRelations(relations);
         AncestorGraphRequest request = new AncestorGraphRequest(targetVertices, stopVertices, targetRelations);
-        return populateAncestorGraphForRequest(request);
+        try (HotPathMetrics.Timing timing = HotPathMetrics.start(SUB_GRAPH_STAGE)) {
+            return populateAncestorGraphForRequest(request);
+        }
+    }
+
+    @Override
+    public OntologyGraphTraversal snapshot() {
+        return this;
     }
 
     @Override
@@ -374,36 +452,6 @@ public class OntologyGraph implements OntologyGraphTraversal {
         return ancestorEdgesMap.get(vertex);
     }
 
-    /**
-     * <p>
-     * Finds the outgoing, i.e., successor, edges originating from a {@link Collection} of starting vertices,
-     * whose target vertices must be in a specified {@link Collection} of vertices, and whose target vertices
-     * are reached by a specified {@link Set} of {@link OntologyRelationType}s.
-     * <p>
-     * Note that in this context, an edge is the formal name of an {@link OntologyRelationship}.
-     * @param fromVertices the starting vertices
-     * @param toVertices the target vertices
-     * @param relations the edge labels over which starting vertices can reach target vertices
-     * @return the {@link List} of {@link OntologyRelationship} instances defining the edges between {@code
-     * fromVertices}
-     *         to {@code toVertices} via {@code relations}
-     */
-    private List<OntologyRelationship> successorEdges(
-            Collection<String> fromVertices,
-            Collection<String> toVertices,
-            Set<OntologyRelationType> relations) {
-        List<OntologyRelationship> successors = new ArrayList<>();
-
-        fromVertices.forEach(
-                from ->
-                        ontology.outgoingEdgesOf(from).stream()
-                                .filter(e -> relations.contains(e.relationship) && toVertices.contains(e.parent))
-                                .forEach(successors::add)
-        );
-
-        return successors;
-    }
-
     private HashSet<OntologyRelationType> createRelevantRelationsSet(OntologyRelationType[] relations) {
         return new HashSet<>(Arrays.asList(OntologyRelationType.relevantRelations(relations)));
     }
@@ -449,9 +497,37 @@ public class OntologyGraph implements OntologyGraphTraversal {
             relations) {
         for (String top : topVertices) {
             Set<String> descendants = getRelatives(top, ontology.incomingEdgesOf(top), relations);
+            descendants.removeAll(currentDescendants);
 
             currentDescendants.addAll(descendants);
             descendants(descendants, currentDescendants, relations);
         }
     }
+
+    /**
+     * Finds the descendants of a vertex, including itself, reusing the descendants already found for other vertices.
+     * Ontologies are acyclic, so the descendants of a vertex are complete once those of its children are; a vertex
+     * is recorded before its children are visited only so that a cycle cannot recurse forever.
+     *
+     * @param top the vertex whose descendants are needed
+     * @param descendantsFound the descendants found so far, by vertex
+     * @param relations the relationships over which descendants can be reached
+     * @return the descendants of {@code top}
+     */
+    private Set<String> descendantsOf(String top, Map<String, Set<String>> descendantsFound,
+            Set<OntologyRelationType> relations) {
+        Set<String> found = descendantsFound.get(top);
+        if (found == null) {
+            found = new HashSet<>();
+            found.add(top);
+            descendantsFound.put(top, found);
+
+            for (String child : getRelatives(top, ontology.incomingEdgesOf(top), relations)) {
+                if (!found.contains(child)) {
+                    found.addAll(descendantsOf(child, descendantsFound, relations));
+                }
+            }
+        }
+        return found;
+    }
 }
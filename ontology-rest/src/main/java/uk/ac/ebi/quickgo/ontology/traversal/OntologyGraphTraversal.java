@@ -6,8 +6,11 @@ import uk.ac.ebi.quickgo.ontology.model.OntologyRelationType;
 import uk.ac.ebi.quickgo.ontology.model.OntologyRelationship;
 
 import java.util.BitSet;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * This class defines a contract for typical ontology graph traversal operations.
@@ -31,6 +34,40 @@ public interface OntologyGraphTraversal {
             Set<String> endingVertices,
             OntologyRelationType... relations);
 
+    /**
+     * Find at most {@code limit} of the paths between two sets of vertices in a graph, navigable via
+     * a specified set of relations. Only the paths returned are found, so the cost of a request is bounded by
+     * {@code limit}, however many paths there are.
+     *
+     * @param startingVertices the starting vertices from which returned paths must start
+     * @param endingVertices the ending vertices from which returned paths end
+     * @param limit the maximum number of paths to return, which must be greater than 0
+     * @param relations a varargs value containing the relationships over which paths can only travel.
+     *                  By omitting a {@code relation} value, all paths will be returned.
+     * @return a list of at most {@code limit} paths from {@code child} to {@code parent} via {@code relations}
+     */
+    List<List<OntologyRelationship>> paths(
+            Set<String> startingVertices,
+            Set<String> endingVertices,
+            int limit,
+            OntologyRelationType... relations);
+
+    /**
+     * Streams the paths between two sets of vertices in a graph, navigable via a specified set of relations. Each
+     * path is found only when the stream requires it, so that a consumer can process paths as they are found, or
+     * stop early, without holding all of them in memory.
+     *
+     * @param startingVertices the starting vertices from which streamed paths must start
+     * @param endingVertices the ending vertices from which streamed paths end
+     * @param relations a varargs value containing the relationships over which paths can only travel.
+     *                  By omitting a {@code relation} value, all paths will be streamed.
+     * @return a sequential stream of the paths from {@code child} to {@code parent} via {@code relations}
+     */
+    Stream<List<OntologyRelationship>> pathStream(
+            Set<String> startingVertices,
+            Set<String> endingVertices,
+            OntologyRelationType... relations);
+
     /**
      * Find the set of ancestor vertices reachable from a base vertex, navigable via a specified
      * set of relations.
@@ -42,6 +79,19 @@ public interface OntologyGraphTraversal {
      */
     List<String> ancestors(Set<String> baseVertices, OntologyRelationType... relations);
 
+    /**
+     * Find the ancestor vertices of each of a collection of vertices, navigable via a specified set of relations.
+     * Equivalent to calling {@link #ancestors(Set, OntologyRelationType...)} once per vertex, but traverses the
+     * graph once for the whole collection.
+     *
+     * @param baseVertices the vertices whose ancestors one is interested in
+     * @param relations a varargs value containing the relationships over which paths can only travel.
+     *                  By omitting a {@code relation} value, all paths will be returned.
+     * @return a map from each vertex to the list of its ancestor vertices, which is empty if the vertex is not in
+     * the graph
+     */
+    Map<String, List<String>> ancestorsOfEach(Collection<String> baseVertices, OntologyRelationType... relations);
+
     /**
      * Finds a set of all the parent vertices of the {@code baseVertex} that fulfill the provided {@code relations}.
      * <p/>
@@ -66,6 +116,19 @@ public interface OntologyGraphTraversal {
      */
     List<String> descendants(Set<String> topVertices, OntologyRelationType... relations);
 
+    /**
+     * Find the descendant vertices of each of a collection of vertices, navigable via a specified set of relations.
+     * Equivalent to calling {@link #descendants(Set, OntologyRelationType...)} once per vertex, but visits each
+     * vertex of the graph at most once for the whole collection.
+     *
+     * @param topVertices the vertices whose descendants one is interested in
+     * @param relations a varargs value containing the relationships over which paths can only travel.
+     *                  By omitting a {@code relation} value, all paths will be returned.
+     * @return a map from each vertex to the list of its descendant vertices, which is empty if the vertex is not in
+     * the graph
+     */
+    Map<String, List<String>> descendantsOfEach(Collection<String> topVertices, OntologyRelationType... relations);
+
     /**
      * Finds a set of all the child vertices of the {@code topVertex} that fulfill the provided {@code relations}.
      * <p/>
@@ -111,4 +174,12 @@ public interface OntologyGraphTraversal {
      */
     AncestorGraph<String> subGraph(Set<String> startVertices, Set<String> stopVertices,
             OntologyRelationType... relations);
+
+    /**
+     * Provides the graph as it is now, for operations that make several traversals and require them all to see the
+     * same graph, even if this graph is replaced by a new release in the meantime.
+     *
+     * @return a traversal of the graph as it is now
+     */
+    OntologyGraphTraversal snapshot();
 }
@@ -0,0 +1,134 @@
+package uk.ac.ebi.quickgo.ontology.traversal;
+
+import uk.ac.ebi.quickgo.ontology.model.OntologyRelationType;
+import uk.ac.ebi.quickgo.ontology.model.OntologyRelationship;
+
+import java.util.*;
+import org.jgrapht.DirectedGraph;
+
+/**
+ * <p>Iterates over the paths from a set of starting vertices to a set of ending vertices of an ontology graph, whose
+ * edges are all of a specified set of relations. Paths are found one at a time, as they are requested, by a depth
+ * first search that shares the path to the current vertex between all of the paths that extend it.
+ *
+ * <p>The search only follows edges whose target vertex can still reach an ending vertex via the relations, so every
+ * edge it follows leads to at least one path: the cost of finding a path is proportional to its length, however
+ * many other paths the graph contains. The edges that can be followed from a vertex are computed once, and shared by
+ * every path that passes through it.
+ *
+ * Created 19/10/26
+ */
+class OntologyPathIterator implements Iterator<List<OntologyRelationship>> {
+    private final DirectedGraph<String, OntologyRelationship> ontology;
+    private final Set<String> endingVertices;
+    private final Set<OntologyRelationType> relations;
+    private final Set<String> verticesReachingEnd;
+    private final Map<String, List<OntologyRelationship>> edgesToFollow = new HashMap<>();
+
+    private final Iterator<String> startingVertices;
+    private final Deque<Frame> frames = new ArrayDeque<>();
+    private final List<OntologyRelationship> currentPath = new ArrayList<>();
+    private final Set<String> currentPathVertices = new HashSet<>();
+    private List<OntologyRelationship> nextPath;
+
+    /**
+     * @param ontology the graph whose paths are required
+     * @param startingVertices the vertices from which paths start
+     * @param endingVertices the vertices at which paths end
+     * @param relations the relations over which paths can travel
+     * @param verticesReachingEnd the vertices from which an ending vertex can be reached via {@code relations}
+     */
+    OntologyPathIterator(DirectedGraph<String, OntologyRelationship> ontology,
+            Set<String> startingVertices,
+            Set<String> endingVertices,
+            Set<OntologyRelationType> relations,
+            Set<String> verticesReachingEnd) {
+        this.ontology = ontology;
+        this.endingVertices = endingVertices;
+        this.relations = relations;
+        this.verticesReachingEnd = verticesReachingEnd;
+
+        // looked up now, so that an unknown starting vertex is reported before any path is requested
+        startingVertices.forEach(this::edgesToFollow);
+        this.startingVertices = startingVertices.iterator();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextPath == null) {
+            nextPath = findNextPath();
+        }
+        return nextPath != null;
+    }
+
+    @Override
+    public List<OntologyRelationship> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        List<OntologyRelationship> path = nextPath;
+        nextPath = null;
+        return path;
+    }
+
+    private List<OntologyRelationship> findNextPath() {
+        while (true) {
+            if (frames.isEmpty()) {
+                if (!startingVertices.hasNext()) {
+                    return null;
+                }
+                visit(startingVertices.next());
+                continue;
+            }
+
+            Frame frame = frames.peek();
+            if (frame.nextEdge < frame.edges.size()) {
+                OntologyRelationship edge = frame.edges.get(frame.nextEdge++);
+                if (!currentPathVertices.contains(edge.parent)) {
+                    currentPath.add(edge);
+                    visit(edge.parent);
+
+                    if (endingVertices.contains(edge.parent)) {
+                        return new ArrayList<>(currentPath);
+                    }
+                }
+            } else {
+                frames.pop();
+                currentPathVertices.remove(frame.vertex);
+                if (!frames.isEmpty()) {
+                    currentPath.remove(currentPath.size() - 1);
+                }
+            }
+        }
+    }
+
+    private void visit(String vertex) {
+        currentPathVertices.add(vertex);
+        frames.push(new Frame(vertex, edgesToFollow(vertex)));
+    }
+
+    private List<OntologyRelationship> edgesToFollow(String vertex) {
+        List<OntologyRelationship> edges = edgesToFollow.get(vertex);
+        if (edges == null) {
+            edges = new ArrayList<>();
+            for (OntologyRelationship edge : ontology.outgoingEdgesOf(vertex)) {
+                if (relations.contains(edge.relationship) && verticesReachingEnd.contains(edge.parent)) {
+                    edges.add(edge);
+                }
+            }
+            edgesToFollow.put(vertex, edges);
+        }
+        return edges;
+    }
+
+    private static class Frame {
+        private final String vertex;
+        private final List<OntologyRelationship> edges;
+        private int nextEdge;
+
+        private Frame(String vertex, List<OntologyRelationship> edges) {
+            this.vertex = vertex;
+            this.edges = edges;
+        }
+    }
+}
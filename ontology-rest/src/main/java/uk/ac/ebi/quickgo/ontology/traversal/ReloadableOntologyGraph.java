@@ -0,0 +1,155 @@
+package uk.ac.ebi.quickgo.ontology.traversal;
+
+import uk.ac.ebi.quickgo.ontology.common.OntologyType;
+import uk.ac.ebi.quickgo.ontology.model.OntologyRelationType;
+import uk.ac.ebi.quickgo.ontology.model.OntologyRelationship;
+import uk.ac.ebi.quickgo.ontology.model.graph.AncestorGraph;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * <p>An {@link OntologyGraphTraversal} whose graph can be replaced, e.g., by that of a new release of the ontology,
+ * whilst it is in use.
+ *
+ * <p>Each traversal is delegated to the graph current when it starts, so traversals in progress when the graph is
+ * replaced finish on the graph they started on. Operations that make several traversals, and need them to see the
+ * same graph, should use a {@link #snapshot()}.
+ *
+ * Created 19/10/26
+ */
+public class ReloadableOntologyGraph implements OntologyGraphTraversal {
+    private volatile Release current;
+
+    /**
+     * @param release the release of the ontology, whose graph is initially empty, and is populated by
+     * {@link #addRelationships(Collection)}
+     */
+    public ReloadableOntologyGraph(String release) {
+        this(new OntologyGraph(), release);
+    }
+
+    /**
+     * @param graph the graph to traverse until it is replaced
+     * @param release the release of the ontology that {@code graph} represents
+     */
+    public ReloadableOntologyGraph(OntologyGraph graph, String release) {
+        replace(graph, release);
+    }
+
+    /**
+     * Replaces the graph traversed. Traversals that have already started are unaffected.
+     *
+     * @param graph the new graph, which must be completely populated
+     * @param release the release of the ontology that {@code graph} represents
+     */
+    public void replace(OntologyGraph graph, String release) {
+        checkArgument(graph != null, "Ontology graph cannot be null");
+        checkArgument(release != null && !release.trim().isEmpty(), "Ontology release cannot be null or empty");
+
+        current = new Release(graph, release);
+    }
+
+    /**
+     * Adds relationships to the graph currently traversed, e.g., to populate the initial graph at start-up. A graph
+     * that replaces it must instead be completely populated before it is passed to {@link #replace}.
+     *
+     * @param relationships the relationships to add
+     */
+    public void addRelationships(Collection<? extends OntologyRelationship> relationships) {
+        current.graph.addRelationships(relationships);
+    }
+
+    /**
+     * @return the release of the ontology whose graph is currently traversed
+     */
+    public String getRelease() {
+        return current.release;
+    }
+
+    @Override
+    public OntologyGraphTraversal snapshot() {
+        return current.graph;
+    }
+
+    @Override
+    public List<List<OntologyRelationship>> paths(Set<String> startingVertices, Set<String> endingVertices,
+            OntologyRelationType... relations) {
+        return current.graph.paths(startingVertices, endingVertices, relations);
+    }
+
+    @Override
+    public List<List<OntologyRelationship>> paths(Set<String> startingVertices, Set<String> endingVertices,
+            int limit, OntologyRelationType... relations) {
+        return current.graph.paths(startingVertices, endingVertices, limit, relations);
+    }
+
+    @Override
+    public Stream<List<OntologyRelationship>> pathStream(Set<String> startingVertices, Set<String> endingVertices,
+            OntologyRelationType... relations) {
+        return current.graph.pathStream(startingVertices, endingVertices, relations);
+    }
+
+    @Override
+    public List<String> ancestors(Set<String> baseVertices, OntologyRelationType... relations) {
+        return current.graph.ancestors(baseVertices, relations);
+    }
+
+    @Override
+    public Map<String, List<String>> ancestorsOfEach(Collection<String> baseVertices,
+            OntologyRelationType... relations) {
+        return current.graph.ancestorsOfEach(baseVertices, relations);
+    }
+
+    @Override
+    public Set<OntologyRelationship> parents(String baseVertex, OntologyRelationType... relations) {
+        return current.graph.parents(baseVertex, relations);
+    }
+
+    @Override
+    public List<String> descendants(Set<String> topVertices, OntologyRelationType... relations) {
+        return current.graph.descendants(topVertices, relations);
+    }
+
+    @Override
+    public Map<String, List<String>> descendantsOfEach(Collection<String> topVertices,
+            OntologyRelationType... relations) {
+        return current.graph.descendantsOfEach(topVertices, relations);
+    }
+
+    @Override
+    public Set<OntologyRelationship> children(String topVertex, OntologyRelationType... relations) {
+        return current.graph.children(topVertex, relations);
+    }
+
+    @Override
+    public Set<String> getVertices(OntologyType ontologyType) {
+        return current.graph.getVertices(ontologyType);
+    }
+
+    @Override
+    public BitSet getAncestorsBitSet(String vertex, List<String> range, OntologyRelationType... requestedRelations) {
+        return current.graph.getAncestorsBitSet(vertex, range, requestedRelations);
+    }
+
+    @Override
+    public AncestorGraph<String> subGraph(Set<String> startVertices, Set<String> stopVertices,
+            OntologyRelationType... relations) {
+        return current.graph.subGraph(startVertices, stopVertices, relations);
+    }
+
+    /**
+     * A graph and the release it represents, which are replaced together.
+     */
+    private static class Release {
+        private final OntologyGraph graph;
+        private final String release;
+
+        private Release(OntologyGraph graph, String release) {
+            this.graph = graph;
+            this.release = release;
+        }
+    }
+}
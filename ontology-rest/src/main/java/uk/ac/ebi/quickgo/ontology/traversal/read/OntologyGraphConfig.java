@@ -1,8 +1,7 @@
 package uk.ac.ebi.quickgo.ontology.traversal.read;
 
 import uk.ac.ebi.quickgo.ontology.model.OntologyRelationship;
-import uk.ac.ebi.quickgo.ontology.traversal.OntologyGraph;
-import uk.ac.ebi.quickgo.ontology.traversal.OntologyGraphTraversal;
+import uk.ac.ebi.quickgo.ontology.traversal.ReloadableOntologyGraph;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -60,36 +59,44 @@ public class OntologyGraphConfig {
     private int chunkSize;
     @Value("${ontology.traversal.header.lines:1}")
     private int headerLines;
+    @Value("${ontology.traversal.reload.poll.seconds:0}")
+    private long reloadPollSeconds;
 
     private static final int SKIP_LIMIT = 0;
 
+    /**
+     * The graph traversed by requests: initially, the graph populated at start-up by
+     * {@link #ontologyGraphBuildJob(ReloadableOntologyGraph)}, which is replaced when a new release is loaded by the
+     * {@link #ontologyGraphReloader(ReloadableOntologyGraph)}. The initial graph is owned by this bean alone, and not
+     * exposed as a bean of its own, so that it can be freed once it has been replaced.
+     */
     @Bean
-    public OntologyGraph ontologyGraph() {
-        return new OntologyGraph();
+    public ReloadableOntologyGraph ontologyGraphTraversal() {
+        return new ReloadableOntologyGraph(OntologyGraphReloader.releaseOf(resources));
     }
 
     @Bean
-    public OntologyGraphTraversal ontologyGraphTraversal(OntologyGraph ontologyGraph) {
-        return ontologyGraph;
+    public OntologyGraphReloader ontologyGraphReloader(ReloadableOntologyGraph ontologyGraphTraversal) {
+        return new OntologyGraphReloader(ontologyGraphTraversal, resources, headerLines, reloadPollSeconds);
     }
 
     @Bean
-    public Job ontologyGraphBuildJob(OntologyGraph ontologyGraph) {
+    public Job ontologyGraphBuildJob(ReloadableOntologyGraph ontologyGraphTraversal) {
         return jobBuilders.get(ONTOLOGY_TRAVERSAL_LOADING_JOB_NAME)
-                    .start(ontologyGraphBuildStep(ontologyGraph))
+                    .start(ontologyGraphBuildStep(ontologyGraphTraversal))
                     .listener(logJobListener())
                     .build();
     }
 
     @Bean
-    public Step ontologyGraphBuildStep(OntologyGraph ontologyGraph) {
+    public Step ontologyGraphBuildStep(ReloadableOntologyGraph ontologyGraphTraversal) {
         return stepBuilders.get(ONTOLOGY_TRAVERSAL_LOADING_STEP_NAME)
                 .<RawOntologyRelationship, OntologyRelationship>chunk(chunkSize)
                 .faultTolerant()
                 .skipLimit(SKIP_LIMIT)
                 .<RawOntologyRelationship>reader(ontologyTraversalMultiFileReader())
                 .processor(ontologyRelationshipCompositeProcessor())
-                .writer(ontologyGraphPopulator(ontologyGraph))
+                .writer(ontologyGraphPopulator(ontologyGraphTraversal))
                 .build();
     }
 
@@ -99,8 +106,8 @@ public class OntologyGraphConfig {
     }
 
     @Bean
-    ItemWriter<OntologyRelationship> ontologyGraphPopulator(OntologyGraph ontologyGraph) {
-        return new OntologyGraphPopulator(ontologyGraph);
+    ItemWriter<OntologyRelationship> ontologyGraphPopulator(ReloadableOntologyGraph ontologyGraphTraversal) {
+        return new OntologyGraphPopulator(ontologyGraphTraversal);
     }
 
     @Bean
@@ -2,8 +2,11 @@ package uk.ac.ebi.quickgo.ontology.traversal.read;
 
 import uk.ac.ebi.quickgo.ontology.model.OntologyRelationship;
 import uk.ac.ebi.quickgo.ontology.traversal.OntologyGraph;
+import uk.ac.ebi.quickgo.ontology.traversal.ReloadableOntologyGraph;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.springframework.batch.item.ItemWriter;
 
@@ -18,14 +21,24 @@ import static org.slf4j.LoggerFactory.getLogger;
  */
 public class OntologyGraphPopulator implements ItemWriter<OntologyRelationship> {
     private static final Logger LOGGER = getLogger(OntologyGraphPopulator.class);
-    private final OntologyGraph ontologyGraph;
+    private final Consumer<Collection<? extends OntologyRelationship>> ontologyGraph;
 
     public OntologyGraphPopulator(OntologyGraph ontologyGraph) {
-        this.ontologyGraph = ontologyGraph;
+        this.ontologyGraph = ontologyGraph::addRelationships;
+    }
+
+    /**
+     * Populates the graph currently traversed by a {@link ReloadableOntologyGraph}, without holding on to that
+     * graph once it has been replaced.
+     *
+     * @param ontologyGraph the reloadable graph
+     */
+    public OntologyGraphPopulator(ReloadableOntologyGraph ontologyGraph) {
+        this.ontologyGraph = ontologyGraph::addRelationships;
     }
 
     @Override public void write(List<? extends OntologyRelationship> list) throws Exception {
         LOGGER.debug("Adding {} ontology graph tuples.", list.size());
-        ontologyGraph.addRelationships(list);
+        ontologyGraph.accept(list);
     }
 }
@@ -0,0 +1,226 @@
+package uk.ac.ebi.quickgo.ontology.traversal.read;
+
+import uk.ac.ebi.quickgo.ff.loader.ontology.OntologyGraphicsSourceLoader;
+import uk.ac.ebi.quickgo.ontology.model.OntologyRelationship;
+import uk.ac.ebi.quickgo.ontology.traversal.OntologyGraph;
+import uk.ac.ebi.quickgo.ontology.traversal.ReloadableOntologyGraph;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+import org.slf4j.Logger;
+import org.springframework.batch.item.file.LineMapper;
+import org.springframework.batch.item.file.mapping.DefaultLineMapper;
+import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * <p>Reloads a {@link ReloadableOntologyGraph} from the ontology relationship source files, so that a new release of
+ * the ontology can be served without restarting the application.
+ *
+ * <p>A new graph is read in the background, its ancestor closures are computed, and only then does it replace the
+ * graph in use; requests continue to be served by the previous graph until then, and if reading the new release
+ * fails, e.g., because a file is invalid, the previous graph remains in use. A reload can be requested, or the
+ * source files can be polled at a fixed interval, so that a reload happens whenever they are modified.
+ *
+ * <p>If a {@link #setGraphicsSourceLoader(OntologyGraphicsSourceLoader) graphics source loader} is set, the
+ * ontologies from which charts are drawn are reloaded with the graph, so that charts show the same release; if they
+ * cannot be reloaded, the graph is not replaced either. Only the relationship source files are polled for changes.
+ *
+ * <p>The release of the ontology is identified by the time the source files were last modified.
+ *
+ * Created 19/10/26
+ */
+public class OntologyGraphReloader implements DisposableBean {
+    static final String UNKNOWN_RELEASE = "unknown";
+
+    private static final Logger LOGGER = getLogger(OntologyGraphReloader.class);
+    private static final String TAB = "\t";
+
+    private final ReloadableOntologyGraph ontologyGraph;
+    private final Resource[] resources;
+    private final int headerLines;
+    private final long pollSeconds;
+    private final LineMapper<RawOntologyRelationship> lineMapper;
+    private final OntologyRelationshipValidator validator;
+    private final ScheduledExecutorService reloadingExecutor;
+    private final AtomicBoolean reloadPending = new AtomicBoolean();
+    private OntologyGraphicsSourceLoader graphicsSourceLoader;
+
+    public OntologyGraphReloader(ReloadableOntologyGraph ontologyGraph, Resource[] resources, int headerLines,
+            long pollSeconds) {
+        checkArgument(ontologyGraph != null, "Ontology graph cannot be null");
+        checkArgument(resources != null, "Ontology relationship sources cannot be null");
+        checkArgument(headerLines >= 0, "Header lines cannot be negative");
+
+        this.ontologyGraph = ontologyGraph;
+        this.resources = resources;
+        this.headerLines = headerLines;
+        this.pollSeconds = pollSeconds;
+        this.lineMapper = lineMapper();
+        this.validator = new OntologyRelationshipValidator();
+        this.reloadingExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ontology-graph-reloader");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Identifies the release of the ontology in a set of source files by the time they were last modified.
+     *
+     * @param resources the ontology relationship source files
+     * @return the time, in ISO-8601 format, that the most recently modified file was modified, or
+     * {@value #UNKNOWN_RELEASE} if this is not known
+     */
+    public static String releaseOf(Resource[] resources) {
+        long lastModified = 0;
+        try {
+            for (Resource resource : resources) {
+                lastModified = Math.max(lastModified, resource.lastModified());
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Unable to find when the ontology relationship sources were last modified", e);
+            return UNKNOWN_RELEASE;
+        }
+        return lastModified == 0 ? UNKNOWN_RELEASE : Instant.ofEpochMilli(lastModified).toString();
+    }
+
+    /**
+     * Sets the loader of the ontologies from which charts are drawn, so that they are reloaded with the graph.
+     *
+     * @param graphicsSourceLoader the loader of the ontologies from which charts are drawn
+     */
+    public synchronized void setGraphicsSourceLoader(OntologyGraphicsSourceLoader graphicsSourceLoader) {
+        checkArgument(graphicsSourceLoader != null, "Graphics source loader cannot be null");
+
+        this.graphicsSourceLoader = graphicsSourceLoader;
+    }
+
+    /**
+     * Starts polling the source files for a new release, if configured, once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (pollSeconds > 0) {
+            reloadingExecutor.scheduleWithFixedDelay(this::reloadIfNewRelease, pollSeconds, pollSeconds,
+                    TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Requests that the graph is reloaded in the background, unless a reload has already been requested and has not
+     * yet started.
+     *
+     * @return true if a reload was requested, or false if one was already pending
+     */
+    public boolean requestReload() {
+        if (!reloadPending.compareAndSet(false, true)) {
+            return false;
+        }
+
+        reloadingExecutor.execute(() -> {
+            reloadPending.set(false);
+            reloadQuietly();
+        });
+        return true;
+    }
+
+    /**
+     * Reads the graph from the source files, and replaces the graph in use once it has been read.
+     *
+     * @return the release of the ontology that was read
+     * @throws IOException if the source files could not be read, or are invalid
+     */
+    public synchronized String reload() throws IOException {
+        long start = System.currentTimeMillis();
+        String release = releaseOf(resources);
+
+        OntologyGraph graph = new OntologyGraph();
+        graph.addRelationships(readRelationships());
+
+        // compute, and cache, the ancestors of every vertex now, so that requests on the new release are not slower
+        graph.ancestorsOfEach(graph.getVertices());
+
+        if (graphicsSourceLoader != null) {
+            graphicsSourceLoader.reload();
+        }
+
+        ontologyGraph.replace(graph, release);
+        LOGGER.info("Reloaded ontology graph of release {}, with {} vertices and {} edges, in {} ms", release,
+                graph.getVertices().size(), graph.getEdges().size(), System.currentTimeMillis() - start);
+        return release;
+    }
+
+    @Override public void destroy() {
+        reloadingExecutor.shutdownNow();
+    }
+
+    private void reloadIfNewRelease() {
+        String release = releaseOf(resources);
+        if (!UNKNOWN_RELEASE.equals(release) && !release.equals(ontologyGraph.getRelease())) {
+            LOGGER.info("Found ontology release {}, replacing release {}", release, ontologyGraph.getRelease());
+            reloadQuietly();
+        }
+    }
+
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error("Failed to reload ontology graph; release {} remains in use", ontologyGraph.getRelease(), e);
+        }
+    }
+
+    private List<OntologyRelationship> readRelationships() throws IOException {
+        List<OntologyRelationship> relationships = new ArrayList<>();
+
+        for (Resource resource : resources) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(resource.getInputStream()), StandardCharsets.UTF_8))) {
+                String line;
+                int lineNumber = 0;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    if (lineNumber > headerLines && !line.trim().isEmpty()) {
+                        relationships.add(readRelationship(resource, line, lineNumber));
+                    }
+                }
+            }
+        }
+
+        return relationships;
+    }
+
+    private OntologyRelationship readRelationship(Resource resource, String line, int lineNumber)
+            throws IOException {
+        try {
+            return validator.process(lineMapper.mapLine(line, lineNumber));
+        } catch (Exception e) {
+            throw new IOException("Invalid ontology relationship at line " + lineNumber + " of " +
+                    resource.getDescription() + ": " + line, e);
+        }
+    }
+
+    private static LineMapper<RawOntologyRelationship> lineMapper() {
+        DefaultLineMapper<RawOntologyRelationship> lineMapper = new DefaultLineMapper<>();
+        lineMapper.setLineTokenizer(new DelimitedLineTokenizer(TAB));
+        lineMapper.setFieldSetMapper(new StringToOntologyRelationshipMapper());
+        return lineMapper;
+    }
+}
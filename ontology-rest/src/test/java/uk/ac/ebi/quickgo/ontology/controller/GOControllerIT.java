@@ -16,6 +16,7 @@ import org.springframework.test.web.servlet.ResultActions;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -24,6 +25,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static uk.ac.ebi.quickgo.common.converter.HelpfulConverter.toCSV;
+import static uk.ac.ebi.quickgo.ontology.controller.GOController.COUNTS_SUB_RESOURCE;
 import static uk.ac.ebi.quickgo.ontology.controller.GOController.MISSING_SLIM_SET_ERROR_MESSAGE;
 import static uk.ac.ebi.quickgo.ontology.controller.OBOController.COMPLETE_SUB_RESOURCE;
 import static uk.ac.ebi.quickgo.ontology.controller.OBOController.CONSTRAINTS_SUB_RESOURCE;
@@ -107,6 +109,22 @@ public class GOControllerIT extends OBOControllerIT {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    public void canRetrieveOnlyAnnotationCountsByIds() throws Exception {
+        ResultActions response = mockMvc.perform(get(
+                buildTermsURLWithSubResource(toCSV(GO_0000001, GO_0000002), COUNTS_SUB_RESOURCE)));
+
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(jsonPath("$.numberOfHits").value(2))
+                .andExpect(jsonPath("$.results.*.annotationCounts.annotations", contains(3, 3)))
+                .andExpect(jsonPath("$.results.*.annotationCounts.inferredAnnotations", contains(10, 10)))
+                .andExpect(jsonPath("$.results.*.annotationCounts.geneProducts", contains(2, 2)))
+                .andExpect(jsonPath("$.results.*.annotationCounts.inferredGeneProducts", contains(7, 7)))
+                .andExpect(jsonPath("$.results.*.name", hasSize(0)));
+    }
+
     // meta-data ------------------
     @Test
     public void about() throws Exception {
@@ -6,15 +6,18 @@ import uk.ac.ebi.quickgo.graphics.ontology.GraphImage;
 import uk.ac.ebi.quickgo.graphics.ontology.GraphImageResult;
 import uk.ac.ebi.quickgo.graphics.ontology.GraphPresentation;
 import uk.ac.ebi.quickgo.graphics.ontology.RenderingGraphException;
+import uk.ac.ebi.quickgo.graphics.ontology.SvgCanvas;
 import uk.ac.ebi.quickgo.graphics.service.GraphImageService;
 import uk.ac.ebi.quickgo.ontology.OntologyREST;
 import uk.ac.ebi.quickgo.ontology.common.OntologyDocument;
 import uk.ac.ebi.quickgo.ontology.common.OntologyRepository;
 import uk.ac.ebi.quickgo.ontology.model.OntologyRelationType;
 import uk.ac.ebi.quickgo.ontology.model.OntologyRelationship;
-import uk.ac.ebi.quickgo.ontology.traversal.OntologyGraph;
+import uk.ac.ebi.quickgo.ontology.traversal.ReloadableOntologyGraph;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -56,6 +59,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static uk.ac.ebi.quickgo.common.converter.HelpfulConverter.toCSV;
 import static uk.ac.ebi.quickgo.ontology.OntologyRestConfig.CACHE_CONTROL_HEADER;
+import static uk.ac.ebi.quickgo.ontology.OntologyRestConfig.ONTOLOGY_RELEASE_HEADER;
+import static uk.ac.ebi.quickgo.ontology.OntologyRestConfig.ONTOLOGY_RELEASE_KEY;
 import static uk.ac.ebi.quickgo.ontology.controller.OBOController.*;
 
 /**
@@ -86,7 +91,7 @@ public abstract class OBOControllerIT {
     protected OntologyRepository ontologyRepository;
 
     @Autowired
-    protected OntologyGraph ontologyGraph;
+    protected ReloadableOntologyGraph ontologyGraph;
     protected MockMvc mockMvc;
 
     @Autowired
@@ -262,6 +267,40 @@ public abstract class OBOControllerIT {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    public void canRetrieveOnlyRequestedFieldsByTwoIds() throws Exception {
+        ResultActions response = mockMvc.perform(get(buildTermsURLWithSubResource(validIdsShortCSV,
+                COMPLETE_SUB_RESOURCE)).param(FIELDS_PARAM, "name,history"));
+
+        response.andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(jsonPath("$.results.*.id", hasSize(2)))
+                .andExpect(jsonPath("$.results.*.name", hasSize(2)))
+                .andExpect(jsonPath("$.results.*.history", hasSize(2)))
+                .andExpect(jsonPath("$.results.*.definition").isEmpty())
+                .andExpect(jsonPath("$.results.*.xRefs").isEmpty())
+                .andExpect(jsonPath("$.results.*.children").isEmpty());
+    }
+
+    @Test
+    public void fieldsOfCoreLookupReplaceCoreFields() throws Exception {
+        ResultActions response = mockMvc.perform(get(buildTermsURL(validId)).param(FIELDS_PARAM, "secondaryIds"));
+
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.results.*.id", contains(validId)))
+                .andExpect(jsonPath("$.results.*.name").isEmpty())
+                .andExpect(jsonPath("$.results.*.synonyms").isEmpty());
+    }
+
+    @Test
+    public void unknownFieldIsBadRequest() throws Exception {
+        ResultActions response = mockMvc.perform(get(buildTermsURLWithSubResource(validId, COMPLETE_SUB_RESOURCE))
+                .param(FIELDS_PARAM, "name,unknownField"));
+
+        response.andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.messages", hasItem(containsString("Unknown field: unknownField"))));
+    }
+
     @Test
     public void canRetrieveHistoryByOneId() throws Exception {
         ResultActions response = mockMvc.perform(get(buildTermsURLWithSubResource(validId, HISTORY_SUB_RESOURCE)));
@@ -713,6 +752,107 @@ public abstract class OBOControllerIT {
         expectInvalidRelationError(response, invalidRelation);
     }
 
+    @Test
+    public void canFetchAncestorIdsOnlyFrom2Terms() throws Exception {
+        String bottom = relationships.get(0).child;
+        String secondBottom = relationships.get(1).child;
+
+        ResultActions response = mockMvc.perform(
+                get(buildTermsURLWithSubResource(toCSV(bottom, secondBottom), ANCESTORS_SUB_RESOURCE))
+                        .param(VIEW_PARAM, IDS_ONLY_VIEW));
+
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.numberOfHits").value(10))
+                .andExpect(jsonPath("$.results", hasSize(10)))
+                .andExpect(jsonPath("$.results", hasItems(bottom, secondBottom)))
+                .andExpect(jsonPath("$.results[0].children").doesNotExist());
+    }
+
+    @Test
+    public void canCountAncestorsOf2Terms() throws Exception {
+        String bottom = relationships.get(0).child;
+        String secondBottom = relationships.get(1).child;
+
+        ResultActions response = mockMvc.perform(
+                get(buildTermsURLWithSubResource(toCSV(bottom, secondBottom), ANCESTORS_SUB_RESOURCE))
+                        .param(VIEW_PARAM, COUNT_VIEW));
+
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.numberOfHits").value(2))
+                .andExpect(jsonPath("$.results[0].id").value(bottom))
+                .andExpect(jsonPath("$.results[0].count").value(10))
+                .andExpect(jsonPath("$.results[1].id").value(secondBottom))
+                .andExpect(jsonPath("$.results[1].count").value(9));
+    }
+
+    @Test
+    public void canFetchDescendantIdsOnlyFrom1Term() throws Exception {
+        String highestParent = relationships.get(relationships.size() - 1).parent;
+
+        ResultActions response = mockMvc.perform(
+                get(buildTermsURLWithSubResource(highestParent, DESCENDANTS_SUB_RESOURCE))
+                        .param(VIEW_PARAM, IDS_ONLY_VIEW));
+
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.numberOfHits").value(10))
+                .andExpect(jsonPath("$.results", hasItem(highestParent)));
+    }
+
+    @Test
+    public void canCountDescendantsOf1Term() throws Exception {
+        String highestParent = relationships.get(relationships.size() - 1).parent;
+
+        ResultActions response = mockMvc.perform(
+                get(buildTermsURLWithSubResource(highestParent, DESCENDANTS_SUB_RESOURCE))
+                        .param(VIEW_PARAM, COUNT_VIEW));
+
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.numberOfHits").value(1))
+                .andExpect(jsonPath("$.results[0].id").value(highestParent))
+                .andExpect(jsonPath("$.results[0].count").value(10));
+    }
+
+    @Test
+    public void canFetchCompactDescendantIdsFrom1Term() throws Exception {
+        String highestParent = relationships.get(relationships.size() - 1).parent;
+
+        ResultActions response = mockMvc.perform(
+                get(buildTermsURLWithSubResource(highestParent, DESCENDANTS_SUB_RESOURCE))
+                        .param(VIEW_PARAM, COMPACT_VIEW));
+
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.numberOfHits").value(1))
+                .andExpect(jsonPath("$.results[0].count").value(10))
+                .andExpect(jsonPath("$.results[0].prefix").exists())
+                .andExpect(jsonPath("$.results[0].ids").exists());
+    }
+
+    @Test
+    public void invalidIdsOnlyDescendantsProduces400AndErrorMessage() throws Exception {
+        ResultActions response = mockMvc.perform(
+                get(buildTermsURLWithSubResource(invalidId(), DESCENDANTS_SUB_RESOURCE))
+                        .param(VIEW_PARAM, IDS_ONLY_VIEW));
+
+        expectInvalidIdError(response, invalidId());
+    }
+
+    @Test
+    public void unknownViewOfDescendantsProduces400() throws Exception {
+        String highestParent = relationships.get(relationships.size() - 1).parent;
+
+        ResultActions response = mockMvc.perform(
+                get(buildTermsURLWithSubResource(highestParent, DESCENDANTS_SUB_RESOURCE))
+                        .param(VIEW_PARAM, "unknown"));
+
+        response.andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     public void canFetchAllPathsFrom1Term() throws Exception {
         String bottomChild = relationships.get(0).child;
@@ -769,6 +909,34 @@ public abstract class OBOControllerIT {
                 .andExpect(jsonPath("$.results").isArray());
     }
 
+    @Test
+    public void canFetchLimitedPathsFrom2Terms() throws Exception {
+        String bottom = relationships.get(0).child;
+        String secondBottom = relationships.get(1).child;
+        String highest = relationships.get(relationships.size() - 1).parent;
+
+        ResultActions response = mockMvc.perform(
+                get(buildPathsURL(toCSV(bottom, secondBottom), highest))
+                        .param(LIMIT_PARAM, "1"));
+
+        response.andDo(print())
+                .andExpect(jsonPath("$.numberOfHits").value(1))
+                .andExpect(jsonPath("$.results").isArray());
+    }
+
+    @Test
+    public void nonPositivePathsLimitProduces400() throws Exception {
+        String bottom = relationships.get(0).child;
+        String highest = relationships.get(relationships.size() - 1).parent;
+
+        ResultActions response = mockMvc.perform(
+                get(buildPathsURL(bottom, highest))
+                        .param(LIMIT_PARAM, "0"));
+
+        response.andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     public void invalidStartPathsProduces400AndErrorMessage() throws Exception {
         String highest = relationships.get(relationships.size() - 1).parent;
@@ -809,6 +977,7 @@ public abstract class OBOControllerIT {
         response.andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.IMAGE_PNG_VALUE))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
                 .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
 
         MvcResult result = response.andReturn();
@@ -849,6 +1018,68 @@ public abstract class OBOControllerIT {
         assertThat(result.getResponse().getContentLength(), is(greaterThan(0)));
     }
 
+    @Test
+    public void canLoadSvgChartIfSvgIsAccepted() throws Exception {
+        requestToChartServiceReturnsValidImage();
+
+        ResultActions response = mockMvc.perform(
+                get(buildTermsURLWithSubResource(validId, CHART_SUB_RESOURCE))
+                        .header(HttpHeaders.ACCEPT, SvgCanvas.SVG_MEDIA_TYPE));
+
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, SvgCanvas.SVG_MEDIA_TYPE))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().string(containsString("<svg")))
+                .andExpect(content().string(containsString("Mocked GraphImage")));
+    }
+
+    @Test
+    public void canLoadBase64EncodedSvgChartIfSvgIsAccepted() throws Exception {
+        requestToChartServiceReturnsValidImage();
+
+        ResultActions response = mockMvc.perform(
+                get(buildTermsURLWithSubResource(validId, CHART_SUB_RESOURCE))
+                        .header(HttpHeaders.ACCEPT, SvgCanvas.SVG_MEDIA_TYPE)
+                        .param(BASE64_PARAM, "true"));
+
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, SvgCanvas.SVG_MEDIA_TYPE))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, BASE_64_CONTENT_ENCODING));
+
+        String svg = new String(Base64.getMimeDecoder().decode(response.andReturn().getResponse().getContentAsString()),
+                StandardCharsets.UTF_8);
+        assertThat(svg, containsString("Mocked GraphImage"));
+    }
+
+    @Test
+    public void loadsPngChartIfPngIsPreferredToSvg() throws Exception {
+        requestToChartServiceReturnsValidImage();
+
+        ResultActions response = mockMvc.perform(
+                get(buildTermsURLWithSubResource(validId, CHART_SUB_RESOURCE))
+                        .header(HttpHeaders.ACCEPT, SvgCanvas.SVG_MEDIA_TYPE + ";q=0.5, " + MediaType.IMAGE_PNG_VALUE));
+
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.IMAGE_PNG_VALUE))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+    }
+
+    @Test
+    public void svgIsOnlyPreferredIfExplicitlyAccepted() {
+        assertThat(prefersSvg(null), is(false));
+        assertThat(prefersSvg("*/*"), is(false));
+        assertThat(prefersSvg("image/*"), is(false));
+        assertThat(prefersSvg("image/png, image/svg+xml"), is(false));
+        assertThat(prefersSvg("image/svg+xml"), is(true));
+        assertThat(prefersSvg("image/svg+xml, */*"), is(true));
+        assertThat(prefersSvg("image/png;q=0.8, image/svg+xml"), is(true));
+        assertThat(prefersSvg("image/svg+xml;q=0, */*"), is(false));
+    }
+
     @Test
     public void failedChartRequestProduces500() throws Exception {
         String exceptionDescription = "Error encountered during creation of ontology chart graphics.";
@@ -1035,6 +1266,30 @@ public abstract class OBOControllerIT {
 
     }
 
+    //-----------------------  Check Http Header for the ontology release ------------------------------------------
+    @Test
+    public void responsesIdentifyOntologyRelease() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get(buildTermsURL(validId))).andReturn();
+
+        String releaseHeader = mvcResult.getResponse().getHeader(ONTOLOGY_RELEASE_HEADER);
+        assertThat(releaseHeader, org.hamcrest.Matchers.startsWith(ONTOLOGY_RELEASE_KEY + "="));
+    }
+
+    @Test
+    public void chartResponsesIdentifyOntologyRelease() throws Exception {
+        requestToChartServiceReturnsValidImage();
+
+        MvcResult chartResult = mockMvc.perform(get(buildTermsURLWithSubResource(validId, CHART_SUB_RESOURCE)))
+                .andReturn();
+        MvcResult coordinatesResult = mockMvc.perform(
+                get(buildTermsURLWithSubResource(validId, CHART_COORDINATES_SUB_RESOURCE))).andReturn();
+
+        assertThat(chartResult.getResponse().getHeader(ONTOLOGY_RELEASE_HEADER),
+                org.hamcrest.Matchers.startsWith(ONTOLOGY_RELEASE_KEY + "="));
+        assertThat(coordinatesResult.getResponse().getHeader(ONTOLOGY_RELEASE_HEADER),
+                org.hamcrest.Matchers.startsWith(ONTOLOGY_RELEASE_KEY + "="));
+    }
+
     //-----------------------  Check Http Header for Cache-Control content ------------------------------------------
     @Test
     public void cacheControlMaxAgeReducesOnSubsequentRequests() throws Exception {
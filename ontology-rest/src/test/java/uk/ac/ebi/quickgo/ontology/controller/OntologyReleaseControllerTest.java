@@ -0,0 +1,78 @@
+package uk.ac.ebi.quickgo.ontology.controller;
+
+import uk.ac.ebi.quickgo.ontology.traversal.ReloadableOntologyGraph;
+import uk.ac.ebi.quickgo.ontology.traversal.read.OntologyGraphReloader;
+
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.ac.ebi.quickgo.ontology.controller.OntologyReleaseController.RELEASE_FIELD;
+
+/**
+ * Created 19/10/26
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class OntologyReleaseControllerTest {
+    private static final String RELEASE = "2026-10-19T10:00:00Z";
+
+    @Mock
+    private ReloadableOntologyGraph ontologyGraph;
+    @Mock
+    private OntologyGraphReloader ontologyGraphReloader;
+
+    private OntologyReleaseController controller;
+
+    @Before
+    public void setUp() {
+        when(ontologyGraph.getRelease()).thenReturn(RELEASE);
+        controller = new OntologyReleaseController(ontologyGraph, ontologyGraphReloader, true);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullOntologyGraphThrowsException() {
+        new OntologyReleaseController(null, ontologyGraphReloader, true);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullReloaderThrowsException() {
+        new OntologyReleaseController(ontologyGraph, null, true);
+    }
+
+    @Test
+    public void releaseIsTheCurrentRelease() {
+        ResponseEntity<Map<String, String>> response = controller.release();
+
+        assertThat(response.getStatusCode(), is(HttpStatus.OK));
+        assertThat(response.getBody().get(RELEASE_FIELD), is(RELEASE));
+    }
+
+    @Test
+    public void reloadIsRequestedAndAccepted() {
+        ResponseEntity<Map<String, String>> response = controller.reload();
+
+        verify(ontologyGraphReloader).requestReload();
+        assertThat(response.getStatusCode(), is(HttpStatus.ACCEPTED));
+        assertThat(response.getBody().get(RELEASE_FIELD), is(RELEASE));
+    }
+
+    @Test
+    public void reloadIsNotFoundWhenDisabled() {
+        controller = new OntologyReleaseController(ontologyGraph, ontologyGraphReloader, false);
+
+        ResponseEntity<Map<String, String>> response = controller.reload();
+
+        verify(ontologyGraphReloader, never()).requestReload();
+        assertThat(response.getStatusCode(), is(HttpStatus.NOT_FOUND));
+    }
+}
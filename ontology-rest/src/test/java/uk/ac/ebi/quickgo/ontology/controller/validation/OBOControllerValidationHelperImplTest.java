@@ -90,4 +90,36 @@ public class OBOControllerValidationHelperImplTest {
                 DEFAULT_TRAVERSAL_TYPES);
     }
 
+    @Test
+    public void bulkIdsAreTrimmedAndDeduplicatedInOrder() {
+        List<String> validIds = validator.validateBulkIds(asList(" GO:2", "GO:1", "", "GO:2 ", null, "GO:3"));
+
+        assertThat(validIds, contains("GO:2", "GO:1", "GO:3"));
+    }
+
+    @Test(expected = ParameterException.class)
+    public void nullBulkIdsThrowsException() {
+        validator.validateBulkIds(null);
+    }
+
+    @Test
+    public void bulkIdsUpToLimitAreValid() {
+        validator = new OBOControllerValidationHelperImpl(FAKE_MAX_PAGE_RESULTS, 2, FAKE_ID_VALIDATION_PREDICATE);
+
+        assertThat(validator.validateBulkIds(asList("GO:1", "GO:2", "GO:1")), contains("GO:1", "GO:2"));
+    }
+
+    @Test(expected = ParameterException.class)
+    public void bulkIdsOverLimitThrowsException() {
+        validator = new OBOControllerValidationHelperImpl(FAKE_MAX_PAGE_RESULTS, 2, FAKE_ID_VALIDATION_PREDICATE);
+
+        validator.validateBulkIds(asList("GO:1", "GO:2", "GO:3"));
+    }
+
+    @Test(expected = ParameterException.class)
+    public void bulkIdOfInvalidFormatThrowsException() {
+        validator = new OBOControllerValidationHelperImpl(FAKE_MAX_PAGE_RESULTS, 2, id -> id.startsWith("GO:"));
+
+        validator.validateBulkIds(asList("GO:1", "invalid"));
+    }
 }
@@ -0,0 +1,69 @@
+package uk.ac.ebi.quickgo.ontology.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Created 19/10/26
+ */
+public class CompactIdsTest {
+    @Test(expected = IllegalArgumentException.class)
+    public void nullIdsCannotBeCompacted() {
+        CompactIds.of(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void idsWithDifferentPrefixesCannotBeCompacted() {
+        CompactIds.of(Arrays.asList("GO:0000001", "ECO:0000001"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void idsWithoutNumbersCannotBeCompacted() {
+        CompactIds.of(Collections.singletonList("GO:"));
+    }
+
+    @Test
+    public void compactsNoIds() {
+        CompactIds compactIds = CompactIds.of(Collections.emptyList());
+
+        assertThat(compactIds.count, is(0));
+        assertThat(compactIds.ids, is(""));
+        assertThat(compactIds.decode(), is(empty()));
+    }
+
+    @Test
+    public void compactsIdsSortedWithoutDuplicates() {
+        CompactIds compactIds = CompactIds.of(Arrays.asList("GO:0008150", "GO:0000001", "GO:0008150", "GO:0000002"));
+
+        assertThat(compactIds.prefix, is("GO:"));
+        assertThat(compactIds.digits, is(7));
+        assertThat(compactIds.count, is(3));
+        assertThat(compactIds.decode(), contains("GO:0000001", "GO:0000002", "GO:0008150"));
+    }
+
+    @Test
+    public void closeIdsNeedOneByteEach() {
+        CompactIds compactIds = CompactIds.of(Arrays.asList("GO:0000100", "GO:0000101", "GO:0000102", "GO:0000103"));
+
+        // 100 fits in 7 bits, as do the differences of 1; 4 bytes are 8 Base64 characters, with padding
+        assertThat(compactIds.ids.length(), is(8));
+    }
+
+    @Test
+    public void decodingCompactedIdsReturnsTheIds() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            ids.add(String.format("ECO:%07d", i * i));
+        }
+
+        assertThat(CompactIds.of(ids).decode(), is(ids));
+    }
+}
@@ -7,6 +7,8 @@ import uk.ac.ebi.quickgo.ontology.model.ECOTerm;
 import uk.ac.ebi.quickgo.ontology.model.GOTerm;
 import uk.ac.ebi.quickgo.ontology.model.OntologyRelationType;
 import uk.ac.ebi.quickgo.ontology.model.OntologyRelationship;
+import uk.ac.ebi.quickgo.ontology.model.RelativesCount;
+import uk.ac.ebi.quickgo.ontology.model.TermField;
 import uk.ac.ebi.quickgo.ontology.model.graph.AncestorEdge;
 import uk.ac.ebi.quickgo.ontology.model.graph.AncestorGraph;
 import uk.ac.ebi.quickgo.ontology.model.graph.AncestorVertex;
@@ -35,6 +37,7 @@ import static org.hamcrest.core.Is.is;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 import static uk.ac.ebi.quickgo.ontology.common.document.OntologyDocMocker.createECODoc;
 import static uk.ac.ebi.quickgo.ontology.common.document.OntologyDocMocker.createGODoc;
@@ -132,6 +135,45 @@ public class OntologyServiceImplTest {
             assertThat(expectedGoTerm.id, is(equalTo(goId)));
         }
 
+        @Test
+        public void findsOnlyRequestedFieldsWithoutChildrenForGoIdentifier() {
+            String id = "GO:0000001";
+            Set<TermField> fields = EnumSet.of(TermField.NAME, TermField.DEFINITION);
+            Set<String> storedFields = TermField.storedFieldsOf(fields);
+
+            OntologyDocument doc = createGODoc(id, "name1");
+            when(repositoryMock.findFieldsByTermId(OntologyType.GO.name(), idsViaOntologyService(id), storedFields))
+                    .thenReturn(singletonList(doc));
+            when(goDocumentConverterMock.convert(doc, fields)).thenReturn(createGOTerm(id));
+
+            List<GOTerm> goTerms = goOntologyService.findFieldsInfoByOntologyId(singletonList(id), fields);
+
+            assertThat(goTerms, hasSize(1));
+            assertThat(goTerms.get(0).id, is(id));
+            assertThat(storedFields, containsInAnyOrder("id", "name", "definition", "definitionXref"));
+            verifyZeroInteractions(ontologyTraversalMock);
+        }
+
+        @Test
+        public void findsChildrenOnlyIfRequestedForGoIdentifier() {
+            String id = "GO:0000001";
+            String childId = "GO:0000002";
+            Set<TermField> fields = EnumSet.of(TermField.CHILDREN);
+
+            OntologyDocument doc = createGODoc(id, "name1");
+            when(repositoryMock.findFieldsByTermId(OntologyType.GO.name(), idsViaOntologyService(id),
+                    TermField.storedFieldsOf(fields))).thenReturn(singletonList(doc));
+            when(goDocumentConverterMock.convert(doc, fields)).thenReturn(createGOTerm(id));
+            when(ontologyTraversalMock.children(id)).thenReturn(
+                    singleton(new OntologyRelationship(childId, id, OntologyRelationType.IS_A)));
+
+            List<GOTerm> goTerms = goOntologyService.findFieldsInfoByOntologyId(singletonList(id), fields);
+
+            assertThat(goTerms, hasSize(1));
+            assertThat(goTerms.get(0).children, hasSize(1));
+            assertThat(goTerms.get(0).children.get(0).id, is(childId));
+        }
+
         @Test
         public void retrievesFirstPageOfGOTerms() {
             int zeroBasedPageNumber = 0;
@@ -390,6 +432,118 @@ public class OntologyServiceImplTest {
             assertThat(descendants.get(0).descendants, is(myDescendants));
         }
 
+        @Test
+        public void findsBulkAncestorsForTermsWithRelation() {
+            String id1 = "GO:0000001";
+            String id2 = "GO:0000002";
+            List<String> ancestors1 = singletonList("GO:0000003");
+            List<String> ancestors2 = singletonList("GO:0000004");
+
+            OntologyDocument doc1 = createGODoc(id1, "name1");
+            OntologyDocument doc2 = createGODoc(id2, "name2");
+
+            when(repositoryMock
+                         .findCoreAttrByTermId(OntologyType.GO.name(), idsViaOntologyService(id1, id2)))
+                    .thenReturn(Arrays.asList(doc1, doc2));
+            when(goDocumentConverterMock.convert(doc1)).thenReturn(createGOTerm(id1));
+            when(goDocumentConverterMock.convert(doc2)).thenReturn(createGOTerm(id2));
+            Map<String, List<String>> ancestorsOfEach = new HashMap<>();
+            ancestorsOfEach.put(id1, ancestors1);
+            ancestorsOfEach.put(id2, ancestors2);
+            when(ontologyTraversalMock.ancestorsOfEach(new HashSet<>(Arrays.asList(id1, id2)),
+                    OntologyRelationType.CAPABLE_OF)).thenReturn(ancestorsOfEach);
+
+            List<GOTerm> terms = goOntologyService
+                    .findBulkAncestorsInfoByOntologyId(Arrays.asList(id1, id2), OntologyRelationType.CAPABLE_OF);
+
+            assertThat(terms.size(), is(2));
+            assertThat(terms.get(0).ancestors, is(ancestors1));
+            assertThat(terms.get(1).ancestors, is(ancestors2));
+        }
+
+        @Test
+        public void findsBulkDescendantsForTerms() {
+            String id = "GO:0000001";
+            List<String> myDescendants = singletonList("GO:0000002");
+
+            OntologyDocument doc = createGODoc(id, "name1");
+
+            when(repositoryMock
+                         .findCoreAttrByTermId(OntologyType.GO.name(), idsViaOntologyService(id)))
+                    .thenReturn(singletonList(doc));
+            when(goDocumentConverterMock.convert(doc)).thenReturn(createGOTerm(id));
+            when(ontologyTraversalMock.descendantsOfEach(singleton(id)))
+                    .thenReturn(Collections.singletonMap(id, myDescendants));
+
+            List<GOTerm> descendants = goOntologyService.findBulkDescendantsInfoByOntologyId(singletonList(id));
+
+            assertThat(descendants.size(), is(1));
+            assertThat(descendants.get(0).descendants, is(myDescendants));
+        }
+
+        @Test
+        public void findsDescendantIdsOfTermsWithoutDuplicatesOrLookingUpTerms() {
+            String id1 = "GO:0000001";
+            String id2 = "GO:0000002";
+            Map<String, List<String>> descendantsOfEach = new LinkedHashMap<>();
+            descendantsOfEach.put(id1, Arrays.asList(id1, id2, "GO:0000003"));
+            descendantsOfEach.put(id2, Arrays.asList(id2, "GO:0000003"));
+            when(ontologyTraversalMock.descendantsOfEach(new HashSet<>(Arrays.asList(id1, id2)),
+                    OntologyRelationType.CAPABLE_OF)).thenReturn(descendantsOfEach);
+
+            List<String> descendantIds = goOntologyService
+                    .findDescendantIdsByOntologyId(Arrays.asList(id1, id2, id1), OntologyRelationType.CAPABLE_OF);
+
+            assertThat(descendantIds, contains(id1, id2, "GO:0000003"));
+            verifyZeroInteractions(repositoryMock);
+        }
+
+        @Test
+        public void countsAncestorsOfEachTerm() {
+            String id1 = "GO:0000001";
+            String id2 = "GO:0000002";
+            Map<String, List<String>> ancestorsOfEach = new LinkedHashMap<>();
+            ancestorsOfEach.put(id1, Arrays.asList(id1, id2));
+            ancestorsOfEach.put(id2, Collections.emptyList());
+            when(ontologyTraversalMock.ancestorsOfEach(new HashSet<>(Arrays.asList(id1, id2))))
+                    .thenReturn(ancestorsOfEach);
+
+            List<RelativesCount> counts = goOntologyService.countAncestorsByOntologyId(Arrays.asList(id1, id2));
+
+            assertThat(counts, hasSize(2));
+            assertThat(counts.get(0).id, is(id1));
+            assertThat(counts.get(0).count, is(2));
+            assertThat(counts.get(1).id, is(id2));
+            assertThat(counts.get(1).count, is(0));
+            verifyZeroInteractions(repositoryMock);
+        }
+
+        @Test
+        public void findsCoreAttrsOfMoreIdsThanOneQueryPermitsInBatches() {
+            List<String> ids = new ArrayList<>();
+            for (int i = 0; i <= OntologyServiceImpl.MAX_IDS_PER_QUERY; i++) {
+                ids.add(String.format("GO:%07d", i));
+            }
+            OntologyDocument firstDoc = createGODoc(ids.get(0), "first");
+            OntologyDocument lastDoc = createGODoc(ids.get(ids.size() - 1), "last");
+            List<String> sanitisedIds = goOntologyService.buildIdList(ids);
+
+            when(repositoryMock.findCoreAttrByTermId(OntologyType.GO.name(),
+                    sanitisedIds.subList(0, OntologyServiceImpl.MAX_IDS_PER_QUERY)))
+                    .thenReturn(singletonList(firstDoc));
+            when(repositoryMock.findCoreAttrByTermId(OntologyType.GO.name(),
+                    sanitisedIds.subList(OntologyServiceImpl.MAX_IDS_PER_QUERY, ids.size())))
+                    .thenReturn(singletonList(lastDoc));
+            when(goDocumentConverterMock.convert(firstDoc)).thenReturn(createGOTerm(ids.get(0)));
+            when(goDocumentConverterMock.convert(lastDoc)).thenReturn(createGOTerm(ids.get(ids.size() - 1)));
+
+            List<GOTerm> terms = goOntologyService.findCoreInfoByOntologyId(ids);
+
+            assertThat(terms.size(), is(2));
+            assertThat(terms.get(0).id, is(ids.get(0)));
+            assertThat(terms.get(1).id, is(ids.get(ids.size() - 1)));
+        }
+
         //PATHS
         @Test(expected = IllegalArgumentException.class)
         public void illegalArgumentWhenFindingPathsForZeroFromTerms() {
@@ -453,6 +607,22 @@ public class OntologyServiceImplTest {
             assertThat(paths.size(), is(1));
         }
 
+        @Test
+        public void findsLimitedPathsForTerm() {
+            String child = "GO:0000001";
+            String parent = "GO:0000002";
+            Set<String> fromIds = new HashSet<>(idsViaOntologyService(child));
+            Set<String> toIds = new HashSet<>(idsViaOntologyService(parent));
+
+            when(ontologyTraversalMock.paths(fromIds, toIds, 1, OntologyRelationType.IS_A))
+                    .thenReturn(Collections.singletonList(Collections.singletonList(
+                            new OntologyRelationship(child, parent, OntologyRelationType.IS_A))));
+            List<List<OntologyRelationship>> paths =
+                    goOntologyService.paths(fromIds, toIds, 1, OntologyRelationType.IS_A);
+
+            assertThat(paths.size(), is(1));
+        }
+
         //SUB-GRAPH
         @Test
         public void populatedAncestorGraphForSelectedTerm() {
@@ -2,7 +2,9 @@ package uk.ac.ebi.quickgo.ontology.service.converter;
 
 import uk.ac.ebi.quickgo.ontology.common.OntologyDocument;
 import uk.ac.ebi.quickgo.ontology.model.OBOTerm;
+import uk.ac.ebi.quickgo.ontology.model.TermField;
 
+import java.util.Set;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -23,7 +25,7 @@ public class AbstractODocConverterTest {
 
     // basic implementation that makes available protected methods which are to be tested
     private static class MockODocConverter extends AbstractODocConverter<OBOTerm> {
-        @Override public OBOTerm convert(OntologyDocument ontologyDocument) {
+        @Override public OBOTerm convert(OntologyDocument ontologyDocument, Set<TermField> fields) {
             return null;
         }
     }
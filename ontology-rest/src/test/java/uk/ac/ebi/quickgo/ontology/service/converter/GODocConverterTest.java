@@ -2,7 +2,9 @@ package uk.ac.ebi.quickgo.ontology.service.converter;
 
 import uk.ac.ebi.quickgo.ontology.common.OntologyDocument;
 import uk.ac.ebi.quickgo.ontology.model.GOTerm;
+import uk.ac.ebi.quickgo.ontology.model.TermField;
 
+import java.util.EnumSet;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -72,4 +74,44 @@ public class GODocConverterTest {
     public void convertsProteinComplexesWithoutError() throws Exception {
         assertThat(goTerm.proteinComplexes, hasSize(2));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void convertsAnnotationCountsWithoutError() {
+        assertThat(goTerm.annotationCounts, is(notNullValue()));
+        assertThat(goTerm.annotationCounts.annotations, is(goDoc.annotationCount));
+        assertThat(goTerm.annotationCounts.inferredAnnotations, is(goDoc.inferredAnnotationCount));
+        assertThat(goTerm.annotationCounts.geneProducts, is(goDoc.geneProductCount));
+        assertThat(goTerm.annotationCounts.inferredGeneProducts, is(goDoc.inferredGeneProductCount));
+    }
+
+    @Test
+    public void documentWithoutAnnotationCountsHasNoAnnotationCounts() {
+        goDoc.annotationCount = null;
+
+        assertThat(converter.convert(goDoc).annotationCounts, is(nullValue()));
+    }
+
+    @Test
+    public void convertsOnlyRequestedFields() {
+        GOTerm term = converter.convert(goDoc, EnumSet.of(TermField.NAME, TermField.ASPECT));
+
+        assertThat(term.id, is(goDoc.id));
+        assertThat(term.name, is(goDoc.name));
+        assertThat(term.aspect.getShortName(), is(goDoc.aspect));
+        assertThat(term.definition, is(nullValue()));
+        assertThat(term.usage, is(nullValue()));
+        assertThat(term.history, is(nullValue()));
+        assertThat(term.xRefs, is(nullValue()));
+        assertThat(term.blacklist, is(nullValue()));
+    }
+
+    @Test
+    public void convertingAllFieldsIsCompleteConversion() {
+        GOTerm term = converter.convert(goDoc, TermField.ALL);
+
+        assertThat(term.usage, is(goTerm.usage));
+        assertThat(term.history, hasSize(goTerm.history.size()));
+        assertThat(term.blacklist, hasSize(goTerm.blacklist.size()));
+        assertThat(term.proteinComplexes, hasSize(goTerm.proteinComplexes.size()));
+    }
+}
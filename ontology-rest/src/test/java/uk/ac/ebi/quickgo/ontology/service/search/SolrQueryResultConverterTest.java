@@ -21,7 +21,9 @@ import org.mockito.runners.MockitoJUnitRunner;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.core.Is.is;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.when;
 
 /**
@@ -110,6 +112,28 @@ public class SolrQueryResultConverterTest {
         assertThat(results.get(0), is(ecoTerm));
     }
 
+    @Test
+    public void streamedGoSolrDocumentIsConvertedIntoGoTerm() throws Exception {
+        String termId = "GO:0006915";
+        OntologyDocument ontologyDoc = createOntologyDoc(termId, "GO");
+
+        GOTerm goTerm = createGoTerm(termId);
+        when(goConverterMock.convert(any(OntologyDocument.class))).thenReturn(goTerm);
+
+        OBOTerm result = converter.convertDocument(createSolrDocumentForOntologyDoc(ontologyDoc));
+
+        assertThat(result, is(goTerm));
+    }
+
+    @Test
+    public void streamedSolrDocumentOfUnknownOntologyIsNotConverted() throws Exception {
+        OntologyDocument ontologyDoc = createOntologyDoc("XX:0000001", "XX");
+
+        OBOTerm result = converter.convertDocument(createSolrDocumentForOntologyDoc(ontologyDoc));
+
+        assertThat(result, is(nullValue()));
+    }
+
     private void mockSolrDocToOntologyDocConversion(SolrDocumentList solrDocList, List<OntologyDocument> termDocs) {
         when(binderMock.getBeans(OntologyDocument.class, solrDocList)).thenReturn(termDocs);
     }
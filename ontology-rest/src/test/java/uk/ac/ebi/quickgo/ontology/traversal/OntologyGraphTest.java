@@ -21,6 +21,8 @@ import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static uk.ac.ebi.quickgo.ontology.model.OntologyRelationType.*;
@@ -340,6 +342,64 @@ public class OntologyGraphTest {
             checkPathsContains(paths, asList(v2_IS_v5, v5_IS_v6));
         }
 
+        @Test(expected = IllegalArgumentException.class)
+        public void findingPathsWithZeroLimitThrowsException() {
+            setupGraphWith3SimpleRelationships();
+
+            ontologyGraph.paths(ids("1"), ids("3"), 0);
+        }
+
+        @Test
+        public void findLimitedNumberOfPaths() {
+            setupDiamondGraph();
+
+            List<List<OntologyRelationship>> paths = ontologyGraph.paths(ids("1"), ids("4"), 2);
+
+            assertThat(paths, hasSize(2));
+            assertThat(ontologyGraph.paths(ids("1"), ids("4")), hasItems(paths.get(0), paths.get(1)));
+        }
+
+        @Test
+        public void limitGreaterThanNumberOfPathsFindsAllPaths() {
+            setupDiamondGraph();
+
+            List<List<OntologyRelationship>> paths = ontologyGraph.paths(ids("1"), ids("4"), 10);
+
+            assertThat(paths, hasSize(3));
+        }
+
+        @Test
+        public void streamedPathsAreTheSameAsFoundPaths() {
+            setupDiamondGraph();
+
+            List<List<OntologyRelationship>> paths =
+                    ontologyGraph.pathStream(ids("1"), ids("4")).collect(Collectors.toList());
+
+            assertThat(paths, containsInAnyOrder(ontologyGraph.paths(ids("1"), ids("4")).toArray()));
+        }
+
+        @Test
+        public void pathsContinueThroughEndingVertices() {
+            setupGraphWith3SimpleRelationships();
+
+            List<List<OntologyRelationship>> paths = ontologyGraph.paths(ids("1"), ids("2", "3"));
+
+            assertThat(paths, hasSize(4));
+            checkPathsContains(paths, singletonList(v1_CO_v2));
+            checkPathsContains(paths, asList(v1_CO_v2, v2_OI_v3));
+        }
+
+        private void setupDiamondGraph() {
+            ontologyGraph.addRelationships(asList(
+                    createRelationship(id("1"), id("2"), IS_A),
+                    createRelationship(id("1"), id("3"), IS_A),
+                    createRelationship(id("1"), id("4"), IS_A),
+                    createRelationship(id("2"), id("4"), IS_A),
+                    createRelationship(id("3"), id("4"), IS_A),
+                    createRelationship(id("3"), id("5"), IS_A)
+            ));
+        }
+
         private void checkPathsContains(
                 List<List<OntologyRelationship>> paths,
                 List<OntologyRelationship> ontologyRelationships) {
@@ -529,6 +589,33 @@ public class OntologyGraphTest {
                 }
             }
         }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void findingAncestorsOfEachWithNullVerticesThrowsException() {
+            ontologyGraph.ancestorsOfEach(null);
+        }
+
+        @Test
+        public void ancestorsOfEachAreTheAncestorsOfEachVertex() {
+            setupGraphWith3SimpleRelationships();
+
+            Map<String, List<String>> ancestorsOfEach = ontologyGraph.ancestorsOfEach(asList(id("1"), id("2")));
+
+            assertThat(ancestorsOfEach.keySet(), contains(id("1"), id("2")));
+            assertThat(ancestorsOfEach.get(id("1")),
+                    containsInAnyOrder(ontologyGraph.ancestors(ids("1")).toArray()));
+            assertThat(ancestorsOfEach.get(id("2")),
+                    containsInAnyOrder(ontologyGraph.ancestors(ids("2")).toArray()));
+        }
+
+        @Test
+        public void ancestorsOfEachVertexNotInGraphAreEmpty() {
+            setupGraphWith3SimpleRelationships();
+
+            Map<String, List<String>> ancestorsOfEach = ontologyGraph.ancestorsOfEach(singletonList(id("99")));
+
+            assertThat(ancestorsOfEach.get(id("99")), is(empty()));
+        }
     }
 
     public class DescendantTests {
@@ -637,6 +724,43 @@ public class OntologyGraphTest {
             List<String> ancestors = ontologyGraph.descendants(ids("4"), HAS_PART);
             assertThat(ancestors, containsInAnyOrder(id("4"), id("3"), id("2")));
         }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void findingDescendantsOfEachWithNullVerticesThrowsException() {
+            ontologyGraph.descendantsOfEach(null);
+        }
+
+        @Test
+        public void descendantsOfEachAreTheDescendantsOfEachVertexOverComplexGraph() {
+            OntologyRelationship v1_IS_v2 = createRelationship(id("1"), id("2"), IS_A);
+            OntologyRelationship v2_HP_v3 = createRelationship(id("2"), id("3"), HAS_PART);
+            OntologyRelationship v3_HP_v4 = createRelationship(id("3"), id("4"), HAS_PART);
+            OntologyRelationship v1_IS_v5 = createRelationship(id("1"), id("5"), IS_A);
+            OntologyRelationship v5_IS_v3 = createRelationship(id("5"), id("3"), IS_A);
+            OntologyRelationship v7_IS_v8 = createRelationship(id("7"), id("8"), IS_A);
+
+            ontologyGraph.addRelationships(asList(v1_IS_v2, v2_HP_v3, v3_HP_v4, v1_IS_v5, v5_IS_v3, v7_IS_v8));
+
+            List<String> vertices = asList(id("4"), id("3"), id("2"), id("8"));
+            Map<String, List<String>> descendantsOfEach = ontologyGraph.descendantsOfEach(vertices, IS_A, HAS_PART);
+
+            assertThat(descendantsOfEach.keySet(), contains(vertices.toArray()));
+            for (String vertex : vertices) {
+                assertThat(descendantsOfEach.get(vertex), containsInAnyOrder(
+                        ontologyGraph.descendants(Collections.singleton(vertex), IS_A, HAS_PART).toArray()));
+            }
+        }
+
+        @Test
+        public void descendantsOfEachVertexNotInGraphAreEmpty() {
+            setupGraphWith3SimpleRelationships();
+
+            Map<String, List<String>> descendantsOfEach =
+                    ontologyGraph.descendantsOfEach(asList(id("3"), id("99")));
+
+            assertThat(descendantsOfEach.get(id("3")), containsInAnyOrder(id("1"), id("2"), id("3")));
+            assertThat(descendantsOfEach.get(id("99")), is(empty()));
+        }
     }
 
     public class ChildrenTests {
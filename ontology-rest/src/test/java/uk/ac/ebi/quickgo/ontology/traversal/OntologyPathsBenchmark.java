@@ -0,0 +1,176 @@
+package uk.ac.ebi.quickgo.ontology.traversal;
+
+import uk.ac.ebi.quickgo.ontology.model.OntologyRelationType;
+import uk.ac.ebi.quickgo.ontology.model.OntologyRelationship;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import org.jgrapht.DirectedGraph;
+import org.jgrapht.GraphPath;
+import org.jgrapht.alg.AllDirectedPaths;
+import org.jgrapht.graph.ClassBasedEdgeFactory;
+import org.jgrapht.graph.DirectedMultigraph;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <p>Measures the time taken to find the paths between ontology terms using {@link OntologyGraph}, with and without
+ * a limit on the number of paths, compared to enumerating every directed path with JGraphT's
+ * {@link AllDirectedPaths}, and then discarding those over unrequested relations, which it replaces. Run with
+ * {@code -prof gc} to compare the allocation rates.
+ *
+ * <p>The relationships file, which may be gzipped, is given by the system property
+ * {@code benchmark.relations.file}; by default, the small file used by the tests is read. The terms from which, and
+ * to which, paths are found are given as CSVs by {@code benchmark.paths.from} and {@code benchmark.paths.to}; by
+ * default, paths are found from the term with the most ancestors to one of its roots. Run, e.g., with:
+ * <pre>
+ *     java -cp [test classpath] -Dbenchmark.relations.file=/path/to/RELATIONS.dat.gz \
+ *         uk.ac.ebi.quickgo.ontology.traversal.OntologyPathsBenchmark
+ * </pre>
+ *
+ * Created 19/10/26
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class OntologyPathsBenchmark {
+    private static final String RELATIONS_FILE_PROPERTY = "benchmark.relations.file";
+    private static final String FROM_PROPERTY = "benchmark.paths.from";
+    private static final String TO_PROPERTY = "benchmark.paths.to";
+    private static final String DEFAULT_RELATIONS_FILE = "src/test/resources/relations/RELATIONS.dat.gz";
+    private static final String TAB = "\t";
+    private static final String COMMA = ",";
+    private static final int HEADER_LINES = 1;
+    private static final int LIMIT = 100;
+
+    private OntologyGraph ontologyGraph;
+    private DirectedGraph<String, OntologyRelationship> jGraphTGraph;
+    private Set<OntologyRelationType> relations;
+    private Set<String> from;
+    private Set<String> to;
+
+    @Setup
+    public void loadGraph() throws IOException {
+        List<OntologyRelationship> relationships = readRelationships(
+                System.getProperty(RELATIONS_FILE_PROPERTY, DEFAULT_RELATIONS_FILE));
+
+        ontologyGraph = new OntologyGraph();
+        ontologyGraph.addRelationships(relationships);
+
+        jGraphTGraph = new DirectedMultigraph<>(new ClassBasedEdgeFactory<>(OntologyRelationship.class));
+        for (OntologyRelationship relationship : relationships) {
+            jGraphTGraph.addVertex(relationship.child);
+            jGraphTGraph.addVertex(relationship.parent);
+            jGraphTGraph.addEdge(relationship.child, relationship.parent, relationship);
+        }
+
+        relations = new HashSet<>(Arrays.asList(OntologyRelationType.relevantRelations()));
+        from = terms(FROM_PROPERTY, this::termWithMostAncestors);
+        to = terms(TO_PROPERTY, () -> rootOf(from.iterator().next()));
+    }
+
+    @Benchmark
+    public List<List<OntologyRelationship>> allPaths() {
+        return ontologyGraph.paths(from, to);
+    }
+
+    @Benchmark
+    public List<List<OntologyRelationship>> limitedPaths() {
+        return ontologyGraph.paths(from, to, LIMIT);
+    }
+
+    @Benchmark
+    public List<List<OntologyRelationship>> allDirectedPathsThenFilter() {
+        List<List<OntologyRelationship>> paths = new ArrayList<>();
+        for (String start : from) {
+            for (OntologyRelationship edge : jGraphTGraph.outgoingEdgesOf(start)) {
+                if (relations.contains(edge.relationship) && to.contains(edge.parent)) {
+                    paths.add(Collections.singletonList(edge));
+                }
+            }
+        }
+
+        for (GraphPath<String, OntologyRelationship> path :
+                new AllDirectedPaths<>(jGraphTGraph).getAllPaths(from, to, true, null)) {
+            if (path.getEdgeList().stream().allMatch(edge -> relations.contains(edge.relationship))) {
+                paths.add(path.getEdgeList());
+            }
+        }
+        return paths;
+    }
+
+    private Set<String> terms(String property, Supplier<String> defaultTerm) {
+        String terms = System.getProperty(property);
+        return terms == null ?
+                Collections.singleton(defaultTerm.get()) : new HashSet<>(Arrays.asList(terms.split(COMMA)));
+    }
+
+    private String termWithMostAncestors() {
+        String term = null;
+        int mostAncestors = -1;
+        for (String vertex : ontologyGraph.getVertices()) {
+            int ancestors = ontologyGraph.ancestors(Collections.singleton(vertex)).size();
+            if (ancestors > mostAncestors) {
+                term = vertex;
+                mostAncestors = ancestors;
+            }
+        }
+        return term;
+    }
+
+    private String rootOf(String term) {
+        for (String ancestor : ontologyGraph.ancestors(Collections.singleton(term))) {
+            if (!ancestor.equals(term) && jGraphTGraph.outDegreeOf(ancestor) == 0) {
+                return ancestor;
+            }
+        }
+        throw new IllegalStateException("No root found for: " + term);
+    }
+
+    private static List<OntologyRelationship> readRelationships(String file) throws IOException {
+        List<OntologyRelationship> relationships = new ArrayList<>();
+
+        FileInputStream fileStream = new FileInputStream(file);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                file.endsWith(".gz") ? new GZIPInputStream(fileStream) : fileStream, StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                if (lineNumber++ >= HEADER_LINES && !line.trim().isEmpty()) {
+                    String[] columns = line.split(TAB);
+                    relationships.add(new OntologyRelationship(columns[0].trim(), columns[1].trim(),
+                            OntologyRelationType.getByShortName(columns[2].trim())));
+                }
+            }
+        }
+        return relationships;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        List<String> jvmArgs = new ArrayList<>();
+        jvmArgs.add("-D" + RELATIONS_FILE_PROPERTY + "=" +
+                System.getProperty(RELATIONS_FILE_PROPERTY, DEFAULT_RELATIONS_FILE));
+        for (String property : Arrays.asList(FROM_PROPERTY, TO_PROPERTY)) {
+            if (System.getProperty(property) != null) {
+                jvmArgs.add("-D" + property + "=" + System.getProperty(property));
+            }
+        }
+
+        new Runner(new OptionsBuilder()
+                .include(OntologyPathsBenchmark.class.getSimpleName())
+                .jvmArgsAppend(jvmArgs.toArray(new String[jvmArgs.size()]))
+                .build()).run();
+    }
+}
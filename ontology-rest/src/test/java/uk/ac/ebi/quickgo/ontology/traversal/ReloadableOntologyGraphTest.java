@@ -0,0 +1,85 @@
+package uk.ac.ebi.quickgo.ontology.traversal;
+
+import uk.ac.ebi.quickgo.ontology.model.OntologyRelationType;
+import uk.ac.ebi.quickgo.ontology.model.OntologyRelationship;
+
+import java.util.Collections;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+/**
+ * Created 19/10/26
+ */
+public class ReloadableOntologyGraphTest {
+    private static final String RELEASE_1 = "2026-10-19T10:00:00Z";
+    private static final String RELEASE_2 = "2026-11-19T10:00:00Z";
+
+    private OntologyGraph release1Graph;
+    private OntologyGraph release2Graph;
+    private ReloadableOntologyGraph reloadableGraph;
+
+    @Before
+    public void setUp() {
+        release1Graph = graphOf(new OntologyRelationship("GO:0000001", "GO:0000002", OntologyRelationType.IS_A));
+        release2Graph = graphOf(new OntologyRelationship("GO:0000001", "GO:0000003", OntologyRelationType.IS_A));
+        reloadableGraph = new ReloadableOntologyGraph(release1Graph, RELEASE_1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullGraphThrowsException() {
+        new ReloadableOntologyGraph(null, RELEASE_1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void emptyReleaseThrowsException() {
+        reloadableGraph.replace(release2Graph, " ");
+    }
+
+    @Test
+    public void traversesInitialGraph() {
+        assertThat(reloadableGraph.getRelease(), is(RELEASE_1));
+        assertThat(reloadableGraph.ancestors(Collections.singleton("GO:0000001")),
+                containsInAnyOrder("GO:0000001", "GO:0000002"));
+    }
+
+    @Test
+    public void traversesRelationshipsAddedToInitiallyEmptyGraph() {
+        ReloadableOntologyGraph emptyGraph = new ReloadableOntologyGraph(RELEASE_1);
+
+        emptyGraph.addRelationships(Collections.singletonList(
+                new OntologyRelationship("GO:0000001", "GO:0000002", OntologyRelationType.IS_A)));
+
+        assertThat(emptyGraph.ancestors(Collections.singleton("GO:0000001")),
+                containsInAnyOrder("GO:0000001", "GO:0000002"));
+    }
+
+    @Test
+    public void traversesReplacementGraph() {
+        reloadableGraph.replace(release2Graph, RELEASE_2);
+
+        assertThat(reloadableGraph.getRelease(), is(RELEASE_2));
+        assertThat(reloadableGraph.ancestors(Collections.singleton("GO:0000001")),
+                containsInAnyOrder("GO:0000001", "GO:0000003"));
+    }
+
+    @Test
+    public void snapshotIsUnaffectedByReplacement() {
+        OntologyGraphTraversal snapshot = reloadableGraph.snapshot();
+
+        reloadableGraph.replace(release2Graph, RELEASE_2);
+
+        assertThat(snapshot, is(sameInstance(release1Graph)));
+        assertThat(reloadableGraph.snapshot(), is(sameInstance(release2Graph)));
+    }
+
+    private static OntologyGraph graphOf(OntologyRelationship relationship) {
+        OntologyGraph graph = new OntologyGraph();
+        graph.addRelationships(Collections.singletonList(relationship));
+        return graph;
+    }
+}
@@ -1,6 +1,7 @@
 package uk.ac.ebi.quickgo.ontology.traversal.read;
 
 import uk.ac.ebi.quickgo.ontology.traversal.OntologyGraph;
+import uk.ac.ebi.quickgo.ontology.traversal.ReloadableOntologyGraph;
 
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -19,8 +20,8 @@ import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.springframework.test.util.MatcherAssertionErrors.assertThat;
 
 /**
- * Check that the {@link OntologyGraphConfig} correctly sets up an instance of
- * {@link OntologyGraph}, by reading test data resources.
+ * Check that the {@link OntologyGraphConfig} correctly sets up the initial {@link OntologyGraph} of the
+ * {@link ReloadableOntologyGraph}, by reading test data resources.
  *
  * Created 18/05/16
  * @author Edd
@@ -35,7 +36,7 @@ public class OntologyGraphConfigIT {
     private JobLauncherTestUtils jobLauncherTestUtils;
 
     @Autowired
-    private OntologyGraph ontologyGraph;
+    private ReloadableOntologyGraph ontologyGraphTraversal;
 
     @Test
     public void runOntologyGraphLoading() throws Exception {
@@ -45,6 +46,8 @@ public class OntologyGraphConfigIT {
 
         assertThat(status, is(BatchStatus.COMPLETED));
 
+        OntologyGraph ontologyGraph = (OntologyGraph) ontologyGraphTraversal.snapshot();
+
         assertThat(ontologyGraph.getVertices(),
                 containsInAnyOrder(
                         "GO:0000001", "GO:0048308",
@@ -3,6 +3,7 @@ package uk.ac.ebi.quickgo.ontology.traversal.read;
 import uk.ac.ebi.quickgo.ontology.model.OntologyRelationType;
 import uk.ac.ebi.quickgo.ontology.model.OntologyRelationship;
 import uk.ac.ebi.quickgo.ontology.traversal.OntologyGraph;
+import uk.ac.ebi.quickgo.ontology.traversal.ReloadableOntologyGraph;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -37,6 +38,16 @@ public class OntologyGraphPopulatorTest {
         assertThat(ontologyGraph.getVertices().size(), is(equalTo(max * 2)));
     }
 
+    @Test
+    public void currentGraphOfReloadableGraphIsPopulated() throws Exception {
+        ReloadableOntologyGraph reloadableGraph = new ReloadableOntologyGraph(ontologyGraph, "release");
+        int max = 10;
+
+        new OntologyGraphPopulator(reloadableGraph).write(createOntologyTuples(max));
+
+        assertThat(ontologyGraph.getVertices().size(), is(equalTo(max * 2)));
+    }
+
     private List<OntologyRelationship> createOntologyTuples(int max) {
         List<OntologyRelationship> tuples = new ArrayList<>();
         for (int i = 0; i < max; i++) {
@@ -0,0 +1,146 @@
+package uk.ac.ebi.quickgo.ontology.traversal.read;
+
+import uk.ac.ebi.quickgo.ff.loader.ontology.OntologyGraphicsSourceLoader;
+import uk.ac.ebi.quickgo.ontology.traversal.OntologyGraph;
+import uk.ac.ebi.quickgo.ontology.traversal.ReloadableOntologyGraph;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.zip.GZIPOutputStream;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static uk.ac.ebi.quickgo.ontology.traversal.read.OntologyGraphReloader.UNKNOWN_RELEASE;
+
+/**
+ * Created 19/10/26
+ */
+public class OntologyGraphReloaderTest {
+    private static final String HEADER = "CHILD_ID\tPARENT_ID\tRELATION_TYPE";
+    private static final String INITIAL_RELEASE = "initial";
+    private static final long MODIFIED_TIME = 1792404000000L;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File source;
+    private OntologyGraph initialGraph;
+    private ReloadableOntologyGraph ontologyGraph;
+    private OntologyGraphReloader reloader;
+
+    @Before
+    public void setUp() throws IOException {
+        source = temporaryFolder.newFile("RELATIONS.dat.gz");
+        initialGraph = new OntologyGraph();
+        ontologyGraph = new ReloadableOntologyGraph(initialGraph, INITIAL_RELEASE);
+        reloader = new OntologyGraphReloader(ontologyGraph, new Resource[]{new FileSystemResource(source)}, 1, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullOntologyGraphThrowsException() {
+        new OntologyGraphReloader(null, new Resource[0], 1, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullResourcesThrowsException() {
+        new OntologyGraphReloader(ontologyGraph, null, 1, 0);
+    }
+
+    @Test
+    public void releaseIsWhenSourcesWereLastModified() throws IOException {
+        writeSource("GO:0000001\tGO:0000002\tI");
+
+        assertThat(OntologyGraphReloader.releaseOf(new Resource[]{new FileSystemResource(source)}),
+                is(Instant.ofEpochMilli(MODIFIED_TIME).toString()));
+    }
+
+    @Test
+    public void releaseOfMissingSourcesIsUnknown() {
+        Resource missing = new FileSystemResource(new File(temporaryFolder.getRoot(), "missing.dat.gz"));
+
+        assertThat(OntologyGraphReloader.releaseOf(new Resource[]{missing}), is(UNKNOWN_RELEASE));
+    }
+
+    @Test
+    public void reloadReplacesGraphAndRelease() throws IOException {
+        writeSource("GO:0000001\tGO:0000002\tI", "", "GO:0000002\tGO:0000003\tP");
+
+        String release = reloader.reload();
+
+        assertThat(release, is(Instant.ofEpochMilli(MODIFIED_TIME).toString()));
+        assertThat(ontologyGraph.getRelease(), is(release));
+        assertThat(ontologyGraph.ancestors(Collections.singleton("GO:0000001")),
+                containsInAnyOrder("GO:0000001", "GO:0000002", "GO:0000003"));
+    }
+
+    @Test
+    public void failedReloadKeepsCurrentGraphAndRelease() throws IOException {
+        writeSource("GO:0000001\tGO:0000002\tI", "GO:0000002\tGO:0000003\tNOT_A_RELATION");
+
+        try {
+            reloader.reload();
+            throw new AssertionError("Expected reload to fail");
+        } catch (IOException e) {
+            assertThat(ontologyGraph.getRelease(), is(INITIAL_RELEASE));
+            assertThat(ontologyGraph.snapshot(), is(sameInstance(initialGraph)));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullGraphicsSourceLoaderThrowsException() {
+        reloader.setGraphicsSourceLoader(null);
+    }
+
+    @Test
+    public void reloadReloadsGraphicsSources() throws IOException {
+        OntologyGraphicsSourceLoader graphicsSourceLoader = mock(OntologyGraphicsSourceLoader.class);
+        reloader.setGraphicsSourceLoader(graphicsSourceLoader);
+        writeSource("GO:0000001\tGO:0000002\tI");
+
+        reloader.reload();
+
+        verify(graphicsSourceLoader).reload();
+    }
+
+    @Test
+    public void failedReloadOfGraphicsSourcesKeepsCurrentGraphAndRelease() throws IOException {
+        OntologyGraphicsSourceLoader graphicsSourceLoader = mock(OntologyGraphicsSourceLoader.class);
+        doThrow(new IOException("Invalid graphics source")).when(graphicsSourceLoader).reload();
+        reloader.setGraphicsSourceLoader(graphicsSourceLoader);
+        writeSource("GO:0000001\tGO:0000002\tI");
+
+        try {
+            reloader.reload();
+            throw new AssertionError("Expected reload to fail");
+        } catch (IOException e) {
+            assertThat(ontologyGraph.getRelease(), is(INITIAL_RELEASE));
+            assertThat(ontologyGraph.snapshot(), is(sameInstance(initialGraph)));
+        }
+    }
+
+    private void writeSource(String... lines) throws IOException {
+        try (OutputStream output = new GZIPOutputStream(new FileOutputStream(source))) {
+            output.write((HEADER + "\n").getBytes(StandardCharsets.UTF_8));
+            for (String line : lines) {
+                output.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        assertThat(source.setLastModified(MODIFIED_TIME), is(true));
+    }
+}
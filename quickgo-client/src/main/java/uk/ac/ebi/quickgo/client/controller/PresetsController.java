@@ -1,16 +1,15 @@
 package uk.ac.ebi.quickgo.client.controller;
 
+import uk.ac.ebi.quickgo.client.controller.PresetsResponseRenderer.RenderedPresets;
 import uk.ac.ebi.quickgo.client.model.presets.CompositePreset;
 
-import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
-import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
 import io.swagger.annotations.ApiOperation;
-import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
-import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -22,19 +21,29 @@ import static com.google.common.base.Preconditions.checkArgument;
  * This controller details to the QuickGO client specific preset information about the QuickGO project, including
  * valid filtering values that are ordered by relevance.
  *
+ * <p>Preset information only changes when it is loaded at start-up, so responses are pre-rendered by a
+ * {@link PresetsResponseRenderer}, and written directly to the client.
+ *
  * Created 05/09/16
  * @author Edd
  */
 @RestController
 @RequestMapping(value = "/internal/presets")
 public class PresetsController {
-    private final CompositePreset presets;
+    private static final String GZIP_ENCODING = "gzip";
+    private static final String LEGACY_GZIP_ENCODING = "x-gzip";
+    private static final String ANY = "*";
+    private static final String WEAK_PREFIX = "W/";
+    private static final String QUALITY_PARAMETER = "q=";
+    private static final MediaType JSON_UTF8 = MediaType.APPLICATION_JSON_UTF8;
+
+    private final PresetsResponseRenderer presetsRenderer;
 
     @Autowired
-    public PresetsController(CompositePreset presets) {
-        checkArgument(presets != null, "Preset information cannot be null");
+    public PresetsController(PresetsResponseRenderer presetsRenderer) {
+        checkArgument(presetsRenderer != null, "Preset information cannot be null");
 
-        this.presets = presets;
+        this.presetsRenderer = presetsRenderer;
     }
 
     /**
@@ -42,51 +51,109 @@ public class PresetsController {
      * ordered by relevancy.
      *
      * @param fields the preset fields wanted. If empty, all fields are returned
-     * @return a populated instance that encapsulates the preset information
+     * @param ifNoneMatch the ETag of a previously retrieved response held by the client, if any
+     * @param acceptEncoding the encodings accepted by the client
+     * @return the pre-rendered JSON representation of the {@link CompositePreset} preset information
      */
     @ApiOperation(value = "Provides preset filtering information indicating valid terms and a corresponding " +
             "description; all of which are ordered by relevancy.")
     @RequestMapping(method = {RequestMethod.GET}, produces = {MediaType.APPLICATION_JSON_VALUE})
-    public FilteredCompositePreset compositePreset(@RequestParam(name = "fields", required = false) String... fields) {
-        return createFilteredPreset(fields);
+    public ResponseEntity<byte[]> compositePreset(
+            @RequestParam(name = "fields", required = false) String[] fields,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        RenderedPresets renderedPresets = presetsRenderer.render(fields);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(renderedPresets.getETag());
+        headers.set(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (matchesAnyETag(ifNoneMatch, renderedPresets.getETag())) {
+            return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+        }
+
+        headers.setContentType(JSON_UTF8);
+        byte[] body;
+        if (acceptsGzip(acceptEncoding)) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, GZIP_ENCODING);
+            body = renderedPresets.getGzippedJson();
+        } else {
+            body = renderedPresets.getJson();
+        }
+        headers.setContentLength(body.length);
+
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
     }
 
     /**
-     * Creates a filtered version of the {@link CompositePreset} instance, which, when serialized to the
-     * end-point, will show only the fields desired by the user.
-     * @param fields the fields required by the user. If the value is null, all fields will be shown.
-     * @return the filtered {@link CompositePreset} instance, showing only the desired fields.
+     * Tests whether an If-None-Match header matches an ETag, by the weak comparison that RFC 7232 specifies for
+     * this header: the header is {@value #ANY}, or one of its comma separated ETags is the same, ignoring a weak
+     * indicator.
      */
-    private FilteredCompositePreset createFilteredPreset(String[] fields) {
-        FilteredCompositePreset filteredPreset = new FilteredCompositePreset(presets);
-        if (fields != null) {
-            filteredPreset.showFields(fields);
+    static boolean matchesAnyETag(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+
+        String opaqueTag = withoutWeakPrefix(eTag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals(ANY) || withoutWeakPrefix(tag).equals(opaqueTag)) {
+                return true;
+            }
         }
-        return filteredPreset;
+        return false;
     }
 
-    private static class FilteredCompositePreset extends MappingJacksonValue {
-        private static final String COMPOSITE_PRESET_FILTER = "CompositePreset";
+    /**
+     * Tests whether an Accept-Encoding header accepts gzip: it does if gzip is listed with a quality greater than 0,
+     * or, if gzip is not listed, {@value #ANY} is listed with a quality greater than 0.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
 
-        FilteredCompositePreset(CompositePreset compositePreset) {
-            super(compositePreset);
+        Float gzipQuality = null;
+        Float anyQuality = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            String name = parameters[0].trim().toLowerCase();
+            Float quality = quality(parameters);
+            if (quality == null) {
+                continue;
+            }
 
-            checkArgument(compositePreset != null, "CompositePreset cannot be null");
-            this.setFilters(filterNothing());
+            if (name.equals(GZIP_ENCODING) || name.equals(LEGACY_GZIP_ENCODING)) {
+                gzipQuality = gzipQuality == null ? quality : Math.max(gzipQuality, quality);
+            } else if (name.equals(ANY)) {
+                anyQuality = quality;
+            }
         }
 
-        private static SimpleFilterProvider filterNothing() {
-            return new SimpleFilterProvider().addFilter(COMPOSITE_PRESET_FILTER, SimpleBeanPropertyFilter.serializeAllExcept());
-        }
+        Float quality = gzipQuality != null ? gzipQuality : anyQuality;
+        return quality != null && quality > 0;
+    }
 
-        void showFields(String[] csvFields) {
-            Set<String> fieldsSet = Stream.of(csvFields).collect(Collectors.toSet());
-            if (fieldsSet.size() > 0) {
-                SimpleFilterProvider filterProvider =
-                        new SimpleFilterProvider()
-                                .addFilter(COMPOSITE_PRESET_FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(fieldsSet));
-                this.setFilters(filterProvider);
+    /**
+     * @return the quality of a coding, which is 1 if it has none, or null if its quality is not a valid number
+     */
+    private static Float quality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].trim().toLowerCase();
+            if (parameter.startsWith(QUALITY_PARAMETER)) {
+                try {
+                    float quality = Float.parseFloat(parameter.substring(QUALITY_PARAMETER.length()).trim());
+                    return quality >= 0 && quality <= 1 ? quality : null;
+                } catch (NumberFormatException e) {
+                    return null;
+                }
             }
         }
+        return 1f;
+    }
+
+    private static String withoutWeakPrefix(String eTag) {
+        return eTag.startsWith(WEAK_PREFIX) ? eTag.substring(WEAK_PREFIX.length()) : eTag;
     }
 }
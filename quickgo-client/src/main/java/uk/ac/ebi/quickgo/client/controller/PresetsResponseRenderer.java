@@ -0,0 +1,221 @@
+package uk.ac.ebi.quickgo.client.controller;
+
+import uk.ac.ebi.quickgo.client.model.presets.CompositePreset;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.google.common.hash.Hashing;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * <p>Pre-renders the JSON representation of a {@link CompositePreset}, so that serving preset information to the
+ * client does not require serialising the presets on every request.
+ *
+ * <p>Preset data only changes when the preset loading job runs at start-up. Once the application is ready, each
+ * top level preset field is serialised once, into a UTF-8 JSON fragment. Responses for a given combination of
+ * fields are built by joining these fragments, in the same order as a full serialisation would produce, and are
+ * then memoised together with their gzip encoding and an ETag.
+ *
+ * <p>Requests received before the application is ready are rendered on demand, and are not memoised.
+ *
+ * Created 19/10/26
+ */
+@Component
+public class PresetsResponseRenderer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PresetsResponseRenderer.class);
+    private static final String COMPOSITE_PRESET_FILTER = "CompositePreset";
+
+    private final CompositePreset presets;
+    private final ObjectMapper objectMapper;
+
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public PresetsResponseRenderer(CompositePreset presets, ObjectMapper objectMapper) {
+        checkArgument(presets != null, "Preset information cannot be null");
+        checkArgument(objectMapper != null, "ObjectMapper cannot be null");
+
+        this.presets = presets;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Re-renders the preset fragments once all start-up tasks, including the loading of presets, have completed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    /**
+     * Discards any previously rendered responses, and renders the fragments for the current state of the presets.
+     */
+    public void refresh() {
+        this.snapshot = createSnapshot();
+        LOGGER.info("Pre-rendered {} preset fields", snapshot.fragments.size());
+    }
+
+    /**
+     * Provides the rendered response containing only the requested preset fields.
+     *
+     * @param fields the preset fields wanted. If null or empty, all fields are returned. Unknown fields are ignored.
+     * @return the rendered response
+     */
+    public RenderedPresets render(String... fields) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return createSnapshot().render(fields);
+        }
+        return current.render(fields);
+    }
+
+    private Snapshot createSnapshot() {
+        SimpleFilterProvider filterNothing = new SimpleFilterProvider()
+                .addFilter(COMPOSITE_PRESET_FILTER, SimpleBeanPropertyFilter.serializeAllExcept());
+
+        try {
+            byte[] fullPresets = objectMapper.writer(filterNothing).writeValueAsBytes(presets);
+            JsonNode presetsNode = objectMapper.readTree(fullPresets);
+
+            Map<String, byte[]> fragments = new LinkedHashMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fieldIterator = presetsNode.fields();
+            while (fieldIterator.hasNext()) {
+                Map.Entry<String, JsonNode> field = fieldIterator.next();
+                fragments.put(field.getKey(), createFragment(field.getKey(), field.getValue()));
+            }
+
+            return new Snapshot(fragments);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to render presets", e);
+        }
+    }
+
+    private byte[] createFragment(String name, JsonNode value) throws JsonProcessingException {
+        ByteArrayOutputStream fragment = new ByteArrayOutputStream();
+        byte[] nameBytes = objectMapper.writeValueAsBytes(name);
+        fragment.write(nameBytes, 0, nameBytes.length);
+        fragment.write(':');
+        byte[] valueBytes = objectMapper.writeValueAsBytes(value);
+        fragment.write(valueBytes, 0, valueBytes.length);
+        return fragment.toByteArray();
+    }
+
+    /**
+     * An immutable view of the rendered preset fragments, which memoises the responses created from them.
+     */
+    private static class Snapshot {
+        private final Map<String, byte[]> fragments;
+        private final ConcurrentMap<List<String>, RenderedPresets> responses;
+
+        Snapshot(Map<String, byte[]> fragments) {
+            this.fragments = Collections.unmodifiableMap(fragments);
+            this.responses = new ConcurrentHashMap<>();
+        }
+
+        RenderedPresets render(String[] fields) {
+            return responses.computeIfAbsent(selectFields(fields), this::join);
+        }
+
+        /**
+         * Selects the known fields that were requested, in serialisation order, so that equivalent requests share
+         * the same memoised response.
+         */
+        private List<String> selectFields(String[] fields) {
+            Set<String> requestedFields =
+                    fields == null ? Collections.<String>emptySet() : new HashSet<>(Arrays.asList(fields));
+            if (requestedFields.isEmpty()) {
+                return new ArrayList<>(fragments.keySet());
+            }
+
+            List<String> selectedFields = new ArrayList<>();
+            for (String field : fragments.keySet()) {
+                if (requestedFields.contains(field)) {
+                    selectedFields.add(field);
+                }
+            }
+            return selectedFields;
+        }
+
+        private RenderedPresets join(List<String> selectedFields) {
+            ByteArrayOutputStream json = new ByteArrayOutputStream();
+            json.write('{');
+            boolean first = true;
+            for (String field : selectedFields) {
+                if (!first) {
+                    json.write(',');
+                }
+                byte[] fragment = fragments.get(field);
+                json.write(fragment, 0, fragment.length);
+                first = false;
+            }
+            json.write('}');
+
+            return new RenderedPresets(json.toByteArray());
+        }
+    }
+
+    /**
+     * A rendered preset response, holding its plain and gzip encoded UTF-8 JSON bytes, and its ETag.
+     */
+    public static class RenderedPresets {
+        private final byte[] json;
+        private final byte[] gzippedJson;
+        private final String eTag;
+
+        RenderedPresets(byte[] json) {
+            this.json = json;
+            this.gzippedJson = gzip(json);
+            this.eTag = "\"" + Hashing.md5().hashBytes(json).toString() + "\"";
+        }
+
+        /**
+         * The returned array is shared between requests, and must not be modified.
+         */
+        byte[] getJson() {
+            return json;
+        }
+
+        /**
+         * The returned array is shared between requests, and must not be modified.
+         */
+        byte[] getGzippedJson() {
+            return gzippedJson;
+        }
+
+        String getETag() {
+            return eTag;
+        }
+
+        String asString() {
+            return new String(json, StandardCharsets.UTF_8);
+        }
+
+        private static byte[] gzip(byte[] bytes) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzipStream = new GZIPOutputStream(compressed)) {
+                gzipStream.write(bytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to compress presets", e);
+            }
+            return compressed.toByteArray();
+        }
+    }
+}
@@ -5,6 +5,7 @@ import io.swagger.annotations.ApiOperation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -15,6 +16,7 @@ import org.springframework.web.bind.annotation.RestController;
 import uk.ac.ebi.quickgo.client.model.ontology.OntologyRequest;
 import uk.ac.ebi.quickgo.client.model.ontology.OntologyTerm;
 import uk.ac.ebi.quickgo.client.service.search.SearchServiceConfig;
+import uk.ac.ebi.quickgo.client.service.search.ontology.InMemoryOntologySearch;
 import uk.ac.ebi.quickgo.rest.ParameterBindingException;
 import uk.ac.ebi.quickgo.rest.search.DefaultSearchQueryTemplate;
 import uk.ac.ebi.quickgo.rest.search.SearchService;
@@ -45,20 +47,24 @@ public class SearchController {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
     private final SearchService<OntologyTerm> ontologySearchService;
+    private final InMemoryOntologySearch inMemoryOntologySearch;
     private final DefaultSearchQueryTemplate requestTemplate;
     private final FilterConverterFactory converterFactory;
 
     @Autowired
     public SearchController(
             SearchService<OntologyTerm> ontologySearchService,
+            InMemoryOntologySearch inMemoryOntologySearch,
             SearchServiceConfig.OntologyCompositeRetrievalConfig ontologyRetrievalConfig,
             FilterConverterFactory converterFactory) {
 
         Preconditions.checkArgument(ontologySearchService != null, "Ontology search service cannot be null");
+        Preconditions.checkArgument(inMemoryOntologySearch != null, "In-memory ontology search cannot be null");
         Preconditions.checkArgument(ontologyRetrievalConfig != null, "Ontology retrieval configuration cannot be null");
         Preconditions.checkArgument(converterFactory != null, "Ontology converter factory cannot be null");
 
         this.ontologySearchService = ontologySearchService;
+        this.inMemoryOntologySearch = inMemoryOntologySearch;
         this.converterFactory = converterFactory;
 
         this.requestTemplate = new DefaultSearchQueryTemplate();
@@ -69,7 +75,8 @@ public class SearchController {
     }
 
     /**
-     * Perform a custom client search
+     * Perform a custom client search. Requests are answered from memory when the in-memory ontology index is
+     * enabled and able to answer them, and by Solr otherwise.
      *
      * @param request an object that wraps all possible configurations for this endpoint
      * @return the search results
@@ -84,6 +91,10 @@ public class SearchController {
             throw new ParameterBindingException(bindingResult);
         }
 
+        if (inMemoryOntologySearch.canSearch(request)) {
+            return new ResponseEntity<>(inMemoryOntologySearch.search(request), HttpStatus.OK);
+        }
+
         DefaultSearchQueryTemplate.Builder requestBuilder = requestTemplate.newBuilder()
                 .setQuery(request.createQuery())
                 .addFacets(request.getFacet() == null ? null : Arrays.asList(request.getFacet()))
@@ -50,27 +50,58 @@ import static uk.ac.ebi.quickgo.client.model.presets.PresetType.*;
  *     ]</li>
  * </ul>
  *
+ * <p>Presets can be added directly, or staged: after {@link #startStaging()} is called, added presets are not visible
+ * until {@link #publishStaged()} atomically replaces all published presets with the staged ones. This allows presets
+ * to be loaded concurrently, while never exposing a partially loaded set of presets.
+ *
  * Created 30/08/16
  * @author Edd
  */
 public class CompositePresetImpl implements CompositePreset {
     public static final String QUALIFIER_NEGATE = "NOT|";
-    private final EnumMap<PresetType, Set<PresetItem>> presetsMap;
+    private volatile EnumMap<PresetType, Set<PresetItem>> presetsMap;
+    private volatile EnumMap<PresetType, Set<PresetItem>> stagedPresetsMap;
 
     public CompositePresetImpl() {
-        presetsMap = new EnumMap<>(PresetType.class);
+        presetsMap = createPresetsMap();
+    }
 
-        for (PresetType presetType : PresetType.values()) {
-            presetsMap.put(presetType, new LinkedHashSet<>());
+    public void addPreset(PresetType presetType, PresetItem presetItem) {
+        checkArgument(presetItem != null, "PresetItem cannot be null");
+
+        EnumMap<PresetType, Set<PresetItem>> staged = stagedPresetsMap;
+        if (staged != null) {
+            staged.get(presetType).add(presetItem);
+        } else {
+            presetsMap.get(presetType).add(presetItem);
         }
+    }
 
-        initialiseStaticPresets();
+    /**
+     * Starts staging presets: subsequently added presets are held back until {@link #publishStaged()} is called.
+     * Any previously staged presets are discarded.
+     */
+    public synchronized void startStaging() {
+        stagedPresetsMap = createPresetsMap();
     }
 
-    public void addPreset(PresetType presetType, PresetItem presetItem) {
-        checkArgument(presetItem != null, "PresetItem cannot be null");
+    /**
+     * Atomically replaces the published presets with those staged since {@link #startStaging()}, and stops staging.
+     * If staging was not started, the published presets are left unchanged.
+     */
+    public synchronized void publishStaged() {
+        if (stagedPresetsMap != null) {
+            presetsMap = stagedPresetsMap;
+            stagedPresetsMap = null;
+        }
+    }
 
-        presetsMap.get(presetType).add(presetItem);
+    /**
+     * Discards the presets staged since {@link #startStaging()}, and stops staging, leaving the published presets
+     * unchanged.
+     */
+    public synchronized void discardStaged() {
+        stagedPresetsMap = null;
     }
 
     @Override public List<PresetItem> getAssignedBy() {
@@ -123,9 +154,21 @@ public class CompositePresetImpl implements CompositePreset {
         return sortedPresetItems(EXT_DATABASES);
     }
 
-    private void initialiseStaticPresets() {
-        presetsMap.put(ASPECTS, StaticAspects.createAspects());
-        presetsMap.put(GENE_PRODUCT_TYPES, StaticGeneProductTypes.createGeneProductTypes());
+    /**
+     * Creates an empty store of presets, containing only the static presets. Since presets of different types may be
+     * loaded concurrently, each set of presets is synchronized.
+     * @return the map of presets
+     */
+    private static EnumMap<PresetType, Set<PresetItem>> createPresetsMap() {
+        EnumMap<PresetType, Set<PresetItem>> presets = new EnumMap<>(PresetType.class);
+
+        for (PresetType presetType : PresetType.values()) {
+            presets.put(presetType, Collections.synchronizedSet(new LinkedHashSet<>()));
+        }
+
+        presets.put(ASPECTS, StaticAspects.createAspects());
+        presets.put(GENE_PRODUCT_TYPES, StaticGeneProductTypes.createGeneProductTypes());
+        return presets;
     }
 
     /**
@@ -52,6 +52,8 @@ public class LogJobListener implements JobExecutionListener {
         long writeCount = 0L;
 
         for (StepExecution execution : jobExecution.getStepExecutions()) {
+            LOGGER.info("Step duration : {} ms ({})", LogStepListener.durationMillis(execution),
+                    execution.getStepName());
             writeSkips += execution.getWriteSkipCount();
             readSkips += execution.getReadSkipCount();
             readCount += execution.getReadCount();
@@ -27,8 +27,18 @@ public class LogStepListener implements StepExecutionListener {
         LOGGER.info("Skip count    : {} ({} read / {} processing /{} write)", stepExecution.getSkipCount(),
                 stepExecution.getReadSkipCount(), stepExecution.getProcessSkipCount(),
                 stepExecution.getWriteSkipCount());
+        LOGGER.info("Duration      : {} ms", durationMillis(stepExecution));
         LOGGER.info("Exit status   : {}", stepExecution.getExitStatus().getExitCode());
         LOGGER.info("=====================================================");
         return stepExecution.getExitStatus();
     }
+
+    /**
+     * Steps are still running when {@link #afterStep(StepExecution)} is called, so their end time is not yet set.
+     */
+    static long durationMillis(StepExecution stepExecution) {
+        long endTime = stepExecution.getEndTime() == null ?
+                System.currentTimeMillis() : stepExecution.getEndTime().getTime();
+        return endTime - stepExecution.getStartTime().getTime();
+    }
 }
@@ -2,21 +2,34 @@ package uk.ac.ebi.quickgo.client.service.loader.presets;
 
 import uk.ac.ebi.quickgo.client.model.presets.impl.CompositePresetImpl;
 
-import java.util.Iterator;
-import java.util.List;
+import java.util.*;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
 import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
-import org.springframework.batch.core.job.builder.JobBuilder;
-import org.springframework.batch.core.job.builder.SimpleJobBuilder;
+import org.springframework.batch.core.job.builder.FlowBuilder;
+import org.springframework.batch.core.job.flow.Flow;
+import org.springframework.batch.core.job.flow.support.SimpleFlow;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static uk.ac.ebi.quickgo.client.service.loader.presets.reference.ReferencePresetsConfig.CORE_REFERENCE_DB_LOADING_STEP_NAME;
+import static uk.ac.ebi.quickgo.client.service.loader.presets.reference.ReferencePresetsConfig.SPECIFIC_REFERENCE_LOADING_STEP_NAME;
 
 /**
  * Exposes a Spring Batch {@link Job} that, when run, will read and populate a {@link CompositePresetImpl}
  * instance, which provides user information about all preset data for QuickGO filtering.
  *
+ * <p>The preset steps are independent of each other, and so are run concurrently, as branches of a split flow
+ * executed by a bounded {@link TaskExecutor}. Steps that populate the same preset information are listed in
+ * {@link #SEQUENTIAL_STEP_GROUPS}, and run in order within a single branch. The loaded presets are only published
+ * once every branch has finished.
+ *
  * Created 18/05/16
  * @author Edd
  */
@@ -28,32 +41,91 @@ public class PresetsConfig {
     public static final int SKIP_LIMIT = 0;
     static final String TAB_DELIMITER = "\t";
     private static final String PRESET_LOADING_JOB_NAME = "PresetReadingJob";
+    private static final String PRESET_LOADING_SPLIT_FLOW_NAME = "PresetReadingSplitFlow";
+    private static final String PRESET_LOADING_THREAD_PREFIX = "preset-loading-";
+
+    /**
+     * Groups of steps that must run one after the other, in the order given.
+     */
+    static final List<List<String>> SEQUENTIAL_STEP_GROUPS = singletonList(
+            asList(CORE_REFERENCE_DB_LOADING_STEP_NAME, SPECIFIC_REFERENCE_LOADING_STEP_NAME));
+
+    @Value("${preset.loading.threads:4}")
+    private int presetLoadingThreads;
+
+    @Bean
+    public TaskExecutor presetsTaskExecutor() {
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(presetLoadingThreads);
+        taskExecutor.setMaxPoolSize(presetLoadingThreads);
+        taskExecutor.setThreadNamePrefix(PRESET_LOADING_THREAD_PREFIX);
+        return taskExecutor;
+    }
 
     @Bean
     public Job presetsBuildJob(
             JobBuilderFactory jobBuilderFactory,
-            List<Step> presetSteps) {
-        JobBuilder jobBuilder = jobBuilderFactory.get(PRESET_LOADING_JOB_NAME);
+            List<Step> presetSteps,
+            CompositePresetImpl presets) {
+        if (presetSteps.isEmpty()) {
+            throw new IllegalStateException("PresetsBuildJob could not be created");
+        }
 
-        SimpleJobBuilder simpleJobBuilder = null;
-        Iterator<Step> presetsIterator = presetSteps.iterator();
+        Flow splitFlow = new FlowBuilder<SimpleFlow>(PRESET_LOADING_SPLIT_FLOW_NAME)
+                .split(presetsTaskExecutor())
+                .add(branches(presetSteps))
+                .build();
 
-        // first job step
-        if (presetsIterator.hasNext()) {
-            Step firstStep = presetsIterator.next();
-            simpleJobBuilder = jobBuilder.start(firstStep);
+        return jobBuilderFactory.get(PRESET_LOADING_JOB_NAME)
+                .start(splitFlow)
+                .end()
+                .listener(PresetsConfigHelper.logJobListener())
+                .listener(PresetsConfigHelper.publishPresetsJobListener(presets))
+                .build();
+    }
+
+    /**
+     * Creates the branches of the split flow: one per step, except for the steps within a
+     * {@link #SEQUENTIAL_STEP_GROUPS} group, which share a branch.
+     *
+     * @param presetSteps the steps to run
+     * @return the branches to run concurrently
+     */
+    static Flow[] branches(List<Step> presetSteps) {
+        Map<String, List<Step>> stepsByBranch = new LinkedHashMap<>();
+        for (Step step : presetSteps) {
+            stepsByBranch.computeIfAbsent(branchName(step.getName()), name -> new ArrayList<>()).add(step);
         }
 
-        // other job steps
-        if (simpleJobBuilder != null) {
-            while (presetsIterator.hasNext()) {
-                simpleJobBuilder.next(presetsIterator.next());
-            }
-            return simpleJobBuilder
-                    .listener(PresetsConfigHelper.logJobListener())
-                    .build();
+        return stepsByBranch.entrySet().stream()
+                .map(branch -> sequentialFlow(branch.getKey(), branch.getValue()))
+                .toArray(Flow[]::new);
+    }
+
+    private static String branchName(String stepName) {
+        return SEQUENTIAL_STEP_GROUPS.stream()
+                .filter(group -> group.contains(stepName))
+                .findFirst()
+                .map(group -> String.join("+", group))
+                .orElse(stepName);
+    }
+
+    private static Flow sequentialFlow(String name, List<Step> steps) {
+        steps.sort(Comparator.comparingInt(step -> positionInGroup(step.getName())));
+
+        Iterator<Step> stepIterator = steps.iterator();
+        FlowBuilder<SimpleFlow> flowBuilder = new FlowBuilder<SimpleFlow>(name).start(stepIterator.next());
+        while (stepIterator.hasNext()) {
+            flowBuilder.next(stepIterator.next());
         }
+        return flowBuilder.build();
+    }
 
-        throw new IllegalStateException("PresetsBuildJob could not be created");
+    private static int positionInGroup(String stepName) {
+        return SEQUENTIAL_STEP_GROUPS.stream()
+                .filter(group -> group.contains(stepName))
+                .findFirst()
+                .map(group -> group.indexOf(stepName))
+                .orElse(0);
     }
-}
\ No newline at end of file
+}
@@ -1,11 +1,15 @@
 package uk.ac.ebi.quickgo.client.service.loader.presets;
 
+import uk.ac.ebi.quickgo.client.model.presets.impl.CompositePresetImpl;
 import uk.ac.ebi.quickgo.client.service.loader.presets.ff.RawNamedPreset;
 import uk.ac.ebi.quickgo.rest.search.RetrievalException;
 import uk.ac.ebi.quickgo.rest.search.request.FilterRequest;
 import uk.ac.ebi.quickgo.rest.search.request.converter.RESTFilterConverterFactory;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
@@ -97,6 +101,10 @@ public class PresetsConfigHelper {
         return new LogJobListener();
     }
 
+    static JobExecutionListener publishPresetsJobListener(CompositePresetImpl presets) {
+        return new PublishPresetsJobListener(presets);
+    }
+
     /**
      * Since the resources are zipped files loaded from an input stream, we cannot
      * process files in an order based on their names; instead we process them in
@@ -114,30 +122,43 @@ public class PresetsConfigHelper {
         }
     }
 
+    /**
+     * Creates a reader of the most relevant values of a field, as ranked by a REST call. The call is made when the
+     * first item is read, rather than when the reader is created, so that it runs in the step using the reader,
+     * concurrently with the other preset loading steps.
+     *
+     * @param converterFactory the factory that makes the REST call
+     * @param field the field whose values are read
+     * @return a reader of the values, in order of relevance; or of no values, if the REST call fails
+     */
     public static ItemReader<RawNamedPreset> topItemsFromRESTReader(
             RESTFilterConverterFactory converterFactory,
             String field) {
+        Supplier<Iterator<String>> relevantItemIterator =
+                Suppliers.memoize(() -> relevantItems(converterFactory, field).iterator());
+        AtomicInteger position = new AtomicInteger(0);
+
+        return () -> {
+            if (relevantItemIterator.get().hasNext()) {
+                RawNamedPreset rawNamedPreset = new RawNamedPreset();
+                rawNamedPreset.name = relevantItemIterator.get().next();
+                rawNamedPreset.relevancy = position.getAndIncrement();
+                return rawNamedPreset;
+            } else {
+                return null;
+            }
+        };
+    }
+
+    private static List<String> relevantItems(RESTFilterConverterFactory converterFactory, String field) {
         FilterRequest request = FilterRequest.newBuilder().addProperty(field).build();
 
         try {
-            List<String> relevantItems = converterFactory.<List<String>>convert(request).getConvertedValue();
-            Iterator<String> relevantItemIterator = relevantItems.iterator();
-            AtomicInteger position = new AtomicInteger(0);
-
-            return () -> {
-                if (relevantItemIterator.hasNext()) {
-                    RawNamedPreset rawNamedPreset = new RawNamedPreset();
-                    rawNamedPreset.name = relevantItemIterator.next();
-                    rawNamedPreset.relevancy = position.getAndIncrement();
-                    return rawNamedPreset;
-                } else {
-                    return null;
-                }
-            };
+            return converterFactory.<List<String>>convert(request).getConvertedValue();
         } catch (RetrievalException | IllegalStateException e) {
             LOGGER.error("Failed to retrieve via REST call the relevant '" + field + "' values: ", e);
         }
 
-        return () -> null;
+        return Collections.emptyList();
     }
 }
@@ -0,0 +1,44 @@
+package uk.ac.ebi.quickgo.client.service.loader.presets;
+
+import uk.ac.ebi.quickgo.client.model.presets.impl.CompositePresetImpl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Stages the presets loaded by a job, so that they are published to the {@link CompositePresetImpl} in one go, only
+ * once every step of the job has completed. If the job does not complete, the staged presets are discarded, and the
+ * previously published presets are kept.
+ *
+ * Created 19/10/26
+ */
+public class PublishPresetsJobListener implements JobExecutionListener {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PublishPresetsJobListener.class);
+
+    private final CompositePresetImpl presets;
+
+    public PublishPresetsJobListener(CompositePresetImpl presets) {
+        checkArgument(presets != null, "Presets cannot be null");
+
+        this.presets = presets;
+    }
+
+    @Override public void beforeJob(JobExecution jobExecution) {
+        presets.startStaging();
+    }
+
+    @Override public void afterJob(JobExecution jobExecution) {
+        if (jobExecution.getStatus() == BatchStatus.COMPLETED) {
+            presets.publishStaged();
+        } else {
+            LOGGER.error("QuickGO job '{}' finished with status {}: keeping the previously published presets.",
+                    jobExecution.getJobInstance().getJobName(), jobExecution.getStatus());
+            presets.discardStaged();
+        }
+    }
+}
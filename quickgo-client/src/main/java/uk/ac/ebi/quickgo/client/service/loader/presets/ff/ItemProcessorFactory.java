@@ -2,6 +2,8 @@ package uk.ac.ebi.quickgo.client.service.loader.presets.ff;
 
 import uk.ac.ebi.quickgo.client.service.loader.presets.RestValuesRetriever;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.springframework.batch.item.ItemProcessor;
@@ -49,7 +51,9 @@ public class ItemProcessorFactory {
     }
 
     /**
-     * An item processor to ensure preset values are actually in use.
+     * An item processor to ensure preset values are actually in use. The 'in-use data' is retrieved when the first
+     * item is processed, rather than when the processor is created, so that the retrieval runs in the step using
+     * the processor, concurrently with the other preset loading steps.
      * @param restValuesRetriever the source of the 'in-use data' to check.
      * @param retrieveKey the key used to retrieve the 'in-use data' from it's source.
      * @return item processor
@@ -57,18 +61,18 @@ public class ItemProcessorFactory {
     public static ItemProcessor<RawNamedPreset, RawNamedPreset> checkPresetIsUsedItemProcessor(RestValuesRetriever
                                                                                                        restValuesRetriever,
                                                                                                String retrieveKey) {
-
-        final Optional<List<String>> returnedValues = restValuesRetriever.retrieveValues(retrieveKey);
-        List<String> usableList = returnedValues.orElse(Collections.emptyList());
-        Set<String> usedValues = new HashSet<>(usableList);
+        final Supplier<Set<String>> usedValues = Suppliers.memoize(() -> {
+            final Optional<List<String>> returnedValues = restValuesRetriever.retrieveValues(retrieveKey);
+            return new HashSet<>(returnedValues.orElse(Collections.emptyList()));
+        });
 
         return rawNamedPreset -> {
-            if (usedValues.isEmpty()) {
+            if (usedValues.get().isEmpty()) {
                 //Wasn't possible to load from values used from source and check usage, so OK preset value so we have
                 // something to show.
                 return rawNamedPreset;
             }
-            return usedValues.contains(rawNamedPreset.name) ? rawNamedPreset : null;
+            return usedValues.get().contains(rawNamedPreset.name) ? rawNamedPreset : null;
         };
     }
 
@@ -3,6 +3,7 @@ package uk.ac.ebi.quickgo.client.service.search;
 import uk.ac.ebi.quickgo.client.model.ontology.OntologyTerm;
 import uk.ac.ebi.quickgo.client.service.converter.ontology.ECODocConverter;
 import uk.ac.ebi.quickgo.client.service.converter.ontology.GODocConverter;
+import uk.ac.ebi.quickgo.client.service.search.ontology.InMemoryOntologySearch;
 import uk.ac.ebi.quickgo.client.service.search.ontology.OntologySearchServiceImpl;
 import uk.ac.ebi.quickgo.client.service.search.ontology.OntologySolrQueryResultConverter;
 import uk.ac.ebi.quickgo.common.FacetableField;
@@ -49,6 +50,7 @@ public class SearchServiceConfig {
     public static final String SOLR_ONTOLOGY_QUERY_REQUEST_HANDLER = "/search";
     private static final String COMMA = ",";
     private static final String DEFAULT_ONTOLOGY_SEARCH_RETURN_FIELDS = "id,name,ontologyType";
+    private static final int DEFAULT_INDEX_LOAD_BATCH_SIZE = 5000;
 
     @Bean
     public SearchService<OntologyTerm> ontologySearchService(
@@ -76,6 +78,22 @@ public class SearchServiceConfig {
                 ontologyRetrievalConfig);
     }
 
+    @Bean
+    public InMemoryOntologySearch inMemoryOntologySearch(
+            SolrTemplate ontologyTemplate,
+            OntologyCompositeRetrievalConfig ontologyRetrievalConfig,
+            @Value("${search.ontology.index.enabled:false}") boolean enabled,
+            @Value("${search.ontology.index.load.batch.size:" + DEFAULT_INDEX_LOAD_BATCH_SIZE + "}") int batchSize,
+            @Value("${search.ontology.index.refresh.minutes:0}") long refreshMinutes) {
+        return new InMemoryOntologySearch(
+                ontologyTemplate.getSolrClient(),
+                enabled,
+                batchSize,
+                refreshMinutes,
+                ontologyRetrievalConfig.getHighlightStartDelim(),
+                ontologyRetrievalConfig.getHighlightEndDelim());
+    }
+
     @Bean
     public QueryRequestConverter<SolrQuery> ontologySolrQueryRequestConverter() {
         return SolrQueryConverter.create(SOLR_ONTOLOGY_QUERY_REQUEST_HANDLER);
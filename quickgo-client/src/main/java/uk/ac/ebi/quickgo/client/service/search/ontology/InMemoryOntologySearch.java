@@ -0,0 +1,170 @@
+package uk.ac.ebi.quickgo.client.service.search.ontology;
+
+import uk.ac.ebi.quickgo.client.model.ontology.OntologyRequest;
+import uk.ac.ebi.quickgo.client.model.ontology.OntologyTerm;
+import uk.ac.ebi.quickgo.ontology.common.OntologyDocument;
+import uk.ac.ebi.quickgo.rest.search.results.QueryResult;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.beans.DocumentObjectBinder;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrException;
+import org.apache.solr.common.params.CursorMarkParams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * <p>Answers ontology autocomplete searches from an {@link OntologyPrefixIndex}, held in memory, instead of sending
+ * them to Solr.
+ *
+ * <p>The in-memory index is optional. When enabled, the index is built from the ontology core in the background once
+ * the application is ready, and is optionally rebuilt at a fixed interval, so that new releases of the ontology core
+ * are picked up. Until the index has been built, or for requests it cannot answer, such as those asking for facets,
+ * searches must be sent to Solr.
+ *
+ * Created 19/10/26
+ */
+public class InMemoryOntologySearch implements DisposableBean {
+    private static final Logger LOGGER = LoggerFactory.getLogger(InMemoryOntologySearch.class);
+
+    static final String[] INDEXED_FIELDS =
+            {"id", "ontologyType", "name", "aspect", "isObsolete", "synonymName", "secondaryId"};
+    private static final String ALL_DOCUMENTS = "*:*";
+    private static final String ID_FIELD = "id";
+
+    private final SolrClient solrClient;
+    private final boolean enabled;
+    private final int loadBatchSize;
+    private final long refreshMinutes;
+    private final OntologyPrefixIndex.Highlighting highlighting;
+    private final DocumentObjectBinder documentObjectBinder;
+    private final ScheduledExecutorService loadingExecutor;
+
+    private volatile OntologyPrefixIndex index;
+
+    public InMemoryOntologySearch(SolrClient solrClient, boolean enabled, int loadBatchSize, long refreshMinutes,
+            String highlightStartDelim, String highlightEndDelim) {
+        checkArgument(solrClient != null, "Solr client cannot be null");
+        checkArgument(loadBatchSize > 0, "Load batch size must be greater than 0");
+
+        this.solrClient = solrClient;
+        this.enabled = enabled;
+        this.loadBatchSize = loadBatchSize;
+        this.refreshMinutes = refreshMinutes;
+        this.highlighting = new OntologyPrefixIndex.Highlighting(highlightStartDelim, highlightEndDelim);
+        this.documentObjectBinder = new DocumentObjectBinder();
+        this.loadingExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ontology-prefix-index-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Builds the index in the background once the application has started, and schedules its periodic rebuilding,
+     * if configured.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+
+        if (refreshMinutes > 0) {
+            loadingExecutor.scheduleWithFixedDelay(this::reloadQuietly, 0, refreshMinutes, TimeUnit.MINUTES);
+        } else {
+            loadingExecutor.execute(this::reloadQuietly);
+        }
+    }
+
+    /**
+     * Indicates whether the request can be answered from memory.
+     *
+     * @param request the search request
+     * @return true if the index is enabled and has been built, and the request does not ask for facets
+     */
+    public boolean canSearch(OntologyRequest request) {
+        return index != null && (request.getFacet() == null || request.getFacet().length == 0);
+    }
+
+    /**
+     * Searches the in-memory index. Only call this method when {@link #canSearch(OntologyRequest)} is true.
+     *
+     * @param request the search request
+     * @return the search results
+     */
+    public QueryResult<OntologyTerm> search(OntologyRequest request) {
+        OntologyPrefixIndex currentIndex = index;
+        checkArgument(currentIndex != null, "The in-memory ontology index has not been built");
+
+        List<String> aspects = request.getAspect() == null ?
+                Collections.<String>emptyList() : Arrays.asList(request.getAspect());
+
+        return currentIndex.search(request.getQuery(), aspects, request.getOntologyType(), request.getPage(),
+                request.getLimit(), request.isHighlighting() ? highlighting : null);
+    }
+
+    /**
+     * Rebuilds the index from the ontology core, and replaces the index used by searches once it has been built.
+     *
+     * @throws IOException if the ontology core could not be read
+     */
+    public void reload() throws IOException {
+        long start = System.currentTimeMillis();
+        OntologyPrefixIndex.Builder indexBuilder = OntologyPrefixIndex.newBuilder();
+
+        SolrQuery query = new SolrQuery(ALL_DOCUMENTS)
+                .setFields(INDEXED_FIELDS)
+                .setRows(loadBatchSize)
+                .setSort(ID_FIELD, SolrQuery.ORDER.asc);
+        String cursorMark = CursorMarkParams.CURSOR_MARK_START;
+        String nextCursorMark = null;
+
+        try {
+            while (!cursorMark.equals(nextCursorMark)) {
+                if (nextCursorMark != null) {
+                    cursorMark = nextCursorMark;
+                }
+                query.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+                QueryResponse response = solrClient.query(query);
+
+                documentObjectBinder.getBeans(OntologyDocument.class, response.getResults())
+                        .forEach(indexBuilder::addDocument);
+                nextCursorMark = response.getNextCursorMark();
+            }
+        } catch (SolrServerException | SolrException e) {
+            throw new IOException("Unable to read the ontology core", e);
+        }
+
+        OntologyPrefixIndex newIndex = indexBuilder.build();
+        this.index = newIndex;
+        LOGGER.info("Built in-memory ontology index of {} terms in {} ms", newIndex.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    @Override public void destroy() {
+        loadingExecutor.shutdownNow();
+    }
+
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error("Failed to build in-memory ontology index; searches will continue to use Solr", e);
+        }
+    }
+}
@@ -0,0 +1,424 @@
+package uk.ac.ebi.quickgo.client.service.search.ontology;
+
+import uk.ac.ebi.quickgo.client.model.ontology.OntologyTerm;
+import uk.ac.ebi.quickgo.client.service.converter.ontology.ECODocConverter;
+import uk.ac.ebi.quickgo.client.service.converter.ontology.GODocConverter;
+import uk.ac.ebi.quickgo.ontology.common.OntologyDocument;
+import uk.ac.ebi.quickgo.rest.search.results.DocHighlight;
+import uk.ac.ebi.quickgo.rest.search.results.FieldHighlight;
+import uk.ac.ebi.quickgo.rest.search.results.PageInfo;
+import uk.ac.ebi.quickgo.rest.search.results.QueryResult;
+
+import java.util.*;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * <p>An immutable, in-memory prefix index over the names and synonyms of ontology terms, which answers the
+ * autocomplete searches otherwise sent to the ontology core's {@code /search} request handler.
+ *
+ * <p>Names and synonyms are split into lower-cased alphanumeric tokens, which are held in a single sorted array. Each
+ * token refers to a slice of a postings array, whose entries encode the ordinal of a term, and whether the token comes
+ * from the term's name or from one of its synonyms. A query token therefore matches the contiguous range of tokens it
+ * is a prefix of, found by binary search. Only the terms in the postings of that range are scored, so the cost of a
+ * search depends on the number of terms matched, not on the size of the index.
+ *
+ * <p>Scoring mirrors the boosts configured for the {@code /search} request handler: for every query token, the best of
+ * the following boosts is taken, and the boosts of all query tokens are summed:
+ * <ul>
+ *     <li>identifier: {@value #ID_BOOST}</li>
+ *     <li>secondary identifier: {@value #SECONDARY_ID_BOOST}</li>
+ *     <li>whole token of a name or synonym: {@value #EXACT_BOOST}</li>
+ *     <li>prefix of a name token: {@value #NAME_PREFIX_BOOST}</li>
+ *     <li>prefix of a synonym token: {@value #SYNONYM_PREFIX_BOOST}</li>
+ * </ul>
+ * Queries with several tokens additionally boost terms whose name or synonym contains the query tokens as a phrase,
+ * using the same boosts. Terms with equal scores are ordered by the length of their name, then by identifier.
+ *
+ * <p>Highlighting wraps the matched prefix of each matching name or synonym token in the configured delimiters.
+ *
+ * Created 19/10/26
+ */
+public class OntologyPrefixIndex {
+    static final float ID_BOOST = 20;
+    static final float SECONDARY_ID_BOOST = 5;
+    static final float EXACT_BOOST = 5;
+    static final float NAME_PREFIX_BOOST = 2;
+    static final float SYNONYM_PREFIX_BOOST = 1;
+
+    static final String NAME_FIELD = "name";
+    static final String SYNONYM_FIELD = "synonym";
+
+    private static final int SYNONYM_FLAG = 1;
+    private static final String WHITESPACE = "\\s+";
+
+    private final OntologyTerm[] terms;
+    private final String[] names;
+    private final String[][] synonyms;
+    private final String[] aspects;
+    private final String[] ontologyTypes;
+    private final Map<String, Integer> idOrdinals;
+    private final Map<String, int[]> secondaryIdOrdinals;
+
+    private final String[] tokens;
+    private final int[] postingOffsets;
+    private final int[] postings;
+
+    private OntologyPrefixIndex(Builder builder) {
+        int size = builder.documents.size();
+        this.terms = new OntologyTerm[size];
+        this.names = new String[size];
+        this.synonyms = new String[size][];
+        this.aspects = new String[size];
+        this.ontologyTypes = new String[size];
+        this.idOrdinals = new HashMap<>();
+
+        Map<String, List<Integer>> secondaryIds = new HashMap<>();
+        SortedMap<String, List<Integer>> tokenPostings = new TreeMap<>();
+
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            OntologyDocument doc = builder.documents.get(ordinal);
+            terms[ordinal] = builder.convert(doc);
+            names[ordinal] = doc.name == null ? "" : doc.name;
+            synonyms[ordinal] = doc.synonymNames == null ? new String[0] : doc.synonymNames.toArray(new String[0]);
+            aspects[ordinal] = doc.aspect;
+            ontologyTypes[ordinal] = doc.ontologyType;
+
+            idOrdinals.put(doc.id.toLowerCase(), ordinal);
+            if (doc.secondaryIds != null) {
+                for (String secondaryId : doc.secondaryIds) {
+                    secondaryIds.computeIfAbsent(secondaryId.toLowerCase(), id -> new ArrayList<>()).add(ordinal);
+                }
+            }
+
+            addPostings(tokenPostings, names[ordinal], ordinal << 1);
+            for (String synonym : synonyms[ordinal]) {
+                addPostings(tokenPostings, synonym, (ordinal << 1) | SYNONYM_FLAG);
+            }
+        }
+
+        this.secondaryIdOrdinals = new HashMap<>();
+        secondaryIds.forEach((id, ordinals) -> secondaryIdOrdinals.put(id, toArray(ordinals)));
+
+        this.tokens = tokenPostings.keySet().toArray(new String[tokenPostings.size()]);
+        this.postingOffsets = new int[tokens.length + 1];
+        int postingCount = tokenPostings.values().stream().mapToInt(List::size).sum();
+        this.postings = new int[postingCount];
+
+        int position = 0;
+        int tokenIndex = 0;
+        for (List<Integer> tokenPosting : tokenPostings.values()) {
+            postingOffsets[tokenIndex++] = position;
+            for (int posting : tokenPosting) {
+                postings[position++] = posting;
+            }
+        }
+        postingOffsets[tokenIndex] = position;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return terms.length;
+    }
+
+    /**
+     * Searches the index.
+     *
+     * @param query the user's query
+     * @param aspectFilter the aspects to which results must belong, ignoring case; or empty, for no restriction
+     * @param ontologyType the ontology type to which results must belong, ignoring case; or null, for no restriction
+     * @param page the page of results to return, starting at 1
+     * @param limit the number of results per page
+     * @param highlighting the highlighting delimiters, or null if highlighting is not wanted
+     * @return the page of matching terms, in descending order of relevance
+     */
+    public QueryResult<OntologyTerm> search(String query, Collection<String> aspectFilter, String ontologyType,
+            int page, int limit, Highlighting highlighting) {
+        checkArgument(query != null, "Query cannot be null");
+        checkArgument(page >= 1, "Page cannot be less than 1");
+        checkArgument(limit >= 0, "Limit cannot be negative");
+
+        Map<Integer, Float> scores = new HashMap<>();
+        List<String> queryTokens = score(query, scores);
+
+        Comparator<Integer> relevance = Comparator.<Integer>comparingDouble(ordinal -> -scores.get(ordinal))
+                .thenComparingInt(ordinal -> names[ordinal].length())
+                .thenComparing(ordinal -> terms[ordinal].id);
+
+        // the most relevant hits, up to the end of the requested page, with the least relevant at the head
+        long wanted = (long) page * limit;
+        PriorityQueue<Integer> topHits = new PriorityQueue<>(relevance.reversed());
+        int hitCount = 0;
+        for (int ordinal : scores.keySet()) {
+            if (matchesFilters(ordinal, aspectFilter, ontologyType)) {
+                hitCount++;
+                if (topHits.size() < wanted) {
+                    topHits.add(ordinal);
+                } else if (wanted > 0 && relevance.compare(ordinal, topHits.peek()) < 0) {
+                    topHits.poll();
+                    topHits.add(ordinal);
+                }
+            }
+        }
+
+        List<Integer> hits = new ArrayList<>(topHits);
+        hits.sort(relevance);
+
+        int from = (int) Math.min((long) (page - 1) * limit, hits.size());
+        int to = Math.min(from + limit, hits.size());
+        List<OntologyTerm> results = new ArrayList<>(to - from);
+        List<DocHighlight> highlights = new ArrayList<>();
+        for (int ordinal : hits.subList(from, to)) {
+            results.add(terms[ordinal]);
+            if (highlighting != null) {
+                highlight(ordinal, queryTokens, highlighting).ifPresent(highlights::add);
+            }
+        }
+
+        return new QueryResult.Builder<>(hitCount, results)
+                .withPageInfo(pageInfo(hitCount, page, limit))
+                .appendHighlights(highlights)
+                .build();
+    }
+
+    /**
+     * Accumulates the scores of the terms matching the query, keyed by their ordinals.
+     *
+     * @return the normalised query tokens
+     */
+    private List<String> score(String query, Map<Integer, Float> scores) {
+        Map<Integer, Float> tokenScores = new HashMap<>();
+        List<String> queryTokens = new ArrayList<>();
+
+        for (String rawToken : query.trim().toLowerCase().split(WHITESPACE)) {
+            if (rawToken.isEmpty()) {
+                continue;
+            }
+
+            Integer idOrdinal = idOrdinals.get(rawToken);
+            if (idOrdinal != null) {
+                tokenScores.put(idOrdinal, ID_BOOST);
+            }
+            for (int ordinal : secondaryIdOrdinals.getOrDefault(rawToken, new int[0])) {
+                tokenScores.merge(ordinal, SECONDARY_ID_BOOST, Math::max);
+            }
+
+            for (Token token : tokenise(rawToken)) {
+                queryTokens.add(token.text);
+                scoreToken(token.text, tokenScores);
+            }
+
+            tokenScores.forEach((ordinal, tokenScore) -> scores.merge(ordinal, tokenScore, Float::sum));
+            tokenScores.clear();
+        }
+
+        if (queryTokens.size() > 1) {
+            scores.replaceAll((ordinal, score) -> score + phraseScore(ordinal, queryTokens));
+        }
+
+        return queryTokens;
+    }
+
+    private void scoreToken(String queryToken, Map<Integer, Float> tokenScores) {
+        for (int tokenIndex = firstTokenWithPrefix(queryToken);
+             tokenIndex < tokens.length && tokens[tokenIndex].startsWith(queryToken);
+             tokenIndex++) {
+            boolean exact = tokens[tokenIndex].length() == queryToken.length();
+            for (int p = postingOffsets[tokenIndex]; p < postingOffsets[tokenIndex + 1]; p++) {
+                int ordinal = postings[p] >>> 1;
+                boolean synonym = (postings[p] & SYNONYM_FLAG) == SYNONYM_FLAG;
+                float boost = exact ? EXACT_BOOST : (synonym ? SYNONYM_PREFIX_BOOST : NAME_PREFIX_BOOST);
+                tokenScores.merge(ordinal, boost, Math::max);
+            }
+        }
+    }
+
+    private int firstTokenWithPrefix(String prefix) {
+        int index = Arrays.binarySearch(tokens, prefix);
+        return index >= 0 ? index : -(index + 1);
+    }
+
+    private float phraseScore(int ordinal, List<String> queryTokens) {
+        float score = phraseBoost(names[ordinal], queryTokens, NAME_PREFIX_BOOST);
+        float synonymScore = 0;
+        for (String synonym : synonyms[ordinal]) {
+            synonymScore = Math.max(synonymScore, phraseBoost(synonym, queryTokens, SYNONYM_PREFIX_BOOST));
+        }
+        return score + synonymScore;
+    }
+
+    private static float phraseBoost(String text, List<String> queryTokens, float prefixBoost) {
+        List<Token> textTokens = tokenise(text);
+        float boost = 0;
+        for (int start = 0; start + queryTokens.size() <= textTokens.size(); start++) {
+            boolean prefixPhrase = true;
+            boolean exactPhrase = true;
+            for (int i = 0; i < queryTokens.size() && prefixPhrase; i++) {
+                String textToken = textTokens.get(start + i).text;
+                prefixPhrase = textToken.startsWith(queryTokens.get(i));
+                exactPhrase = exactPhrase && textToken.equals(queryTokens.get(i));
+            }
+            if (exactPhrase) {
+                return EXACT_BOOST;
+            } else if (prefixPhrase) {
+                boost = prefixBoost;
+            }
+        }
+        return boost;
+    }
+
+    private boolean matchesFilters(int ordinal, Collection<String> aspectFilter, String ontologyTypeFilter) {
+        boolean aspectMatches = aspectFilter == null || aspectFilter.isEmpty() ||
+                aspectFilter.stream().anyMatch(aspect -> aspect.equalsIgnoreCase(aspects[ordinal]));
+        boolean typeMatches = ontologyTypeFilter == null || ontologyTypeFilter.equalsIgnoreCase(ontologyTypes[ordinal]);
+        return aspectMatches && typeMatches;
+    }
+
+    private Optional<DocHighlight> highlight(int ordinal, List<String> queryTokens, Highlighting highlighting) {
+        List<FieldHighlight> fieldHighlights = new ArrayList<>();
+
+        highlight(names[ordinal], queryTokens, highlighting).ifPresent(name ->
+                fieldHighlights.add(new FieldHighlight(NAME_FIELD, Collections.singletonList(name))));
+
+        List<String> synonymHighlights = new ArrayList<>();
+        for (String synonym : synonyms[ordinal]) {
+            highlight(synonym, queryTokens, highlighting).ifPresent(synonymHighlights::add);
+        }
+        if (!synonymHighlights.isEmpty()) {
+            fieldHighlights.add(new FieldHighlight(SYNONYM_FIELD, synonymHighlights));
+        }
+
+        return fieldHighlights.isEmpty() ?
+                Optional.empty() : Optional.of(new DocHighlight(terms[ordinal].id, fieldHighlights));
+    }
+
+    private static Optional<String> highlight(String text, List<String> queryTokens, Highlighting highlighting) {
+        StringBuilder highlighted = new StringBuilder();
+        int copied = 0;
+        for (Token token : tokenise(text)) {
+            int matchedLength = 0;
+            for (String queryToken : queryTokens) {
+                if (token.text.startsWith(queryToken)) {
+                    matchedLength = Math.max(matchedLength, queryToken.length());
+                }
+            }
+            if (matchedLength > 0) {
+                matchedLength = Math.min(matchedLength, text.length() - token.start);
+                highlighted.append(text, copied, token.start)
+                        .append(highlighting.startDelim)
+                        .append(text, token.start, token.start + matchedLength)
+                        .append(highlighting.endDelim);
+                copied = token.start + matchedLength;
+            }
+        }
+
+        if (copied == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(highlighted.append(text, copied, text.length()).toString());
+    }
+
+    private static PageInfo pageInfo(int hits, int page, int limit) {
+        int totalPages = limit > 0 ? (int) Math.ceil((double) hits / (double) limit) : 1;
+        return new PageInfo.Builder()
+                .withTotalPages(Math.max(totalPages, page))
+                .withCurrentPage(page)
+                .withResultsPerPage(limit)
+                .build();
+    }
+
+    private static void addPostings(Map<String, List<Integer>> tokenPostings, String text, int posting) {
+        for (Token token : tokenise(text)) {
+            List<Integer> postingList = tokenPostings.computeIfAbsent(token.text, t -> new ArrayList<>());
+            if (postingList.isEmpty() || postingList.get(postingList.size() - 1) != posting) {
+                postingList.add(posting);
+            }
+        }
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Splits text into lower-cased tokens of letters and digits, recording where each token starts in the text.
+     * Highlighting assumes that lower-casing does not change the length of a token, which holds for the names and
+     * synonyms of ontology terms.
+     */
+    static List<Token> tokenise(String text) {
+        List<Token> tokenList = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean tokenChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                tokenList.add(new Token(text.substring(start, i).toLowerCase(), start));
+                start = -1;
+            }
+        }
+        return tokenList;
+    }
+
+    static class Token {
+        final String text;
+        final int start;
+
+        Token(String text, int start) {
+            this.text = text;
+            this.start = start;
+        }
+    }
+
+    /**
+     * The delimiters used to highlight the matched parts of names and synonyms.
+     */
+    public static class Highlighting {
+        private final String startDelim;
+        private final String endDelim;
+
+        public Highlighting(String startDelim, String endDelim) {
+            checkArgument(startDelim != null, "Highlight start delimiter cannot be null");
+            checkArgument(endDelim != null, "Highlight end delimiter cannot be null");
+
+            this.startDelim = startDelim;
+            this.endDelim = endDelim;
+        }
+    }
+
+    /**
+     * Collects the ontology documents to index.
+     */
+    public static class Builder {
+        private final List<OntologyDocument> documents = new ArrayList<>();
+        private final GODocConverter goDocConverter = new GODocConverter();
+        private final ECODocConverter ecoDocConverter = new ECODocConverter();
+
+        /**
+         * Adds a document to the index. Documents that are neither GO nor ECO terms are ignored.
+         *
+         * @param document the document to add
+         * @return this builder
+         */
+        public Builder addDocument(OntologyDocument document) {
+            checkArgument(document != null && document.id != null, "Document and its id cannot be null");
+
+            if ("GO".equals(document.ontologyType) || "ECO".equals(document.ontologyType)) {
+                documents.add(document);
+            }
+            return this;
+        }
+
+        public OntologyPrefixIndex build() {
+            return new OntologyPrefixIndex(this);
+        }
+
+        private OntologyTerm convert(OntologyDocument document) {
+            return "GO".equals(document.ontologyType) ?
+                    goDocConverter.convert(document) : ecoDocConverter.convert(document);
+        }
+    }
+}
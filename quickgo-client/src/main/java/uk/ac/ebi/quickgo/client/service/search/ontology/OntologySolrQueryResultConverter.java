@@ -5,26 +5,32 @@ import uk.ac.ebi.quickgo.client.service.converter.ontology.ECODocConverter;
 import uk.ac.ebi.quickgo.client.service.converter.ontology.GODocConverter;
 import uk.ac.ebi.quickgo.ontology.common.OntologyDocument;
 import uk.ac.ebi.quickgo.rest.search.solr.AbstractSolrQueryResultConverter;
+import uk.ac.ebi.quickgo.rest.search.solr.SolrDocumentBinder;
 import uk.ac.ebi.quickgo.rest.search.solr.SolrQueryResultHighlightingConverter;
+import uk.ac.ebi.quickgo.rest.search.solr.StreamingSolrQueryResultConverter;
 
 import com.google.common.base.Preconditions;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import org.apache.solr.client.solrj.beans.DocumentObjectBinder;
+import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrDocumentList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Converts the Solr results into {@link OntologyTerm} instances.
+ * Converts the Solr results into {@link OntologyTerm} instances. Streamed documents are bound to
+ * {@link OntologyDocument}s by a {@link SolrDocumentBinder}.
  */
-public class OntologySolrQueryResultConverter extends AbstractSolrQueryResultConverter<OntologyTerm> {
+public class OntologySolrQueryResultConverter extends AbstractSolrQueryResultConverter<OntologyTerm>
+        implements StreamingSolrQueryResultConverter<OntologyTerm> {
     private final Logger LOGGER = LoggerFactory.getLogger(this.getClass());
 
     private GODocConverter goDocConverter;
     private ECODocConverter ecoDocConverter;
     private DocumentObjectBinder documentObjectBinder;
+    private SolrDocumentBinder<OntologyDocument> ontologyDocumentBinder;
 
     public OntologySolrQueryResultConverter(DocumentObjectBinder documentObjectBinder,
             GODocConverter goDocConverter,
@@ -37,6 +43,7 @@ public class OntologySolrQueryResultConverter extends AbstractSolrQueryResultCon
         this.documentObjectBinder = documentObjectBinder;
         this.goDocConverter = goDocConverter;
         this.ecoDocConverter = ecoDocConverter;
+        this.ontologyDocumentBinder = new SolrDocumentBinder<>(OntologyDocument.class, OntologyDocument::new);
 
         this.setQueryResultHighlightingConverter(new SolrQueryResultHighlightingConverter(fieldNameMap));
     }
@@ -49,16 +56,9 @@ public class OntologySolrQueryResultConverter extends AbstractSolrQueryResultCon
         List<OntologyTerm> domainTerms = new ArrayList<>(solrTermDocs.size());
 
         for (OntologyDocument ontologyDoc : solrTermDocs) {
-            switch (ontologyDoc.ontologyType) {
-                case "GO":
-                    domainTerms.add(goDocConverter.convert(ontologyDoc));
-                    break;
-                case "ECO":
-                    domainTerms.add(ecoDocConverter.convert(ontologyDoc));
-                    break;
-                default:
-                    LOGGER.error("Unable to convert Solr document ({}) --> domain DTO {}",
-                            ontologyDoc.id, ontologyDoc.ontologyType);
+            OntologyTerm domainTerm = convertOntologyDocument(ontologyDoc);
+            if (domainTerm != null) {
+                domainTerms.add(domainTerm);
             }
         }
 
@@ -66,4 +66,21 @@ public class OntologySolrQueryResultConverter extends AbstractSolrQueryResultCon
 
         return domainTerms;
     }
-}
\ No newline at end of file
+
+    @Override public OntologyTerm convertDocument(SolrDocument document) {
+        return convertOntologyDocument(ontologyDocumentBinder.bind(document));
+    }
+
+    private OntologyTerm convertOntologyDocument(OntologyDocument ontologyDoc) {
+        switch (ontologyDoc.ontologyType) {
+            case "GO":
+                return goDocConverter.convert(ontologyDoc);
+            case "ECO":
+                return ecoDocConverter.convert(ontologyDoc);
+            default:
+                LOGGER.error("Unable to convert Solr document ({}) --> domain DTO {}",
+                        ontologyDoc.id, ontologyDoc.ontologyType);
+                return null;
+        }
+    }
+}
@@ -1,8 +1,22 @@
 package uk.ac.ebi.quickgo.client.controller;
 
+import uk.ac.ebi.quickgo.client.controller.PresetsResponseRenderer.RenderedPresets;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.when;
 
 /**
  * Created 05/09/16
@@ -10,8 +24,98 @@ import org.mockito.runners.MockitoJUnitRunner;
  */
 @RunWith(MockitoJUnitRunner.class)
 public class PresetsControllerTest {
+    private static final byte[] JSON = "{\"assignedBy\":[]}".getBytes(StandardCharsets.UTF_8);
+
+    @Mock
+    private PresetsResponseRenderer renderer;
+
+    private PresetsController controller;
+    private RenderedPresets renderedPresets;
+
+    @Before
+    public void setUp() {
+        renderedPresets = new RenderedPresets(JSON);
+        when(renderer.render(any(String[].class))).thenReturn(renderedPresets);
+        controller = new PresetsController(renderer);
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void controllerInstantiationFailsOnNullPresets() {
         new PresetsController(null);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void plainResponseContainsRenderedJsonAndETag() {
+        ResponseEntity<byte[]> response = controller.compositePreset(null, null, null);
+
+        assertThat(response.getStatusCode(), is(HttpStatus.OK));
+        assertThat(response.getBody(), is(JSON));
+        assertThat(response.getHeaders().getETag(), is(renderedPresets.getETag()));
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING), is(nullValue()));
+    }
+
+    @Test
+    public void gzipResponseIsServedWhenAccepted() {
+        ResponseEntity<byte[]> response = controller.compositePreset(null, null, "gzip, deflate");
+
+        assertThat(response.getStatusCode(), is(HttpStatus.OK));
+        assertThat(response.getBody(), is(renderedPresets.getGzippedJson()));
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING), is("gzip"));
+    }
+
+    @Test
+    public void matchingETagResultsInNotModified() {
+        ResponseEntity<byte[]> response = controller.compositePreset(null, renderedPresets.getETag(), null);
+
+        assertThat(response.getStatusCode(), is(HttpStatus.NOT_MODIFIED));
+        assertThat(response.getBody(), is(nullValue()));
+    }
+
+    @Test
+    public void gzipWithZeroQualityIsNotServed() {
+        ResponseEntity<byte[]> response = controller.compositePreset(null, null, "gzip;q=0, deflate");
+
+        assertThat(response.getBody(), is(JSON));
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING), is(nullValue()));
+    }
+
+    @Test
+    public void gzipIsServedWhenAcceptedByWildcard() {
+        assertThat(PresetsController.acceptsGzip("identity, *;q=0.5"), is(true));
+        assertThat(PresetsController.acceptsGzip("gzip;q=0, *"), is(false));
+        assertThat(PresetsController.acceptsGzip("*;q=0"), is(false));
+    }
+
+    @Test
+    public void encodingsThatOnlyContainGzipAreNotGzip() {
+        assertThat(PresetsController.acceptsGzip("notgzip"), is(false));
+        assertThat(PresetsController.acceptsGzip("GZIP ; Q=0.8"), is(true));
+        assertThat(PresetsController.acceptsGzip("gzip;q=invalid"), is(false));
+    }
+
+    @Test
+    public void eTagInListResultsInNotModified() {
+        String ifNoneMatch = "\"other\", " + renderedPresets.getETag();
+
+        ResponseEntity<byte[]> response = controller.compositePreset(null, ifNoneMatch, null);
+
+        assertThat(response.getStatusCode(), is(HttpStatus.NOT_MODIFIED));
+    }
+
+    @Test
+    public void wildcardAndWeakETagsMatch() {
+        assertThat(PresetsController.matchesAnyETag("*", renderedPresets.getETag()), is(true));
+        assertThat(PresetsController.matchesAnyETag("W/" + renderedPresets.getETag(), renderedPresets.getETag()),
+                is(true));
+    }
+
+    @Test
+    public void eTagContainingTheETagDoesNotMatch() {
+        String eTag = renderedPresets.getETag();
+        String containing = "\"prefix" + eTag;
+
+        ResponseEntity<byte[]> response = controller.compositePreset(null, containing, null);
+
+        assertThat(response.getStatusCode(), is(HttpStatus.OK));
+    }
+}
@@ -0,0 +1,111 @@
+package uk.ac.ebi.quickgo.client.controller;
+
+import uk.ac.ebi.quickgo.client.controller.PresetsResponseRenderer.RenderedPresets;
+import uk.ac.ebi.quickgo.client.model.presets.impl.CompositePresetImpl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.zip.GZIPInputStream;
+import org.junit.Before;
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static uk.ac.ebi.quickgo.client.model.presets.PresetItem.createWithName;
+import static uk.ac.ebi.quickgo.client.model.presets.PresetType.ASSIGNED_BY;
+
+/**
+ * Created 19/10/26
+ */
+public class PresetsResponseRendererTest {
+    private static final String FILTER = "CompositePreset";
+
+    private ObjectMapper objectMapper;
+    private CompositePresetImpl presets;
+    private PresetsResponseRenderer renderer;
+
+    @Before
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        presets = new CompositePresetImpl();
+        presets.addPreset(ASSIGNED_BY, createWithName("UniProt").withProperty("id", "UniProt").build());
+        renderer = new PresetsResponseRenderer(presets, objectMapper);
+        renderer.refresh();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullPresetsCausesException() {
+        new PresetsResponseRenderer(null, objectMapper);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullObjectMapperCausesException() {
+        new PresetsResponseRenderer(presets, null);
+    }
+
+    @Test
+    public void renderingAllFieldsIsIdenticalToJacksonSerialisation() throws IOException {
+        String expected = objectMapper
+                .writer(new SimpleFilterProvider().addFilter(FILTER, SimpleBeanPropertyFilter.serializeAllExcept()))
+                .writeValueAsString(presets);
+
+        assertThat(renderer.render().asString(), is(expected));
+    }
+
+    @Test
+    public void renderingSelectedFieldsIsIdenticalToFilteredJacksonSerialisation() throws IOException {
+        String expected = objectMapper
+                .writer(new SimpleFilterProvider().addFilter(FILTER,
+                        SimpleBeanPropertyFilter.filterOutAllExcept(new HashSet<>(asList("aspects", "assignedBy")))))
+                .writeValueAsString(presets);
+
+        assertThat(renderer.render("aspects", "assignedBy").asString(), is(expected));
+    }
+
+    @Test
+    public void unknownFieldsAreIgnored() {
+        assertThat(renderer.render("unknown").asString(), is("{}"));
+    }
+
+    @Test
+    public void equivalentFieldCombinationsShareTheSameResponse() {
+        RenderedPresets rendered = renderer.render("aspects", "assignedBy");
+
+        assertThat(renderer.render("assignedBy", "aspects"), is(sameInstance(rendered)));
+    }
+
+    @Test
+    public void differentFieldCombinationsHaveDifferentETags() {
+        assertThat(renderer.render("aspects").getETag(), is(not(renderer.render("assignedBy").getETag())));
+    }
+
+    @Test
+    public void gzippedJsonDecompressesToJson() throws IOException {
+        RenderedPresets rendered = renderer.render();
+
+        try (GZIPInputStream gzipStream =
+                new GZIPInputStream(new ByteArrayInputStream(rendered.getGzippedJson()))) {
+            byte[] buffer = new byte[rendered.getJson().length];
+            int read = 0;
+            while (read < buffer.length) {
+                read += gzipStream.read(buffer, read, buffer.length - read);
+            }
+            assertThat(buffer, is(rendered.getJson()));
+        }
+    }
+
+    @Test
+    public void refreshingPicksUpNewPresets() {
+        String beforeRefresh = renderer.render("assignedBy").asString();
+        presets.addPreset(ASSIGNED_BY, createWithName("Ensembl").withProperty("id", "Ensembl").build());
+        renderer.refresh();
+
+        assertThat(renderer.render("assignedBy").asString(), is(not(beforeRefresh)));
+        assertThat(renderer.render("assignedBy").asString(), containsString("Ensembl"));
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.SpringApplicationConfiguration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import org.springframework.test.context.web.WebAppConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
@@ -15,8 +16,10 @@ import uk.ac.ebi.quickgo.client.model.presets.impl.CompositePresetImpl;
 
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.notNullValue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -163,4 +166,23 @@ public class PresetsRetrievalIT {
                 .andExpect(jsonPath("$.geneProducts.*", hasSize(greaterThan(0))))
                 .andExpect(jsonPath("$.goSlimSets.*", hasSize(greaterThan(0))));
     }
+
+    @Test
+    public void retrievingPresetsWithMatchingETagIsNotModified() throws Exception {
+        String eTag = mockMvc.perform(get(RESOURCE_URL).param(FIELDS_PARAM, "aspects"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, notNullValue()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(RESOURCE_URL).param(FIELDS_PARAM, "aspects").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andDo(print())
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void canRetrieveGzippedPresets() throws Exception {
+        mockMvc.perform(get(RESOURCE_URL).header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+    }
 }
@@ -2,6 +2,7 @@ package uk.ac.ebi.quickgo.client.controller;
 
 import uk.ac.ebi.quickgo.client.model.ontology.OntologyTerm;
 import uk.ac.ebi.quickgo.client.service.search.SearchServiceConfig;
+import uk.ac.ebi.quickgo.client.service.search.ontology.InMemoryOntologySearch;
 import uk.ac.ebi.quickgo.rest.search.SearchService;
 import uk.ac.ebi.quickgo.rest.search.request.converter.FilterConverterFactory;
 
@@ -25,10 +26,14 @@ public class SearchControllerTest {
     @Mock
     private FilterConverterFactory converterFactory;
 
+    @Mock
+    private InMemoryOntologySearch inMemoryOntologySearch;
+
     @Test(expected = IllegalArgumentException.class)
     public void controllerInstantiationFailsOnNullSearchService() {
         new SearchController(
                 null,
+                inMemoryOntologySearch,
                 retrievalConfig,
                 converterFactory);
     }
@@ -36,6 +41,16 @@ public class SearchControllerTest {
     @Test(expected = IllegalArgumentException.class)
     public void controllerInstantiationFailsOnNullSearchableField() {
         new SearchController(
+                null,
+                inMemoryOntologySearch,
+                retrievalConfig,
+                converterFactory);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void controllerInstantiationFailsOnNullInMemoryOntologySearch() {
+        new SearchController(
+                searchService,
                 null,
                 retrievalConfig,
                 converterFactory);
@@ -45,6 +60,7 @@ public class SearchControllerTest {
     public void controllerInstantiationFailsOnNullRetrievalConfig() {
         new SearchController(
                 searchService,
+                inMemoryOntologySearch,
                 null,
                 converterFactory);
     }
@@ -53,6 +69,7 @@ public class SearchControllerTest {
     public void controllerInstantiationFailsOnNullConverterFactory() {
         new SearchController(
                 searchService,
+                inMemoryOntologySearch,
                 retrievalConfig,
                 null);
     }
@@ -220,6 +220,71 @@ public class CompositePresetImplTest {
         }
     }
 
+    public class StagedPresets {
+        private CompositePresetImpl presetBuilder;
+
+        @Before
+        public void setUp() {
+            presetBuilder = new CompositePresetImpl();
+        }
+
+        @Test
+        public void stagedPresetsAreNotVisibleBeforePublishing() {
+            presetBuilder.startStaging();
+            presetBuilder.addPreset(ASSIGNED_BY, createWithName(name(1)).withProperty(ID, id(1)).build());
+
+            assertThat(presetBuilder.getAssignedBy(), hasSize(0));
+        }
+
+        @Test
+        public void stagedPresetsAreVisibleAfterPublishing() {
+            presetBuilder.startStaging();
+            presetBuilder.addPreset(ASSIGNED_BY, createWithName(name(1)).withProperty(ID, id(1)).build());
+            presetBuilder.publishStaged();
+
+            assertThat(presetBuilder.getAssignedBy(), hasSize(1));
+        }
+
+        @Test
+        public void publishingReplacesPreviouslyPublishedPresets() {
+            presetBuilder.addPreset(ASSIGNED_BY, createWithName(name(1)).withProperty(ID, id(1)).build());
+            presetBuilder.startStaging();
+            presetBuilder.addPreset(ASSIGNED_BY, createWithName(name(2)).withProperty(ID, id(2)).build());
+            presetBuilder.publishStaged();
+
+            assertThat(presetBuilder.getAssignedBy().stream().map(p -> p.getProperty(NAME))
+                    .collect(Collectors.toList()), contains(name(2)));
+        }
+
+        @Test
+        public void publishingRetainsStaticPresets() {
+            presetBuilder.startStaging();
+            presetBuilder.publishStaged();
+
+            assertThat(presetBuilder.getAspects(), hasSize(3));
+            assertThat(presetBuilder.getGeneProductTypes(), hasSize(3));
+        }
+
+        @Test
+        public void publishingWithoutStagingLeavesPresetsUnchanged() {
+            presetBuilder.addPreset(ASSIGNED_BY, createWithName(name(1)).withProperty(ID, id(1)).build());
+            presetBuilder.publishStaged();
+
+            assertThat(presetBuilder.getAssignedBy(), hasSize(1));
+        }
+
+        @Test
+        public void discardingStagedPresetsLeavesPublishedPresetsUnchanged() {
+            presetBuilder.addPreset(ASSIGNED_BY, createWithName(name(1)).withProperty(ID, id(1)).build());
+            presetBuilder.startStaging();
+            presetBuilder.addPreset(ASSIGNED_BY, createWithName(name(2)).withProperty(ID, id(2)).build());
+            presetBuilder.discardStaged();
+
+            assertThat(presetBuilder.getAssignedBy().stream().map(p -> p.getProperty(NAME))
+                    .collect(Collectors.toList()), contains(name(1)));
+        }
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void cannotAddNullPreset() {
         CompositePresetImpl presetBuilder = new CompositePresetImpl();
@@ -0,0 +1,65 @@
+package uk.ac.ebi.quickgo.client.service.loader.presets;
+
+import uk.ac.ebi.quickgo.client.service.loader.presets.ff.RawNamedPreset;
+import uk.ac.ebi.quickgo.rest.search.RetrievalException;
+import uk.ac.ebi.quickgo.rest.search.request.FilterRequest;
+import uk.ac.ebi.quickgo.rest.search.request.converter.ConvertedFilter;
+import uk.ac.ebi.quickgo.rest.search.request.converter.RESTFilterConverterFactory;
+
+import java.util.Arrays;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.batch.item.ItemReader;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.ac.ebi.quickgo.client.service.loader.presets.PresetsConfigHelper.topItemsFromRESTReader;
+
+/**
+ * Created 19/10/26
+ */
+public class PresetsConfigHelperTest {
+    private static final String FIELD = "qualifier";
+
+    private RESTFilterConverterFactory converterFactory;
+
+    @Before
+    public void setUp() {
+        converterFactory = mock(RESTFilterConverterFactory.class);
+    }
+
+    @Test
+    public void topItemsAreRetrievedOnceWhenFirstItemIsRead() throws Exception {
+        when(converterFactory.convert(any(FilterRequest.class)))
+                .thenReturn(new ConvertedFilter<>(Arrays.asList("enables", "part_of")));
+
+        ItemReader<RawNamedPreset> reader = topItemsFromRESTReader(converterFactory, FIELD);
+        verify(converterFactory, never()).convert(any(FilterRequest.class));
+
+        RawNamedPreset first = reader.read();
+        RawNamedPreset second = reader.read();
+
+        assertThat(first.name, is("enables"));
+        assertThat(first.relevancy, is(0));
+        assertThat(second.name, is("part_of"));
+        assertThat(second.relevancy, is(1));
+        assertThat(reader.read(), is(nullValue()));
+        verify(converterFactory, times(1)).convert(any(FilterRequest.class));
+    }
+
+    @Test
+    public void failedRetrievalReadsNoItems() throws Exception {
+        when(converterFactory.convert(any(FilterRequest.class))).thenThrow(new RetrievalException("failed"));
+
+        ItemReader<RawNamedPreset> reader = topItemsFromRESTReader(converterFactory, FIELD);
+
+        assertThat(reader.read(), is(nullValue()));
+    }
+}
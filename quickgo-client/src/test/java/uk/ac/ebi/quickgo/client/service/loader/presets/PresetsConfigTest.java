@@ -0,0 +1,51 @@
+package uk.ac.ebi.quickgo.client.service.loader.presets;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.Test;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.job.flow.Flow;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static uk.ac.ebi.quickgo.client.service.loader.presets.reference.ReferencePresetsConfig.CORE_REFERENCE_DB_LOADING_STEP_NAME;
+import static uk.ac.ebi.quickgo.client.service.loader.presets.reference.ReferencePresetsConfig.SPECIFIC_REFERENCE_LOADING_STEP_NAME;
+
+/**
+ * Created 19/10/26
+ */
+public class PresetsConfigTest {
+    @Test
+    public void independentStepsAreRunInSeparateBranches() {
+        List<String> branchNames = branchNames(step("a"), step("b"), step("c"));
+
+        assertThat(branchNames, contains("a", "b", "c"));
+    }
+
+    @Test
+    public void groupedStepsShareABranch() {
+        List<String> branchNames = branchNames(
+                step(SPECIFIC_REFERENCE_LOADING_STEP_NAME),
+                step("a"),
+                step(CORE_REFERENCE_DB_LOADING_STEP_NAME));
+
+        assertThat(branchNames, contains(
+                CORE_REFERENCE_DB_LOADING_STEP_NAME + "+" + SPECIFIC_REFERENCE_LOADING_STEP_NAME, "a"));
+    }
+
+    private static List<String> branchNames(Step... steps) {
+        return Stream.of(PresetsConfig.branches(asList(steps)))
+                .map(Flow::getName)
+                .collect(Collectors.toList());
+    }
+
+    private static Step step(String name) {
+        Step step = mock(Step.class);
+        when(step.getName()).thenReturn(name);
+        return step;
+    }
+}
@@ -0,0 +1,75 @@
+package uk.ac.ebi.quickgo.client.service.loader.presets;
+
+import uk.ac.ebi.quickgo.client.model.presets.PresetType;
+import uk.ac.ebi.quickgo.client.model.presets.impl.CompositePresetImpl;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static uk.ac.ebi.quickgo.client.model.presets.PresetItem.Property.NAME;
+import static uk.ac.ebi.quickgo.client.model.presets.PresetItem.createWithName;
+
+/**
+ * Created 19/10/26
+ */
+public class PublishPresetsJobListenerTest {
+    private CompositePresetImpl presets;
+    private PublishPresetsJobListener listener;
+
+    @Before
+    public void setUp() {
+        presets = new CompositePresetImpl();
+        presets.addPreset(PresetType.ASSIGNED_BY, createWithName("previous").build());
+        listener = new PublishPresetsJobListener(presets);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullPresetsThrowsException() {
+        new PublishPresetsJobListener(null);
+    }
+
+    @Test
+    public void completedJobPublishesItsPresets() {
+        runJob(BatchStatus.COMPLETED);
+
+        assertThat(assignedByNames(), contains("loaded"));
+    }
+
+    @Test
+    public void failedJobLeavesPreviouslyPublishedPresetsUnchanged() {
+        runJob(BatchStatus.FAILED);
+
+        assertThat(assignedByNames(), contains("previous"));
+    }
+
+    @Test
+    public void presetsOfFailedJobAreNotPublishedByLaterPublish() {
+        runJob(BatchStatus.FAILED);
+        presets.publishStaged();
+
+        assertThat(assignedByNames(), contains("previous"));
+    }
+
+    private void runJob(BatchStatus status) {
+        JobExecution jobExecution = new JobExecution(new JobInstance(1L, "presets"), new JobParameters());
+
+        listener.beforeJob(jobExecution);
+        presets.addPreset(PresetType.ASSIGNED_BY, createWithName("loaded").build());
+        jobExecution.setStatus(status);
+        listener.afterJob(jobExecution);
+    }
+
+    private List<String> assignedByNames() {
+        return presets.getAssignedBy().stream()
+                .map(preset -> preset.getProperty(NAME))
+                .collect(Collectors.toList());
+    }
+}
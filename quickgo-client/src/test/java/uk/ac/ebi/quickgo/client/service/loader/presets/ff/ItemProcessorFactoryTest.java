@@ -19,6 +19,9 @@ import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsNull.notNullValue;
 import static org.hamcrest.core.IsNull.nullValue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static uk.ac.ebi.quickgo.client.service.loader.presets.ff.ItemProcessorFactory.checkPresetIsUsedItemProcessor;
 import static uk.ac.ebi.quickgo.client.service.loader.presets.ff.ItemProcessorFactory.duplicateCheckingItemProcessor;
@@ -142,6 +145,18 @@ public class ItemProcessorFactoryTest {
 
             assertThat(rawItemReturned, equalTo(rawItem));
         }
+
+        @Test
+        public void usedValuesAreRetrievedOnceWhenFirstItemIsProcessed() throws Exception {
+            when(restValuesRetriever.retrieveValues(RETRIEVE_KEY)).thenReturn(Optional.of(singletonList("GlenHelen")));
+            this.checkUsed = checkPresetIsUsedItemProcessor(restValuesRetriever, RETRIEVE_KEY);
+            verify(restValuesRetriever, never()).retrieveValues(RETRIEVE_KEY);
+
+            assertThat(checkUsed.process(rawItem), nullValue());
+            assertThat(checkUsed.process(rawItemAnother), equalTo(rawItemAnother));
+
+            verify(restValuesRetriever, times(1)).retrieveValues(RETRIEVE_KEY);
+        }
     }
 
     public static class FifoRelevancyItemProcessorTest {
@@ -0,0 +1,188 @@
+package uk.ac.ebi.quickgo.client.service.search.ontology;
+
+import uk.ac.ebi.quickgo.client.model.ontology.OntologyTerm;
+import uk.ac.ebi.quickgo.ontology.common.OntologyDocument;
+import uk.ac.ebi.quickgo.rest.search.results.DocHighlight;
+import uk.ac.ebi.quickgo.rest.search.results.FieldHighlight;
+import uk.ac.ebi.quickgo.rest.search.results.QueryResult;
+
+import java.util.Collections;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.Before;
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Tests the {@link OntologyPrefixIndex} implementation.
+ *
+ * Created 19/10/26
+ */
+public class OntologyPrefixIndexTest {
+    private static final OntologyPrefixIndex.Highlighting HIGHLIGHTING =
+            new OntologyPrefixIndex.Highlighting("<b>", "</b>");
+
+    private OntologyPrefixIndex index;
+
+    @Before
+    public void setUp() {
+        index = OntologyPrefixIndex.newBuilder()
+                .addDocument(goDoc("GO:0006915", "apoptotic process", "Process", "apoptosis", "cell suicide"))
+                .addDocument(goDoc("GO:0043065", "positive regulation of apoptotic process", "Process"))
+                .addDocument(goDoc("GO:0005634", "nucleus", "Component", "cell nucleus"))
+                .addDocument(ecoDoc("ECO:0000269", "experimental evidence used in manual assertion"))
+                .build();
+    }
+
+    @Test
+    public void prefixMatchesName() {
+        assertThat(ids(search("nucl")), contains("GO:0005634"));
+    }
+
+    @Test
+    public void prefixMatchesSynonym() {
+        assertThat(ids(search("suic")), contains("GO:0006915"));
+    }
+
+    @Test
+    public void searchIsCaseInsensitive() {
+        assertThat(ids(search("NUCLEUS")), contains("GO:0005634"));
+    }
+
+    @Test
+    public void identifierMatchIsRankedFirst() {
+        assertThat(ids(search("GO:0043065 apoptotic")), contains("GO:0043065", "GO:0006915"));
+    }
+
+    @Test
+    public void shorterNameIsRankedFirstForEqualScores() {
+        assertThat(ids(search("apopto")), contains("GO:0006915", "GO:0043065"));
+    }
+
+    @Test
+    public void equallyScoredSynonymMatchesAreRankedByNameLength() {
+        assertThat(ids(search("cell")), contains("GO:0005634", "GO:0006915"));
+    }
+
+    @Test
+    public void phraseMatchIsRankedAboveScatteredMatch() {
+        OntologyPrefixIndex phraseIndex = OntologyPrefixIndex.newBuilder()
+                .addDocument(goDoc("GO:1", "process of regulation positive", "Process"))
+                .addDocument(goDoc("GO:2", "positive regulation process", "Process"))
+                .build();
+
+        assertThat(ids(phraseIndex.search("positive regulation", emptyList(), null, 1, 10, null)),
+                contains("GO:2", "GO:1"));
+    }
+
+    @Test
+    public void unmatchedQueryReturnsNoResults() {
+        QueryResult<OntologyTerm> result = search("kinase");
+
+        assertThat(result.getNumberOfHits(), is(0L));
+        assertThat(result.getResults(), hasSize(0));
+    }
+
+    @Test
+    public void resultsCanBeFilteredByOntologyType() {
+        QueryResult<OntologyTerm> result = index.search("e", emptyList(), "eco", 1, 10, null);
+
+        assertThat(ids(result), contains("ECO:0000269"));
+    }
+
+    @Test
+    public void resultsCanBeFilteredByAspect() {
+        QueryResult<OntologyTerm> result = index.search("cell", singletonList("process"), null, 1, 10, null);
+
+        assertThat(ids(result), contains("GO:0006915"));
+    }
+
+    @Test
+    public void resultsArePaged() {
+        QueryResult<OntologyTerm> result = index.search("apopto", emptyList(), null, 2, 1, null);
+
+        assertThat(result.getNumberOfHits(), is(2L));
+        assertThat(ids(result), contains("GO:0043065"));
+        assertThat(result.getPageInfo().getCurrent(), is(2));
+        assertThat(result.getPageInfo().getTotal(), is(2));
+    }
+
+    @Test
+    public void eachPageHoldsTheNextMostRelevantOfManyHits() {
+        OntologyPrefixIndex.Builder builder = OntologyPrefixIndex.newBuilder();
+        for (int i = 0; i < 50; i++) {
+            builder.addDocument(goDoc(String.format("GO:%07d", i), "binding" + new String(new char[i % 7])
+                    .replace('\0', 'x'), "Function"));
+        }
+        OntologyPrefixIndex manyHits = builder.build();
+
+        List<String> allIds = ids(manyHits.search("bind", emptyList(), null, 1, 50, null));
+        List<String> pagedIds = new ArrayList<>();
+        for (int page = 1; page <= 5; page++) {
+            QueryResult<OntologyTerm> result = manyHits.search("bind", emptyList(), null, page, 10, null);
+            assertThat(result.getNumberOfHits(), is(50L));
+            pagedIds.addAll(ids(result));
+        }
+
+        assertThat(pagedIds, is(allIds));
+        assertThat(allIds.get(0), is("GO:0000000"));
+        assertThat(ids(manyHits.search("bind", emptyList(), null, 6, 10, null)), hasSize(0));
+    }
+
+    @Test
+    public void highlightingWrapsMatchedPrefixOfNamesAndSynonyms() {
+        QueryResult<OntologyTerm> result = index.search("apopto", emptyList(), "go", 1, 1, HIGHLIGHTING);
+
+        List<DocHighlight> highlights = result.getHighlighting();
+        assertThat(highlights, hasSize(1));
+        assertThat(highlights.get(0).getId(), is("GO:0006915"));
+        assertThat(highlights.get(0).getMatches(), contains(
+                new FieldHighlight("name", singletonList("<b>apopto</b>tic process")),
+                new FieldHighlight("synonym", singletonList("<b>apopto</b>sis"))));
+    }
+
+    @Test
+    public void noHighlightsWithoutHighlighting() {
+        assertThat(search("apopto").getHighlighting(), hasSize(0));
+    }
+
+    @Test
+    public void documentsOfOtherOntologiesAreNotIndexed() {
+        OntologyDocument doc = goDoc("XX:1", "nucleus", null);
+        doc.ontologyType = "XX";
+
+        assertThat(OntologyPrefixIndex.newBuilder().addDocument(doc).build().size(), is(0));
+    }
+
+    private QueryResult<OntologyTerm> search(String query) {
+        return index.search(query, emptyList(), null, 1, 10, null);
+    }
+
+    private static List<String> ids(QueryResult<OntologyTerm> result) {
+        return result.getResults().stream().map(term -> term.id).collect(Collectors.toList());
+    }
+
+    private static OntologyDocument goDoc(String id, String name, String aspect, String... synonyms) {
+        OntologyDocument doc = new OntologyDocument();
+        doc.id = id;
+        doc.ontologyType = "GO";
+        doc.name = name;
+        doc.aspect = aspect;
+        doc.synonymNames = synonyms.length == 0 ? Collections.emptyList() : asList(synonyms);
+        return doc;
+    }
+
+    private static OntologyDocument ecoDoc(String id, String name) {
+        OntologyDocument doc = goDoc(id, name, null);
+        doc.ontologyType = "ECO";
+        return doc;
+    }
+}
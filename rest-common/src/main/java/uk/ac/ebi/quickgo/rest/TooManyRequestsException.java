@@ -0,0 +1,25 @@
+package uk.ac.ebi.quickgo.rest;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Exception that is thrown to indicate a request was rejected because the service is too busy to accept it now,
+ * e.g., because the client already has too many requests in progress. The client may retry the request after
+ * {@link #getRetryAfterSeconds()}.
+ *
+ * Created 19/10/26
+ */
+public class TooManyRequestsException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        Preconditions.checkArgument(retryAfterSeconds > 0, "Retry after seconds must be positive: %s",
+                retryAfterSeconds);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
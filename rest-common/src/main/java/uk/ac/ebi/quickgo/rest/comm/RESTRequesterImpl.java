@@ -1,5 +1,7 @@
 package uk.ac.ebi.quickgo.rest.comm;
 
+import uk.ac.ebi.quickgo.rest.metrics.HotPathMetrics;
+
 import com.google.common.base.Preconditions;
 import java.util.Collections;
 import java.util.LinkedHashMap;
@@ -16,6 +18,7 @@ import static org.slf4j.LoggerFactory.getLogger;
  */
 public class RESTRequesterImpl implements RESTRequester {
     private static final Logger LOGGER = getLogger(RESTRequesterImpl.class);
+    static final String REST_REQUEST_STAGE = "rest-request";
     private final String url;
     private final RestOperations restOperations;
     private Map<String, String> requestParameters;
@@ -36,8 +39,8 @@ public class RESTRequesterImpl implements RESTRequester {
     }
 
     <T> CompletableFuture<T> get(RestOperations template, Class<T> responseType) {
-        return CompletableFuture.supplyAsync(() ->
-                template.getForObject(url, responseType, requestParameters));
+        return CompletableFuture.supplyAsync(() -> HotPathMetrics.time(REST_REQUEST_STAGE,
+                () -> template.getForObject(url, responseType, requestParameters)));
     }
 
     public static class Builder {
@@ -3,6 +3,7 @@ package uk.ac.ebi.quickgo.rest.controller;
 import uk.ac.ebi.quickgo.rest.ParameterException;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.function.Predicate;
@@ -65,16 +66,25 @@ public class ControllerValidationHelperImpl implements ControllerValidationHelpe
         List<String> idList = csvToList(ids);
 
         validateRequestedResults(idList.size());
+        validateIdFormats(idList);
 
-        idList.stream()
+        return idList;
+    }
+
+    /**
+     * Checks that each of a collection of IDs is of a valid format.
+     *
+     * @param ids the IDs to check
+     * @throws ParameterException if an ID is not valid
+     */
+    protected void validateIdFormats(Collection<String> ids) {
+        ids.stream()
                 .filter(entityValidation.negate())
                 .forEach(badId -> {
                     String errorMessage = "Provided ID: '" + badId + "' is invalid";
                     LOGGER.error(errorMessage);
                     throw new ParameterException(errorMessage);
                 });
-
-        return idList;
     }
 
     @Override public void validateRequestedResults(int requestedResultsSize) {
@@ -0,0 +1,147 @@
+package uk.ac.ebi.quickgo.rest.metrics;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.base.Preconditions;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * <p>Records the latency and throughput of the stages of a request's hot path, e.g., Solr retrieval, REST filter
+ * conversion, result transformation, or writing a download, so that a slow request can be attributed to a stage.
+ *
+ * <p>The duration of each stage is recorded in a {@link Timer}, named {@code quickgo.stage.<stage>}, in a registry
+ * that is published by the actuator's metrics endpoint (see {@link MetricsConfig}). If the stage is run whilst
+ * serving a request, its duration is also added to the request's {@link ServerTimings}. Counts and distributions of
+ * values are recorded in {@link Meter}s and {@link Histogram}s, named {@code quickgo.<name>}.
+ *
+ * <p>Stages are timed either by a try-with-resources block:
+ * <pre>
+ *     try (HotPathMetrics.Timing timing = HotPathMetrics.start("solr")) {
+ *         ...
+ *     }
+ * </pre>
+ * or by {@link #time(String, Supplier)}.
+ *
+ * Created 19/10/26
+ */
+public final class HotPathMetrics {
+    static final String STAGE_PREFIX = "quickgo.stage.";
+    static final String METRIC_PREFIX = "quickgo.";
+
+    private static final MetricRegistry REGISTRY = new MetricRegistry();
+    private static final ConcurrentMap<String, Timer> TIMERS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, Meter> METERS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, Histogram> HISTOGRAMS = new ConcurrentHashMap<>();
+
+    private HotPathMetrics() {}
+
+    /**
+     * @return the registry holding all hot path metrics
+     */
+    public static MetricRegistry registry() {
+        return REGISTRY;
+    }
+
+    /**
+     * Starts timing a stage, which ends when the returned {@link Timing} is closed.
+     *
+     * @param stage the name of the stage, e.g., {@code solr}
+     * @return the timing of the stage
+     */
+    public static Timing start(String stage) {
+        Preconditions.checkArgument(stage != null && !stage.isEmpty(), "Stage cannot be null or empty");
+        return new Timing(stage, timer(stage));
+    }
+
+    /**
+     * Times a stage.
+     *
+     * @param stage the name of the stage, e.g., {@code solr}
+     * @param work the work done by the stage
+     * @param <T> the type of the result of the stage
+     * @return the result of the stage
+     */
+    public static <T> T time(String stage, Supplier<T> work) {
+        try (Timing timing = start(stage)) {
+            return work.get();
+        }
+    }
+
+    /**
+     * Records the duration of a stage that was not timed by a {@link Timing}, e.g., the time a task waited in a
+     * queue before it was run. The duration is not added to the current request's {@link ServerTimings}.
+     *
+     * @param stage the name of the stage, e.g., {@code download.queue}
+     * @param durationNanos the duration of the stage, in nanoseconds
+     */
+    public static void record(String stage, long durationNanos) {
+        Preconditions.checkArgument(stage != null && !stage.isEmpty(), "Stage cannot be null or empty");
+        timer(stage).update(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Publishes a value that is read whenever the metrics are reported, e.g., the current depth of a queue. A gauge
+     * published earlier under the same name is replaced.
+     *
+     * @param name the name of the value
+     * @param gauge the gauge that reads the value
+     */
+    public static void gauge(String name, Gauge<?> gauge) {
+        Preconditions.checkArgument(gauge != null, "Gauge cannot be null");
+        REGISTRY.remove(METRIC_PREFIX + name);
+        REGISTRY.register(METRIC_PREFIX + name, gauge);
+    }
+
+    /**
+     * Marks the occurrence of an event, e.g., a failure, so that its count and rate are recorded.
+     *
+     * @param name the name of the event
+     */
+    public static void mark(String name) {
+        METERS.computeIfAbsent(name, key -> REGISTRY.meter(METRIC_PREFIX + key)).mark();
+    }
+
+    /**
+     * Records a value in the distribution of a quantity, e.g., the number of results written by a download.
+     *
+     * @param name the name of the quantity
+     * @param value the value
+     */
+    public static void update(String name, long value) {
+        HISTOGRAMS.computeIfAbsent(name, key -> REGISTRY.histogram(METRIC_PREFIX + key)).update(value);
+    }
+
+    private static Timer timer(String stage) {
+        return TIMERS.computeIfAbsent(stage, name -> REGISTRY.timer(STAGE_PREFIX + name));
+    }
+
+    /**
+     * The timing of a single run of a stage.
+     */
+    public static final class Timing implements AutoCloseable {
+        private final String stage;
+        private final Timer timer;
+        private final long startNanos;
+
+        private Timing(String stage, Timer timer) {
+            this.stage = stage;
+            this.timer = timer;
+            this.startNanos = System.nanoTime();
+        }
+
+        /**
+         * Ends the stage, recording its duration.
+         */
+        @Override public void close() {
+            long durationNanos = System.nanoTime() - startNanos;
+            timer.update(durationNanos, TimeUnit.NANOSECONDS);
+            ServerTimings.record(stage, durationNanos);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package uk.ac.ebi.quickgo.rest.metrics;
+
+import com.codahale.metrics.MetricRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+/**
+ * Publishes the {@link HotPathMetrics} registry, so that the actuator's metrics endpoint, {@code /metrics}, reports
+ * the hot path timers, meters and histograms alongside its own metrics, e.g., the hit ratios of caches.
+ *
+ * By default, the health and metrics endpoints are the only actuator endpoints that are enabled, and the metrics
+ * endpoint requires authentication as a management user; see {@code metrics.properties}.
+ *
+ * Created 19/10/26
+ */
+@Configuration
+@PropertySource("classpath:metrics.properties")
+public class MetricsConfig {
+    @Bean
+    public MetricRegistry metricRegistry() {
+        return HotPathMetrics.registry();
+    }
+}
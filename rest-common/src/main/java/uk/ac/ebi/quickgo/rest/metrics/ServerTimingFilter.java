@@ -0,0 +1,90 @@
+package uk.ac.ebi.quickgo.rest.metrics;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import static uk.ac.ebi.quickgo.rest.metrics.ServerTimings.SERVER_TIMING_HEADER;
+
+/**
+ * Times the stages of each request, see {@link HotPathMetrics}, and reports them in the request's
+ * {@code Server-Timing} response header.
+ *
+ * Since headers cannot be added once a response has been committed, the header is added just before the body of the
+ * response is first written, by which time the stages preceding the writing of the response have completed.
+ *
+ * Created 19/10/26
+ */
+@Component
+public class ServerTimingFilter extends OncePerRequestFilter {
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        ServerTimingResponse timedResponse = new ServerTimingResponse(response, ServerTimings.begin());
+        try {
+            filterChain.doFilter(request, timedResponse);
+            timedResponse.addServerTimingHeader();
+        } finally {
+            ServerTimings.end();
+        }
+    }
+
+    /**
+     * Adds the {@code Server-Timing} header to a response, before its body is written.
+     */
+    private static class ServerTimingResponse extends HttpServletResponseWrapper {
+        private final ServerTimings timings;
+        private final long startNanos;
+        private boolean headerAdded;
+
+        private ServerTimingResponse(HttpServletResponse response, ServerTimings timings) {
+            super(response);
+            this.timings = timings;
+            this.startNanos = System.nanoTime();
+        }
+
+        @Override public ServletOutputStream getOutputStream() throws IOException {
+            addServerTimingHeader();
+            return super.getOutputStream();
+        }
+
+        @Override public PrintWriter getWriter() throws IOException {
+            addServerTimingHeader();
+            return super.getWriter();
+        }
+
+        @Override public void flushBuffer() throws IOException {
+            addServerTimingHeader();
+            super.flushBuffer();
+        }
+
+        @Override public void sendError(int sc) throws IOException {
+            addServerTimingHeader();
+            super.sendError(sc);
+        }
+
+        @Override public void sendError(int sc, String msg) throws IOException {
+            addServerTimingHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override public void sendRedirect(String location) throws IOException {
+            addServerTimingHeader();
+            super.sendRedirect(location);
+        }
+
+        private void addServerTimingHeader() {
+            if (!headerAdded && !isCommitted()) {
+                setHeader(SERVER_TIMING_HEADER, timings.toHeaderValue(System.nanoTime() - startNanos));
+                headerAdded = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package uk.ac.ebi.quickgo.rest.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>The durations of the stages run whilst serving a single request, in the order in which they were first run, so
+ * that they can be reported in the request's {@code Server-Timing} response header, e.g.,
+ * {@code solr;dur=12.41, transform;dur=3.02, total;dur=16.90}. The durations of repeated stages are summed.
+ *
+ * <p>The timings of a request are bound to the thread serving it, by {@link ServerTimingFilter}; stages run on other
+ * threads, e.g., those writing a download asynchronously, are only recorded by {@link HotPathMetrics}.
+ *
+ * Created 19/10/26
+ */
+public class ServerTimings {
+    static final String SERVER_TIMING_HEADER = "Server-Timing";
+    static final String TOTAL = "total";
+
+    private static final ThreadLocal<ServerTimings> CURRENT = new ThreadLocal<>();
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Map<String, Long> stageNanos;
+
+    ServerTimings() {
+        stageNanos = new LinkedHashMap<>();
+    }
+
+    /**
+     * Binds new timings to the current thread.
+     *
+     * @return the timings
+     */
+    static ServerTimings begin() {
+        ServerTimings timings = new ServerTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    /**
+     * Unbinds the timings of the current thread.
+     */
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Adds the duration of a stage to the timings bound to the current thread, if any.
+     *
+     * @param stage the stage
+     * @param durationNanos the duration of the stage, in nanoseconds
+     */
+    static void record(String stage, long durationNanos) {
+        ServerTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.add(stage, durationNanos);
+        }
+    }
+
+    synchronized void add(String stage, long durationNanos) {
+        stageNanos.merge(stage, durationNanos, Long::sum);
+    }
+
+    /**
+     * Formats the timings as the value of a {@code Server-Timing} header.
+     *
+     * @param totalNanos the total duration of the request so far, in nanoseconds
+     * @return the header value
+     */
+    synchronized String toHeaderValue(long totalNanos) {
+        StringJoiner header = new StringJoiner(", ");
+        stageNanos.forEach((stage, nanos) -> header.add(metric(stage, nanos)));
+        header.add(metric(TOTAL, totalNanos));
+        return header.toString();
+    }
+
+    private static String metric(String name, long nanos) {
+        return String.format(Locale.ROOT, "%s;dur=%.2f", name, nanos / NANOS_PER_MILLI);
+    }
+}
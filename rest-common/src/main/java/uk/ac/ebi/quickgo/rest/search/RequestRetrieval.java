@@ -20,4 +20,12 @@ public interface RequestRetrieval<T> {
      * from a data source
      */
     QueryResult<T> findByQuery(QueryRequest request) ;
+
+    /**
+     * Releases any resources held open to retrieve the pages that follow a cursor, e.g., because the caller has read
+     * all of the pages it wants. By default, no resources are held, and so there is nothing to release.
+     *
+     * @param cursor a cursor returned with a page of results, whose subsequent pages will not be requested
+     */
+    default void release(String cursor) {}
 }
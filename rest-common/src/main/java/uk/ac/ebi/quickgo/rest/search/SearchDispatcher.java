@@ -135,7 +135,9 @@ public final class SearchDispatcher {
      * @param context data made available to the result transformations
      * @param limit the number of results to be streamed back to the caller
      * @param <T> the type of the {@link QueryResult}
-     * @return a stream of {@link QueryResult} instances, containing up to {@code limit} results in total
+     * @return a stream of {@link QueryResult} instances, containing up to {@code limit} results in total, which
+     * should be closed once it has been read, so that the search service can release the resources it holds open for
+     * the pages that will not be read, e.g., an export
      */
     public static <T> Stream<QueryResult<T>> streamSearchResults(
             QueryRequest firstQueryRequest,
@@ -160,6 +162,7 @@ public final class SearchDispatcher {
                 firstTransformedQueryResult = resizeResultsIfRequired(firstTransformedQueryResult, limit);
                 MutableValue<String> cursor = new MutableValue<>(FIRST_CURSOR);
                 MutableValue<Integer> fetchedCount = new MutableValue<>(0);
+                MutableValue<String> lastNextCursor = new MutableValue<>(nextCursorOf(firstQueryResult));
                 int requiredIterations = getRequiredNumberOfPagesToFetch(pageSize, totalHits, limit);
 
                 resultStream = Stream.iterate(firstTransformedQueryResult, qr -> {
@@ -174,11 +177,12 @@ public final class SearchDispatcher {
                         QueryRequest nextQueryRequest =
                                 createNextCursorQueryRequest(queryTemplate, firstQueryRequest, nextCursor, nextPageSize);
 
-                        return transformer.applyTransformations(
-                                searchService.findByQuery(nextQueryRequest),
-                                context);
+                        QueryResult<T> nextQueryResult = searchService.findByQuery(nextQueryRequest);
+                        lastNextCursor.setValue(nextCursorOf(nextQueryResult));
+                        return transformer.applyTransformations(nextQueryResult, context);
                     }
-                }).limit(requiredIterations);
+                }).limit(requiredIterations)
+                        .onClose(() -> searchService.release(lastNextCursor.getValue()));
             } catch (RetrievalException e) {
                 LOGGER.error(createErrorMessage(firstQueryRequest), e);
                 throw e;
@@ -300,6 +304,10 @@ public final class SearchDispatcher {
         return true;
     }
 
+    private static <T> String nextCursorOf(QueryResult<T> queryResult) {
+        return queryResult.getPageInfo() == null ? null : queryResult.getPageInfo().getNextCursor();
+    }
+
     private static boolean isCursorAtEnd(String cursor, String nextCursor) {
         return cursor.equals(nextCursor);
     }
@@ -20,4 +20,12 @@ public interface SearchService<T> {
      * @throws RetrievalException if there is an issue retrieving the data
      */
     QueryResult<T> findByQuery(QueryRequest request) ;
+
+    /**
+     * Releases any resources held open to retrieve the pages that follow a cursor.
+     *
+     * @param cursor a cursor returned with a page of results, whose subsequent pages will not be requested
+     * @see RequestRetrieval#release(String)
+     */
+    default void release(String cursor) {}
 }
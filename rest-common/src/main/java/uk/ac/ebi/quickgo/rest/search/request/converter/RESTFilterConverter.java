@@ -2,6 +2,7 @@ package uk.ac.ebi.quickgo.rest.search.request.converter;
 
 import uk.ac.ebi.quickgo.rest.comm.RESTRequesterImpl;
 import uk.ac.ebi.quickgo.rest.comm.ResponseType;
+import uk.ac.ebi.quickgo.rest.metrics.HotPathMetrics;
 import uk.ac.ebi.quickgo.rest.search.RetrievalException;
 import uk.ac.ebi.quickgo.rest.search.request.FilterRequest;
 import uk.ac.ebi.quickgo.rest.search.request.config.FilterConfig;
@@ -47,6 +48,8 @@ class RESTFilterConverter<T> implements FilterConverter<FilterRequest, T> {
     private static final Pattern PROTOCOL_REGEX = Pattern.compile(PROTOCOL_FORMAT);
     private static final String FAILED_REST_FETCH_PREFIX = "Failed to fetch REST response";
     private static final int DEFAULT_TIMEOUT_MILLIS = 2000;
+    private static final String REST_FILTER_STAGE = "rest-filter";
+    private static final String REST_FILTER_FAILURES = "rest-filter.failures";
 
     private final FilterConfig filterConfig;
     private final RestOperations restOperations;
@@ -73,12 +76,13 @@ class RESTFilterConverter<T> implements FilterConverter<FilterRequest, T> {
         Preconditions.checkArgument(request != null, "FilterRequest cannot be null");
         RESTRequesterImpl.Builder restRequesterBuilder = initRequestBuilder(request);
 
-        try {
+        try (HotPathMetrics.Timing timing = HotPathMetrics.start(REST_FILTER_STAGE)) {
             Class<?> restResponseType = loadResponseType();
             FilterConverter<ResponseType, T> converter = createConverter();
             ResponseType results = (ResponseType) fetchResults(restRequesterBuilder.build(), restResponseType);
             return converter.transform(results);
         } catch (Exception e) {
+            HotPathMetrics.mark(REST_FILTER_FAILURES);
             String errorMessage = FAILED_REST_FETCH_PREFIX + " due to: ";
             if (e.getMessage() != null && !e.getMessage().trim().isEmpty()) {
                 errorMessage += e.getMessage();
@@ -1,6 +1,7 @@
 package uk.ac.ebi.quickgo.rest.search.results.transformer;
 
 import uk.ac.ebi.quickgo.rest.comm.FilterContext;
+import uk.ac.ebi.quickgo.rest.metrics.HotPathMetrics;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -15,6 +16,8 @@ import java.util.List;
  * @author Edd
  */
 public class ResultTransformerChain<R> {
+    static final String TRANSFORM_STAGE = "transform";
+
     private final List<ResultTransformer<R>> transformers;
 
     public ResultTransformerChain() {
@@ -38,10 +41,12 @@ public class ResultTransformerChain<R> {
      * @return the transformed result of type {@code R}
      */
     public R applyTransformations(R result, FilterContext filterContext) {
-        R transformation = result;
-        for (ResultTransformer<R> transformer : transformers) {
-            transformation = transformer.transform(result, filterContext);
+        try (HotPathMetrics.Timing timing = HotPathMetrics.start(TRANSFORM_STAGE)) {
+            R transformation = result;
+            for (ResultTransformer<R> transformer : transformers) {
+                transformation = transformer.transform(result, filterContext);
+            }
+            return transformation;
         }
-        return transformation;
     }
 }
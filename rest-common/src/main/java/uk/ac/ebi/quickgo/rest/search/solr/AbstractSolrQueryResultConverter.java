@@ -31,9 +31,6 @@ public abstract class AbstractSolrQueryResultConverter<T> implements QueryResult
         Preconditions.checkArgument(request != null, "Query request cannot be null");
 
         SolrDocumentList solrResults = response.getResults();
-        Page requestPage = request.getPage();
-        List<FacetField> facetFieldResults = response.getFacetFields();
-        Map<String, Map<String, List<String>>> resultHighlights = response.getHighlighting();
 
         long totalNumberOfResults = 0;
 
@@ -46,6 +43,34 @@ public abstract class AbstractSolrQueryResultConverter<T> implements QueryResult
             results = Collections.emptyList();
         }
 
+        return convert(response, request, totalNumberOfResults, results, solrResults);
+    }
+
+    /**
+     * Converts a response whose documents have already been converted, one at a time, as they were streamed from
+     * Solr.
+     *
+     * @param response the response, whose document list is empty
+     * @param request the request that produced the response
+     * @param streamedResults the results converted whilst the response was streamed
+     * @return the query result
+     */
+    public QueryResult<T> convertStreamed(QueryResponse response, QueryRequest request,
+            StreamedSolrResults<T> streamedResults) {
+        Preconditions.checkArgument(response != null, "Query response cannot be null");
+        Preconditions.checkArgument(request != null, "Query request cannot be null");
+        Preconditions.checkArgument(streamedResults != null, "Streamed results cannot be null");
+
+        return convert(response, request, streamedResults.getNumFound(), streamedResults.getResults(),
+                streamedResults.getHighlightedDocuments());
+    }
+
+    private QueryResult<T> convert(QueryResponse response, QueryRequest request, long totalNumberOfResults,
+            List<T> results, SolrDocumentList highlightedDocuments) {
+        Page requestPage = request.getPage();
+        List<FacetField> facetFieldResults = response.getFacetFields();
+        Map<String, Map<String, List<String>>> resultHighlights = response.getHighlighting();
+
         PageInfo pageInfo = null;
 
         if (requestPage != null) {
@@ -60,8 +85,9 @@ public abstract class AbstractSolrQueryResultConverter<T> implements QueryResult
 
         List<DocHighlight> highlights = null;
 
-        if (resultHighlights != null && solrResults != null && queryResultHighlightingConverter != null) {
-            highlights = queryResultHighlightingConverter.convertResultHighlighting(solrResults, resultHighlights);
+        if (resultHighlights != null && highlightedDocuments != null && queryResultHighlightingConverter != null) {
+            highlights =
+                    queryResultHighlightingConverter.convertResultHighlighting(highlightedDocuments, resultHighlights);
         }
 
         AggregateResponse aggregation = null;
@@ -0,0 +1,70 @@
+package uk.ac.ebi.quickgo.rest.search.solr;
+
+import com.google.common.base.Preconditions;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.impl.InputStreamResponseParser;
+import org.apache.solr.client.solrj.request.QueryRequest;
+import org.apache.solr.common.params.SolrParams;
+import org.apache.solr.common.util.NamedList;
+
+/**
+ * Exports documents over HTTP, by reading the raw response of a Solr client's {@code /export} request, rather than
+ * letting the client decode it into a single response.
+ *
+ * <p>Only clients that return the raw response stream, such as {@code HttpSolrClient}, are supported; for other
+ * clients, e.g., an {@code EmbeddedSolrServer}, {@link #open} throws an {@link IOException}.
+ *
+ * Created 19/10/26
+ */
+public class HttpSolrExportSource implements SolrExportSource {
+    private static final String RESPONSE_WRITER_TYPE = "json";
+    private static final String STREAM = "stream";
+    private static final String CLOSEABLE_RESPONSE = "closeableResponse";
+
+    private final SolrClient solrClient;
+    private final String exportHandler;
+    private final Set<String> dateFields;
+
+    /**
+     * @param solrClient the client of the core whose documents are exported
+     * @param exportHandler the path of the export handler, e.g., {@code /export}
+     * @param dateFields the fields whose values are dates
+     */
+    public HttpSolrExportSource(SolrClient solrClient, String exportHandler, Set<String> dateFields) {
+        Preconditions.checkArgument(solrClient != null, "Solr client cannot be null");
+        Preconditions.checkArgument(exportHandler != null && !exportHandler.isEmpty(),
+                "Export handler cannot be null or empty");
+        Preconditions.checkArgument(dateFields != null, "Date fields cannot be null");
+
+        this.solrClient = solrClient;
+        this.exportHandler = exportHandler;
+        this.dateFields = dateFields;
+    }
+
+    @Override public SolrExportReader open(SolrParams params) throws IOException, SolrServerException {
+        Preconditions.checkArgument(params != null, "Export parameters cannot be null");
+
+        QueryRequest request = new QueryRequest(params);
+        request.setPath(exportHandler);
+        request.setResponseParser(new InputStreamResponseParser(RESPONSE_WRITER_TYPE));
+
+        NamedList<Object> response = solrClient.request(request);
+        Object stream = response.get(STREAM);
+        if (!(stream instanceof InputStream)) {
+            throw new IOException("Solr client does not stream exports: " + solrClient.getClass().getName());
+        }
+
+        Object closeableResponse = response.get(CLOSEABLE_RESPONSE);
+        Closeable connection = closeableResponse instanceof Closeable ? (Closeable) closeableResponse : () -> {};
+
+        return new SolrExportReader(new InputStreamReader((InputStream) stream, StandardCharsets.UTF_8), dateFields,
+                connection);
+    }
+}
@@ -0,0 +1,201 @@
+package uk.ac.ebi.quickgo.rest.search.solr;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.google.common.base.Preconditions;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import org.apache.solr.common.SolrDocument;
+
+/**
+ * <p>Reads the documents written by Solr's {@code /export} handler, one at a time, as they are streamed from Solr.
+ * The handler writes a single JSON response of the form:
+ *
+ * <pre>
+ *     {"responseHeader": {"status": 0}, "response":{"numFound":2, "docs":[{"id":"1"},{"id":"2"}]}}
+ * </pre>
+ *
+ * <p>The handler writes dates as ISO-8601 text, so the values of the given date fields are parsed into
+ * {@link Date}s, i.e., the type they would have in a normal query response. Errors that occur whilst Solr is
+ * exporting are written as a document with a single {@code EXCEPTION} field, and are rethrown as
+ * {@link IOException}s.
+ *
+ * Created 19/10/26
+ */
+public class SolrExportReader implements Closeable {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final String RESPONSE = "response";
+    private static final String NUM_FOUND = "numFound";
+    private static final String DOCS = "docs";
+    private static final String EXCEPTION = "EXCEPTION";
+
+    private final JsonParser parser;
+    private final Set<String> dateFields;
+    private final Closeable connection;
+    private final long numFound;
+    private boolean exhausted;
+
+    /**
+     * Creates a reader of an export, reading up to the start of its documents.
+     *
+     * @param export the exported JSON
+     * @param dateFields the fields whose values are dates
+     * @throws IOException if the export cannot be read, or is not an export response
+     */
+    public SolrExportReader(Reader export, Set<String> dateFields) throws IOException {
+        this(export, dateFields, () -> {});
+    }
+
+    /**
+     * Creates a reader of an export, reading up to the start of its documents.
+     *
+     * @param export the exported JSON
+     * @param dateFields the fields whose values are dates
+     * @param connection the connection over which the export is read, which is closed before the export itself, so
+     *                   that an export that is not read to its end can be abandoned without reading its remainder
+     * @throws IOException if the export cannot be read, or is not an export response
+     */
+    public SolrExportReader(Reader export, Set<String> dateFields, Closeable connection) throws IOException {
+        Preconditions.checkArgument(export != null, "Export cannot be null");
+        Preconditions.checkArgument(dateFields != null, "Date fields cannot be null");
+        Preconditions.checkArgument(connection != null, "Connection cannot be null");
+
+        this.parser = JSON_FACTORY.createParser(export);
+        this.dateFields = dateFields;
+        this.connection = connection;
+
+        try {
+            this.numFound = readToDocs();
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the total number of documents in the export
+     */
+    public long getNumFound() {
+        return numFound;
+    }
+
+    /**
+     * Reads the next document of the export.
+     *
+     * @return the next document, or null if all documents have been read
+     * @throws IOException if the document cannot be read, or Solr failed whilst exporting it
+     */
+    public SolrDocument next() throws IOException {
+        if (exhausted) {
+            return null;
+        }
+
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.END_ARRAY) {
+            exhausted = true;
+            return null;
+        }
+        expect(token, JsonToken.START_OBJECT);
+
+        SolrDocument document = new SolrDocument();
+        while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            Object value = readValue(field, parser.nextToken());
+            if (EXCEPTION.equals(field)) {
+                throw new IOException("Solr failed to export documents: " + value);
+            }
+            document.setField(field, value);
+        }
+        expect(token, JsonToken.END_OBJECT);
+
+        return document;
+    }
+
+    @Override public void close() throws IOException {
+        try {
+            connection.close();
+        } finally {
+            parser.close();
+        }
+    }
+
+    private long readToDocs() throws IOException {
+        expect(parser.nextToken(), JsonToken.START_OBJECT);
+
+        Long found = null;
+        JsonToken token;
+        while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            token = parser.nextToken();
+
+            if (RESPONSE.equals(field)) {
+                expect(token, JsonToken.START_OBJECT);
+            } else if (NUM_FOUND.equals(field)) {
+                expect(token, JsonToken.VALUE_NUMBER_INT);
+                found = parser.getLongValue();
+            } else if (DOCS.equals(field)) {
+                expect(token, JsonToken.START_ARRAY);
+                if (found == null) {
+                    throw new IOException("Export response has no " + NUM_FOUND + " before its " + DOCS);
+                }
+                return found;
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        throw new IOException("Export response has no " + DOCS + ", found: " + token);
+    }
+
+    private Object readValue(String field, JsonToken token) throws IOException {
+        if (token == JsonToken.START_ARRAY) {
+            List<Object> values = new ArrayList<>();
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                values.add(readScalar(field, token));
+            }
+            return values;
+        }
+
+        return readScalar(field, token);
+    }
+
+    private Object readScalar(String field, JsonToken token) throws IOException {
+        switch (token) {
+            case VALUE_STRING:
+                return dateFields.contains(field) ? parseDate(field, parser.getText()) : parser.getText();
+            case VALUE_NUMBER_INT:
+                return dateFields.contains(field) ? new Date(parser.getLongValue()) : parser.getNumberValue();
+            case VALUE_NUMBER_FLOAT:
+                return parser.getNumberValue();
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+                return parser.getBooleanValue();
+            case VALUE_NULL:
+                return null;
+            default:
+                throw new IOException("Unexpected value of field '" + field + "' in export: " + token);
+        }
+    }
+
+    private static Date parseDate(String field, String value) throws IOException {
+        try {
+            return Date.from(Instant.parse(value));
+        } catch (DateTimeParseException e) {
+            throw new IOException("Value of date field '" + field + "' is not a date: " + value, e);
+        }
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Malformed export response, expected " + expected + " but found: " + actual);
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package uk.ac.ebi.quickgo.rest.search.solr;
+
+import uk.ac.ebi.quickgo.rest.search.RequestRetrieval;
+import uk.ac.ebi.quickgo.rest.search.RetrievalException;
+import uk.ac.ebi.quickgo.rest.search.query.CursorPage;
+import uk.ac.ebi.quickgo.rest.search.query.Page;
+import uk.ac.ebi.quickgo.rest.search.query.QueryRequest;
+import uk.ac.ebi.quickgo.rest.search.query.QueryRequestConverter;
+import uk.ac.ebi.quickgo.rest.search.results.PageInfo;
+import uk.ac.ebi.quickgo.rest.search.results.QueryResult;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrException;
+import org.apache.solr.common.params.CommonParams;
+import org.apache.solr.common.params.ModifiableSolrParams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static uk.ac.ebi.quickgo.rest.search.query.CursorPage.FIRST_CURSOR;
+
+/**
+ * <p>Retrieves cursor paged results, e.g., those of a download, from a single Solr {@code /export} stream, rather
+ * than by issuing a new cursor query for each page. The first page of a request opens the export, and each
+ * subsequent page reads the next documents from it; the cursors of the pages identify the open export. Exports are
+ * closed once they have been read, once they are {@link #release(String) released} because no more of their pages
+ * will be requested, e.g., because the caller has read as many results as it wants, or once they have not been read
+ * for the idle timeout, e.g., because the client stopped reading them without releasing them. A page requested from
+ * an export that has been closed, e.g., to resume a download job, reopens the export, and skips the documents before
+ * the page's cursor.
+ *
+ * <p>Exports are sorted by the export sort, rather than by the sort of the request, since only fields with docValues
+ * can be sorted on. Multi-valued fields are also read from their docValues, and so their values are sorted and
+ * without duplicates.
+ *
+ * <p>Requests that cannot be exported are delegated to the cursor retrieval: those not using cursor paging, those
+ * returning fields without docValues, or using facets, highlighting or aggregation, and those whose export could not
+ * be started, e.g., because the Solr client does not support exports.
+ *
+ * Created 19/10/26
+ */
+public class SolrExportRequestRetrieval<T> implements RequestRetrieval<T> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SolrExportRequestRetrieval.class);
+    static final String EXPORT_CURSOR_PREFIX = "export:";
+    private static final String CURSOR_SEPARATOR = ":";
+    private static final String FIELD_SEPARATOR = ",";
+
+    private final SolrExportSource exportSource;
+    private final QueryRequestConverter<SolrQuery> queryRequestConverter;
+    private final StreamingSolrQueryResultConverter<T> resultConverter;
+    private final RequestRetrieval<T> cursorRetrieval;
+    private final Set<String> exportableFields;
+    private final String exportSort;
+    private final Cache<String, Export> exports;
+
+    /**
+     * @param exportSource the source of the exported documents
+     * @param queryRequestConverter converts requests to Solr queries
+     * @param resultConverter converts each exported document to a result
+     * @param cursorRetrieval retrieves the requests that cannot be exported
+     * @param exportableFields the fields with docValues, which can therefore be exported
+     * @param exportSort the sort of the exports, on fields with docValues, e.g., {@code id asc}
+     * @param exportIdleTimeoutSeconds the number of seconds after which an export that is not read is closed
+     */
+    public SolrExportRequestRetrieval(
+            SolrExportSource exportSource,
+            QueryRequestConverter<SolrQuery> queryRequestConverter,
+            StreamingSolrQueryResultConverter<T> resultConverter,
+            RequestRetrieval<T> cursorRetrieval,
+            Set<String> exportableFields,
+            String exportSort,
+            long exportIdleTimeoutSeconds) {
+        Preconditions.checkArgument(exportSource != null, "Export source cannot be null");
+        Preconditions.checkArgument(queryRequestConverter != null, "Query request converter cannot be null");
+        Preconditions.checkArgument(resultConverter != null, "Result converter cannot be null");
+        Preconditions.checkArgument(cursorRetrieval != null, "Cursor retrieval cannot be null");
+        Preconditions.checkArgument(exportableFields != null, "Exportable fields cannot be null");
+        Preconditions.checkArgument(exportSort != null && !exportSort.isEmpty(), "Export sort cannot be null or empty");
+        Preconditions.checkArgument(exportIdleTimeoutSeconds > 0,
+                "Export idle timeout must be positive: " + exportIdleTimeoutSeconds);
+
+        this.exportSource = exportSource;
+        this.queryRequestConverter = queryRequestConverter;
+        this.resultConverter = resultConverter;
+        this.cursorRetrieval = cursorRetrieval;
+        this.exportableFields = exportableFields;
+        this.exportSort = exportSort;
+        this.exports = CacheBuilder.newBuilder()
+                .expireAfterAccess(exportIdleTimeoutSeconds, TimeUnit.SECONDS)
+                .removalListener(SolrExportRequestRetrieval::closeExport)
+                .build();
+    }
+
+    @Override public QueryResult<T> findByQuery(QueryRequest request) {
+        Preconditions.checkArgument(request != null, "Query request cannot be null");
+
+        Page page = request.getPage();
+        if (!(page instanceof CursorPage)) {
+            return cursorRetrieval.findByQuery(request);
+        }
+
+        String cursor = ((CursorPage) page).getCursor();
+        if (FIRST_CURSOR.equals(cursor)) {
+            return findFirstPage(request);
+        } else if (cursor.startsWith(EXPORT_CURSOR_PREFIX)) {
+            return findNextPage(request, cursor);
+        } else {
+            return cursorRetrieval.findByQuery(request);
+        }
+    }
+
+    /**
+     * Closes the export identified by a cursor, if it is still open.
+     *
+     * @param cursor a cursor returned with a page of results
+     */
+    @Override public void release(String cursor) {
+        if (cursor != null && cursor.startsWith(EXPORT_CURSOR_PREFIX)) {
+            exports.invalidate(exportIdOf(cursor));
+        }
+    }
+
+    /**
+     * @return the number of exports that are open
+     */
+    long openExports() {
+        exports.cleanUp();
+        return exports.size();
+    }
+
+    private QueryResult<T> findFirstPage(QueryRequest request) {
+        SolrQuery query = queryRequestConverter.convert(request);
+        if (!isExportable(query)) {
+            return cursorRetrieval.findByQuery(request);
+        }
+
+        Export export;
+        try {
+            export = open(query);
+        } catch (IOException | SolrServerException | SolrException e) {
+            LOGGER.warn("Could not start export, so retrieving results by cursor instead: " + query, e);
+            return cursorRetrieval.findByQuery(request);
+        }
+
+        return readPage(export, request, FIRST_CURSOR);
+    }
+
+    private QueryResult<T> findNextPage(QueryRequest request, String cursor) {
+        Export export = exports.getIfPresent(exportIdOf(cursor));
+        if (export == null) {
+            export = reopen(request, cursor);
+        }
+
+        return readPage(export, request, cursor);
+    }
+
+    private Export open(SolrQuery query) throws IOException, SolrServerException {
+        Export export = new Export(UUID.randomUUID().toString(), exportSource.open(toExportParams(query)));
+        exports.put(export.id, export);
+        return export;
+    }
+
+    /**
+     * Reopens the export of a cursor that has been closed, and skips the documents read before the cursor, which is
+     * possible since exports are always sorted by the export sort.
+     */
+    private Export reopen(QueryRequest request, String cursor) {
+        long read;
+        try {
+            read = Long.parseLong(cursor.substring(cursor.lastIndexOf(CURSOR_SEPARATOR) + 1));
+        } catch (NumberFormatException e) {
+            throw new RetrievalException("Invalid export cursor: " + cursor, e);
+        }
+
+        Export export;
+        try {
+            export = open(queryRequestConverter.convert(request));
+        } catch (IOException | SolrServerException | SolrException e) {
+            throw new RetrievalException("Export has been closed, and could not be reopened: " + cursor, e);
+        }
+
+        synchronized (export) {
+            try {
+                while (export.read < read && export.reader.next() != null) {
+                    export.read++;
+                }
+            } catch (IOException | RuntimeException e) {
+                exports.invalidate(export.id);
+                throw new RetrievalException("Failed to reopen export: " + cursor, e);
+            }
+        }
+        return export;
+    }
+
+    private QueryResult<T> readPage(Export export, QueryRequest request, String cursor) {
+        int pageSize = request.getPage().getPageSize();
+        List<T> results = new ArrayList<>(pageSize);
+        String nextCursor;
+
+        synchronized (export) {
+            try {
+                SolrDocument document = null;
+                while (results.size() < pageSize && (document = export.reader.next()) != null) {
+                    T result = resultConverter.convertDocument(document);
+                    if (result != null) {
+                        results.add(result);
+                    }
+                    export.read++;
+                }
+
+                if (document == null || export.read >= export.reader.getNumFound()) {
+                    exports.invalidate(export.id);
+                    nextCursor = cursor;
+                } else {
+                    nextCursor = EXPORT_CURSOR_PREFIX + export.id + CURSOR_SEPARATOR + export.read;
+                }
+            } catch (IOException | RuntimeException e) {
+                exports.invalidate(export.id);
+                throw new RetrievalException("Failed to read export: " + cursor, e);
+            }
+        }
+
+        long numFound = export.reader.getNumFound();
+        PageInfo pageInfo = new PageInfo.Builder()
+                .withTotalPages(pageSize > 0 ? (int) Math.ceil((double) numFound / (double) pageSize) : 0)
+                .withResultsPerPage(pageSize)
+                .withNextCursor(nextCursor)
+                .build();
+
+        return new QueryResult.Builder<>(numFound, results)
+                .withPageInfo(pageInfo)
+                .build();
+    }
+
+    private static String exportIdOf(String cursor) {
+        return cursor.substring(EXPORT_CURSOR_PREFIX.length(), cursor.lastIndexOf(CURSOR_SEPARATOR));
+    }
+
+    private boolean isExportable(SolrQuery query) {
+        String fields = query.getFields();
+        if (fields == null || fields.isEmpty() || query.getFacetFields() != null || query.getHighlight() ||
+                query.get(SolrQueryConverter.FACET_ANALYTICS_ID) != null) {
+            return false;
+        }
+
+        for (String field : fields.split(FIELD_SEPARATOR)) {
+            if (!exportableFields.contains(field.trim())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private ModifiableSolrParams toExportParams(SolrQuery query) {
+        ModifiableSolrParams params = new ModifiableSolrParams();
+        params.set(CommonParams.Q, query.getQuery());
+        params.set(CommonParams.FL, query.getFields());
+        params.set(CommonParams.SORT, exportSort);
+        if (query.getFilterQueries() != null) {
+            params.set(CommonParams.FQ, query.getFilterQueries());
+        }
+        return params;
+    }
+
+    private static void closeExport(RemovalNotification<String, Export> notification) {
+        try {
+            notification.getValue().reader.close();
+        } catch (IOException e) {
+            LOGGER.warn("Failed to close export: " + notification.getKey(), e);
+        }
+    }
+
+    /**
+     * An open export, and the number of its documents that have been read.
+     */
+    private static final class Export {
+        private final String id;
+        private final SolrExportReader reader;
+        private long read;
+
+        private Export(String id, SolrExportReader reader) {
+            this.id = id;
+            this.reader = reader;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package uk.ac.ebi.quickgo.rest.search.solr;
+
+import java.io.IOException;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.params.SolrParams;
+
+/**
+ * A source of the documents that Solr's {@code /export} handler streams for a query.
+ *
+ * Created 19/10/26
+ */
+public interface SolrExportSource {
+    /**
+     * Starts exporting the documents matching a query.
+     *
+     * @param params the export parameters, i.e., the query, filter queries, fields and sort
+     * @return a reader of the exported documents, which must be closed once it is no longer needed
+     * @throws IOException if the export cannot be started
+     * @throws SolrServerException if Solr cannot process the export
+     */
+    SolrExportReader open(SolrParams params) throws IOException, SolrServerException;
+}
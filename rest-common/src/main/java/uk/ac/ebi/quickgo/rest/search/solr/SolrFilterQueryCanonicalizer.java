@@ -0,0 +1,172 @@
+package uk.ac.ebi.quickgo.rest.search.solr;
+
+import uk.ac.ebi.quickgo.rest.search.query.*;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * <p>Serializes the filter {@link QuickGOQuery}s of a request into Solr filter queries, {@code fq}, that make good
+ * use of Solr's filterCache.
+ *
+ * <p>Solr caches each filter query by its String form, and so logically identical filters must be serialized
+ * identically. {@link CompositeQuery} holds its child queries in a {@link Set}, whose order depends on how the query
+ * was built; this class therefore rewrites each filter into a canonical form before it is serialized:
+ * <ul>
+ *     <li>the child queries of every {@link CompositeQuery} are sorted by their serialized form, so that the values
+ *     of a terms query, e.g., {@code {!terms f=field}a,b,c}, are also sorted</li>
+ *     <li>child queries that apply the same operator as their parent are merged into the parent</li>
+ *     <li>the clauses of conjunctions at the top level of a filter are emitted as separate filter queries, so that
+ *     small filters that are common to many requests are cached and re-used independently</li>
+ * </ul>
+ *
+ * <p>Filter queries whose serialized form is longer than a configurable threshold, such as large terms queries
+ * built from the descendants of a term, are rarely re-used, and caching them evicts the small filters that are.
+ * These filter queries are marked with the local params {@code cache=false} and {@code cost}, so that they are not
+ * cached, and are evaluated after the cheaper, cached filters (or as post filters, when supported by the query type).
+ *
+ * Created 19/10/26
+ */
+public class SolrFilterQueryCanonicalizer {
+    static final String LOCAL_PARAMS_START = "{!";
+    static final String LOCAL_PARAMS_END = "}";
+    static final String UNCACHED_LOCAL_PARAMS_FORMAT = "cache=false cost=%d";
+
+    private final QueryVisitor<String> solrQuerySerializer;
+    private final int maxCachedFilterLength;
+    private final String uncachedLocalParams;
+    private final CanonicalQueryBuilder canonicalQueryBuilder;
+
+    /**
+     * Creates an instance.
+     *
+     * @param solrQuerySerializer the serializer of each filter query
+     * @param maxCachedFilterLength the length of the longest filter query that will be cached by Solr
+     * @param uncachedFilterCost the cost given to filter queries that are not cached. A cost of 100 or more enables
+     *                           post filtering, when supported by the query type
+     */
+    public SolrFilterQueryCanonicalizer(QueryVisitor<String> solrQuerySerializer, int maxCachedFilterLength,
+            int uncachedFilterCost) {
+        checkArgument(solrQuerySerializer != null, "The Solr query serializer (QueryVisitor) cannot be null");
+        checkArgument(maxCachedFilterLength > 0, "The maximum cached filter length must be greater than 0");
+        checkArgument(uncachedFilterCost >= 0, "The uncached filter cost cannot be negative");
+
+        this.solrQuerySerializer = solrQuerySerializer;
+        this.maxCachedFilterLength = maxCachedFilterLength;
+        this.uncachedLocalParams = String.format(UNCACHED_LOCAL_PARAMS_FORMAT, uncachedFilterCost);
+        this.canonicalQueryBuilder = new CanonicalQueryBuilder();
+    }
+
+    /**
+     * Serializes the supplied filters into canonical, de-duplicated and sorted Solr filter queries.
+     *
+     * @param filters the filters to serialize
+     * @return the Solr filter queries
+     */
+    public List<String> toFilterQueries(Collection<QuickGOQuery> filters) {
+        checkArgument(filters != null, "Filters cannot be null");
+
+        Set<QuickGOQuery> conjuncts = new LinkedHashSet<>();
+        filters.forEach(filter -> addConjuncts(filter.accept(canonicalQueryBuilder), conjuncts));
+
+        return conjuncts.stream()
+                .map(conjunct -> conjunct.accept(solrQuerySerializer))
+                .distinct()
+                .sorted()
+                .map(this::applyCachePolicy)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Rewrites a query into its canonical form.
+     *
+     * @param query the query to rewrite
+     * @return the canonical form of {@code query}
+     */
+    QuickGOQuery canonicalize(QuickGOQuery query) {
+        return query.accept(canonicalQueryBuilder);
+    }
+
+    private static void addConjuncts(QuickGOQuery query, Set<QuickGOQuery> conjuncts) {
+        if (isOperation(query, CompositeQuery.QueryOp.AND)) {
+            conjuncts.addAll(((CompositeQuery) query).queries());
+        } else {
+            conjuncts.add(query);
+        }
+    }
+
+    private String applyCachePolicy(String filterQuery) {
+        if (filterQuery.length() <= maxCachedFilterLength) {
+            return filterQuery;
+        }
+
+        if (filterQuery.startsWith(LOCAL_PARAMS_START)) {
+            int localParamsEnd = filterQuery.indexOf(LOCAL_PARAMS_END);
+            return filterQuery.substring(0, localParamsEnd) + " " + uncachedLocalParams +
+                    filterQuery.substring(localParamsEnd);
+        } else {
+            return LOCAL_PARAMS_START + uncachedLocalParams + LOCAL_PARAMS_END + filterQuery;
+        }
+    }
+
+    private static boolean isOperation(QuickGOQuery query, CompositeQuery.QueryOp operator) {
+        return query instanceof CompositeQuery && ((CompositeQuery) query).queryOperator() == operator;
+    }
+
+    /**
+     * Rebuilds {@link CompositeQuery}s, and the filters of {@link JoinQuery}s, in canonical form. All other queries
+     * are already canonical.
+     */
+    private class CanonicalQueryBuilder implements QueryVisitor<QuickGOQuery> {
+        @Override public QuickGOQuery visit(FieldQuery query) {
+            return query;
+        }
+
+        @Override public QuickGOQuery visit(CompositeQuery query) {
+            CompositeQuery.QueryOp operator = query.queryOperator();
+
+            List<QuickGOQuery> children = new ArrayList<>();
+            for (QuickGOQuery child : query.queries()) {
+                QuickGOQuery canonicalChild = child.accept(this);
+                if (operator != CompositeQuery.QueryOp.NOT && isOperation(canonicalChild, operator)) {
+                    children.addAll(((CompositeQuery) canonicalChild).queries());
+                } else {
+                    children.add(canonicalChild);
+                }
+            }
+
+            Map<QuickGOQuery, String> serializedChildren = new HashMap<>();
+            children.forEach(child -> serializedChildren.put(child, child.accept(solrQuerySerializer)));
+            children.sort(Comparator.comparing(serializedChildren::get));
+
+            return new CompositeQuery(new LinkedHashSet<>(children), operator);
+        }
+
+        @Override public QuickGOQuery visit(NoFieldQuery query) {
+            return query;
+        }
+
+        @Override public QuickGOQuery visit(AllQuery query) {
+            return query;
+        }
+
+        @Override public QuickGOQuery visit(JoinQuery query) {
+            if (query.getFromFilter() == null) {
+                return query;
+            }
+
+            return new JoinQuery(query.getJoinFromTable(), query.getJoinFromAttribute(), query.getJoinToTable(),
+                    query.getJoinToAttribute(), query.getFromFilter().accept(this));
+        }
+
+        @Override public QuickGOQuery visit(AllNonEmptyFieldQuery query) {
+            return query;
+        }
+
+        @Override public QuickGOQuery visit(ContainsFieldQuery query) {
+            return query;
+        }
+    }
+}
@@ -5,12 +5,14 @@ import uk.ac.ebi.quickgo.rest.search.query.*;
 import com.google.common.base.Preconditions;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.common.params.CursorMarkParams;
 
 /**
  * Converts a {@link QueryRequest} into a {@link SolrQuery} object.
+ *
+ * <p>Filters are converted into Solr filter queries by a {@link SolrFilterQueryCanonicalizer}, so that logically
+ * identical filters are always serialized identically, and can be served from Solr's filterCache.
  */
 public class SolrQueryConverter implements QueryRequestConverter<SolrQuery> {
     public static final String SOLR_FIELD_SEPARATOR = ":";
@@ -19,14 +21,32 @@ public class SolrQueryConverter implements QueryRequestConverter<SolrQuery> {
 
     static final String FACET_ANALYTICS_ID = "json.facet";
 
+    static final int DEFAULT_MAX_CACHED_FILTER_LENGTH = 4096;
+    static final int DEFAULT_UNCACHED_FILTER_COST = 100;
+
     private static final int MIN_COUNT_TO_DISPLAY_FACET = 1;
 
     private final String requestHandler;
     private final QueryVisitor<String> solrQuerySerializer;
     private final AggregateConverter<String> aggregateConverter;
     private final SolrPageVisitor solrPageVistor;
+    private final SolrFilterQueryCanonicalizer filterQueryCanonicalizer;
 
     public SolrQueryConverter(String requestHandler, QueryVisitor<String> solrQuerySerializer) {
+        this(requestHandler, solrQuerySerializer, DEFAULT_MAX_CACHED_FILTER_LENGTH, DEFAULT_UNCACHED_FILTER_COST);
+    }
+
+    /**
+     * Creates a converter whose filter queries are only cached by Solr if they are no longer than
+     * {@code maxCachedFilterLength}.
+     *
+     * @param requestHandler the Solr request handler to query
+     * @param solrQuerySerializer the serializer of queries and filters
+     * @param maxCachedFilterLength the length of the longest filter query that will be cached by Solr
+     * @param uncachedFilterCost the cost given to filter queries that are not cached
+     */
+    public SolrQueryConverter(String requestHandler, QueryVisitor<String> solrQuerySerializer,
+            int maxCachedFilterLength, int uncachedFilterCost) {
         Preconditions.checkArgument(requestHandler != null && !requestHandler.trim().isEmpty(),
                 "Request handler name cannot be null or empty");
         Preconditions.checkArgument(solrQuerySerializer != null, "The Solr query serializer (QueryVisitor) cannot be " +
@@ -36,6 +56,8 @@ public class SolrQueryConverter implements QueryRequestConverter<SolrQuery> {
         this.solrQuerySerializer = solrQuerySerializer;
         this.aggregateConverter = new AggregateToStringConverter();
         this.solrPageVistor = new SolrPageVisitor();
+        this.filterQueryCanonicalizer =
+                new SolrFilterQueryCanonicalizer(solrQuerySerializer, maxCachedFilterLength, uncachedFilterCost);
     }
 
     public static SolrQueryConverter createWithWildCardSupport(String requestHandler, Set<String>
@@ -65,9 +87,7 @@ public class SolrQueryConverter implements QueryRequestConverter<SolrQuery> {
         List<QuickGOQuery> filterQueries = request.getFilters();
 
         if (!filterQueries.isEmpty()) {
-            List<String> solrFilters = filterQueries.stream()
-                    .map(fq -> fq.accept(solrQuerySerializer))
-                    .collect(Collectors.toList());
+            List<String> solrFilters = filterQueryCanonicalizer.toFilterQueries(filterQueries);
 
             solrQuery.setFilterQueries(solrFilters.toArray(new String[solrFilters.size()]));
         }
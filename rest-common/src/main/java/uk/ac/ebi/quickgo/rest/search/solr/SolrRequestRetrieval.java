@@ -1,5 +1,6 @@
 package uk.ac.ebi.quickgo.rest.search.solr;
 
+import uk.ac.ebi.quickgo.rest.metrics.HotPathMetrics;
 import uk.ac.ebi.quickgo.rest.search.QueryResultConverter;
 import uk.ac.ebi.quickgo.rest.search.RequestRetrieval;
 import uk.ac.ebi.quickgo.rest.search.RetrievalException;
@@ -17,14 +18,21 @@ import org.apache.solr.common.SolrException;
 
 /**
  * Generic implementation that should be able to service the requirements of querying to most data sources.
+ * <p>
+ * If the result converter is a {@link StreamingSolrQueryResultConverter}, the documents of each response are
+ * converted one at a time, as they are streamed from Solr, rather than after the whole response has been decoded.
  *
  * Created 18/01/16
  * @author Edd
  */
 public class SolrRequestRetrieval<T> implements RequestRetrieval<T> {
+    static final String SOLR_STAGE = "solr";
+    static final String SOLR_FAILURES = "solr.failures";
+
     private SolrClient solrClient;
     private QueryResultConverter<T, QueryResponse> resultConverter;
     private QueryRequestConverter<SolrQuery> queryRequestConverter;
+    private StreamingSolrQueryResultConverter<T> streamingResultConverter;
 
     public SolrRequestRetrieval(
             SolrClient solrClient,
@@ -36,6 +44,10 @@ public class SolrRequestRetrieval<T> implements RequestRetrieval<T> {
         this.queryRequestConverter = queryRequestConverter;
 
         checkArguments(solrClient, queryRequestConverter, resultConverter, serviceProperties);
+
+        if (resultConverter instanceof StreamingSolrQueryResultConverter) {
+            this.streamingResultConverter = (StreamingSolrQueryResultConverter<T>) resultConverter;
+        }
     }
 
     private void checkArguments(SolrClient solrServer,
@@ -62,11 +74,24 @@ public class SolrRequestRetrieval<T> implements RequestRetrieval<T> {
     @Override public QueryResult<T> findByQuery(QueryRequest request) {
         SolrQuery query = queryRequestConverter.convert(request);
 
-        try {
+        try (HotPathMetrics.Timing timing = HotPathMetrics.start(SOLR_STAGE)) {
+            if (streamingResultConverter != null) {
+                return findByStreamedQuery(query, request);
+            }
+
             QueryResponse response = solrClient.query(query);
             return resultConverter.convert(response, request);
         } catch (SolrServerException | SolrException | IOException e) {
+            HotPathMetrics.mark(SOLR_FAILURES);
             throw new RetrievalException(e);
         }
     }
+
+    private QueryResult<T> findByStreamedQuery(SolrQuery query, QueryRequest request)
+            throws SolrServerException, IOException {
+        StreamedSolrResults<T> streamedResults =
+                new StreamedSolrResults<>(streamingResultConverter::convertDocument, query.getHighlight());
+        QueryResponse response = solrClient.queryAndStreamResponse(query, streamedResults);
+        return streamingResultConverter.convertStreamed(response, request, streamedResults);
+    }
 }
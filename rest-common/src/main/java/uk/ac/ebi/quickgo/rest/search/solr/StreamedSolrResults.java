@@ -0,0 +1,83 @@
+package uk.ac.ebi.quickgo.rest.search.solr;
+
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import org.apache.solr.client.solrj.StreamingResponseCallback;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+
+/**
+ * Receives the documents of a Solr response as they are decoded, and converts each one straight into a domain
+ * result, so that neither the response's {@link SolrDocumentList}, nor an intermediate list of Solr document beans,
+ * is ever materialised.
+ *
+ * <p>Since highlighting information is keyed by document identifier, the identifier of each document is retained,
+ * if the highlighting of results was requested.
+ *
+ * Created 19/10/26
+ */
+public class StreamedSolrResults<T> extends StreamingResponseCallback {
+    private static final String DOC_ID = "id";
+
+    private final Function<SolrDocument, T> documentConverter;
+    private final boolean retainIdentifiers;
+    private final List<T> results;
+    private final SolrDocumentList highlightedDocuments;
+    private long numFound;
+
+    /**
+     * Creates an instance that converts each streamed document.
+     *
+     * @param documentConverter converts a Solr document to a domain result; or returns null, if the document
+     *                          cannot be converted, in which case it is omitted from the results
+     * @param retainIdentifiers whether the identifiers of the documents are needed for highlighting
+     */
+    public StreamedSolrResults(Function<SolrDocument, T> documentConverter, boolean retainIdentifiers) {
+        Preconditions.checkArgument(documentConverter != null, "Document converter cannot be null");
+
+        this.documentConverter = documentConverter;
+        this.retainIdentifiers = retainIdentifiers;
+        this.results = new ArrayList<>();
+        this.highlightedDocuments = retainIdentifiers ? new SolrDocumentList() : null;
+    }
+
+    @Override public void streamSolrDocument(SolrDocument document) {
+        T result = documentConverter.apply(document);
+        if (result != null) {
+            results.add(result);
+        }
+
+        if (retainIdentifiers && document.containsKey(DOC_ID)) {
+            SolrDocument identifier = new SolrDocument();
+            identifier.setField(DOC_ID, document.getFieldValue(DOC_ID));
+            highlightedDocuments.add(identifier);
+        }
+    }
+
+    @Override public void streamDocListInfo(long numFound, long start, Float maxScore) {
+        this.numFound = numFound;
+    }
+
+    /**
+     * @return the total number of documents matching the query, of which the streamed documents are one page
+     */
+    public long getNumFound() {
+        return numFound;
+    }
+
+    /**
+     * @return the converted results, in the order in which their documents were streamed
+     */
+    public List<T> getResults() {
+        return results;
+    }
+
+    /**
+     * @return documents holding only the identifiers of the streamed documents, or null if these were not retained
+     */
+    SolrDocumentList getHighlightedDocuments() {
+        return highlightedDocuments;
+    }
+}
@@ -0,0 +1,39 @@
+package uk.ac.ebi.quickgo.rest.search.solr;
+
+import uk.ac.ebi.quickgo.rest.search.QueryResultConverter;
+import uk.ac.ebi.quickgo.rest.search.query.QueryRequest;
+import uk.ac.ebi.quickgo.rest.search.results.QueryResult;
+
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
+
+/**
+ * A {@link QueryResultConverter} that is also able to convert the documents of a response one at a time, as they are
+ * streamed from Solr. A {@link SolrRequestRetrieval} given such a converter streams the documents of each response,
+ * rather than decoding them all before converting them.
+ *
+ * <p>Subclasses of {@link AbstractSolrQueryResultConverter} need only implement {@link #convertDocument}.
+ *
+ * Created 19/10/26
+ */
+public interface StreamingSolrQueryResultConverter<T> extends QueryResultConverter<T, QueryResponse> {
+    /**
+     * Converts a single Solr document into a domain result.
+     *
+     * @param document the Solr document
+     * @return the domain result, or null if the document cannot be converted
+     */
+    T convertDocument(SolrDocument document);
+
+    /**
+     * Converts a response whose documents have already been converted by {@link #convertDocument}, as they were
+     * streamed.
+     *
+     * @param response the response, whose document list is empty
+     * @param request the request that produced the response
+     * @param streamedResults the results converted whilst the response was streamed
+     * @return the query result
+     */
+    QueryResult<T> convertStreamed(QueryResponse response, QueryRequest request,
+            StreamedSolrResults<T> streamedResults);
+}
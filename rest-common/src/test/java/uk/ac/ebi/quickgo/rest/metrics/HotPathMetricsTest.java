@@ -0,0 +1,121 @@
+package uk.ac.ebi.quickgo.rest.metrics;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static uk.ac.ebi.quickgo.rest.metrics.HotPathMetrics.METRIC_PREFIX;
+import static uk.ac.ebi.quickgo.rest.metrics.HotPathMetrics.STAGE_PREFIX;
+
+/**
+ * Tests the behaviour of {@link HotPathMetrics} and the {@link ServerTimings} it records.
+ *
+ * Created 19/10/26
+ */
+public class HotPathMetricsTest {
+    @After
+    public void tearDown() {
+        ServerTimings.end();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullStageThrowsException() {
+        HotPathMetrics.start(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void emptyStageThrowsException() {
+        HotPathMetrics.start("");
+    }
+
+    @Test
+    public void timingStageUpdatesItsTimer() {
+        String stage = "timingStageUpdatesItsTimer";
+
+        try (HotPathMetrics.Timing timing = HotPathMetrics.start(stage)) {
+            assertThat(HotPathMetrics.registry().timer(STAGE_PREFIX + stage).getCount(), is(0L));
+        }
+
+        assertThat(HotPathMetrics.registry().timer(STAGE_PREFIX + stage).getCount(), is(1L));
+    }
+
+    @Test
+    public void timedWorkReturnsItsResult() {
+        String stage = "timedWorkReturnsItsResult";
+
+        assertThat(HotPathMetrics.time(stage, () -> "result"), is("result"));
+        assertThat(HotPathMetrics.registry().timer(STAGE_PREFIX + stage).getCount(), is(1L));
+    }
+
+    @Test
+    public void stageTimedWhilstServingRequestIsAddedToServerTimings() {
+        ServerTimings timings = ServerTimings.begin();
+
+        HotPathMetrics.time("solr", () -> "result");
+        HotPathMetrics.time("transform", () -> "result");
+
+        String header = timings.toHeaderValue(0);
+        assertThat(header, startsWith("solr;dur="));
+        assertThat(header, containsString(", transform;dur="));
+        assertThat(header, containsString(", total;dur=0.00"));
+    }
+
+    @Test
+    public void repeatedStageIsReportedOnceInServerTimings() {
+        ServerTimings timings = ServerTimings.begin();
+        timings.add("solr", 1_000_000);
+        timings.add("solr", 2_000_000);
+
+        assertThat(timings.toHeaderValue(4_000_000), is("solr;dur=3.00, total;dur=4.00"));
+    }
+
+    @Test
+    public void stageTimedWhenNotServingRequestIsNotAddedToServerTimings() {
+        HotPathMetrics.time("stageTimedWhenNotServingRequest", () -> "result");
+
+        assertThat(ServerTimings.begin().toHeaderValue(0), is("total;dur=0.00"));
+    }
+
+    @Test
+    public void markingEventUpdatesItsMeter() {
+        String name = "markingEventUpdatesItsMeter";
+
+        HotPathMetrics.mark(name);
+        HotPathMetrics.mark(name);
+
+        assertThat(HotPathMetrics.registry().meter(METRIC_PREFIX + name).getCount(), is(2L));
+    }
+
+    @Test
+    public void updatingQuantityUpdatesItsHistogram() {
+        String name = "updatingQuantityUpdatesItsHistogram";
+
+        HotPathMetrics.update(name, 10);
+
+        assertThat(HotPathMetrics.registry().histogram(METRIC_PREFIX + name).getSnapshot().getMax(), is(10L));
+    }
+
+    @Test
+    public void recordingStageDurationUpdatesItsTimer() {
+        String stage = "recordingStageDurationUpdatesItsTimer";
+        ServerTimings timings = ServerTimings.begin();
+
+        HotPathMetrics.record(stage, 5_000_000);
+
+        assertThat(HotPathMetrics.registry().timer(STAGE_PREFIX + stage).getCount(), is(1L));
+        assertThat(timings.toHeaderValue(0), is("total;dur=0.00"));
+    }
+
+    @Test
+    public void publishingGaugeReplacesEarlierGauge() {
+        String name = "publishingGaugeReplacesEarlierGauge";
+
+        HotPathMetrics.gauge(name, () -> 1);
+        HotPathMetrics.gauge(name, () -> 2);
+
+        assertThat(HotPathMetrics.registry().getGauges().get(METRIC_PREFIX + name).getValue(), is((Object) 2));
+    }
+}
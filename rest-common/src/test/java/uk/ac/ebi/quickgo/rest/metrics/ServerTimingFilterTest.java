@@ -0,0 +1,69 @@
+package uk.ac.ebi.quickgo.rest.metrics;
+
+import java.io.IOException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static uk.ac.ebi.quickgo.rest.metrics.ServerTimings.SERVER_TIMING_HEADER;
+
+/**
+ * Tests the behaviour of the {@link ServerTimingFilter}.
+ *
+ * Created 19/10/26
+ */
+public class ServerTimingFilterTest {
+    private ServerTimingFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Before
+    public void setUp() {
+        filter = new ServerTimingFilter();
+        request = new MockHttpServletRequest();
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    public void responseWithoutBodyContainsTotalTiming() throws Exception {
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertThat(response.getHeader(SERVER_TIMING_HEADER), startsWith("total;dur="));
+    }
+
+    @Test
+    public void responseContainsTimingsOfStagesRunBeforeBodyIsWritten() throws Exception {
+        filter.doFilter(request, response, new MockFilterChain(new StageRunningServlet()));
+
+        String header = response.getHeader(SERVER_TIMING_HEADER);
+        assertThat(header, startsWith("solr;dur="));
+        assertThat(header, containsString(", total;dur="));
+        assertThat(response.getContentAsString(), is("body"));
+    }
+
+    @Test
+    public void stagesRunAfterRequestAreNotRecorded() throws Exception {
+        filter.doFilter(request, response, new MockFilterChain());
+
+        ServerTimings.record("solr", 1);
+
+        assertThat(ServerTimings.begin().toHeaderValue(0), is("total;dur=0.00"));
+        ServerTimings.end();
+    }
+
+    private static class StageRunningServlet extends HttpServlet {
+        @Override protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            HotPathMetrics.time("solr", () -> "result");
+            resp.getWriter().write("body");
+        }
+    }
+}
@@ -289,6 +289,36 @@ public class SearchDispatcherStreamedResultsTest {
         assertThat(getNextPageSize(100, 100, 10), is(0));
     }
 
+    @Test
+    public void closingStreamReleasesCursorOfLastPageRead() {
+        int pageSize = 10;
+        int limit = 20;
+        int hitCount = 100;
+
+        QueryResult<String> firstResult =
+                new QueryResult.Builder<>(hitCount, rangeStringList(1, pageSize))
+                        .withPageInfo(new PageInfo.Builder().withNextCursor("secondCursor").build())
+                        .build();
+
+        QueryResult<String> secondResult =
+                new QueryResult.Builder<>(hitCount, rangeStringList(1, pageSize))
+                        .withPageInfo(new PageInfo.Builder().withNextCursor("thirdCursor").build())
+                        .build();
+
+        when(searchService.findByQuery(any()))
+                .thenReturn(firstResult)
+                .thenReturn(secondResult);
+
+        when(queryRequest.getPage()).thenReturn(createFirstCursorPage(pageSize));
+        Stream<QueryResult<String>> resultStream = getQueryResultStream(limit);
+
+        assertStreamHasCorrectNumberOfResults(resultStream, limit);
+        verify(searchService, never()).release(any());
+
+        resultStream.close();
+        verify(searchService).release("thirdCursor");
+    }
+
     @Test
     public void checkGetRequiredIterationsFunctionsCorrectly() {
         assertThat(getRequiredNumberOfPagesToFetch(10, 1000, 10), is(1));
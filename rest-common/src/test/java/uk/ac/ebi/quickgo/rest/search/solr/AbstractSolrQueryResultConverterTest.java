@@ -287,6 +287,62 @@ public class AbstractSolrQueryResultConverterTest {
         assertThat(result.getHighlighting().size(), is(1));
     }
 
+    @Test
+    public void streamedResponseWith2ResultsAndRegularPaging() {
+        QueryRequest request = createRequestWithPaging(DEFAULT_QUERY, new RegularPage(1, 1));
+
+        StreamedSolrResults<String> streamedResults = new StreamedSolrResults<>(SolrDocument::toString, false);
+        streamedResults.streamDocListInfo(2, 0, null);
+        streamedResults.streamSolrDocument(new SolrDocument());
+        streamedResults.streamSolrDocument(new SolrDocument());
+
+        QueryResult result = converter.convertStreamed(responseMock, request, streamedResults);
+
+        assertThat(result.getNumberOfHits(), is(2L));
+        assertThat(result.getResults().size(), is(2));
+        checkPageInfo(result.getPageInfo(), 2, 1, 1);
+    }
+
+    @Test
+    public void streamedResponseWithOneResultAnd1HitInHighlighting() {
+        QueryRequest request = createDefaultRequest(DEFAULT_QUERY);
+
+        StreamedSolrResults<String> streamedResults = new StreamedSolrResults<>(SolrDocument::toString, true);
+        SolrDocument solrDocument = new SolrDocument();
+        solrDocument.setField("id", "doc1");
+        streamedResults.streamDocListInfo(1, 0, null);
+        streamedResults.streamSolrDocument(solrDocument);
+
+        Map<String, Map<String, List<String>>> solrHighlightingResponse = new HashMap<>();
+        Map<String, List<String>> doc1FieldHighlights = new HashMap<>();
+        doc1FieldHighlights.put("field1", Arrays.asList("hit1", "hit2"));
+        solrHighlightingResponse.put("doc1", doc1FieldHighlights);
+
+        when(responseMock.getHighlighting()).thenReturn(solrHighlightingResponse);
+
+        QueryResult result = converter.convertStreamed(responseMock, request, streamedResults);
+
+        assertThat(result.getHighlighting().size(), is(1));
+    }
+
+    @Test
+    public void streamedDocumentsThatCannotBeConvertedAreOmitted() {
+        QueryRequest request = createDefaultRequest(DEFAULT_QUERY);
+
+        StreamedSolrResults<String> streamedResults = new StreamedSolrResults<>(
+                doc -> doc.containsKey("id") ? doc.getFieldValue("id").toString() : null, false);
+        SolrDocument solrDocument = new SolrDocument();
+        solrDocument.setField("id", "doc1");
+        streamedResults.streamDocListInfo(2, 0, null);
+        streamedResults.streamSolrDocument(solrDocument);
+        streamedResults.streamSolrDocument(new SolrDocument());
+
+        QueryResult<String> result = converter.convertStreamed(responseMock, request, streamedResults);
+
+        assertThat(result.getNumberOfHits(), is(2L));
+        assertThat(result.getResults(), contains("doc1"));
+    }
+
     /**
      * Setup a default facet response so that its conversion can be tested
      *
@@ -0,0 +1,162 @@
+package uk.ac.ebi.quickgo.rest.search.solr;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import org.apache.solr.client.solrj.beans.BindingException;
+import org.apache.solr.client.solrj.beans.DocumentObjectBinder;
+import org.apache.solr.client.solrj.beans.Field;
+import org.apache.solr.common.SolrDocument;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Tests the {@link SolrDocumentBinder} implementation, by comparing its documents to those of a
+ * {@link DocumentObjectBinder}.
+ *
+ * Created 19/10/26
+ */
+public class SolrDocumentBinderTest {
+    private SolrDocumentBinder<FakeDocument> binder;
+    private DocumentObjectBinder documentObjectBinder;
+
+    @Before
+    public void setUp() {
+        binder = new SolrDocumentBinder<>(FakeDocument.class, FakeDocument::new);
+        documentObjectBinder = new DocumentObjectBinder();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullDocumentTypeThrowsException() {
+        new SolrDocumentBinder<>(null, FakeDocument::new);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullDocumentFactoryThrowsException() {
+        new SolrDocumentBinder<>(FakeDocument.class, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void documentWithAnnotatedMethodIsRejected() {
+        new SolrDocumentBinder<>(FakeDocumentWithSetter.class, FakeDocumentWithSetter::new);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void documentWithDynamicFieldIsRejected() {
+        new SolrDocumentBinder<>(FakeDocumentWithDynamicField.class, FakeDocumentWithDynamicField::new);
+    }
+
+    @Test
+    public void bindsAllFieldsLikeDocumentObjectBinder() {
+        SolrDocument solrDocument = new SolrDocument();
+        solrDocument.setField("id", "GO:0000001");
+        solrDocument.setField("obsolete", true);
+        solrDocument.setField("taxonId", 9606);
+        solrDocument.setField("synonym", Arrays.asList("a", "b"));
+        solrDocument.setField("xref", Arrays.asList("x", "y"));
+        solrDocument.setField("date", new Date(0));
+        solrDocument.setField("unmapped", "value");
+
+        FakeDocument document = binder.bind(solrDocument);
+
+        assertThat(document, is(documentObjectBinder.getBean(FakeDocument.class, solrDocument)));
+        assertThat(document.id, is("GO:0000001"));
+        assertThat(document.obsolete, is(true));
+        assertThat(document.taxonId, is(9606));
+        assertThat(document.synonyms, contains("a", "b"));
+        assertThat(document.xrefs, arrayContaining("x", "y"));
+        assertThat(document.date, is(new Date(0)));
+    }
+
+    @Test
+    public void bindsSingleValuesToMultiValuedFieldsLikeDocumentObjectBinder() {
+        SolrDocument solrDocument = new SolrDocument();
+        solrDocument.setField("synonym", "a");
+        solrDocument.setField("xref", "x");
+
+        FakeDocument document = binder.bind(solrDocument);
+
+        assertThat(document, is(documentObjectBinder.getBean(FakeDocument.class, solrDocument)));
+        assertThat(document.synonyms, contains("a"));
+        assertThat(document.xrefs, arrayContaining("x"));
+    }
+
+    @Test
+    public void missingValuesLeaveFieldsUnset() {
+        FakeDocument document = binder.bind(new SolrDocument());
+
+        assertThat(document, is(new FakeDocument()));
+        assertThat(document.id, is(nullValue()));
+        assertThat(document.taxonId, is(0));
+    }
+
+    @Test(expected = BindingException.class)
+    public void valueOfWrongTypeThrowsBindingException() {
+        SolrDocument solrDocument = new SolrDocument();
+        solrDocument.setField("taxonId", "not a number");
+
+        binder.bind(solrDocument);
+    }
+
+    public static class FakeDocumentBase {
+        @Field
+        public String id;
+    }
+
+    public static class FakeDocument extends FakeDocumentBase {
+        @Field
+        public boolean obsolete;
+
+        @Field
+        public int taxonId;
+
+        @Field("synonym")
+        public List<String> synonyms;
+
+        @Field("xref")
+        public String[] xrefs;
+
+        @Field
+        Date date;
+
+        @Override public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            FakeDocument that = (FakeDocument) o;
+            return obsolete == that.obsolete && taxonId == that.taxonId &&
+                    (id != null ? id.equals(that.id) : that.id == null) &&
+                    (synonyms != null ? synonyms.equals(that.synonyms) : that.synonyms == null) &&
+                    Arrays.equals(xrefs, that.xrefs) &&
+                    (date != null ? date.equals(that.date) : that.date == null);
+        }
+
+        @Override public int hashCode() {
+            return id != null ? id.hashCode() : 0;
+        }
+    }
+
+    public static class FakeDocumentWithSetter {
+        private String id;
+
+        @Field
+        public void setId(String id) {
+            this.id = id;
+        }
+    }
+
+    public static class FakeDocumentWithDynamicField {
+        @Field("name_*")
+        public List<String> names;
+    }
+}
@@ -0,0 +1,108 @@
+package uk.ac.ebi.quickgo.rest.search.solr;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Set;
+import org.apache.solr.common.SolrDocument;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests the {@link SolrExportReader} implementation, on responses of the form written by Solr's export handler.
+ *
+ * Created 19/10/26
+ */
+public class SolrExportReaderTest {
+    private static final Set<String> DATE_FIELDS = Collections.singleton("date");
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullExportThrowsException() throws IOException {
+        new SolrExportReader(null, DATE_FIELDS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullDateFieldsThrowsException() throws IOException {
+        new SolrExportReader(new StringReader(export(0, "")), null);
+    }
+
+    @Test
+    public void readsNumFoundBeforeDocuments() throws IOException {
+        SolrExportReader reader = new SolrExportReader(new StringReader(export(2, "")), DATE_FIELDS);
+
+        assertThat(reader.getNumFound(), is(2L));
+    }
+
+    @Test
+    public void readsDocumentsInOrderUntilExhausted() throws IOException {
+        SolrExportReader reader = new SolrExportReader(
+                new StringReader(export(2, "{\"id\":\"1\",\"taxonId\":9606},{\"id\":\"2\"}")), DATE_FIELDS);
+
+        SolrDocument first = reader.next();
+        SolrDocument second = reader.next();
+
+        assertThat(first.getFieldValue("id"), is("1"));
+        assertThat(first.getFieldValue("taxonId"), is(9606));
+        assertThat(second.getFieldValue("id"), is("2"));
+        assertThat(reader.next(), is(nullValue()));
+        assertThat(reader.next(), is(nullValue()));
+    }
+
+    @Test
+    public void readsMultiValuedFieldsAsLists() throws IOException {
+        SolrExportReader reader = new SolrExportReader(
+                new StringReader(export(1, "{\"withFrom\":[\"a\",\"b\"]}")), DATE_FIELDS);
+
+        assertThat((Iterable<?>) reader.next().getFieldValue("withFrom"), contains("a", "b"));
+    }
+
+    @Test
+    public void readsDateFieldsAsDates() throws IOException {
+        SolrExportReader reader = new SolrExportReader(
+                new StringReader(export(1, "{\"date\":\"2016-01-02T00:00:00Z\",\"symbol\":\"2016-01-02T00:00:00Z\"}")),
+                DATE_FIELDS);
+
+        SolrDocument document = reader.next();
+
+        assertThat(document.getFieldValue("date"), is(Date.from(Instant.parse("2016-01-02T00:00:00Z"))));
+        assertThat(document.getFieldValue("symbol"), is("2016-01-02T00:00:00Z"));
+    }
+
+    @Test(expected = IOException.class)
+    public void exportExceptionIsRethrown() throws IOException {
+        SolrExportReader reader = new SolrExportReader(
+                new StringReader(export(0, "{\"EXCEPTION\":\"Export fields must have docValues\"}")), DATE_FIELDS);
+
+        reader.next();
+    }
+
+    @Test(expected = IOException.class)
+    public void responseWithoutDocumentsThrowsException() throws IOException {
+        new SolrExportReader(new StringReader("{\"responseHeader\": {\"status\": 0}}"), DATE_FIELDS);
+    }
+
+    @Test
+    public void closingReaderClosesConnection() throws IOException {
+        Closeable connection = mock(Closeable.class);
+        SolrExportReader reader = new SolrExportReader(new StringReader(export(1, "{\"id\":\"1\"}")), DATE_FIELDS,
+                connection);
+
+        reader.close();
+
+        verify(connection).close();
+    }
+
+    private static String export(int numFound, String docs) {
+        return "{\"responseHeader\": {\"status\": 0}, \"response\":{\"numFound\":" + numFound + ", \"docs\":[" +
+                docs + "]}}";
+    }
+}
@@ -0,0 +1,261 @@
+package uk.ac.ebi.quickgo.rest.search.solr;
+
+import uk.ac.ebi.quickgo.rest.search.RequestRetrieval;
+import uk.ac.ebi.quickgo.rest.search.RetrievalException;
+import uk.ac.ebi.quickgo.rest.search.query.Page;
+import uk.ac.ebi.quickgo.rest.search.query.QueryRequest;
+import uk.ac.ebi.quickgo.rest.search.query.QueryRequestConverter;
+import uk.ac.ebi.quickgo.rest.search.query.QuickGOQuery;
+import uk.ac.ebi.quickgo.rest.search.query.RegularPage;
+import uk.ac.ebi.quickgo.rest.search.results.QueryResult;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.params.CommonParams;
+import org.apache.solr.common.params.SolrParams;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.ac.ebi.quickgo.rest.search.query.CursorPage.FIRST_CURSOR;
+import static uk.ac.ebi.quickgo.rest.search.query.CursorPage.createCursorPage;
+import static uk.ac.ebi.quickgo.rest.search.query.CursorPage.createFirstCursorPage;
+
+/**
+ * Tests the {@link SolrExportRequestRetrieval} implementation.
+ *
+ * Created 19/10/26
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class SolrExportRequestRetrievalTest {
+    private static final String EXPORT_SORT = "id asc";
+    private static final int PAGE_SIZE = 2;
+
+    @Mock
+    private SolrExportSource exportSourceMock;
+
+    @Mock
+    private QueryRequestConverter<SolrQuery> queryRequestConverterMock;
+
+    @Mock
+    private StreamingSolrQueryResultConverter<String> resultConverterMock;
+
+    @Mock
+    private RequestRetrieval<String> cursorRetrievalMock;
+
+    @Mock
+    private QueryResult<String> cursorResultMock;
+
+    private SolrExportRequestRetrieval<String> retrieval;
+    private SolrQuery query;
+
+    @Before
+    public void setUp() {
+        retrieval = new SolrExportRequestRetrieval<>(exportSourceMock, queryRequestConverterMock,
+                resultConverterMock, cursorRetrievalMock, new HashSet<>(Arrays.asList("id", "name")), EXPORT_SORT,
+                60);
+
+        query = new SolrQuery("*:*");
+        query.setFields("id", "name");
+        query.setFilterQueries("name:a");
+        when(queryRequestConverterMock.convert(any(QueryRequest.class))).thenReturn(query);
+        when(resultConverterMock.convertDocument(any(SolrDocument.class)))
+                .thenAnswer(invocation -> ((SolrDocument) invocation.getArguments()[0]).getFieldValue("id"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullExportSourceThrowsException() {
+        new SolrExportRequestRetrieval<>(null, queryRequestConverterMock, resultConverterMock, cursorRetrievalMock,
+                Collections.emptySet(), EXPORT_SORT, 60);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nonPositiveIdleTimeoutThrowsException() {
+        new SolrExportRequestRetrieval<>(exportSourceMock, queryRequestConverterMock, resultConverterMock,
+                cursorRetrievalMock, Collections.emptySet(), EXPORT_SORT, 0);
+    }
+
+    @Test
+    public void firstPageOpensExportOfQueryFiltersAndFieldsSortedByExportSort() throws Exception {
+        givenExportOf(1);
+
+        retrieval.findByQuery(request(createFirstCursorPage(PAGE_SIZE)));
+
+        ArgumentCaptor<SolrParams> paramsCaptor = ArgumentCaptor.forClass(SolrParams.class);
+        verify(exportSourceMock).open(paramsCaptor.capture());
+        SolrParams params = paramsCaptor.getValue();
+        assertThat(params.get(CommonParams.Q), is("*:*"));
+        assertThat(params.getParams(CommonParams.FQ), arrayContaining("name:a"));
+        assertThat(params.get(CommonParams.FL), is("id,name"));
+        assertThat(params.get(CommonParams.SORT), is(EXPORT_SORT));
+    }
+
+    @Test
+    public void pagesAreReadFromTheSameExportUntilItIsExhausted() throws Exception {
+        givenExportOf(5);
+
+        QueryResult<String> first = retrieval.findByQuery(request(createFirstCursorPage(PAGE_SIZE)));
+        String firstCursor = first.getPageInfo().getNextCursor();
+        QueryResult<String> second = retrieval.findByQuery(request(createCursorPage(firstCursor, PAGE_SIZE)));
+        String secondCursor = second.getPageInfo().getNextCursor();
+        QueryResult<String> third = retrieval.findByQuery(request(createCursorPage(secondCursor, PAGE_SIZE)));
+
+        assertThat(first.getResults(), contains("0", "1"));
+        assertThat(first.getNumberOfHits(), is(5L));
+        assertThat(firstCursor, startsWith(SolrExportRequestRetrieval.EXPORT_CURSOR_PREFIX));
+        assertThat(second.getResults(), contains("2", "3"));
+        assertThat(secondCursor, is(not(firstCursor)));
+        assertThat(third.getResults(), contains("4"));
+        assertThat(third.getPageInfo().getNextCursor(), is(secondCursor));
+        verify(exportSourceMock).open(any(SolrParams.class));
+        assertThat(retrieval.openExports(), is(0L));
+    }
+
+    @Test
+    public void exportFittingInFirstPageEndsAtFirstCursor() throws Exception {
+        givenExportOf(PAGE_SIZE);
+
+        QueryResult<String> first = retrieval.findByQuery(request(createFirstCursorPage(PAGE_SIZE)));
+
+        assertThat(first.getResults(), contains("0", "1"));
+        assertThat(first.getPageInfo().getNextCursor(), is(FIRST_CURSOR));
+        assertThat(retrieval.openExports(), is(0L));
+    }
+
+    @Test
+    public void unreadExportRemainsOpen() throws Exception {
+        givenExportOf(5);
+
+        retrieval.findByQuery(request(createFirstCursorPage(PAGE_SIZE)));
+
+        assertThat(retrieval.openExports(), is(1L));
+    }
+
+    @Test
+    public void releasedExportIsClosed() throws Exception {
+        givenExportOf(5);
+        QueryResult<String> first = retrieval.findByQuery(request(createFirstCursorPage(PAGE_SIZE)));
+
+        retrieval.release(first.getPageInfo().getNextCursor());
+
+        assertThat(retrieval.openExports(), is(0L));
+    }
+
+    @Test
+    public void releasingCursorNotOfAnExportClosesNoExports() throws Exception {
+        givenExportOf(5);
+        retrieval.findByQuery(request(createFirstCursorPage(PAGE_SIZE)));
+
+        retrieval.release(FIRST_CURSOR);
+        retrieval.release(null);
+
+        assertThat(retrieval.openExports(), is(1L));
+    }
+
+    @Test
+    public void cursorOfClosedExportReopensExportAfterDocumentsAlreadyRead() throws Exception {
+        givenExportOf(5);
+        QueryResult<String> first = retrieval.findByQuery(request(createFirstCursorPage(PAGE_SIZE)));
+        String firstCursor = first.getPageInfo().getNextCursor();
+        retrieval.release(firstCursor);
+        givenExportOf(5);
+
+        QueryResult<String> second = retrieval.findByQuery(request(createCursorPage(firstCursor, PAGE_SIZE)));
+
+        assertThat(second.getResults(), contains("2", "3"));
+        assertThat(retrieval.openExports(), is(1L));
+    }
+
+    @Test(expected = RetrievalException.class)
+    public void cursorOfClosedExportThatCannotBeReopenedThrowsException() throws Exception {
+        when(exportSourceMock.open(any(SolrParams.class))).thenThrow(new IOException("Solr is unavailable"));
+
+        retrieval.findByQuery(request(createCursorPage(SolrExportRequestRetrieval.EXPORT_CURSOR_PREFIX + "x:2",
+                PAGE_SIZE)));
+    }
+
+    @Test
+    public void requestForFieldWithoutDocValuesIsRetrievedByCursor() throws Exception {
+        query.setFields("id", "description");
+        QueryRequest request = request(createFirstCursorPage(PAGE_SIZE));
+        when(cursorRetrievalMock.findByQuery(request)).thenReturn(cursorResultMock);
+
+        assertThat(retrieval.findByQuery(request), is(cursorResultMock));
+        verify(exportSourceMock, never()).open(any(SolrParams.class));
+    }
+
+    @Test
+    public void requestWithFacetsIsRetrievedByCursor() throws Exception {
+        query.addFacetField("name");
+        QueryRequest request = request(createFirstCursorPage(PAGE_SIZE));
+        when(cursorRetrievalMock.findByQuery(request)).thenReturn(cursorResultMock);
+
+        assertThat(retrieval.findByQuery(request), is(cursorResultMock));
+        verify(exportSourceMock, never()).open(any(SolrParams.class));
+    }
+
+    @Test
+    public void requestWhoseExportCannotBeStartedIsRetrievedByCursor() throws Exception {
+        when(exportSourceMock.open(any(SolrParams.class))).thenThrow(new IOException("no exports"));
+        QueryRequest request = request(createFirstCursorPage(PAGE_SIZE));
+        when(cursorRetrievalMock.findByQuery(request)).thenReturn(cursorResultMock);
+
+        assertThat(retrieval.findByQuery(request), is(cursorResultMock));
+    }
+
+    @Test
+    public void solrCursorIsRetrievedByCursor() throws Exception {
+        QueryRequest request = request(createCursorPage("AoEjR0JQ", PAGE_SIZE));
+        when(cursorRetrievalMock.findByQuery(request)).thenReturn(cursorResultMock);
+
+        assertThat(retrieval.findByQuery(request), is(cursorResultMock));
+        verify(exportSourceMock, never()).open(any(SolrParams.class));
+    }
+
+    @Test
+    public void regularPageIsRetrievedByCursor() throws Exception {
+        QueryRequest request = request(new RegularPage(1, PAGE_SIZE));
+        when(cursorRetrievalMock.findByQuery(request)).thenReturn(cursorResultMock);
+
+        assertThat(retrieval.findByQuery(request), is(cursorResultMock));
+        verify(exportSourceMock, never()).open(any(SolrParams.class));
+    }
+
+    private void givenExportOf(int numFound) throws Exception {
+        List<String> docs = IntStream.range(0, numFound)
+                .mapToObj(id -> "{\"id\":\"" + id + "\",\"name\":\"a\"}")
+                .collect(Collectors.toList());
+        String export = "{\"responseHeader\": {\"status\": 0}, \"response\":{\"numFound\":" + numFound +
+                ", \"docs\":[" + String.join(",", docs) + "]}}";
+
+        when(exportSourceMock.open(any(SolrParams.class)))
+                .thenReturn(new SolrExportReader(new StringReader(export), Collections.emptySet()));
+    }
+
+    private static QueryRequest request(Page page) {
+        return new QueryRequest.Builder(QuickGOQuery.createAllQuery())
+                .setPage(page)
+                .build();
+    }
+}
@@ -0,0 +1,144 @@
+package uk.ac.ebi.quickgo.rest.search.solr;
+
+import uk.ac.ebi.quickgo.rest.search.query.FieldQuery;
+import uk.ac.ebi.quickgo.rest.search.query.JoinQuery;
+import uk.ac.ebi.quickgo.rest.search.query.QuickGOQuery;
+
+import java.util.Collections;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static uk.ac.ebi.quickgo.rest.search.query.QuickGOQuery.and;
+import static uk.ac.ebi.quickgo.rest.search.query.QuickGOQuery.not;
+import static uk.ac.ebi.quickgo.rest.search.query.QuickGOQuery.or;
+
+/**
+ * Tests the {@link SolrFilterQueryCanonicalizer} implementation.
+ *
+ * Created 19/10/26
+ */
+public class SolrFilterQueryCanonicalizerTest {
+    private static final String TERMS_FIELD = "goId_unsorted";
+    private static final int MAX_CACHED_FILTER_LENGTH = 60;
+    private static final int UNCACHED_FILTER_COST = 150;
+
+    private SolrFilterQueryCanonicalizer canonicalizer;
+
+    @Before
+    public void setUp() {
+        UnsortedSolrQuerySerializer serializer =
+                new UnsortedSolrQuerySerializer(Collections.singleton(TERMS_FIELD), Collections.emptySet());
+        canonicalizer = new SolrFilterQueryCanonicalizer(serializer, MAX_CACHED_FILTER_LENGTH, UNCACHED_FILTER_COST);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullSerializerCausesException() {
+        new SolrFilterQueryCanonicalizer(null, MAX_CACHED_FILTER_LENGTH, UNCACHED_FILTER_COST);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nonPositiveMaxCachedFilterLengthCausesException() {
+        new SolrFilterQueryCanonicalizer(new SortedSolrQuerySerializer(), 0, UNCACHED_FILTER_COST);
+    }
+
+    @Test
+    public void logicallyIdenticalDisjunctionsAreSerializedIdentically() {
+        QuickGOQuery filter1 = or(field("a", "1"), field("b", "2"), field("c", "3"));
+        QuickGOQuery filter2 = or(field("c", "3"), field("a", "1"), field("b", "2"));
+
+        assertThat(toFilterQueries(filter1), is(toFilterQueries(filter2)));
+        assertThat(toFilterQueries(filter1), contains("((a:1) OR (b:2) OR (c:3))"));
+    }
+
+    @Test
+    public void termsQueryValuesAreSorted() {
+        QuickGOQuery filter = or(field(TERMS_FIELD, "GO:3"), field(TERMS_FIELD, "GO:1"), field(TERMS_FIELD, "GO:2"));
+
+        assertThat(toFilterQueries(filter), contains("({!terms f=goId_unsorted}go:1,go:2,go:3)"));
+    }
+
+    @Test
+    public void nestedOperationsOfTheSameOperatorAreMerged() {
+        QuickGOQuery filter = or(field("b", "2"), or(field("c", "3"), field("a", "1")));
+
+        assertThat(toFilterQueries(filter), contains("((a:1) OR (b:2) OR (c:3))"));
+    }
+
+    @Test
+    public void topLevelConjunctionIsSplitIntoSortedFilterQueries() {
+        QuickGOQuery filter = and(field("b", "2"), and(field("c", "3"), field("a", "1")));
+
+        assertThat(toFilterQueries(filter), contains("(a:1)", "(b:2)", "(c:3)"));
+    }
+
+    @Test
+    public void duplicateFiltersAreRemoved() {
+        List<String> filterQueries = canonicalizer.toFilterQueries(asList(
+                and(field("a", "1"), field("b", "2")),
+                field("a", "1")));
+
+        assertThat(filterQueries, contains("(a:1)", "(b:2)"));
+    }
+
+    @Test
+    public void negatedConjunctionIsNotSplit() {
+        QuickGOQuery filter = not(and(field("b", "2"), field("a", "1")));
+
+        assertThat(toFilterQueries(filter), contains("NOT (((a:1) AND (b:2)))"));
+    }
+
+    @Test
+    public void joinFilterIsCanonicalized() {
+        QuickGOQuery filter = new JoinQuery("f", "fa", "t", "ta", or(field("b", "2"), field("a", "1")));
+
+        assertThat(toFilterQueries(filter),
+                contains("{!join from=fa to=ta fromIndex=f} ((a:1) OR (b:2))"));
+    }
+
+    @Test
+    public void longFilterQueryIsNotCached() {
+        QuickGOQuery filter = or(
+                field(TERMS_FIELD, "GO:0000001"), field(TERMS_FIELD, "GO:0000002"),
+                field(TERMS_FIELD, "GO:0000003"), field(TERMS_FIELD, "GO:0000004"));
+
+        assertThat(toFilterQueries(filter), contains("{!cache=false cost=150}({!terms f=goId_unsorted}" +
+                "go:0000001,go:0000002,go:0000003,go:0000004)"));
+    }
+
+    @Test
+    public void longFilterQueryWithLocalParamsIsNotCached() {
+        QuickGOQuery filter = new JoinQuery("from", "fromAttr", "to", "toAttr",
+                or(field("longFieldName", "longValue1"), field("longFieldName", "longValue2")));
+
+        assertThat(toFilterQueries(filter), contains(
+                "{!join from=fromAttr to=toAttr fromIndex=from cache=false cost=150} " +
+                        "((longFieldName:longValue1) OR (longFieldName:longValue2))"));
+    }
+
+    @Test
+    public void shortFiltersAreCachedWhenSplitFromLongFilter() {
+        QuickGOQuery longFilter = or(
+                field(TERMS_FIELD, "GO:0000001"), field(TERMS_FIELD, "GO:0000002"),
+                field(TERMS_FIELD, "GO:0000003"), field(TERMS_FIELD, "GO:0000004"));
+
+        List<String> filterQueries = toFilterQueries(and(field("taxonId", "9606"), longFilter));
+
+        assertThat(filterQueries.get(0), is("(taxonId:9606)"));
+        assertThat(filterQueries.get(1), startsWith("{!cache=false cost=150}"));
+    }
+
+    private List<String> toFilterQueries(QuickGOQuery filter) {
+        return canonicalizer.toFilterQueries(singletonList(filter));
+    }
+
+    private static FieldQuery field(String field, String value) {
+        return new FieldQuery(field, value);
+    }
+}
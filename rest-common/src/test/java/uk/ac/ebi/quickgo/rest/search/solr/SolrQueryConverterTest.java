@@ -120,6 +120,38 @@ public class SolrQueryConverterTest {
         assertThat(query.getFilterQueries(), arrayContaining(buildFieldQuery(filterField, filterValue)));
     }
 
+    @Test
+    public void convertQueryRequestWithConjunctionFilterQueryCreatesSortedFilterQueryPerClause() {
+        QuickGOQuery fieldQuery = createBasicQuery();
+
+        QueryRequest request = new QueryRequest.Builder(fieldQuery)
+                .addQueryFilter(QuickGOQuery.and(
+                        QuickGOQuery.createQuery("filterField2", "filterValue2"),
+                        QuickGOQuery.createQuery("filterField1", "filterValue1")))
+                .build();
+
+        SolrQuery query = converter.convert(request);
+
+        assertThat(query.getFilterQueries(), arrayContaining(
+                buildFieldQuery("filterField1", "filterValue1"),
+                buildFieldQuery("filterField2", "filterValue2")));
+    }
+
+    @Test
+    public void convertQueryRequestWithLongFilterQueryDisablesItsCaching() {
+        converter = new SolrQueryConverter(REQUEST_HANDLER_NAME, new SortedSolrQuerySerializer(), 10, 100);
+        QuickGOQuery fieldQuery = createBasicQuery();
+
+        QueryRequest request = new QueryRequest.Builder(fieldQuery)
+                .addQueryFilter(QuickGOQuery.createQuery("filterField1", "filterValue1"))
+                .build();
+
+        SolrQuery query = converter.convert(request);
+
+        assertThat(query.getFilterQueries(),
+                arrayContaining("{!cache=false cost=100}" + buildFieldQuery("filterField1", "filterValue1")));
+    }
+
     @Test
     public void defaultConvertQueryRequestDoesNotUseHighlighting() {
         QuickGOQuery fieldQuery = createBasicQuery();
@@ -0,0 +1,98 @@
+package uk.ac.ebi.quickgo.rest.search.solr;
+
+import uk.ac.ebi.quickgo.rest.search.QueryResultConverter;
+import uk.ac.ebi.quickgo.rest.search.query.QueryRequest;
+import uk.ac.ebi.quickgo.rest.search.query.QueryRequestConverter;
+import uk.ac.ebi.quickgo.rest.search.query.QuickGOQuery;
+import uk.ac.ebi.quickgo.rest.search.results.QueryResult;
+
+import java.util.Collections;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.StreamingResponseCallback;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the {@link SolrRequestRetrieval} implementation.
+ *
+ * Created 19/10/26
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class SolrRequestRetrievalTest {
+    private static final QueryRequest REQUEST =
+            new QueryRequest.Builder(QuickGOQuery.createQuery("field1", "value1")).build();
+
+    @Mock
+    private SolrClient solrClientMock;
+
+    @Mock
+    private QueryRequestConverter<SolrQuery> queryRequestConverterMock;
+
+    @Mock
+    private QueryResultConverter<String, QueryResponse> resultConverterMock;
+
+    @Mock
+    private StreamingSolrQueryResultConverter<String> streamingResultConverterMock;
+
+    @Mock
+    private SolrRetrievalConfig retrievalConfigMock;
+
+    @Mock
+    private QueryResult<String> queryResultMock;
+
+    private SolrQuery query;
+    private QueryResponse response;
+
+    @Before
+    public void setUp() {
+        when(retrievalConfigMock.getHighlightStartDelim()).thenReturn("<em>");
+        when(retrievalConfigMock.getHighlightEndDelim()).thenReturn("</em>");
+        when(retrievalConfigMock.getSearchReturnedFields()).thenReturn(Collections.emptyList());
+
+        query = new SolrQuery("field1:value1");
+        response = new QueryResponse();
+        when(queryRequestConverterMock.convert(REQUEST)).thenReturn(query);
+    }
+
+    @Test
+    public void responseIsDecodedBeforeConversionByNonStreamingConverter() throws Exception {
+        SolrRequestRetrieval<String> retrieval = new SolrRequestRetrieval<>(solrClientMock,
+                queryRequestConverterMock, resultConverterMock, retrievalConfigMock);
+        when(solrClientMock.query(query)).thenReturn(response);
+        when(resultConverterMock.convert(response, REQUEST)).thenReturn(queryResultMock);
+
+        QueryResult<String> result = retrieval.findByQuery(REQUEST);
+
+        assertThat(result, is(queryResultMock));
+        verify(solrClientMock, never()).queryAndStreamResponse(any(SolrQuery.class),
+                any(StreamingResponseCallback.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void responseIsStreamedToStreamingConverter() throws Exception {
+        SolrRequestRetrieval<String> retrieval = new SolrRequestRetrieval<>(solrClientMock,
+                queryRequestConverterMock, streamingResultConverterMock, retrievalConfigMock);
+        when(solrClientMock.queryAndStreamResponse(eq(query), any(StreamedSolrResults.class))).thenReturn(response);
+        when(streamingResultConverterMock.convertStreamed(eq(response), eq(REQUEST), any(StreamedSolrResults.class)))
+                .thenReturn(queryResultMock);
+
+        QueryResult<String> result = retrieval.findByQuery(REQUEST);
+
+        assertThat(result, is(queryResultMock));
+        verify(solrClientMock, never()).query(any(SolrQuery.class));
+    }
+}
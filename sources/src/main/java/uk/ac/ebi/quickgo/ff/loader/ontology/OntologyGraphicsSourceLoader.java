@@ -7,6 +7,7 @@ import uk.ac.ebi.quickgo.model.ontology.eco.EvidenceCodeOntology;
 import uk.ac.ebi.quickgo.model.ontology.go.GeneOntology;
 
 import java.io.File;
+import java.io.IOException;
 import org.slf4j.Logger;
 
 import static com.google.common.base.Preconditions.checkArgument;
@@ -19,14 +20,17 @@ import static org.slf4j.LoggerFactory.getLogger;
  * of the loading functionality makes it simpler to test at the level of any callers
  * of {@link GraphImageService}.
  *
+ * The ontologies can be {@link #reload() reloaded}, e.g., when a new release of the ontology is served, in which case
+ * the previously loaded ontologies are used until both new ones have been loaded.
+ *
  * Created 27/09/16
  * @author Edd
  */
 public class OntologyGraphicsSourceLoader {
     private static final Logger LOGGER = getLogger(OntologyGraphicsSourceLoader.class);
     private final File sourceDir;
-    private GeneOntology geneOntology;
-    private EvidenceCodeOntology evidenceCodeOntology;
+    private volatile GeneOntology geneOntology;
+    private volatile EvidenceCodeOntology evidenceCodeOntology;
 
     public OntologyGraphicsSourceLoader(File sourceDir) {
         checkArgument(sourceDir != null && sourceDir.exists(), "Source directory cannot be null and must exist");
@@ -48,6 +52,25 @@ public class OntologyGraphicsSourceLoader {
         return geneOntology != null && evidenceCodeOntology != null;
     }
 
+    /**
+     * Loads the ontologies again from the source directory, and replaces those in use once both have been loaded.
+     *
+     * @throws IOException if either ontology could not be loaded, in which case the ontologies in use are unchanged
+     */
+    public synchronized void reload() throws IOException {
+        GeneOntology reloadedGeneOntology;
+        EvidenceCodeOntology reloadedEvidenceCodeOntology;
+        try {
+            reloadedGeneOntology = new GOLoader(new GOSourceFiles(sourceDir)).load();
+            reloadedEvidenceCodeOntology = new ECOLoader(new ECOSourceFiles(sourceDir)).load();
+        } catch (Exception e) {
+            throw new IOException("Could not reload the ontologies for graphics from: " + sourceDir, e);
+        }
+
+        geneOntology = reloadedGeneOntology;
+        evidenceCodeOntology = reloadedEvidenceCodeOntology;
+    }
+
     private void loadOntologies() {
         try {
             geneOntology = new GOLoader(new GOSourceFiles(requireNonNull(sourceDir))).load();
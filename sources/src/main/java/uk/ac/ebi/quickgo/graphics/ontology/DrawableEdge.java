@@ -92,7 +92,46 @@ public class DrawableEdge<N extends INode> implements IRoutableEdge<N> {
         }
     }
 
+    /**
+     * Draw the edge as SVG
+     *
+     * @param svg Canvas
+     */
+    public void render(SvgCanvas svg) {
+        svg.setStroke(stroke);
+        svg.setColor(colour);
+
+        svg.draw(route);
+
+        svg.setStroke(arrowStroke);
+        if (parentArrow != null || childArrow != null) {
+            double[] ends = arrowEnds(route);
+            if (parentArrow != null) {
+                drawArrow(svg, ends[0], ends[1], ends[2], ends[3], parentArrow);
+            }
+            if (childArrow != null) {
+                drawArrow(svg, ends[4], ends[5], ends[6], ends[7], childArrow);
+            }
+        }
+    }
+
     public static void drawArrows(Graphics2D g2, Shape route, Shape parentArrow, Shape childArrow) {
+        double[] ends = arrowEnds(route);
+
+        if (parentArrow != null) {
+            drawArrow(g2, ends[0], ends[1], ends[2], ends[3], parentArrow);
+        }
+        if (childArrow != null) {
+            drawArrow(g2, ends[4], ends[5], ends[6], ends[7], childArrow);
+        }
+    }
+
+    /**
+     * Finds the ends of a route, and the directions in which it leaves them.
+     *
+     * @return the position and direction of the start of the route, followed by those of its end
+     */
+    private static double[] arrowEnds(Shape route) {
         PathIterator pi = route.getPathIterator(null, 2);
 
         double[] posn = new double[6];
@@ -130,12 +169,7 @@ public class DrawableEdge<N extends INode> implements IRoutableEdge<N> {
             y2 = y;
         }
 
-        if (parentArrow != null) {
-            drawArrow(g2, x1, y1, xd1, yd1, parentArrow);
-        }
-        if (childArrow != null) {
-            drawArrow(g2, x2, y2, xd2, yd2, childArrow);
-        }
+        return new double[]{x1, y1, xd1, yd1, x2, y2, xd2, yd2};
     }
 
     private static void drawArrow(Graphics2D g2, double x, double y, double xd, double yd, Shape arrowhead) {
@@ -151,4 +185,15 @@ public class DrawableEdge<N extends INode> implements IRoutableEdge<N> {
             g2.setTransform(saveXform);
         }
     }
+
+    private static void drawArrow(SvgCanvas svg, double x, double y, double xd, double yd, Shape arrowhead) {
+        if (xd != 0 || yd != 0) {
+            AffineTransform xform = AffineTransform.getTranslateInstance(x, y);
+            xform.rotate(-Math.atan2(xd, yd));
+
+            Shape placed = xform.createTransformedShape(arrowhead);
+            svg.fill(placed);
+            svg.draw(placed);
+        }
+    }
 }
@@ -76,6 +76,25 @@ public class GraphImage extends RenderableImage {
                     (float) (yCentre + offsetY - (r.getHeight() / 2)));
         }
 
+        public void render(SvgCanvas svg) {
+            int margin = height / 10;
+            int boxSide = height - (2 * margin);
+            int offsetY = boxSide / 4;
+            new RelationStroke(xCentre + (width / 2) - boxSide - (2 * margin), yCentre + offsetY,
+                    xCentre - (width / 2) + boxSide + (2 * margin), yCentre + offsetY, relType).render(svg);
+
+            int left = xCentre - (width / 2) + margin;
+            int top = yCentre - (height / 2) + margin;
+            drawBox(svg, left, top, boxSide, boxSide, "A");
+            left += (width - margin - boxSide);
+            drawBox(svg, left, top, boxSide, boxSide, "B");
+
+            svg.setFont(labelFont);
+            Rectangle2D r = svg.getFontMetrics().getStringBounds(relType.description, svg.getMetricsGraphics());
+            svg.drawString(relType.description, (float) (xCentre - (r.getWidth() / 2)),
+                    (float) (yCentre + offsetY - (r.getHeight() / 2)));
+        }
+
         void drawBox(Graphics2D g2, int left, int top, int width, int height, String label) {
             g2.setColor(Color.black);
             g2.setStroke(border);
@@ -87,6 +106,17 @@ public class GraphImage extends RenderableImage {
                     (float) (top + (height / 2) + (r.getHeight() / 2)));
         }
 
+        void drawBox(SvgCanvas svg, int left, int top, int width, int height, String label) {
+            svg.setColor(Color.black);
+            svg.setStroke(border);
+            svg.drawRect(left, top, width, height);
+
+            svg.setFont(labelFont);
+            Rectangle2D r = svg.getFontMetrics().getStringBounds(label, svg.getMetricsGraphics());
+            svg.drawString(label, (float) (left + (width / 2) - (r.getWidth() / 2)),
+                    (float) (top + (height / 2) + (r.getHeight() / 2)));
+        }
+
         public int left() {
             return xCentre - width / 2;
         }
@@ -227,6 +257,29 @@ public class GraphImage extends RenderableImage {
         }
     }
 
+    @Override
+    protected void render(SvgCanvas svg) {
+        if (errorMessage != null) {
+            svg.setFont(errorFont);
+            svg.setColor(Color.BLACK);
+            svg.drawString(errorMessage, 5, 50);
+        } else {
+            for (RelationEdge relation : relations) {
+                relation.render(svg);
+            }
+            for (TermNode term : terms) {
+                term.render(svg);
+            }
+            for (KeyNode ke : legend) {
+                ke.render(svg);
+            }
+
+            svg.setFont(infoFont);
+            svg.setColor(Color.BLACK);
+            svg.drawString("QuickGO - https://www.ebi.ac.uk/QuickGO", 5, height - svg.getFontMetrics().getDescent());
+        }
+    }
+
     /**
      * Return only GO/ECO terms nodes (no goslim ones)
      * @return GO/ECO terms nodes (no goslim ones)
@@ -51,7 +51,7 @@ public class GraphLayout<N extends IPositionableNode, E extends IRoutableEdge<N>
                     new HierarchicalNode(n, n.getHeight(), n.getWidth()) :
                     new HierarchicalNode(n, n.getWidth(), n.getHeight());
             nodeMap.put(n, hnode);
-            hierarchicalGraph.nodes.add(hnode);
+            addNode(hnode);
         }
 
         for (E e : graph.getEdges()) {
@@ -78,7 +78,7 @@ public class GraphLayout<N extends IPositionableNode, E extends IRoutableEdge<N>
         rationalise();
 
         for (Level l : levels) {
-            l.calcInitialPositions();
+            l.calcInitialPositions(withinLevelGap);
         }
 
         orderNodesInLevels();
@@ -147,9 +147,14 @@ public class GraphLayout<N extends IPositionableNode, E extends IRoutableEdge<N>
      */
     public int edgeLengthHeightRatio = 3;
     /**
-     * Number of passes up and down the levels to attempt to optimise node positions
+     * Maximum number of passes up and down the levels to attempt to optimise node positions
      */
     public int reorderIterations = 25;
+    /**
+     * Number of consecutive passes that do not reduce the number of edge crossings after which no more passes are
+     * attempted
+     */
+    public int convergenceIterations = 3;
     /**
      * Minimum gap between levels
      */
@@ -188,6 +193,8 @@ public class GraphLayout<N extends IPositionableNode, E extends IRoutableEdge<N>
 
     // fields
 
+    private static final HierarchicalNode[] NO_NODES = {};
+
     private GenericGraph<HierarchicalNode, HierarchicalEdge> hierarchicalGraph =
             new GenericGraph<HierarchicalNode, HierarchicalEdge>();
     private Orientation orientation;
@@ -199,22 +206,25 @@ public class GraphLayout<N extends IPositionableNode, E extends IRoutableEdge<N>
 
     // classes
 
-    private class HierarchicalNode implements INode {
+    private static class HierarchicalNode implements INode {
         // Underlying node will be null for inserted nodes
         IPositionableNode underlying;
 
-        /*
-                HierarchicalNode[] above;
-                HierarchicalNode[] below;
-        */
-        ArrayList<HierarchicalNode> above;
-        ArrayList<HierarchicalNode> below;
+        /**
+         * Connected nodes in the levels above and below, in the order they were added to their levels
+         */
+        HierarchicalNode[] above = NO_NODES;
+        HierarchicalNode[] below = NO_NODES;
 
         /**
-         * Minimum level on which this node could be located.
-         * Used only by findLevel
+         * Index of the node in the hierarchical graph
          */
-        int minLevelNumber = -1;
+        int id;
+
+        /**
+         * Index of the node within its level, ordered by location
+         */
+        int rank;
 
         /**
          * Level on which node is located
@@ -253,64 +263,6 @@ public class GraphLayout<N extends IPositionableNode, E extends IRoutableEdge<N>
             this.betweenLevelSize = betweenLevelSize;
             this.withinLevelSize = withinLevelSize;
         }
-
-        public Set<HierarchicalNode> getRealParents() {
-            Set<HierarchicalNode> parents = new HashSet<>();
-            for (EdgeMapping e : originalEdges) {
-                if (e.child == this) {
-                    parents.add(e.parent);
-                }
-            }
-            return parents;
-        }
-
-        public Set<HierarchicalNode> getRealChildren() {
-            Set<HierarchicalNode> children = new HashSet<>();
-            for (EdgeMapping e : originalEdges) {
-                if (e.parent == this) {
-                    children.add(e.child);
-                }
-            }
-            return children;
-        }
-
-        private int findLevel() {
-            if (minLevelNumber != -1) {
-                return minLevelNumber;
-            }
-
-            int maxParentLevel = -1;
-
-            for (HierarchicalNode parent : getRealParents()) {
-                maxParentLevel = Math.max(parent.findLevel(), maxParentLevel);
-            }
-
-            return minLevelNumber = maxParentLevel + 1;
-        }
-
-        private int assignLevel() {
-            int minChildLevel = Integer.MAX_VALUE;
-
-            for (HierarchicalNode child : getRealChildren()) {
-                minChildLevel = Math.min(child.findLevel(), minChildLevel);
-            }
-
-            if (minChildLevel == Integer.MAX_VALUE) {
-                minChildLevel = minLevelNumber + 1;
-            }
-
-            int levelNumber = (minLevelNumber + minChildLevel) / 2;
-
-            while (levelNumber >= levels.size()) {
-                levels.add(new Level(hierarchicalGraph, levels.size()));
-            }
-
-            level = levels.get(levelNumber);
-
-            level.nodes.add(this);
-
-            return levelNumber;
-        }
     }
 
     private class EdgeMapping {
@@ -362,25 +314,32 @@ public class GraphLayout<N extends IPositionableNode, E extends IRoutableEdge<N>
         }
     }
 
-    private class Level {
+    private static class Level {
         int levelNumber;
         int location, height;
-        List<HierarchicalNode> nodes = new ArrayList<>();
-        GenericGraph<HierarchicalNode, HierarchicalEdge> hierarchicalGraph;
+        HierarchicalNode[] nodes = NO_NODES;
+        int size;
 
-        public Level(GenericGraph<HierarchicalNode, HierarchicalEdge> hierarchicalGraph, int levelNumber) {
-            this.hierarchicalGraph = hierarchicalGraph;
+        public Level(int levelNumber) {
             this.levelNumber = levelNumber;
         }
 
-        void removeOverlaps() {
+        void add(HierarchicalNode node) {
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, Math.max(size * 2, 4));
+            }
+            node.rank = size;
+            nodes[size++] = node;
+        }
+
+        void removeOverlaps(int minLevelGap) {
             while (true) {
-                Collections.sort(nodes, nodeLayoutComparator);
+                Arrays.sort(nodes, 0, size, NODE_LAYOUT_COMPARATOR);
 
                 boolean foundOverlap = false;
-                for (int i = 1; i < nodes.size(); i++) {
-                    HierarchicalNode a = nodes.get(i - 1);
-                    HierarchicalNode b = nodes.get(i);
+                for (int i = 1; i < size; i++) {
+                    HierarchicalNode a = nodes[i - 1];
+                    HierarchicalNode b = nodes[i];
 
                     int overlap =
                             minLevelGap + (a.location + a.withinLevelSize / 2) - (b.location - b.withinLevelSize / 2);
@@ -395,30 +354,26 @@ public class GraphLayout<N extends IPositionableNode, E extends IRoutableEdge<N>
                     break;
                 }
             }
+
+            for (int i = 0; i < size; i++) {
+                nodes[i].rank = i;
+            }
         }
 
-        void reorder(boolean down) {
+        void reorder(boolean down, int minLevelGap) {
             reorderAveragePosition(down);
-            removeOverlaps();
+            removeOverlaps(minLevelGap);
         }
 
         private void reorderAveragePosition(boolean down) {
-            for (HierarchicalNode node : nodes) {
+            for (int i = 0; i < size; i++) {
+                HierarchicalNode node = nodes[i];
+                HierarchicalNode[] connectedNodes = down ? node.above : node.below;
                 double total = 0;
-                int connected = 0;
-
-                if (node.above != null && down) {
-                    for (HierarchicalNode cf : node.above) {
-                        connected++;
-                        total += cf.location;
-                    }
-                }
+                int connected = connectedNodes.length;
 
-                if (node.below != null && !down) {
-                    for (HierarchicalNode cf : node.below) {
-                        connected++;
-                        total += cf.location;
-                    }
+                for (HierarchicalNode cf : connectedNodes) {
+                    total += cf.location;
                 }
 
                 if (connected == 0) {
@@ -431,25 +386,26 @@ public class GraphLayout<N extends IPositionableNode, E extends IRoutableEdge<N>
             }
         }
 
-        void calcInitialPositions() {
+        void calcInitialPositions(int withinLevelGap) {
             int width = 0;
-            for (HierarchicalNode node : nodes) {
+            for (int i = 0; i < size; i++) {
+                HierarchicalNode node = nodes[i];
                 node.location = width + node.withinLevelSize / 2;
                 width += node.withinLevelSize + withinLevelGap;
             }
         }
 
         void shiftLeft(int delta) {
-            for (HierarchicalNode node : nodes) {
-                node.location -= delta;
+            for (int i = 0; i < size; i++) {
+                nodes[i].location -= delta;
             }
         }
 
-        void getHeight() {
+        void getHeight(int betweenLevelExtraGap) {
             int maxHeight = 0;
 
-            for (HierarchicalNode node : nodes) {
-                maxHeight = Math.max(maxHeight, node.betweenLevelSize);
+            for (int i = 0; i < size; i++) {
+                maxHeight = Math.max(maxHeight, nodes[i].betweenLevelSize);
             }
 
             this.height = maxHeight + (betweenLevelExtraGap * 2);
@@ -460,54 +416,148 @@ public class GraphLayout<N extends IPositionableNode, E extends IRoutableEdge<N>
         }
 
         int getWidth() {
-            final HierarchicalNode nd = nodes.get(nodes.size() - 1);
+            final HierarchicalNode nd = nodes[size - 1];
             return nd.location + nd.withinLevelSize / 2;
         }
 
         int getStart() {
-            final HierarchicalNode nd = nodes.get(0);
+            final HierarchicalNode nd = nodes[0];
             return nd.location - nd.withinLevelSize / 2;
         }
 
-        public void attach(Level above, Level below) {
-            for (int j = 0; j < nodes.size(); j++) {
-                HierarchicalNode nj = nodes.get(j);
+        /**
+         * Counts the edges between this level and the level below that cross, using the ranks of the nodes.
+         * Sorting the edges by the rank of their upper node, two edges cross when their lower nodes are in the
+         * opposite order, so the crossings are the inversions of the lower ranks, which are counted with a
+         * Fenwick tree.
+         *
+         * @param below the level below this one
+         * @return the number of crossings
+         */
+        long countCrossings(Level below) {
+            int edgeCount = 0;
+            for (int i = 0; i < size; i++) {
+                edgeCount += nodes[i].below.length;
+            }
 
-                if (above != null) {
-                    nj.above = new ArrayList<>();
-                    for (HierarchicalNode na : above.nodes) {
-                        if (hierarchicalGraph.connected(na, nj)) {
-                            nj.above.add(na);
-                        }
-                    }
+            long[] edges = new long[edgeCount];
+            int e = 0;
+            for (int i = 0; i < size; i++) {
+                HierarchicalNode upper = nodes[i];
+                for (HierarchicalNode lower : upper.below) {
+                    edges[e++] = ((long) upper.rank << 32) | lower.rank;
                 }
-
-                if (below != null) {
-                    nj.below = new ArrayList<>();
-                    for (HierarchicalNode na : below.nodes) {
-                        if (hierarchicalGraph.connected(na, nj)) {
-                            nj.below.add(na);
-                        }
-                    }
+            }
+            Arrays.sort(edges);
+
+            long crossings = 0;
+            int[] tree = new int[below.size + 1];
+            for (int i = 0; i < edgeCount; i++) {
+                int lowerRank = (int) edges[i];
+                int seenToLeftOrAt = 0;
+                for (int j = lowerRank + 1; j > 0; j -= j & -j) {
+                    seenToLeftOrAt += tree[j];
+                }
+                // the edges already seen whose lower node is to the right of this one's cross it
+                crossings += i - seenToLeftOrAt;
+                for (int j = lowerRank + 1; j <= below.size; j += j & -j) {
+                    tree[j]++;
                 }
             }
+            return crossings;
         }
     }
 
-    private Comparator<HierarchicalNode> nodeLayoutComparator = new Comparator<HierarchicalNode>() {
+    private static final Comparator<HierarchicalNode> NODE_LAYOUT_COMPARATOR = new Comparator<HierarchicalNode>() {
         public int compare(HierarchicalNode h1, HierarchicalNode h2) {
             return h1.location - h2.location;
         }
     };
 
+    private static final Comparator<HierarchicalNode> NODE_RANK_COMPARATOR = new Comparator<HierarchicalNode>() {
+        public int compare(HierarchicalNode h1, HierarchicalNode h2) {
+            return h1.rank - h2.rank;
+        }
+    };
+
     // methods
 
+    private void addNode(HierarchicalNode node) {
+        node.id = hierarchicalGraph.nodes.size();
+        hierarchicalGraph.nodes.add(node);
+    }
+
+    /**
+     * Places each node midway between the first level it could be on, below all of its parents, and the first level
+     * any of its children could be on. The first levels are found in one pass over the nodes in topological order.
+     */
     private void findLevels() {
-        for (HierarchicalNode n : hierarchicalGraph.nodes) {
-            n.findLevel();
+        int nodeCount = hierarchicalGraph.nodes.size();
+        int[] unleveledParents = new int[nodeCount];
+        HierarchicalNode[][] children = new HierarchicalNode[nodeCount][];
+        int[] childCounts = new int[nodeCount];
+        for (EdgeMapping e : originalEdges) {
+            unleveledParents[e.child.id]++;
+            childCounts[e.parent.id]++;
         }
+        for (int i = 0; i < nodeCount; i++) {
+            children[i] = new HierarchicalNode[childCounts[i]];
+            childCounts[i] = 0;
+        }
+        for (EdgeMapping e : originalEdges) {
+            children[e.parent.id][childCounts[e.parent.id]++] = e.child;
+        }
+
+        int[] minLevelNumbers = new int[nodeCount];
+        boolean[] queued = new boolean[nodeCount];
+        int[] queue = new int[nodeCount];
+        int tail = 0;
+        for (int i = 0; i < nodeCount; i++) {
+            if (unleveledParents[i] == 0) {
+                queued[i] = true;
+                queue[tail++] = i;
+            }
+        }
+
+        int nextUnqueued = 0;
+        for (int head = 0; head < nodeCount; head++) {
+            if (head == tail) {
+                // the remaining nodes are on, or below, a cycle, which is broken at the first of them
+                while (queued[nextUnqueued]) {
+                    nextUnqueued++;
+                }
+                queued[nextUnqueued] = true;
+                queue[tail++] = nextUnqueued;
+            }
+
+            int id = queue[head];
+            for (HierarchicalNode child : children[id]) {
+                minLevelNumbers[child.id] = Math.max(minLevelNumbers[child.id], minLevelNumbers[id] + 1);
+                if (--unleveledParents[child.id] == 0 && !queued[child.id]) {
+                    queued[child.id] = true;
+                    queue[tail++] = child.id;
+                }
+            }
+        }
+
         for (HierarchicalNode n : hierarchicalGraph.nodes) {
-            n.assignLevel();
+            int minChildLevel = Integer.MAX_VALUE;
+            for (HierarchicalNode child : children[n.id]) {
+                minChildLevel = Math.min(minLevelNumbers[child.id], minChildLevel);
+            }
+
+            if (minChildLevel == Integer.MAX_VALUE) {
+                minChildLevel = minLevelNumbers[n.id] + 1;
+            }
+
+            int levelNumber = (minLevelNumbers[n.id] + minChildLevel) / 2;
+
+            while (levelNumber >= levels.size()) {
+                levels.add(new Level(levels.size()));
+            }
+
+            n.level = levels.get(levelNumber);
+            n.level.add(n);
         }
     }
 
@@ -523,11 +573,11 @@ public class GraphLayout<N extends IPositionableNode, E extends IRoutableEdge<N>
             } else {
                 b = new HierarchicalNode(-1, insertedEdgeWidth);
                 b.level = levels.get(i);
-                b.level.nodes.add(b);
+                b.level.add(b);
+                addNode(b);
             }
             HierarchicalEdge insertedEdge = new HierarchicalEdge(a, b);
             g.edges.add(insertedEdge);
-            g.nodes.add(b);
             e.componentEdges.add(insertedEdge);
 
             a = b;
@@ -539,34 +589,120 @@ public class GraphLayout<N extends IPositionableNode, E extends IRoutableEdge<N>
             rationalise(e, hierarchicalGraph);
         }
 
-        int s = levels.size();
+        attach();
+    }
+
+    /**
+     * Connects each node to the nodes in the levels above and below it, to which it has an edge. Each edge joins
+     * adjacent levels, once long edges have been split by inserted nodes. Nodes joined by several edges are
+     * connected once.
+     */
+    private void attach() {
+        int nodeCount = hierarchicalGraph.nodes.size();
+        int[] aboveCounts = new int[nodeCount];
+        int[] belowCounts = new int[nodeCount];
+        for (HierarchicalEdge edge : hierarchicalGraph.edges) {
+            aboveCounts[edge.child.id]++;
+            belowCounts[edge.parent.id]++;
+        }
+
+        for (HierarchicalNode n : hierarchicalGraph.nodes) {
+            n.above = new HierarchicalNode[aboveCounts[n.id]];
+            n.below = new HierarchicalNode[belowCounts[n.id]];
+            aboveCounts[n.id] = 0;
+            belowCounts[n.id] = 0;
+        }
+        for (HierarchicalEdge edge : hierarchicalGraph.edges) {
+            edge.child.above[aboveCounts[edge.child.id]++] = edge.parent;
+            edge.parent.below[belowCounts[edge.parent.id]++] = edge.child;
+        }
 
-        for (int i = 0; i < s; i++) {
-            Level p = (i == 0) ? null : levels.get(i - 1);
-            Level l = levels.get(i);
-            Level n = (i == s - 1) ? null : levels.get(i + 1);
-            l.attach(p, n);
+        for (HierarchicalNode n : hierarchicalGraph.nodes) {
+            n.above = distinctByRank(n.above);
+            n.below = distinctByRank(n.below);
         }
     }
 
+    private static HierarchicalNode[] distinctByRank(HierarchicalNode[] nodes) {
+        if (nodes.length < 2) {
+            return nodes;
+        }
+
+        Arrays.sort(nodes, NODE_RANK_COMPARATOR);
+        int distinct = 1;
+        for (int i = 1; i < nodes.length; i++) {
+            if (nodes[i] != nodes[distinct - 1]) {
+                nodes[distinct++] = nodes[i];
+            }
+        }
+        return distinct == nodes.length ? nodes : Arrays.copyOf(nodes, distinct);
+    }
+
+    /**
+     * Repeatedly moves the nodes of each level towards the average location of the nodes they are connected to,
+     * passing down and then up the levels. Passes stop once {@link #convergenceIterations} consecutive passes have not
+     * reduced the number of edge crossings, or a pass moves no node, or after {@link #reorderIterations} passes; the
+     * locations of the last pass with the fewest crossings are kept.
+     */
     private void orderNodesInLevels() {
-        for (int j = 0; j < reorderIterations; j++) {
-            int s = levels.size();
+        int s = levels.size();
+        int[] bestLocations = locations();
+        long fewestCrossings = Long.MAX_VALUE;
+        int passesWithoutFewerCrossings = 0;
+
+        for (int j = 0; j < reorderIterations && passesWithoutFewerCrossings < convergenceIterations; j++) {
+            int[] previousLocations = locations();
 
             for (int i = 0; i < s; i++) {
                 Level l = levels.get(i);
-                l.reorder(true);
+                l.reorder(true, minLevelGap);
             }
 
             for (int i = s - 1; i >= 0; i--) {
                 Level l = levels.get(i);
-                l.reorder(false);
+                l.reorder(false, minLevelGap);
+            }
+
+            int[] currentLocations = locations();
+            long crossings = countCrossings();
+            if (crossings < fewestCrossings) {
+                passesWithoutFewerCrossings = 0;
+            } else {
+                passesWithoutFewerCrossings++;
             }
+            if (crossings <= fewestCrossings) {
+                fewestCrossings = crossings;
+                bestLocations = currentLocations;
+            }
+
+            if (Arrays.equals(previousLocations, currentLocations)) {
+                break;
+            }
+        }
+
+        for (HierarchicalNode n : hierarchicalGraph.nodes) {
+            n.location = bestLocations[n.id];
         }
 
         for (Level level : levels) {
-            level.removeOverlaps();
+            level.removeOverlaps(minLevelGap);
+        }
+    }
+
+    private int[] locations() {
+        int[] locations = new int[hierarchicalGraph.nodes.size()];
+        for (HierarchicalNode n : hierarchicalGraph.nodes) {
+            locations[n.id] = n.location;
         }
+        return locations;
+    }
+
+    private long countCrossings() {
+        long crossings = 0;
+        for (int i = 1; i < levels.size(); i++) {
+            crossings += levels.get(i - 1).countCrossings(levels.get(i));
+        }
+        return crossings;
     }
 
     private void calcLevelLocations() {
@@ -579,25 +715,16 @@ public class GraphLayout<N extends IPositionableNode, E extends IRoutableEdge<N>
 
             // Calculate maximum edge length
             if (p != null) {
-                for (HierarchicalNode n1 : l.nodes) {
-                    for (HierarchicalNode n2 : p.nodes) {
-                        if (hierarchicalGraph.connected(n1, n2)) {
-                            maxLength = Math.max(maxLength, Math.abs(n1.location - n2.location));
-                        }
+                for (int i = 0; i < l.size; i++) {
+                    HierarchicalNode n1 = l.nodes[i];
+                    for (HierarchicalNode n2 : n1.above) {
+                        maxLength = Math.max(maxLength, Math.abs(n1.location - n2.location));
                     }
                 }
                 height += Math.max(minLevelGap, maxLength / edgeLengthHeightRatio);
             }
 
-            int maxHeight = 0;
-
-            for (HierarchicalNode node : l.nodes) {
-                maxHeight = Math.max(maxHeight, (node).betweenLevelSize);
-            }
-
-            maxHeight += betweenLevelExtraGap * 2;
-
-            l.getHeight();
+            l.getHeight(betweenLevelExtraGap);
 
             height += l.height / 2;
 
@@ -25,6 +25,24 @@ public abstract class RenderableImage {
 
     protected void render(Graphics2D g2) {}
 
+    /**
+     * Draws this image as an SVG document, which needs no pixel buffer and can be scaled without being re-rendered.
+     *
+     * @return the SVG document
+     */
+    public String renderSvg() {
+        SvgCanvas svg = new SvgCanvas(width, height);
+
+        svg.setColor(Color.white);
+        svg.fillRect(0, 0, width, height);
+        svg.setColor(Color.black);
+        render(svg);
+
+        return svg.toSvg();
+    }
+
+    protected void render(SvgCanvas svg) {}
+
     protected BufferedImage prepare() {
         return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
     }
@@ -0,0 +1,260 @@
+package uk.ac.ebi.quickgo.graphics.ontology;
+
+import java.awt.*;
+import java.awt.geom.PathIterator;
+import java.awt.image.BufferedImage;
+
+/**
+ * <p>A canvas on which a {@link RenderableImage} is drawn as an SVG document, rather than as pixels. It provides the
+ * subset of the {@link Graphics2D} operations used to draw charts, with the same coordinates and current colour,
+ * font and stroke, so that the SVG version of a chart matches its PNG version.
+ *
+ * <p>Text is measured with the fonts of the PNG version, using a {@link Graphics2D} of a single pixel, so that it is
+ * wrapped and positioned in the same way.
+ *
+ * Created 19/10/26
+ */
+public class SvgCanvas {
+    public static final String SVG_MEDIA_TYPE = "image/svg+xml";
+
+    private static final String SVG_NAMESPACE = "http://www.w3.org/2000/svg";
+    private static final String GENERIC_FONT_FAMILY = "sans-serif";
+
+    private final StringBuilder svg = new StringBuilder();
+    private final Graphics2D metrics;
+
+    private Color colour = Color.black;
+    private Font font = GraphPresentation.FONT;
+    private Stroke stroke = new BasicStroke(1);
+
+    public SvgCanvas(int width, int height) {
+        BufferedImage pixel = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        this.metrics = pixel.createGraphics();
+        this.metrics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        this.metrics.setFont(font);
+
+        svg.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<svg xmlns=\"").append(SVG_NAMESPACE).append("\" version=\"1.1\"")
+                .append(" width=\"").append(width).append("\" height=\"").append(height).append('"')
+                .append(" viewBox=\"0 0 ").append(width).append(' ').append(height).append("\">\n");
+    }
+
+    public void setColor(Color colour) {
+        this.colour = colour;
+    }
+
+    public void setFont(Font font) {
+        this.font = font;
+        metrics.setFont(font);
+    }
+
+    public void setStroke(Stroke stroke) {
+        this.stroke = stroke;
+    }
+
+    /**
+     * @return the metrics of the current font, with which text drawn on this canvas is measured
+     */
+    public FontMetrics getFontMetrics() {
+        return metrics.getFontMetrics();
+    }
+
+    /**
+     * @return the graphics context with which text drawn on this canvas is measured, e.g., by
+     * {@link FontMetrics#getStringBounds(String, Graphics)}
+     */
+    public Graphics2D getMetricsGraphics() {
+        return metrics;
+    }
+
+    public void fillRect(int x, int y, int width, int height) {
+        svg.append("<rect x=\"").append(x).append("\" y=\"").append(y)
+                .append("\" width=\"").append(width).append("\" height=\"").append(height).append('"');
+        appendFill();
+        svg.append("/>\n");
+    }
+
+    public void drawRect(int x, int y, int width, int height) {
+        svg.append("<rect x=\"").append(x).append("\" y=\"").append(y)
+                .append("\" width=\"").append(width).append("\" height=\"").append(height).append("\" fill=\"none\"");
+        appendStroke();
+        svg.append("/>\n");
+    }
+
+    public void draw(Shape shape) {
+        appendPath(shape);
+        svg.append(" fill=\"none\"");
+        appendStroke();
+        svg.append("/>\n");
+    }
+
+    public void fill(Shape shape) {
+        appendPath(shape);
+        appendFill();
+        svg.append("/>\n");
+    }
+
+    /**
+     * Draws text whose baseline starts at the given position, as {@link Graphics2D#drawString(String, float, float)}
+     * does.
+     */
+    public void drawString(String text, float x, float y) {
+        svg.append("<text x=\"").append(number(x)).append("\" y=\"").append(number(y)).append('"')
+                .append(" font-family=\"").append(escape(font.getName())).append(", ").append(GENERIC_FONT_FAMILY)
+                .append("\" font-size=\"").append(number(font.getSize2D())).append('"');
+        if (font.isBold()) {
+            svg.append(" font-weight=\"bold\"");
+        }
+        if (font.isItalic()) {
+            svg.append(" font-style=\"italic\"");
+        }
+        appendFill();
+        svg.append('>').append(escape(text)).append("</text>\n");
+    }
+
+    /**
+     * @return the SVG document of everything drawn on this canvas
+     */
+    public String toSvg() {
+        return svg + "</svg>\n";
+    }
+
+    private void appendPath(Shape shape) {
+        svg.append("<path d=\"");
+        double[] coords = new double[6];
+        for (PathIterator pi = shape.getPathIterator(null); !pi.isDone(); pi.next()) {
+            switch (pi.currentSegment(coords)) {
+                case PathIterator.SEG_MOVETO:
+                    appendSegment('M', coords, 2);
+                    break;
+                case PathIterator.SEG_LINETO:
+                    appendSegment('L', coords, 2);
+                    break;
+                case PathIterator.SEG_QUADTO:
+                    appendSegment('Q', coords, 4);
+                    break;
+                case PathIterator.SEG_CUBICTO:
+                    appendSegment('C', coords, 6);
+                    break;
+                case PathIterator.SEG_CLOSE:
+                    svg.append('Z');
+                    break;
+                default:
+                    break;
+            }
+        }
+        svg.append('"');
+    }
+
+    private void appendSegment(char command, double[] coords, int count) {
+        svg.append(command);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                svg.append(' ');
+            }
+            svg.append(number(coords[i]));
+        }
+    }
+
+    private void appendFill() {
+        svg.append(" fill=\"").append(hex(colour)).append('"');
+        if (colour.getAlpha() < 255) {
+            svg.append(" fill-opacity=\"").append(number(colour.getAlpha() / 255d)).append('"');
+        }
+    }
+
+    private void appendStroke() {
+        svg.append(" stroke=\"").append(hex(colour)).append('"');
+        if (colour.getAlpha() < 255) {
+            svg.append(" stroke-opacity=\"").append(number(colour.getAlpha() / 255d)).append('"');
+        }
+
+        if (stroke instanceof BasicStroke) {
+            BasicStroke basicStroke = (BasicStroke) stroke;
+            svg.append(" stroke-width=\"").append(number(basicStroke.getLineWidth())).append('"');
+            if (basicStroke.getEndCap() != BasicStroke.CAP_BUTT) {
+                svg.append(" stroke-linecap=\"").append(lineCap(basicStroke.getEndCap())).append('"');
+            }
+            if (basicStroke.getLineJoin() != BasicStroke.JOIN_MITER) {
+                svg.append(" stroke-linejoin=\"").append(lineJoin(basicStroke.getLineJoin())).append('"');
+            }
+
+            float[] dashes = basicStroke.getDashArray();
+            if (dashes != null && dashes.length > 0) {
+                svg.append(" stroke-dasharray=\"");
+                for (int i = 0; i < dashes.length; i++) {
+                    if (i > 0) {
+                        svg.append(',');
+                    }
+                    svg.append(number(dashes[i]));
+                }
+                svg.append('"');
+                if (basicStroke.getDashPhase() != 0) {
+                    svg.append(" stroke-dashoffset=\"").append(number(basicStroke.getDashPhase())).append('"');
+                }
+            }
+        }
+    }
+
+    private static String lineCap(int cap) {
+        return cap == BasicStroke.CAP_ROUND ? "round" : "square";
+    }
+
+    private static String lineJoin(int join) {
+        return join == BasicStroke.JOIN_ROUND ? "round" : "bevel";
+    }
+
+    private static String hex(Color colour) {
+        return String.format("#%06x", colour.getRGB() & 0xFFFFFF);
+    }
+
+    /**
+     * Writes a coordinate to two decimal places, which is finer than a pixel, without trailing zeros.
+     */
+    static String number(double value) {
+        long hundredths = Math.round(value * 100);
+        if (hundredths % 100 == 0) {
+            return Long.toString(hundredths / 100);
+        }
+
+        String digits = Long.toString(Math.abs(hundredths));
+        while (digits.length() < 3) {
+            digits = "0" + digits;
+        }
+        String fraction = digits.substring(digits.length() - 2);
+        if (fraction.endsWith("0")) {
+            fraction = fraction.substring(0, 1);
+        }
+        return (hundredths < 0 ? "-" : "") + digits.substring(0, digits.length() - 2) + "." + fraction;
+    }
+
+    static String escape(String text) {
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&':
+                    escaped.append("&amp;");
+                    break;
+                case '<':
+                    escaped.append("&lt;");
+                    break;
+                case '>':
+                    escaped.append("&gt;");
+                    break;
+                case '"':
+                    escaped.append("&quot;");
+                    break;
+                case '\'':
+                    escaped.append("&apos;");
+                    break;
+                default:
+                    // characters that are not allowed in XML 1.0 documents are dropped
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        escaped.append(c);
+                    }
+            }
+        }
+        return escaped.toString();
+    }
+}
@@ -158,6 +158,35 @@ public class TermNode implements INode, IPositionableNode {
         }
     }
 
+    public void render(SvgCanvas svg) {
+        svg.setFont(font);
+
+        svg.setColor(fillColour);
+        svg.fillRect(left(), top(), width, height);
+
+        svg.setColor(lineColour);
+        svg.setStroke(border);
+        svg.drawRect(left(), top(), width, height);
+
+        for (int i = 0; i < colours.length; i++) {
+            svg.setColor(new Color(colours[i]));
+            svg.fillRect(left() + (i * 10) + 1, bottom() - 3, 10, 4);
+        }
+        svg.setColor(lineColour);
+
+        reflow(name, svg.getFontMetrics(), svg.getMetricsGraphics());
+
+        int ypos = y - (yheight / 2) + topLine;
+        for (TextLine line : lines) {
+            line.draw(svg, x, ypos);
+            ypos += line.height();
+        }
+
+        if (style.termIds) {
+            renderID(svg);
+        }
+    }
+
     // Term id background colour
     Color idColour = new Color(0x00709B);
 
@@ -172,6 +201,16 @@ public class TermNode implements INode, IPositionableNode {
         g2.drawString(id, (float) (left() + (width - r.getWidth()) / 2), (float) (top() - r.getMinY() + 2));
     }
 
+    public void renderID(SvgCanvas svg) {
+        Rectangle2D r = svg.getFontMetrics().getStringBounds(id, svg.getMetricsGraphics());
+
+        svg.setColor(idColour);
+        svg.fillRect(left(), top(), width, (int) r.getHeight() + 4);
+
+        svg.setColor(Color.WHITE);
+        svg.drawString(id, (float) (left() + (width - r.getWidth()) / 2), (float) (top() - r.getMinY() + 2));
+    }
+
     static class TextLine {
         String text;
         Rectangle2D bounds;
@@ -207,6 +246,10 @@ public class TermNode implements INode, IPositionableNode {
             g2.drawString(text, (float) (x - bounds.getWidth() / 2 - bounds.getMinX()), y + f.getSize2D());
         }
 
+        public void draw(SvgCanvas svg, int x, int y) {
+            svg.drawString(text, (float) (x - bounds.getWidth() / 2 - bounds.getMinX()), y + f.getSize2D());
+        }
+
         public int height() {
             return f.getSize();
         }
@@ -0,0 +1,177 @@
+package uk.ac.ebi.quickgo.graphics.ontology;
+
+import java.awt.*;
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <p>Measures the time taken to lay out charts of GO terms with {@link GraphLayout}, for subgraphs of increasing
+ * size, with reordering stopping once the number of edge crossings stops falling, and with every reordering pass
+ * made, as it was before reordering could stop early.
+ *
+ * <p>Each subgraph is formed, as a chart is, from a set of terms and all of their ancestors: terms are chosen at
+ * random, with a fixed seed, and added with their ancestors until the subgraph has at least the required number of
+ * terms. The GO relationships are read from the, possibly gzipped, tab separated file of child, parent and
+ * relationship, with a header line, given by the system property {@code benchmark.relations.file}, e.g., the
+ * ontology source file RELATIONS.dat.gz. Run, e.g., with:
+ * <pre>
+ *     java -cp [test classpath] -Dbenchmark.relations.file=/path/to/RELATIONS.dat.gz \
+ *         uk.ac.ebi.quickgo.graphics.ontology.GraphLayoutBenchmark
+ * </pre>
+ *
+ * Created 19/10/26
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GraphLayoutBenchmark {
+    private static final String RELATIONS_FILE_PROPERTY = "benchmark.relations.file";
+    private static final String TAB = "\t";
+    private static final int HEADER_LINES = 1;
+    private static final long SEED = 42;
+    private static final int NODE_WIDTH = 85;
+    private static final int NODE_HEIGHT = 55;
+
+    @Param({"25", "100", "250", "500", "1000"})
+    public int terms;
+
+    @Param({"3", "25"})
+    public int convergenceIterations;
+
+    private GenericGraph<Node, Edge> graph;
+
+    @Setup
+    public void createSubgraph() throws IOException {
+        String file = System.getProperty(RELATIONS_FILE_PROPERTY);
+        if (file == null) {
+            throw new IllegalStateException("The GO relationships file must be given by the system property: " +
+                    RELATIONS_FILE_PROPERTY);
+        }
+
+        Map<String, List<String>> parents = readParents(file);
+        List<String> ids = new ArrayList<>(parents.keySet());
+        Collections.sort(ids);
+        Collections.shuffle(ids, new Random(SEED));
+
+        Map<String, Node> nodes = new LinkedHashMap<>();
+        Iterator<String> candidates = ids.iterator();
+        while (nodes.size() < terms && candidates.hasNext()) {
+            addWithAncestors(candidates.next(), parents, nodes);
+        }
+
+        graph = new GenericGraph<>();
+        graph.nodes.addAll(nodes.values());
+        for (Node child : nodes.values()) {
+            for (String parent : parents.getOrDefault(child.id, Collections.emptyList())) {
+                graph.edges.add(new Edge(nodes.get(parent), child));
+            }
+        }
+    }
+
+    @Benchmark
+    public GraphLayout<Node, Edge> layout() {
+        GraphLayout<Node, Edge> layout = new GraphLayout<>(graph, GraphLayout.Orientation.TOP);
+        layout.convergenceIterations = convergenceIterations;
+        layout.layout();
+        return layout;
+    }
+
+    private static void addWithAncestors(String id, Map<String, List<String>> parents, Map<String, Node> nodes) {
+        Deque<String> toAdd = new ArrayDeque<>();
+        toAdd.push(id);
+        while (!toAdd.isEmpty()) {
+            String term = toAdd.pop();
+            if (!nodes.containsKey(term)) {
+                nodes.put(term, new Node(term));
+                parents.getOrDefault(term, Collections.emptyList()).forEach(toAdd::push);
+            }
+        }
+    }
+
+    private static Map<String, List<String>> readParents(String file) throws IOException {
+        Map<String, List<String>> parents = new HashMap<>();
+
+        FileInputStream fileStream = new FileInputStream(file);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                file.endsWith(".gz") ? new GZIPInputStream(fileStream) : fileStream, StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                if (lineNumber++ >= HEADER_LINES && !line.trim().isEmpty()) {
+                    String[] columns = line.split(TAB);
+                    parents.computeIfAbsent(columns[0].trim(), child -> new ArrayList<>()).add(columns[1].trim());
+                }
+            }
+        }
+        return parents;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(GraphLayoutBenchmark.class.getSimpleName())
+                .jvmArgsAppend("-D" + RELATIONS_FILE_PROPERTY + "=" + System.getProperty(RELATIONS_FILE_PROPERTY))
+                .build()).run();
+    }
+
+    static class Node implements IPositionableNode {
+        private final String id;
+        private int width = NODE_WIDTH;
+        private int height = NODE_HEIGHT;
+
+        Node(String id) {
+            this.id = id;
+        }
+
+        @Override public int getWidth() {
+            return width;
+        }
+
+        @Override public void setWidth(int width) {
+            this.width = width;
+        }
+
+        @Override public int getHeight() {
+            return height;
+        }
+
+        @Override public void setHeight(int height) {
+            this.height = height;
+        }
+
+        @Override public void setLocation(int x, int y) {}
+    }
+
+    static class Edge implements IRoutableEdge<Node> {
+        private final Node parent;
+        private final Node child;
+
+        Edge(Node parent, Node child) {
+            this.parent = parent;
+            this.child = child;
+        }
+
+        @Override public Node getParent() {
+            return parent;
+        }
+
+        @Override public Node getChild() {
+            return child;
+        }
+
+        @Override public void setRoute(Shape route) {}
+    }
+}
@@ -0,0 +1,209 @@
+package uk.ac.ebi.quickgo.graphics.ontology;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * Created 19/10/26
+ */
+public class GraphLayoutTest {
+    private static final int NODE_WIDTH = 85;
+    private static final int NODE_HEIGHT = 55;
+
+    private GenericGraph<Node, Edge> graph;
+
+    @Before
+    public void setUp() {
+        graph = new GenericGraph<>();
+    }
+
+    @Test
+    public void layoutOfSingleNodeFitsNode() {
+        Node node = addNode();
+
+        GraphLayout<Node, Edge> layout = layout();
+
+        assertThat(layout.getWidth(), is(greaterThanOrEqualTo(NODE_WIDTH)));
+        assertThat(layout.getHeight(), is(greaterThanOrEqualTo(NODE_HEIGHT)));
+        assertWithinLayout(node, layout);
+    }
+
+    @Test
+    public void parentsArePlacedAboveChildren() {
+        Node root = addNode();
+        Node middle = addNode();
+        Node leaf = addNode();
+        addEdge(root, middle);
+        addEdge(middle, leaf);
+        addEdge(root, leaf);
+
+        layout();
+
+        assertThat(root.y, is(lessThan(middle.y)));
+        assertThat(middle.y, is(lessThan(leaf.y)));
+        for (Edge edge : graph.edges) {
+            assertThat(edge.route, is(notNullValue()));
+        }
+    }
+
+    @Test
+    public void nodesOnTheSameLevelDoNotOverlap() {
+        Node root = addNode();
+        List<Node> children = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Node child = addNode();
+            addEdge(root, child);
+            children.add(child);
+        }
+
+        GraphLayout<Node, Edge> layout = layout();
+
+        children.sort(Comparator.comparingInt(child -> child.x));
+        for (int i = 1; i < children.size(); i++) {
+            assertThat(children.get(i).y, is(children.get(0).y));
+            assertThat(children.get(i).x - children.get(i - 1).x, is(greaterThanOrEqualTo(NODE_WIDTH)));
+        }
+        children.forEach(child -> assertWithinLayout(child, layout));
+    }
+
+    @Test
+    public void repeatedEdgesBetweenTheSameNodesAreEachRouted() {
+        Node parent = addNode();
+        Node child = addNode();
+        Edge first = addEdge(parent, child);
+        Edge second = addEdge(parent, child);
+
+        layout();
+
+        assertThat(first.route, is(notNullValue()));
+        assertThat(second.route, is(notNullValue()));
+        assertThat(parent.y, is(lessThan(child.y)));
+    }
+
+    @Test
+    public void reorderingRemovesCrossingsThatCanBeAvoided() {
+        Node leftRoot = addNode();
+        Node rightRoot = addNode();
+        Node leftLeaf = addNode();
+        Node rightLeaf = addNode();
+        // the leaves are added in the opposite order to their parents, so their initial positions cross
+        graph.nodes.remove(leftLeaf);
+        graph.nodes.add(leftLeaf);
+        addEdge(leftRoot, leftLeaf);
+        addEdge(rightRoot, rightLeaf);
+
+        layout();
+
+        assertThat(Integer.compare(leftRoot.x, rightRoot.x), is(Integer.compare(leftLeaf.x, rightLeaf.x)));
+    }
+
+    @Test
+    public void layoutOfLargeGraphStopsWithinTheIterationLimit() {
+        List<Node> nodes = new ArrayList<>();
+        nodes.add(addNode());
+        for (int i = 1; i < 300; i++) {
+            Node node = addNode();
+            addEdge(nodes.get(i / 2), node);
+            addEdge(nodes.get(i / 3), node);
+            nodes.add(node);
+        }
+
+        GraphLayout<Node, Edge> layout = new GraphLayout<>(graph, GraphLayout.Orientation.TOP);
+        layout.reorderIterations = 1;
+        layout.layout();
+
+        for (Edge edge : graph.edges) {
+            assertThat(edge.parent.y, is(lessThan(edge.child.y)));
+        }
+        nodes.forEach(node -> assertWithinLayout(node, layout));
+        assertThat(layout.getHeight(), is(greaterThan(NODE_HEIGHT)));
+    }
+
+    private GraphLayout<Node, Edge> layout() {
+        GraphLayout<Node, Edge> layout = new GraphLayout<>(graph, GraphLayout.Orientation.TOP);
+        layout.layout();
+        return layout;
+    }
+
+    private void assertWithinLayout(Node node, GraphLayout<Node, Edge> layout) {
+        assertThat(node.x - NODE_WIDTH / 2, is(greaterThanOrEqualTo(0)));
+        assertThat(node.x + NODE_WIDTH / 2, is(lessThanOrEqualTo(layout.getWidth())));
+        assertThat(node.y - NODE_HEIGHT / 2, is(greaterThanOrEqualTo(0)));
+        assertThat(node.y + NODE_HEIGHT / 2, is(lessThanOrEqualTo(layout.getHeight())));
+    }
+
+    private Node addNode() {
+        Node node = new Node();
+        graph.nodes.add(node);
+        return node;
+    }
+
+    private Edge addEdge(Node parent, Node child) {
+        Edge edge = new Edge(parent, child);
+        graph.edges.add(edge);
+        return edge;
+    }
+
+    private static class Node implements IPositionableNode {
+        private int width = NODE_WIDTH;
+        private int height = NODE_HEIGHT;
+        private int x;
+        private int y;
+
+        @Override public int getWidth() {
+            return width;
+        }
+
+        @Override public void setWidth(int width) {
+            this.width = width;
+        }
+
+        @Override public int getHeight() {
+            return height;
+        }
+
+        @Override public void setHeight(int height) {
+            this.height = height;
+        }
+
+        @Override public void setLocation(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    private static class Edge implements IRoutableEdge<Node> {
+        private final Node parent;
+        private final Node child;
+        private Shape route;
+
+        private Edge(Node parent, Node child) {
+            this.parent = parent;
+            this.child = child;
+        }
+
+        @Override public Node getParent() {
+            return parent;
+        }
+
+        @Override public Node getChild() {
+            return child;
+        }
+
+        @Override public void setRoute(Shape route) {
+            this.route = route;
+        }
+    }
+}
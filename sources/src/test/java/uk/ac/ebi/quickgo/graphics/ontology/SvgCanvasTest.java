@@ -0,0 +1,151 @@
+package uk.ac.ebi.quickgo.graphics.ontology;
+
+import uk.ac.ebi.quickgo.model.ontology.generic.RelationType;
+
+import java.awt.*;
+import java.awt.geom.GeneralPath;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import javax.xml.parsers.DocumentBuilderFactory;
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Created 19/10/26
+ */
+public class SvgCanvasTest {
+    private static final GraphPresentation STYLE = new GraphPresentation.Builder().build();
+
+    @Test
+    public void emptyCanvasIsSizedSvgDocument() throws Exception {
+        Element svg = parse(new SvgCanvas(120, 80).toSvg());
+
+        assertThat(svg.getTagName(), is("svg"));
+        assertThat(svg.getAttribute("width"), is("120"));
+        assertThat(svg.getAttribute("height"), is("80"));
+        assertThat(svg.getAttribute("viewBox"), is("0 0 120 80"));
+    }
+
+    @Test
+    public void rectanglesUseCurrentColourAndStroke() throws Exception {
+        SvgCanvas canvas = new SvgCanvas(100, 100);
+        canvas.setColor(new Color(0x00709B));
+        canvas.fillRect(1, 2, 30, 40);
+        canvas.setColor(Color.red);
+        canvas.setStroke(new BasicStroke(2.5f));
+        canvas.drawRect(5, 6, 7, 8);
+
+        NodeList rects = parse(canvas.toSvg()).getElementsByTagName("rect");
+
+        assertThat(rects.getLength(), is(2));
+        Element filled = (Element) rects.item(0);
+        assertThat(filled.getAttribute("x"), is("1"));
+        assertThat(filled.getAttribute("height"), is("40"));
+        assertThat(filled.getAttribute("fill"), is("#00709b"));
+        Element outlined = (Element) rects.item(1);
+        assertThat(outlined.getAttribute("fill"), is("none"));
+        assertThat(outlined.getAttribute("stroke"), is("#ff0000"));
+        assertThat(outlined.getAttribute("stroke-width"), is("2.5"));
+    }
+
+    @Test
+    public void shapesAreWrittenAsPathsWithDashes() throws Exception {
+        GeneralPath route = new GeneralPath();
+        route.moveTo(10, 20);
+        route.lineTo(30.25f, 40);
+        route.quadTo(50, 60, 70, 80);
+
+        SvgCanvas canvas = new SvgCanvas(100, 100);
+        canvas.setStroke(RelationType.HASPART.stroke);
+        canvas.draw(route);
+
+        Element path = (Element) parse(canvas.toSvg()).getElementsByTagName("path").item(0);
+
+        assertThat(path.getAttribute("d"), is("M10 20L30.25 40Q50 60 70 80"));
+        assertThat(path.getAttribute("stroke-dasharray"), is("3,3"));
+        assertThat(path.getAttribute("stroke-linejoin"), is("bevel"));
+    }
+
+    @Test
+    public void textIsEscaped() throws Exception {
+        SvgCanvas canvas = new SvgCanvas(100, 100);
+        canvas.drawString("a < b & \"c\"", 5, 50);
+
+        Element text = (Element) parse(canvas.toSvg()).getElementsByTagName("text").item(0);
+
+        assertThat(text.getTextContent(), is("a < b & \"c\""));
+        assertThat(text.getAttribute("font-size"), is("11"));
+        assertThat(text.getAttribute("font-family"), containsString("sans-serif"));
+    }
+
+    @Test
+    public void numbersAreWrittenToTwoDecimalPlaces() {
+        assertThat(SvgCanvas.number(3), is("3"));
+        assertThat(SvgCanvas.number(3.5), is("3.5"));
+        assertThat(SvgCanvas.number(3.456), is("3.46"));
+        assertThat(SvgCanvas.number(-0.05), is("-0.05"));
+        assertThat(SvgCanvas.number(-12.001), is("-12"));
+    }
+
+    @Test
+    public void chartIsRenderedWithItsTermsRelationsAndKey() throws Exception {
+        TermNode parent = term("GO:0000001", "parent term", 100, 50);
+        TermNode child = term("GO:0000002", "child term with a name long enough to be wrapped", 100, 150);
+        RelationEdge isA = new RelationEdge(parent, child, RelationType.ISA);
+        GeneralPath route = new GeneralPath();
+        route.moveTo(100, 78);
+        route.lineTo(100, 122);
+        isA.setRoute(route);
+
+        List<TermNode> terms = Arrays.asList(parent, child);
+        GraphImage image = new GraphImage(200, 200, terms, Collections.singletonList(isA), STYLE,
+                Collections.singletonList(RelationType.ISA));
+
+        Element svg = parse(image.renderSvg());
+
+        assertThat(svg.getAttribute("width"), is(String.valueOf(image.width)));
+        assertThat(svg.getAttribute("height"), is(String.valueOf(image.height)));
+        String text = svg.getTextContent();
+        assertThat(text, containsString("GO:0000001"));
+        assertThat(text, containsString("GO:0000002"));
+        assertThat(text, containsString("parent term"));
+        assertThat(text, containsString(RelationType.ISA.description));
+        assertThat(text, containsString("QuickGO - https://www.ebi.ac.uk/QuickGO"));
+        // the child's name is wrapped onto several lines, as in the PNG chart
+        assertThat(svg.getElementsByTagName("text").getLength(), is(greaterThan(6)));
+        // the relation, its arrowhead and the relation in the key are drawn
+        assertThat(svg.getElementsByTagName("path").getLength(), is(greaterThan(3)));
+    }
+
+    @Test
+    public void errorChartShowsErrorMessage() throws Exception {
+        Element svg = parse(new GraphImage("Unable to draw <chart>").renderSvg());
+
+        NodeList texts = svg.getElementsByTagName("text");
+        assertThat(texts.getLength(), is(1));
+        assertThat(texts.item(0).getTextContent(), is(equalTo("Unable to draw <chart>")));
+    }
+
+    private static TermNode term(String id, String name, int x, int y) {
+        TermNode node = new TermNode(name, id, STYLE);
+        node.setLocation(x, y);
+        return node;
+    }
+
+    private static Element parse(String svg) throws Exception {
+        Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(new ByteArrayInputStream(svg.getBytes(StandardCharsets.UTF_8)));
+        return document.getDocumentElement();
+    }
+}